@@ -49,6 +49,7 @@ import org.neo4j.bolt.protocol.common.connector.Connector;
 import org.neo4j.bolt.protocol.common.connector.accounting.error.CircuitBreakerErrorAccountant;
 import org.neo4j.bolt.protocol.common.connector.accounting.error.ErrorAccountant;
 import org.neo4j.bolt.protocol.common.connector.accounting.error.NoopErrorAccountant;
+import org.neo4j.bolt.protocol.common.connector.accounting.latency.MessageLatencyRegistry;
 import org.neo4j.bolt.protocol.common.connector.accounting.traffic.AtomicTrafficAccountant;
 import org.neo4j.bolt.protocol.common.connector.accounting.traffic.NoopTrafficAccountant;
 import org.neo4j.bolt.protocol.common.connector.accounting.traffic.TrafficAccountant;
@@ -57,8 +58,11 @@ import org.neo4j.bolt.protocol.common.connector.connection.Connection;
 import org.neo4j.bolt.protocol.common.connector.executor.ExecutorServiceFactory;
 import org.neo4j.bolt.protocol.common.connector.executor.NettyThreadFactory;
 import org.neo4j.bolt.protocol.common.connector.executor.ThreadPoolExecutorServiceFactory;
+import org.neo4j.bolt.protocol.common.connector.executor.VirtualThreadExecutorServiceFactory;
 import org.neo4j.bolt.protocol.common.connector.listener.AuthenticationTimeoutConnectorListener;
+import org.neo4j.bolt.protocol.common.connector.listener.CompressionConnectorListener;
 import org.neo4j.bolt.protocol.common.connector.listener.KeepAliveConnectorListener;
+import org.neo4j.bolt.protocol.common.connector.listener.MessageLatencyConnectorListener;
 import org.neo4j.bolt.protocol.common.connector.listener.MetricsConnectorListener;
 import org.neo4j.bolt.protocol.common.connector.listener.ReadLimitConnectorListener;
 import org.neo4j.bolt.protocol.common.connector.listener.ResetMessageConnectorListener;
@@ -86,6 +90,7 @@ import org.neo4j.configuration.connectors.ConnectorType;
 import org.neo4j.dbms.routing.RoutingService;
 import org.neo4j.function.Suppliers;
 import org.neo4j.kernel.api.net.NetworkConnectionTracker;
+import org.neo4j.kernel.api.net.NetworkMessageLatencyTracker;
 import org.neo4j.kernel.api.security.AuthManager;
 import org.neo4j.kernel.database.DefaultDatabaseResolver;
 import org.neo4j.kernel.impl.factory.DbmsInfo;
@@ -121,6 +126,7 @@ public class BoltServer extends LifecycleAdapter {
     private final MemoryPools memoryPools;
     private final DefaultDatabaseResolver defaultDatabaseResolver;
     private final ConnectionHintRegistry connectionHintRegistry;
+    private final MessageLatencyRegistry messageLatencyRegistry = new MessageLatencyRegistry();
 
     private final ExecutorServiceFactory executorServiceFactory;
     private final SslPolicyLoader sslPolicyLoader;
@@ -173,25 +179,37 @@ public class BoltServer extends LifecycleAdapter {
                 .withProvider(new TelemetryConnectionHintProvider(config))
                 .build();
 
-        this.executorServiceFactory = new ThreadPoolExecutorServiceFactory(
-                config.get(BoltConnector.thread_pool_min_size),
-                config.get(BoltConnector.thread_pool_max_size),
-                true,
-                config.get(BoltConnector.thread_pool_keep_alive),
-                config.get(BoltConnectorInternalSettings.unsupported_thread_pool_queue_size),
-                this.jobScheduler.threadFactory(Group.BOLT_WORKER));
-
         this.routingService = routingService;
 
         this.sslPolicyLoader = dependencyResolver.resolveDependency(SslPolicyLoader.class);
         this.authConfigProvider = dependencyResolver.resolveDependency(AuthConfigProvider.class);
         this.log = logService.getInternalLog(BoltServer.class);
 
+        this.executorServiceFactory = createExecutorServiceFactory();
+
         this.protocolRegistry = BoltProtocolRegistry.builder()
                 .register(BoltProtocol.available())
                 .build();
     }
 
+    private ExecutorServiceFactory createExecutorServiceFactory() {
+        if (config.get(BoltConnectorInternalSettings.thread_pool_virtual_threads)) {
+            if (VirtualThreadExecutorServiceFactory.isSupported()) {
+                return new VirtualThreadExecutorServiceFactory("neo4j." + Group.BOLT_WORKER.groupName() + "-");
+            }
+
+            log.warn("Virtual threads are not supported by this JVM, falling back to the Bolt thread pool");
+        }
+
+        return new ThreadPoolExecutorServiceFactory(
+                config.get(BoltConnector.thread_pool_min_size),
+                config.get(BoltConnector.thread_pool_max_size),
+                true,
+                config.get(BoltConnector.thread_pool_keep_alive),
+                config.get(BoltConnectorInternalSettings.unsupported_thread_pool_queue_size),
+                this.jobScheduler.threadFactory(Group.BOLT_WORKER));
+    }
+
     private boolean isEnabled() {
         return config.get(BoltConnector.enabled);
     }
@@ -345,6 +363,15 @@ public class BoltServer extends LifecycleAdapter {
         connectorLife.init();
     }
 
+    /**
+     * Retrieves the tracker which provides the message latencies recorded by the connectors of this server.
+     *
+     * @return a message latency tracker.
+     */
+    public NetworkMessageLatencyTracker messageLatencyTracker() {
+        return messageLatencyRegistry;
+    }
+
     @Override
     public void start() throws Exception {
         if (!isEnabled()) {
@@ -415,6 +442,13 @@ public class BoltServer extends LifecycleAdapter {
             connector.registerListener(new ResponseMetricsConnectorListener(connectionMetricsMonitor));
         }
 
+        // message latencies are aggregated per connector in order to permit the comparison of different groups of
+        // connections (such as external, internal and loopback connections)
+        if (config.get(BoltConnectorInternalSettings.enable_message_latency_metrics)) {
+            connector.registerListener(new MessageLatencyConnectorListener(
+                    messageLatencyRegistry.accountantFor(connector.id()), clock));
+        }
+
         // if an authentication timeout has been configured, we'll register a listener which appends the necessary
         // timeout handlers with the network pipelines upon connection creation
         var authenticationTimeout =
@@ -442,6 +476,13 @@ public class BoltServer extends LifecycleAdapter {
             connector.registerListener(new ReadLimitConnectorListener(readLimit, logService.getInternalLogProvider()));
         }
 
+        // compression is only applied to connections which explicitly negotiate it, we'll register a listener which
+        // appends the necessary handlers to the network pipelines once the feature has been enabled
+        connector.registerListener(new CompressionConnectorListener(
+                config.get(BoltConnectorInternalSettings.compression_threshold),
+                config.get(BoltConnectorInternalSettings.compression_level),
+                logService.getInternalLogProvider()));
+
         // Register the reset message connection listener
         connector.registerListener(new ResetMessageConnectorListener(logService.getInternalLogProvider()));
 
@@ -29,6 +29,7 @@ import org.neo4j.bolt.protocol.common.fsm.transition.negotiation.HelloStateTrans
 import org.neo4j.bolt.protocol.common.fsm.transition.ready.CreateAutocommitStatementStateTransition;
 import org.neo4j.bolt.protocol.common.fsm.transition.ready.CreateTransactionStateTransition;
 import org.neo4j.bolt.protocol.common.fsm.transition.ready.RouteStateTransition;
+import org.neo4j.bolt.protocol.common.fsm.transition.ready.RunBatchStateTransition;
 import org.neo4j.bolt.protocol.common.fsm.transition.ready.TelemetryStateTransition;
 import org.neo4j.bolt.protocol.common.fsm.transition.transaction.CommitTransactionalStateTransition;
 import org.neo4j.bolt.protocol.common.fsm.transition.transaction.CreateStatementStateTransition;
@@ -49,6 +50,7 @@ import org.neo4j.bolt.protocol.common.message.decoder.streaming.DefaultPullMessa
 import org.neo4j.bolt.protocol.common.message.decoder.transaction.DefaultBeginMessageDecoder;
 import org.neo4j.bolt.protocol.common.message.decoder.transaction.DefaultCommitMessageDecoder;
 import org.neo4j.bolt.protocol.common.message.decoder.transaction.DefaultRollbackMessageDecoder;
+import org.neo4j.bolt.protocol.common.message.decoder.transaction.DefaultRunBatchMessageDecoder;
 import org.neo4j.bolt.protocol.common.message.decoder.transaction.DefaultRunMessageDecoder;
 import org.neo4j.bolt.protocol.common.message.encoder.FailureMessageEncoder;
 import org.neo4j.bolt.protocol.common.message.encoder.IgnoredMessageEncoder;
@@ -95,7 +97,8 @@ public abstract class AbstractBoltProtocol implements BoltProtocol {
                         RouteStateTransition.getInstance(),
                         CreateAutocommitStatementStateTransition.getInstance(),
                         LogoffStateTransition.getInstance(),
-                        TelemetryStateTransition.getInstance())
+                        TelemetryStateTransition.getInstance(),
+                        RunBatchStateTransition.getInstance())
                 .withState(
                         States.AUTO_COMMIT,
                         AutocommitDiscardStreamingStateTransition.getInstance(),
@@ -106,7 +109,8 @@ public abstract class AbstractBoltProtocol implements BoltProtocol {
                         DiscardResultsStreamingStateTransition.getInstance(),
                         PullResultsStreamingStateTransition.getInstance(),
                         CommitTransactionalStateTransition.getInstance(),
-                        RollbackTransactionalStateTransition.getInstance());
+                        RollbackTransactionalStateTransition.getInstance(),
+                        RunBatchStateTransition.getInstance());
     }
 
     protected StructRegistry.Builder<Connection, RequestMessage> createRequestMessageRegistry() {
@@ -127,6 +131,7 @@ public abstract class AbstractBoltProtocol implements BoltProtocol {
                 .register(DefaultCommitMessageDecoder.getInstance())
                 .register(DefaultRollbackMessageDecoder.getInstance())
                 .register(DefaultRunMessageDecoder.getInstance())
+                .register(DefaultRunBatchMessageDecoder.getInstance())
                 // Generic
                 .register(TelemetryMessageDecoder.getInstance());
     }
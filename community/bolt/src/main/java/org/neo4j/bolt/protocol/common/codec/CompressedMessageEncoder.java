@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.bolt.protocol.common.codec;
+
+import com.github.luben.zstd.Zstd;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.MessageToMessageEncoder;
+import java.util.List;
+import org.neo4j.bolt.protocol.common.connector.accounting.traffic.TrafficAccountant;
+import org.neo4j.packstream.io.PackstreamBuf;
+import org.neo4j.packstream.struct.StructHeader;
+
+/**
+ * Compresses encoded messages which exceed a given size before they are split into chunks.
+ * <p>
+ * Compressed messages are replaced with a struct with tag {@link #COMPRESSED_MESSAGE_TAG} which carries the zstd
+ * compressed message within a single bytes field. Messages below the threshold, as well as messages which do not get
+ * any smaller when compressed, are passed on as-is so that clients may tell them apart by their struct tag.
+ * <p>
+ * This handler is expected to be positioned directly after the chunk encoder within the pipeline and relies on every
+ * message reaching it as a single buffer (as is the case for records and responses alike).
+ */
+public class CompressedMessageEncoder extends MessageToMessageEncoder<ByteBuf> {
+    public static final String HANDLER_NAME = "compressedMessageEncoder";
+
+    public static final short COMPRESSED_MESSAGE_TAG = 0x5A;
+
+    private final int threshold;
+    private final int level;
+    private final TrafficAccountant trafficAccountant;
+
+    private long uncompressedBytes;
+    private long compressedBytes;
+
+    public CompressedMessageEncoder(int threshold, int level, TrafficAccountant trafficAccountant) {
+        super(ByteBuf.class);
+        this.threshold = threshold;
+        this.level = level;
+        this.trafficAccountant = trafficAccountant;
+    }
+
+    @Override
+    protected void encode(ChannelHandlerContext ctx, ByteBuf msg, List<Object> out) {
+        var length = msg.readableBytes();
+        if (length == 0 || length < this.threshold) {
+            out.add(msg.retain());
+            return;
+        }
+
+        var compressed = Zstd.compress(ByteBufUtil.getBytes(msg), this.level);
+        if (compressed.length >= length) {
+            out.add(msg.retain());
+            return;
+        }
+
+        // struct header (2 bytes) and bytes header (up to 5 bytes) prefix the compressed payload
+        var buffer = PackstreamBuf.wrap(ctx.alloc().buffer(compressed.length + 7))
+                .writeStructHeader(new StructHeader(1, COMPRESSED_MESSAGE_TAG))
+                .writeBytes(Unpooled.wrappedBuffer(compressed))
+                .getTarget();
+
+        this.uncompressedBytes += length;
+        this.compressedBytes += buffer.readableBytes();
+        this.trafficAccountant.notifyCompression(length, buffer.readableBytes());
+
+        out.add(buffer);
+    }
+
+    /**
+     * Retrieves the ratio between the uncompressed and compressed sizes of the messages which have been compressed by
+     * this handler.
+     *
+     * @return a compression ratio or {@code 1} if no messages have been compressed.
+     */
+    public double compressionRatio() {
+        if (this.compressedBytes == 0) {
+            return 1;
+        }
+
+        return (double) this.uncompressedBytes / this.compressedBytes;
+    }
+}
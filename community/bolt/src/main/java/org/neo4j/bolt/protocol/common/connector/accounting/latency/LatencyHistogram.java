@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.bolt.protocol.common.connector.accounting.latency;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Records a distribution of latencies within a fixed set of power-of-two buckets.
+ * <p />
+ * Latencies are recorded without allocation and without locking thus permitting histograms to be shared between any
+ * number of connections. Percentiles are approximated by the upper bound of the bucket in which they fall and are thus
+ * accurate within a factor of two.
+ */
+public final class LatencyHistogram {
+
+    /**
+     * Bucket {@code i} holds values within {@code [2^(i-1), 2^i)} while bucket {@code 0} holds zero values.
+     */
+    private static final int BUCKET_COUNT = Long.SIZE + 1;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a given latency.
+     *
+     * @param nanos a latency in nanoseconds.
+     */
+    public void record(long nanos) {
+        var value = Math.max(nanos, 0);
+        this.buckets.incrementAndGet(Long.SIZE - Long.numberOfLeadingZeros(value));
+
+        long previous;
+        while ((previous = this.max.get()) < value && !this.max.compareAndSet(previous, value)) {
+            // retry until we either lose against a larger value or succeed
+        }
+    }
+
+    /**
+     * Retrieves the total number of recorded latencies.
+     *
+     * @return a count.
+     */
+    public long count() {
+        var count = 0L;
+        for (var i = 0; i < BUCKET_COUNT; i++) {
+            count += this.buckets.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * Retrieves the largest recorded latency.
+     *
+     * @return a latency in nanoseconds.
+     */
+    public long max() {
+        return this.max.get();
+    }
+
+    /**
+     * Approximates a given percentile of the recorded latencies.
+     *
+     * @param percentile a percentile between {@code 0} and {@code 1}.
+     * @return a latency in nanoseconds or {@code 0} if no latencies have been recorded.
+     */
+    public long percentile(double percentile) {
+        var count = this.count();
+        if (count == 0) {
+            return 0;
+        }
+
+        var rank = Math.max((long) Math.ceil(percentile * count), 1);
+        var seen = 0L;
+        for (var i = 0; i < BUCKET_COUNT; i++) {
+            seen += this.buckets.get(i);
+            if (seen >= rank) {
+                return Math.min(upperBound(i), this.max.get());
+            }
+        }
+
+        return this.max.get();
+    }
+
+    private static long upperBound(int bucket) {
+        if (bucket >= Long.SIZE - 1) {
+            return Long.MAX_VALUE;
+        }
+
+        return (1L << bucket) - 1;
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.bolt.protocol.common.connector.accounting.latency;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.neo4j.bolt.protocol.common.message.request.RequestMessage;
+import org.neo4j.kernel.api.net.NetworkMessageLatencyTracker.MessageLatency;
+
+/**
+ * Aggregates the latencies of all messages received by the connections of a given connector.
+ * <p />
+ * A set of histograms is allocated once per message type when its first message is recorded. Subsequent messages of
+ * the same type are recorded without allocation.
+ */
+public final class MessageLatencyAccountant {
+    private static final MessagePhase[] PHASES = MessagePhase.values();
+
+    private final String connector;
+    private final Map<Class<?>, LatencyHistogram[]> histograms = new ConcurrentHashMap<>();
+
+    public MessageLatencyAccountant(String connector) {
+        this.connector = connector;
+    }
+
+    /**
+     * Records the latency of a given phase for a given type of message.
+     *
+     * @param messageType a message type.
+     * @param phase a phase.
+     * @param nanos a latency in nanoseconds.
+     */
+    public void record(Class<? extends RequestMessage> messageType, MessagePhase phase, long nanos) {
+        var histograms = this.histograms.get(messageType);
+        if (histograms == null) {
+            histograms = this.histograms.computeIfAbsent(messageType, MessageLatencyAccountant::createHistograms);
+        }
+
+        histograms[phase.ordinal()].record(nanos);
+    }
+
+    /**
+     * Appends a snapshot of the latencies recorded by this accountant to a given list.
+     *
+     * @param target a list.
+     */
+    public void collect(List<MessageLatency> target) {
+        this.histograms.forEach((messageType, histograms) -> {
+            for (var phase : PHASES) {
+                var histogram = histograms[phase.ordinal()];
+                var count = histogram.count();
+                if (count == 0) {
+                    continue;
+                }
+
+                target.add(new MessageLatency(
+                        this.connector,
+                        messageType.getSimpleName(),
+                        phase.id(),
+                        count,
+                        histogram.percentile(0.50),
+                        histogram.percentile(0.99),
+                        histogram.max()));
+            }
+        });
+    }
+
+    private static LatencyHistogram[] createHistograms(Class<?> messageType) {
+        var histograms = new LatencyHistogram[PHASES.length];
+        for (var i = 0; i < histograms.length; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+        return histograms;
+    }
+}
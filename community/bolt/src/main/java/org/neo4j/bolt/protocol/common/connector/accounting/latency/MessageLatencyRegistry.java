@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.bolt.protocol.common.connector.accounting.latency;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.neo4j.kernel.api.net.NetworkMessageLatencyTracker;
+
+/**
+ * Provides a message latency accountant for each connector.
+ * <p />
+ * Connections are aggregated by the connector through which they have been established (e.g. external, internal or
+ * loopback connections) thus permitting their latencies to be compared with each other.
+ */
+public final class MessageLatencyRegistry implements NetworkMessageLatencyTracker {
+    private final ConcurrentMap<String, MessageLatencyAccountant> accountants = new ConcurrentHashMap<>();
+
+    /**
+     * Retrieves the accountant for a given connector.
+     *
+     * @param connector a connector identifier.
+     * @return an accountant.
+     */
+    public MessageLatencyAccountant accountantFor(String connector) {
+        return this.accountants.computeIfAbsent(connector, MessageLatencyAccountant::new);
+    }
+
+    @Override
+    public List<MessageLatency> latencies() {
+        var latencies = new ArrayList<MessageLatency>();
+        this.accountants.values().forEach(accountant -> accountant.collect(latencies));
+        return latencies;
+    }
+}
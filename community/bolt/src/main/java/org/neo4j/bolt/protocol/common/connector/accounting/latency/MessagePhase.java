@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.bolt.protocol.common.connector.accounting.latency;
+
+/**
+ * Identifies the phases within the lifecycle of a request message for which latencies are recorded.
+ */
+public enum MessagePhase {
+
+    /**
+     * Time spent within the queue of a connection while waiting for a worker thread.
+     */
+    QUEUE("queue"),
+
+    /**
+     * Time spent executing the message on a worker thread.
+     */
+    PROCESSING("processing"),
+
+    /**
+     * Time spent waiting for the encoded response to be flushed to the network.
+     */
+    FLUSH("flush");
+
+    private final String id;
+
+    MessagePhase(String id) {
+        this.id = id;
+    }
+
+    public String id() {
+        return this.id;
+    }
+}
@@ -39,6 +39,9 @@ public final class AtomicTrafficAccountant implements TrafficAccountant {
     private final AtomicLong bytesReadSinceLastCheck = new AtomicLong();
     private final AtomicLong bytesWrittenSinceLastCheck = new AtomicLong();
 
+    private final AtomicLong uncompressedBytes = new AtomicLong();
+    private final AtomicLong compressedBytes = new AtomicLong();
+
     private volatile long readThresholdLastExceededAt;
     private volatile long writeThresholdLastExceededAt;
 
@@ -83,6 +86,22 @@ public final class AtomicTrafficAccountant implements TrafficAccountant {
         this.bytesWrittenSinceLastCheck.addAndGet(bytes);
     }
 
+    @Override
+    public void notifyCompression(long uncompressedBytes, long compressedBytes) {
+        this.uncompressedBytes.addAndGet(uncompressedBytes);
+        this.compressedBytes.addAndGet(compressedBytes);
+    }
+
+    @Override
+    public double compressionRatio() {
+        var compressedBytes = this.compressedBytes.get();
+        if (compressedBytes == 0) {
+            return 1;
+        }
+
+        return (double) this.uncompressedBytes.get() / compressedBytes;
+    }
+
     @Override
     public void tryCheck() {
         // acquire the last time at which a check has been carried out and if this time exceeds the
@@ -143,6 +162,13 @@ public final class AtomicTrafficAccountant implements TrafficAccountant {
                 this.userLog.warn(
                         "Outbound bandwidth threshold has been exceeded (%.2f Mb/s exceeds configured threshold of %.2f Mb/s)",
                         bandwidth, (float) this.writeBandwidthThreshold);
+
+                // bandwidth is reported after compression - include the achieved ratio in order to indicate how much
+                // traffic the affected connections would have otherwise generated
+                if (this.compressedBytes.get() != 0) {
+                    this.userLog.warn(
+                            "Outbound traffic is currently compressed at a ratio of %.2f", this.compressionRatio());
+                }
             }
 
             this.writeThresholdLastExceededAt = now;
@@ -34,6 +34,14 @@ public final class NoopTrafficAccountant implements TrafficAccountant {
     @Override
     public void notifyWrite(long bytes) {}
 
+    @Override
+    public void notifyCompression(long uncompressedBytes, long compressedBytes) {}
+
+    @Override
+    public double compressionRatio() {
+        return 1;
+    }
+
     @Override
     public void tryCheck() {}
 }
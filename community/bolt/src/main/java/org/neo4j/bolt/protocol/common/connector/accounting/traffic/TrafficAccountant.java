@@ -25,5 +25,21 @@ public interface TrafficAccountant {
 
     void notifyWrite(long bytes);
 
+    /**
+     * Notifies the accountant about an outgoing message which has been compressed prior to being written.
+     *
+     * @param uncompressedBytes the size of the message before compression.
+     * @param compressedBytes the size of the message after compression.
+     */
+    void notifyCompression(long uncompressedBytes, long compressedBytes);
+
+    /**
+     * Retrieves the ratio between the uncompressed and compressed sizes of all messages which have been compressed thus
+     * far.
+     *
+     * @return a compression ratio or {@code 1} if no messages have been compressed.
+     */
+    double compressionRatio();
+
     void tryCheck();
 }
@@ -37,6 +37,7 @@ import org.neo4j.bolt.protocol.common.BoltProtocol;
 import org.neo4j.bolt.protocol.common.connector.Connector;
 import org.neo4j.bolt.protocol.common.connector.connection.authentication.AuthenticationFlag;
 import org.neo4j.bolt.protocol.common.connector.connection.listener.ConnectionListener;
+import org.neo4j.bolt.protocol.common.connector.connection.listener.MessageLatencyConnectionListener;
 import org.neo4j.bolt.protocol.common.fsm.response.NetworkResponseHandler;
 import org.neo4j.bolt.protocol.common.fsm.response.ResponseHandler;
 import org.neo4j.bolt.protocol.common.message.notifications.NotificationsConfig;
@@ -72,9 +73,12 @@ public abstract class AbstractConnection implements ConnectionHandle {
 
     private final Lock listenerLock = new ReentrantLock();
     private final List<ConnectionListener> listeners = new CopyOnWriteArrayList<>();
+    private volatile MessageLatencyConnectionListener messageLatencyListener;
 
     protected final AtomicReference<BoltProtocol> protocol = new AtomicReference<>();
     private final AtomicReference<Set<Feature>> features = new AtomicReference<>(null);
+    private final PreparedQueryRegistry preparedQueries;
+    private final AdaptivePullBatchSizer pullBatchSizer;
     protected volatile StateMachine fsm;
     // TODO: Switch to immutable writer pipeline implementation?
     protected volatile WriterPipeline writerPipeline;
@@ -105,6 +109,8 @@ public abstract class AbstractConnection implements ConnectionHandle {
         this.channel = channel;
         this.connectedAt = connectedAt;
         this.memoryTracker = memoryTracker;
+        this.preparedQueries = new PreparedQueryRegistry(memoryTracker);
+        this.pullBatchSizer = new AdaptivePullBatchSizer(memoryTracker);
 
         this.logService = logService;
         this.log = logService.getInternalLog(this.getClass());
@@ -151,6 +157,16 @@ public abstract class AbstractConnection implements ConnectionHandle {
         return this.memoryTracker;
     }
 
+    @Override
+    public PreparedQueryRegistry preparedQueries() {
+        return this.preparedQueries;
+    }
+
+    @Override
+    public AdaptivePullBatchSizer pullBatchSizer() {
+        return this.pullBatchSizer;
+    }
+
     @Override
     public void registerListener(ConnectionListener listener) {
         this.listenerLock.lock();
@@ -179,6 +195,12 @@ public abstract class AbstractConnection implements ConnectionHandle {
         }
     }
 
+    @Override
+    public void registerMessageLatencyListener(MessageLatencyConnectionListener listener) {
+        this.messageLatencyListener = listener;
+        this.registerListener(listener);
+    }
+
     @Override
     public void notifyListeners(Consumer<ConnectionListener> consumer) {
         this.listeners.forEach(consumer);
@@ -230,6 +252,7 @@ public abstract class AbstractConnection implements ConnectionHandle {
                 protocol().metadataHandler(),
                 this.connector.streamingBufferSize(),
                 this.connector.streamingFlushThreshold(),
+                this.messageLatencyListener,
                 this.logService);
 
         // also enable any implicitly enabled features within the protocol version as we do not want these to be enabled
@@ -247,6 +270,12 @@ public abstract class AbstractConnection implements ConnectionHandle {
         this.notifyListeners(listener -> listener.onStateMachineInitialized(fsm));
     }
 
+    @Override
+    public boolean isFeatureEnabled(Feature feature) {
+        var features = this.features.get();
+        return features != null && features.contains(feature);
+    }
+
     private boolean enableFeature(Feature feature) {
         // ensure that the protocol has already been selected on this connection, otherwise we are incapable of enabling
         // features as the pipelines have yet to be initialized.
@@ -312,6 +341,9 @@ public abstract class AbstractConnection implements ConnectionHandle {
         } while (pipeline == null);
         feature.configureWriterPipeline(pipeline);
 
+        // notify any registered listeners to let them prepare the network pipeline if necessary
+        this.notifyListeners(listener -> listener.onFeatureEnabled(feature));
+
         return true;
     }
 
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.bolt.protocol.common.connector.connection;
+
+import org.neo4j.memory.HeapEstimator;
+import org.neo4j.memory.MemoryTracker;
+
+/**
+ * Computes the number of records to be emitted in response to PULL messages on connections which have enabled {@link
+ * Feature#ADAPTIVE_PULL adaptive pulling}.
+ * <p />
+ * The size of each batch is derived from the rate at which the client has consumed prior batches: The time between
+ * the start of a batch and the arrival of the subsequent PULL message covers encoding, transmission and consumption
+ * of its records and thus reflects the rate at which records drain from the connection. Batches are sized to take
+ * roughly {@link #TARGET_BATCH_MILLIS} at this rate and are further limited to the number of records which are
+ * expected to fit within the remaining capacity of the outbound network buffer.
+ * <p />
+ * Instances of this class are not thread safe as requests on a given connection are processed sequentially.
+ */
+public final class AdaptivePullBatchSizer {
+    public static final long SHALLOW_SIZE = HeapEstimator.shallowSizeOfInstance(AdaptivePullBatchSizer.class);
+
+    /**
+     * Identifies the number of records emitted when no drain rate has been measured yet.
+     */
+    public static final long INITIAL_BATCH_SIZE = 1000;
+
+    /**
+     * Identifies the maximum number of records emitted within a single batch.
+     */
+    public static final long MAX_BATCH_SIZE = 100_000;
+
+    /**
+     * Identifies the time in milliseconds which a client is expected to spend consuming a single batch.
+     */
+    public static final long TARGET_BATCH_MILLIS = 250;
+
+    /**
+     * Identifies the weight of the most recent sample within the smoothed drain rate and record size.
+     */
+    private static final double SMOOTHING_FACTOR = 0.5;
+
+    private double recordsPerMilli = -1;
+    private double bytesPerRecord = -1;
+
+    private long batchStartedAt = -1;
+    private long batchRecords;
+
+    public AdaptivePullBatchSizer(MemoryTracker memoryTracker) {
+        memoryTracker.allocateHeap(SHALLOW_SIZE);
+    }
+
+    /**
+     * Computes the size of the next batch of records.
+     *
+     * @param requested the number of records requested by the client or {@code -1} when all records were requested.
+     * @param writableBytes the number of bytes which may be written before the outbound buffer becomes unwritable.
+     * @param now the current time in milliseconds.
+     * @return a number of records.
+     */
+    public long nextBatchSize(long requested, long writableBytes, long now) {
+        // the previous batch has been consumed by the client once it asks for more records, thus permitting us to
+        // take a new sample of the drain rate
+        if (this.batchStartedAt != -1 && this.batchRecords != 0) {
+            var elapsed = Math.max(now - this.batchStartedAt, 1);
+            this.recordsPerMilli = smooth(this.recordsPerMilli, (double) this.batchRecords / elapsed);
+        }
+        this.batchStartedAt = now;
+
+        long size;
+        if (writableBytes <= 0) {
+            // the client has yet to catch up with the records we've already sent - emit only a single record in
+            // order to make progress without growing the outbound buffer any further
+            size = 1;
+        } else {
+            if (this.recordsPerMilli < 0) {
+                size = INITIAL_BATCH_SIZE;
+            } else {
+                size = (long) (this.recordsPerMilli * TARGET_BATCH_MILLIS);
+            }
+
+            if (this.bytesPerRecord > 0) {
+                size = Math.min(size, (long) (writableBytes / this.bytesPerRecord));
+            }
+
+            size = Math.max(Math.min(size, MAX_BATCH_SIZE), 1);
+        }
+
+        if (requested != -1) {
+            size = Math.min(size, requested);
+        }
+
+        return size;
+    }
+
+    /**
+     * Notifies the sizer about the completion of a batch.
+     *
+     * @param records the number of records within the batch.
+     * @param bytes the estimated size of the records within the batch.
+     * @param hasRemaining true if the statement has remaining records, false otherwise.
+     */
+    public void onBatchCompleted(long records, long bytes, boolean hasRemaining) {
+        if (records != 0) {
+            this.bytesPerRecord = smooth(this.bytesPerRecord, (double) bytes / records);
+        }
+
+        if (hasRemaining) {
+            this.batchRecords = records;
+        } else {
+            // the time between the end of a statement and the next PULL message does not reflect the speed of the
+            // client, thus we'll refrain from sampling it
+            this.batchStartedAt = -1;
+            this.batchRecords = 0;
+        }
+    }
+
+    /**
+     * Retrieves the smoothed number of records consumed by the client per millisecond.
+     *
+     * @return a drain rate or {@code -1} if no rate has been measured yet.
+     */
+    public double drainRate() {
+        return this.recordsPerMilli;
+    }
+
+    private static double smooth(double previous, double sample) {
+        if (previous < 0) {
+            return sample;
+        }
+
+        return previous + SMOOTHING_FACTOR * (sample - previous);
+    }
+}
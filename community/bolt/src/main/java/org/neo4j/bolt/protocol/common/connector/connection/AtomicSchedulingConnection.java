@@ -126,6 +126,8 @@ public class AtomicSchedulingConnection extends AbstractConnection {
                 // re-throw the exception to let the scheduler handle the connection closure (if applicable)
                 throw ex;
             } finally {
+                message.release();
+
                 var processedForMillis = this.clock.millis() - processingStartedAt;
                 this.notifyListeners(listener -> listener.onRequestCompletedProcessing(message, processedForMillis));
 
@@ -34,6 +34,7 @@ import org.neo4j.bolt.protocol.common.connection.Job;
 import org.neo4j.bolt.protocol.common.connector.Connector;
 import org.neo4j.bolt.protocol.common.connector.connection.authentication.AuthenticationFlag;
 import org.neo4j.bolt.protocol.common.connector.connection.listener.ConnectionListener;
+import org.neo4j.bolt.protocol.common.connector.connection.listener.MessageLatencyConnectionListener;
 import org.neo4j.bolt.protocol.common.connector.tx.TransactionOwner;
 import org.neo4j.bolt.protocol.common.message.request.RequestMessage;
 import org.neo4j.bolt.protocol.io.pipeline.PipelineContext;
@@ -160,6 +161,16 @@ public interface Connection extends TrackedNetworkConnection, TransactionOwner {
      */
     void removeListener(ConnectionListener listener);
 
+    /**
+     * Registers a listener which records the message latencies of this connection.
+     * <p />
+     * The listener is registered like any other listener but is additionally notified of response flushes directly,
+     * as these occur for every response. Listeners must be registered before a protocol is selected.
+     *
+     * @param listener a message latency listener.
+     */
+    void registerMessageLatencyListener(MessageLatencyConnectionListener listener);
+
     /**
      * Notifies all registered listeners on this connection.
      *
@@ -192,6 +203,28 @@ public interface Connection extends TrackedNetworkConnection, TransactionOwner {
      */
     void selectProtocol(BoltProtocol protocol);
 
+    /**
+     * Evaluates whether a given feature has been enabled on this connection.
+     *
+     * @param feature a feature.
+     * @return true if enabled, false otherwise.
+     */
+    boolean isFeatureEnabled(Feature feature);
+
+    /**
+     * Retrieves the registry of queries which have been prepared on this connection.
+     *
+     * @return a prepared query registry.
+     */
+    PreparedQueryRegistry preparedQueries();
+
+    /**
+     * Retrieves the sizer which computes the size of record batches when {@link Feature#ADAPTIVE_PULL} is enabled.
+     *
+     * @return a batch sizer.
+     */
+    AdaptivePullBatchSizer pullBatchSizer();
+
     /**
      * Retrieves the value reader which shall be used to parse Packstream values via this connection.
      *
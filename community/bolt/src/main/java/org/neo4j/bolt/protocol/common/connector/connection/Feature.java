@@ -56,7 +56,60 @@ public enum Feature {
         public void configureWriterPipeline(WriterPipeline pipeline) {
             pipeline.addFirst(UtcStructWriter.getInstance());
         }
-    };
+    },
+
+    /**
+     * Enables the compression of large outgoing messages using zstd.
+     * <p />
+     * Once enabled, any message which exceeds the configured compression threshold is transmitted as a single struct
+     * with tag {@link org.neo4j.bolt.protocol.common.codec.CompressedMessageEncoder#COMPRESSED_MESSAGE_TAG} which
+     * carries the compressed encoding of the original message within a bytes field. Smaller messages, and messages
+     * which do not compress well, are transmitted as-is.
+     * <p />
+     * This functionality is never enabled implicitly and must be requested by the client through the "zstd" bugfix
+     * flag within the hello message.
+     */
+    COMPRESSION("zstd"),
+
+    /**
+     * Enables connection local handles which alias the text of queries that are executed repeatedly.
+     * <p />
+     * Once enabled, clients may pass {@code prepare: true} within the metadata of a RUN message in order to receive a
+     * connection local handle within the {@code prepared} field of its success response. Subsequent RUN messages may
+     * pass this handle within their {@code prepared} metadata field along with an empty statement in order to execute
+     * the prepared query without retransmitting its text.
+     * <p />
+     * This functionality is never enabled implicitly and must be requested by the client through the "prepare"
+     * bugfix flag within the hello message.
+     */
+    PREPARED_QUERIES("prepare"),
+
+    /**
+     * Enables the execution of a single statement with a batch of parameter sets.
+     * <p />
+     * Once enabled, clients may transmit {@link
+     * org.neo4j.bolt.protocol.common.message.request.transaction.RunBatchMessage RUN_BATCH} messages which carry a
+     * statement along with a list of parameter maps. The statement is executed once per parameter map within a single
+     * transaction and a single summary is returned for the entire batch.
+     * <p />
+     * This functionality is never enabled implicitly and must be requested by the client through the "batch" bugfix
+     * flag within the hello message.
+     */
+    BATCH_RUN("batch"),
+
+    /**
+     * Enables the server side sizing of record batches.
+     * <p />
+     * Once enabled, the number of records passed within PULL messages is treated as an upper bound. The server emits
+     * batches sized to the rate at which the client has consumed prior batches and to the remaining capacity of the
+     * outbound network buffer and indicates any remaining records via the {@code has_more} field of its response.
+     * While the client is slow to consume records, only a single record is emitted per PULL message thus permitting
+     * the worker thread to be released while the result remains open.
+     * <p />
+     * This functionality is never enabled implicitly and must be requested by the client through the "adaptive_pull"
+     * bugfix flag within the hello message.
+     */
+    ADAPTIVE_PULL("adaptive_pull");
 
     private static final Map<String, Feature> idToFeatureMap = new HashMap<>();
 
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.bolt.protocol.common.connector.connection;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.neo4j.memory.HeapEstimator;
+import org.neo4j.memory.MemoryTracker;
+
+/**
+ * Keeps track of the queries which have been prepared by a client throughout the lifetime of a given connection.
+ * <p />
+ * Each prepared query is identified by a connection local handle which may be passed in place of the statement within
+ * subsequent RUN messages. A handle is merely an alias for the query text: the resolved text is executed like any other
+ * statement, so its execution plan is neither pinned nor looked up differently within the query caches.
+ * <p />
+ * Memory allocated for prepared queries is accounted for on the connection memory tracker and is released along with
+ * the connection.
+ */
+public final class PreparedQueryRegistry {
+    private static final long SHALLOW_SIZE = HeapEstimator.shallowSizeOfInstance(PreparedQueryRegistry.class);
+
+    /**
+     * Identifies the maximum number of queries which may be prepared on a single connection.
+     */
+    public static final int MAX_PREPARED_QUERIES = 1024;
+
+    /**
+     * Identifies the handle returned when a query could not be prepared.
+     */
+    public static final long NO_HANDLE = -1;
+
+    private final MemoryTracker memoryTracker;
+
+    private final ConcurrentMap<Long, String> handleToQuery = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Long> queryToHandle = new ConcurrentHashMap<>();
+    private final AtomicLong nextHandle = new AtomicLong();
+
+    public PreparedQueryRegistry(MemoryTracker memoryTracker) {
+        this.memoryTracker = memoryTracker;
+        memoryTracker.allocateHeap(SHALLOW_SIZE);
+    }
+
+    /**
+     * Prepares a given query for later use on this connection.
+     * <p />
+     * When the same query text has previously been prepared, its existing handle is returned instead.
+     *
+     * @param query a query.
+     * @return a handle or {@link #NO_HANDLE} when the maximum number of prepared queries has been reached.
+     */
+    public synchronized long prepare(String query) {
+        var existing = this.queryToHandle.get(query);
+        if (existing != null) {
+            return existing;
+        }
+
+        if (this.handleToQuery.size() >= MAX_PREPARED_QUERIES) {
+            return NO_HANDLE;
+        }
+
+        this.memoryTracker.allocateHeap(HeapEstimator.sizeOf(query));
+
+        var handle = this.nextHandle.getAndIncrement();
+        this.handleToQuery.put(handle, query);
+        this.queryToHandle.put(query, handle);
+        return handle;
+    }
+
+    /**
+     * Retrieves the query which has been prepared with a given handle.
+     *
+     * @param handle a handle.
+     * @return a query or null if no query has been prepared with the given handle.
+     */
+    public String get(long handle) {
+        return this.handleToQuery.get(handle);
+    }
+
+    /**
+     * Retrieves the number of queries which have been prepared on this connection.
+     *
+     * @return a number of prepared queries.
+     */
+    public int size() {
+        return this.handleToQuery.size();
+    }
+}
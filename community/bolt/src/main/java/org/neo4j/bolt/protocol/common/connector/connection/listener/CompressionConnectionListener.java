@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.bolt.protocol.common.connector.connection.listener;
+
+import org.neo4j.bolt.protocol.common.codec.CompressedMessageEncoder;
+import org.neo4j.bolt.protocol.common.connector.connection.Connection;
+import org.neo4j.bolt.protocol.common.connector.connection.Feature;
+import org.neo4j.logging.InternalLog;
+import org.neo4j.logging.InternalLogProvider;
+import org.neo4j.memory.HeapEstimator;
+
+/**
+ * Introduces the message compression handler on connections which have negotiated the
+ * {@link Feature#COMPRESSION compression feature}.
+ */
+public class CompressionConnectionListener implements ConnectionListener {
+    public static final long SHALLOW_SIZE = HeapEstimator.shallowSizeOfInstance(CompressionConnectionListener.class);
+
+    private final Connection connection;
+    private final int threshold;
+    private final int level;
+    private final InternalLog log;
+
+    private CompressedMessageEncoder encoder;
+
+    public CompressionConnectionListener(Connection connection, int threshold, int level, InternalLogProvider logging) {
+        this.connection = connection;
+        this.threshold = threshold;
+        this.level = level;
+
+        this.log = logging.getLog(CompressionConnectionListener.class);
+    }
+
+    @Override
+    public void onListenerRemoved() {
+        this.connection.memoryTracker().releaseHeap(SHALLOW_SIZE);
+    }
+
+    @Override
+    public void onFeatureEnabled(Feature feature) {
+        if (feature != Feature.COMPRESSION) {
+            return;
+        }
+
+        this.log.debug("[%s] Installing message compression handler", this.connection.id());
+
+        // messages are compressed as a whole before they are split into chunks - as outbound messages traverse the
+        // pipeline from its tail, the encoder is positioned directly after the chunk encoder
+        var encoder = new CompressedMessageEncoder(
+                this.threshold, this.level, this.connection.connector().trafficAccountant());
+        this.connection
+                .channel()
+                .pipeline()
+                .addAfter("chunkFrameEncoder", CompressedMessageEncoder.HANDLER_NAME, encoder);
+        this.encoder = encoder;
+    }
+
+    @Override
+    public void onConnectionClosed(boolean isNegotiatedConnection) {
+        if (this.encoder != null) {
+            this.log.debug(
+                    "[%s] Compressed outgoing messages at a ratio of %.2f",
+                    this.connection.id(), this.encoder.compressionRatio());
+        }
+    }
+}
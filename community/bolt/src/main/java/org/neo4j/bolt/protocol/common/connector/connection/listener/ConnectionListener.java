@@ -22,6 +22,7 @@ package org.neo4j.bolt.protocol.common.connector.connection.listener;
 import io.netty.channel.ChannelPipeline;
 import org.neo4j.bolt.fsm.StateMachine;
 import org.neo4j.bolt.protocol.common.BoltProtocol;
+import org.neo4j.bolt.protocol.common.connector.connection.Feature;
 import org.neo4j.bolt.protocol.common.message.Error;
 import org.neo4j.bolt.protocol.common.message.request.RequestMessage;
 import org.neo4j.internal.kernel.api.security.LoginContext;
@@ -74,6 +75,16 @@ public interface ConnectionListener {
      */
     default void onProtocolSelected(BoltProtocol protocol) {}
 
+    /**
+     * Handles the enabling of a feature through negotiation.
+     * <p />
+     * This event occurs at most once per feature when the feature has been explicitly negotiated by the client. Features
+     * which are implicitly enabled by the selected protocol version are not reported.
+     *
+     * @param feature a feature.
+     */
+    default void onFeatureEnabled(Feature feature) {}
+
     /**
      * Handles the scheduling of the connection.
      * <p />
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.bolt.protocol.common.connector.connection.listener;
+
+import java.util.concurrent.TimeUnit;
+import org.neo4j.bolt.protocol.common.connector.accounting.latency.MessageLatencyAccountant;
+import org.neo4j.bolt.protocol.common.connector.accounting.latency.MessagePhase;
+import org.neo4j.bolt.protocol.common.connector.connection.Connection;
+import org.neo4j.bolt.protocol.common.message.request.RequestMessage;
+import org.neo4j.memory.HeapEstimator;
+import org.neo4j.time.SystemNanoClock;
+
+/**
+ * Records the queue, processing and flush times of the requests processed by a given connection.
+ * <p />
+ * Queue times are reported by the connection with millisecond precision while processing and flush times are measured
+ * with nanosecond precision. Processing times include the time spent flushing the response.
+ */
+public class MessageLatencyConnectionListener implements ConnectionListener {
+    public static final long SHALLOW_SIZE = HeapEstimator.shallowSizeOfInstance(MessageLatencyConnectionListener.class);
+
+    private final Connection connection;
+    private final MessageLatencyAccountant accountant;
+    private final SystemNanoClock clock;
+
+    // requests are processed sequentially thus permitting us to track the current request without synchronization
+    private Class<? extends RequestMessage> messageType;
+    private long processingStartedAt;
+
+    public MessageLatencyConnectionListener(
+            Connection connection, MessageLatencyAccountant accountant, SystemNanoClock clock) {
+        this.connection = connection;
+        this.accountant = accountant;
+        this.clock = clock;
+    }
+
+    @Override
+    public void onListenerRemoved() {
+        this.connection.memoryTracker().releaseHeap(SHALLOW_SIZE);
+    }
+
+    @Override
+    public void onRequestBeginProcessing(RequestMessage message, long queuedForMillis) {
+        this.messageType = message.getClass();
+        this.processingStartedAt = this.clock.nanos();
+
+        this.accountant.record(this.messageType, MessagePhase.QUEUE, TimeUnit.MILLISECONDS.toNanos(queuedForMillis));
+    }
+
+    /**
+     * Handles the completion of a flush operation for the response to the current request.
+     * <p />
+     * This function is invoked by the response handler directly, prior to the respective success or ignored
+     * notification, and includes the time spent waiting for any previously written records to be flushed to the
+     * network.
+     *
+     * @param flushedForNanos the amount of nanoseconds that the response took to be flushed.
+     */
+    public void onResponseFlushed(long flushedForNanos) {
+        var messageType = this.messageType;
+        if (messageType != null) {
+            this.accountant.record(messageType, MessagePhase.FLUSH, flushedForNanos);
+        }
+    }
+
+    @Override
+    public void onRequestCompletedProcessing(RequestMessage message, long processedForMillis) {
+        var processedForNanos = this.clock.nanos() - this.processingStartedAt;
+        this.accountant.record(message.getClass(), MessagePhase.PROCESSING, processedForNanos);
+        this.messageType = null;
+    }
+}
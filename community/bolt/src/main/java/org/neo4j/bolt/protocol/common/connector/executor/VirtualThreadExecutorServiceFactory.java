@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.bolt.protocol.common.connector.executor;
+
+import static java.lang.invoke.MethodType.methodType;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Creates an executor service which executes each task on a virtual thread of its own.
+ * <p>
+ * Connections spend most of their time on a worker waiting for the next message of the client, which a virtual thread
+ * does without holding on to a carrier thread. The number of connections that are scheduled at the same time is hence
+ * not bounded by a thread pool, and tasks are never rejected.
+ * <p>
+ * A virtual thread is pinned to its carrier while it blocks inside a {@code synchronized} block. The blocking waits on
+ * the path of a request do not hold monitors: the connection waits for jobs on a {@link java.util.concurrent.locks.Lock}
+ * based queue, lock clients wait for locks by parking, and transaction log appends, which do synchronize, are made by
+ * the log writer thread rather than by the thread committing the transaction.
+ * <p>
+ * Virtual threads are looked up reflectively, since they are not part of the Java release that this module targets.
+ * See {@link #isSupported()}.
+ */
+public class VirtualThreadExecutorServiceFactory implements ExecutorServiceFactory {
+
+    private static final MethodHandle OF_VIRTUAL;
+    private static final MethodHandle NAME;
+    private static final MethodHandle FACTORY;
+    private static final MethodHandle NEW_THREAD_PER_TASK_EXECUTOR;
+    private static final boolean SUPPORTED;
+
+    static {
+        MethodHandle ofVirtual = null;
+        MethodHandle name = null;
+        MethodHandle factory = null;
+        MethodHandle newThreadPerTaskExecutor = null;
+        boolean supported = false;
+
+        try {
+            var lookup = MethodHandles.publicLookup();
+            var builderClass = Class.forName("java.lang.Thread$Builder");
+            var ofVirtualClass = Class.forName("java.lang.Thread$Builder$OfVirtual");
+
+            ofVirtual = lookup.findStatic(Thread.class, "ofVirtual", methodType(ofVirtualClass));
+            name = lookup.findVirtual(ofVirtualClass, "name", methodType(ofVirtualClass, String.class, long.class));
+            factory = lookup.findVirtual(builderClass, "factory", methodType(ThreadFactory.class));
+            newThreadPerTaskExecutor = lookup.findStatic(
+                    Executors.class, "newThreadPerTaskExecutor", methodType(ExecutorService.class, ThreadFactory.class));
+
+            // Virtual threads are a preview feature on some releases, which fails when they are used
+            ofVirtual.invoke();
+            supported = true;
+        } catch (Throwable ignored) {
+            // Not supported by this JVM
+        }
+
+        OF_VIRTUAL = ofVirtual;
+        NAME = name;
+        FACTORY = factory;
+        NEW_THREAD_PER_TASK_EXECUTOR = newThreadPerTaskExecutor;
+        SUPPORTED = supported;
+    }
+
+    private final String namePrefix;
+
+    /**
+     * @param namePrefix prefix of the names of the created threads, which are suffixed with a counter.
+     */
+    public VirtualThreadExecutorServiceFactory(String namePrefix) {
+        this.namePrefix = namePrefix;
+    }
+
+    /**
+     * @return true if the running JVM provides virtual threads, false otherwise.
+     */
+    public static boolean isSupported() {
+        return SUPPORTED;
+    }
+
+    @Override
+    public ExecutorService create() {
+        if (!SUPPORTED) {
+            throw new UnsupportedOperationException("Virtual threads are not supported by this JVM");
+        }
+
+        try {
+            var builder = NAME.invoke(OF_VIRTUAL.invoke(), this.namePrefix, 0L);
+            var threadFactory = (ThreadFactory) FACTORY.invoke(builder);
+            return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(threadFactory);
+        } catch (RuntimeException | Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new IllegalStateException("Failed to create virtual thread executor", ex);
+        }
+    }
+}
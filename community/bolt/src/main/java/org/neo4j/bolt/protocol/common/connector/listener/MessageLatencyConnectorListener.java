@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.bolt.protocol.common.connector.listener;
+
+import org.neo4j.bolt.protocol.common.connector.accounting.latency.MessageLatencyAccountant;
+import org.neo4j.bolt.protocol.common.connector.connection.Connection;
+import org.neo4j.bolt.protocol.common.connector.connection.listener.MessageLatencyConnectionListener;
+import org.neo4j.configuration.connectors.BoltConnectorInternalSettings;
+import org.neo4j.time.SystemNanoClock;
+
+/**
+ * Attaches a {@link MessageLatencyConnectionListener} to all newly established connections.
+ * <p />
+ * This listener is enabled via the {@link BoltConnectorInternalSettings#enable_message_latency_metrics} configuration
+ * property.
+ */
+public class MessageLatencyConnectorListener implements ConnectorListener {
+    private final MessageLatencyAccountant accountant;
+    private final SystemNanoClock clock;
+
+    public MessageLatencyConnectorListener(MessageLatencyAccountant accountant, SystemNanoClock clock) {
+        this.accountant = accountant;
+        this.clock = clock;
+    }
+
+    @Override
+    public void onConnectionCreated(Connection connection) {
+        connection.memoryTracker().allocateHeap(MessageLatencyConnectionListener.SHALLOW_SIZE);
+
+        connection.registerMessageLatencyListener(
+                new MessageLatencyConnectionListener(connection, this.accountant, this.clock));
+    }
+}
@@ -25,6 +25,7 @@ import java.util.List;
 import java.util.Set;
 import org.neo4j.bolt.protocol.common.connector.connection.Connection;
 import org.neo4j.bolt.protocol.common.connector.connection.listener.ConnectionListener;
+import org.neo4j.bolt.protocol.common.connector.connection.listener.MessageLatencyConnectionListener;
 import org.neo4j.bolt.protocol.common.fsm.response.metadata.MetadataHandler;
 import org.neo4j.bolt.protocol.common.message.Error;
 import org.neo4j.bolt.protocol.common.message.response.FailureMessage;
@@ -45,6 +46,7 @@ public class NetworkResponseHandler extends AbstractMetadataAwareResponseHandler
     private final Connection connection;
     private final int bufferSize;
     private final int flushThreshold;
+    private final MessageLatencyConnectionListener messageLatencyListener;
     private final Log log;
 
     private MapValueBuilder metadataBuilder;
@@ -55,12 +57,14 @@ public class NetworkResponseHandler extends AbstractMetadataAwareResponseHandler
             MetadataHandler metadataHandler,
             int bufferSize,
             int flushThreshold,
+            MessageLatencyConnectionListener messageLatencyListener,
             LogService logging) {
         super(metadataHandler);
 
         this.connection = connection;
         this.bufferSize = bufferSize;
         this.flushThreshold = flushThreshold;
+        this.messageLatencyListener = messageLatencyListener;
         this.log = logging.getInternalLog(NetworkResponseHandler.class);
     }
 
@@ -133,7 +137,9 @@ public class NetworkResponseHandler extends AbstractMetadataAwareResponseHandler
     @Override
     public void onIgnored() {
         try {
+            var flushStartedAt = this.messageLatencyListener != null ? System.nanoTime() : 0;
             var f = this.connection.writeAndFlush(IgnoredMessage.INSTANCE).sync();
+            this.notifyFlushed(flushStartedAt);
 
             if (!f.isSuccess()) {
                 var cause = f.cause();
@@ -167,7 +173,9 @@ public class NetworkResponseHandler extends AbstractMetadataAwareResponseHandler
         }
 
         try {
+            var flushStartedAt = this.messageLatencyListener != null ? System.nanoTime() : 0;
             var f = this.connection.writeAndFlush(new SuccessMessage(metadata)).sync();
+            this.notifyFlushed(flushStartedAt);
 
             if (!f.isSuccess()) {
                 var cause = f.cause();
@@ -184,4 +192,12 @@ public class NetworkResponseHandler extends AbstractMetadataAwareResponseHandler
             throw new BoltStreamingWriteException("Failed to transmit operation result: Response write failure", ex);
         }
     }
+
+    private void notifyFlushed(long flushStartedAt) {
+        // only present when message latency metrics are enabled
+        var messageLatencyListener = this.messageLatencyListener;
+        if (messageLatencyListener != null) {
+            messageLatencyListener.onResponseFlushed(System.nanoTime() - flushStartedAt);
+        }
+    }
 }
@@ -23,15 +23,18 @@ import org.neo4j.bolt.fsm.Context;
 import org.neo4j.bolt.fsm.error.StateMachineException;
 import org.neo4j.bolt.fsm.state.StateReference;
 import org.neo4j.bolt.fsm.state.transition.AbstractStateTransition;
+import org.neo4j.bolt.protocol.common.connector.connection.PreparedQueryRegistry;
 import org.neo4j.bolt.protocol.common.fsm.States;
 import org.neo4j.bolt.protocol.common.fsm.error.AuthenticationStateTransitionException;
 import org.neo4j.bolt.protocol.common.fsm.error.TransactionStateTransitionException;
 import org.neo4j.bolt.protocol.common.fsm.response.ResponseHandler;
+import org.neo4j.bolt.protocol.common.message.decoder.transaction.DefaultRunMessageDecoder;
 import org.neo4j.bolt.protocol.common.message.request.transaction.RunMessage;
 import org.neo4j.bolt.protocol.common.signal.StateSignal;
 import org.neo4j.bolt.security.error.AuthenticationException;
 import org.neo4j.bolt.tx.TransactionType;
 import org.neo4j.bolt.tx.error.TransactionException;
+import org.neo4j.values.storable.Values;
 
 /**
  * Handles the creation of auto-commit transactions.
@@ -80,6 +83,13 @@ public final class CreateAutocommitStatementStateTransition extends AbstractStat
             long end = ctx.clock().millis();
 
             handler.onStatementPrepared(TransactionType.IMPLICIT, statement.id(), end - start, statement.fieldNames());
+
+            if (message.prepare()) {
+                var handle = ctx.connection().preparedQueries().prepare(message.statement());
+                if (handle != PreparedQueryRegistry.NO_HANDLE) {
+                    handler.onMetadata(DefaultRunMessageDecoder.FIELD_PREPARED, Values.longValue(handle));
+                }
+            }
         } catch (TransactionException ex) {
             throw new TransactionStateTransitionException(ex);
         }
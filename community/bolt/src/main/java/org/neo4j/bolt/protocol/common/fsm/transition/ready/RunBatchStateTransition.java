@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.bolt.protocol.common.fsm.transition.ready;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.neo4j.bolt.fsm.Context;
+import org.neo4j.bolt.fsm.error.StateMachineException;
+import org.neo4j.bolt.fsm.error.state.IllegalRequestParameterException;
+import org.neo4j.bolt.fsm.state.StateReference;
+import org.neo4j.bolt.fsm.state.transition.AbstractStateTransition;
+import org.neo4j.bolt.protocol.common.fsm.States;
+import org.neo4j.bolt.protocol.common.fsm.error.AuthenticationStateTransitionException;
+import org.neo4j.bolt.protocol.common.fsm.error.TransactionStateTransitionException;
+import org.neo4j.bolt.protocol.common.fsm.response.NoopRecordHandler;
+import org.neo4j.bolt.protocol.common.fsm.response.RecordHandler;
+import org.neo4j.bolt.protocol.common.fsm.response.ResponseHandler;
+import org.neo4j.bolt.protocol.common.message.Error;
+import org.neo4j.bolt.protocol.common.message.request.transaction.RunBatchMessage;
+import org.neo4j.bolt.security.error.AuthenticationException;
+import org.neo4j.bolt.tx.Transaction;
+import org.neo4j.bolt.tx.TransactionType;
+import org.neo4j.bolt.tx.error.TransactionException;
+import org.neo4j.bolt.tx.statement.BatchQueryStatistics;
+import org.neo4j.graphdb.ExecutionPlanDescription;
+import org.neo4j.graphdb.Notification;
+import org.neo4j.graphdb.QueryExecutionType;
+import org.neo4j.graphdb.QueryStatistics;
+import org.neo4j.kernel.database.DatabaseReference;
+import org.neo4j.packstream.error.reader.PackstreamReaderException;
+import org.neo4j.values.AnyValue;
+import org.neo4j.values.storable.Values;
+import org.neo4j.values.virtual.MapValue;
+
+/**
+ * Handles the execution of a statement with a batch of parameter sets.
+ * <p />
+ * The statement is executed once per parameter set while its results are discarded. Parameter sets are decoded one at
+ * a time as the batch progresses and a single summary is returned for the entire batch.
+ * <p />
+ * When invoked within {@link States#READY}, the batch is executed within a dedicated implicit transaction which is
+ * committed once all parameter sets have been processed. When invoked within {@link States#IN_TRANSACTION}, the batch
+ * is executed within the active transaction instead.
+ */
+public final class RunBatchStateTransition extends AbstractStateTransition<RunBatchMessage> {
+    private static final RunBatchStateTransition INSTANCE = new RunBatchStateTransition();
+
+    private RunBatchStateTransition() {
+        super(RunBatchMessage.class);
+    }
+
+    public static RunBatchStateTransition getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public StateReference process(Context ctx, RunBatchMessage message, ResponseHandler handler)
+            throws StateMachineException {
+        var activeTransaction = ctx.connection().transaction();
+        if (activeTransaction.isPresent()) {
+            try {
+                this.execute(ctx, activeTransaction.get(), message, handler);
+            } catch (TransactionException ex) {
+                throw new TransactionStateTransitionException(ex);
+            }
+
+            return ctx.state();
+        }
+
+        if (message.impersonatedUser() != null) {
+            try {
+                ctx.connection().impersonate(message.impersonatedUser());
+            } catch (AuthenticationException ex) {
+                throw new AuthenticationStateTransitionException(ex);
+            }
+        }
+
+        String bookmark;
+        try {
+            try {
+                var tx = ctx.connection()
+                        .beginTransaction(
+                                TransactionType.IMPLICIT,
+                                message.databaseName(),
+                                message.getAccessMode(),
+                                message.bookmarks(),
+                                message.transactionTimeout(),
+                                message.transactionMetadata(),
+                                message.notificationsConfig());
+
+                this.execute(ctx, tx, message, handler);
+                bookmark = tx.commit();
+            } finally {
+                // the batch is either committed in its entirety or not at all thus permitting us to free the
+                // transaction regardless of its outcome
+                ctx.connection().closeTransaction();
+                ctx.connection().clearImpersonation();
+            }
+        } catch (TransactionException ex) {
+            throw new TransactionStateTransitionException(ex);
+        }
+
+        handler.onBookmark(bookmark);
+        return States.READY;
+    }
+
+    private void execute(Context ctx, Transaction tx, RunBatchMessage message, ResponseHandler handler)
+            throws StateMachineException, TransactionException {
+        var summary = new BatchSummary();
+        long start = ctx.clock().millis();
+
+        long executed;
+        try {
+            executed = ctx.connection().valueReader(message.parameterSets()).readMapStream(params -> {
+                // the same statement instance is passed for every parameter set in order to permit the query caches
+                // to resolve the same plan without rehashing or comparing the query text
+                var statement = tx.run(message.statement(), params);
+                try {
+                    statement.discard(summary, -1);
+                } finally {
+                    statement.close();
+                }
+            });
+        } catch (PackstreamReaderException ex) {
+            throw new IllegalRequestParameterException("Illegal parameter set: " + ex.getMessage(), ex);
+        }
+
+        long end = ctx.clock().millis();
+
+        if (executed != 0) {
+            handler.onStreamingMetadata(
+                    end - start, summary.executionType, summary.database, summary.statistics, summary.notifications);
+        }
+        handler.onMetadata("batch_size", Values.longValue(executed));
+    }
+
+    /**
+     * Accumulates the metadata of the statements within a batch while discarding their records.
+     */
+    private static final class BatchSummary implements ResponseHandler {
+        private final BatchQueryStatistics statistics = new BatchQueryStatistics();
+        private final List<Notification> notifications = new ArrayList<>();
+        private QueryExecutionType executionType;
+        private DatabaseReference database;
+
+        @Override
+        public void onMetadata(String key, AnyValue value) {}
+
+        @Override
+        public void onStatementPrepared(
+                TransactionType transactionType,
+                long statementId,
+                long timeSpentPreparingResults,
+                List<String> fieldNames) {}
+
+        @Override
+        public RecordHandler onBeginStreaming(List<String> fieldNames) {
+            return NoopRecordHandler.getInstance();
+        }
+
+        @Override
+        public void onStreamingMetadata(
+                long timeSpentStreaming,
+                QueryExecutionType executionType,
+                DatabaseReference database,
+                QueryStatistics statistics,
+                Iterable<Notification> notifications) {
+            this.executionType = executionType;
+            this.database = database;
+            this.statistics.add(statistics);
+            notifications.forEach(this.notifications::add);
+        }
+
+        @Override
+        public void onStreamingExecutionPlan(ExecutionPlanDescription plan) {}
+
+        @Override
+        public void onCompleteStreaming(boolean hasRemaining) {}
+
+        @Override
+        public void onBookmark(String encodedBookmark) {}
+
+        @Override
+        public void onRoutingTable(String databaseName, MapValue routingTable) {}
+
+        @Override
+        public void onFailure(Error error) {}
+
+        @Override
+        public void onIgnored() {}
+
+        @Override
+        public void onSuccess() {}
+    }
+}
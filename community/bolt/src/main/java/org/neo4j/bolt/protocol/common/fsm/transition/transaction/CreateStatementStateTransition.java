@@ -22,12 +22,15 @@ package org.neo4j.bolt.protocol.common.fsm.transition.transaction;
 import org.neo4j.bolt.fsm.Context;
 import org.neo4j.bolt.fsm.error.StateMachineException;
 import org.neo4j.bolt.fsm.state.StateReference;
+import org.neo4j.bolt.protocol.common.connector.connection.PreparedQueryRegistry;
 import org.neo4j.bolt.protocol.common.fsm.error.TransactionStateTransitionException;
 import org.neo4j.bolt.protocol.common.fsm.response.ResponseHandler;
+import org.neo4j.bolt.protocol.common.message.decoder.transaction.DefaultRunMessageDecoder;
 import org.neo4j.bolt.protocol.common.message.request.transaction.RunMessage;
 import org.neo4j.bolt.tx.Transaction;
 import org.neo4j.bolt.tx.TransactionType;
 import org.neo4j.bolt.tx.error.TransactionException;
+import org.neo4j.values.storable.Values;
 
 public final class CreateStatementStateTransition extends TransactionalStateTransition<RunMessage> {
     private static final CreateStatementStateTransition INSTANCE = new CreateStatementStateTransition();
@@ -52,6 +55,13 @@ public final class CreateStatementStateTransition extends TransactionalStateTran
             // explicit transaction behavior even if an implicit transaction makes use of this
             // state transition in order to support internal Fabric functionality
             handler.onStatementPrepared(TransactionType.EXPLICIT, statement.id(), end - start, statement.fieldNames());
+
+            if (message.prepare()) {
+                var handle = ctx.connection().preparedQueries().prepare(message.statement());
+                if (handle != PreparedQueryRegistry.NO_HANDLE) {
+                    handler.onMetadata(DefaultRunMessageDecoder.FIELD_PREPARED, Values.longValue(handle));
+                }
+            }
         } catch (TransactionException ex) {
             throw new TransactionStateTransitionException(ex);
         }
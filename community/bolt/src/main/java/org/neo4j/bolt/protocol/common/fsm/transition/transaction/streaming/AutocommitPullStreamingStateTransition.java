@@ -41,6 +41,6 @@ public final class AutocommitPullStreamingStateTransition extends AutocommitStat
     @Override
     protected void process(Context ctx, Transaction tx, Statement statement, long noToProcess, ResponseHandler handler)
             throws StateMachineException, TransactionException {
-        statement.consume(handler, noToProcess);
+        PullStreaming.consume(ctx, statement, noToProcess, handler);
     }
 }
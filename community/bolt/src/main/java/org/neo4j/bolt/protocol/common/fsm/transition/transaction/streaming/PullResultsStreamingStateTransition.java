@@ -45,6 +45,6 @@ public final class PullResultsStreamingStateTransition extends StreamingStateTra
     @Override
     protected void process(Context ctx, Transaction tx, Statement statement, long noToProcess, ResponseHandler handler)
             throws StatementException {
-        statement.consume(handler, noToProcess);
+        PullStreaming.consume(ctx, statement, noToProcess, handler);
     }
 }
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.bolt.protocol.common.fsm.transition.transaction.streaming;
+
+import java.util.List;
+import org.neo4j.bolt.fsm.Context;
+import org.neo4j.bolt.protocol.common.connector.connection.Feature;
+import org.neo4j.bolt.protocol.common.fsm.response.RecordHandler;
+import org.neo4j.bolt.protocol.common.fsm.response.ResponseHandler;
+import org.neo4j.bolt.protocol.common.message.Error;
+import org.neo4j.bolt.tx.TransactionType;
+import org.neo4j.bolt.tx.error.statement.StatementException;
+import org.neo4j.bolt.tx.statement.Statement;
+import org.neo4j.graphdb.ExecutionPlanDescription;
+import org.neo4j.graphdb.Notification;
+import org.neo4j.graphdb.QueryExecutionType;
+import org.neo4j.graphdb.QueryStatistics;
+import org.neo4j.kernel.database.DatabaseReference;
+import org.neo4j.values.AnyValue;
+import org.neo4j.values.virtual.MapValue;
+
+/**
+ * Streams the results of a statement in response to a PULL message.
+ * <p />
+ * When {@link Feature#ADAPTIVE_PULL} is enabled on the connection, the number of records requested by the client is
+ * replaced with the size computed by the connection's {@link
+ * org.neo4j.bolt.protocol.common.connector.connection.AdaptivePullBatchSizer batch sizer} and the size of the emitted
+ * records is measured in order to refine subsequent batches.
+ */
+final class PullStreaming {
+
+    private PullStreaming() {}
+
+    static void consume(Context ctx, Statement statement, long noToProcess, ResponseHandler handler)
+            throws StatementException {
+        var connection = ctx.connection();
+        if (!connection.isFeatureEnabled(Feature.ADAPTIVE_PULL)) {
+            statement.consume(handler, noToProcess);
+            return;
+        }
+
+        var sizer = connection.pullBatchSizer();
+        var batchSize = sizer.nextBatchSize(
+                noToProcess, connection.channel().bytesBeforeUnwritable(), ctx.clock().millis());
+
+        var measuringHandler = new MeasuringResponseHandler(handler);
+        statement.consume(measuringHandler, batchSize);
+
+        sizer.onBatchCompleted(measuringHandler.records, measuringHandler.bytes, statement.hasRemaining());
+    }
+
+    /**
+     * Counts the records passed to a delegate handler along with their estimated size.
+     */
+    private static final class MeasuringResponseHandler implements ResponseHandler, RecordHandler {
+        private final ResponseHandler delegate;
+        private RecordHandler recordHandler;
+
+        private long records;
+        private long bytes;
+
+        private MeasuringResponseHandler(ResponseHandler delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void onMetadata(String key, AnyValue value) {
+            this.delegate.onMetadata(key, value);
+        }
+
+        @Override
+        public void onStatementPrepared(
+                TransactionType transactionType,
+                long statementId,
+                long timeSpentPreparingResults,
+                List<String> fieldNames) {
+            this.delegate.onStatementPrepared(transactionType, statementId, timeSpentPreparingResults, fieldNames);
+        }
+
+        @Override
+        public RecordHandler onBeginStreaming(List<String> fieldNames) {
+            this.recordHandler = this.delegate.onBeginStreaming(fieldNames);
+            return this;
+        }
+
+        @Override
+        public void onStreamingMetadata(
+                long timeSpentStreaming,
+                QueryExecutionType executionType,
+                DatabaseReference database,
+                QueryStatistics statistics,
+                Iterable<Notification> notifications) {
+            this.delegate.onStreamingMetadata(timeSpentStreaming, executionType, database, statistics, notifications);
+        }
+
+        @Override
+        public void onStreamingExecutionPlan(ExecutionPlanDescription plan) {
+            this.delegate.onStreamingExecutionPlan(plan);
+        }
+
+        @Override
+        public void onCompleteStreaming(boolean hasRemaining) {
+            this.delegate.onCompleteStreaming(hasRemaining);
+        }
+
+        @Override
+        public void onBookmark(String encodedBookmark) {
+            this.delegate.onBookmark(encodedBookmark);
+        }
+
+        @Override
+        public void onRoutingTable(String databaseName, MapValue routingTable) {
+            this.delegate.onRoutingTable(databaseName, routingTable);
+        }
+
+        @Override
+        public void onFailure(Error error) {
+            this.delegate.onFailure(error);
+        }
+
+        @Override
+        public void onIgnored() {
+            this.delegate.onIgnored();
+        }
+
+        @Override
+        public void onSuccess() {
+            this.delegate.onSuccess();
+        }
+
+        @Override
+        public void onBegin() {
+            this.recordHandler.onBegin();
+        }
+
+        @Override
+        public void onField(AnyValue value) {
+            this.bytes += value.estimatedHeapUsage();
+            this.recordHandler.onField(value);
+        }
+
+        @Override
+        public void onCompleted() {
+            this.records++;
+            this.recordHandler.onCompleted();
+        }
+
+        @Override
+        public void onFailure() {
+            this.recordHandler.onFailure();
+        }
+    }
+}
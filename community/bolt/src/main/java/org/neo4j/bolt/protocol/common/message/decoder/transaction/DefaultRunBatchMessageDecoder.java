@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.bolt.protocol.common.message.decoder.transaction;
+
+import io.netty.buffer.Unpooled;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.neo4j.bolt.protocol.common.connector.connection.Connection;
+import org.neo4j.bolt.protocol.common.connector.connection.Feature;
+import org.neo4j.bolt.protocol.common.message.AccessMode;
+import org.neo4j.bolt.protocol.common.message.decoder.util.TransactionInitiatingMetadataParser;
+import org.neo4j.bolt.protocol.common.message.notifications.NotificationsConfig;
+import org.neo4j.bolt.protocol.common.message.request.transaction.RunBatchMessage;
+import org.neo4j.packstream.error.reader.PackstreamReaderException;
+import org.neo4j.packstream.error.reader.UnexpectedStructException;
+import org.neo4j.packstream.error.struct.IllegalStructArgumentException;
+import org.neo4j.packstream.io.PackstreamBuf;
+import org.neo4j.packstream.struct.StructHeader;
+import org.neo4j.packstream.util.PackstreamConditions;
+import org.neo4j.values.virtual.MapValue;
+
+public class DefaultRunBatchMessageDecoder extends AbstractTransactionInitiatingMessageDecoder<RunBatchMessage> {
+    private static final DefaultRunBatchMessageDecoder INSTANCE = new DefaultRunBatchMessageDecoder();
+
+    protected DefaultRunBatchMessageDecoder() {}
+
+    public static DefaultRunBatchMessageDecoder getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public short getTag() {
+        return RunBatchMessage.SIGNATURE;
+    }
+
+    @Override
+    public RunBatchMessage read(Connection ctx, PackstreamBuf buffer, StructHeader header)
+            throws PackstreamReaderException {
+        // batches are an opt-in extension to the protocol - unless negotiated, we'll treat them like any other
+        // unknown message
+        if (!ctx.isFeatureEnabled(Feature.BATCH_RUN)) {
+            throw new UnexpectedStructException(header);
+        }
+
+        PackstreamConditions.requireLength(header, 3);
+
+        var valueReader = ctx.valueReader(buffer);
+
+        String statement;
+        MapValue metadata;
+        try {
+            statement = buffer.readString();
+        } catch (PackstreamReaderException ex) {
+            throw new IllegalStructArgumentException("statement", ex);
+        }
+        try {
+            metadata = valueReader.readMap();
+        } catch (PackstreamReaderException ex) {
+            throw new IllegalStructArgumentException("metadata", ex);
+        }
+
+        List<String> bookmarks;
+        Duration txTimeout;
+        AccessMode accessMode;
+        Map<String, Object> txMetadata;
+        String databaseName;
+        String impersonatedUser;
+        NotificationsConfig notificationsConfig;
+        try {
+            bookmarks = this.readBookmarks(metadata);
+            txTimeout = this.readTimeout(metadata);
+            accessMode = this.readAccessMode(metadata);
+            txMetadata = this.readMetadata(metadata);
+            databaseName = TransactionInitiatingMetadataParser.readDatabaseName(metadata);
+            impersonatedUser = this.readImpersonatedUser(metadata);
+            notificationsConfig = this.readNotificationsConfig(metadata);
+        } catch (PackstreamReaderException ex) {
+            throw new IllegalStructArgumentException("metadata", ex);
+        }
+
+        // every parameter set is decoded once in order to reject malformed batches before any of their statements is
+        // executed - the decoded values are discarded right away, however, as they are decoded again one at a time
+        // once the statement is executed
+        var target = buffer.getTarget();
+        var start = target.readerIndex();
+        long batchSize;
+        try {
+            batchSize = valueReader.readMapStream(params -> {});
+        } catch (PackstreamReaderException ex) {
+            throw new IllegalStructArgumentException("parameterSets", ex);
+        }
+
+        // as the network buffer is released once decoding completes, we'll copy the encoded parameter sets onto the
+        // heap - the copy is accounted for on the connection and released once the message has been processed
+        var length = target.readerIndex() - start;
+        ctx.memoryTracker().allocateHeap(length);
+        var parameterSets = Unpooled.buffer(length);
+        parameterSets.writeBytes(target, start, length);
+
+        return new RunBatchMessage(
+                statement,
+                batchSize,
+                parameterSets,
+                ctx.memoryTracker(),
+                bookmarks,
+                txTimeout,
+                accessMode,
+                txMetadata,
+                databaseName,
+                impersonatedUser,
+                notificationsConfig);
+    }
+}
@@ -20,6 +20,7 @@
 package org.neo4j.bolt.protocol.common.message.decoder.transaction;
 
 import org.neo4j.bolt.protocol.common.connector.connection.Connection;
+import org.neo4j.bolt.protocol.common.connector.connection.Feature;
 import org.neo4j.bolt.protocol.common.message.decoder.util.TransactionInitiatingMetadataParser;
 import org.neo4j.bolt.protocol.common.message.request.transaction.RunMessage;
 import org.neo4j.packstream.error.reader.PackstreamReaderException;
@@ -27,9 +28,15 @@ import org.neo4j.packstream.error.struct.IllegalStructArgumentException;
 import org.neo4j.packstream.io.PackstreamBuf;
 import org.neo4j.packstream.struct.StructHeader;
 import org.neo4j.packstream.util.PackstreamConditions;
+import org.neo4j.packstream.util.PackstreamConversions;
+import org.neo4j.values.storable.BooleanValue;
+import org.neo4j.values.storable.Values;
 import org.neo4j.values.virtual.MapValue;
 
 public class DefaultRunMessageDecoder extends AbstractTransactionInitiatingMessageDecoder<RunMessage> {
+    public static final String FIELD_PREPARE = "prepare";
+    public static final String FIELD_PREPARED = "prepared";
+
     private static final DefaultRunMessageDecoder INSTANCE = new DefaultRunMessageDecoder();
 
     protected DefaultRunMessageDecoder() {}
@@ -68,6 +75,12 @@ public class DefaultRunMessageDecoder extends AbstractTransactionInitiatingMessa
             throw new IllegalStructArgumentException("metadata", ex);
         }
 
+        var prepare = false;
+        if (ctx.isFeatureEnabled(Feature.PREPARED_QUERIES)) {
+            statement = this.resolvePreparedStatement(ctx, statement, metadata);
+            prepare = this.readPrepare(metadata);
+        }
+
         try {
             var bookmarks = this.readBookmarks(metadata);
             var txTimeout = this.readTimeout(metadata);
@@ -85,9 +98,43 @@ public class DefaultRunMessageDecoder extends AbstractTransactionInitiatingMessa
                     txMetadata,
                     databaseName,
                     impersonatedUser,
-                    notificationsConfig);
+                    notificationsConfig,
+                    prepare);
         } catch (PackstreamReaderException ex) {
             throw new IllegalStructArgumentException("metadata", ex);
         }
     }
+
+    protected String resolvePreparedStatement(Connection ctx, String statement, MapValue metadata)
+            throws IllegalStructArgumentException {
+        var handle = PackstreamConversions.asNullableLongValue(FIELD_PREPARED, metadata.get(FIELD_PREPARED));
+        if (handle.isEmpty()) {
+            return statement;
+        }
+
+        if (!statement.isEmpty()) {
+            throw new IllegalStructArgumentException(
+                    FIELD_PREPARED, "Expecting statement to be empty when referencing a prepared query");
+        }
+
+        var preparedStatement = ctx.preparedQueries().get(handle.getAsLong());
+        if (preparedStatement == null) {
+            throw new IllegalStructArgumentException(
+                    FIELD_PREPARED, "No prepared query with handle " + handle.getAsLong());
+        }
+
+        return preparedStatement;
+    }
+
+    protected boolean readPrepare(MapValue metadata) throws IllegalStructArgumentException {
+        var prepare = metadata.get(FIELD_PREPARE);
+        if (prepare == Values.NO_VALUE) {
+            return false;
+        }
+        if (prepare instanceof BooleanValue booleanValue) {
+            return booleanValue.booleanValue();
+        }
+
+        throw new IllegalStructArgumentException(FIELD_PREPARE, "Expecting prepare flag to be a boolean");
+    }
 }
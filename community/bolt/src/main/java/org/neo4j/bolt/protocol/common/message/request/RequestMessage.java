@@ -35,4 +35,11 @@ public interface RequestMessage {
     default boolean isIgnoredWhenFailed() {
         return true;
     }
+
+    /**
+     * Releases the resources which are retained by this message beyond its decoding.
+     * <p />
+     * Invoked once the message has been processed, regardless of its outcome.
+     */
+    default void release() {}
 }
@@ -29,7 +29,7 @@ import org.neo4j.bolt.protocol.common.message.request.ImpersonationRequestMessag
 import org.neo4j.bolt.tx.TransactionType;
 
 public abstract sealed class AbstractTransactionInitiatingMessage implements ImpersonationRequestMessage
-        permits BeginMessage, RunMessage {
+        permits BeginMessage, RunBatchMessage, RunMessage {
     private final List<String> bookmarks;
     private final Duration txTimeout;
     private final AccessMode accessMode;
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.bolt.protocol.common.message.request.transaction;
+
+import io.netty.buffer.ByteBuf;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.neo4j.bolt.protocol.common.message.AccessMode;
+import org.neo4j.bolt.protocol.common.message.notifications.NotificationsConfig;
+import org.neo4j.bolt.tx.TransactionType;
+import org.neo4j.memory.MemoryTracker;
+import org.neo4j.packstream.io.PackstreamBuf;
+
+/**
+ * Executes a single statement once for each of a list of parameter sets within the same transaction.
+ * <p />
+ * Parameter sets are retained in their encoded form and are only decoded one at a time while the statement is executed
+ * thus permitting clients to transmit large batches without materializing all of their values at once. The encoded
+ * parameter sets are accounted for on the memory tracker of the connection until the message is released.
+ */
+public final class RunBatchMessage extends AbstractTransactionInitiatingMessage {
+
+    public static final byte SIGNATURE = 0x14;
+
+    private final String statement;
+    private final long batchSize;
+    private final ByteBuf parameterSets;
+    private final MemoryTracker memoryTracker;
+    private boolean released;
+
+    /**
+     * @param parameterSets a heap buffer containing the encoded list of parameter sets.
+     * @param memoryTracker a memory tracker on which the capacity of the buffer has been allocated by the caller.
+     */
+    public RunBatchMessage(
+            String statement,
+            long batchSize,
+            ByteBuf parameterSets,
+            MemoryTracker memoryTracker,
+            List<String> bookmarks,
+            Duration txTimeout,
+            AccessMode accessMode,
+            Map<String, Object> txMetadata,
+            String databaseName,
+            String impersonatedUser,
+            NotificationsConfig notificationsConfig) {
+        super(bookmarks, txTimeout, accessMode, txMetadata, databaseName, impersonatedUser, notificationsConfig);
+        this.statement = statement;
+        this.batchSize = batchSize;
+        this.parameterSets = parameterSets;
+        this.memoryTracker = memoryTracker;
+    }
+
+    public String statement() {
+        return statement;
+    }
+
+    /**
+     * Retrieves the number of parameter sets within this batch.
+     *
+     * @return a number of parameter sets.
+     */
+    public long batchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Retrieves a buffer containing the encoded list of parameter sets within this batch.
+     * <p />
+     * Each invocation returns an independent view of the same underlying data.
+     *
+     * @return a buffer positioned at the list header.
+     */
+    public PackstreamBuf parameterSets() {
+        return PackstreamBuf.wrap(parameterSets.duplicate());
+    }
+
+    /**
+     * Releases the encoded parameter sets along with the memory allocated for them.
+     */
+    @Override
+    public void release() {
+        if (this.released) {
+            return;
+        }
+        this.released = true;
+
+        this.memoryTracker.releaseHeap(this.parameterSets.capacity());
+        this.parameterSets.release();
+    }
+
+    @Override
+    public TransactionType type() {
+        return TransactionType.IMPLICIT;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        if (!super.equals(o)) {
+            return false;
+        }
+        RunBatchMessage that = (RunBatchMessage) o;
+        return batchSize == that.batchSize
+                && Objects.equals(statement, that.statement)
+                && Objects.equals(parameterSets, that.parameterSets);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), statement, batchSize, parameterSets);
+    }
+
+    @Override
+    public String toString() {
+        return "RunBatchMessage{" + super.toString() + ", " + "statement='" + statement + '\'' + ", batchSize="
+                + batchSize + '}';
+    }
+}
@@ -34,6 +34,7 @@ public final class RunMessage extends AbstractTransactionInitiatingMessage {
 
     private final String statement;
     private final MapValue params;
+    private final boolean prepare;
 
     public RunMessage(String statement) {
         this(statement, MapValue.EMPTY);
@@ -43,6 +44,7 @@ public final class RunMessage extends AbstractTransactionInitiatingMessage {
         super();
         this.statement = statement;
         this.params = params;
+        this.prepare = false;
     }
 
     public RunMessage(
@@ -55,9 +57,34 @@ public final class RunMessage extends AbstractTransactionInitiatingMessage {
             String databaseName,
             String impersonatedUser,
             NotificationsConfig notificationsConfig) {
+        this(
+                statement,
+                params,
+                bookmarks,
+                txTimeout,
+                accessMode,
+                txMetadata,
+                databaseName,
+                impersonatedUser,
+                notificationsConfig,
+                false);
+    }
+
+    public RunMessage(
+            String statement,
+            MapValue params,
+            List<String> bookmarks,
+            Duration txTimeout,
+            AccessMode accessMode,
+            Map<String, Object> txMetadata,
+            String databaseName,
+            String impersonatedUser,
+            NotificationsConfig notificationsConfig,
+            boolean prepare) {
         super(bookmarks, txTimeout, accessMode, txMetadata, databaseName, impersonatedUser, notificationsConfig);
         this.statement = statement;
         this.params = params;
+        this.prepare = prepare;
     }
 
     public String statement() {
@@ -68,6 +95,15 @@ public final class RunMessage extends AbstractTransactionInitiatingMessage {
         return params;
     }
 
+    /**
+     * Identifies whether the statement of this message shall be prepared for later use on the same connection.
+     *
+     * @return true if the statement shall be prepared, false otherwise.
+     */
+    public boolean prepare() {
+        return prepare;
+    }
+
     @Override
     public TransactionType type() {
         return TransactionType.IMPLICIT;
@@ -85,16 +121,19 @@ public final class RunMessage extends AbstractTransactionInitiatingMessage {
             return false;
         }
         RunMessage that = (RunMessage) o;
-        return Objects.equals(statement, that.statement) && Objects.equals(params, that.params);
+        return prepare == that.prepare
+                && Objects.equals(statement, that.statement)
+                && Objects.equals(params, that.params);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(super.hashCode(), statement, params);
+        return Objects.hash(super.hashCode(), statement, params, prepare);
     }
 
     @Override
     public String toString() {
-        return "RunMessage{" + super.toString() + ", " + "statement='" + statement + '\'' + ", params=" + params + '}';
+        return "RunMessage{" + super.toString() + ", " + "statement='" + statement + '\'' + ", params=" + params
+                + ", prepare=" + prepare + '}';
     }
 }
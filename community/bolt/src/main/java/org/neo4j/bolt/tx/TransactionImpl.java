@@ -33,11 +33,14 @@ import org.neo4j.bolt.dbapi.BoltQueryExecution;
 import org.neo4j.bolt.dbapi.BoltTransaction;
 import org.neo4j.bolt.event.CopyOnWriteEventPublisher;
 import org.neo4j.bolt.event.EventPublisher;
+import org.neo4j.bolt.tx.cache.ResultCache;
+import org.neo4j.bolt.tx.cache.ResultRecorder;
 import org.neo4j.bolt.tx.error.TransactionCloseException;
 import org.neo4j.bolt.tx.error.TransactionCompletionException;
 import org.neo4j.bolt.tx.error.TransactionException;
 import org.neo4j.bolt.tx.error.statement.StatementException;
 import org.neo4j.bolt.tx.error.statement.StatementExecutionException;
+import org.neo4j.bolt.tx.statement.CachedStatement;
 import org.neo4j.bolt.tx.statement.Statement;
 import org.neo4j.bolt.tx.statement.StatementImpl;
 import org.neo4j.bolt.tx.statement.StatementQuerySubscriber;
@@ -52,6 +55,7 @@ public class TransactionImpl implements Transaction {
     private final DatabaseReference database;
     private final Clock clock;
     private final BoltTransaction transaction;
+    private final ResultCache.Scope cacheScope;
     private final AtomicReference<State> state = new AtomicReference<>(State.OPEN);
     private final AtomicBoolean interrupted = new AtomicBoolean();
     private final EventPublisher<Listener> eventPublisher = new CopyOnWriteEventPublisher<>();
@@ -79,11 +83,26 @@ public class TransactionImpl implements Transaction {
 
     public TransactionImpl(
             String id, TransactionType type, DatabaseReference database, Clock clock, BoltTransaction transaction) {
+        this(id, type, database, clock, transaction, null);
+    }
+
+    /**
+     * @param cacheScope a scope via which the results of read-only statements are cached or null if caching is
+     *                   disabled for this transaction.
+     */
+    public TransactionImpl(
+            String id,
+            TransactionType type,
+            DatabaseReference database,
+            Clock clock,
+            BoltTransaction transaction,
+            ResultCache.Scope cacheScope) {
         this.id = id;
         this.type = type;
         this.database = database;
         this.clock = clock;
         this.transaction = transaction;
+        this.cacheScope = cacheScope;
     }
 
     @Override
@@ -130,6 +149,18 @@ public class TransactionImpl implements Transaction {
         var statementId = this.nextStatementId.getAndIncrement();
         this.latestStatementId = statementId;
 
+        // only the first statement of a transaction is cacheable as subsequent statements may observe changes made
+        // by their predecessors
+        ResultRecorder recorder = null;
+        if (this.cacheScope != null && statementId == 0) {
+            var cached = this.cacheScope.lookup(statement, params);
+            if (cached != null) {
+                return this.register(new CachedStatement(statementId, this.database, cached));
+            }
+
+            recorder = this.cacheScope.recorder(statement, params);
+        }
+
         var subscriber = new StatementQuerySubscriberIml();
         BoltQueryExecution query;
         try {
@@ -142,15 +173,18 @@ public class TransactionImpl implements Transaction {
             this.markFailed();
             throw new StatementExecutionException(ex);
         }
-        var handle = new StatementImpl(statementId, this.database, this.clock, query, subscriber);
 
+        return this.register(new StatementImpl(statementId, this.database, this.clock, query, subscriber, recorder));
+    }
+
+    private Statement register(Statement handle) {
         // register a lifecycle listener with the new statement to ensure that we are notified once
         // the statement is closed by its owner
         handle.registerListener(this.statementListener);
 
         this.statementLock.lock();
         try {
-            this.statementMap.put(statementId, handle);
+            this.statementMap.put(handle.id(), handle);
         } finally {
             this.statementLock.unlock();
         }
@@ -31,6 +31,7 @@ import org.neo4j.bolt.dbapi.BoltGraphDatabaseServiceSPI;
 import org.neo4j.bolt.dbapi.BoltTransaction;
 import org.neo4j.bolt.protocol.common.connector.tx.TransactionOwner;
 import org.neo4j.bolt.protocol.common.message.AccessMode;
+import org.neo4j.bolt.tx.cache.ResultCache;
 import org.neo4j.bolt.tx.error.DatabaseUnavailableTransactionCreationException;
 import org.neo4j.bolt.tx.error.NoSuchDatabaseTransactionCreationException;
 import org.neo4j.bolt.tx.error.TransactionCreationException;
@@ -44,14 +45,26 @@ import org.neo4j.kernel.impl.query.QueryExecutionConfiguration;
 public class TransactionManagerImpl implements TransactionManager {
     private final BoltGraphDatabaseManagementServiceSPI graphDatabaseManagementService;
     private final Clock clock;
+    private final ResultCache resultCache;
     private final AtomicLong nextTransactionId = new AtomicLong(1);
 
     private final Map<String, Transaction> transactionMap = new ConcurrentHashMap<>();
     private final CleanupListener cleanupListener = new CleanupListener();
 
     public TransactionManagerImpl(BoltGraphDatabaseManagementServiceSPI graphDatabaseManagementService, Clock clock) {
+        this(graphDatabaseManagementService, clock, null);
+    }
+
+    /**
+     * @param resultCache a cache for the results of read-only auto-commit statements or null if caching is disabled.
+     */
+    public TransactionManagerImpl(
+            BoltGraphDatabaseManagementServiceSPI graphDatabaseManagementService,
+            Clock clock,
+            ResultCache resultCache) {
         this.graphDatabaseManagementService = graphDatabaseManagementService;
         this.clock = clock;
+        this.resultCache = resultCache;
     }
 
     @Override
@@ -120,7 +133,17 @@ public class TransactionManagerImpl implements TransactionManager {
             throw new TransactionCreationException(ex);
         }
 
-        var handle = new TransactionImpl(id, type, databaseService.getDatabaseReference(), this.clock, tx);
+        var database = databaseService.getDatabaseReference();
+
+        // the cache scope is captured once the transaction has been started in order to reflect the state after any
+        // bookmarks have been awaited
+        ResultCache.Scope cacheScope = null;
+        if (this.resultCache != null && type == TransactionType.IMPLICIT) {
+            cacheScope = this.resultCache.scope(
+                    database, owner.loginContext().subject().executingUser(), notificationsConfig);
+        }
+
+        var handle = new TransactionImpl(id, type, database, this.clock, tx, cacheScope);
         handle.registerListener(this.cleanupListener);
 
         this.transactionMap.put(id, handle);
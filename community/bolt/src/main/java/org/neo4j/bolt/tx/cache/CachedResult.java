@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.bolt.tx.cache;
+
+import java.util.List;
+import org.neo4j.graphdb.QueryExecutionType;
+import org.neo4j.values.AnyValue;
+
+/**
+ * Encapsulates the complete result of a read-only statement as retained by a {@link ResultCache}.
+ *
+ * @param fieldNames the names of the fields within each record.
+ * @param records the records in the order in which they have been produced.
+ * @param executionType the execution type reported by the original statement.
+ */
+public record CachedResult(List<String> fieldNames, List<AnyValue[]> records, QueryExecutionType executionType) {}
@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.bolt.tx.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+import org.neo4j.kernel.database.DatabaseReference;
+import org.neo4j.kernel.impl.query.NotificationConfiguration;
+import org.neo4j.values.virtual.MapValue;
+
+/**
+ * Retains the results of read-only auto-commit statements until a new transaction is committed on their database.
+ * <p>
+ * Results are keyed by the statement, its parameters, the target database, the executing user, the notification
+ * configuration and the last committed transactions of the database and the system database at the time the
+ * transaction was started. As a result, entries become unreachable as soon as a new transaction is committed to the
+ * database or the privileges of any user are altered and will eventually be evicted once the cache reaches its
+ * capacity.
+ * <p>
+ * Only results of deterministic statements which fit within the configured number of records and do not contain any
+ * entities are retained as entities may reference state of the transaction in which they have been produced.
+ */
+public class ResultCache {
+    private final int maxRecords;
+    private final ToLongFunction<DatabaseReference> lastCommittedTxIdProvider;
+    private final LongSupplier systemLastCommittedTxIdProvider;
+    private final ResultCacheMonitor monitor;
+
+    private final Map<Key, CachedResult> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * @param maxEntries the maximum number of results to retain.
+     * @param maxRecords the maximum number of records within a cacheable result.
+     * @param lastCommittedTxIdProvider provides the last committed transaction of a given database or a negative
+     *                                  value if the database does not support caching (e.g. composite databases).
+     * @param systemLastCommittedTxIdProvider provides the last committed transaction of the system database (and thus
+     *                                        the current generation of users, roles and privileges) or a negative
+     *                                        value if it is unavailable.
+     * @param monitor a monitor which shall be notified about cache hits and misses.
+     */
+    public ResultCache(
+            int maxEntries,
+            int maxRecords,
+            ToLongFunction<DatabaseReference> lastCommittedTxIdProvider,
+            LongSupplier systemLastCommittedTxIdProvider,
+            ResultCacheMonitor monitor) {
+        this.maxRecords = maxRecords;
+        this.lastCommittedTxIdProvider = lastCommittedTxIdProvider;
+        this.systemLastCommittedTxIdProvider = systemLastCommittedTxIdProvider;
+        this.monitor = monitor;
+
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, CachedResult> eldest) {
+                return this.size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Creates a scope for the statements of a newly started auto-commit transaction.
+     * <p>
+     * This method is expected to be invoked once the transaction has been started (and thus all of its bookmarks
+     * have been awaited) in order to capture the database state which is visible to the transaction.
+     *
+     * @param database the database on which the transaction operates.
+     * @param user the user on whose behalf statements are executed.
+     * @param notificationConfig the notification configuration of the transaction or null if unspecified.
+     * @return a scope or null if results on the given database cannot be cached.
+     */
+    public Scope scope(DatabaseReference database, String user, NotificationConfiguration notificationConfig) {
+        if (database == null) {
+            return null;
+        }
+
+        var lastCommittedTxId = this.lastCommittedTxIdProvider.applyAsLong(database);
+        if (lastCommittedTxId < 0) {
+            return null;
+        }
+
+        var systemLastCommittedTxId = this.systemLastCommittedTxIdProvider.getAsLong();
+        if (systemLastCommittedTxId < 0) {
+            return null;
+        }
+
+        return new Scope(database.id(), lastCommittedTxId, systemLastCommittedTxId, user, notificationConfig);
+    }
+
+    public long hits() {
+        return this.hits.get();
+    }
+
+    public long misses() {
+        return this.misses.get();
+    }
+
+    public int size() {
+        synchronized (this.entries) {
+            return this.entries.size();
+        }
+    }
+
+    private CachedResult get(Key key) {
+        CachedResult result;
+        synchronized (this.entries) {
+            result = this.entries.get(key);
+        }
+
+        if (result != null) {
+            this.hits.incrementAndGet();
+            this.monitor.cacheHit();
+        } else {
+            this.misses.incrementAndGet();
+            this.monitor.cacheMiss();
+        }
+        return result;
+    }
+
+    void put(Key key, CachedResult result) {
+        synchronized (this.entries) {
+            this.entries.put(key, result);
+        }
+    }
+
+    /**
+     * Identifies the database state and security context within which the statements of a given transaction are
+     * executed.
+     */
+    public final class Scope {
+        private final UUID databaseId;
+        private final long lastCommittedTxId;
+        private final long systemLastCommittedTxId;
+        private final String user;
+        private final NotificationConfiguration notificationConfig;
+
+        private Scope(
+                UUID databaseId,
+                long lastCommittedTxId,
+                long systemLastCommittedTxId,
+                String user,
+                NotificationConfiguration notificationConfig) {
+            this.databaseId = databaseId;
+            this.lastCommittedTxId = lastCommittedTxId;
+            this.systemLastCommittedTxId = systemLastCommittedTxId;
+            this.user = user;
+            this.notificationConfig = notificationConfig;
+        }
+
+        /**
+         * Retrieves the cached result of a given statement.
+         *
+         * @param statement a statement.
+         * @param params the parameters of the statement.
+         * @return a cached result or null if none has been cached.
+         */
+        public CachedResult lookup(String statement, MapValue params) {
+            return get(this.key(statement, params));
+        }
+
+        /**
+         * Creates a recorder which will populate the cache with the result of a given statement once it has been
+         * consumed completely.
+         *
+         * @param statement a statement.
+         * @param params the parameters of the statement.
+         * @return a recorder.
+         */
+        public ResultRecorder recorder(String statement, MapValue params) {
+            return new ResultRecorder(ResultCache.this, this.key(statement, params), maxRecords);
+        }
+
+        private Key key(String statement, MapValue params) {
+            return new Key(
+                    this.databaseId,
+                    this.lastCommittedTxId,
+                    this.systemLastCommittedTxId,
+                    this.user,
+                    this.notificationConfig,
+                    statement,
+                    params);
+        }
+    }
+
+    record Key(
+            UUID databaseId,
+            long lastCommittedTxId,
+            long systemLastCommittedTxId,
+            String user,
+            NotificationConfiguration notificationConfig,
+            String statement,
+            MapValue params) {}
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.bolt.tx.cache;
+
+/**
+ * Receives notifications about the lookups performed against a {@link ResultCache}.
+ */
+public interface ResultCacheMonitor {
+
+    /**
+     * Invoked when a statement has been served from the cache.
+     */
+    void cacheHit();
+
+    /**
+     * Invoked when a cacheable statement has not been found within the cache and is executed instead.
+     */
+    void cacheMiss();
+
+    static ResultCacheMonitor noop() {
+        return new ResultCacheMonitor() {
+            @Override
+            public void cacheHit() {
+                /* noop */
+            }
+
+            @Override
+            public void cacheMiss() {
+                /* noop */
+            }
+        };
+    }
+}
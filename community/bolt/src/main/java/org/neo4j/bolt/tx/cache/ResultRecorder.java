@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.bolt.tx.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.neo4j.bolt.protocol.common.fsm.response.RecordHandler;
+import org.neo4j.graphdb.Notification;
+import org.neo4j.graphdb.QueryExecutionType;
+import org.neo4j.graphdb.QueryExecutionType.QueryType;
+import org.neo4j.values.AnyValue;
+import org.neo4j.values.virtual.ListValue;
+import org.neo4j.values.virtual.MapValue;
+import org.neo4j.values.virtual.VirtualNodeValue;
+import org.neo4j.values.virtual.VirtualPathValue;
+import org.neo4j.values.virtual.VirtualRelationshipValue;
+
+/**
+ * Records the result of a statement as it is streamed to its consumer and populates a {@link ResultCache} once all
+ * records have been consumed.
+ * <p>
+ * Recording is abandoned permanently when the statement turns out to be uncacheable (e.g. when it produces too many
+ * records, returns entities, has some of its records discarded or is not deterministic).
+ */
+public class ResultRecorder {
+    private final ResultCache cache;
+    private final ResultCache.Key key;
+    private final int maxRecords;
+
+    private List<AnyValue[]> records = new ArrayList<>();
+
+    ResultRecorder(ResultCache cache, ResultCache.Key key, int maxRecords) {
+        this.cache = cache;
+        this.key = key;
+        this.maxRecords = maxRecords;
+    }
+
+    /**
+     * Wraps a record handler in order to record all records which are passed to it.
+     *
+     * @param fieldNames the names of the fields within each record.
+     * @param delegate a record handler.
+     * @return a record handler.
+     */
+    public RecordHandler wrap(List<String> fieldNames, RecordHandler delegate) {
+        if (this.records == null) {
+            return delegate;
+        }
+
+        return new RecordingRecordHandler(fieldNames.size(), delegate);
+    }
+
+    /**
+     * Permanently stops recording the statement.
+     */
+    public void abandon() {
+        this.records = null;
+    }
+
+    /**
+     * Publishes the recorded result to the cache if the statement turns out to be cacheable.
+     *
+     * @param fieldNames the names of the fields within each record.
+     * @param executionType the execution type of the statement.
+     * @param notifications the notifications generated by the statement.
+     * @param deterministic true if the statement is guaranteed to produce the same result when executed against the
+     *                      same database state.
+     */
+    public void complete(
+            List<String> fieldNames,
+            QueryExecutionType executionType,
+            Iterable<Notification> notifications,
+            boolean deterministic) {
+        var records = this.records;
+        this.records = null;
+
+        if (records == null
+                || !deterministic
+                || executionType.queryType() != QueryType.READ_ONLY
+                || executionType.requestedExecutionPlanDescription()
+                || notifications.iterator().hasNext()) {
+            return;
+        }
+
+        this.cache.put(this.key, new CachedResult(fieldNames, List.copyOf(records), executionType));
+    }
+
+    private static boolean isCacheable(AnyValue value) {
+        if (value instanceof VirtualNodeValue
+                || value instanceof VirtualRelationshipValue
+                || value instanceof VirtualPathValue) {
+            return false;
+        }
+        if (value instanceof ListValue list) {
+            for (var element : list) {
+                if (!isCacheable(element)) {
+                    return false;
+                }
+            }
+        } else if (value instanceof MapValue map) {
+            for (var key : map.keySet()) {
+                if (!isCacheable(map.get(key))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private class RecordingRecordHandler implements RecordHandler {
+        private final int fieldCount;
+        private final RecordHandler delegate;
+
+        private AnyValue[] current;
+        private int fieldIndex;
+
+        RecordingRecordHandler(int fieldCount, RecordHandler delegate) {
+            this.fieldCount = fieldCount;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void onBegin() {
+            if (records != null) {
+                if (records.size() < maxRecords) {
+                    this.current = new AnyValue[this.fieldCount];
+                    this.fieldIndex = 0;
+                } else {
+                    abandon();
+                }
+            }
+
+            this.delegate.onBegin();
+        }
+
+        @Override
+        public void onField(AnyValue value) {
+            if (records != null && this.current != null) {
+                if (isCacheable(value)) {
+                    this.current[this.fieldIndex++] = value;
+                } else {
+                    abandon();
+                }
+            }
+
+            this.delegate.onField(value);
+        }
+
+        @Override
+        public void onCompleted() {
+            if (records != null && this.current != null) {
+                records.add(this.current);
+            }
+            this.current = null;
+
+            this.delegate.onCompleted();
+        }
+
+        @Override
+        public void onFailure() {
+            abandon();
+            this.current = null;
+
+            this.delegate.onFailure();
+        }
+    }
+}
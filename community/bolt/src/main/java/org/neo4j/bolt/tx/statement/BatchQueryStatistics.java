@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.bolt.tx.statement;
+
+import org.neo4j.graphdb.QueryStatistics;
+
+/**
+ * Accumulates the statistics of multiple statements which have been executed as part of the same batch.
+ */
+public final class BatchQueryStatistics implements QueryStatistics {
+    private int nodesCreated;
+    private int nodesDeleted;
+    private int relationshipsCreated;
+    private int relationshipsDeleted;
+    private int propertiesSet;
+    private int labelsAdded;
+    private int labelsRemoved;
+    private int indexesAdded;
+    private int indexesRemoved;
+    private int constraintsAdded;
+    private int constraintsRemoved;
+    private int systemUpdates;
+    private boolean containsUpdates;
+    private boolean containsSystemUpdates;
+
+    public void add(QueryStatistics delta) {
+        this.nodesCreated += delta.getNodesCreated();
+        this.nodesDeleted += delta.getNodesDeleted();
+        this.relationshipsCreated += delta.getRelationshipsCreated();
+        this.relationshipsDeleted += delta.getRelationshipsDeleted();
+        this.propertiesSet += delta.getPropertiesSet();
+        this.labelsAdded += delta.getLabelsAdded();
+        this.labelsRemoved += delta.getLabelsRemoved();
+        this.indexesAdded += delta.getIndexesAdded();
+        this.indexesRemoved += delta.getIndexesRemoved();
+        this.constraintsAdded += delta.getConstraintsAdded();
+        this.constraintsRemoved += delta.getConstraintsRemoved();
+        this.systemUpdates += delta.getSystemUpdates();
+        this.containsUpdates |= delta.containsUpdates();
+        this.containsSystemUpdates |= delta.containsSystemUpdates();
+    }
+
+    @Override
+    public int getNodesCreated() {
+        return this.nodesCreated;
+    }
+
+    @Override
+    public int getNodesDeleted() {
+        return this.nodesDeleted;
+    }
+
+    @Override
+    public int getRelationshipsCreated() {
+        return this.relationshipsCreated;
+    }
+
+    @Override
+    public int getRelationshipsDeleted() {
+        return this.relationshipsDeleted;
+    }
+
+    @Override
+    public int getPropertiesSet() {
+        return this.propertiesSet;
+    }
+
+    @Override
+    public int getLabelsAdded() {
+        return this.labelsAdded;
+    }
+
+    @Override
+    public int getLabelsRemoved() {
+        return this.labelsRemoved;
+    }
+
+    @Override
+    public int getIndexesAdded() {
+        return this.indexesAdded;
+    }
+
+    @Override
+    public int getIndexesRemoved() {
+        return this.indexesRemoved;
+    }
+
+    @Override
+    public int getConstraintsAdded() {
+        return this.constraintsAdded;
+    }
+
+    @Override
+    public int getConstraintsRemoved() {
+        return this.constraintsRemoved;
+    }
+
+    @Override
+    public int getSystemUpdates() {
+        return this.systemUpdates;
+    }
+
+    @Override
+    public boolean containsUpdates() {
+        return this.containsUpdates;
+    }
+
+    @Override
+    public boolean containsSystemUpdates() {
+        return this.containsSystemUpdates;
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.bolt.tx.statement;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import org.neo4j.bolt.event.CopyOnWriteEventPublisher;
+import org.neo4j.bolt.event.EventPublisher;
+import org.neo4j.bolt.protocol.common.fsm.response.ResponseHandler;
+import org.neo4j.bolt.tx.cache.CachedResult;
+import org.neo4j.graphdb.QueryStatistics;
+import org.neo4j.kernel.database.DatabaseReference;
+
+/**
+ * Replays a previously cached result in place of executing a statement.
+ *
+ * @see org.neo4j.bolt.tx.cache.ResultCache
+ */
+public class CachedStatement implements Statement {
+    private final long id;
+    private final DatabaseReference database;
+    private final CachedResult result;
+    private final EventPublisher<Listener> eventPublisher = new CopyOnWriteEventPublisher<>();
+    private final AtomicReference<State> state = new AtomicReference<>(State.RUNNING);
+
+    private int position;
+
+    public CachedStatement(long id, DatabaseReference database, CachedResult result) {
+        this.id = id;
+        this.database = database;
+        this.result = result;
+    }
+
+    @Override
+    public long id() {
+        return this.id;
+    }
+
+    @Override
+    public List<String> fieldNames() {
+        return this.result.fieldNames();
+    }
+
+    @Override
+    public long executionTime() {
+        return 0;
+    }
+
+    @Override
+    public Optional<QueryStatistics> statistics() {
+        if (this.state.get() == State.RUNNING) {
+            return Optional.empty();
+        }
+        return Optional.of(QueryStatistics.EMPTY);
+    }
+
+    @Override
+    public boolean hasRemaining() {
+        return this.state.get() == State.RUNNING;
+    }
+
+    @Override
+    public synchronized void consume(ResponseHandler responseHandler, long n) {
+        if (this.state.get() != State.RUNNING) {
+            return;
+        }
+
+        var recordHandler = responseHandler.onBeginStreaming(this.result.fieldNames());
+
+        var records = this.result.records();
+        var end = this.end(n);
+        for (; this.position < end; this.position++) {
+            recordHandler.onBegin();
+            for (var value : records.get(this.position)) {
+                recordHandler.onField(value);
+            }
+            recordHandler.onCompleted();
+        }
+
+        this.completeStreaming(responseHandler);
+    }
+
+    @Override
+    public synchronized void discard(ResponseHandler responseHandler, long n) {
+        if (this.state.get() != State.RUNNING) {
+            return;
+        }
+
+        responseHandler.onBeginStreaming(this.result.fieldNames());
+
+        this.position = this.end(n);
+
+        this.completeStreaming(responseHandler);
+    }
+
+    private int end(long n) {
+        var available = this.result.records().size() - this.position;
+        if (n == -1) {
+            return this.position + available;
+        }
+        return this.position + (int) Math.min(available, n);
+    }
+
+    private void completeStreaming(ResponseHandler responseHandler) {
+        var remaining = this.position < this.result.records().size();
+        if (!remaining) {
+            responseHandler.onStreamingMetadata(
+                    0, this.result.executionType(), this.database, QueryStatistics.EMPTY, List.of());
+
+            if (this.state.compareAndSet(State.RUNNING, State.COMPLETED)) {
+                this.eventPublisher.dispatch(l -> l.onCompleted(this));
+            }
+        }
+
+        responseHandler.onCompleteStreaming(remaining);
+    }
+
+    @Override
+    public void terminate() {
+        var previousState = this.state.getAndUpdate(
+                state -> state == State.TERMINATED || state == State.CLOSED ? state : State.TERMINATED);
+        if (previousState != State.TERMINATED && previousState != State.CLOSED) {
+            this.eventPublisher.dispatchSafe(l -> l.onTerminated(this));
+        }
+    }
+
+    @Override
+    public void close() {
+        if (this.state.getAndSet(State.CLOSED) != State.CLOSED) {
+            this.eventPublisher.dispatchSafe(l -> l.onClosed(this));
+        }
+    }
+
+    @Override
+    public void registerListener(Listener listener) {
+        this.eventPublisher.registerListener(listener);
+    }
+
+    @Override
+    public void removeListener(Listener listener) {
+        this.eventPublisher.removeListener(listener);
+    }
+
+    private enum State {
+        RUNNING,
+        COMPLETED,
+        TERMINATED,
+        CLOSED
+    }
+}
@@ -35,6 +35,7 @@ import org.neo4j.bolt.protocol.common.fsm.response.RecordHandler;
 import org.neo4j.bolt.protocol.common.fsm.response.ResponseHandler;
 import org.neo4j.bolt.protocol.common.message.Error;
 import org.neo4j.bolt.tx.TransactionType;
+import org.neo4j.bolt.tx.cache.ResultRecorder;
 import org.neo4j.bolt.tx.error.statement.StatementException;
 import org.neo4j.bolt.tx.error.statement.StatementStreamingException;
 import org.neo4j.graphdb.ExecutionPlanDescription;
@@ -55,6 +56,7 @@ public class StatementImpl implements Statement {
     private final Clock clock;
     private final StatementQuerySubscriber subscriber;
     private final BoltQueryExecution execution;
+    private final ResultRecorder recorder;
     private final EventPublisher<Statement.Listener> eventPublisher = new CopyOnWriteEventPublisher<>();
 
     /**
@@ -84,11 +86,26 @@ public class StatementImpl implements Statement {
             Clock clock,
             BoltQueryExecution execution,
             StatementQuerySubscriber subscriber) {
+        this(id, database, clock, execution, subscriber, null);
+    }
+
+    /**
+     * @param recorder a recorder which shall capture the result of this statement for caching or null if the result
+     *                 is not cacheable.
+     */
+    public StatementImpl(
+            long id,
+            DatabaseReference database,
+            Clock clock,
+            BoltQueryExecution execution,
+            StatementQuerySubscriber subscriber,
+            ResultRecorder recorder) {
         this.id = id;
         this.database = database;
         this.clock = clock;
         this.execution = execution;
         this.subscriber = subscriber;
+        this.recorder = recorder;
 
         this.fieldNames = Arrays.asList(execution.queryExecution().fieldNames());
     }
@@ -132,6 +149,9 @@ public class StatementImpl implements Statement {
         this.executionLock.lock();
         try {
             var recordHandler = responseHandler.onBeginStreaming(this.fieldNames);
+            if (this.recorder != null) {
+                recordHandler = this.recorder.wrap(this.fieldNames, recordHandler);
+            }
             this.subscriber.setHandler(recordHandler);
 
             long start = this.clock.millis();
@@ -201,6 +221,11 @@ public class StatementImpl implements Statement {
             return;
         }
 
+        // discarded records never reach the recorder thus rendering the result incomplete
+        if (this.recorder != null) {
+            this.recorder.abandon();
+        }
+
         this.executionLock.lock();
         try {
             long start = this.clock.millis();
@@ -239,15 +264,15 @@ public class StatementImpl implements Statement {
         this.statistics = statistics;
 
         var execution = this.execution.queryExecution();
+        var executionType = execution.executionType();
+        var notifications = execution.getNotifications();
 
         handler.onStreamingMetadata(
-                this.timeSpentStreaming,
-                execution.executionType(),
-                this.database,
-                this.statistics,
-                execution.getNotifications());
+                this.timeSpentStreaming, executionType, this.database, this.statistics, notifications);
 
-        var executionType = execution.executionType();
+        if (this.recorder != null) {
+            this.recorder.complete(this.fieldNames, executionType, notifications, execution.isDeterministic());
+        }
 
         if (executionType.requestedExecutionPlanDescription()) {
             handler.onStreamingExecutionPlan(execution.executionPlanDescription());
@@ -68,6 +68,7 @@ import static org.neo4j.packstream.io.TypeMarker.requireEncodableLength;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
 import io.netty.buffer.Unpooled;
 import io.netty.util.ReferenceCounted;
 import java.nio.ByteBuffer;
@@ -874,10 +875,31 @@ public final class PackstreamBuf implements ReferenceCounted {
             throw new NullPointerException("payload cannot be null");
         }
 
-        var heap = payload.getBytes(STRING_CHARSET);
+        // encode straight into the buffer rather than into an intermediate heap array
+        var length = ByteBufUtil.utf8Bytes(payload);
 
-        this.writeMarker(STRING_TYPES, heap.length);
-        this.delegate.writeBytes(heap);
+        this.writeMarker(STRING_TYPES, length);
+        ByteBufUtil.reserveAndWriteUtf8(this.delegate, payload, length);
+        return this;
+    }
+
+    /**
+     * Writes an already UTF-8 encoded string value of arbitrary length to this buffer.
+     * <p>
+     * The encoded bytes are copied as-is, and are thus never decoded into an intermediate {@link String}.
+     *
+     * @param payload an array containing a UTF-8 encoded string value.
+     * @param offset the offset of the encoded string within the array.
+     * @param length the length of the encoded string in bytes.
+     * @return a reference to this buffer.
+     */
+    public PackstreamBuf writeUtf8String(byte[] payload, int offset, int length) {
+        if (payload == null) {
+            throw new NullPointerException("payload cannot be null");
+        }
+
+        this.writeMarker(STRING_TYPES, length);
+        this.delegate.writeBytes(payload, offset, length);
         return this;
     }
 
@@ -21,6 +21,7 @@ package org.neo4j.packstream.io.value;
 
 import static org.neo4j.values.storable.NoValue.NO_VALUE;
 
+import org.neo4j.function.ThrowingConsumer;
 import org.neo4j.packstream.error.reader.PackstreamReaderException;
 import org.neo4j.packstream.error.reader.UnexpectedTypeException;
 import org.neo4j.packstream.error.reader.UnexpectedTypeMarkerException;
@@ -233,6 +234,28 @@ public class PackstreamValueReader<CTX> {
         return doReadMap(limit, buf -> this.readPrimitiveValue(limit));
     }
 
+    /**
+     * Decodes a list of map values from a given buffer one element at a time.
+     * <p />
+     * Each map is passed to the given consumer as soon as it has been decoded thus permitting callers to process large
+     * lists without materializing all of their elements at once.
+     *
+     * @param consumer a consumer which is invoked for each map within the list.
+     * @param <E>      an exception type thrown by the consumer.
+     * @return the number of maps within the list.
+     * @throws UnexpectedTypeMarkerException when an unexpected type marker is encountered.
+     * @throws PackstreamReaderException     when the value is malformed.
+     * @throws E                             when the consumer fails to process a map.
+     */
+    public <E extends Exception> long readMapStream(ThrowingConsumer<MapValue, E> consumer)
+            throws PackstreamReaderException, E {
+        var length = buf.readLengthPrefixMarker(Type.LIST);
+        for (var i = 0; i < length; i++) {
+            consumer.accept(this.readMap());
+        }
+        return length;
+    }
+
     private MapValue doReadMap(long limit, Reader<AnyValue> reader) throws PackstreamReaderException {
         var map = buf.readMap(limit, reader);
         if (map.isEmpty()) {
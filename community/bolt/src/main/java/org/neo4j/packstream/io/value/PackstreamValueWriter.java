@@ -78,6 +78,12 @@ public abstract class PackstreamValueWriter implements AnyValueWriter<RuntimeExc
         this.buf.writeString(value);
     }
 
+    @Override
+    public void writeUTF8(byte[] bytes, int offset, int length) {
+        // strings read from the store are already UTF-8 encoded - no need to decode them just to encode them again
+        this.buf.writeUtf8String(bytes, offset, length);
+    }
+
     @Override
     public void writeString(char value) {
         this.buf.writeString(Character.toString(value));
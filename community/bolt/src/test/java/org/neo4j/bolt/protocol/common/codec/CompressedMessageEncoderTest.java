@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.bolt.protocol.common.codec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.luben.zstd.Zstd;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.util.concurrent.ThreadLocalRandom;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.neo4j.bolt.protocol.common.connector.accounting.traffic.TrafficAccountant;
+import org.neo4j.packstream.io.PackstreamBuf;
+import org.neo4j.packstream.signal.FrameSignal;
+
+class CompressedMessageEncoderTest {
+
+    private TrafficAccountant trafficAccountant;
+    private EmbeddedChannel channel;
+
+    @BeforeEach
+    void prepareChannel() {
+        this.trafficAccountant = Mockito.mock(TrafficAccountant.class);
+        this.channel = new EmbeddedChannel(new CompressedMessageEncoder(128, 3, this.trafficAccountant));
+    }
+
+    @Test
+    void shouldPassSmallMessagesAsIs() {
+        var payload = Unpooled.wrappedBuffer("small".repeat(25).getBytes());
+
+        this.channel.writeOutbound(payload.retainedSlice());
+
+        ByteBuf actual = this.channel.readOutbound();
+
+        assertThat(actual).isEqualTo(payload);
+        Mockito.verifyNoInteractions(this.trafficAccountant);
+    }
+
+    @Test
+    void shouldCompressLargeMessages() throws Exception {
+        var original = "large".repeat(1000).getBytes();
+
+        this.channel.writeOutbound(Unpooled.wrappedBuffer(original));
+
+        ByteBuf actual = this.channel.readOutbound();
+        var compressedLength = actual.readableBytes();
+
+        var buf = PackstreamBuf.wrap(actual);
+        var header = buf.readStructHeader();
+        var compressed = ByteBufUtil.getBytes(buf.readBytes());
+
+        assertThat(header.length()).isEqualTo(1);
+        assertThat(header.tag()).isEqualTo(CompressedMessageEncoder.COMPRESSED_MESSAGE_TAG);
+        assertThat(Zstd.decompress(compressed, original.length)).isEqualTo(original);
+        assertThat(actual.isReadable()).isFalse();
+
+        Mockito.verify(this.trafficAccountant).notifyCompression(original.length, compressedLength);
+    }
+
+    @Test
+    void shouldPassIncompressibleMessagesAsIs() {
+        var original = new byte[1024];
+        ThreadLocalRandom.current().nextBytes(original);
+        var payload = Unpooled.wrappedBuffer(original);
+
+        this.channel.writeOutbound(payload.retainedSlice());
+
+        ByteBuf actual = this.channel.readOutbound();
+
+        assertThat(actual).isEqualTo(payload);
+        Mockito.verifyNoInteractions(this.trafficAccountant);
+    }
+
+    @Test
+    void shouldPassFrameSignals() {
+        this.channel.writeOutbound(FrameSignal.MESSAGE_END);
+
+        Object actual = this.channel.readOutbound();
+
+        assertThat(actual).isSameAs(FrameSignal.MESSAGE_END);
+    }
+}
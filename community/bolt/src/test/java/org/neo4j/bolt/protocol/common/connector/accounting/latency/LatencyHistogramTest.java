@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.bolt.protocol.common.connector.accounting.latency;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest {
+
+    @Test
+    void shouldReturnZeroWhenEmpty() {
+        var histogram = new LatencyHistogram();
+
+        Assertions.assertThat(histogram.count()).isZero();
+        Assertions.assertThat(histogram.max()).isZero();
+        Assertions.assertThat(histogram.percentile(0.5)).isZero();
+        Assertions.assertThat(histogram.percentile(0.99)).isZero();
+    }
+
+    @Test
+    void shouldCountRecordedLatencies() {
+        var histogram = new LatencyHistogram();
+
+        histogram.record(0);
+        histogram.record(1);
+        histogram.record(1_000);
+        histogram.record(-5);
+
+        Assertions.assertThat(histogram.count()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldTrackMaximum() {
+        var histogram = new LatencyHistogram();
+
+        histogram.record(100);
+        histogram.record(42_000);
+        histogram.record(7);
+
+        Assertions.assertThat(histogram.max()).isEqualTo(42_000);
+        Assertions.assertThat(histogram.percentile(1.0)).isEqualTo(42_000);
+    }
+
+    @Test
+    void shouldApproximatePercentilesWithinFactorOfTwo() {
+        var histogram = new LatencyHistogram();
+
+        for (var i = 0; i < 99; i++) {
+            histogram.record(1_000);
+        }
+        histogram.record(1_000_000);
+
+        Assertions.assertThat(histogram.percentile(0.5)).isBetween(1_000L, 2_000L);
+        Assertions.assertThat(histogram.percentile(0.99)).isBetween(1_000L, 2_000L);
+        Assertions.assertThat(histogram.percentile(1.0)).isEqualTo(1_000_000);
+    }
+
+    @Test
+    void shouldHandleLargeLatencies() {
+        var histogram = new LatencyHistogram();
+
+        histogram.record(Long.MAX_VALUE);
+
+        Assertions.assertThat(histogram.percentile(0.5)).isEqualTo(Long.MAX_VALUE);
+    }
+}
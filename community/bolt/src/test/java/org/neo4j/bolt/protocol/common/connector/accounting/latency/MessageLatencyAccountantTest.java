@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.bolt.protocol.common.connector.accounting.latency;
+
+import java.util.ArrayList;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.neo4j.bolt.protocol.common.message.request.connection.GoodbyeMessage;
+import org.neo4j.bolt.protocol.common.message.request.connection.ResetMessage;
+import org.neo4j.kernel.api.net.NetworkMessageLatencyTracker.MessageLatency;
+
+class MessageLatencyAccountantTest {
+
+    @Test
+    void shouldCollectNothingWhenEmpty() {
+        var accountant = new MessageLatencyAccountant("bolt");
+        var latencies = new ArrayList<MessageLatency>();
+
+        accountant.collect(latencies);
+
+        Assertions.assertThat(latencies).isEmpty();
+    }
+
+    @Test
+    void shouldRecordLatenciesPerMessageTypeAndPhase() {
+        var accountant = new MessageLatencyAccountant("bolt");
+
+        accountant.record(ResetMessage.class, MessagePhase.QUEUE, 1_000);
+        accountant.record(ResetMessage.class, MessagePhase.QUEUE, 3_000);
+        accountant.record(ResetMessage.class, MessagePhase.PROCESSING, 5_000);
+        accountant.record(GoodbyeMessage.class, MessagePhase.FLUSH, 7_000);
+
+        var latencies = new ArrayList<MessageLatency>();
+        accountant.collect(latencies);
+
+        Assertions.assertThat(latencies)
+                .extracting(MessageLatency::connector, MessageLatency::messageType, MessageLatency::phase)
+                .containsExactlyInAnyOrder(
+                        Assertions.tuple("bolt", "ResetMessage", "queue"),
+                        Assertions.tuple("bolt", "ResetMessage", "processing"),
+                        Assertions.tuple("bolt", "GoodbyeMessage", "flush"));
+
+        var queue = latencies.stream()
+                .filter(latency -> latency.phase().equals("queue"))
+                .findFirst()
+                .orElseThrow();
+        Assertions.assertThat(queue.count()).isEqualTo(2);
+        Assertions.assertThat(queue.maxNanos()).isEqualTo(3_000);
+    }
+
+    @Test
+    void shouldAggregateConnectorsWithinRegistry() {
+        var registry = new MessageLatencyRegistry();
+
+        registry.accountantFor("bolt").record(ResetMessage.class, MessagePhase.PROCESSING, 1_000);
+        registry.accountantFor("bolt-loopback").record(ResetMessage.class, MessagePhase.PROCESSING, 2_000);
+        registry.accountantFor("bolt").record(ResetMessage.class, MessagePhase.PROCESSING, 3_000);
+
+        Assertions.assertThat(registry.accountantFor("bolt")).isSameAs(registry.accountantFor("bolt"));
+        Assertions.assertThat(registry.latencies())
+                .extracting(MessageLatency::connector, MessageLatency::count)
+                .containsExactlyInAnyOrder(Assertions.tuple("bolt", 2L), Assertions.tuple("bolt-loopback", 1L));
+    }
+}
@@ -19,6 +19,8 @@
  */
 package org.neo4j.bolt.protocol.common.connector.accounting.traffic;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -192,4 +194,32 @@ class AtomicTrafficAccountantTest {
                         "Outbound bandwidth has normalized (traffic has dropped below %.2f Mb/s for at least %d ms)",
                         1.0f, 500L);
     }
+
+    @Test
+    void shouldReportCompressionRatio() {
+        var accountant = new AtomicTrafficAccountant(500, 1, 1, 500, clock, new SimpleLogService(this.logProvider));
+
+        assertThat(accountant.compressionRatio()).isEqualTo(1.0);
+
+        accountant.notifyCompression(10_000, 2_000);
+        accountant.notifyCompression(6_000, 2_000);
+
+        assertThat(accountant.compressionRatio()).isEqualTo(4.0);
+    }
+
+    @Test
+    void shouldReportCompressionRatioWhenWriteBandwidthIsExceeded() {
+        var accountant = new AtomicTrafficAccountant(500, 1, 1, 500, clock, new SimpleLogService(this.logProvider));
+
+        accountant.notifyCompression(281_250, 140_625);
+        accountant.notifyWrite(140_625);
+
+        this.clock.forward(500, TimeUnit.MILLISECONDS);
+
+        accountant.tryCheck();
+
+        LogAssertions.assertThat(this.logProvider)
+                .forLevel(Level.WARN)
+                .containsMessageWithArguments("Outbound traffic is currently compressed at a ratio of %.2f", 2.0);
+    }
 }
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.bolt.protocol.common.connector.connection;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.neo4j.memory.MemoryTracker;
+
+class AdaptivePullBatchSizerTest {
+
+    private static final long UNLIMITED = Long.MAX_VALUE;
+
+    private MemoryTracker memoryTracker;
+    private AdaptivePullBatchSizer sizer;
+
+    @BeforeEach
+    void prepare() {
+        this.memoryTracker = Mockito.mock(MemoryTracker.class);
+        this.sizer = new AdaptivePullBatchSizer(this.memoryTracker);
+    }
+
+    @Test
+    void shouldAllocateShallowSize() {
+        Mockito.verify(this.memoryTracker).allocateHeap(AdaptivePullBatchSizer.SHALLOW_SIZE);
+    }
+
+    @Test
+    void shouldEmitInitialBatchSizeWithoutMeasurement() {
+        Assertions.assertThat(this.sizer.nextBatchSize(-1, UNLIMITED, 0))
+                .isEqualTo(AdaptivePullBatchSizer.INITIAL_BATCH_SIZE);
+        Assertions.assertThat(this.sizer.drainRate()).isEqualTo(-1);
+    }
+
+    @Test
+    void shouldNotExceedRequestedBatchSize() {
+        Assertions.assertThat(this.sizer.nextBatchSize(10, UNLIMITED, 0)).isEqualTo(10);
+    }
+
+    @Test
+    void shouldSizeBatchFromDrainRate() {
+        this.sizer.nextBatchSize(-1, UNLIMITED, 0);
+        this.sizer.onBatchCompleted(1000, 0, true);
+
+        // 1000 records were consumed within 100ms
+        var size = this.sizer.nextBatchSize(-1, UNLIMITED, 100);
+
+        Assertions.assertThat(this.sizer.drainRate()).isEqualTo(10);
+        Assertions.assertThat(size).isEqualTo(10 * AdaptivePullBatchSizer.TARGET_BATCH_MILLIS);
+    }
+
+    @Test
+    void shouldShrinkBatchesForSlowConsumers() {
+        this.sizer.nextBatchSize(-1, UNLIMITED, 0);
+        this.sizer.onBatchCompleted(1000, 0, true);
+
+        // 1000 records were consumed within 10 seconds
+        var size = this.sizer.nextBatchSize(-1, UNLIMITED, 10_000);
+
+        Assertions.assertThat(size).isEqualTo(AdaptivePullBatchSizer.TARGET_BATCH_MILLIS / 10);
+    }
+
+    @Test
+    void shouldSmoothDrainRate() {
+        this.sizer.nextBatchSize(-1, UNLIMITED, 0);
+        this.sizer.onBatchCompleted(1000, 0, true);
+        this.sizer.nextBatchSize(-1, UNLIMITED, 100);
+        this.sizer.onBatchCompleted(1000, 0, true);
+        this.sizer.nextBatchSize(-1, UNLIMITED, 150);
+
+        Assertions.assertThat(this.sizer.drainRate()).isEqualTo(15);
+    }
+
+    @Test
+    void shouldLimitBatchToMaximumSize() {
+        this.sizer.nextBatchSize(-1, UNLIMITED, 0);
+        this.sizer.onBatchCompleted(1_000_000, 0, true);
+
+        Assertions.assertThat(this.sizer.nextBatchSize(-1, UNLIMITED, 1))
+                .isEqualTo(AdaptivePullBatchSizer.MAX_BATCH_SIZE);
+    }
+
+    @Test
+    void shouldLimitBatchToWritableBytes() {
+        this.sizer.nextBatchSize(-1, UNLIMITED, 0);
+        this.sizer.onBatchCompleted(100, 10_000, true);
+
+        // records are 100 bytes each
+        Assertions.assertThat(this.sizer.nextBatchSize(-1, 5_000, 1)).isEqualTo(50);
+    }
+
+    @Test
+    void shouldEmitSingleRecordWhenUnwritable() {
+        Assertions.assertThat(this.sizer.nextBatchSize(-1, 0, 0)).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotSampleDrainRateAcrossStatements() {
+        this.sizer.nextBatchSize(-1, UNLIMITED, 0);
+        this.sizer.onBatchCompleted(1000, 0, false);
+
+        Assertions.assertThat(this.sizer.nextBatchSize(-1, UNLIMITED, 60_000))
+                .isEqualTo(AdaptivePullBatchSizer.INITIAL_BATCH_SIZE);
+        Assertions.assertThat(this.sizer.drainRate()).isEqualTo(-1);
+    }
+}
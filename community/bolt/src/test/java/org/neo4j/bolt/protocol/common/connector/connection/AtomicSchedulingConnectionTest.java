@@ -47,6 +47,7 @@ import org.neo4j.bolt.protocol.common.connector.Connector;
 import org.neo4j.bolt.protocol.common.connector.accounting.error.ErrorAccountant;
 import org.neo4j.bolt.protocol.common.connector.connection.authentication.AuthenticationFlag;
 import org.neo4j.bolt.protocol.common.connector.connection.listener.ConnectionListener;
+import org.neo4j.bolt.protocol.common.message.request.RequestMessage;
 import org.neo4j.bolt.protocol.common.message.request.connection.RoutingContext;
 import org.neo4j.bolt.protocol.error.streaming.BoltStreamingWriteException;
 import org.neo4j.bolt.security.Authentication;
@@ -316,6 +317,27 @@ class AtomicSchedulingConnectionTest {
         }
     }
 
+    @Test
+    void shouldReleaseRequestsOnceProcessed() throws StateMachineException {
+        var message = Mockito.mock(RequestMessage.class);
+
+        this.selectProtocol();
+
+        this.connection.submit(message);
+
+        var runnableCaptor = ArgumentCaptor.forClass(Runnable.class);
+        Mockito.verify(this.executorService).submit(runnableCaptor.capture());
+
+        // requests remain intact until they have been processed by the state machine
+        Mockito.verify(message, Mockito.never()).release();
+
+        runnableCaptor.getValue().run();
+
+        var inOrder = Mockito.inOrder(this.fsmInstance, message);
+        inOrder.verify(this.fsmInstance).process(Mockito.eq(message), Mockito.any());
+        inOrder.verify(message).release();
+    }
+
     @Test
     void shouldInterrupt() {
         this.selectProtocol();
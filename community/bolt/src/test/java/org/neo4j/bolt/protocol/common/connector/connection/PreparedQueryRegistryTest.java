@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.bolt.protocol.common.connector.connection;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.neo4j.memory.HeapEstimator;
+import org.neo4j.memory.MemoryTracker;
+
+class PreparedQueryRegistryTest {
+
+    private MemoryTracker memoryTracker;
+    private PreparedQueryRegistry registry;
+
+    @BeforeEach
+    void prepare() {
+        this.memoryTracker = Mockito.mock(MemoryTracker.class);
+        this.registry = new PreparedQueryRegistry(this.memoryTracker);
+    }
+
+    @Test
+    void shouldPrepareQuery() {
+        var query = "RETURN $n";
+
+        var handle = this.registry.prepare(query);
+
+        Assertions.assertThat(handle).isNotEqualTo(PreparedQueryRegistry.NO_HANDLE);
+        Assertions.assertThat(this.registry.get(handle)).isSameAs(query);
+        Assertions.assertThat(this.registry.size()).isEqualTo(1);
+
+        Mockito.verify(this.memoryTracker).allocateHeap(HeapEstimator.sizeOf(query));
+    }
+
+    @Test
+    void shouldReturnExistingHandleForSameQuery() {
+        var handle = this.registry.prepare("RETURN $n");
+
+        Assertions.assertThat(this.registry.prepare(new String("RETURN $n"))).isEqualTo(handle);
+        Assertions.assertThat(this.registry.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReturnDistinctHandlesForDistinctQueries() {
+        var handle1 = this.registry.prepare("RETURN 1");
+        var handle2 = this.registry.prepare("RETURN 2");
+
+        Assertions.assertThat(handle1).isNotEqualTo(handle2);
+        Assertions.assertThat(this.registry.get(handle1)).isEqualTo("RETURN 1");
+        Assertions.assertThat(this.registry.get(handle2)).isEqualTo("RETURN 2");
+    }
+
+    @Test
+    void shouldReturnNullForUnknownHandle() {
+        Assertions.assertThat(this.registry.get(42)).isNull();
+        Assertions.assertThat(this.registry.get(PreparedQueryRegistry.NO_HANDLE)).isNull();
+    }
+
+    @Test
+    void shouldRefuseToPrepareQueriesBeyondLimit() {
+        for (var i = 0; i < PreparedQueryRegistry.MAX_PREPARED_QUERIES; i++) {
+            Assertions.assertThat(this.registry.prepare("RETURN " + i)).isNotEqualTo(PreparedQueryRegistry.NO_HANDLE);
+        }
+
+        Assertions.assertThat(this.registry.prepare("RETURN -1")).isEqualTo(PreparedQueryRegistry.NO_HANDLE);
+        Assertions.assertThat(this.registry.size()).isEqualTo(PreparedQueryRegistry.MAX_PREPARED_QUERIES);
+
+        // previously prepared queries remain available
+        Assertions.assertThat(this.registry.prepare("RETURN 0")).isNotEqualTo(PreparedQueryRegistry.NO_HANDLE);
+
+        // one allocation for the registry itself and one per prepared query
+        Mockito.verify(this.memoryTracker, Mockito.times(PreparedQueryRegistry.MAX_PREPARED_QUERIES + 1))
+                .allocateHeap(ArgumentMatchers.anyLong());
+    }
+}
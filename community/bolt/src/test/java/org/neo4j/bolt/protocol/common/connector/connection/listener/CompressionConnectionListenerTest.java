@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.bolt.protocol.common.connector.connection.listener;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelPipeline;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.neo4j.bolt.protocol.common.codec.CompressedMessageEncoder;
+import org.neo4j.bolt.protocol.common.connector.connection.Connection;
+import org.neo4j.bolt.protocol.common.connector.connection.Feature;
+import org.neo4j.logging.AssertableLogProvider;
+import org.neo4j.logging.LogAssertions;
+import org.neo4j.memory.MemoryTracker;
+
+class CompressionConnectionListenerTest {
+
+    private static final String CONNECTION_ID = "bolt-compression";
+
+    private Connection connection;
+    private MemoryTracker memoryTracker;
+    private Channel channel;
+    private ChannelPipeline pipeline;
+    private AssertableLogProvider logProvider;
+
+    private CompressionConnectionListener listener;
+
+    @BeforeEach
+    void prepareListener() {
+        this.connection = Mockito.mock(Connection.class, Mockito.RETURNS_MOCKS);
+        this.memoryTracker = Mockito.mock(MemoryTracker.class);
+        this.channel = Mockito.mock(Channel.class);
+        this.pipeline = Mockito.mock(ChannelPipeline.class, Mockito.RETURNS_SELF);
+        this.logProvider = new AssertableLogProvider();
+
+        Mockito.doReturn(CONNECTION_ID).when(this.connection).id();
+        Mockito.doReturn(this.memoryTracker).when(this.connection).memoryTracker();
+        Mockito.doReturn(this.channel).when(this.connection).channel();
+        Mockito.doReturn(this.pipeline).when(this.channel).pipeline();
+
+        this.listener = new CompressionConnectionListener(connection, 1024, 3, this.logProvider);
+    }
+
+    @Test
+    void shouldInstallCompressionHandlerOnFeatureEnabled() {
+        this.listener.onFeatureEnabled(Feature.COMPRESSION);
+
+        Mockito.verify(this.pipeline)
+                .addAfter(
+                        ArgumentMatchers.eq("chunkFrameEncoder"),
+                        ArgumentMatchers.eq(CompressedMessageEncoder.HANDLER_NAME),
+                        ArgumentMatchers.any(CompressedMessageEncoder.class));
+
+        LogAssertions.assertThat(this.logProvider)
+                .forLevel(AssertableLogProvider.Level.DEBUG)
+                .forClass(CompressionConnectionListener.class)
+                .containsMessageWithArgumentsContaining("Installing message compression handler", CONNECTION_ID);
+    }
+
+    @Test
+    void shouldIgnoreOtherFeatures() {
+        this.listener.onFeatureEnabled(Feature.UTC_DATETIME);
+
+        Mockito.verifyNoInteractions(this.pipeline);
+    }
+
+    @Test
+    void shouldReleaseMemoryOnRemoval() {
+        this.listener.onListenerRemoved();
+
+        Mockito.verify(this.memoryTracker).releaseHeap(CompressionConnectionListener.SHALLOW_SIZE);
+    }
+}
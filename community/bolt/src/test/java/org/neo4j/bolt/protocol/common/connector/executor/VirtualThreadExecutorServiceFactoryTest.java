@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.bolt.protocol.common.connector.executor;
+
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class VirtualThreadExecutorServiceFactoryTest {
+
+    @Test
+    void shouldExecuteMoreTasksThanThreadPoolLimitAtTheSameTime() throws InterruptedException {
+        assumeTrue(VirtualThreadExecutorServiceFactory.isSupported());
+
+        var tasks = 1_000;
+        var executor = new VirtualThreadExecutorServiceFactory("neo4j.BoltWorker-").create();
+        var started = new CountDownLatch(tasks);
+        var release = new CountDownLatch(1);
+
+        try {
+            for (var i = 0; i < tasks; i++) {
+                executor.submit(() -> {
+                    started.countDown();
+                    release.await();
+                    return null;
+                });
+            }
+
+            Assertions.assertThat(started.await(1, TimeUnit.MINUTES)).isTrue();
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+
+        Assertions.assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+    }
+
+    @Test
+    void shouldNameThreadsWithPrefix() throws Exception {
+        assumeTrue(VirtualThreadExecutorServiceFactory.isSupported());
+
+        var executor = new VirtualThreadExecutorServiceFactory("neo4j.BoltWorker-").create();
+        try {
+            var name = executor.submit(() -> Thread.currentThread().getName()).get(1, TimeUnit.MINUTES);
+
+            Assertions.assertThat(name).startsWith("neo4j.BoltWorker-");
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void shouldFailToCreateExecutorWhenUnsupported() {
+        assumeFalse(VirtualThreadExecutorServiceFactory.isSupported());
+
+        var factory = new VirtualThreadExecutorServiceFactory("neo4j.BoltWorker-");
+
+        Assertions.assertThatExceptionOfType(UnsupportedOperationException.class)
+                .isThrownBy(factory::create);
+    }
+}
@@ -24,8 +24,10 @@ import java.util.List;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
 import org.mockito.Mockito;
 import org.neo4j.bolt.protocol.common.connector.connection.Connection;
+import org.neo4j.bolt.protocol.common.connector.connection.listener.MessageLatencyConnectionListener;
 import org.neo4j.bolt.protocol.common.fsm.response.metadata.MetadataHandler;
 import org.neo4j.bolt.protocol.common.message.Error;
 import org.neo4j.bolt.protocol.common.message.response.FailureMessage;
@@ -71,7 +73,7 @@ class NetworkResponseHandlerTest {
 
     @Test
     void shouldPrepareRecordHandler() {
-        var handler = new NetworkResponseHandler(this.connection, this.metadataHandler, 512, 0, this.logService);
+        var handler = new NetworkResponseHandler(this.connection, this.metadataHandler, 512, 0, null, this.logService);
 
         var recordHandler = handler.onBeginStreaming(List.of("foo", "bar"));
 
@@ -80,7 +82,7 @@ class NetworkResponseHandlerTest {
 
     @Test
     void shouldAssembleSuccessResponse() {
-        var handler = new NetworkResponseHandler(this.connection, this.metadataHandler, 512, 0, this.logService);
+        var handler = new NetworkResponseHandler(this.connection, this.metadataHandler, 512, 0, null, this.logService);
 
         handler.onMetadata("foo", Values.stringValue("bar"));
         handler.onMetadata("baz", Values.stringValue("foo"));
@@ -100,7 +102,7 @@ class NetworkResponseHandlerTest {
 
     @Test
     void shouldUseEmptyMapValueInSuccessResponseWhenNoMetadataIsGiven() {
-        var handler = new NetworkResponseHandler(this.connection, this.metadataHandler, 512, 0, this.logService);
+        var handler = new NetworkResponseHandler(this.connection, this.metadataHandler, 512, 0, null, this.logService);
 
         handler.onSuccess();
 
@@ -114,7 +116,7 @@ class NetworkResponseHandlerTest {
 
     @Test
     void shouldAssembleIgnoredResponse() {
-        var handler = new NetworkResponseHandler(this.connection, this.metadataHandler, 512, 0, this.logService);
+        var handler = new NetworkResponseHandler(this.connection, this.metadataHandler, 512, 0, null, this.logService);
 
         handler.onIgnored();
 
@@ -126,9 +128,21 @@ class NetworkResponseHandlerTest {
                 .isSameAs(IgnoredMessage.INSTANCE);
     }
 
+    @Test
+    void shouldReportFlushTimesToMessageLatencyListener() {
+        var messageLatencyListener = Mockito.mock(MessageLatencyConnectionListener.class);
+        var handler = new NetworkResponseHandler(
+                this.connection, this.metadataHandler, 512, 0, messageLatencyListener, this.logService);
+
+        handler.onSuccess();
+        handler.onIgnored();
+
+        Mockito.verify(messageLatencyListener, Mockito.times(2)).onResponseFlushed(ArgumentMatchers.anyLong());
+    }
+
     @Test
     void shouldAssembleFailureResponse() {
-        var handler = new NetworkResponseHandler(this.connection, this.metadataHandler, 512, 0, this.logService);
+        var handler = new NetworkResponseHandler(this.connection, this.metadataHandler, 512, 0, null, this.logService);
 
         handler.onFailure(Error.from(Status.Transaction.Terminated, "Something went wrong!"));
 
@@ -142,7 +156,7 @@ class NetworkResponseHandlerTest {
 
     @Test
     void shouldAssembleFatalFailureResponse() {
-        var handler = new NetworkResponseHandler(this.connection, this.metadataHandler, 512, 0, this.logService);
+        var handler = new NetworkResponseHandler(this.connection, this.metadataHandler, 512, 0, null, this.logService);
 
         handler.onFailure(Error.fatalFrom(Status.Transaction.Terminated, "Something went wrong!"));
 
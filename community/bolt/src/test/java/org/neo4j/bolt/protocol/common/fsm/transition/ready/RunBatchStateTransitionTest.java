@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.bolt.protocol.common.fsm.transition.ready;
+
+import io.netty.buffer.ByteBuf;
+import java.util.Collections;
+import java.util.Optional;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.neo4j.bolt.protocol.common.fsm.States;
+import org.neo4j.bolt.protocol.common.fsm.error.TransactionStateTransitionException;
+import org.neo4j.bolt.protocol.common.fsm.transition.AbstractStateTransitionTest;
+import org.neo4j.bolt.protocol.common.message.AccessMode;
+import org.neo4j.bolt.protocol.common.message.request.transaction.RunBatchMessage;
+import org.neo4j.bolt.tx.Transaction;
+import org.neo4j.bolt.tx.TransactionType;
+import org.neo4j.bolt.tx.error.TransactionException;
+import org.neo4j.bolt.tx.error.statement.StatementExecutionException;
+import org.neo4j.bolt.tx.statement.Statement;
+import org.neo4j.memory.EmptyMemoryTracker;
+import org.neo4j.packstream.io.PackstreamBuf;
+import org.neo4j.packstream.io.value.PackstreamValueReader;
+import org.neo4j.packstream.struct.StructRegistry;
+import org.neo4j.values.AnyValue;
+import org.neo4j.values.storable.Values;
+import org.neo4j.values.virtual.VirtualValues;
+
+class RunBatchStateTransitionTest extends AbstractStateTransitionTest<RunBatchMessage, RunBatchStateTransition> {
+
+    private Transaction transaction;
+    private Statement statement;
+
+    @Override
+    protected RunBatchStateTransition getTransition() {
+        return RunBatchStateTransition.getInstance();
+    }
+
+    @BeforeEach
+    void prepareTransaction() throws TransactionException {
+        this.transaction = Mockito.mock(Transaction.class);
+        this.statement = Mockito.mock(Statement.class);
+
+        Mockito.doReturn(this.transaction)
+                .when(this.connection)
+                .beginTransaction(
+                        Mockito.eq(TransactionType.IMPLICIT),
+                        Mockito.any(),
+                        Mockito.any(),
+                        Mockito.anyList(),
+                        Mockito.any(),
+                        Mockito.anyMap(),
+                        Mockito.any());
+
+        Mockito.doReturn(this.statement).when(this.transaction).run(Mockito.anyString(), Mockito.any());
+        Mockito.doReturn("bookmark-1234").when(this.transaction).commit();
+
+        Mockito.doAnswer(invocation -> new PackstreamValueReader<>(
+                        this.connection, invocation.getArgument(0), StructRegistry.empty()))
+                .when(this.connection)
+                .valueReader(Mockito.any());
+    }
+
+    private static RunBatchMessage createRequest(String statement, int batchSize) {
+        var buf = PackstreamBuf.allocUnpooled().writeListHeader(batchSize);
+        for (var i = 0; i < batchSize; i++) {
+            buf.writeMapHeader(1).writeString("id").writeInt(i);
+        }
+
+        return createRequest(statement, batchSize, buf.getTarget());
+    }
+
+    private static RunBatchMessage createRequest(String statement, int batchSize, ByteBuf parameterSets) {
+        return new RunBatchMessage(
+                statement,
+                batchSize,
+                parameterSets,
+                EmptyMemoryTracker.INSTANCE,
+                Collections.emptyList(),
+                null,
+                AccessMode.WRITE,
+                Collections.emptyMap(),
+                "neo4j",
+                null,
+                null);
+    }
+
+    @Test
+    void shouldExecuteBatchWithinImplicitTransaction() throws Exception {
+        var request = createRequest("CREATE (n {id: $id})", 3);
+
+        var targetState = this.transition.process(this.context, request, this.responseHandler);
+
+        Assertions.assertThat(targetState).isEqualTo(States.READY);
+
+        var inOrder = Mockito.inOrder(this.connection, this.transaction, this.statement, this.responseHandler);
+
+        inOrder.verify(this.connection)
+                .beginTransaction(
+                        TransactionType.IMPLICIT,
+                        "neo4j",
+                        AccessMode.WRITE,
+                        Collections.emptyList(),
+                        null,
+                        Collections.emptyMap(),
+                        null);
+
+        for (var i = 0; i < 3; i++) {
+            inOrder.verify(this.transaction)
+                    .run("CREATE (n {id: $id})", VirtualValues.map(new String[] {"id"}, new AnyValue[] {
+                        Values.longValue(i)
+                    }));
+            inOrder.verify(this.statement).discard(Mockito.any(), Mockito.eq(-1L));
+            inOrder.verify(this.statement).close();
+        }
+
+        inOrder.verify(this.responseHandler).onMetadata("batch_size", Values.longValue(3));
+        inOrder.verify(this.transaction).commit();
+        inOrder.verify(this.connection).closeTransaction();
+        inOrder.verify(this.connection).clearImpersonation();
+        inOrder.verify(this.responseHandler).onBookmark("bookmark-1234");
+    }
+
+    @Test
+    void shouldExecuteBatchWithinActiveTransaction() throws Exception {
+        Mockito.doReturn(Optional.of(this.transaction)).when(this.connection).transaction();
+        Mockito.doReturn(States.IN_TRANSACTION).when(this.context).state();
+
+        var request = createRequest("CREATE (n {id: $id})", 2);
+
+        var targetState = this.transition.process(this.context, request, this.responseHandler);
+
+        Assertions.assertThat(targetState).isEqualTo(States.IN_TRANSACTION);
+
+        Mockito.verify(this.transaction, Mockito.times(2)).run(Mockito.eq("CREATE (n {id: $id})"), Mockito.any());
+        Mockito.verify(this.responseHandler).onMetadata("batch_size", Values.longValue(2));
+        Mockito.verify(this.transaction, Mockito.never()).commit();
+        Mockito.verify(this.connection, Mockito.never()).closeTransaction();
+    }
+
+    @Test
+    void shouldCloseImplicitTransactionWhenStatementFails() throws Exception {
+        Mockito.doThrow(new StatementExecutionException(new RuntimeException("Something went wrong")))
+                .when(this.transaction)
+                .run(Mockito.anyString(), Mockito.any());
+
+        var request = createRequest("CREATE (n {id: $id})", 2);
+
+        Assertions.assertThatExceptionOfType(TransactionStateTransitionException.class)
+                .isThrownBy(() -> this.transition.process(this.context, request, this.responseHandler));
+
+        Mockito.verify(this.transaction).run(Mockito.anyString(), Mockito.any());
+        Mockito.verify(this.transaction, Mockito.never()).commit();
+        Mockito.verify(this.connection).closeTransaction();
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.bolt.protocol.common.message.decoder.transaction;
+
+import java.util.ArrayList;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.neo4j.bolt.protocol.common.connector.connection.Connection;
+import org.neo4j.bolt.protocol.common.connector.connection.Feature;
+import org.neo4j.bolt.protocol.common.message.AccessMode;
+import org.neo4j.bolt.testing.mock.ConnectionMockFactory;
+import org.neo4j.memory.LocalMemoryTracker;
+import org.neo4j.packstream.error.reader.PackstreamReaderException;
+import org.neo4j.packstream.error.reader.UnexpectedStructException;
+import org.neo4j.packstream.error.struct.IllegalStructArgumentException;
+import org.neo4j.packstream.error.struct.IllegalStructSizeException;
+import org.neo4j.packstream.io.PackstreamBuf;
+import org.neo4j.packstream.io.value.PackstreamValueReader;
+import org.neo4j.packstream.struct.StructHeader;
+import org.neo4j.packstream.struct.StructRegistry;
+import org.neo4j.values.storable.Values;
+import org.neo4j.values.virtual.MapValue;
+import org.neo4j.values.virtual.MapValueBuilder;
+
+class DefaultRunBatchMessageDecoderTest {
+
+    private final DefaultRunBatchMessageDecoder decoder = DefaultRunBatchMessageDecoder.getInstance();
+
+    /**
+     * Creates a value reader which returns the given metadata in place of the first map within the buffer while
+     * decoding all remaining values from the buffer.
+     */
+    private static PackstreamValueReader<Connection> metadataReader(PackstreamBuf buf, MapValue metadata)
+            throws PackstreamReaderException {
+        var reader = Mockito.spy(new PackstreamValueReader<Connection>(null, buf, StructRegistry.empty()));
+        Mockito.doReturn(metadata).doCallRealMethod().when(reader).readMap();
+        return reader;
+    }
+
+    @Test
+    void shouldReadMessage() throws PackstreamReaderException {
+        var buf = PackstreamBuf.allocUnpooled();
+
+        buf.writeString("CREATE (n {id: $id})");
+        buf.writeListHeader(2);
+        buf.writeMapHeader(1).writeString("id").writeInt(1);
+        buf.writeMapHeader(1).writeString("id").writeInt(2);
+
+        var meta = new MapValueBuilder();
+        meta.add("mode", Values.stringValue("w"));
+        meta.add("db", Values.stringValue("neo4j"));
+
+        var memoryTracker = new LocalMemoryTracker();
+        var connection = ConnectionMockFactory.newFactory()
+                .withValueReader(metadataReader(buf, meta.build()))
+                .withMemoryTracker(memoryTracker)
+                .withFeature(Feature.BATCH_RUN)
+                .build();
+
+        var msg = this.decoder.read(connection, buf, new StructHeader(3, (short) 0x14));
+
+        Assertions.assertThat(msg).isNotNull();
+        Assertions.assertThat(msg.statement()).isEqualTo("CREATE (n {id: $id})");
+        Assertions.assertThat(msg.batchSize()).isEqualTo(2);
+        Assertions.assertThat(msg.getAccessMode()).isEqualTo(AccessMode.WRITE);
+        Assertions.assertThat(msg.databaseName()).isEqualTo("neo4j");
+
+        // the source buffer may be released as soon as decoding completes
+        Assertions.assertThat(buf.getTarget().isReadable()).isFalse();
+        buf.getTarget().release();
+
+        var parameterSets = new ArrayList<MapValue>();
+        new PackstreamValueReader<>(connection, msg.parameterSets(), StructRegistry.empty())
+                .readMapStream(parameterSets::add);
+
+        Assertions.assertThat(parameterSets)
+                .extracting(params -> params.get("id"))
+                .containsExactly(Values.longValue(1), Values.longValue(2));
+
+        // the copy of the parameter sets is accounted for on the connection until the message is released
+        Assertions.assertThat(memoryTracker.estimatedHeapMemory())
+                .isEqualTo(msg.parameterSets().getTarget().capacity());
+        msg.release();
+        Assertions.assertThat(memoryTracker.estimatedHeapMemory()).isZero();
+    }
+
+    @Test
+    void shouldFailWithUnexpectedStructWhenFeatureIsDisabled() {
+        var buf = PackstreamBuf.allocUnpooled().writeString("RETURN 1");
+
+        Assertions.assertThatExceptionOfType(UnexpectedStructException.class)
+                .isThrownBy(() ->
+                        this.decoder.read(ConnectionMockFactory.newInstance(), buf, new StructHeader(3, (short) 0x14)));
+    }
+
+    @Test
+    void shouldFailWithIllegalStructSizeWhenInsufficientNumberOfFieldsIsGiven() {
+        var connection =
+                ConnectionMockFactory.newFactory().withFeature(Feature.BATCH_RUN).build();
+
+        Assertions.assertThatExceptionOfType(IllegalStructSizeException.class)
+                .isThrownBy(() ->
+                        this.decoder.read(connection, PackstreamBuf.allocUnpooled(), new StructHeader(2, (short) 0x14)))
+                .withMessage("Illegal struct size: Expected struct to be 3 fields but got 2");
+    }
+
+    @Test
+    void shouldFailWithIllegalStructArgumentWhenParameterSetsAreNotAList() throws PackstreamReaderException {
+        var buf = PackstreamBuf.allocUnpooled();
+        var reader = Mockito.mock(PackstreamValueReader.class);
+
+        buf.writeString("RETURN 1");
+        buf.writeMapHeader(0);
+
+        var connection = ConnectionMockFactory.newFactory()
+                .withValueReader(metadataReader(buf, MapValue.EMPTY))
+                .withMemoryTracker(new LocalMemoryTracker())
+                .withFeature(Feature.BATCH_RUN)
+                .build();
+
+        Assertions.assertThatExceptionOfType(IllegalStructArgumentException.class)
+                .isThrownBy(() -> this.decoder.read(connection, buf, new StructHeader(3, (short) 0x14)))
+                .withMessageStartingWith("Illegal value for field \"parameterSets\"");
+    }
+
+    @Test
+    void shouldFailWithIllegalStructArgumentWhenAnyParameterSetIsMalformed() throws PackstreamReaderException {
+        var buf = PackstreamBuf.allocUnpooled();
+
+        buf.writeString("CREATE (n {id: $id})");
+        buf.writeListHeader(3);
+        buf.writeMapHeader(1).writeString("id").writeInt(1);
+        buf.writeMapHeader(1).writeString("id").writeInt(2);
+        buf.writeInt(3);
+
+        var memoryTracker = new LocalMemoryTracker();
+        var connection = ConnectionMockFactory.newFactory()
+                .withValueReader(metadataReader(buf, MapValue.EMPTY))
+                .withMemoryTracker(memoryTracker)
+                .withFeature(Feature.BATCH_RUN)
+                .build();
+
+        Assertions.assertThatExceptionOfType(IllegalStructArgumentException.class)
+                .isThrownBy(() -> this.decoder.read(connection, buf, new StructHeader(3, (short) 0x14)))
+                .withMessageStartingWith("Illegal value for field \"parameterSets\"");
+        Assertions.assertThat(memoryTracker.estimatedHeapMemory()).isZero();
+    }
+}
@@ -24,11 +24,15 @@ import java.util.List;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.neo4j.bolt.protocol.common.connector.connection.Feature;
+import org.neo4j.bolt.protocol.common.connector.connection.PreparedQueryRegistry;
 import org.neo4j.bolt.protocol.common.message.AccessMode;
 import org.neo4j.bolt.protocol.common.message.notifications.SelectiveNotificationsConfig;
 import org.neo4j.bolt.testing.assertions.MapValueAssertions;
 import org.neo4j.bolt.testing.mock.ConnectionMockFactory;
+import org.neo4j.memory.EmptyMemoryTracker;
 import org.neo4j.packstream.error.reader.PackstreamReaderException;
+import org.neo4j.packstream.error.struct.IllegalStructArgumentException;
 import org.neo4j.packstream.io.PackstreamBuf;
 import org.neo4j.packstream.io.value.PackstreamValueReader;
 import org.neo4j.packstream.struct.StructHeader;
@@ -129,4 +133,123 @@ public class DefaultRunMessageDecoderTest extends AbstractRunMessageDecoderTest<
         Assertions.assertThat(msg.databaseName()).isNull();
         Assertions.assertThat(msg.impersonatedUser()).isNull();
     }
+
+    @Test
+    void shouldReadPrepareFlagWhenFeatureIsEnabled() throws PackstreamReaderException {
+        var buf = PackstreamBuf.allocUnpooled();
+        var reader = Mockito.mock(PackstreamValueReader.class);
+
+        buf.writeString("RETURN $n");
+
+        var meta = new MapValueBuilder();
+        meta.add("prepare", Values.booleanValue(true));
+
+        Mockito.doReturn(MapValue.EMPTY, meta.build()).when(reader).readMap();
+
+        var connection = ConnectionMockFactory.newFactory()
+                .withValueReader(reader)
+                .withFeature(Feature.PREPARED_QUERIES)
+                .build();
+
+        var msg = this.getDecoder().read(connection, buf, new StructHeader(3, (short) 0x42));
+
+        Assertions.assertThat(msg.statement()).isEqualTo("RETURN $n");
+        Assertions.assertThat(msg.prepare()).isTrue();
+    }
+
+    @Test
+    void shouldIgnorePrepareFlagWhenFeatureIsDisabled() throws PackstreamReaderException {
+        var buf = PackstreamBuf.allocUnpooled();
+        var reader = Mockito.mock(PackstreamValueReader.class);
+
+        buf.writeString("RETURN $n");
+
+        var meta = new MapValueBuilder();
+        meta.add("prepare", Values.booleanValue(true));
+
+        Mockito.doReturn(MapValue.EMPTY, meta.build()).when(reader).readMap();
+
+        var connection =
+                ConnectionMockFactory.newFactory().withValueReader(reader).build();
+
+        var msg = this.getDecoder().read(connection, buf, new StructHeader(3, (short) 0x42));
+
+        Assertions.assertThat(msg.prepare()).isFalse();
+    }
+
+    @Test
+    void shouldResolvePreparedStatement() throws PackstreamReaderException {
+        var buf = PackstreamBuf.allocUnpooled();
+        var reader = Mockito.mock(PackstreamValueReader.class);
+
+        buf.writeString("");
+
+        var preparedQueries = new PreparedQueryRegistry(EmptyMemoryTracker.INSTANCE);
+        var statement = "RETURN $n";
+        var handle = preparedQueries.prepare(statement);
+
+        var meta = new MapValueBuilder();
+        meta.add("prepared", Values.longValue(handle));
+
+        Mockito.doReturn(MapValue.EMPTY, meta.build()).when(reader).readMap();
+
+        var connection = ConnectionMockFactory.newFactory()
+                .withValueReader(reader)
+                .withFeature(Feature.PREPARED_QUERIES)
+                .withPreparedQueries(preparedQueries)
+                .build();
+
+        var msg = this.getDecoder().read(connection, buf, new StructHeader(3, (short) 0x42));
+
+        Assertions.assertThat(msg.statement()).isSameAs(statement);
+        Assertions.assertThat(msg.prepare()).isFalse();
+    }
+
+    @Test
+    void shouldFailWithIllegalStructArgumentWhenUnknownPreparedStatementIsReferenced()
+            throws PackstreamReaderException {
+        var buf = PackstreamBuf.allocUnpooled();
+        var reader = Mockito.mock(PackstreamValueReader.class);
+
+        buf.writeString("");
+
+        var meta = new MapValueBuilder();
+        meta.add("prepared", Values.longValue(42));
+
+        Mockito.doReturn(MapValue.EMPTY, meta.build()).when(reader).readMap();
+
+        var connection = ConnectionMockFactory.newFactory()
+                .withValueReader(reader)
+                .withFeature(Feature.PREPARED_QUERIES)
+                .withPreparedQueries(new PreparedQueryRegistry(EmptyMemoryTracker.INSTANCE))
+                .build();
+
+        Assertions.assertThatExceptionOfType(IllegalStructArgumentException.class)
+                .isThrownBy(() -> this.getDecoder().read(connection, buf, new StructHeader(3, (short) 0x42)))
+                .withMessage("Illegal value for field \"prepared\": No prepared query with handle 42");
+    }
+
+    @Test
+    void shouldFailWithIllegalStructArgumentWhenStatementIsPassedAlongWithPreparedStatement()
+            throws PackstreamReaderException {
+        var buf = PackstreamBuf.allocUnpooled();
+        var reader = Mockito.mock(PackstreamValueReader.class);
+
+        buf.writeString("RETURN 1");
+
+        var meta = new MapValueBuilder();
+        meta.add("prepared", Values.longValue(0));
+
+        Mockito.doReturn(MapValue.EMPTY, meta.build()).when(reader).readMap();
+
+        var connection = ConnectionMockFactory.newFactory()
+                .withValueReader(reader)
+                .withFeature(Feature.PREPARED_QUERIES)
+                .build();
+
+        Assertions.assertThatExceptionOfType(IllegalStructArgumentException.class)
+                .isThrownBy(() -> this.getDecoder().read(connection, buf, new StructHeader(3, (short) 0x42)))
+                .withMessage("Illegal value for field \"prepared\": Expecting statement to be empty when referencing"
+                        + " a prepared query");
+    }
 }
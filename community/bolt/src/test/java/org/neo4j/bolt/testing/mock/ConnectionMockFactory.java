@@ -46,6 +46,8 @@ import org.neo4j.bolt.protocol.common.connection.Job;
 import org.neo4j.bolt.protocol.common.connector.Connector;
 import org.neo4j.bolt.protocol.common.connector.connection.Connection;
 import org.neo4j.bolt.protocol.common.connector.connection.ConnectionHandle;
+import org.neo4j.bolt.protocol.common.connector.connection.Feature;
+import org.neo4j.bolt.protocol.common.connector.connection.PreparedQueryRegistry;
 import org.neo4j.bolt.protocol.common.connector.connection.authentication.AuthenticationFlag;
 import org.neo4j.bolt.protocol.common.connector.connection.listener.ConnectionListener;
 import org.neo4j.bolt.protocol.common.message.notifications.NotificationsConfig;
@@ -204,6 +206,14 @@ public class ConnectionMockFactory extends AbstractMockFactory<ConnectionHandle,
         return this.withStaticValue(mock -> mock.writerContext(ArgumentMatchers.any()), ctx);
     }
 
+    public ConnectionMockFactory withFeature(Feature feature) {
+        return this.withStaticValue(mock -> mock.isFeatureEnabled(feature), true);
+    }
+
+    public ConnectionMockFactory withPreparedQueries(PreparedQueryRegistry preparedQueries) {
+        return this.withStaticValue(Connection::preparedQueries, preparedQueries);
+    }
+
     public ConnectionMockFactory withFSM(StateMachine fsm) {
         return this.withStaticValue(Connection::fsm, fsm);
     }
@@ -22,20 +22,29 @@ package org.neo4j.bolt.tx;
 import java.time.Clock;
 import java.time.Instant;
 import java.time.ZoneOffset;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.neo4j.bolt.dbapi.BoltTransaction;
+import org.neo4j.bolt.protocol.common.fsm.response.NoopRecordHandler;
+import org.neo4j.bolt.tx.cache.ResultCache;
+import org.neo4j.bolt.tx.cache.ResultCacheMonitor;
 import org.neo4j.bolt.tx.error.TransactionCloseException;
 import org.neo4j.bolt.tx.error.TransactionException;
 import org.neo4j.bolt.tx.error.statement.StatementException;
+import org.neo4j.bolt.tx.statement.CachedStatement;
+import org.neo4j.graphdb.QueryExecutionType;
+import org.neo4j.graphdb.QueryExecutionType.QueryType;
 import org.neo4j.internal.kernel.api.exceptions.TransactionFailureException;
 import org.neo4j.kernel.api.exceptions.Status;
 import org.neo4j.kernel.database.DatabaseReference;
 import org.neo4j.kernel.impl.query.QueryExecutionKernelException;
 import org.neo4j.time.FakeClock;
+import org.neo4j.values.storable.Values;
 import org.neo4j.values.virtual.MapValue;
 
 class TransactionImplTest {
@@ -115,6 +124,31 @@ class TransactionImplTest {
         Assertions.assertThat(transaction.getStatement(0)).isNotPresent();
     }
 
+    @Test
+    void shouldServeCachedStatements() throws StatementException {
+        Mockito.doReturn(UUID.randomUUID()).when(this.databaseReference).id();
+        var cache = new ResultCache(16, 16, database -> 42, () -> 1, ResultCacheMonitor.noop());
+        var scope = cache.scope(this.databaseReference, "bob", null);
+
+        var recorder = scope.recorder("RETURN 1 AS n", MapValue.EMPTY);
+        var recordHandler = recorder.wrap(List.of("n"), NoopRecordHandler.getInstance());
+        recordHandler.onBegin();
+        recordHandler.onField(Values.longValue(1));
+        recordHandler.onCompleted();
+        recorder.complete(List.of("n"), QueryExecutionType.query(QueryType.READ_ONLY), List.of(), true);
+
+        var transaction = new TransactionImpl(
+                "bolt-42", TransactionType.IMPLICIT, this.databaseReference, this.clock, this.boltTransaction, scope);
+
+        var statement = transaction.run("RETURN 1 AS n", MapValue.EMPTY);
+
+        Mockito.verifyNoInteractions(this.boltTransaction);
+        Assertions.assertThat(statement).isInstanceOf(CachedStatement.class);
+        Assertions.assertThat(statement.fieldNames()).containsExactly("n");
+        Assertions.assertThat(transaction.getStatement(0)).isPresent().containsSame(statement);
+        Assertions.assertThat(cache.hits()).isEqualTo(1);
+    }
+
     @Test
     void shouldCommitTransactions() throws TransactionFailureException, TransactionException {
         var transaction = new TransactionImpl(
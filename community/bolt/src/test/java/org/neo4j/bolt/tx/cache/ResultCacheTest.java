@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.bolt.tx.cache;
+
+import java.util.List;
+import java.util.UUID;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.neo4j.bolt.protocol.common.fsm.response.NoopRecordHandler;
+import org.neo4j.graphdb.Notification;
+import org.neo4j.graphdb.QueryExecutionType;
+import org.neo4j.graphdb.QueryExecutionType.QueryType;
+import org.neo4j.kernel.database.DatabaseReference;
+import org.neo4j.values.AnyValue;
+import org.neo4j.values.storable.Values;
+import org.neo4j.values.virtual.MapValue;
+import org.neo4j.values.virtual.NodeValue;
+import org.neo4j.values.virtual.VirtualValues;
+
+class ResultCacheTest {
+
+    private static final List<String> FIELD_NAMES = List.of("n");
+    private static final String QUERY = "MATCH (n) RETURN count(n) AS n";
+
+    private DatabaseReference database;
+    private ResultCacheMonitor monitor;
+    private long lastCommittedTxId;
+    private long systemLastCommittedTxId;
+    private ResultCache cache;
+
+    @BeforeEach
+    void prepare() {
+        this.database = Mockito.mock(DatabaseReference.class);
+        Mockito.doReturn(UUID.randomUUID()).when(this.database).id();
+
+        this.monitor = Mockito.mock(ResultCacheMonitor.class);
+        this.lastCommittedTxId = 42;
+        this.systemLastCommittedTxId = 7;
+        this.cache = new ResultCache(
+                2, 3, db -> this.lastCommittedTxId, () -> this.systemLastCommittedTxId, this.monitor);
+    }
+
+    @Test
+    void shouldServeRecordedResult() {
+        var scope = this.cache.scope(this.database, "bob", null);
+
+        Assertions.assertThat(scope.lookup(QUERY, MapValue.EMPTY)).isNull();
+        record(scope.recorder(QUERY, MapValue.EMPTY), QueryExecutionType.query(QueryType.READ_ONLY), 2);
+
+        var result = this.cache.scope(this.database, "bob", null).lookup(QUERY, MapValue.EMPTY);
+
+        Assertions.assertThat(result).isNotNull();
+        Assertions.assertThat(result.fieldNames()).isEqualTo(FIELD_NAMES);
+        Assertions.assertThat(result.records())
+                .containsExactly(new AnyValue[] {Values.longValue(0)}, new AnyValue[] {Values.longValue(1)});
+        Assertions.assertThat(result.executionType().queryType()).isEqualTo(QueryType.READ_ONLY);
+
+        Assertions.assertThat(this.cache.hits()).isEqualTo(1);
+        Assertions.assertThat(this.cache.misses()).isEqualTo(1);
+        Mockito.verify(this.monitor).cacheHit();
+        Mockito.verify(this.monitor).cacheMiss();
+    }
+
+    @Test
+    void shouldMissOnceNewTransactionHasBeenCommitted() {
+        record(
+                this.cache.scope(this.database, "bob", null).recorder(QUERY, MapValue.EMPTY),
+                QueryExecutionType.query(QueryType.READ_ONLY),
+                1);
+
+        this.lastCommittedTxId++;
+
+        Assertions.assertThat(this.cache.scope(this.database, "bob", null).lookup(QUERY, MapValue.EMPTY))
+                .isNull();
+    }
+
+    @Test
+    void shouldMissOncePrivilegesHaveBeenAltered() {
+        record(
+                this.cache.scope(this.database, "bob", null).recorder(QUERY, MapValue.EMPTY),
+                QueryExecutionType.query(QueryType.READ_ONLY),
+                1);
+
+        this.systemLastCommittedTxId++;
+
+        Assertions.assertThat(this.cache.scope(this.database, "bob", null).lookup(QUERY, MapValue.EMPTY))
+                .isNull();
+    }
+
+    @Test
+    void shouldKeyResultsByParametersAndUser() {
+        var params = VirtualValues.map(new String[] {"limit"}, new AnyValue[] {Values.longValue(10)});
+        record(
+                this.cache.scope(this.database, "bob", null).recorder(QUERY, params),
+                QueryExecutionType.query(QueryType.READ_ONLY),
+                1);
+
+        Assertions.assertThat(this.cache.scope(this.database, "bob", null).lookup(QUERY, params))
+                .isNotNull();
+        Assertions.assertThat(this.cache.scope(this.database, "bob", null).lookup(QUERY, MapValue.EMPTY))
+                .isNull();
+        Assertions.assertThat(this.cache.scope(this.database, "alice", null).lookup(QUERY, params))
+                .isNull();
+    }
+
+    @Test
+    void shouldNotCreateScopeForUnsupportedDatabase() {
+        this.lastCommittedTxId = -1;
+
+        Assertions.assertThat(this.cache.scope(this.database, "bob", null)).isNull();
+        Assertions.assertThat(this.cache.scope(null, "bob", null)).isNull();
+    }
+
+    @Test
+    void shouldNotCreateScopeWhileSystemDatabaseIsUnavailable() {
+        this.systemLastCommittedTxId = -1;
+
+        Assertions.assertThat(this.cache.scope(this.database, "bob", null)).isNull();
+    }
+
+    @Test
+    void shouldNotCacheWritingStatements() {
+        assertNotCached(QueryExecutionType.query(QueryType.READ_WRITE), 1);
+    }
+
+    @Test
+    void shouldNotCacheExplainedStatements() {
+        assertNotCached(QueryExecutionType.explained(QueryType.READ_ONLY), 0);
+    }
+
+    @Test
+    void shouldNotCacheResultsExceedingRecordLimit() {
+        assertNotCached(QueryExecutionType.query(QueryType.READ_ONLY), 4);
+    }
+
+    @Test
+    void shouldNotCacheStatementsWithNotifications() {
+        var recorder = this.cache.scope(this.database, "bob", null).recorder(QUERY, MapValue.EMPTY);
+
+        recorder.complete(
+                FIELD_NAMES,
+                QueryExecutionType.query(QueryType.READ_ONLY),
+                List.of(Mockito.mock(Notification.class)),
+                true);
+
+        Assertions.assertThat(this.cache.size()).isZero();
+    }
+
+    @Test
+    void shouldNotCacheNonDeterministicStatements() {
+        var recorder = this.cache.scope(this.database, "bob", null).recorder("RETURN rand() AS n", MapValue.EMPTY);
+
+        var handler = recorder.wrap(FIELD_NAMES, NoopRecordHandler.getInstance());
+        handler.onBegin();
+        handler.onField(Values.doubleValue(0.42));
+        handler.onCompleted();
+        recorder.complete(FIELD_NAMES, QueryExecutionType.query(QueryType.READ_ONLY), List.of(), false);
+
+        Assertions.assertThat(this.cache.size()).isZero();
+    }
+
+    @Test
+    void shouldNotCacheEntities() {
+        var recorder = this.cache.scope(this.database, "bob", null).recorder(QUERY, MapValue.EMPTY);
+
+        var handler = recorder.wrap(FIELD_NAMES, NoopRecordHandler.getInstance());
+        handler.onBegin();
+        handler.onField(VirtualValues.list(Mockito.mock(NodeValue.class)));
+        handler.onCompleted();
+        recorder.complete(FIELD_NAMES, QueryExecutionType.query(QueryType.READ_ONLY), List.of(), true);
+
+        Assertions.assertThat(this.cache.size()).isZero();
+    }
+
+    @Test
+    void shouldNotCacheAbandonedResults() {
+        var recorder = this.cache.scope(this.database, "bob", null).recorder(QUERY, MapValue.EMPTY);
+
+        recorder.abandon();
+        recorder.complete(FIELD_NAMES, QueryExecutionType.query(QueryType.READ_ONLY), List.of(), true);
+
+        Assertions.assertThat(this.cache.size()).isZero();
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedResults() {
+        var scope = this.cache.scope(this.database, "bob", null);
+        var type = QueryExecutionType.query(QueryType.READ_ONLY);
+
+        record(scope.recorder("RETURN 1", MapValue.EMPTY), type, 1);
+        record(scope.recorder("RETURN 2", MapValue.EMPTY), type, 1);
+        Assertions.assertThat(scope.lookup("RETURN 1", MapValue.EMPTY)).isNotNull();
+
+        record(scope.recorder("RETURN 3", MapValue.EMPTY), type, 1);
+
+        Assertions.assertThat(this.cache.size()).isEqualTo(2);
+        Assertions.assertThat(scope.lookup("RETURN 1", MapValue.EMPTY)).isNotNull();
+        Assertions.assertThat(scope.lookup("RETURN 2", MapValue.EMPTY)).isNull();
+        Assertions.assertThat(scope.lookup("RETURN 3", MapValue.EMPTY)).isNotNull();
+    }
+
+    private void assertNotCached(QueryExecutionType executionType, int records) {
+        record(this.cache.scope(this.database, "bob", null).recorder(QUERY, MapValue.EMPTY), executionType, records);
+
+        Assertions.assertThat(this.cache.size()).isZero();
+    }
+
+    private static void record(ResultRecorder recorder, QueryExecutionType executionType, int records) {
+        var handler = recorder.wrap(FIELD_NAMES, NoopRecordHandler.getInstance());
+        for (var i = 0; i < records; i++) {
+            handler.onBegin();
+            handler.onField(Values.longValue(i));
+            handler.onCompleted();
+        }
+
+        recorder.complete(FIELD_NAMES, executionType, List.of(), true);
+    }
+}
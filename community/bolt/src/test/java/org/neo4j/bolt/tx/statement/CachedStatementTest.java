@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.bolt.tx.statement;
+
+import java.util.List;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.neo4j.bolt.protocol.common.fsm.response.RecordHandler;
+import org.neo4j.bolt.protocol.common.fsm.response.ResponseHandler;
+import org.neo4j.bolt.tx.cache.CachedResult;
+import org.neo4j.graphdb.QueryExecutionType;
+import org.neo4j.graphdb.QueryExecutionType.QueryType;
+import org.neo4j.graphdb.QueryStatistics;
+import org.neo4j.kernel.database.DatabaseReference;
+import org.neo4j.values.AnyValue;
+import org.neo4j.values.storable.Values;
+
+class CachedStatementTest {
+
+    private DatabaseReference databaseReference;
+    private CachedResult result;
+    private ResponseHandler responseHandler;
+    private RecordHandler recordHandler;
+
+    @BeforeEach
+    void prepare() {
+        this.databaseReference = Mockito.mock(DatabaseReference.class);
+        this.result = new CachedResult(
+                List.of("n"),
+                List.of(
+                        new AnyValue[] {Values.longValue(1)},
+                        new AnyValue[] {Values.longValue(2)},
+                        new AnyValue[] {Values.longValue(3)}),
+                QueryExecutionType.query(QueryType.READ_ONLY));
+
+        this.responseHandler = Mockito.mock(ResponseHandler.class);
+        this.recordHandler = Mockito.mock(RecordHandler.class);
+        Mockito.doReturn(this.recordHandler).when(this.responseHandler).onBeginStreaming(ArgumentMatchers.anyList());
+    }
+
+    @Test
+    void shouldReplayRecordsInBatches() {
+        var statement = new CachedStatement(0, this.databaseReference, this.result);
+        var listener = Mockito.mock(Statement.Listener.class);
+        statement.registerListener(listener);
+
+        statement.consume(this.responseHandler, 2);
+
+        Mockito.verify(this.recordHandler).onField(Values.longValue(1));
+        Mockito.verify(this.recordHandler).onField(Values.longValue(2));
+        Mockito.verify(this.recordHandler, Mockito.never()).onField(Values.longValue(3));
+        Mockito.verify(this.responseHandler).onCompleteStreaming(true);
+        Assertions.assertThat(statement.hasRemaining()).isTrue();
+        Assertions.assertThat(statement.statistics()).isEmpty();
+
+        statement.consume(this.responseHandler, 2);
+
+        Mockito.verify(this.recordHandler).onField(Values.longValue(3));
+        Mockito.verify(this.recordHandler, Mockito.times(3)).onCompleted();
+        Mockito.verify(this.responseHandler)
+                .onStreamingMetadata(
+                        0,
+                        this.result.executionType(),
+                        this.databaseReference,
+                        QueryStatistics.EMPTY,
+                        List.of());
+        Mockito.verify(this.responseHandler).onCompleteStreaming(false);
+        Mockito.verify(listener).onCompleted(statement);
+
+        Assertions.assertThat(statement.hasRemaining()).isFalse();
+        Assertions.assertThat(statement.statistics()).contains(QueryStatistics.EMPTY);
+    }
+
+    @Test
+    void shouldReplayAllRecords() {
+        var statement = new CachedStatement(0, this.databaseReference, this.result);
+
+        statement.consume(this.responseHandler, -1);
+
+        Mockito.verify(this.recordHandler, Mockito.times(3)).onCompleted();
+        Mockito.verify(this.responseHandler).onCompleteStreaming(false);
+        Assertions.assertThat(statement.hasRemaining()).isFalse();
+    }
+
+    @Test
+    void shouldDiscardRecords() {
+        var statement = new CachedStatement(0, this.databaseReference, this.result);
+
+        statement.discard(this.responseHandler, -1);
+
+        Mockito.verifyNoInteractions(this.recordHandler);
+        Mockito.verify(this.responseHandler).onCompleteStreaming(false);
+        Assertions.assertThat(statement.hasRemaining()).isFalse();
+    }
+
+    @Test
+    void shouldNotifyListenersWhenClosed() {
+        var statement = new CachedStatement(0, this.databaseReference, this.result);
+        var listener = Mockito.mock(Statement.Listener.class);
+        statement.registerListener(listener);
+
+        statement.close();
+        statement.close();
+
+        Mockito.verify(listener).onClosed(statement);
+        Assertions.assertThat(statement.hasRemaining()).isFalse();
+    }
+}
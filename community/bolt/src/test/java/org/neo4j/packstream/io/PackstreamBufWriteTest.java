@@ -572,6 +572,45 @@ public class PackstreamBufWriteTest {
         assertThat(ex).hasMessage("payload cannot be null");
     }
 
+    @Test
+    void shouldWriteMultiByteString() {
+        var payload = "Östra Göinge 😀";
+        var expected = payload.getBytes(Type.STRING_CHARSET);
+
+        var buf = prepareBuffer(b -> b.writeString(payload));
+
+        assertThat(buf.readUnsignedByte()).isEqualTo(TypeMarker.STRING8.getValue());
+        assertThat(buf.readUnsignedByte()).isEqualTo((short) expected.length);
+
+        var heap = new byte[expected.length];
+        buf.readBytes(heap);
+
+        assertThat(heap).isEqualTo(expected);
+        assertThat(buf.isReadable()).isFalse();
+    }
+
+    @Test
+    void shouldWriteUtf8String() {
+        var encoded = "__Östra Göinge__".getBytes(Type.STRING_CHARSET);
+
+        var buf = prepareBuffer(b -> b.writeUtf8String(encoded, 2, encoded.length - 4));
+
+        var marker = buf.readUnsignedByte();
+        var heap = new byte[marker & 0x0F];
+        buf.readBytes(heap);
+
+        assertThat(marker & 0xF0).isEqualTo(TypeMarker.TINY_STRING.getValue());
+        assertThat(new String(heap, Type.STRING_CHARSET)).isEqualTo("Östra Göinge");
+        assertThat(buf.isReadable()).isFalse();
+    }
+
+    @Test
+    void writeUtf8StringShouldFailWithNullPointerWhenNullIsGiven() {
+        var ex = assertThrows(NullPointerException.class, () -> prepareBuffer(b -> b.writeUtf8String(null, 0, 0)));
+
+        assertThat(ex).hasMessage("payload cannot be null");
+    }
+
     @TestFactory
     Stream<DynamicTest> shouldWriteTinyString() {
         return IntStream.rangeClosed(0, (int) LengthPrefix.NIBBLE.getMaxValue())
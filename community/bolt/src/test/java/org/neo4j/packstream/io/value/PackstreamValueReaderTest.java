@@ -25,6 +25,7 @@ import static org.junit.jupiter.api.DynamicTest.dynamicTest;
 import static org.neo4j.values.storable.NoValue.NO_VALUE;
 
 import io.netty.buffer.Unpooled;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.stream.DoubleStream;
@@ -33,6 +34,7 @@ import java.util.stream.Stream;
 import org.junit.jupiter.api.DynamicTest;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestFactory;
+import org.neo4j.function.ThrowingConsumer;
 import org.neo4j.packstream.error.reader.PackstreamReaderException;
 import org.neo4j.packstream.error.reader.UnexpectedTypeException;
 import org.neo4j.packstream.error.reader.UnexpectedTypeMarkerException;
@@ -259,4 +261,50 @@ class PackstreamValueReaderTest {
                 .isInstanceOf(UnexpectedTypeException.class)
                 .hasMessage("Unexpected type: STRUCT");
     }
+
+    @Test
+    void shouldReadMapStream() throws PackstreamReaderException {
+        var buf = PackstreamBuf.allocUnpooled().writeListHeader(3);
+        for (var i = 0; i < 3; i++) {
+            buf.writeMapHeader(1).writeString("n").writeInt(i);
+        }
+
+        var maps = new ArrayList<MapValue>();
+        var remaining = new ArrayList<Boolean>();
+
+        var reader = new PackstreamValueReader<>(null, buf, null);
+        var length = reader.readMapStream(map -> {
+            maps.add(map);
+            remaining.add(buf.getTarget().isReadable());
+        });
+
+        assertThat(length).isEqualTo(3);
+        assertThat(maps)
+                .extracting(map -> map.get("n"))
+                .containsExactly(Values.longValue(0), Values.longValue(1), Values.longValue(2));
+
+        // each map is passed on before the following map is decoded
+        assertThat(remaining).containsExactly(true, true, false);
+    }
+
+    @Test
+    void readMapStreamShouldHandleEmptyList() throws PackstreamReaderException {
+        var buf = PackstreamBuf.allocUnpooled().writeListHeader(0);
+
+        var reader = new PackstreamValueReader<>(null, buf, null);
+        var length = reader.readMapStream(map -> {
+            throw new AssertionError("Unexpected map: " + map);
+        });
+
+        assertThat(length).isZero();
+    }
+
+    @Test
+    void readMapStreamShouldFailWithUnexpectedTypeWhenMapIsGiven() {
+        var buf = PackstreamBuf.allocUnpooled().writeMapHeader(0);
+
+        var reader = new PackstreamValueReader<>(null, buf, null);
+        assertThatThrownBy(() -> reader.readMapStream(ThrowingConsumer.noop()))
+                .isInstanceOf(UnexpectedTypeException.class);
+    }
 }
@@ -87,6 +87,15 @@ public enum Group {
     /** Thread pool for parallel Cypher query execution. */
     CYPHER_WORKER("CypherWorker", ExecutorServiceFactory.workStealing()),
     CYPHER_CACHE("CypherCache", ExecutorServiceFactory.workStealing()),
+    /** Executes the batches of {@code CALL { ... } IN CONCURRENT TRANSACTIONS}, each in a transaction of its own. */
+    CYPHER_TRANSACTION_WORKER(
+            "CypherTransactionWorker",
+            ExecutorServiceFactory.cached(),
+            Runtime.getRuntime().availableProcessors()),
+    /** Parses the files of {@code LOAD CSV} ahead of the queries consuming their rows. */
+    CYPHER_LOAD_CSV("CypherLoadCsv"),
+    /** Replans persisted queries when databases start. */
+    CYPHER_CACHE_WARMUP("CypherCacheWarmup"),
 
     /** Removes queries that have timed out */
     CYPHER_QUERY_MONITOR("CypherQueryMonitor"),
@@ -0,0 +1,251 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.server.httpv2;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.neo4j.server.httpv2.HttpV2ClientUtil.baseTypedRequestBuilder;
+import static org.neo4j.server.httpv2.HttpV2ClientUtil.resolveDependency;
+import static org.neo4j.server.httpv2.HttpV2ClientUtil.simpleRequest;
+import static org.neo4j.server.httpv2.response.format.Fieldnames.BOOKMARKS_KEY;
+import static org.neo4j.server.httpv2.response.format.Fieldnames.CYPHER_TYPE;
+import static org.neo4j.server.httpv2.response.format.Fieldnames.CYPHER_VALUE;
+import static org.neo4j.server.httpv2.response.format.Fieldnames.DATA_KEY;
+import static org.neo4j.server.httpv2.response.format.Fieldnames.ERRORS_KEY;
+import static org.neo4j.server.httpv2.response.format.Fieldnames.ERROR_KEY;
+import static org.neo4j.server.httpv2.response.format.Fieldnames.FIELDS_KEY;
+import static org.neo4j.server.httpv2.response.format.Fieldnames.VALUES_KEY;
+import static org.neo4j.server.httpv2.response.format.Fieldnames._ELEMENT_ID;
+import static org.neo4j.server.httpv2.response.format.Fieldnames._LABELS;
+import static org.neo4j.server.httpv2.response.format.Fieldnames._PROPERTIES;
+import static org.neo4j.server.httpv2.response.format.Fieldnames._RELATIONSHIP_TYPE;
+import static org.neo4j.server.httpv2.response.format.Fieldnames._START_NODE_ELEMENT_ID;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.EnumSet;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.neo4j.configuration.connectors.BoltConnector;
+import org.neo4j.configuration.connectors.BoltConnectorInternalSettings;
+import org.neo4j.configuration.connectors.ConnectorPortRegister;
+import org.neo4j.configuration.connectors.ConnectorType;
+import org.neo4j.configuration.connectors.HttpConnector;
+import org.neo4j.configuration.helpers.SocketAddress;
+import org.neo4j.dbms.api.DatabaseManagementService;
+import org.neo4j.server.configuration.ConfigurableServerModules;
+import org.neo4j.server.configuration.ServerSettings;
+import org.neo4j.test.TestDatabaseManagementServiceBuilder;
+
+class QueryResourceDirectExecutionIT {
+
+    private static DatabaseManagementService directDbms;
+    private static DatabaseManagementService driverDbms;
+    private static HttpClient client;
+
+    private static String directEndpoint;
+    private static String driverEndpoint;
+
+    private final ObjectMapper MAPPER = new ObjectMapper();
+
+    @BeforeAll
+    static void beforeAll() {
+        directDbms = new TestDatabaseManagementServiceBuilder()
+                .setConfig(HttpConnector.enabled, true)
+                .setConfig(HttpConnector.listen_address, new SocketAddress("localhost", 0))
+                .setConfig(ServerSettings.http_enabled_modules, EnumSet.allOf(ConfigurableServerModules.class))
+                .setConfig(ServerSettings.query_api_direct_execution_enabled, true)
+                .impermanent()
+                .build();
+        driverDbms = new TestDatabaseManagementServiceBuilder()
+                .setConfig(HttpConnector.enabled, true)
+                .setConfig(HttpConnector.listen_address, new SocketAddress("localhost", 0))
+                .setConfig(
+                        BoltConnectorInternalSettings.local_channel_address,
+                        QueryResourceDirectExecutionIT.class.getSimpleName())
+                .setConfig(BoltConnector.enabled, true)
+                .setConfig(BoltConnectorInternalSettings.enable_local_connector, true)
+                .setConfig(ServerSettings.http_enabled_modules, EnumSet.allOf(ConfigurableServerModules.class))
+                .impermanent()
+                .build();
+
+        directEndpoint = queryEndpoint(directDbms);
+        driverEndpoint = queryEndpoint(driverDbms);
+        client = HttpClient.newBuilder().build();
+    }
+
+    @AfterAll
+    static void teardown() {
+        directDbms.shutdown();
+        driverDbms.shutdown();
+    }
+
+    private static String queryEndpoint(DatabaseManagementService dbms) {
+        var portRegister = resolveDependency(dbms, ConnectorPortRegister.class);
+        return "http://" + portRegister.getLocalAddress(ConnectorType.HTTP) + "/db/{databaseName}/query/v2";
+    }
+
+    private static Stream<String> statements() {
+        return Stream.of(
+                "{\"statement\": \"RETURN 1 AS n, 1.5 AS f, 'text' AS s, true AS b, null AS nil\"}",
+                "{\"statement\": \"RETURN [1, 'two', [3.0]] AS list, {a: 1, b: {c: 'd'}} AS map\"}",
+                "{\"statement\": \"RETURN date('2023-11-01') AS date, localtime('12:50:35') AS localTime, "
+                        + "time('12:50:35+01:00') AS time, localdatetime('2023-11-01T12:50:35') AS localDateTime, "
+                        + "datetime('2023-11-01T12:50:35+01:00') AS offsetDateTime, "
+                        + "datetime('2023-11-01T12:50:35[Europe/Stockholm]') AS zonedDateTime, "
+                        + "duration('P1Y2M3DT4H5M6.7S') AS duration\"}",
+                "{\"statement\": \"RETURN point({x: 1.5, y: 2.5}) AS cartesian, "
+                        + "point({longitude: 12.7, latitude: 56.5, height: 100}) AS wgs84\"}",
+                "{\"statement\": \"UNWIND range(1, 1000) AS i RETURN i, toString(i) AS s\"}",
+                "{\"statement\": \"RETURN $n AS n, $list AS list, $map AS map\", "
+                        + "\"parameters\": {\"n\": 42, \"list\": [1, 2, 3], \"map\": {\"a\": \"b\"}}}",
+                "{\"statement\": \"CREATE (n:Direct) SET n.p = 1\", \"includeCounters\": true}",
+                "{\"statement\": \"EXPLAIN RETURN 1\"}");
+    }
+
+    @ParameterizedTest
+    @MethodSource("statements")
+    void shouldProduceSameResponseAsDriver(String statement) throws IOException, InterruptedException {
+        var directResponse = simpleRequest(client, directEndpoint, statement);
+        var driverResponse = simpleRequest(client, driverEndpoint, statement);
+
+        assertThat(directResponse.statusCode()).isEqualTo(driverResponse.statusCode());
+        assertThat(withoutBookmarks(directResponse.body())).isEqualTo(withoutBookmarks(driverResponse.body()));
+    }
+
+    @ParameterizedTest
+    @MethodSource("statements")
+    void shouldProduceSameTypedResponseAsDriver(String statement) throws IOException, InterruptedException {
+        var directResponse = typedRequest(directEndpoint, statement);
+        var driverResponse = typedRequest(driverEndpoint, statement);
+
+        assertThat(directResponse.statusCode()).isEqualTo(driverResponse.statusCode());
+        assertThat(withoutBookmarks(directResponse.body())).isEqualTo(withoutBookmarks(driverResponse.body()));
+    }
+
+    @Test
+    void shouldReturnEntities() throws IOException, InterruptedException {
+        var response = typedRequest(
+                directEndpoint,
+                "{\"statement\": \"CREATE p = (:Person {name: 'a'})-[:KNOWS {since: 2001}]->(:Person {name: 'b'}) "
+                        + "RETURN p\"}");
+
+        assertThat(response.statusCode()).isEqualTo(202);
+        var path = MAPPER.readTree(response.body()).get(DATA_KEY).get(VALUES_KEY).get(0);
+
+        assertThat(path.get(CYPHER_TYPE).asText()).isEqualTo("Path");
+        var elements = path.get(CYPHER_VALUE);
+        assertThat(elements.size()).isEqualTo(3);
+        assertThat(elements.get(0).get(CYPHER_TYPE).asText()).isEqualTo("Node");
+        assertThat(elements.get(0).get(CYPHER_VALUE).get(_LABELS).get(0).asText()).isEqualTo("Person");
+        assertThat(elements.get(1).get(CYPHER_TYPE).asText()).isEqualTo("Relationship");
+        assertThat(elements.get(1).get(CYPHER_VALUE).get(_RELATIONSHIP_TYPE).asText()).isEqualTo("KNOWS");
+        assertThat(elements.get(1).get(CYPHER_VALUE).get(_START_NODE_ELEMENT_ID).asText())
+                .isEqualTo(elements.get(0).get(CYPHER_VALUE).get(_ELEMENT_ID).asText());
+        assertThat(elements.get(2).get(CYPHER_VALUE).get(_PROPERTIES).get("name").get(CYPHER_VALUE).asText())
+                .isEqualTo("b");
+    }
+
+    @Test
+    void shouldReturnBookmarks() throws IOException, InterruptedException {
+        var responseA = simpleRequest(client, directEndpoint, "{\"statement\": \"CREATE (n)\"}");
+        assertThat(responseA.statusCode()).isEqualTo(202);
+        var bookmark = MAPPER.readTree(responseA.body()).get(BOOKMARKS_KEY).get(0).asText();
+        assertThat(bookmark).isNotBlank();
+
+        var responseB = simpleRequest(
+                client,
+                directEndpoint,
+                "{\"statement\": \"MATCH (n) RETURN count(n)\", \"bookmarks\" : [\"" + bookmark + "\"]}");
+
+        assertThat(responseB.statusCode()).isEqualTo(202);
+        var parsedJson = MAPPER.readTree(responseB.body());
+        assertThat(parsedJson.get(BOOKMARKS_KEY).get(0).asText()).isNotBlank();
+        assertThat(parsedJson.get(DATA_KEY).get(VALUES_KEY).get(0).asInt()).isGreaterThan(0);
+    }
+
+    @Test
+    void shouldSupportCallInTransactions() throws IOException, InterruptedException {
+        var response = simpleRequest(
+                client,
+                directEndpoint,
+                "{\"statement\": \"UNWIND [4, 2, 1, 0] AS i CALL { WITH i CREATE ()} IN TRANSACTIONS OF 2 ROWS "
+                        + "RETURN i\"}");
+
+        assertThat(response.statusCode()).isEqualTo(202);
+        var parsedJson = MAPPER.readTree(response.body());
+        assertThat(parsedJson.get(DATA_KEY).get(FIELDS_KEY).size()).isEqualTo(1);
+        assertThat(parsedJson.get(DATA_KEY).get(VALUES_KEY).get(0).asInt()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldReturnErrorForInvalidStatement() throws IOException, InterruptedException {
+        var response = simpleRequest(client, directEndpoint, "{\"statement\": \"MATCH (n)\"}");
+
+        assertThat(response.statusCode()).isEqualTo(400);
+        assertThat(MAPPER.readTree(response.body()).get(ERRORS_KEY).get(0).get(ERROR_KEY).asText())
+                .isEqualTo("Neo.ClientError.Statement.SyntaxError");
+    }
+
+    @Test
+    void shouldReturnNotFoundForUnknownDatabase() throws IOException, InterruptedException {
+        var response = simpleRequest(client, directEndpoint, "missing", "{\"statement\": \"RETURN 1\"}");
+
+        assertThat(response.statusCode()).isEqualTo(404);
+        assertThat(MAPPER.readTree(response.body()).get(ERRORS_KEY).get(0).get(ERROR_KEY).asText())
+                .isEqualTo("Neo.ClientError.Database.DatabaseNotFound");
+    }
+
+    @Test
+    void shouldWriteErrorRaisedWhileStreaming() throws IOException, InterruptedException {
+        var response =
+                simpleRequest(client, directEndpoint, "{\"statement\": \"UNWIND [1, 0] AS i RETURN 1 / i\"}");
+
+        assertThat(response.statusCode()).isEqualTo(202);
+        var parsedJson = MAPPER.readTree(response.body());
+        assertThat(parsedJson.get(ERRORS_KEY).get(0).get("code").asText())
+                .isEqualTo("Neo.ClientError.Statement.ArithmeticError");
+        assertThat(parsedJson.get(BOOKMARKS_KEY)).isNull();
+    }
+
+    private HttpResponse<String> typedRequest(String endpoint, String statement)
+            throws IOException, InterruptedException {
+        var httpRequest = baseTypedRequestBuilder(endpoint, "neo4j")
+                .POST(HttpRequest.BodyPublishers.ofString(statement))
+                .build();
+        return client.send(httpRequest, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private JsonNode withoutBookmarks(String body) throws IOException {
+        var parsedJson = MAPPER.readTree(body);
+        if (parsedJson instanceof ObjectNode object) {
+            object.remove(BOOKMARKS_KEY);
+        }
+        return parsedJson;
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.javacompat;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.cypher_query_cache_persistence_enabled;
+import static org.neo4j.configuration.GraphDatabaseSettings.log_queries_obfuscate_literals;
+import static org.neo4j.test.assertion.Assert.assertEventually;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.neo4j.cypher.internal.cache.PersistentQueryCache;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.kernel.impl.query.QueryCacheStatistics;
+import org.neo4j.kernel.internal.GraphDatabaseAPI;
+import org.neo4j.test.TestDatabaseManagementServiceBuilder;
+import org.neo4j.test.extension.DbmsController;
+import org.neo4j.test.extension.DbmsExtension;
+import org.neo4j.test.extension.ExtensionCallback;
+import org.neo4j.test.extension.Inject;
+import scala.jdk.javaapi.CollectionConverters;
+
+@DbmsExtension(configurationCallback = "configure")
+class QueryCacheWarmupTest {
+    private static final String QUERY = "MATCH (n:Person) WHERE n.name = $name RETURN n";
+    private static final String SENSITIVE_QUERY = "MATCH (n:Person) WHERE n.name = 'secret' RETURN n";
+
+    @Inject
+    private GraphDatabaseAPI db;
+
+    @Inject
+    private DbmsController dbmsController;
+
+    @Inject
+    private FileSystemAbstraction fs;
+
+    @ExtensionCallback
+    void configure(TestDatabaseManagementServiceBuilder builder) {
+        builder.setConfig(cypher_query_cache_persistence_enabled, true)
+                .setConfig(log_queries_obfuscate_literals, true);
+    }
+
+    @Test
+    void shouldPersistQueriesWhenTheDatabaseStops() throws IOException {
+        execute(QUERY, Map.of("name", "Alice"));
+
+        dbmsController.restartDbms();
+
+        assertThat(persistedQueries()).anySatisfy(query -> assertThat(query).contains(QUERY));
+        assertThat(persistedFileContent()).doesNotContain("Alice");
+    }
+
+    @Test
+    void shouldReplanPersistedQueriesWhenTheDatabaseStarts() {
+        execute(QUERY, Map.of("name", "Alice"));
+
+        dbmsController.restartDbms();
+
+        QueryCacheStatistics statistics = db.getDependencyResolver().resolveDependency(QueryCacheStatistics.class);
+        assertEventually(statistics::executableQueryCacheEntries, entries -> entries > 0, 1, MINUTES);
+    }
+
+    @Test
+    void shouldNotPersistQueriesWithObfuscatedLiterals() throws IOException {
+        execute(SENSITIVE_QUERY, Map.of());
+        execute(QUERY, Map.of("name", "Alice"));
+
+        dbmsController.restartDbms();
+
+        assertThat(persistedQueries())
+                .anySatisfy(query -> assertThat(query).contains(QUERY))
+                .noneSatisfy(query -> assertThat(query).contains("secret"));
+        assertThat(persistedFileContent()).doesNotContain("secret");
+    }
+
+    private void execute(String query, Map<String, Object> parameters) {
+        try (Transaction tx = db.beginTx()) {
+            tx.execute(query, parameters).close();
+            tx.commit();
+        }
+    }
+
+    private List<String> persistedQueries() {
+        return CollectionConverters.asJava(PersistentQueryCache.read(fs, persistedFile())).stream()
+                .map(PersistentQueryCache.Entry::query)
+                .toList();
+    }
+
+    private String persistedFileContent() throws IOException {
+        try (InputStream in = fs.openAsInputStream(persistedFile())) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private Path persistedFile() {
+        var layout = db.databaseLayout();
+        return layout.getNeo4jLayout()
+                .dataDirectory()
+                .resolve("cypher")
+                .resolve(layout.getDatabaseName())
+                .resolve("query-cache");
+    }
+}
@@ -28,17 +28,29 @@ import static org.neo4j.io.pagecache.context.CursorContext.NULL_CONTEXT;
 import static org.neo4j.kernel.api.KernelTransaction.Type.EXPLICIT;
 import static org.neo4j.values.virtual.VirtualValues.pathReference;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.eclipse.collections.impl.block.factory.primitive.LongPredicates;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
 import org.neo4j.exceptions.KernelException;
 import org.neo4j.function.Predicates;
 import org.neo4j.graphdb.Direction;
+import org.neo4j.internal.kernel.api.NodeCursor;
+import org.neo4j.internal.kernel.api.Read;
+import org.neo4j.internal.kernel.api.RelationshipTraversalCursor;
 import org.neo4j.internal.kernel.api.Write;
+import org.neo4j.internal.kernel.api.helpers.traversal.ParallelFrontierExpansion;
+import org.neo4j.kernel.api.ExecutionContext;
 import org.neo4j.kernel.api.Kernel;
+import org.neo4j.kernel.api.KernelTransaction;
 import org.neo4j.memory.EmptyMemoryTracker;
+import org.neo4j.memory.MemoryTracker;
+import org.neo4j.scheduler.CallableExecutor;
+import org.neo4j.scheduler.CallableExecutorService;
 import org.neo4j.test.extension.ImpermanentDbmsExtension;
 import org.neo4j.test.extension.Inject;
+import org.neo4j.values.virtual.PathReference;
 
 @ImpermanentDbmsExtension
 @Timeout(value = 10)
@@ -762,4 +774,156 @@ class BiDirectionalBFSTest {
                                     new long[] {a3ToStart, b1ToA3, a2ToB1, startToA2}));
         }
     }
+
+    @Test
+    void shouldFindPathsWhenExpandingFrontiersInParallel() throws KernelException {
+        // given
+        int middleNodes = 20;
+        long start;
+        long end;
+        long[] middle = new long[middleNodes];
+        long[] startToMiddle = new long[middleNodes];
+        long[] middleToEnd = new long[middleNodes];
+        try (var tx = kernel.beginTransaction(EXPLICIT, AUTH_DISABLED)) {
+            Write write = tx.dataWrite();
+            int rel = tx.tokenWrite().relationshipTypeGetOrCreateForName("R");
+            //          ↗ (m1)  ↘
+            // (start) →  ...  → (end)
+            //          ↘ (m20) ↗
+            start = write.nodeCreate();
+            end = write.nodeCreate();
+            for (int i = 0; i < middleNodes; i++) {
+                middle[i] = write.nodeCreate();
+                startToMiddle[i] = write.relationshipCreate(start, rel, middle[i]);
+                middleToEnd[i] = write.relationshipCreate(middle[i], rel, end);
+            }
+            tx.commit();
+        }
+
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try (var tx = kernel.beginTransaction(EXPLICIT, AUTH_DISABLED);
+                var nodeCursor = tx.cursors().allocateNodeCursor(NULL_CONTEXT);
+                var relCursor = tx.cursors().allocateRelationshipTraversalCursor(NULL_CONTEXT)) {
+            var parallelExpansion = new ExecutionContextFrontierExpansion(tx, new CallableExecutorService(executor));
+
+            var singlePathBFS = newEmptyBiDirectionalBFS(
+                    null, Direction.OUTGOING, 10, true, tx.dataRead(), nodeCursor, relCursor, NO_TRACKING, true, false);
+            singlePathBFS.setParallelExpansion(parallelExpansion);
+            singlePathBFS.resetForNewRow(start, end, LongPredicates.alwaysTrue(), Predicates.alwaysTrue());
+            var singlePath = single(singlePathBFS.shortestPathIterator());
+            assertThat(singlePath.nodeIds()).hasSize(3).startsWith(start).endsWith(end);
+
+            var allPathsBFS = newEmptyBiDirectionalBFS(
+                    null,
+                    Direction.OUTGOING,
+                    10,
+                    false,
+                    tx.dataRead(),
+                    nodeCursor,
+                    relCursor,
+                    NO_TRACKING,
+                    false,
+                    false);
+            allPathsBFS.setParallelExpansion(parallelExpansion);
+            allPathsBFS.resetForNewRow(start, end, LongPredicates.alwaysTrue(), Predicates.alwaysTrue());
+            var expectedPaths = new PathReference[middleNodes];
+            for (int i = 0; i < middleNodes; i++) {
+                expectedPaths[i] = pathReference(
+                        new long[] {start, middle[i], end}, new long[] {startToMiddle[i], middleToEnd[i]});
+            }
+            assertThat(asList(allPathsBFS.shortestPathIterator())).containsExactlyInAnyOrder(expectedPaths);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void shouldFindSamePathWhenExpandingFrontiersInParallelAsSequentially() throws KernelException {
+        // given
+        int middleNodes = 50;
+        long start;
+        long end;
+        try (var tx = kernel.beginTransaction(EXPLICIT, AUTH_DISABLED)) {
+            Write write = tx.dataWrite();
+            int rel = tx.tokenWrite().relationshipTypeGetOrCreateForName("R");
+            start = write.nodeCreate();
+            end = write.nodeCreate();
+            for (int i = 0; i < middleNodes; i++) {
+                long middle = write.nodeCreate();
+                write.relationshipCreate(start, rel, middle);
+                write.relationshipCreate(middle, rel, end);
+            }
+            tx.commit();
+        }
+
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try (var tx = kernel.beginTransaction(EXPLICIT, AUTH_DISABLED);
+                var nodeCursor = tx.cursors().allocateNodeCursor(NULL_CONTEXT);
+                var relCursor = tx.cursors().allocateRelationshipTraversalCursor(NULL_CONTEXT)) {
+            var bfs = newEmptyBiDirectionalBFS(
+                    null, Direction.OUTGOING, 10, true, tx.dataRead(), nodeCursor, relCursor, NO_TRACKING, true, false);
+            bfs.resetForNewRow(start, end, LongPredicates.alwaysTrue(), Predicates.alwaysTrue());
+            var sequentialPath = single(bfs.shortestPathIterator());
+
+            bfs.setParallelExpansion(new ExecutionContextFrontierExpansion(tx, new CallableExecutorService(executor)));
+            for (int i = 0; i < 20; i++) {
+                // when
+                bfs.resetForNewRow(start, end, LongPredicates.alwaysTrue(), Predicates.alwaysTrue());
+
+                // then
+                assertThat(single(bfs.shortestPathIterator())).isEqualTo(sequentialPath);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Expands every frontier with three workers, each with an execution context of the transaction.
+     */
+    private static class ExecutionContextFrontierExpansion extends ParallelFrontierExpansion {
+        private final KernelTransaction tx;
+
+        ExecutionContextFrontierExpansion(KernelTransaction tx, CallableExecutor executor) {
+            super(3, 1, executor);
+            this.tx = tx;
+        }
+
+        @Override
+        protected Worker createWorker() {
+            ExecutionContext context = tx.createExecutionContext();
+            NodeCursor nodeCursor = context.cursors().allocateNodeCursor(context.cursorContext());
+            RelationshipTraversalCursor traversalCursor =
+                    context.cursors().allocateRelationshipTraversalCursor(context.cursorContext());
+            return new Worker() {
+                @Override
+                public Read read() {
+                    return context.dataRead();
+                }
+
+                @Override
+                public NodeCursor nodeCursor() {
+                    return nodeCursor;
+                }
+
+                @Override
+                public RelationshipTraversalCursor traversalCursor() {
+                    return traversalCursor;
+                }
+
+                @Override
+                public MemoryTracker memoryTracker() {
+                    return context.memoryTracker();
+                }
+
+                @Override
+                public void close() {
+                    traversalCursor.close();
+                    nodeCursor.close();
+                    context.complete();
+                    context.close();
+                }
+            };
+        }
+    }
 }
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher
+
+import org.neo4j.configuration.GraphDatabaseInternalSettings
+import org.neo4j.graphdb.config.Setting
+import org.neo4j.scheduler.Group
+import org.neo4j.scheduler.JobScheduler
+
+class SlottedParallelExecutionAcceptanceTest extends ExecutionEngineFunSuite {
+
+  override def databaseConfig(): Map[Setting[_], Object] = super.databaseConfig() ++ Map(
+    GraphDatabaseInternalSettings.cypher_slotted_parallel_workers -> Integer.valueOf(4)
+  )
+
+  private val unorderedQueries = Seq(
+    "MATCH (a:A) RETURN count(*) AS c",
+    "MATCH (a:A) RETURN a.group AS g, count(*) AS c, sum(a.prop) AS s, min(a.prop) AS min, max(a.prop) AS max",
+    "MATCH (a:A)-[:R]->(b:B) WHERE b.prop % 3 = 0 RETURN a.group AS g, count(b) AS c",
+    "MATCH (n) RETURN DISTINCT n.group AS g",
+    "MATCH (n:Missing) RETURN count(*) AS c, sum(n.prop) AS s"
+  )
+
+  private val orderedQueries = Seq(
+    "MATCH (b:B) WHERE b.prop % 7 = 0 RETURN b.prop AS p ORDER BY p DESC",
+    "MATCH (a:A)-[:R]->(b:B) RETURN b.prop AS p ORDER BY p LIMIT 25",
+    "MATCH (n) RETURN n.prop AS p ORDER BY p DESC LIMIT 1"
+  )
+
+  test("should give the same results in parallel as executed serially") {
+    createGraph()
+
+    assertSameResultsAsSerial()
+  }
+
+  test("should give the same results in parallel when the worker pool has a single thread") {
+    // Workers that the pool doesn't get to are run by the thread executing the query
+    graph.getDependencyResolver.resolveDependency(classOf[JobScheduler]).setParallelism(Group.CYPHER_WORKER, 1)
+    createGraph()
+
+    assertSameResultsAsSerial()
+  }
+
+  private def createGraph(): Unit = {
+    // Enough nodes for the scans to be split into several morsels per worker
+    execute("UNWIND range(1, 5000) AS i CREATE (:A {prop: i, group: i % 10})-[:R]->(:B {prop: i, group: i % 13})")
+  }
+
+  private def assertSameResultsAsSerial(): Unit = {
+    // The interpreted runtime never executes in parallel
+    unorderedQueries.foreach { query =>
+      withClue(query) {
+        execute(s"CYPHER runtime=slotted $query").toList should contain theSameElementsAs
+          execute(s"CYPHER runtime=interpreted $query").toList
+      }
+    }
+    orderedQueries.foreach { query =>
+      withClue(query) {
+        execute(s"CYPHER runtime=slotted $query").toList should equal(
+          execute(s"CYPHER runtime=interpreted $query").toList
+        )
+      }
+    }
+  }
+}
@@ -43,7 +43,7 @@ class TransactionForeachSlottedPipeTest extends GraphDatabaseFunSuite with Query
     val lhs = FakeSlottedPipe(slots, Seq(Map(), Map(), Map()))
     val rhs = FakeSlottedPipe(slots, Seq(Map(), Map()), new FailingNextIterable(Map(), Map()), Seq(Map()))
 
-    val pipe = TransactionForeachSlottedPipe(lhs, rhs, literal(1), OnErrorFail, slots.get("status"))()
+    val pipe = TransactionForeachSlottedPipe(lhs, rhs, literal(1), None, OnErrorFail, slots.get("status"))()
 
     withQueryState(IMPLICIT) { state =>
       state.setExecutionContextFactory(SlottedCypherRowFactory(slots, slots.size()))
@@ -70,7 +70,7 @@ class TransactionForeachSlottedPipeTest extends GraphDatabaseFunSuite with Query
     val lhs = FakeSlottedPipe(slots, Seq(Map(), Map(), Map()))
     val rhs = FakeSlottedPipe(slots, Seq(Map(), Map()), new FailingNextIterable(Map(), Map()), Seq(Map(), Map()))
 
-    val pipe = TransactionForeachSlottedPipe(lhs, rhs, literal(1), OnErrorBreak, slots.get("status"))()
+    val pipe = TransactionForeachSlottedPipe(lhs, rhs, literal(1), None, OnErrorBreak, slots.get("status"))()
 
     withQueryState(IMPLICIT) { state =>
       state.setExecutionContextFactory(SlottedCypherRowFactory(slots, slots.size()))
@@ -105,7 +105,7 @@ class TransactionForeachSlottedPipeTest extends GraphDatabaseFunSuite with Query
       new FailingNextIterable(Map())
     )
 
-    val pipe = TransactionForeachSlottedPipe(lhs, rhs, literal(1), OnErrorContinue, slots.get("status"))()
+    val pipe = TransactionForeachSlottedPipe(lhs, rhs, literal(1), None, OnErrorContinue, slots.get("status"))()
 
     withQueryState(IMPLICIT) { state =>
       state.setExecutionContextFactory(SlottedCypherRowFactory(slots, slots.size()))
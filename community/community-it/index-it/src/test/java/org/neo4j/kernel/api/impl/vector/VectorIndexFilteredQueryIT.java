@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.api.impl.vector;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Label;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.QueryExecutionException;
+import org.neo4j.test.extension.DbmsExtension;
+import org.neo4j.test.extension.Inject;
+
+@DbmsExtension
+class VectorIndexFilteredQueryIT {
+    private static final String INDEX_NAME = "vectors";
+    private static final Label DOCUMENT = Label.label("Document");
+    private static final Label SPECIAL = Label.label("Special");
+    private static final String VECTOR = "embedding";
+    private static final String TENANT = "tenantId";
+    private static final String REGION = "region";
+    private static final int NODES = 200;
+    private static final int K = 10;
+
+    @Inject
+    private GraphDatabaseService db;
+
+    private final Set<String> specialNodes = new HashSet<>();
+    private final Set<String> tenantNodes = new HashSet<>();
+    private final Set<String> evenRegionNodes = new HashSet<>();
+
+    @BeforeEach
+    void setUp() {
+        try (var tx = db.beginTx()) {
+            tx.execute(
+                    "CALL db.index.vector.createNodeIndex($name, $label, $property, 2, 'EUCLIDEAN')",
+                    Map.of("name", INDEX_NAME, "label", DOCUMENT.name(), "property", VECTOR));
+            tx.schema().indexFor(DOCUMENT).on(TENANT).create();
+            tx.schema().indexFor(SPECIAL).on(REGION).create();
+            tx.commit();
+        }
+        try (var tx = db.beginTx()) {
+            tx.schema().awaitIndexesOnline(1, TimeUnit.MINUTES);
+        }
+        try (var tx = db.beginTx()) {
+            for (int i = 0; i < NODES; i++) {
+                final Node node = tx.createNode(DOCUMENT);
+                node.setProperty(VECTOR, new float[] {i, i});
+                node.setProperty(TENANT, i % 20);
+                node.setProperty(REGION, i % 2);
+                if (i % 17 == 0) {
+                    node.addLabel(SPECIAL);
+                    specialNodes.add(node.getElementId());
+                }
+                if (i % 20 == 11) {
+                    tenantNodes.add(node.getElementId());
+                }
+                if (i % 2 == 0) {
+                    evenRegionNodes.add(node.getElementId());
+                }
+            }
+            tx.commit();
+        }
+    }
+
+    @Test
+    void shouldReturnKNeighborsWithFilteredLabel() {
+        final var result = query(Map.of("label", SPECIAL.name()));
+
+        assertThat(result).hasSize(K);
+        assertThat(specialNodes).containsAll(result);
+    }
+
+    @Test
+    void shouldReturnKNeighborsWithFilteredProperty() {
+        final var result = query(Map.of("properties", Map.of(TENANT, 11)));
+
+        assertThat(result).hasSize(K);
+        assertThat(tenantNodes).containsAll(result);
+    }
+
+    @Test
+    void shouldIntersectLabelAndPropertyFilters() {
+        final var expected = new HashSet<>(specialNodes);
+        expected.retainAll(tenantNodes);
+
+        final var result = query(Map.of("label", SPECIAL.name(), "properties", Map.of(TENANT, 11)));
+
+        assertThat(result).containsExactlyInAnyOrderElementsOf(expected);
+    }
+
+    @Test
+    void shouldUseRangeIndexOnFilteredLabel() {
+        final var expected = new HashSet<>(specialNodes);
+        expected.retainAll(evenRegionNodes);
+
+        final var result = query(Map.of("label", SPECIAL.name(), "properties", Map.of(REGION, 0)));
+
+        assertThat(result).containsExactlyInAnyOrderElementsOf(expected);
+    }
+
+    @Test
+    void shouldRejectPropertyFilterWithRangeIndexOnOtherLabel() {
+        assertThatThrownBy(() -> query(Map.of("properties", Map.of(REGION, 0))))
+                .isInstanceOf(QueryExecutionException.class)
+                .hasMessageContaining("requires a RANGE index");
+    }
+
+    @Test
+    void shouldTreatEmptyFilterAsNoFilter() {
+        final var unfiltered = query(Map.of());
+
+        assertThat(unfiltered).hasSize(K);
+        assertThat(query(Map.of("properties", Map.of()))).containsExactlyInAnyOrderElementsOf(unfiltered);
+    }
+
+    @Test
+    void shouldReturnNothingForUnknownLabel() {
+        assertThat(query(Map.of("label", "Missing"))).isEmpty();
+    }
+
+    @Test
+    void shouldRejectPropertyFilterWithoutRangeIndex() {
+        assertThatThrownBy(() -> query(Map.of("properties", Map.of(VECTOR, 1))))
+                .isInstanceOf(QueryExecutionException.class)
+                .hasMessageContaining("requires a RANGE index");
+    }
+
+    @Test
+    void shouldRejectUnknownFilterKeys() {
+        assertThatThrownBy(() -> query(Map.of("relationshipType", "REL")))
+                .isInstanceOf(QueryExecutionException.class)
+                .hasMessageContaining("'filter' only supports the keys");
+    }
+
+    private List<String> query(Map<String, Object> filter) {
+        try (var tx = db.beginTx()) {
+            final var result = tx.execute(
+                    "CALL db.index.vector.queryNodes($name, $k, $vector, $filter) YIELD node RETURN node",
+                    Map.of("name", INDEX_NAME, "k", K, "vector", new float[] {0, 0}, "filter", filter));
+            final var nodes = new ArrayList<String>();
+            result.forEachRemaining(row -> nodes.add(((Node) row.get("node")).getElementId()));
+            return nodes;
+        }
+    }
+}
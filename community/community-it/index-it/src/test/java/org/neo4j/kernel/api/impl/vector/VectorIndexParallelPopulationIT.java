@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.api.impl.vector;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.index_population_workers;
+import static org.neo4j.kernel.api.impl.index.LuceneSettings.vector_population_merge_workers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Label;
+import org.neo4j.test.TestDatabaseManagementServiceBuilder;
+import org.neo4j.test.extension.DbmsExtension;
+import org.neo4j.test.extension.ExtensionCallback;
+import org.neo4j.test.extension.Inject;
+
+@DbmsExtension(configurationCallback = "configure")
+class VectorIndexParallelPopulationIT {
+    private static final String INDEX_NAME = "vectors";
+    private static final Label DOCUMENT = Label.label("Document");
+    private static final String VECTOR = "embedding";
+    private static final int NODES = 5_000;
+    private static final int K = 5;
+
+    @Inject
+    private GraphDatabaseService db;
+
+    @ExtensionCallback
+    void configure(TestDatabaseManagementServiceBuilder builder) {
+        builder.setConfig(vector_population_merge_workers, 4).setConfig(index_population_workers, 4);
+    }
+
+    @Test
+    void shouldPopulateWithParallelMergeWorkers() {
+        try (var tx = db.beginTx()) {
+            for (int i = 0; i < NODES; i++) {
+                tx.createNode(DOCUMENT).setProperty(VECTOR, new float[] {i, i});
+            }
+            tx.commit();
+        }
+
+        try (var tx = db.beginTx()) {
+            tx.execute(
+                    "CALL db.index.vector.createNodeIndex($name, $label, $property, 2, 'EUCLIDEAN')",
+                    Map.of("name", INDEX_NAME, "label", DOCUMENT.name(), "property", VECTOR));
+            tx.commit();
+        }
+        try (var tx = db.beginTx()) {
+            tx.schema().awaitIndexesOnline(5, TimeUnit.MINUTES);
+        }
+
+        assertThat(nearest(new float[] {2500, 2500}))
+                .containsExactlyInAnyOrder(2498.0, 2499.0, 2500.0, 2501.0, 2502.0);
+        assertThat(nearest(new float[] {-1, -1})).containsExactlyInAnyOrder(0.0, 1.0, 2.0, 3.0, 4.0);
+    }
+
+    private List<Double> nearest(float[] vector) {
+        try (var tx = db.beginTx()) {
+            final var result = tx.execute(
+                    "CALL db.index.vector.queryNodes($name, $k, $vector) YIELD node RETURN node.embedding[0] AS x",
+                    Map.of("name", INDEX_NAME, "k", K, "vector", vector));
+            final var xs = new ArrayList<Double>();
+            result.forEachRemaining(row -> xs.add(((Number) row.get("x")).doubleValue()));
+            return xs;
+        }
+    }
+}
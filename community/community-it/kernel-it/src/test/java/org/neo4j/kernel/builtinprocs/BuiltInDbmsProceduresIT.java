@@ -37,6 +37,9 @@ import java.util.List;
 import java.util.stream.Collectors;
 import org.junit.jupiter.api.Test;
 import org.neo4j.annotations.Public;
+import org.neo4j.bolt.protocol.common.connector.accounting.latency.MessageLatencyRegistry;
+import org.neo4j.bolt.protocol.common.connector.accounting.latency.MessagePhase;
+import org.neo4j.bolt.protocol.common.message.request.connection.ResetMessage;
 import org.neo4j.capabilities.CapabilitiesRegistry;
 import org.neo4j.capabilities.CapabilitiesSettings;
 import org.neo4j.capabilities.Capability;
@@ -54,6 +57,7 @@ import org.neo4j.internal.kernel.api.Procedures;
 import org.neo4j.internal.kernel.api.exceptions.ProcedureException;
 import org.neo4j.internal.kernel.api.procs.ProcedureCallContext;
 import org.neo4j.internal.kernel.api.procs.QualifiedName;
+import org.neo4j.kernel.api.net.NetworkMessageLatencyTracker;
 import org.neo4j.kernel.impl.api.integrationtest.KernelIntegrationTest;
 import org.neo4j.values.AnyValue;
 import org.neo4j.values.storable.BooleanValue;
@@ -289,6 +293,31 @@ class BuiltInDbmsProceduresIT extends KernelIntegrationTest {
         }
     }
 
+    @Test
+    void listMessageLatencies() throws KernelException {
+        var registry =
+                (MessageLatencyRegistry) dependencyResolver.resolveDependency(NetworkMessageLatencyTracker.class);
+        registry.accountantFor("bolt").record(ResetMessage.class, MessagePhase.FLUSH, 1000);
+        registry.accountantFor("bolt").record(ResetMessage.class, MessagePhase.FLUSH, 3000);
+
+        QualifiedName procedureName = procedureName("dbms", "listMessageLatencies");
+        Procedures procs = procs();
+        try (var statement = kernelTransaction.acquireStatement()) {
+            int procedureId = procs.procedureGet(procedureName).id();
+            RawIterator<AnyValue[], ProcedureException> callResult =
+                    procs.procedureCallDbms(procedureId, new AnyValue[] {}, ProcedureCallContext.EMPTY);
+            List<AnyValue[]> latencies = asList(callResult);
+
+            assertThat(latencies).hasSize(1);
+            var latency = latencies.get(0);
+            assertEquals(stringValue("bolt"), latency[0]);
+            assertEquals(stringValue("ResetMessage"), latency[1]);
+            assertEquals(stringValue("flush"), latency[2]);
+            assertEquals(Values.longValue(2), latency[3]);
+            assertEquals(Values.longValue(3000), latency[6]);
+        }
+    }
+
     private List<AnyValue[]> callListConfig(String searchString) throws KernelException {
         QualifiedName procedureName = procedureName("dbms", "listConfig");
         Procedures procs = procs();
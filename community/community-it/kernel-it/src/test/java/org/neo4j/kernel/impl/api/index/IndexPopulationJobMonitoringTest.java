@@ -27,6 +27,7 @@ import static org.neo4j.common.EntityType.NODE;
 import static org.neo4j.internal.kernel.api.IndexMonitor.NO_MONITOR;
 import static org.neo4j.io.pagecache.context.FixedVersionContextSupplier.EMPTY_CONTEXT_SUPPLIER;
 
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.Test;
 import org.neo4j.common.Subject;
 import org.neo4j.configuration.Config;
@@ -39,11 +40,13 @@ import org.neo4j.kernel.api.schema.SchemaTestUtil;
 import org.neo4j.kernel.impl.api.index.stats.IndexStatisticsStore;
 import org.neo4j.memory.MemoryTracker;
 import org.neo4j.scheduler.JobMonitoringParams;
+import org.neo4j.time.FakeClock;
 
 class IndexPopulationJobMonitoringTest {
     private final MultipleIndexPopulator populator = mock(MultipleIndexPopulator.class);
     private final MemoryTracker memoryTracker = mock(MemoryTracker.class);
     private final StoreScan scan = mock(StoreScan.class);
+    private final FakeClock clock = new FakeClock();
     private static final CursorContextFactory CONTEXT_FACTORY =
             new CursorContextFactory(PageCacheTracer.NULL, EMPTY_CONTEXT_SUPPLIER);
 
@@ -66,7 +69,8 @@ class IndexPopulationJobMonitoringTest {
                 "Test DB",
                 new Subject("Test User"),
                 NODE,
-                Config.defaults());
+                Config.defaults(),
+                clock);
 
         addIndex(job, "the ONE");
 
@@ -106,7 +110,8 @@ class IndexPopulationJobMonitoringTest {
                 "Another Test DB",
                 new Subject("Another Test User"),
                 NODE,
-                Config.defaults());
+                Config.defaults(),
+                clock);
 
         addIndex(job, "index 1");
         addIndex(job, "index 2");
@@ -135,6 +140,35 @@ class IndexPopulationJobMonitoringTest {
                 monitoringParams, "Population of indexes 'index 1','index 2','index 3'; Total progress: 100.0%");
     }
 
+    @Test
+    void testPopulationThroughput() {
+        when(populator.createStoreScan(any())).thenReturn(scan);
+        when(populator.hasPopulators()).thenReturn(true);
+        when(scan.getProgress())
+                .thenReturn(PopulationProgress.single(500, 1000), PopulationProgress.single(999, 1000));
+        var job = new IndexPopulationJob(
+                populator,
+                NO_MONITOR,
+                CONTEXT_FACTORY,
+                memoryTracker,
+                "Test DB",
+                new Subject("Test User"),
+                NODE,
+                Config.defaults(),
+                clock);
+
+        addIndex(job, "the ONE");
+
+        var monitoringParams = job.getMonitoringParams();
+
+        job.run();
+
+        clock.forward(2, TimeUnit.SECONDS);
+        verifyCurrentState(monitoringParams, "Total progress: 50.0%, throughput: 250 entities/s");
+        clock.forward(1, TimeUnit.SECONDS);
+        verifyCurrentState(monitoringParams, "Total progress: 99.9%, throughput: 333 entities/s");
+    }
+
     private static void addIndex(IndexPopulationJob job, String indexName) {
         var idxPrototype =
                 IndexPrototype.forSchema(mock(SchemaDescriptor.class)).withName(indexName);
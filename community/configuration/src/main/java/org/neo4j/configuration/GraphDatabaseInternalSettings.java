@@ -311,6 +311,38 @@ public class GraphDatabaseInternalSettings implements SettingsDeclaration {
                     "internal.cypher.enable_query_cache_monitors", BOOL, false)
             .build();
 
+    @Internal
+    @Description("Persist the queries in the Cypher query cache of each database, and replan them in the background "
+            + "when the database starts. The queries are persisted when the database stops, and periodically according "
+            + "to `internal.cypher.query_cache_persistence_interval`.")
+    public static final Setting<Boolean> cypher_query_cache_persistence_enabled = newBuilder(
+                    "internal.cypher.query_cache_persistence_enabled", BOOL, false)
+            .build();
+
+    @Internal
+    @Description("How often the queries in the Cypher query cache are persisted, "
+            + "if `internal.cypher.query_cache_persistence_enabled` is set to `true`.")
+    public static final Setting<Duration> cypher_query_cache_persistence_interval = newBuilder(
+                    "internal.cypher.query_cache_persistence_interval", DURATION, Duration.ofMinutes(10))
+            .addConstraint(min(ofSeconds(1)))
+            .build();
+
+    @Internal
+    @Description("Set the maximum number of threads that can concurrently be used to replan persisted queries "
+            + "when databases start.")
+    public static final Setting<Integer> cypher_query_cache_warmup_parallelism = newBuilder(
+                    "internal.cypher.query_cache_warmup_parallelism", INT, 2)
+            .addConstraint(min(1))
+            .build();
+
+    @Internal
+    @Description("Replan stale queries in the background. Executions of a query whose cached plan has become stale "
+            + "keep using the stale plan until the new plan replaces it in the query cache, instead of waiting for "
+            + "the query to be replanned.")
+    public static final Setting<Boolean> cypher_replan_stale_queries_in_background = newBuilder(
+                    "internal.cypher.replan_stale_queries_in_background", BOOL, false)
+            .build();
+
     @Internal
     @Description("Enable tracing of pipelined runtime scheduler.")
     public static final Setting<Boolean> enable_pipelined_runtime_trace = newBuilder(
@@ -533,6 +565,47 @@ public class GraphDatabaseInternalSettings implements SettingsDeclaration {
                     "internal.cypher.free_memory_of_unused_columns", BOOL, true)
             .build();
 
+    @Internal
+    @Description("Number of worker threads the slotted runtime uses to execute the first pipeline segment of read-only "
+            + "queries which scan all nodes or nodes by label and end in an aggregation, distinct, sort or top. "
+            + "The scan is split into morsels which the workers reserve until the scan is exhausted, and their partial "
+            + "results are merged on the thread executing the query. The same number of workers expands large frontiers "
+            + "of shortestPath and allShortestPaths searches without predicates, over chunks of about the same total "
+            + "degree. A value of 0 or 1 disables parallel execution.")
+    public static final Setting<Integer> cypher_slotted_parallel_workers = newBuilder(
+                    "internal.cypher.slotted_parallel_workers", INT, 0)
+            .addConstraint(min(0))
+            .build();
+
+    @Internal
+    @Description("Number of rows the slotted runtime passes at a time between the operators of read-only queries "
+            + "that start with a scan of all nodes or nodes by label, followed by filters, projections and expands. "
+            + "Operators that don't support batches consume the rows one at a time. A value of 0 disables batching.")
+    public static final Setting<Integer> cypher_slotted_batch_size = newBuilder(
+                    "internal.cypher.slotted_batch_size", INT, 0)
+            .addConstraint(min(0))
+            .build();
+
+    @Internal
+    @Description("Estimated heap size in bytes that a sort, eager, grouping aggregation or node hash join of the "
+            + "slotted runtime may buffer before it spills rows to temporary files. Sorts spill sorted runs that are "
+            + "merged back, the others spill hash partitions that are processed one at a time. Grouping aggregations "
+            + "and node hash joins only spill when memory tracking is enabled. A value of 0 disables spilling, in "
+            + "which case these operators are only limited by the transaction memory limits.")
+    public static final Setting<Long> cypher_slotted_spill_threshold = newBuilder(
+                    "internal.cypher.slotted_spill_threshold", BYTES, 0L)
+            .addConstraint(min(0L))
+            .build();
+
+    @Internal
+    @Description("Directory that the slotted runtime spills rows to. The DBMS deletes the spill files in it on "
+            + "startup, which are the files of queries that were running when it stopped. Other files are kept.")
+    public static final Setting<Path> cypher_slotted_spill_directory = newBuilder(
+                    "internal.cypher.slotted_spill_directory", PATH, Path.of("cypher-spill"))
+            .setDependency(GraphDatabaseSettings.data_directory)
+            .immutable()
+            .build();
+
     @Internal
     @Description("Max number of recent queries to collect in the data collector module. Will round down to the"
             + " nearest power of two. The default number (8192 query invocations) "
@@ -788,6 +861,23 @@ public class GraphDatabaseInternalSettings implements SettingsDeclaration {
     public static final Setting<Boolean> archive_failed_index =
             newBuilder("internal.dbms.index.archive_failed", BOOL, false).build();
 
+    @Internal
+    @Description("Names of the RANGE indexes which keep their updates in a sorted in-memory write buffer, instead of "
+            + "writing each update to the index. Meant for indexes with constantly updated keys, like timestamps or "
+            + "status fields. The buffer is merged into all reads and written to the index in sorted batches. "
+            + "Unique indexes never buffer their updates.")
+    public static final Setting<List<String>> range_index_write_buffered_indexes = newBuilder(
+                    "internal.dbms.index.range.write_buffered_indexes", listOf(STRING), List.of())
+            .build();
+
+    @Internal
+    @Description("Number of buffered updates of a write buffered RANGE index at which they are written to the index. "
+            + "Buffered updates are also written to the index on every checkpoint.")
+    public static final Setting<Integer> range_index_write_buffer_size = newBuilder(
+                    "internal.dbms.index.range.write_buffer_size", INT, 10_000)
+            .addConstraint(min(1))
+            .build();
+
     @Internal
     @Description("Forces smaller ID cache, in order to preserve memory.")
     public static final Setting<Boolean> force_small_id_cache = newBuilder(
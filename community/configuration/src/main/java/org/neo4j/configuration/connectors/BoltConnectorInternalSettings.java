@@ -91,6 +91,13 @@ public final class BoltConnectorInternalSettings implements SettingsDeclaration
     public static final Setting<Integer> unsupported_thread_pool_queue_size =
             newBuilder("internal.server.bolt.thread_pool_queue_size", INT, 0).build();
 
+    @Internal
+    @Description("Execute the requests of connections on virtual threads, one per scheduled connection, instead of on "
+            + "the thread pool bound to this connector. The thread pool settings of the connector are ignored when "
+            + "enabled. Has no effect on a JVM without virtual threads.")
+    public static final Setting<Boolean> thread_pool_virtual_threads =
+            newBuilder("internal.server.bolt.thread_pool_virtual_threads", BOOL, false).build();
+
     @Internal
     @Description("Enable TCP keep alive probes on this connector")
     public static final Setting<Boolean> tcp_keep_alive =
@@ -200,6 +207,11 @@ public final class BoltConnectorInternalSettings implements SettingsDeclaration
     public static final Setting<Boolean> enable_response_metrics =
             newBuilder("internal.server.bolt.response_metrics", BOOL, false).build();
 
+    @Internal
+    @Description("Enable/disable the recording of per message type queue, processing and flush time histograms")
+    public static final Setting<Boolean> enable_message_latency_metrics =
+            newBuilder("internal.server.bolt.message_latency_metrics", BOOL, true).build();
+
     @Internal
     @Description("Specifies the initial number of bytes requested when streaming records.")
     public static final Setting<Integer> streaming_buffer_size = newBuilder(
@@ -215,6 +227,46 @@ public final class BoltConnectorInternalSettings implements SettingsDeclaration
             .addConstraint(any(is(0), min(128)))
             .build();
 
+    @Internal
+    @Description("Specifies the minimum size in bytes of a message in order for it to be compressed on connections which "
+            + "have negotiated compression. Smaller messages are transmitted as-is.")
+    public static final Setting<Integer> compression_threshold = newBuilder(
+                    "internal.server.bolt.compression_threshold", INT, 1024)
+            .addConstraint(min(0))
+            .build();
+
+    @Internal
+    @Description("Specifies the zstd compression level of messages on connections which have negotiated compression. "
+            + "Higher levels result in smaller messages at the expense of CPU time.")
+    public static final Setting<Integer> compression_level = newBuilder(
+                    "internal.server.bolt.compression_level", INT, 3)
+            .addConstraint(range(1, 22))
+            .build();
+
+    @Internal
+    @Description("Enables the caching of results of read-only auto-commit queries. Cached results are keyed by the "
+            + "query, its parameters, the target database, the executing user and the last committed transactions of "
+            + "the database and the system database and are thus served until a new transaction is committed or "
+            + "privileges are altered. Queries which return nodes, relationships or paths as well as queries which "
+            + "call procedures, execute administration or SHOW commands, load CSV files or invoke non-deterministic "
+            + "functions are never cached.")
+    public static final Setting<Boolean> result_cache_enabled =
+            newBuilder("internal.server.bolt.result_cache_enabled", BOOL, false).build();
+
+    @Internal
+    @Description("Specifies the maximum number of results retained by the result cache.")
+    public static final Setting<Integer> result_cache_max_entries = newBuilder(
+                    "internal.server.bolt.result_cache_max_entries", INT, 1_000)
+            .addConstraint(min(1))
+            .build();
+
+    @Internal
+    @Description("Specifies the maximum number of records within a result for it to be retained by the result cache.")
+    public static final Setting<Integer> result_cache_max_records = newBuilder(
+                    "internal.server.bolt.result_cache_max_records", INT, 1_000)
+            .addConstraint(min(1))
+            .build();
+
     @Internal
     @Description("Specifies the string used to connect to the local channel")
     public static final Setting<String> local_channel_address =
@@ -50,6 +50,11 @@ trait CacheTracer[KEY] {
    */
   def computeWithExpressionCodeGen(key: KEY, metaData: String): Unit = ()
 
+  /**
+   * No value was computed, because the key was being computed concurrently, and that value was waited for instead.
+   */
+  def computeCoalesced(key: KEY, metaData: String): Unit = ()
+
   /**
    * The item was found in the cache but has become stale.
    * @param secondsSinceCompute how long since the last compute.
@@ -58,6 +63,17 @@ trait CacheTracer[KEY] {
   def cacheStale(key: KEY, secondsSinceCompute: Int, metaData: String, maybeReason: Option[String]): Unit =
     ()
 
+  /**
+   * The item was found in the cache but has become stale, and was returned while it is recomputed in the background.
+   */
+  def cacheStaleServed(key: KEY, metaData: String): Unit = ()
+
+  /**
+   * A value for a stale item was recomputed in the background.
+   * @param millisSpent how long the compute took.
+   */
+  def backgroundCompute(key: KEY, metaData: String, millisSpent: Long): Unit = ()
+
   /**
    * The query cache was flushed.
    */
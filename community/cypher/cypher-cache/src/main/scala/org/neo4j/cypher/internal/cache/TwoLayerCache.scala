@@ -82,7 +82,9 @@ class TwoLayerCache[K, V](val primary: Cache[K, V], val secondary: Cache[K, V])
   override def stats(): CacheStats = primary.stats().plus(secondary.stats())
 
   override def asMap(): ConcurrentMap[K, V] = {
-    // TODO: this does not work for updating values in the map but is still useful for getting all keys
+    // TODO: this does not work for updating values in the map but is still useful for getting all keys.
+    // Only conditional removals and replacements, which don't have to see the latest values, are passed on to the
+    // underlying caches.
     new ConcurrentMap[K, V]() {
       private val inner = new ConcurrentHashMap[K, V]()
       inner.putAll(secondary.asMap())
@@ -131,11 +133,24 @@ class TwoLayerCache[K, V](val primary: Cache[K, V], val secondary: Cache[K, V])
       override def replaceAll(function: BiFunction[_ >: K, _ >: V, _ <: V]): Unit =
         throw new UnsupportedOperationException()
 
-      override def remove(key: Any, value: Any): Boolean = throw new UnsupportedOperationException()
+      override def remove(key: Any, value: Any): Boolean = {
+        inner.remove(key, value)
+        primary.asMap().remove(key, value) | secondary.asMap().remove(key, value)
+      }
 
       override def putIfAbsent(key: K, value: V): V = throw new UnsupportedOperationException()
 
-      override def replace(key: K, oldValue: V, newValue: V): Boolean = throw new UnsupportedOperationException()
+      override def replace(key: K, oldValue: V, newValue: V): Boolean = {
+        inner.replace(key, oldValue, newValue)
+        if (primary.asMap().replace(key, oldValue, newValue)) {
+          true
+        } else if (secondary.asMap().remove(key, oldValue)) {
+          primary.put(key, newValue)
+          true
+        } else {
+          false
+        }
+      }
 
       override def replace(key: K, value: V): V = throw new UnsupportedOperationException()
     }
@@ -104,15 +104,9 @@ class TwoLayerCacheTest extends CypherFunSuite {
     assertThrows[UnsupportedOperationException] {
       map.replaceAll((_, _) => "new value")
     }
-    assertThrows[UnsupportedOperationException] {
-      map.remove("key", "value")
-    }
     assertThrows[UnsupportedOperationException] {
       map.putIfAbsent("key", "value")
     }
-    assertThrows[UnsupportedOperationException] {
-      map.replace("key", "old value", "new value")
-    }
     assertThrows[UnsupportedOperationException] {
       map.replace("key", "new value")
     }
@@ -223,6 +217,23 @@ class TwoLayerCacheTest extends CypherFunSuite {
     cache.asMap() should be(util.Map.of("first", "first", "second", "second"))
   }
 
+  test("should replace and remove values from asMap in both layers") {
+    val (cache, primary, secondary, _) = setup()
+
+    primary.put("first", "first")
+    secondary.put("second", "second")
+
+    cache.asMap().replace("first", "not first", "new first") should be(false)
+    cache.asMap().replace("first", "first", "new first") should be(true)
+    cache.asMap().replace("second", "second", "new second") should be(true)
+    cache.asMap() should be(util.Map.of("first", "new first", "second", "new second"))
+    secondary.getIfPresent("second") should be(null)
+
+    cache.asMap().remove("first", "first") should be(false)
+    cache.asMap().remove("first", "new first") should be(true)
+    cache.getIfPresent("first") should be(null)
+  }
+
   private def setup(
     primarySize: Int = 10,
     secondarySize: Int = 10
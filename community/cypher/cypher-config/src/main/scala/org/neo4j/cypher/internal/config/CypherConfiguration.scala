@@ -137,6 +137,9 @@ class CypherConfiguration private (val config: Config) {
 
   val enableQueryCacheMonitors: Boolean = config.get(GraphDatabaseInternalSettings.cypher_enable_query_cache_monitors)
 
+  val replanStaleQueriesInBackground: Boolean =
+    config.get(GraphDatabaseInternalSettings.cypher_replan_stale_queries_in_background)
+
   val enableExtraSemanticFeatures: Set[String] =
     config.get(GraphDatabaseInternalSettings.cypher_enable_extra_semantic_features).asScala.toSet
 
@@ -157,6 +160,12 @@ class CypherConfiguration private (val config: Config) {
   val freeMemoryOfUnusedColumns: Boolean =
     config.get(GraphDatabaseInternalSettings.cypher_free_memory_of_unused_columns)
 
+  val slottedParallelWorkers: Int = config.get(GraphDatabaseInternalSettings.cypher_slotted_parallel_workers)
+
+  val slottedBatchSize: Int = config.get(GraphDatabaseInternalSettings.cypher_slotted_batch_size)
+
+  val slottedSpillThreshold: Long = config.get(GraphDatabaseInternalSettings.cypher_slotted_spill_threshold)
+
   val lpEagerFallbackEnabled: Boolean =
     config.get(GraphDatabaseInternalSettings.cypher_lp_eager_analysis_fallback_enabled)
 
@@ -67,6 +67,7 @@ import org.neo4j.cypher.internal.util.Foldable.FoldableAny
 import org.neo4j.cypher.internal.util.InputPosition
 import org.neo4j.cypher.internal.util.Selectivity
 import org.neo4j.internal.schema.constraints.SchemaValueType
+import org.neo4j.values.virtual.MapValue
 
 import scala.annotation.tailrec
 
@@ -88,12 +89,15 @@ import scala.annotation.tailrec
  *
  * @see #selectivityForCompositeIndexPredicates(SelectivitiesForPredicates, SelectivityCombiner)
  */
-case class CompositeExpressionSelectivityCalculator(planContext: PlanContext) extends SelectivityCalculator {
+case class CompositeExpressionSelectivityCalculator(
+  planContext: PlanContext,
+  autoExtractedParameterValues: MapValue = MapValue.EMPTY
+) extends SelectivityCalculator {
 
   private val combiner: SelectivityCombiner = IndependenceCombiner
 
   private val singleExpressionSelectivityCalculator: ExpressionSelectivityCalculator =
-    ExpressionSelectivityCalculator(planContext.statistics, combiner)
+    ExpressionSelectivityCalculator(planContext.statistics, combiner, autoExtractedParameterValues)
 
   private val nodeIndexMatchCache =
     CachedFunction[QueryGraph, SemanticTable, IndexCompatiblePredicatesProviderContext, Set[IndexMatch]] {
@@ -57,8 +57,10 @@ import org.neo4j.cypher.internal.compiler.planner.logical.plans.PrefixRangeSeeka
 import org.neo4j.cypher.internal.compiler.planner.logical.plans.Scannable
 import org.neo4j.cypher.internal.compiler.planner.logical.steps.index.IndexCompatiblePredicatesProviderContext
 import org.neo4j.cypher.internal.expressions.AssertIsNode
+import org.neo4j.cypher.internal.expressions.AutoExtractedParameter
 import org.neo4j.cypher.internal.expressions.Contains
 import org.neo4j.cypher.internal.expressions.DifferentRelationships
+import org.neo4j.cypher.internal.expressions.DoubleLiteral
 import org.neo4j.cypher.internal.expressions.ElementTypeName
 import org.neo4j.cypher.internal.expressions.EndsWith
 import org.neo4j.cypher.internal.expressions.Equals
@@ -67,6 +69,7 @@ import org.neo4j.cypher.internal.expressions.False
 import org.neo4j.cypher.internal.expressions.GreaterThan
 import org.neo4j.cypher.internal.expressions.GreaterThanOrEqual
 import org.neo4j.cypher.internal.expressions.HasLabels
+import org.neo4j.cypher.internal.expressions.IntegerLiteral
 import org.neo4j.cypher.internal.expressions.IsRepeatTrailUnique
 import org.neo4j.cypher.internal.expressions.LabelName
 import org.neo4j.cypher.internal.expressions.LessThan
@@ -111,8 +114,14 @@ import org.neo4j.cypher.internal.util.symbols.PointType
 import org.neo4j.cypher.internal.util.symbols.StringType
 import org.neo4j.internal.helpers.MathUtil.Erf.erf
 import org.neo4j.internal.schema.constraints.SchemaValueType
+import org.neo4j.values.storable.NumberValue
+import org.neo4j.values.virtual.MapValue
 
-case class ExpressionSelectivityCalculator(stats: GraphStatistics, combiner: SelectivityCombiner) {
+case class ExpressionSelectivityCalculator(
+  stats: GraphStatistics,
+  combiner: SelectivityCombiner,
+  autoExtractedParameterValues: MapValue = MapValue.EMPTY
+) {
 
   /**
    * Index type priority to be used to calculate selectivities of exists predicates, given that a substring predicate is used.
@@ -572,7 +581,8 @@ case class ExpressionSelectivityCalculator(stats: GraphStatistics, combiner: Sel
           propertyExistsSelectivity <- stats.indexPropertyIsNotNullSelectivity(descriptor)
           propEqValueSelectivity <- stats.uniqueValueSelectivity(descriptor)
         } yield {
-          val pRangeBounded: Selectivity = getPropertyPredicateRangeSelectivity(seekable, propEqValueSelectivity)
+          val pRangeBounded: Selectivity = histogramRangeSelectivity(seekable, descriptor)
+            .getOrElse(getPropertyPredicateRangeSelectivity(seekable, propEqValueSelectivity))
           pRangeBounded * propertyExistsSelectivity
         }
         selectivities.headOption
@@ -583,6 +593,52 @@ case class ExpressionSelectivityCalculator(stats: GraphStatistics, combiner: Sel
     combiner.orTogetherSelectivities(indexRangeSelectivities).getOrElse(default)
   }
 
+  /**
+   * Estimates the seekable predicate's selectivity assuming existence of the predicate's property,
+   * from the value histogram of the index. Only possible if all bounds are numeric literals.
+   *
+   * Literals which have been auto-extracted into parameters are looked up in the values they were extracted with.
+   * The resulting plan is cached and reused for other values of the same literals, just like it is for other estimates
+   * based on the first planned query. Explicit parameters have no value at planning time and never use the histogram.
+   */
+  private def histogramRangeSelectivity(
+    seekable: InequalityRangeSeekable,
+    descriptor: IndexDescriptor
+  ): Option[Selectivity] = {
+    val bounds = seekable.expr.inequalities.toIndexedSeq.map(inequality =>
+      numericLiteralValue(inequality.rhs).map(value => (inequality, value))
+    )
+    if (bounds.contains(None)) {
+      None
+    } else {
+      val lowerBounds = bounds.flatten.collect {
+        case (GreaterThan(_, _), value)        => (value, false)
+        case (GreaterThanOrEqual(_, _), value) => (value, true)
+      }
+      val upperBounds = bounds.flatten.collect {
+        case (LessThan(_, _), value)        => (value, false)
+        case (LessThanOrEqual(_, _), value) => (value, true)
+      }
+      // On equal values the exclusive bound is the tighter one
+      val (from, fromInclusive) = lowerBounds.maxByOption { case (value, inclusive) => (value, !inclusive) }
+        .getOrElse((Double.NegativeInfinity, false))
+      val (to, toInclusive) = upperBounds.minByOption { case (value, inclusive) => (value, inclusive) }
+        .getOrElse((Double.PositiveInfinity, false))
+      stats.indexRangeSelectivity(descriptor, from, fromInclusive, to, toInclusive)
+    }
+  }
+
+  private def numericLiteralValue(expression: Expression): Option[Double] = expression match {
+    case literal: IntegerLiteral => Some(literal.value.doubleValue())
+    case literal: DoubleLiteral  => Some(literal.value.doubleValue())
+    case parameter: AutoExtractedParameter =>
+      autoExtractedParameterValues.get(parameter.name) match {
+        case number: NumberValue => Some(number.doubleValue())
+        case _                   => None
+      }
+    case _ => None
+  }
+
   private def calculateSelectivityForPointDistanceSeekable(
     seekable: PointDistanceSeekable,
     labelInfo: LabelInfo,
@@ -33,6 +33,7 @@ import org.neo4j.cypher.internal.ir.Selections
 import org.neo4j.cypher.internal.planner.spi.GraphStatistics
 import org.neo4j.cypher.internal.util.Selectivity
 import org.neo4j.internal.schema.constraints.SchemaValueType
+import org.neo4j.values.virtual.MapValue
 
 /**
  * Test that CompositeExpressionSelectivityCalculator returns the same results as ExpressionSelectivityCalculator for single expressions.
@@ -46,10 +47,11 @@ abstract class CompositeExpressionSelectivityCalculatorWithSingleExpressionsTest
     stats: GraphStatistics,
     semanticTable: SemanticTable,
     existenceConstraints: Set[(ElementTypeName, String)],
-    typeConstraints: Map[ElementTypeName, Map[String, Seq[SchemaValueType]]]
+    typeConstraints: Map[ElementTypeName, Map[String, Seq[SchemaValueType]]],
+    autoExtractedParameterValues: MapValue
   ): Expression => Selectivity = {
     val planContext = mockPlanContext(stats, existenceConstraints, typeConstraints)
-    val compositeCalculator = CompositeExpressionSelectivityCalculator(planContext)
+    val compositeCalculator = CompositeExpressionSelectivityCalculator(planContext, autoExtractedParameterValues)
     val cardinalityModel: CardinalityModel = SimpleMetricsFactory.newCardinalityEstimator(
       SimpleMetricsFactory.newQueryGraphCardinalityModel(
         planContext,
@@ -87,6 +87,9 @@ import org.neo4j.cypher.internal.util.symbols.CTString
 import org.neo4j.cypher.internal.util.symbols.CTStringNotNull
 import org.neo4j.cypher.internal.util.test_helpers.CypherFunSuite
 import org.neo4j.internal.schema.constraints.SchemaValueType
+import org.neo4j.values.storable.Values
+import org.neo4j.values.virtual.MapValue
+import org.neo4j.values.virtual.VirtualValues
 
 abstract class ExpressionSelectivityCalculatorTest extends CypherFunSuite with AstConstructionTestSupport {
 
@@ -2196,15 +2199,16 @@ abstract class ExpressionSelectivityCalculatorTest extends CypherFunSuite with A
     stats: GraphStatistics = mockStats(),
     semanticTable: SemanticTable = setupSemanticTable(),
     existenceConstraints: Set[(ElementTypeName, String)] = Set.empty,
-    typeConstraints: Map[ElementTypeName, Map[String, Seq[SchemaValueType]]] = Map.empty
+    typeConstraints: Map[ElementTypeName, Map[String, Seq[SchemaValueType]]] = Map.empty,
+    autoExtractedParameterValues: MapValue = MapValue.EMPTY
   ): Expression => Selectivity = {
     implicit val sT: SemanticTable = semanticTable
     implicit val indexCPPC: IndexCompatiblePredicatesProviderContext = IndexCompatiblePredicatesProviderContext.default
 
     val combiner = IndependenceCombiner
     val planContext = mockPlanContext(stats, existenceConstraints, typeConstraints)
-    val calculator = ExpressionSelectivityCalculator(planContext.statistics, combiner)
-    val compositeCalculator = CompositeExpressionSelectivityCalculator(planContext)
+    val calculator = ExpressionSelectivityCalculator(planContext.statistics, combiner, autoExtractedParameterValues)
+    val compositeCalculator = CompositeExpressionSelectivityCalculator(planContext, autoExtractedParameterValues)
     implicit val cardinalityModel: CardinalityModel = SimpleMetricsFactory.newCardinalityEstimator(
       SimpleMetricsFactory.newQueryGraphCardinalityModel(planContext, compositeCalculator),
       compositeCalculator,
@@ -2426,6 +2430,115 @@ class RangeExpressionSelectivityCalculatorTest extends ExpressionSelectivityCalc
     }
   }
 
+  test("closed (> && <) range with one label and numeric literal bounds should use the index value histogram") {
+    val inequality = nPredicate(nAnded(NonEmptyList(
+      greaterThan(nProp, literalInt(3)),
+      lessThan(nProp, literalInt(7))
+    )))
+
+    val calculator = setUpCalculator(labelInfo = nIsPersonLabelInfo, stats = histogramStats(Selectivity(0.05)))
+
+    calculator(inequality.expr).factor should equal(personPropIsNotNullSel * 0.05 +- 0.00000001)
+  }
+
+  test("half-open (>=) range with one label and numeric literal bound should pass the bounds to the histogram") {
+    val inequality = nPredicate(nAnded(NonEmptyList(
+      greaterThanOrEqual(nProp, literalInt(3))
+    )))
+    var requestedRange: Option[(Double, Boolean, Double, Boolean)] = None
+    val stats = new mockStats() {
+      override def indexRangeSelectivity(
+        index: IndexDescriptor,
+        from: Double,
+        fromInclusive: Boolean,
+        to: Double,
+        toInclusive: Boolean
+      ): Option[Selectivity] = {
+        requestedRange = Some((from, fromInclusive, to, toInclusive))
+        Some(Selectivity(0.3))
+      }
+    }
+
+    val calculator = setUpCalculator(labelInfo = nIsPersonLabelInfo, stats = stats)
+
+    calculator(inequality.expr).factor should equal(personPropIsNotNullSel * 0.3 +- 0.00000001)
+    requestedRange should equal(Some((3.0, true, Double.PositiveInfinity, false)))
+  }
+
+  test("half-open (>) range with one label and auto-extracted parameter bound should use the extracted value") {
+    val param = AutoExtractedParameter("AUTOINT0", CTInteger)(pos)
+    val inequality = nPredicate(nAnded(NonEmptyList(
+      greaterThan(nProp, param)
+    )))
+    var requestedRange: Option[(Double, Boolean, Double, Boolean)] = None
+    val stats = new mockStats() {
+      override def indexRangeSelectivity(
+        index: IndexDescriptor,
+        from: Double,
+        fromInclusive: Boolean,
+        to: Double,
+        toInclusive: Boolean
+      ): Option[Selectivity] = {
+        requestedRange = Some((from, fromInclusive, to, toInclusive))
+        Some(Selectivity(0.3))
+      }
+    }
+
+    val calculator = setUpCalculator(
+      labelInfo = nIsPersonLabelInfo,
+      stats = stats,
+      semanticTable = setupSemanticTable().addTypeInfo(param, CTInteger),
+      autoExtractedParameterValues = VirtualValues.map(Array("AUTOINT0"), Array(Values.longValue(3)))
+    )
+
+    calculator(inequality.expr).factor should equal(personPropIsNotNullSel * 0.3 +- 0.00000001)
+    requestedRange should equal(Some((3.0, false, Double.PositiveInfinity, false)))
+  }
+
+  test("half-open (>) range with one label and auto-extracted parameter bound without value should use defaults") {
+    val param = AutoExtractedParameter("AUTOINT0", CTInteger)(pos)
+    val inequality = nPredicate(nAnded(NonEmptyList(
+      greaterThan(nProp, param)
+    )))
+
+    val calculator = setUpCalculator(
+      labelInfo = nIsPersonLabelInfo,
+      stats = histogramStats(Selectivity(0.05)),
+      semanticTable = setupSemanticTable().addTypeInfo(param, CTInteger)
+    )
+
+    calculator(inequality.expr).factor should equal(
+      personPropIsNotNullSel
+        * (1 - indexPersonUniqueSel) // Selectivity for != x
+        * DEFAULT_RANGE_SEEK_FACTOR // Selectivity for range
+        +- 0.00000001
+    )
+  }
+
+  test("closed (> && <) range with one label should fall back to the defaults without a histogram") {
+    val inequality = nPredicate(nAnded(NonEmptyList(
+      greaterThan(nProp, literalInt(3)),
+      lessThan(nProp, literalInt(4))
+    )))
+
+    val withoutHistogram = setUpCalculator(labelInfo = nIsPersonLabelInfo)
+    val withEmptyHistogram = setUpCalculator(labelInfo = nIsPersonLabelInfo, stats = histogramStats(None))
+
+    withEmptyHistogram(inequality.expr) should equal(withoutHistogram(inequality.expr))
+  }
+
+  private def histogramStats(selectivity: Selectivity): GraphStatistics = histogramStats(Some(selectivity))
+
+  private def histogramStats(selectivity: Option[Selectivity]): GraphStatistics = new mockStats() {
+    override def indexRangeSelectivity(
+      index: IndexDescriptor,
+      from: Double,
+      fromInclusive: Boolean,
+      to: Double,
+      toInclusive: Boolean
+    ): Option[Selectivity] = selectivity
+  }
+
   test("subqueryCardinalityToExistsSelectivity should not return 0") {
     subqueryCardinalityToExistsSelectivity(Cardinality(0d)).factor should be > 0d
   }
@@ -40,6 +40,7 @@ import org.neo4j.cypher.internal.config.CypherConfiguration;
 import org.neo4j.cypher.internal.config.ObservableSetting;
 import org.neo4j.cypher.internal.runtime.CypherRuntimeConfiguration;
 import org.neo4j.function.Observable;
+import org.neo4j.io.fs.FileSystemAbstraction;
 import org.neo4j.kernel.impl.query.Neo4jTransactionalContextFactory;
 import org.neo4j.kernel.impl.query.QueryCacheStatistics;
 import org.neo4j.kernel.impl.query.QueryEngineProvider;
@@ -100,6 +101,16 @@ public class CommunityCypherEngineProvider extends QueryEngineProvider {
         QueryCacheStatistics cacheStatistics = queryCaches.statistics();
         if (!isSystemDatabase) {
             deps.satisfyDependency(cacheStatistics);
+            if (spi.config().get(GraphDatabaseInternalSettings.cypher_query_cache_persistence_enabled)) {
+                spi.lifeSupport()
+                        .add(new QueryCacheWarmup(
+                                graphAPI,
+                                queryCaches,
+                                deps.resolveDependency(FileSystemAbstraction.class),
+                                spi.jobScheduler(),
+                                spi.config().get(GraphDatabaseInternalSettings.cypher_query_cache_persistence_interval),
+                                spi.logProvider()));
+            }
         }
 
         if (isSystemDatabase) {
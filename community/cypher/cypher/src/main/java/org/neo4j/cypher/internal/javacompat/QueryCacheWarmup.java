@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.javacompat;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.neo4j.scheduler.JobMonitoringParams.systemJob;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.neo4j.cypher.internal.cache.CypherQueryCaches;
+import org.neo4j.cypher.internal.cache.PersistentQueryCache;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.kernel.internal.GraphDatabaseAPI;
+import org.neo4j.kernel.lifecycle.LifecycleAdapter;
+import org.neo4j.logging.InternalLog;
+import org.neo4j.logging.InternalLogProvider;
+import org.neo4j.scheduler.Group;
+import org.neo4j.scheduler.JobHandle;
+import org.neo4j.scheduler.JobScheduler;
+import scala.jdk.javaapi.CollectionConverters;
+
+/**
+ * Persists the queries in the executable query cache of a database, and replans them in the background when the
+ * database starts, so that a restarted database does not have to plan all its queries while it is serving them.
+ * <p>
+ * Queries are replanned with EXPLAIN, which puts them into the query caches without executing them. The number of
+ * queries that are replanned at the same time is limited by the parallelism of {@link Group#CYPHER_CACHE_WARMUP}.
+ */
+public class QueryCacheWarmup extends LifecycleAdapter {
+    private static final String FILE_NAME = "query-cache";
+    private static final long AVAILABILITY_TIMEOUT_MILLIS = Duration.ofMinutes(1).toMillis();
+
+    private final GraphDatabaseAPI database;
+    private final CypherQueryCaches queryCaches;
+    private final FileSystemAbstraction fs;
+    private final JobScheduler jobScheduler;
+    private final Duration persistenceInterval;
+    private final InternalLog log;
+    private final Path file;
+    private final List<JobHandle<?>> warmupJobs = new CopyOnWriteArrayList<>();
+    private JobHandle<?> persistenceJob;
+
+    public QueryCacheWarmup(
+            GraphDatabaseAPI database,
+            CypherQueryCaches queryCaches,
+            FileSystemAbstraction fs,
+            JobScheduler jobScheduler,
+            Duration persistenceInterval,
+            InternalLogProvider logProvider) {
+        this.database = database;
+        this.queryCaches = queryCaches;
+        this.fs = fs;
+        this.jobScheduler = jobScheduler;
+        this.persistenceInterval = persistenceInterval;
+        this.log = logProvider.getLog(getClass());
+        var layout = database.databaseLayout();
+        this.file = layout.getNeo4jLayout()
+                .dataDirectory()
+                .resolve("cypher")
+                .resolve(layout.getDatabaseName())
+                .resolve(FILE_NAME);
+    }
+
+    @Override
+    public void start() {
+        List<PersistentQueryCache.Entry> entries = read();
+        if (!entries.isEmpty()) {
+            log.info("Replanning %d persisted queries in the background.", entries.size());
+        }
+        for (PersistentQueryCache.Entry entry : entries) {
+            warmupJobs.add(jobScheduler.schedule(
+                    Group.CYPHER_CACHE_WARMUP,
+                    systemJob(database.databaseName(), "Query plan cache warmup"),
+                    () -> replan(entry)));
+        }
+        long interval = persistenceInterval.toMillis();
+        persistenceJob = jobScheduler.scheduleRecurring(
+                Group.CYPHER_CACHE,
+                systemJob(database.databaseName(), "Query plan cache persistence"),
+                this::persist,
+                interval,
+                interval,
+                MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        if (persistenceJob != null) {
+            persistenceJob.cancel();
+            persistenceJob = null;
+        }
+        warmupJobs.forEach(JobHandle::cancel);
+        warmupJobs.clear();
+        persist();
+    }
+
+    private List<PersistentQueryCache.Entry> read() {
+        try {
+            return CollectionConverters.asJava(PersistentQueryCache.read(fs, file));
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to read the persisted queries of the query cache from " + file + ".", e);
+            return List.of();
+        }
+    }
+
+    private void persist() {
+        try {
+            PersistentQueryCache.write(fs, file, PersistentQueryCache.entries(queryCaches.executableQueryCache()));
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to persist the queries of the query cache to " + file + ".", e);
+        }
+    }
+
+    private void replan(PersistentQueryCache.Entry entry) {
+        if (!database.isAvailable(AVAILABILITY_TIMEOUT_MILLIS)) {
+            return;
+        }
+        Map<String, Object> parameters = new HashMap<>();
+        entry.parameterValues().foreach(parameters::put);
+        try (Transaction tx = database.beginTx()) {
+            tx.execute("EXPLAIN " + entry.query(), parameters).close();
+        } catch (RuntimeException e) {
+            // The schema or procedures might have changed since the query was persisted, don't log the query text
+            // since it might contain sensitive literals
+            log.debug("Failed to replan a persisted query.", e);
+        }
+    }
+}
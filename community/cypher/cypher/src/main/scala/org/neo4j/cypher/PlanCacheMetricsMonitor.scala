@@ -37,6 +37,7 @@ abstract class CacheMetricsMonitor[KEY] extends CacheTracer[KEY] with CacheMetri
   private val discards = new LongAdder
   private val staleEntries = new LongAdder
   private val cacheFlushes = new LongAdder
+  private val coalescedCompilations = new LongAdder
 
   override def cacheHit(key: KEY, metaData: String): Unit = hits.increment()
 
@@ -51,6 +52,8 @@ abstract class CacheMetricsMonitor[KEY] extends CacheTracer[KEY] with CacheMetri
     compiledWithExpressionCodeGen.increment()
   }
 
+  override def computeCoalesced(key: KEY, metaData: String): Unit = coalescedCompilations.increment()
+
   override def cacheStale(key: KEY, secondsSinceCompute: Int, metaData: String, maybeReason: Option[String]): Unit =
     staleEntries.increment()
 
@@ -66,6 +69,7 @@ abstract class CacheMetricsMonitor[KEY] extends CacheTracer[KEY] with CacheMetri
   override def getDiscards: Long = discards.sum()
   override def getStaleEntries: Long = staleEntries.sum()
   override def getCacheFlushes: Long = cacheFlushes.sum()
+  override def getCoalescedCompilations: Long = coalescedCompilations.sum()
 }
 
 class PreParserCacheMetricsMonitor() extends CacheMetricsMonitor[CypherQueryCaches.PreParserCache.Key] {
@@ -94,6 +98,8 @@ class ExecutableQueryCacheMetricsMonitor() extends CacheMetricsMonitor[CypherQue
 
   private val counter = new LongAdder
   private val waitTime = new LongAdder
+  private val staleServed = new LongAdder
+  private val backgroundReplanMillis = new LongAdder
 
   override def cacheStale(
     queryKey: CacheKey[InputQuery.CacheKey],
@@ -106,7 +112,17 @@ class ExecutableQueryCacheMetricsMonitor() extends CacheMetricsMonitor[CypherQue
     waitTime.add(secondsSincePlan)
   }
 
+  override def cacheStaleServed(queryKey: CacheKey[InputQuery.CacheKey], metaData: String): Unit =
+    staleServed.increment()
+
+  override def backgroundCompute(queryKey: CacheKey[InputQuery.CacheKey], metaData: String, millisSpent: Long): Unit =
+    backgroundReplanMillis.add(millisSpent)
+
   def numberOfReplans: Long = counter.sum()
 
   def replanWaitTime: Long = waitTime.sum()
+
+  def numberOfStaleServedExecutions: Long = staleServed.sum()
+
+  def backgroundReplanTime: Long = backgroundReplanMillis.sum()
 }
@@ -42,10 +42,10 @@ case class CommunityRuntimeContext(
   log: InternalLog,
   config: CypherRuntimeConfiguration,
   anonymousVariableNameGenerator: AnonymousVariableNameGenerator,
-  assertOpen: AssertOpen
+  assertOpen: AssertOpen,
+  compileExpressions: Boolean = false
 ) extends RuntimeContext {
 
-  override def compileExpressions: Boolean = false
   override def materializedEntitiesMode: Boolean = false
   override def isCommunity: Boolean = true
 }
@@ -59,10 +59,10 @@ case class CommunityRuntimeContextManager(log: InternalLog, config: CypherRuntim
     procedures: Procedures,
     clock: Clock,
     debugOptions: CypherDebugOptions,
+    compileExpressions: Boolean,
     ignore: Boolean,
-    ignore2: Boolean,
-    ignore3: CypherOperatorEngineOption,
-    ignore4: CypherInterpretedPipesFallbackOption,
+    ignore2: CypherOperatorEngineOption,
+    ignore3: CypherInterpretedPipesFallbackOption,
     anonymousVariableNameGenerator: AnonymousVariableNameGenerator,
     assertOpen: AssertOpen
   ): CommunityRuntimeContext =
@@ -73,7 +73,8 @@ case class CommunityRuntimeContextManager(log: InternalLog, config: CypherRuntim
       log,
       config,
       anonymousVariableNameGenerator,
-      assertOpen
+      assertOpen,
+      compileExpressions
     )
 
   // As we rely completely on transaction bound resources in community,
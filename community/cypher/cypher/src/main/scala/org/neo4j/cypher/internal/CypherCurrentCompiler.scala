@@ -20,14 +20,22 @@
 package org.neo4j.cypher.internal
 
 import org.neo4j.cypher.internal.CypherCurrentCompiler.getTerminationStatus
+import org.neo4j.cypher.internal.CypherCurrentCompiler.isDeterministic
 import org.neo4j.cypher.internal.cache.CypherQueryCaches
 import org.neo4j.cypher.internal.cache.CypherQueryCaches.CachedExecutionPlan
 import org.neo4j.cypher.internal.cache.CypherQueryCaches.ExecutionPlanCacheKey
 import org.neo4j.cypher.internal.compiler.phases.CachableLogicalPlanState
+import org.neo4j.cypher.internal.expressions.FunctionInvocation
+import org.neo4j.cypher.internal.expressions.functions.DeterministicFunction.isFunctionDeterministic
+import org.neo4j.cypher.internal.expressions.functions.Timestamp
 import org.neo4j.cypher.internal.frontend.PlannerName
 import org.neo4j.cypher.internal.frontend.phases.BaseState
 import org.neo4j.cypher.internal.frontend.phases.CompilationPhaseTracer
 import org.neo4j.cypher.internal.frontend.phases.ProcedureDbmsAccess
+import org.neo4j.cypher.internal.frontend.phases.ResolvedFunctionInvocation
+import org.neo4j.cypher.internal.logical.plans.AdministrationCommandLogicalPlan
+import org.neo4j.cypher.internal.logical.plans.CommandLogicalPlan
+import org.neo4j.cypher.internal.logical.plans.LoadCSV
 import org.neo4j.cypher.internal.logical.plans.LogicalPlan
 import org.neo4j.cypher.internal.logical.plans.LogicalPlanToPlanBuilderString
 import org.neo4j.cypher.internal.logical.plans.ProcedureCall
@@ -35,6 +43,7 @@ import org.neo4j.cypher.internal.logical.plans.ProduceResult
 import org.neo4j.cypher.internal.logical.plans.SchemaIndexLookupUsage
 import org.neo4j.cypher.internal.logical.plans.SchemaLabelIndexUsage
 import org.neo4j.cypher.internal.logical.plans.SchemaRelationshipIndexUsage
+import org.neo4j.cypher.internal.logical.plans.SystemProcedureCall
 import org.neo4j.cypher.internal.macros.AssertMacros
 import org.neo4j.cypher.internal.options.CypherExecutionMode
 import org.neo4j.cypher.internal.plandescription.PlanDescriptionBuilder
@@ -176,6 +185,7 @@ case class CypherCurrentCompiler[CONTEXT <: RuntimeContext](
       buildCompilerInfo(logicalPlan, planState.plannerName, cachedExecutionPlan.executionPlan.runtimeName),
       planState.plannerName,
       queryType,
+      isDeterministic(logicalPlan),
       logicalPlanResult.shouldBeCached,
       contextManager.config.enableMonitors,
       logicalPlanResult.queryObfuscator,
@@ -331,6 +341,7 @@ case class CypherCurrentCompiler[CONTEXT <: RuntimeContext](
     override val compilerInfo: CompilerInfo,
     plannerName: PlannerName,
     internalQueryType: InternalQueryType,
+    deterministic: Boolean,
     override val shouldBeCached: Boolean,
     enableMonitors: Boolean,
     override val queryObfuscator: QueryObfuscator,
@@ -499,6 +510,7 @@ case class CypherCurrentCompiler[CONTEXT <: RuntimeContext](
             outerCloseable,
             internalQueryType,
             innerExecutionMode,
+            deterministic,
             planDescriptionBuilder,
             subscriber,
             filteredPlannerNotifications ++ filteredRuntimeNotifications
@@ -551,6 +563,23 @@ case class CypherCurrentCompiler[CONTEXT <: RuntimeContext](
 
 object CypherCurrentCompiler {
 
+  /**
+   * Whether executing the given plan against the same database state is guaranteed to produce the same result.
+   *
+   * Procedures, user-defined functions (including the temporal functions such as `datetime()`), administration and
+   * SHOW commands as well as LOAD CSV may observe state outside of the database and are thus never deterministic.
+   */
+  def isDeterministic(logicalPlan: LogicalPlan): Boolean =
+    !logicalPlan.folder.treeExists {
+      case _: ProcedureCall                    => true
+      case _: SystemProcedureCall              => true
+      case _: CommandLogicalPlan               => true
+      case _: AdministrationCommandLogicalPlan => true
+      case _: LoadCSV                          => true
+      case _: ResolvedFunctionInvocation       => true
+      case f: FunctionInvocation               => f.function == Timestamp || !isFunctionDeterministic(f.function)
+    }
+
   private def getTerminationStatus(error: Throwable): Status = {
     error match {
       case e: HasStatus =>
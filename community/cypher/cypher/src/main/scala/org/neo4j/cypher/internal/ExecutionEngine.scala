@@ -34,11 +34,15 @@ import org.neo4j.cypher.internal.util.InternalNotificationLogger
 import org.neo4j.cypher.internal.util.RecordingNotificationLogger
 import org.neo4j.exceptions.ParameterNotFoundException
 import org.neo4j.internal.kernel.api.security.AccessMode
+import org.neo4j.internal.kernel.api.security.LoginContext
 import org.neo4j.kernel.GraphDatabaseQueryService
+import org.neo4j.kernel.api.KernelTransaction
 import org.neo4j.kernel.api.exceptions.Status
 import org.neo4j.kernel.api.exceptions.Status.HasStatus
 import org.neo4j.kernel.impl.query.FunctionInformation
 import org.neo4j.kernel.impl.query.FunctionInformation.InputInformation
+import org.neo4j.kernel.impl.query.Neo4jTransactionalContextFactory
+import org.neo4j.kernel.impl.query.QueryExecutionConfiguration
 import org.neo4j.kernel.impl.query.QueryExecution
 import org.neo4j.kernel.impl.query.QueryExecutionMonitor
 import org.neo4j.kernel.impl.query.QuerySubscriber
@@ -46,11 +50,15 @@ import org.neo4j.kernel.impl.query.TransactionalContext
 import org.neo4j.kernel.impl.query.TransactionalContext.DatabaseMode
 import org.neo4j.logging.InternalLogProvider
 import org.neo4j.monitoring.Monitors
+import org.neo4j.scheduler.Group
+import org.neo4j.scheduler.JobMonitoringParams.systemJob
+import org.neo4j.scheduler.JobScheduler
 import org.neo4j.values.virtual.MapValue
 
 import java.lang
 import java.time.Clock
 import java.util.Optional
+import java.util.concurrent.RejectedExecutionException
 
 import scala.jdk.CollectionConverters.SeqHasAsJava
 
@@ -78,6 +86,15 @@ abstract class ExecutionEngine(
 
   private val schemaHelper = new SchemaHelper(queryCache, masterCompiler)
 
+  private lazy val backgroundReplanExecutor =
+    queryService.getDependencyResolver.resolveDependency(classOf[JobScheduler]).monitoredJobExecutor(
+      Group.CYPHER_CACHE
+    )
+
+  private lazy val backgroundTransactionalContextFactory = Neo4jTransactionalContextFactory.create(queryService)
+
+  private lazy val log = logProvider.getLog(getClass)
+
   // ACTUAL FUNCTIONALITY
 
   /**
@@ -327,6 +344,8 @@ abstract class ExecutionEngine(
 
     // create transaction and query context
     val tc = context.getOrBeginNewIfClosed()
+    // Background replanning runs as the same user, before the restriction to reads below
+    val loginContext: LoginContext = tc.securityContext
     val compilerAuthorization = tc.restrictCurrentTransaction(tc.securityContext.withMode(AccessMode.Static.READ))
     var forceReplan = false
     var inputQuery = initialInputQuery
@@ -352,7 +371,10 @@ abstract class ExecutionEngine(
           tc,
           compiler,
           inputQuery.options.queryOptions.replan,
-          context.executingQuery().id()
+          context.executingQuery().id(),
+          if (config.replanStaleQueriesInBackground)
+            Some(backgroundCompiler(inputQuery, params, notificationLogger, loginContext))
+          else None
         )
 
         val lockedEntities = schemaHelper.lockEntities(schemaToken, executableQuery, tc)
@@ -372,6 +394,71 @@ abstract class ExecutionEngine(
     throw new IllegalStateException("Could not compile query due to insanely frequent schema changes")
   }
 
+  /*
+   * Compiles a query in a transaction of its own, so that a stale plan of it can be replaced in the background.
+   * The transaction is started with the login context of the transaction that found the plan to be stale.
+   */
+  private def backgroundCompiler(
+    inputQuery: InputQuery,
+    params: MapValue,
+    notificationLogger: InternalNotificationLogger,
+    loginContext: LoginContext
+  ): BackgroundCompiler[ExecutableQuery] = {
+    compilation =>
+      // Notifications from pre-parsing and parsing are only logged once, but must be part of the new plan as well
+      val notifications = notificationLogger.notifications
+      try {
+        backgroundReplanExecutor.execute(
+          systemJob("Query plan background replanning"),
+          () => compileInNewTransaction(inputQuery, params, notifications, loginContext, compilation)
+        )
+        true
+      } catch {
+        case _: RejectedExecutionException => false
+      }
+  }
+
+  private def compileInNewTransaction(
+    inputQuery: InputQuery,
+    params: MapValue,
+    notifications: Set[InternalNotification],
+    loginContext: LoginContext,
+    compilation: CompilerWithExpressionCodeGenOption[ExecutableQuery] => Unit
+  ): Unit = {
+    val queryTracer = tracer.compileQuery(inputQuery.description)
+    try {
+      val tx = queryService.beginTransaction(KernelTransaction.Type.IMPLICIT, loginContext)
+      try {
+        val tc = backgroundTransactionalContextFactory.newContext(
+          tx,
+          inputQuery.description,
+          params,
+          QueryExecutionConfiguration.DEFAULT_CONFIG
+        )
+        try {
+          val compilerAuthorization = tc.restrictCurrentTransaction(tc.securityContext.withMode(AccessMode.Static.READ))
+          try {
+            val notificationLogger = new RecordingNotificationLogger()
+            notifications.foreach(notificationLogger.log)
+            compilation(compilerWithExpressionCodeGenOption(inputQuery, queryTracer, tc, params, notificationLogger))
+          } finally {
+            compilerAuthorization.close()
+          }
+        } finally {
+          tc.close()
+        }
+      } finally {
+        tx.close()
+      }
+    } catch {
+      case e: Exception =>
+        // The stale plan stays cached, and is replanned again the next time it is found to be stale
+        log.warn("Failed to replan a stale query in the background.", e)
+    } finally {
+      queryTracer.close()
+    }
+  }
+
   def clearQueryCaches(): Long =
     List(masterCompiler.clearCaches(), queryCache.clear(), preParser.clearCache()).max
 
@@ -127,7 +127,8 @@ object InterpretedRuntime extends CypherRuntime[RuntimeContext] {
     readOnly: Boolean,
     startsTransactions: Boolean,
     override val metadata: Seq[Argument],
-    warnings: Set[InternalNotification]
+    warnings: Set[InternalNotification],
+    executionResources: Option[ResourceManagerFactory] = None
   ) extends ExecutionPlan {
 
     override def run(
@@ -152,6 +153,8 @@ object InterpretedRuntime extends CypherRuntime[RuntimeContext] {
       builder.build(params, profileInformation, prePopulateResults, input, subscriber, doProfile)
     }
 
+    override def threadSafeExecutionResources(): Option[ResourceManagerFactory] = executionResources
+
     override def notifications: Set[InternalNotification] = warnings
   }
 }
@@ -39,6 +39,13 @@ import org.neo4j.notifications.MissingPropertyNameNotification
 import org.neo4j.notifications.MissingRelTypeNotification
 import org.neo4j.values.virtual.MapValue
 
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.TimeoutException
+
+import scala.jdk.CollectionConverters.ConcurrentMapHasAsScala
 import scala.jdk.CollectionConverters.MapHasAsScala
 
 /**
@@ -75,6 +82,20 @@ trait CompilerWithExpressionCodeGenOption[EXECUTABLE_QUERY] {
   def maybeCompileWithExpressionCodeGen(hitCount: Int): Option[EXECUTABLE_QUERY]
 }
 
+/**
+ * Compiles queries in the background, so that a stale query can be replanned without making its executions wait.
+ */
+trait BackgroundCompiler[EXECUTABLE_QUERY] {
+
+  /**
+   * Schedule a compilation in the background. The compilation is given a compiler that does not use the
+   * transaction of the query that scheduled it.
+   *
+   * @return `false` if the compilation could not be scheduled, in which case it will never run.
+   */
+  def schedule(compilation: CompilerWithExpressionCodeGenOption[EXECUTABLE_QUERY] => Unit): Boolean
+}
+
 sealed trait Staleness
 case object NotStale extends Staleness
 case class Stale(secondsSincePlan: Int, maybeReason: Option[String]) extends Staleness
@@ -133,6 +154,12 @@ class QueryCache[QUERY_KEY <: AnyRef, EXECUTABLE_QUERY <: CacheabilityInfo](
   private val inner: Cache[QUERY_KEY, CachedValue] =
     createInner(cacheFactory, maximumSize, removalListener)
 
+  // Keys of the stale queries that are currently being replanned in the background
+  private val replanningInBackground = ConcurrentHashMap.newKeySet[QUERY_KEY]()
+
+  // Compilations that are in progress, so that concurrent compilations of the same key can wait for them instead
+  private val compilationsInFlight = new ConcurrentHashMap[QUERY_KEY, Compilation]()
+
   protected def createInner(
     innerFactory: CaffeineCacheFactory,
     size: CacheSize,
@@ -143,6 +170,12 @@ class QueryCache[QUERY_KEY <: AnyRef, EXECUTABLE_QUERY <: CacheabilityInfo](
 
   def estimatedSize(): Long = inner.estimatedSize()
 
+  /**
+   * The cached queries and their keys, together with the number of times each of them has been fetched from the cache.
+   */
+  def cachedEntries(): Seq[(QUERY_KEY, EXECUTABLE_QUERY, Int)] =
+    inner.asMap().asScala.iterator.map { case (key, value) => (key, value.value, value.numberOfHits) }.toSeq
+
   /*
    * The cached value wraps the value and maintains a count of how many times it has been fetched from the cache
    * and whether or not it has been recompiled with expression code generation.
@@ -182,6 +215,8 @@ class QueryCache[QUERY_KEY <: AnyRef, EXECUTABLE_QUERY <: CacheabilityInfo](
    * @param tc       TransactionalContext in which to compile and compute staleness
    * @param compiler Compiler
    * @param metaData String which will be passed to the CacheTracer
+   * @param backgroundCompiler if given, a stale execution plan is returned while the query is replanned in the
+   *                           background, instead of replanning it before returning
    * @return A CacheLookup with an CachedExecutionPlan
    */
   def computeIfAbsentOrStale(
@@ -189,7 +224,8 @@ class QueryCache[QUERY_KEY <: AnyRef, EXECUTABLE_QUERY <: CacheabilityInfo](
     tc: TransactionalContext,
     compiler: CompilerWithExpressionCodeGenOption[EXECUTABLE_QUERY],
     replanStrategy: CypherReplanOption,
-    metaData: String = ""
+    metaData: String = "",
+    backgroundCompiler: Option[BackgroundCompiler[EXECUTABLE_QUERY]] = None
   ): EXECUTABLE_QUERY = {
     lazy val executingQuery = tc.executingQuery()
     if (maximumSize.currentValue == 0) {
@@ -202,7 +238,9 @@ class QueryCache[QUERY_KEY <: AnyRef, EXECUTABLE_QUERY <: CacheabilityInfo](
           if (replanStrategy == CypherReplanOption.force)
             compileWithExpressionCodeGenAndCache(executingQuery, queryKey, compiler, metaData)
           else
-            compileAndCache(executingQuery, queryKey, compiler, metaData)
+            coalescing(tc, executingQuery, queryKey, metaData, hitCache = false) {
+              compileAndCache(executingQuery, queryKey, compiler, metaData)
+            }
 
         case cachedValue =>
           // mark as seen from cache
@@ -222,16 +260,159 @@ class QueryCache[QUERY_KEY <: AnyRef, EXECUTABLE_QUERY <: CacheabilityInfo](
                     recompileOrGet(executingQuery, cachedValue, compiler, queryKey, metaData)
                   }
                 case Stale(secondsSincePlan, maybeReason) =>
-                  tracer.cacheStale(queryKey, secondsSincePlan, metaData, maybeReason)
-                  if (cachedValue.recompiledWithExpressionCodeGen)
-                    compileWithExpressionCodeGenAndCache(executingQuery, queryKey, compiler, metaData, hitCache = true)
-                  else compileAndCache(executingQuery, queryKey, compiler, metaData, hitCache = true)
+                  if (
+                    backgroundCompiler.exists(
+                      replanInBackground(queryKey, cachedValue, _, secondsSincePlan, maybeReason, metaData)
+                    )
+                  ) {
+                    tracer.cacheStaleServed(queryKey, metaData)
+                    hit(executingQuery, queryKey, cachedValue, metaData)
+                  } else {
+                    tracer.cacheStale(queryKey, secondsSincePlan, metaData, maybeReason)
+                    coalescing(tc, executingQuery, queryKey, metaData, hitCache = true) {
+                      if (cachedValue.recompiledWithExpressionCodeGen)
+                        compileWithExpressionCodeGenAndCache(
+                          executingQuery,
+                          queryKey,
+                          compiler,
+                          metaData,
+                          hitCache = true
+                        )
+                      else compileAndCache(executingQuery, queryKey, compiler, metaData, hitCache = true)
+                    }
+                  }
               }
           }
       }
     }
   }
 
+  /**
+   * Compile and cache a query, unless another thread is already compiling the same key. In that case, wait for that
+   * compilation and use its result instead, so that a burst of identical queries is only compiled once. If the other
+   * compilation fails, or its result must not be cached, the query is compiled by this thread after all.
+   */
+  private def coalescing(
+    tc: TransactionalContext,
+    executingQuery: ExecutingQuery,
+    queryKey: QUERY_KEY,
+    metaData: String,
+    hitCache: Boolean
+  )(compileAndCache: => EXECUTABLE_QUERY): EXECUTABLE_QUERY = {
+    val compilation = new Compilation
+    val ongoing = compilationsInFlight.putIfAbsent(queryKey, compilation)
+    if (ongoing == null) {
+      try {
+        val result = compileAndCache
+        compilation.complete(result)
+        result
+      } catch {
+        case t: Throwable =>
+          compilation.completeExceptionally(t)
+          throw t
+      } finally {
+        compilationsInFlight.remove(queryKey, compilation)
+      }
+    } else {
+      awaitCompilation(ongoing, tc) match {
+        case Some(result) =>
+          tracer.computeCoalesced(queryKey, metaData)
+          if (hitCache) {
+            tracer.cacheHit(queryKey, metaData)
+            executingQueryTracer.cacheHit(executingQuery)
+            result
+          } else {
+            miss(executingQuery, queryKey, result, metaData)
+          }
+        case None =>
+          compileAndCache
+      }
+    }
+  }
+
+  /**
+   * Wait for a compilation by another thread. The wait is done in slices, so that a transaction that is terminated
+   * while it waits fails as soon as possible, instead of only when the compilation it waits for is done.
+   */
+  private def awaitCompilation(compilation: Compilation, tc: TransactionalContext): Option[EXECUTABLE_QUERY] = {
+    // A compilation that needs the query it is compiling must not wait for itself
+    if (compilation.compilingThread eq Thread.currentThread()) {
+      None
+    } else {
+      try {
+        var result: Option[EXECUTABLE_QUERY] = None
+        while (result.isEmpty) {
+          try {
+            result = Some(compilation.get(QueryCache.COMPILATION_WAIT_SLICE_MILLIS, TimeUnit.MILLISECONDS))
+          } catch {
+            case _: TimeoutException =>
+              tc.kernelTransaction().assertOpen()
+          }
+        }
+        result.filter(_.shouldBeCached)
+      } catch {
+        case _: ExecutionException =>
+          None
+        case _: InterruptedException =>
+          Thread.currentThread().interrupt()
+          None
+      }
+    }
+  }
+
+  private class Compilation extends CompletableFuture[EXECUTABLE_QUERY] {
+    val compilingThread: Thread = Thread.currentThread()
+  }
+
+  /**
+   * Replan a stale query in the background, unless that is already happening, while the stale plan keeps being used.
+   * The new plan only replaces the stale plan if that is still cached, so that a plan which was cached in the meantime
+   * is not overwritten.
+   *
+   * @return `true` if the query is being replanned in the background
+   */
+  private def replanInBackground(
+    queryKey: QUERY_KEY,
+    staleValue: CachedValue,
+    backgroundCompiler: BackgroundCompiler[EXECUTABLE_QUERY],
+    secondsSincePlan: Int,
+    maybeReason: Option[String],
+    metaData: String
+  ): Boolean = {
+    if (!replanningInBackground.add(queryKey)) {
+      true
+    } else {
+      val scheduled = backgroundCompiler.schedule { compiler =>
+        try {
+          val start = System.nanoTime()
+          val replanned =
+            if (staleValue.recompiledWithExpressionCodeGen) compiler.compileWithExpressionCodeGen()
+            else compiler.compile()
+          if (replanned.shouldBeCached) {
+            inner.asMap().replace(
+              queryKey,
+              staleValue,
+              new CachedValue(replanned, staleValue.recompiledWithExpressionCodeGen)
+            )
+          } else {
+            inner.asMap().remove(queryKey, staleValue)
+          }
+          if (staleValue.recompiledWithExpressionCodeGen) tracer.computeWithExpressionCodeGen(queryKey, metaData)
+          else tracer.compute(queryKey, metaData)
+          tracer.backgroundCompute(queryKey, metaData, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start))
+        } finally {
+          replanningInBackground.remove(queryKey)
+        }
+      }
+      if (scheduled) {
+        tracer.cacheStale(queryKey, secondsSincePlan, metaData, maybeReason)
+      } else {
+        replanningInBackground.remove(queryKey)
+      }
+      scheduled
+    }
+  }
+
   /**
    * Check if certain warnings are not valid anymore.
    */
@@ -395,6 +576,12 @@ object QueryCache {
 
   val NOT_PRESENT: ExecutableQuery = null
 
+  /**
+   * How long to wait for a compilation by another thread before checking whether the waiting transaction has been
+   * terminated.
+   */
+  val COMPILATION_WAIT_SLICE_MILLIS = 100L
+
   /**
     * Representation of the query parameter types for a query invocation.
     *
@@ -428,6 +615,8 @@ object QueryCache {
       }
     }
 
+    def toMap: Map[String, ParameterTypeInfo] = resultMap.asScala.toMap
+
     // Implemented to simplify testing
     override def toString: String = resultMap.asScala.toString
   }
@@ -28,6 +28,7 @@ import org.neo4j.cypher.internal.physicalplanning.PhysicalPlanner
 import org.neo4j.cypher.internal.plandescription.Argument
 import org.neo4j.cypher.internal.runtime.QueryIndexRegistrator
 import org.neo4j.cypher.internal.runtime.SelectivityTrackerRegistrator
+import org.neo4j.cypher.internal.runtime.ThreadSafeResourceManager
 import org.neo4j.cypher.internal.runtime.interpreted.InterpretedPipeMapper
 import org.neo4j.cypher.internal.runtime.interpreted.commands.convert.CommunityExpressionConverter
 import org.neo4j.cypher.internal.runtime.interpreted.commands.convert.ExpressionConverter
@@ -37,6 +38,7 @@ import org.neo4j.cypher.internal.runtime.interpreted.pipes.PipeTreeBuilder
 import org.neo4j.cypher.internal.runtime.slotted.SlottedExecutionResultBuilderFactory
 import org.neo4j.cypher.internal.runtime.slotted.SlottedPipeMapper
 import org.neo4j.cypher.internal.runtime.slotted.SlottedPipelineBreakingPolicy
+import org.neo4j.cypher.internal.runtime.slotted.expressions.CompiledExpressionConverter
 import org.neo4j.cypher.internal.runtime.slotted.expressions.MaterializedEntitiesExpressionConverter
 import org.neo4j.cypher.internal.runtime.slotted.expressions.SlottedExpressionConverters
 import org.neo4j.cypher.internal.util.CypherException
@@ -68,7 +70,7 @@ trait SlottedRuntime[-CONTEXT <: RuntimeContext] extends CypherRuntime[CONTEXT]
     query: LogicalQuery,
     selectivityTrackerRegistrator: SelectivityTrackerRegistrator
   ): (Option[ExpressionConverter], List[ExpressionConverter], () => Seq[Argument], () => Set[InternalNotification]) = {
-    (None, baseConverters, NO_METADATA, NO_WARNINGS)
+    (Some(CompiledExpressionConverter(baseConverters)), baseConverters, NO_METADATA, NO_WARNINGS)
   }
 
   @throws[CantCompileQueryException]
@@ -129,7 +131,11 @@ trait SlottedRuntime[-CONTEXT <: RuntimeContext] extends CypherRuntime[CONTEXT]
         converters,
         physicalPlan,
         query.readOnly,
-        queryIndexRegistrator
+        queryIndexRegistrator,
+        context.config.slottedParallelWorkers,
+        context.config.slottedBatchSize,
+        context.config.slottedSpillThreshold,
+        query.leveragedOrders
       )(query.semanticTable)
       val pipeTreeBuilder = PipeTreeBuilder(pipeBuilder)
       val logicalPlanWithConvertedNestedPlans = NestedPipeExpressions.build(
@@ -171,7 +177,9 @@ trait SlottedRuntime[-CONTEXT <: RuntimeContext] extends CypherRuntime[CONTEXT]
         query.readOnly,
         startsTransactions,
         metadataGen(),
-        warningsGen()
+        warningsGen(),
+        // Pipes executing in parallel create query contexts for their workers, which trace their resources concurrently
+        if (pipeBuilder.hasParallelPipes) Some[ResourceManagerFactory](new ThreadSafeResourceManager(_)) else None
       )
     } catch {
       case e: CypherException =>
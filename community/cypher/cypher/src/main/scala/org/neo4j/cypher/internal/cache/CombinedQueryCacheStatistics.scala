@@ -44,6 +44,11 @@ class CombinedQueryCacheStatistics(a: QueryCacheStatistics, b: QueryCacheStatist
 
   override def replanWaitTime(): lang.Long = a.replanWaitTime() + b.replanWaitTime()
 
+  override def numberOfStaleServedExecutions(): lang.Long =
+    a.numberOfStaleServedExecutions() + b.numberOfStaleServedExecutions()
+
+  override def backgroundReplanTime(): lang.Long = a.backgroundReplanTime() + b.backgroundReplanTime()
+
   override def metricsPerCacheKind(): java.util.Map[String, CacheMetrics] = {
     val aMap = Map.from(a.metricsPerCacheKind().asScala)
     val bMap = Map.from(b.metricsPerCacheKind().asScala)
@@ -71,6 +76,8 @@ class CombinedCacheMetrics(a: CacheMetrics, b: CacheMetrics) extends CacheMetric
   override def getStaleEntries: Long = a.getStaleEntries + b.getStaleEntries
 
   override def getCacheFlushes: Long = a.getCacheFlushes + b.getCacheFlushes
+
+  override def getCoalescedCompilations: Long = a.getCoalescedCompilations + b.getCoalescedCompilations
 }
 
 class CombinedCacheTracer[T](a: CacheTracer[T], b: CacheTracer[T]) extends CacheTracer[T] {
@@ -100,11 +107,26 @@ class CombinedCacheTracer[T](a: CacheTracer[T], b: CacheTracer[T]) extends Cache
     b.computeWithExpressionCodeGen(key, metaData)
   }
 
+  override def computeCoalesced(key: T, metaData: String): Unit = {
+    a.computeCoalesced(key, metaData)
+    b.computeCoalesced(key, metaData)
+  }
+
   override def cacheStale(key: T, secondsSinceCompute: Int, metaData: String, maybeReason: Option[String]): Unit = {
     a.cacheStale(key, secondsSinceCompute, metaData, maybeReason)
     b.cacheStale(key, secondsSinceCompute, metaData, maybeReason)
   }
 
+  override def cacheStaleServed(key: T, metaData: String): Unit = {
+    a.cacheStaleServed(key, metaData)
+    b.cacheStaleServed(key, metaData)
+  }
+
+  override def backgroundCompute(key: T, metaData: String, millisSpent: Long): Unit = {
+    a.backgroundCompute(key, metaData, millisSpent)
+    b.backgroundCompute(key, metaData, millisSpent)
+  }
+
   override def cacheFlush(sizeOfCacheBeforeFlush: Long): Unit = {
     a.cacheFlush(sizeOfCacheBeforeFlush)
     b.cacheFlush(sizeOfCacheBeforeFlush)
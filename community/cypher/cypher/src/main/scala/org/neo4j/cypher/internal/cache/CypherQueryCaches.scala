@@ -623,6 +623,12 @@ class CypherQueryCaches(
     override def replanWaitTime(): lang.Long =
       cacheTracers.executablePlan.replanWaitTime
 
+    override def numberOfStaleServedExecutions(): lang.Long =
+      cacheTracers.executablePlan.numberOfStaleServedExecutions
+
+    override def backgroundReplanTime(): lang.Long =
+      cacheTracers.executablePlan.backgroundReplanTime
+
     override def metricsPerCacheKind(): java.util.Map[String, CacheMetrics] = {
       (cacheTracers.perCacheKind: Map[String, CacheMetrics]).asJava
     }
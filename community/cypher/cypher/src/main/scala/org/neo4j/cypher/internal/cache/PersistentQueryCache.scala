@@ -0,0 +1,320 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.cache
+
+import org.neo4j.cypher.internal.ExecutableQuery
+import org.neo4j.cypher.internal.QueryCache.CacheKey
+import org.neo4j.cypher.internal.QueryCache.ParameterTypeMap
+import org.neo4j.cypher.internal.cache.CypherQueryCaches.ExecutableQueryCache
+import org.neo4j.cypher.internal.util.symbols.CTAny
+import org.neo4j.cypher.internal.util.symbols.CTBoolean
+import org.neo4j.cypher.internal.util.symbols.CTDate
+import org.neo4j.cypher.internal.util.symbols.CTDateTime
+import org.neo4j.cypher.internal.util.symbols.CTDuration
+import org.neo4j.cypher.internal.util.symbols.CTInteger
+import org.neo4j.cypher.internal.util.symbols.CTList
+import org.neo4j.cypher.internal.util.symbols.CTLocalDateTime
+import org.neo4j.cypher.internal.util.symbols.CTLocalTime
+import org.neo4j.cypher.internal.util.symbols.CTMap
+import org.neo4j.cypher.internal.util.symbols.CTPoint
+import org.neo4j.cypher.internal.util.symbols.CTString
+import org.neo4j.cypher.internal.util.symbols.CTTime
+import org.neo4j.cypher.internal.util.symbols.CypherType
+import org.neo4j.cypher.internal.util.symbols.ListType
+import org.neo4j.io.fs.FileSystemAbstraction
+import org.neo4j.kernel.api.query.QueryObfuscator
+import org.neo4j.values.AnyValue
+import org.neo4j.values.storable.CoordinateReferenceSystem
+import org.neo4j.values.storable.DateTimeValue
+import org.neo4j.values.storable.DateValue
+import org.neo4j.values.storable.DurationValue
+import org.neo4j.values.storable.LocalDateTimeValue
+import org.neo4j.values.storable.LocalTimeValue
+import org.neo4j.values.storable.TimeValue
+import org.neo4j.values.storable.Values
+import org.neo4j.values.virtual.MapValue
+import org.neo4j.values.virtual.MapValueBuilder
+import org.neo4j.values.virtual.VirtualValues
+
+import java.io.ByteArrayInputStream
+import java.io.DataInputStream
+import java.io.DataOutputStream
+import java.io.IOException
+import java.nio.charset.StandardCharsets
+import java.nio.file.Path
+import java.nio.file.StandardCopyOption
+import java.time.Instant
+import java.time.LocalDate
+import java.time.LocalDateTime
+import java.time.LocalTime
+import java.time.OffsetTime
+import java.time.ZoneOffset
+import java.time.ZonedDateTime
+
+import scala.collection.mutable.ArrayBuffer
+
+/**
+ * Persists the queries of an executable query cache, so that they can be replanned when the database starts again.
+ *
+ * Parameter values are never persisted. Instead, the types of the parameters of each cached plan are persisted, from
+ * which representative parameter values are created that make the replanned query end up under the same cache key.
+ *
+ * Queries with literals that the query log obfuscates are not persisted either, since the query text has to be
+ * persisted as it is to end up under the same cache key. These are queries with passwords or arguments of sensitive
+ * procedure parameters, and all queries with literals if `db.logs.query.obfuscate_literals` is enabled.
+ */
+object PersistentQueryCache {
+
+  // Version 1 persisted queries with sensitive literals
+  private val FORMAT_VERSION = 2
+  private val UNKNOWN_SIZE = -1
+
+  // Larger size hints are not persisted, so that replanning never has to create huge parameter values
+  private val MAX_PARAMETER_SIZE = 1_000_000
+  // The smallest number of bytes that an entry and a parameter take up, an empty string being just its length
+  private val MIN_ENTRY_BYTES = Integer.BYTES * 3
+  private val MIN_PARAMETER_BYTES = Integer.BYTES * 2 + 1
+
+  /**
+   * The types that parameters can have in cache keys, see [[org.neo4j.cypher.internal.compiler.helpers.ParameterValueTypeHelper]].
+   * The position of a type is its persisted representation, so types must only be appended to this list.
+   */
+  private val TYPES: IndexedSeq[CypherType] = IndexedSeq(
+    CTAny,
+    CTBoolean,
+    CTInteger,
+    CTPoint,
+    CTDateTime,
+    CTLocalDateTime,
+    CTTime,
+    CTLocalTime,
+    CTDate,
+    CTDuration,
+    CTMap,
+    CTString,
+    CTList(CTString),
+    CTList(CTAny)
+  )
+
+  case class Parameter(name: String, typ: CypherType, size: Option[Int])
+
+  /**
+   * @param query the query, with any pre-parser options, in the form that the pre-parser accepts
+   * @param parameters the parameters of the cached plan
+   * @param hits the number of times the plan has been fetched from the cache
+   */
+  case class Entry(query: String, parameters: Seq[Parameter], hits: Int) {
+
+    /**
+     * Parameter values of the types of the cached plan.
+     */
+    def parameterValues: MapValue = {
+      val builder = new MapValueBuilder(parameters.size)
+      parameters.foreach(p => builder.add(p.name, value(p.typ, p.size)))
+      builder.build()
+    }
+  }
+
+  /**
+   * The entries of the given cache, with the most frequently used queries first. Plans that were cached for
+   * transactions with changes in their transaction state are left out, since they can't be replanned as they were,
+   * and so are queries with sensitive literals.
+   */
+  def entries(cache: ExecutableQueryCache.Cache): Seq[Entry] =
+    cache.cachedEntries()
+      .flatMap {
+        case (CacheKey(query, parameterTypes, false), executableQuery, hits) if !isSensitive(executableQuery) =>
+          parameters(parameterTypes).map(Entry(query.toString, _, hits))
+        case _ => None
+      }
+      .sortBy(-_.hits)
+
+  /**
+   * Whether the query has literals that must not be written to disk, which are the literals that the query log
+   * obfuscates.
+   */
+  def isSensitive(executableQuery: ExecutableQuery): Boolean =
+    executableQuery.queryObfuscator ne QueryObfuscator.PASSTHROUGH
+
+  /**
+   * The parameters of a cache key, if they all have types and sizes that can be persisted.
+   */
+  def parameters(parameterTypes: ParameterTypeMap): Option[Seq[Parameter]] = {
+    val types = parameterTypes.toMap
+    val persistable = types.values.forall(info =>
+      TYPES.contains(info.typ) && info.sizeHint.toOption.forall(_ <= MAX_PARAMETER_SIZE)
+    )
+    if (persistable) {
+      Some(types.toSeq.sortBy(_._1).map {
+        case (name, info) => Parameter(name, info.typ, info.sizeHint.toOption)
+      })
+    } else {
+      None
+    }
+  }
+
+  /**
+   * Writes the entries to the given file. The entries are written to a temporary file first, which then replaces the
+   * given file, so that a crash while writing does not leave a corrupt file behind.
+   */
+  @throws[IOException]
+  def write(fs: FileSystemAbstraction, file: Path, entries: Seq[Entry]): Unit = {
+    fs.mkdirs(file.getParent)
+    val tempFile = file.resolveSibling(file.getFileName.toString + ".tmp")
+    val out = new DataOutputStream(fs.openAsOutputStream(tempFile, false))
+    try {
+      out.writeInt(FORMAT_VERSION)
+      out.writeInt(entries.size)
+      entries.foreach { entry =>
+        writeString(out, entry.query)
+        out.writeInt(entry.hits)
+        out.writeInt(entry.parameters.size)
+        entry.parameters.foreach { parameter =>
+          writeString(out, parameter.name)
+          out.writeByte(TYPES.indexOf(parameter.typ))
+          out.writeInt(parameter.size.getOrElse(UNKNOWN_SIZE))
+        }
+      }
+    } finally {
+      out.close()
+    }
+    fs.renameFile(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE)
+  }
+
+  /**
+   * Reads the entries of the given file, or no entries if there is no such file or it has an unknown format.
+   *
+   * @throws IOException if the file can't be read or is corrupt, in which case none of its entries should be used
+   */
+  @throws[IOException]
+  def read(fs: FileSystemAbstraction, file: Path): Seq[Entry] = {
+    if (!fs.fileExists(file)) {
+      Seq.empty
+    } else {
+      // Read in full, so that every count and length can be checked against the number of bytes left
+      val in = new DataInputStream(new ByteArrayInputStream(readAllBytes(fs, file)))
+      try {
+        if (in.readInt() != FORMAT_VERSION) {
+          Seq.empty
+        } else {
+          val count = readCount(in, MIN_ENTRY_BYTES)
+          val entries = new ArrayBuffer[Entry](count)
+          var i = 0
+          while (i < count) {
+            val query = readString(in)
+            val hits = in.readInt()
+            val parameterCount = readCount(in, MIN_PARAMETER_BYTES)
+            val parameters = new ArrayBuffer[Parameter](parameterCount)
+            var j = 0
+            while (j < parameterCount) {
+              val name = readString(in)
+              val typ = readType(in)
+              val size = readSize(in)
+              parameters += Parameter(name, typ, if (size == UNKNOWN_SIZE) None else Some(size))
+              j += 1
+            }
+            entries += Entry(query, parameters.toSeq, hits)
+            i += 1
+          }
+          entries.toSeq
+        }
+      } finally {
+        in.close()
+      }
+    }
+  }
+
+  private def writeString(out: DataOutputStream, string: String): Unit = {
+    // Not writeUTF, which is limited to 64k bytes
+    val bytes = string.getBytes(StandardCharsets.UTF_8)
+    out.writeInt(bytes.length)
+    out.write(bytes)
+  }
+
+  private def readAllBytes(fs: FileSystemAbstraction, file: Path): Array[Byte] = {
+    val fileSize = fs.getFileSize(file)
+    if (fileSize > Integer.MAX_VALUE - 8) {
+      throw new IOException(s"Persisted query cache of $fileSize bytes is too large.")
+    }
+    val in = fs.openAsInputStream(file)
+    try {
+      in.readAllBytes()
+    } finally {
+      in.close()
+    }
+  }
+
+  private def readString(in: DataInputStream): String = {
+    val bytes = new Array[Byte](readCount(in, 1))
+    in.readFully(bytes)
+    new String(bytes, StandardCharsets.UTF_8)
+  }
+
+  /*
+   * Reads the number of items that follow, which must fit into the rest of the file given the size of an item.
+   */
+  private def readCount(in: DataInputStream, minItemBytes: Int): Int = {
+    val count = in.readInt()
+    if (count < 0 || count.toLong * minItemBytes > in.available()) {
+      throw new IOException(s"Corrupt persisted query cache, $count items of at least $minItemBytes bytes each.")
+    }
+    count
+  }
+
+  private def readType(in: DataInputStream): CypherType = {
+    val index = in.readByte()
+    if (index < 0 || index >= TYPES.size) {
+      throw new IOException(s"Corrupt persisted query cache, unknown parameter type $index.")
+    }
+    TYPES(index)
+  }
+
+  private def readSize(in: DataInputStream): Int = {
+    val size = in.readInt()
+    if (size != UNKNOWN_SIZE && (size < 0 || size > MAX_PARAMETER_SIZE)) {
+      throw new IOException(s"Corrupt persisted query cache, parameter size $size.")
+    }
+    size
+  }
+
+  /*
+   * A value that gets the given type and size from ParameterValueTypeHelper. Sizes in cache keys are rounded up to
+   * a power of ten, so a string or list of exactly that size ends up in the same bucket.
+   */
+  private def value(typ: CypherType, size: Option[Int]): AnyValue = typ match {
+    // Floats are planned as CTAny, see ParameterTypeInfo.FLOAT
+    case CTAny           => Values.doubleValue(0.0)
+    case CTBoolean       => Values.FALSE
+    case CTInteger       => Values.longValue(0L)
+    case CTPoint         => Values.pointValue(CoordinateReferenceSystem.CARTESIAN, 0.0, 0.0)
+    case CTDateTime      => DateTimeValue.datetime(ZonedDateTime.ofInstant(Instant.EPOCH, ZoneOffset.UTC))
+    case CTLocalDateTime => LocalDateTimeValue.localDateTime(LocalDateTime.of(LocalDate.EPOCH, LocalTime.MIDNIGHT))
+    case CTTime          => TimeValue.time(OffsetTime.of(LocalTime.MIDNIGHT, ZoneOffset.UTC))
+    case CTLocalTime     => LocalTimeValue.localTime(LocalTime.MIDNIGHT)
+    case CTDate          => DateValue.date(LocalDate.EPOCH)
+    case CTDuration      => DurationValue.duration(0L, 0L, 0L, 0L)
+    case CTMap           => VirtualValues.EMPTY_MAP
+    case CTString        => Values.stringValue("x".repeat(size.getOrElse(0)))
+    case ListType(CTString, _) =>
+      VirtualValues.list(Seq.fill(size.getOrElse(1))(Values.stringValue("x")): _*)
+    case _ =>
+      VirtualValues.list(Seq.fill(size.getOrElse(0))(Values.longValue(0L)): _*)
+  }
+}
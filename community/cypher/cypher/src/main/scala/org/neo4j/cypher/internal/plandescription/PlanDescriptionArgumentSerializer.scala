@@ -25,8 +25,10 @@ import org.neo4j.cypher.internal.plandescription.Arguments.DbHits
 import org.neo4j.cypher.internal.plandescription.Arguments.Details
 import org.neo4j.cypher.internal.plandescription.Arguments.Distinctness
 import org.neo4j.cypher.internal.plandescription.Arguments.EstimatedRows
+import org.neo4j.cypher.internal.plandescription.Arguments.FrontierNodes
 import org.neo4j.cypher.internal.plandescription.Arguments.GlobalMemory
 import org.neo4j.cypher.internal.plandescription.Arguments.IdArg
+import org.neo4j.cypher.internal.plandescription.Arguments.MaxFrontierSize
 import org.neo4j.cypher.internal.plandescription.Arguments.Memory
 import org.neo4j.cypher.internal.plandescription.Arguments.Order
 import org.neo4j.cypher.internal.plandescription.Arguments.PageCacheHits
@@ -40,6 +42,8 @@ import org.neo4j.cypher.internal.plandescription.Arguments.Runtime
 import org.neo4j.cypher.internal.plandescription.Arguments.RuntimeImpl
 import org.neo4j.cypher.internal.plandescription.Arguments.RuntimeVersion
 import org.neo4j.cypher.internal.plandescription.Arguments.SourceCode
+import org.neo4j.cypher.internal.plandescription.Arguments.SpilledBytes
+import org.neo4j.cypher.internal.plandescription.Arguments.Spills
 import org.neo4j.cypher.internal.plandescription.Arguments.StringRepresentation
 import org.neo4j.cypher.internal.plandescription.Arguments.Time
 import org.neo4j.cypher.internal.plandescription.Arguments.Version
@@ -56,6 +60,10 @@ object PlanDescriptionArgumentSerializer {
       case GlobalMemory(value)                    => Long.box(value)
       case PageCacheHits(value)                   => Long.box(value)
       case PageCacheMisses(value)                 => Long.box(value)
+      case Spills(value)                          => Long.box(value)
+      case SpilledBytes(value)                    => Long.box(value)
+      case FrontierNodes(value)                   => Long.box(value)
+      case MaxFrontierSize(value)                 => Long.box(value)
       case Rows(value)                            => Long.box(value)
       case Time(value)                            => Long.box(value)
       case EstimatedRows(effectiveCardinality, _) => Double.box(effectiveCardinality)
@@ -131,6 +131,10 @@ class PlanDescriptionBuilder(
           .addArgument(Arguments.PageCacheMisses, data.pageCacheMisses)
           .addArgument(Time, data.time())
           .addArgument(Arguments.Memory, data.maxAllocatedMemory())
+          .addArgument(Arguments.Spills, data.spills())
+          .addArgument(Arguments.SpilledBytes, data.spilledBytes())
+          .addArgument(Arguments.FrontierNodes, data.frontierNodes())
+          .addArgument(Arguments.MaxFrontierSize, data.maxFrontierSize())
           .plan
       }
 
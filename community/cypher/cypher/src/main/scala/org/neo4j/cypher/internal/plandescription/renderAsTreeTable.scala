@@ -24,12 +24,16 @@ import org.neo4j.cypher.internal.plandescription.Arguments.DbHits
 import org.neo4j.cypher.internal.plandescription.Arguments.Details
 import org.neo4j.cypher.internal.plandescription.Arguments.Distinctness
 import org.neo4j.cypher.internal.plandescription.Arguments.EstimatedRows
+import org.neo4j.cypher.internal.plandescription.Arguments.FrontierNodes
+import org.neo4j.cypher.internal.plandescription.Arguments.MaxFrontierSize
 import org.neo4j.cypher.internal.plandescription.Arguments.Memory
 import org.neo4j.cypher.internal.plandescription.Arguments.Order
 import org.neo4j.cypher.internal.plandescription.Arguments.PageCacheHits
 import org.neo4j.cypher.internal.plandescription.Arguments.PageCacheMisses
 import org.neo4j.cypher.internal.plandescription.Arguments.PipelineInfo
 import org.neo4j.cypher.internal.plandescription.Arguments.Rows
+import org.neo4j.cypher.internal.plandescription.Arguments.SpilledBytes
+import org.neo4j.cypher.internal.plandescription.Arguments.Spills
 import org.neo4j.cypher.internal.plandescription.Arguments.Time
 import org.neo4j.cypher.internal.plandescription.PlanDescriptionArgumentSerializer.serialize
 import org.neo4j.cypher.internal.plandescription.renderAsTreeTable.splitDetails
@@ -203,13 +207,30 @@ private object Header {
   val HITS = "DB Hits"
   val MEMORY = "Memory (Bytes)"
   val PAGE_CACHE = "Page Cache Hits/Misses"
+  val SPILLS = "Spills/Spilled (Bytes)"
+  val FRONTIERS = "Frontier Nodes/Max"
   val TIME = "Time (ms)"
   val ORDER = "Ordered by"
   val DISTINCTNESS = "Distinctness"
   val PIPELINE = "Pipeline"
 
   val ALL: Seq[String] =
-    Seq(OPERATOR, ID, DETAILS, ESTIMATED_ROWS, ROWS, HITS, MEMORY, PAGE_CACHE, TIME, ORDER, DISTINCTNESS, PIPELINE)
+    Seq(
+      OPERATOR,
+      ID,
+      DETAILS,
+      ESTIMATED_ROWS,
+      ROWS,
+      HITS,
+      MEMORY,
+      PAGE_CACHE,
+      SPILLS,
+      FRONTIERS,
+      TIME,
+      ORDER,
+      DISTINCTNESS,
+      PIPELINE
+    )
 }
 
 /**
@@ -421,6 +442,12 @@ private class TreeTableBuilder private (
       case PageCacheHits(hits) =>
         val misses = plan.arguments.collectFirst { case PageCacheMisses(missCount) => missCount }
         Header.PAGE_CACHE -> Cell.right(s"$hits/${misses.getOrElse(0)}")
+      case Spills(count) =>
+        val bytes = plan.arguments.collectFirst { case SpilledBytes(byteCount) => byteCount }
+        Header.SPILLS -> Cell.right(s"$count/${bytes.getOrElse(0)}")
+      case FrontierNodes(nodes) =>
+        val maxSize = plan.arguments.collectFirst { case MaxFrontierSize(size) => size }
+        Header.FRONTIERS -> Cell.right(s"$nodes/${maxSize.getOrElse(0)}")
       case Time(nanos)          => Header.TIME -> Cell.right("%.3f".format(nanos / 1000000.0))
       case Order(providedOrder) => Header.ORDER -> Cell.left(providedOrder.prettifiedString)
       case Distinctness(distinctness) if withDistinctness =>
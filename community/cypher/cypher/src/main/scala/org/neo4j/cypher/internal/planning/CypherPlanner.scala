@@ -368,8 +368,17 @@ case class CypherPlanner(
       case _                          => None
     }
 
-    // Context used to create logical plans
-    val plannerContext = PlannerContext(
+    val queryGraphSolver = createQueryGraphSolver(
+      plannerConfig,
+      plannerOption,
+      options.queryOptions.connectComponentsPlanner,
+      options.queryOptions.debugOptions.disableExistsSubqueryCaching,
+      monitors
+    )
+
+    // Context used to create logical plans. Cardinality estimation may look at the values of auto-extracted literals,
+    // which are only known once the query has been normalized.
+    def newPlannerContext(autoExtractedParameterValues: MapValue) = PlannerContext(
       tracer,
       notificationLogger,
       planContext,
@@ -379,13 +388,7 @@ case class CypherPlanner(
       Some(options.offset),
       monitors,
       CachedSimpleMetricsFactory,
-      createQueryGraphSolver(
-        plannerConfig,
-        plannerOption,
-        options.queryOptions.connectComponentsPlanner,
-        options.queryOptions.debugOptions.disableExistsSubqueryCaching,
-        monitors
-      ),
+      queryGraphSolver,
       plannerConfig,
       maybeUpdateStrategy.getOrElse(defaultUpdateStrategy),
       clock,
@@ -403,17 +406,20 @@ case class CypherPlanner(
       internalNotificationStats,
       internalSyntaxUsageStats,
       targetsComposite = false,
-      null
+      null,
+      autoExtractedParameterValues
     )
 
     // Prepare query for caching
-    val preparedQuery = planner.normalizeQuery(syntacticQuery, plannerContext)
+    val preparedQuery = planner.normalizeQuery(syntacticQuery, newPlannerContext(MapValue.EMPTY))
 
     val (queryParamNames, autoExtractParams) =
       parameterNamesAndValues(preparedQuery.statement(), preparedQuery.maybeExtractedParams) match {
         case (qpn: ArrayBuffer[String], aep: MapValue) => (qpn.toSeq, aep)
       }
 
+    val plannerContext = newPlannerContext(autoExtractParams)
+
     // Get obfuscator out ASAP to make query text available for `dbms.listQueries`, etc
     val obfuscator = CypherQueryObfuscator(preparedQuery.obfuscationMetadata())
     transactionalContextWrapper.kernelTransactionalContext.executingQuery.onObfuscatorReady(obfuscator)
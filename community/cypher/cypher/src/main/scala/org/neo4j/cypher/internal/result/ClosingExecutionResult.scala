@@ -98,6 +98,8 @@ class ClosingExecutionResult private (
 
   override def executionMode: ExecutionMode = safely { inner.executionMode }
 
+  override def isDeterministic: Boolean = safely { inner.isDeterministic }
+
   override def toString: String = inner.toString
 
   // HELPERS
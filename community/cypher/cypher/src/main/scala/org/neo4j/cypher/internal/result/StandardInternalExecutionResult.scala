@@ -39,6 +39,7 @@ class StandardInternalExecutionResult(
   outerCloseable: AutoCloseable,
   override val queryType: InternalQueryType,
   override val executionMode: ExecutionMode,
+  override val isDeterministic: Boolean,
   planDescriptionBuilder: PlanDescriptionBuilder,
   subscriber: QuerySubscriber,
   val internalNotifications: Seq[Notification]
@@ -111,6 +111,31 @@ object TransactionBoundGraphStatistics {
           None
       }
 
+    override def indexRangeSelectivity(
+      index: IndexDescriptor,
+      from: Double,
+      fromInclusive: Boolean,
+      to: Double,
+      toInclusive: Boolean
+    ): Option[Selectivity] =
+      try {
+        maybeKernelIndexDescriptor(index).flatMap { indexDescriptor =>
+          val histogram = schemaRead.indexValueHistogram(indexDescriptor)
+          val indexSize = schemaRead.indexSize(indexDescriptor)
+          if (histogram.isEmpty || indexSize == 0)
+            None
+          else {
+            // The histogram only describes the numeric values of the index, which are all a numeric range can match
+            val numericSelectivity = min(histogram.valueCount().toDouble / indexSize, 1.0)
+            Selectivity.of(histogram.rangeSelectivity(from, fromInclusive, to, toInclusive) * numericSelectivity)
+          }
+        }
+      } catch {
+        case e: IndexNotFoundKernelException =>
+          log.debug("Index not found for indexRangeSelectivity", e)
+          None
+      }
+
     override def nodesAllCardinality(): Cardinality =
       Cardinality(read.estimateCountsForNode(TokenRead.ANY_LABEL))
 
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal
+
+import org.neo4j.cypher.internal.ast.AllIndexes
+import org.neo4j.cypher.internal.ast.AstConstructionTestSupport
+import org.neo4j.cypher.internal.ast.ProcedureResultItem
+import org.neo4j.cypher.internal.expressions.Expression
+import org.neo4j.cypher.internal.frontend.phases.FieldSignature
+import org.neo4j.cypher.internal.frontend.phases.ProcedureReadOnlyAccess
+import org.neo4j.cypher.internal.frontend.phases.ProcedureSignature
+import org.neo4j.cypher.internal.frontend.phases.QualifiedName
+import org.neo4j.cypher.internal.frontend.phases.ResolvedCall
+import org.neo4j.cypher.internal.frontend.phases.ResolvedFunctionInvocation
+import org.neo4j.cypher.internal.frontend.phases.UserFunctionSignature
+import org.neo4j.cypher.internal.ir.NoHeaders
+import org.neo4j.cypher.internal.logical.plans.AllNodesScan
+import org.neo4j.cypher.internal.logical.plans.LoadCSV
+import org.neo4j.cypher.internal.logical.plans.ProcedureCall
+import org.neo4j.cypher.internal.logical.plans.ProduceResult
+import org.neo4j.cypher.internal.logical.plans.Projection
+import org.neo4j.cypher.internal.logical.plans.ShowIndexes
+import org.neo4j.cypher.internal.util.attribution.IdGen
+import org.neo4j.cypher.internal.util.attribution.SequentialIdGen
+import org.neo4j.cypher.internal.util.symbols.CTAny
+import org.neo4j.cypher.internal.util.symbols.CTInteger
+import org.neo4j.cypher.internal.util.test_helpers.CypherFunSuite
+
+class CypherCurrentCompilerTest extends CypherFunSuite with AstConstructionTestSupport {
+
+  implicit private val idGen: IdGen = new SequentialIdGen()
+
+  test("plans which only read from the database should be deterministic") {
+    CypherCurrentCompiler.isDeterministic(project(prop("n", "prop"))) shouldBe true
+    CypherCurrentCompiler.isDeterministic(project(function("toUpper", prop("n", "name")))) shouldBe true
+  }
+
+  test("plans which invoke non-deterministic functions should not be deterministic") {
+    CypherCurrentCompiler.isDeterministic(project(function("rand"))) shouldBe false
+    CypherCurrentCompiler.isDeterministic(project(function("randomUUID"))) shouldBe false
+    CypherCurrentCompiler.isDeterministic(project(function("timestamp"))) shouldBe false
+  }
+
+  test("plans which invoke user-defined functions should not be deterministic") {
+    val signature = UserFunctionSignature(
+      QualifiedName(Seq.empty, "datetime"),
+      IndexedSeq(FieldSignature("Input", CTAny)),
+      CTAny,
+      None,
+      None,
+      isAggregate = false,
+      1,
+      builtIn = true
+    )
+    val datetime =
+      ResolvedFunctionInvocation(QualifiedName(Seq.empty, "datetime"), Some(signature), IndexedSeq.empty)(pos)
+
+    CypherCurrentCompiler.isDeterministic(project(datetime)) shouldBe false
+  }
+
+  test("plans which call procedures should not be deterministic") {
+    val signature = ProcedureSignature(
+      QualifiedName(Seq("dbms"), "listConnections"),
+      IndexedSeq.empty,
+      Some(IndexedSeq(FieldSignature("connectionId", CTInteger))),
+      None,
+      ProcedureReadOnlyAccess,
+      id = 42
+    )
+    val call = ResolvedCall(signature, Seq.empty, IndexedSeq(ProcedureResultItem(varFor("connectionId"))(pos)))(pos)
+
+    val plan = ProduceResult(ProcedureCall(AllNodesScan(varFor("n"), Set.empty), call), Seq(varFor("connectionId")))
+
+    CypherCurrentCompiler.isDeterministic(plan) shouldBe false
+  }
+
+  test("SHOW commands should not be deterministic") {
+    val plan = ProduceResult(ShowIndexes(AllIndexes, List.empty, List.empty, yieldAll = true), Seq.empty)
+
+    CypherCurrentCompiler.isDeterministic(plan) shouldBe false
+  }
+
+  test("plans which load CSV files should not be deterministic") {
+    val loadCsv = LoadCSV(
+      AllNodesScan(varFor("n"), Set.empty),
+      literalString("file:///tmp/foo.csv"),
+      varFor("line"),
+      NoHeaders,
+      None,
+      legacyCsvQuoteEscaping = false,
+      csvBufferSize = 2
+    )
+
+    CypherCurrentCompiler.isDeterministic(ProduceResult(loadCsv, Seq(varFor("line")))) shouldBe false
+  }
+
+  private def project(expression: Expression) =
+    ProduceResult(
+      Projection(AllNodesScan(varFor("n"), Set.empty), Map(varFor("x") -> expression)),
+      Seq(varFor("x"))
+    )
+}
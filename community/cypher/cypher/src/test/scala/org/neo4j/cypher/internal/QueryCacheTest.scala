@@ -21,6 +21,7 @@ package org.neo4j.cypher.internal
 
 import com.github.benmanes.caffeine.cache.Cache
 import com.github.benmanes.caffeine.cache.RemovalListener
+import org.mockito.ArgumentMatchers
 import org.mockito.Mockito
 import org.mockito.Mockito.times
 import org.mockito.Mockito.verifyNoMoreInteractions
@@ -44,6 +45,9 @@ import org.neo4j.cypher.internal.cache.TestExecutorCaffeineCacheFactory
 import org.neo4j.cypher.internal.options.CypherReplanOption
 import org.neo4j.cypher.internal.util.InternalNotification
 import org.neo4j.cypher.internal.util.test_helpers.CypherFunSuite
+import org.neo4j.graphdb.TransactionTerminatedException
+import org.neo4j.kernel.api.KernelTransaction
+import org.neo4j.kernel.api.exceptions.Status
 import org.neo4j.kernel.api.query.ExecutingQuery
 import org.neo4j.kernel.api.query.QueryCacheUsage
 import org.neo4j.kernel.impl.query.TransactionalContext
@@ -51,6 +55,9 @@ import org.neo4j.values.storable.Values
 import org.neo4j.values.virtual.VirtualValues
 import org.scalatestplus.mockito.MockitoSugar
 
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.atomic.AtomicInteger
+
 import scala.collection.mutable
 
 class QueryCacheTest extends CypherFunSuite {
@@ -252,6 +259,212 @@ class QueryCacheTest extends CypherFunSuite {
     queryTracer.queueIsEmmpty shouldBe true
   }
 
+  test("if item is stale and a background compiler is given we should hit the cache and recalculate in the background") {
+    // Given
+    val tracer = newTracer()
+    val secondsSinceReplan = 17
+    val queryTracer = new QueryCacheUsageQueue()
+    val staleUnlessReplanned: PlanStalenessCaller[MyValue] =
+      (_, value) => if (value.key == "foo") Stale(secondsSinceReplan, None) else NotStale
+    val cache = newCache(tracer, staleUnlessReplanned, queryTracer = queryTracer)
+    val key = newKey("foo")
+    val scheduled = mutable.Queue[CompilerWithExpressionCodeGenOption[MyValue] => Unit]()
+    val backgroundCompiler: BackgroundCompiler[MyValue] = compilation => {
+      scheduled.enqueue(compilation)
+      true
+    }
+
+    def computeIfAbsentOrStale(): MyValue =
+      cache.computeIfAbsentOrStale(
+        key,
+        TC,
+        compilerWithExpressionCodeGenOption(key),
+        CypherReplanOption.default,
+        backgroundCompiler = Some(backgroundCompiler)
+      )
+
+    // When
+    computeIfAbsentOrStale()
+    // Then
+    val o = Mockito.inOrder(tracer)
+    o.verify(tracer).cacheMiss(key, "")
+    o.verify(tracer).compute(key, "")
+    verifyNoMoreInteractions(tracer)
+
+    // When
+    val staleValues = Seq(computeIfAbsentOrStale(), computeIfAbsentOrStale())
+    // Then
+    staleValues should equal(Seq(compiled(key), compiled(key)))
+    scheduled should have size 1
+
+    o.verify(tracer).cacheStale(key, secondsSinceReplan, "", None)
+    o.verify(tracer, times(2)).cacheStaleServed(key, "")
+    Mockito.verify(tracer, times(2)).cacheHit(key, "")
+    verifyNoMoreInteractions(tracer)
+
+    // When
+    val replannedKey = newKey("foo replanned")
+    scheduled.dequeue()(compilerWithExpressionCodeGenOption(replannedKey))
+    // Then
+    o.verify(tracer).compute(key, "")
+    o.verify(tracer).backgroundCompute(
+      ArgumentMatchers.eq(key),
+      ArgumentMatchers.eq(""),
+      ArgumentMatchers.anyLong()
+    )
+    verifyNoMoreInteractions(tracer)
+
+    // When
+    val valueFromCache = computeIfAbsentOrStale()
+    // Then
+    valueFromCache should equal(compiled(replannedKey))
+    scheduled shouldBe empty
+
+    o.verify(tracer).cacheHit(key, "")
+    verifyNoMoreInteractions(tracer)
+
+    queryTracer.dequeueAllCacheUsage() shouldEqual Seq(
+      QueryCacheUsage.MISS,
+      QueryCacheUsage.HIT,
+      QueryCacheUsage.HIT,
+      QueryCacheUsage.HIT
+    )
+  }
+
+  test("a query replanned in the background with expression code generation should not be recompiled again") {
+    // Given
+    val tracer = newTracer()
+    var stale = false
+    val staleUnlessReplanned: PlanStalenessCaller[MyValue] =
+      (_, value) => if (stale && value.key == "foo") Stale(1, None) else NotStale
+    val cache = newCache(tracer, staleUnlessReplanned)
+    val key = newKey("foo")
+    val scheduled = mutable.Queue[CompilerWithExpressionCodeGenOption[MyValue] => Unit]()
+    val backgroundCompiler: BackgroundCompiler[MyValue] = compilation => {
+      scheduled.enqueue(compilation)
+      true
+    }
+
+    def computeIfAbsentOrStale(times: Int): Seq[MyValue] =
+      (1 to times).map(_ =>
+        cache.computeIfAbsentOrStale(
+          key,
+          TC,
+          compilerWithExpressionCodeGenOption(key),
+          CypherReplanOption.default,
+          backgroundCompiler = Some(backgroundCompiler)
+        )
+      )
+
+    computeIfAbsentOrStale(QueryCacheTest.RECOMPILE_LIMIT + 2)
+    Mockito.verify(tracer).computeWithExpressionCodeGen(key, "")
+
+    // When
+    stale = true
+    computeIfAbsentOrStale(1)
+    scheduled.dequeue()(compilerWithExpressionCodeGenOption(newKey("foo replanned")))
+    val values = computeIfAbsentOrStale(QueryCacheTest.RECOMPILE_LIMIT + 2)
+
+    // Then
+    values.foreach { value =>
+      value should equal(MyValue("foo replanned")(compiledWithExpressionCodeGen = true))
+      value.compiledWithExpressionCodeGen shouldBe true
+    }
+    Mockito.verify(tracer, times(2)).computeWithExpressionCodeGen(key, "")
+  }
+
+  test("concurrent compilations of the same key should be coalesced") {
+    // Given
+    val tracer = newTracer()
+    val cache = newCache(tracer)
+    val key = newKey("foo")
+    val compiling = new CountDownLatch(1)
+    val release = new CountDownLatch(1)
+    val compilations = new AtomicInteger()
+    val blockingCompiler = new CompilerWithExpressionCodeGenOption[MyValue] {
+      override def compile(): MyValue = {
+        compilations.incrementAndGet()
+        compiling.countDown()
+        release.await()
+        compiled(key)
+      }
+
+      override def compileWithExpressionCodeGen(): MyValue = compile()
+
+      override def maybeCompileWithExpressionCodeGen(hitCount: Int): Option[MyValue] = None
+    }
+    val results = new Array[MyValue](2)
+    def compileInThread(i: Int): Thread = {
+      val thread =
+        new Thread(() => results(i) = cache.computeIfAbsentOrStale(key, TC, blockingCompiler, CypherReplanOption.default))
+      thread.start()
+      thread
+    }
+
+    // When
+    val compilingThread = compileInThread(0)
+    compiling.await()
+    val waitingThread = compileInThread(1)
+    while (waitingThread.getState != Thread.State.TIMED_WAITING) {
+      Thread.sleep(1)
+    }
+    release.countDown()
+    compilingThread.join()
+    waitingThread.join()
+
+    // Then
+    compilations.get() should equal(1)
+    results should equal(Array(compiled(key), compiled(key)))
+    Mockito.verify(tracer, times(2)).cacheMiss(key, "")
+    Mockito.verify(tracer).compute(key, "")
+    Mockito.verify(tracer).computeCoalesced(key, "")
+    verifyNoMoreInteractions(tracer)
+  }
+
+  test("waiting for a compilation of the same key should fail when the transaction is terminated") {
+    // Given
+    val tracer = newTracer()
+    val cache = newCache(tracer)
+    val key = newKey("foo")
+    val compiling = new CountDownLatch(1)
+    val release = new CountDownLatch(1)
+    val blockingCompiler = new CompilerWithExpressionCodeGenOption[MyValue] {
+      override def compile(): MyValue = {
+        compiling.countDown()
+        release.await()
+        compiled(key)
+      }
+
+      override def compileWithExpressionCodeGen(): MyValue = compile()
+
+      override def maybeCompileWithExpressionCodeGen(hitCount: Int): Option[MyValue] = None
+    }
+    val compilingThread =
+      new Thread(() => cache.computeIfAbsentOrStale(key, TC, blockingCompiler, CypherReplanOption.default))
+    compilingThread.start()
+    compiling.await()
+    val terminated = mock[KernelTransaction]
+    Mockito.when(terminated.assertOpen()).thenThrow(new TransactionTerminatedException(Status.Transaction.Terminated))
+
+    try {
+      // When
+      val exception = the[TransactionTerminatedException] thrownBy
+        cache.computeIfAbsentOrStale(
+          key,
+          QueryCacheTest.transactionalContext(terminated),
+          blockingCompiler,
+          CypherReplanOption.default
+        )
+
+      // Then
+      exception.status() should equal(Status.Transaction.Terminated)
+      compilingThread.isAlive shouldBe true
+    } finally {
+      release.countDown()
+      compilingThread.join()
+    }
+  }
+
   test("accessing the cache with replan=skip if item is stale we should hit the cache") {
     // Given
     val tracer = newTracer()
@@ -531,7 +744,7 @@ object QueryCacheTest extends MockitoSugar {
     override def notifications: IndexedSeq[InternalNotification] = IndexedSeq.empty
   }
 
-  val TC: TransactionalContext = mock[TransactionalContext]
+  val TC: TransactionalContext = transactionalContext(mock[KernelTransaction])
   private val RECOMPILE_LIMIT = 2
   private val cacheFactory = TestExecutorCaffeineCacheFactory
 
@@ -592,6 +805,12 @@ object QueryCacheTest extends MockitoSugar {
 
   def newTracer(): Tracer = mock[Tracer]
 
+  private def transactionalContext(kernelTransaction: KernelTransaction): TransactionalContext = {
+    val tc = mock[TransactionalContext]
+    Mockito.when(tc.kernelTransaction()).thenReturn(kernelTransaction)
+    tc
+  }
+
   private def neverStale(): PlanStalenessCaller[MyValue] = (_, _) => NotStale
 
   private def alwaysStale(seconds: Int): PlanStalenessCaller[MyValue] = (_, _) => Stale(seconds, None)
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.cache
+
+import org.mockito.Mockito.when
+import org.neo4j.cypher.internal.CypherQueryObfuscator
+import org.neo4j.cypher.internal.ExecutableQuery
+import org.neo4j.cypher.internal.QueryCache
+import org.neo4j.cypher.internal.cache.PersistentQueryCache.Entry
+import org.neo4j.cypher.internal.util.LiteralOffset
+import org.neo4j.cypher.internal.util.ObfuscationMetadata
+import org.neo4j.cypher.internal.util.test_helpers.CypherFunSuite
+import org.neo4j.io.fs.EphemeralFileSystemAbstraction
+import org.neo4j.values.storable.CoordinateReferenceSystem
+import org.neo4j.values.storable.DateValue
+import org.neo4j.values.storable.DurationValue
+import org.neo4j.values.storable.Values
+import org.neo4j.values.virtual.MapValue
+import org.neo4j.values.virtual.VirtualValues
+
+import java.io.IOException
+import java.nio.ByteBuffer
+import java.nio.file.Path
+
+class PersistentQueryCacheTest extends CypherFunSuite {
+
+  private val params = VirtualValues.map(
+    Array("b", "d", "dur", "f", "i", "l", "ls", "m", "n", "p", "s"),
+    Array(
+      Values.TRUE,
+      DateValue.date(2023, 5, 17),
+      DurationValue.duration(1, 2, 3, 4),
+      Values.doubleValue(1.5),
+      Values.longValue(42),
+      VirtualValues.list(Values.longValue(1), Values.longValue(2), Values.longValue(3)),
+      VirtualValues.list(Values.stringValue("a"), Values.stringValue("b")),
+      VirtualValues.map(Array("k"), Array(Values.longValue(1))),
+      Values.NO_VALUE,
+      Values.pointValue(CoordinateReferenceSystem.WGS_84, 12.0, 56.0),
+      Values.stringValue("neo4j")
+    )
+  )
+
+  test("should create parameters that end up under the same cache key") {
+    for (useSizeHint <- Seq(true, false)) {
+      val parameterTypes = QueryCache.extractParameterTypeMap(params, useSizeHint)
+      val entry = Entry("RETURN 1", PersistentQueryCache.parameters(parameterTypes).get, 0)
+
+      QueryCache.extractParameterTypeMap(entry.parameterValues, useSizeHint) should equal(parameterTypes)
+    }
+  }
+
+  test("should read the entries that were written") {
+    val fs = new EphemeralFileSystemAbstraction()
+    try {
+      val file = Path.of("data", "cypher", "neo4j", "query-cache")
+      val entries = Seq(
+        entry("CYPHER runtime=slotted MATCH (n) WHERE n.prop = $s RETURN n", params, hits = 10),
+        entry("RETURN '" + "x".repeat(100000) + "'", VirtualValues.EMPTY_MAP, hits = 1)
+      )
+
+      PersistentQueryCache.write(fs, file, entries)
+
+      PersistentQueryCache.read(fs, file) should equal(entries)
+    } finally {
+      fs.close()
+    }
+  }
+
+  test("should not read any entries without a file") {
+    val fs = new EphemeralFileSystemAbstraction()
+    try {
+      PersistentQueryCache.read(fs, Path.of("query-cache")) shouldBe empty
+    } finally {
+      fs.close()
+    }
+  }
+
+  test("should reject files with counts or lengths that exceed the file") {
+    val fs = new EphemeralFileSystemAbstraction()
+    try {
+      val file = Path.of("data", "query-cache")
+      PersistentQueryCache.write(fs, file, Seq(entry("RETURN $s", params, hits = 1)))
+      val bytes = fs.openAsInputStream(file).readAllBytes()
+
+      def readCorrupted(corrupt: ByteBuffer => Unit): Unit = {
+        val corrupted = ByteBuffer.wrap(bytes.clone())
+        corrupt(corrupted)
+        fs.deleteFile(file)
+        val out = fs.openAsOutputStream(file, false)
+        try {
+          out.write(corrupted.array(), 0, corrupted.limit())
+        } finally {
+          out.close()
+        }
+        an[IOException] should be thrownBy PersistentQueryCache.read(fs, file)
+      }
+
+      readCorrupted(_.putInt(4, Int.MaxValue)) // entry count
+      readCorrupted(_.putInt(4, -1))
+      readCorrupted(_.putInt(8, Int.MaxValue)) // query length
+      readCorrupted(buffer => buffer.limit(buffer.limit() - 1))
+    } finally {
+      fs.close()
+    }
+  }
+
+  test("should not persist parameters with very large sizes") {
+    val parameterTypes = QueryCache.extractParameterTypeMap(
+      VirtualValues.map(Array("s"), Array(Values.stringValue("x".repeat(2_000_000)))),
+      true
+    )
+
+    PersistentQueryCache.parameters(parameterTypes) shouldBe None
+  }
+
+  test("should only consider queries with obfuscated literals sensitive") {
+    val plain = mock[ExecutableQuery]
+    when(plain.queryObfuscator).thenReturn(CypherQueryObfuscator(ObfuscationMetadata.empty()))
+    val sensitive = mock[ExecutableQuery]
+    when(sensitive.queryObfuscator).thenReturn(
+      CypherQueryObfuscator(ObfuscationMetadata(Vector(LiteralOffset(26, Some(8))), Set.empty))
+    )
+
+    PersistentQueryCache.isSensitive(plain) shouldBe false
+    PersistentQueryCache.isSensitive(sensitive) shouldBe true
+  }
+
+  private def entry(query: String, params: MapValue, hits: Int): Entry =
+    Entry(query, PersistentQueryCache.parameters(QueryCache.extractParameterTypeMap(params, true)).get, hits)
+}
@@ -159,6 +159,7 @@ class StandardInternalExecutionResultTest extends CypherFunSuite {
       NoOuterCloseable,
       queryType,
       NormalMode,
+      isDeterministic = true,
       mock[PlanDescriptionBuilder],
       subscriber,
       Seq.empty
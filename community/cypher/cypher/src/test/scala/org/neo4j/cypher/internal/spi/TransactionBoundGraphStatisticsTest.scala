@@ -36,6 +36,7 @@ import org.neo4j.internal.schema
 import org.neo4j.internal.schema.IndexPrototype
 import org.neo4j.internal.schema.SchemaDescriptor
 import org.neo4j.internal.schema.SchemaDescriptors
+import org.neo4j.kernel.api.index.IndexValueHistogram
 import org.neo4j.logging.InternalLog
 
 class TransactionBoundGraphStatisticsTest extends CypherFunSuite {
@@ -120,6 +121,31 @@ class TransactionBoundGraphStatisticsTest extends CypherFunSuite {
     verifyNoInteractions(theLog)
   }
 
+  test("indexRangeSelectivity should scale the histogram selectivity by the share of numeric values") {
+    // given
+    val histogram = new IndexValueHistogram(Array(0.0, 25.0, 50.0, 75.0, 100.0), 500L)
+    when(schemaRead.indexValueHistogram(descriptor)).thenReturn(histogram)
+    when(schemaRead.indexSize(descriptor)).thenReturn(2000L)
+
+    // when
+    val statistics = TransactionBoundGraphStatistics(read, schemaRead, log)
+
+    // then
+    statistics.indexRangeSelectivity(index, 0.0, true, 50.0, false) should equal(Some(Selectivity(0.125)))
+  }
+
+  test("indexRangeSelectivity should not estimate from an empty histogram") {
+    // given
+    when(schemaRead.indexValueHistogram(descriptor)).thenReturn(IndexValueHistogram.EMPTY)
+    when(schemaRead.indexSize(descriptor)).thenReturn(2000L)
+
+    // when
+    val statistics = TransactionBoundGraphStatistics(read, schemaRead, log)
+
+    // then
+    statistics.indexRangeSelectivity(index, 0.0, true, 50.0, false) should equal(None)
+  }
+
   test("uniqueValueSelectivity should compute selectivity") {
     // given
     when(schemaRead.indexUniqueValuesSelectivity(descriptor)).thenReturn(0.5)
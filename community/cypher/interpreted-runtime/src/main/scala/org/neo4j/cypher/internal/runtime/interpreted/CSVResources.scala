@@ -19,23 +19,17 @@
  */
 package org.neo4j.cypher.internal.runtime.interpreted
 
-import org.neo4j.csv.reader.BufferOverflowException
-import org.neo4j.csv.reader.CharSeekers
 import org.neo4j.csv.reader.Configuration
-import org.neo4j.csv.reader.Extractors
-import org.neo4j.csv.reader.Mark
 import org.neo4j.cypher.internal.runtime.QueryContext
 import org.neo4j.cypher.internal.runtime.ResourceManager
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.ExternalCSVResource
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.LoadCsvIterator
-import org.neo4j.exceptions.CypherExecutionException
 import org.neo4j.exceptions.LoadExternalResourceException
 import org.neo4j.graphdb.security.AuthorizationViolationException
 import org.neo4j.graphdb.security.URLAccessValidationError
 import org.neo4j.internal.kernel.api.AutoCloseablePlus
 import org.neo4j.internal.kernel.api.DefaultCloseListenable
 import org.neo4j.values.storable.Value
-import org.neo4j.values.storable.Values
 
 import java.net.CookieHandler
 import java.net.CookieManager
@@ -43,7 +37,6 @@ import java.net.CookiePolicy
 import java.net.URI
 import java.net.URISyntaxException
 
-import scala.collection.mutable.ArrayBuffer
 import scala.util.Failure
 import scala.util.Success
 import scala.util.Try
@@ -103,43 +96,37 @@ class CSVResources(resourceManager: ResourceManager) extends ExternalCSVResource
         throw new LoadExternalResourceException(s"Cannot load from URL '$urlString': ${error.getMessage}", error)
     }
     val delimiter: Char = fieldTerminator.map(_.charAt(0)).getOrElse(CSVResources.DEFAULT_FIELD_TERMINATOR)
-    val seeker = CharSeekers.charSeeker(reader, CSVResources.config(legacyCsvQuoteEscaping, bufferSize), false)
-    val extractor = new Extractors(delimiter).textValue()
-    val intDelimiter = delimiter.toInt
-    val mark = new Mark
-
-    val resource = CSVResource(uri, seeker)
+    val parser = new ReadAheadCsvParser(
+      reader,
+      CSVResources.config(legacyCsvQuoteEscaping, bufferSize),
+      delimiter,
+      "LOAD CSV read-ahead",
+      query.transactionalContext
+    )
+
+    val resource = CSVResource(uri, parser)
     resourceManager.trace(resource)
 
     new LoadCsvIterator {
       var lastProcessed = 0L
       var readAll = false
 
+      private var batch: Iterator[Array[Value]] = Iterator.empty
+      private var endOfFile = false
+
       override protected[this] def closeMore(): Unit = resource.close()
 
       private def readNextRow: Array[Value] = {
-        val buffer = new ArrayBuffer[Value]
-
-        try {
-          while (seeker.seek(mark, intDelimiter)) {
-            val value = seeker.tryExtract(mark, extractor)
-            buffer += (if (!extractor.isEmpty(value)) value else Values.NO_VALUE)
-            if (mark.isEndOfLine) return if (buffer.isEmpty) null else buffer.toArray
+        while (!batch.hasNext && !endOfFile) {
+          parser.nextBatch() match {
+            case ReadAheadCsvParser.Rows(rows, _) => batch = rows.iterator
+            case ReadAheadCsvParser.EndOfFile     => endOfFile = true
+            case ReadAheadCsvParser.Failed(error) =>
+              endOfFile = true
+              throw error
           }
-        } catch {
-          case e: BufferOverflowException => throw new CypherExecutionException(
-              """Tried to read a field larger than the current buffer size.
-                | Make sure that the field doesn't have an unterminated quote,
-                | if it doesn't you can try increasing the buffer size via `dbms.import.csv.buffer_size`.""".stripMargin,
-              e
-            )
-        }
-
-        if (buffer.isEmpty) {
-          null
-        } else {
-          buffer.toArray
         }
+        if (batch.hasNext) batch.next() else null
       }
 
       var nextRow: Array[Value] = readNextRow
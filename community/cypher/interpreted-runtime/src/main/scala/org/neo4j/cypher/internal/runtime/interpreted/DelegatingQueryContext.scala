@@ -93,6 +93,7 @@ import org.neo4j.kernel.impl.query.FunctionInformation
 import org.neo4j.kernel.impl.query.statistic.StatisticProvider
 import org.neo4j.logging.InternalLogProvider
 import org.neo4j.memory.MemoryTracker
+import org.neo4j.scheduler.JobScheduler
 import org.neo4j.values.AnyValue
 import org.neo4j.values.ElementIdMapper
 import org.neo4j.values.ValueMapper
@@ -662,6 +663,9 @@ abstract class DelegatingQueryContext(val inner: QueryContext) extends QueryCont
 
   override def contextWithNewTransaction(): QueryContext = inner.contextWithNewTransaction()
 
+  override def createParallelQueryContext(initialHeapMemory: Long): QueryContext =
+    inner.createParallelQueryContext(initialHeapMemory)
+
   override def close(): Unit = inner.close()
 
   override def addStatistics(statistics: QueryStatistics): Unit = inner.addStatistics(statistics)
@@ -830,6 +834,8 @@ class DelegatingQueryTransactionalContext(val inner: QueryTransactionalContext)
 
   override def config: Config = inner.config
 
+  override def jobScheduler: JobScheduler = inner.jobScheduler
+
   override def kernelExecutingQuery: org.neo4j.kernel.api.query.ExecutingQuery = inner.kernelExecutingQuery
 
   override def kernelExecutionContext: ExecutionContext = inner.kernelExecutionContext
@@ -234,6 +234,7 @@ import org.neo4j.cypher.internal.runtime.interpreted.pipes.BFSPruningVarLengthEx
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.CachePropertiesPipe
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.CartesianProductPipe
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.CommandPipe
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.ConcurrentTransactions.concurrencyExpression
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.ConditionalApplyPipe
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.CreateNodeCommand
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.CreatePipe
@@ -1924,6 +1925,7 @@ case class InterpretedPipeMapper(
           lhs,
           rhs,
           buildExpression(batchSize),
+          concurrencyExpression(concurrency, buildExpression),
           onErrorBehaviour,
           maybeReportAs.map(_.name)
         )(id = id)
@@ -1933,6 +1935,7 @@ case class InterpretedPipeMapper(
           lhs,
           rhs,
           buildExpression(batchSize),
+          concurrencyExpression(concurrency, buildExpression),
           onErrorBehaviour,
           rhsPlan.availableSymbols.map(_.name) -- lhsPlan.availableSymbols.map(_.name),
           maybeReportAs.map(_.name)
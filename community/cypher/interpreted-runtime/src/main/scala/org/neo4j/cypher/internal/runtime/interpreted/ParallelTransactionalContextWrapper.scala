@@ -52,6 +52,7 @@ import org.neo4j.kernel.impl.query.ConstituentTransactionFactory
 import org.neo4j.kernel.impl.query.TransactionalContext
 import org.neo4j.kernel.impl.query.statistic.StatisticProvider
 import org.neo4j.memory.MemoryTracker
+import org.neo4j.scheduler.JobScheduler
 import org.neo4j.values.ElementIdMapper
 import org.neo4j.values.ValueMapper
 
@@ -174,6 +175,10 @@ class ParallelTransactionalContextWrapper(
     tc.graph().getDependencyResolver.resolveDependency(classOf[Config])
   }
 
+  override def jobScheduler: JobScheduler = {
+    tc.graph().getDependencyResolver.resolveDependency(classOf[JobScheduler])
+  }
+
   override def kernelExecutingQuery: org.neo4j.kernel.api.query.ExecutingQuery = {
     tc.executingQuery()
   }
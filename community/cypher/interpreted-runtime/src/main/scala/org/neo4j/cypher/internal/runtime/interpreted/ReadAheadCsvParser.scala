@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.interpreted
+
+import org.neo4j.csv.reader.BufferOverflowException
+import org.neo4j.csv.reader.CharReadable
+import org.neo4j.csv.reader.CharSeeker
+import org.neo4j.csv.reader.CharSeekers
+import org.neo4j.csv.reader.Configuration
+import org.neo4j.csv.reader.Extractor
+import org.neo4j.csv.reader.Extractors
+import org.neo4j.csv.reader.Mark
+import org.neo4j.cypher.internal.runtime.QueryTransactionalContext
+import org.neo4j.cypher.internal.runtime.interpreted.ReadAheadCsvParser.BATCHES_AHEAD
+import org.neo4j.cypher.internal.runtime.interpreted.ReadAheadCsvParser.Batch
+import org.neo4j.cypher.internal.runtime.interpreted.ReadAheadCsvParser.EndOfFile
+import org.neo4j.cypher.internal.runtime.interpreted.ReadAheadCsvParser.Failed
+import org.neo4j.cypher.internal.runtime.interpreted.ReadAheadCsvParser.MAX_ROWS_PER_BATCH
+import org.neo4j.cypher.internal.runtime.interpreted.ReadAheadCsvParser.POLL_INTERVAL_MILLIS
+import org.neo4j.cypher.internal.runtime.interpreted.ReadAheadCsvParser.Rows
+import org.neo4j.exceptions.CypherExecutionException
+import org.neo4j.scheduler.Group
+import org.neo4j.scheduler.JobMonitoringParams
+import org.neo4j.values.storable.Value
+import org.neo4j.values.storable.Values
+
+import java.util.concurrent.ArrayBlockingQueue
+import java.util.concurrent.TimeUnit.MILLISECONDS
+import java.util.concurrent.atomic.AtomicLong
+
+import scala.collection.mutable.ArrayBuffer
+
+/**
+ * Parses a CSV file on a [[Group.CYPHER_LOAD_CSV]] thread, ahead of the thread consuming the rows. The file itself is
+ * read by yet another thread, see [[org.neo4j.csv.reader.ThreadAheadReadable]], so that I/O, parsing and the query all
+ * progress at the same time.
+ *
+ * Rows are handed over in batches, in the order of the file. The memory used for parsing ahead is capped: a batch
+ * holds at most [[MAX_ROWS_PER_BATCH]] rows and about the buffer size of the configuration worth of values, and at
+ * most [[BATCHES_AHEAD]] batches are waiting to be consumed. The rows parsed but not yet consumed are tracked by the
+ * memory tracker of the transaction, from the consuming thread, since memory trackers are not thread safe.
+ *
+ * LOAD CSV allows fields to span multiple lines, so the file is not split into chunks at new lines to be parsed in
+ * parallel, like the import tool does when multi-line fields are disabled.
+ */
+class ReadAheadCsvParser(
+  reader: CharReadable,
+  config: Configuration,
+  delimiter: Char,
+  description: String,
+  transactionalContext: QueryTransactionalContext
+) extends Runnable with AutoCloseable {
+
+  private[this] val batches = new ArrayBlockingQueue[Batch](BATCHES_AHEAD)
+  private[this] val maxBatchBytes = config.bufferSize().toLong
+  @volatile private[this] var closed = false
+
+  // Heap usage of the rows handed over and not yet consumed, updated by both threads
+  private[this] val bufferedHeapUsage = new AtomicLong()
+  // Only accessed by the consuming thread
+  private[this] var trackedHeapUsage = 0L
+  private[this] var consumedHeapUsage = 0L
+
+  transactionalContext.jobScheduler.schedule(
+    Group.CYPHER_LOAD_CSV,
+    new JobMonitoringParams(
+      transactionalContext.securityContext.subject().userSubject(),
+      transactionalContext.databaseId.name(),
+      description
+    ),
+    this
+  )
+
+  /**
+   * Waits for the next batch of rows, which also means that the rows of the previous batch have been consumed.
+   * Must not be called again after [[EndOfFile]] or [[Failed]] has been returned.
+   *
+   * @throws org.neo4j.graphdb.TransactionTerminatedException if the transaction is terminated while waiting
+   */
+  def nextBatch(): Batch = {
+    bufferedHeapUsage.addAndGet(-consumedHeapUsage)
+    consumedHeapUsage = 0L
+    var batch: Batch = null
+    while (batch == null) {
+      batch = batches.poll(POLL_INTERVAL_MILLIS, MILLISECONDS)
+      trackBufferedRows()
+      if (batch == null) {
+        transactionalContext.assertTransactionOpen()
+      }
+    }
+    batch match {
+      case Rows(_, heapUsage) => consumedHeapUsage = heapUsage
+      case _                  =>
+    }
+    batch
+  }
+
+  /**
+   * Stops parsing. The file is closed by the parsing thread as soon as it notices.
+   */
+  override def close(): Unit = {
+    closed = true
+    // Make room for a parsing thread waiting to hand over a batch
+    batches.clear()
+    transactionalContext.memoryTracker.releaseHeap(trackedHeapUsage)
+    trackedHeapUsage = 0L
+  }
+
+  private def trackBufferedRows(): Unit = {
+    val heapUsage = bufferedHeapUsage.get()
+    if (heapUsage > trackedHeapUsage) {
+      transactionalContext.memoryTracker.allocateHeap(heapUsage - trackedHeapUsage)
+    } else {
+      transactionalContext.memoryTracker.releaseHeap(trackedHeapUsage - heapUsage)
+    }
+    trackedHeapUsage = heapUsage
+  }
+
+  override def run(): Unit = {
+    var seeker: CharSeeker = null
+    try {
+      // Created by this thread, since the read-ahead thread wakes up the thread that created it
+      seeker = CharSeekers.charSeeker(reader, config, true)
+      val extractor = new Extractors(delimiter).textValue()
+      val mark = new Mark
+      var rows = new ArrayBuffer[Array[Value]]()
+      var bytes = 0L
+      var row = readNextRow(seeker, extractor, mark)
+      while (row != null && !closed) {
+        rows += row
+        bytes += row.map(_.estimatedHeapUsage()).sum
+        if (rows.size >= MAX_ROWS_PER_BATCH || bytes >= maxBatchBytes) {
+          handOver(Rows(rows, bytes))
+          rows = new ArrayBuffer[Array[Value]]()
+          bytes = 0L
+        }
+        row = readNextRow(seeker, extractor, mark)
+      }
+      if (rows.nonEmpty) {
+        handOver(Rows(rows, bytes))
+      }
+      handOver(EndOfFile)
+    } catch {
+      case t: Throwable => handOver(Failed(t))
+    } finally {
+      if (seeker != null) seeker.close() else reader.close()
+    }
+  }
+
+  private def handOver(batch: Batch): Unit = {
+    batch match {
+      case Rows(_, heapUsage) => bufferedHeapUsage.addAndGet(heapUsage)
+      case _                  =>
+    }
+    while (!closed && !batches.offer(batch, POLL_INTERVAL_MILLIS, MILLISECONDS)) {}
+  }
+
+  private def readNextRow(seeker: CharSeeker, extractor: Extractor[Value], mark: Mark): Array[Value] = {
+    val buffer = new ArrayBuffer[Value]
+
+    try {
+      while (seeker.seek(mark, delimiter.toInt)) {
+        val value = seeker.tryExtract(mark, extractor)
+        buffer += (if (!extractor.isEmpty(value)) value else Values.NO_VALUE)
+        if (mark.isEndOfLine) return if (buffer.isEmpty) null else buffer.toArray
+      }
+    } catch {
+      case e: BufferOverflowException => throw new CypherExecutionException(
+          """Tried to read a field larger than the current buffer size.
+            | Make sure that the field doesn't have an unterminated quote,
+            | if it doesn't you can try increasing the buffer size via `dbms.import.csv.buffer_size`.""".stripMargin,
+          e
+        )
+    }
+
+    if (buffer.isEmpty) {
+      null
+    } else {
+      buffer.toArray
+    }
+  }
+}
+
+object ReadAheadCsvParser {
+  val MAX_ROWS_PER_BATCH = 1024
+  val BATCHES_AHEAD = 2
+  private val POLL_INTERVAL_MILLIS = 100L
+
+  sealed trait Batch
+  case class Rows(rows: collection.Seq[Array[Value]], heapUsage: Long) extends Batch
+  case object EndOfFile extends Batch
+  case class Failed(error: Throwable) extends Batch
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.interpreted.pipes
+
+import org.neo4j.cypher.internal.runtime.ClosingIterator
+import org.neo4j.cypher.internal.runtime.CypherRow
+
+/**
+ * A pipe that can hand its rows to its parent in [[RowBatch]]es instead of one at a time, which amortizes the cost of
+ * pulling rows through the iterators of the pipe tree over many rows.
+ *
+ * Batched execution starts at a leaf with a positive `batchSize` and continues up to the first pipe that doesn't
+ * support it, which consumes the rows one at a time as before. Profiled queries are always executed row at a time,
+ * since the profiler counts the rows passing through each pipe.
+ */
+trait BatchedPipe extends Pipe {
+
+  /**
+   * The capacity of the batches produced by this pipe, or 0 if it produces its rows one at a time.
+   */
+  def batchSize: Int
+
+  /**
+   * Creates the batches of this pipe. Must only be called if `batchSize` is positive.
+   */
+  def createBatches(state: QueryState): ClosingIterator[RowBatch]
+}
+
+/**
+ * A [[BatchedPipe]] with a single source, which executes in batches whenever its source does.
+ */
+abstract class BatchedPipeWithSource(source: Pipe) extends PipeWithSource(source) with BatchedPipe {
+
+  override def batchSize: Int = source match {
+    case batched: BatchedPipe => batched.batchSize
+    case _                    => 0
+  }
+
+  override protected def computeDecoratedResult(
+    state: QueryState,
+    decoratedState: QueryState
+  ): ClosingIterator[CypherRow] = {
+    if ((state.decorator eq NullPipeDecorator) && batchSize > 0) {
+      RowBatch.rows(createBatches(state))
+    } else {
+      super.computeDecoratedResult(state, decoratedState)
+    }
+  }
+
+  final override def createBatches(state: QueryState): ClosingIterator[RowBatch] = {
+    val decoratedState = decorateState(state)
+    internalCreateBatches(source.asInstanceOf[BatchedPipe].createBatches(state), decoratedState)
+  }
+
+  /**
+   * Creates the batches of this pipe from the batches of its source. Must close the source batches when closed.
+   */
+  protected def internalCreateBatches(input: ClosingIterator[RowBatch], state: QueryState): ClosingIterator[RowBatch]
+}
@@ -0,0 +1,283 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.interpreted.pipes
+
+import org.neo4j.cypher.internal.ast.SubqueryCall.InTransactionsOnErrorBehaviour
+import org.neo4j.cypher.internal.ast.SubqueryCall.InTransactionsOnErrorBehaviour.OnErrorContinue
+import org.neo4j.cypher.internal.ast.SubqueryCall.InTransactionsOnErrorBehaviour.OnErrorFail
+import org.neo4j.cypher.internal.expressions
+import org.neo4j.cypher.internal.logical.plans.TransactionConcurrency
+import org.neo4j.cypher.internal.runtime.ClosingIterator
+import org.neo4j.cypher.internal.runtime.CypherRow
+import org.neo4j.cypher.internal.runtime.QueryStatistics
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Expression
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Literal
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.ConcurrentTransactions.BatchResult
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.TransactionPipeWrapper.CypherRowEntityTransformer
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.TransactionPipeWrapper.assertTransactionStateIsEmpty
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.TransactionPipeWrapper.createInnerResultsInTransaction
+import org.neo4j.kernel.impl.util.collection.EagerBuffer
+import org.neo4j.kernel.impl.util.collection.EagerBuffer.createEagerBuffer
+import org.neo4j.memory.MemoryTracker
+import org.neo4j.values.storable.Values
+
+import java.util
+import java.util.concurrent.Callable
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.Future
+import java.util.concurrent.atomic.AtomicBoolean
+
+import scala.collection.mutable.ArrayBuffer
+
+/**
+ * Executes the batches of a `CALL { ... } IN CONCURRENT TRANSACTIONS` on the [[QueryState.transactionWorkerExecutor]],
+ * each batch in a transaction of its own, with at most `concurrency` batches executing at the same time.
+ *
+ * The transaction of a batch is begun by the thread that executes the batch. That is a worker, or the thread executing
+ * the query if it needs the result of a batch that no worker has started yet. The results are returned by the thread
+ * executing the query, in the order of the batches. Errors are handled in that order as well, with the ON ERROR
+ * behaviour of serial execution, except that batches which were already executing when an earlier batch failed are
+ * not undone:
+ *  - ON ERROR CONTINUE reports the status of every batch.
+ *  - ON ERROR BREAK stops starting new batches once a batch has failed, and reports those batches as not run.
+ *  - ON ERROR FAIL stops starting new batches once a batch has failed, waits for the executing batches, and throws the
+ *    error of the first failed batch.
+ *
+ * NOTE! Keeps state that is not safe to re-use between queries. Create a new instance for each query.
+ *
+ * @param inner the pipe to execute for each batch
+ * @param onErrorBehaviour what to do when a batch fails
+ * @param concurrency the maximum number of batches to execute at the same time
+ * @param keepResults if `true` the rows of the inner pipe are returned, otherwise they are discarded
+ */
+class ConcurrentTransactions(
+  inner: Pipe,
+  onErrorBehaviour: InTransactionsOnErrorBehaviour,
+  concurrency: Int,
+  keepResults: Boolean
+) {
+
+  /**
+   * Executes the given batches, returning each batch together with the result of its transaction.
+   *
+   * @param state query state
+   * @param batches the batches to execute
+   * @param memoryTracker memory tracker for tracking the buffered resulting rows
+   */
+  def execute(
+    state: QueryState,
+    batches: ClosingIterator[EagerBuffer[CypherRow]],
+    memoryTracker: MemoryTracker
+  ): ClosingIterator[(EagerBuffer[CypherRow], TransactionResult)] =
+    new ConcurrentTransactionsIterator(state, batches, memoryTracker)
+
+  /**
+   * A batch that is executed by whichever thread claims it first, a worker or the thread executing the query.
+   */
+  private class BatchTask(val batch: EagerBuffer[CypherRow], val execute: () => BatchResult)
+      extends Callable[BatchResult] {
+    private[this] val started = new AtomicBoolean()
+
+    def claim(): Boolean = started.compareAndSet(false, true)
+
+    override def call(): BatchResult = if (claim()) execute() else null
+  }
+
+  private class ExecutingBatch(val task: BatchTask, val result: Future[BatchResult]) {
+    def batch: EagerBuffer[CypherRow] = task.batch
+  }
+
+  private class ConcurrentTransactionsIterator(
+    state: QueryState,
+    batches: ClosingIterator[EagerBuffer[CypherRow]],
+    memoryTracker: MemoryTracker
+  ) extends ClosingIterator[(EagerBuffer[CypherRow], TransactionResult)] {
+
+    private[this] val executing = new util.ArrayDeque[ExecutingBatch](concurrency)
+    private[this] val executor = state.transactionWorkerExecutor
+
+    // Set by a worker as soon as a batch fails, unless the failure should be ignored
+    @volatile private[this] var failed = false
+
+    override protected[this] def innerHasNext: Boolean = {
+      startBatches()
+      !executing.isEmpty || batches.hasNext
+    }
+
+    override def next(): (EagerBuffer[CypherRow], TransactionResult) = {
+      startBatches()
+      if (executing.isEmpty) {
+        // An earlier batch has failed, so this batch is never started
+        (batches.next(), TransactionResult(NotRun, None))
+      } else {
+        val executingBatch = executing.poll()
+        val batchResult = await(executingBatch)
+        state.query.addStatistics(batchResult.statistics)
+        batchResult.status match {
+          case rollback: Rollback if onErrorBehaviour == OnErrorFail =>
+            executingBatch.batch.close()
+            awaitExecutingBatches(rollback.failure)
+            throw rollback.failure
+          case _ =>
+            (executingBatch.batch, transactionResult(batchResult))
+        }
+      }
+    }
+
+    override protected[this] def closeMore(): Unit = {
+      failed = true
+      try {
+        awaitExecutingBatches(null)
+      } finally {
+        batches.close()
+      }
+    }
+
+    private def startBatches(): Unit = {
+      while (!failed && executing.size() < concurrency && batches.hasNext) {
+        val batch = batches.next()
+        // Ensure that no write happens before a 'CALL { ... } IN TRANSACTIONS'
+        assertTransactionStateIsEmpty(state)
+        val entityTransformer = new CypherRowEntityTransformer(state.query.entityTransformer)
+        val task = new BatchTask(batch, () => executeBatch(batch, entityTransformer))
+        executing.add(new ExecutingBatch(task, executor.submit(task)))
+      }
+    }
+
+    private def executeBatch(
+      batch: EagerBuffer[CypherRow],
+      entityTransformer: CypherRowEntityTransformer
+    ): BatchResult = {
+      // The transaction is begun on the thread that executes the batch, so that it is only ever used by that thread
+      val workerState = state.withNewConcurrentTransaction()
+      // The statistics of the query are not thread-safe, they are added by the thread executing the query
+      var statistics = QueryStatistics()
+      val rows = new ArrayBuffer[CypherRow]()
+      val status =
+        createInnerResultsInTransaction(inner, state, workerState, batch, s => statistics = statistics + s) {
+          innerRow =>
+            if (keepResults) {
+              // Row based caching relies on the transaction state to avoid stale reads (see AbstractCachedProperty.apply).
+              // Since we do not share the transaction state we must clear the cached properties.
+              innerRow.invalidateCachedProperties()
+              rows += entityTransformer.copyWithEntityWrappingValuesRebound(innerRow)
+            }
+        }
+      if (status.isInstanceOf[Rollback] && onErrorBehaviour != OnErrorContinue) {
+        failed = true
+      }
+      BatchResult(status, statistics, rows)
+    }
+
+    /**
+     * Waits for the result of a batch, or executes the batch on this thread if no worker has started it yet.
+     */
+    private def await(executingBatch: ExecutingBatch): BatchResult = {
+      try {
+        if (executingBatch.task.claim()) {
+          executingBatch.task.execute()
+        } else {
+          executingBatch.result.get()
+        }
+      } catch {
+        case e: Throwable =>
+          executingBatch.batch.close()
+          val failure = e match {
+            case e: ExecutionException => e.getCause
+            case e                     => e
+          }
+          failed = true
+          awaitExecutingBatches(failure)
+          throw failure
+      }
+    }
+
+    /**
+     * Waits for all executing batches and closes them, discarding their results. Batches that no worker has started
+     * yet are never started. Errors of the batches are added as suppressed to the given failure, or, if there is none,
+     * the first of them is thrown once all batches are done.
+     */
+    private def awaitExecutingBatches(failure: Throwable): Unit = {
+      var error = failure
+      while (!executing.isEmpty) {
+        val executingBatch = executing.poll()
+        try {
+          if (!executingBatch.task.claim()) {
+            executingBatch.result.get()
+          }
+        } catch {
+          case e: ExecutionException =>
+            if (error == null) error = e.getCause else error.addSuppressed(e.getCause)
+        } finally {
+          executingBatch.batch.close()
+        }
+      }
+      if (failure == null && error != null) {
+        throw error
+      }
+    }
+
+    private def transactionResult(batchResult: BatchResult): TransactionResult = batchResult.status match {
+      case commit: Commit if keepResults =>
+        val initialChunkSize = math.min(math.max(batchResult.rows.size, 1), 1024)
+        val innerResult = createEagerBuffer[CypherRow](memoryTracker, initialChunkSize)
+        batchResult.rows.foreach(innerResult.add)
+        TransactionResult(commit, Some(innerResult))
+      case status =>
+        TransactionResult(status, None)
+    }
+  }
+}
+
+object ConcurrentTransactions {
+
+  case class BatchResult(status: TransactionStatus, statistics: QueryStatistics, rows: collection.Seq[CypherRow])
+
+  /**
+   * Converts the concurrency of a transactional subquery plan, `None` meaning that the transactions are serial.
+   */
+  def concurrencyExpression(
+    concurrency: TransactionConcurrency,
+    convert: expressions.Expression => Expression
+  ): Option[Expression] = concurrency match {
+    case TransactionConcurrency.Serial                 => None
+    case TransactionConcurrency.Concurrent(Some(expr)) => Some(convert(expr))
+    case TransactionConcurrency.Concurrent(None)       => Some(Literal(Values.intValue(defaultConcurrency)))
+  }
+
+  /**
+   * Evaluates the number of batches to execute at the same time, if the transactions should be concurrent.
+   */
+  def evaluateConcurrency(concurrency: Option[Expression], state: QueryState): Option[Int] =
+    concurrency.map(c =>
+      PipeHelper.evaluateStaticLongOrThrow(c, _ > 0, state, "IN ... CONCURRENT", " Must be a positive integer.").toInt
+    )
+
+  /**
+   * Transactions are executed serially when they are profiled, since the profiling of a query is not thread-safe.
+   */
+  def canExecuteConcurrently(concurrency: Int, state: QueryState): Boolean =
+    concurrency > 1 && (state.decorator eq NullPipeDecorator)
+
+  /**
+   * The number of transactions to execute at the same time for `IN CONCURRENT TRANSACTIONS` without a number.
+   */
+  def defaultConcurrency: Int = Runtime.getRuntime.availableProcessors()
+}
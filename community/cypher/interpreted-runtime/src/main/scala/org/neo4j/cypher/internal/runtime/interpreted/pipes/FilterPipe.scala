@@ -25,11 +25,21 @@ import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Expres
 import org.neo4j.cypher.internal.util.attribution.Id
 import org.neo4j.values.storable.Values
 
-case class FilterPipe(source: Pipe, predicate: Expression)(val id: Id = Id.INVALID_ID) extends PipeWithSource(source) {
+case class FilterPipe(source: Pipe, predicate: Expression)(val id: Id = Id.INVALID_ID)
+    extends BatchedPipeWithSource(source) {
 
   protected def internalCreateResults(
     input: ClosingIterator[CypherRow],
     state: QueryState
   ): ClosingIterator[CypherRow] =
     input.filter(ctx => predicate(ctx, state) eq Values.TRUE)
+
+  override protected def internalCreateBatches(
+    input: ClosingIterator[RowBatch],
+    state: QueryState
+  ): ClosingIterator[RowBatch] =
+    input.filter { batch =>
+      batch.retain(ctx => predicate(ctx, state) eq Values.TRUE)
+      !batch.isEmpty
+    }
 }
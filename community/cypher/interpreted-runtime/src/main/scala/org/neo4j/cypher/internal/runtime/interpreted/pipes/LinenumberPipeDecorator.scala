@@ -60,6 +60,10 @@ class LinenumberPipeDecorator(private var inner: PipeDecorator = NullPipeDecorat
 
   override def innerDecorator(owningPipe: Id): PipeDecorator = this
 
+  override def spilled(planId: Id, bytes: Long): Unit = inner.spilled(planId, bytes)
+
+  override def expandedFrontier(planId: Id, size: Long): Unit = inner.expandedFrontier(planId, size)
+
   override def afterCreateResults(planId: Id, state: QueryState): Unit = {
     inner.afterCreateResults(planId, state)
   }
@@ -87,6 +87,20 @@ trait PipeDecorator {
    */
   def decorateRoot(planId: Id, state: QueryState, iter: ClosingIterator[CypherRow]): ClosingIterator[CypherRow] = iter
 
+  /**
+   * Called by pipes that spill rows to temporary files, once for every file they write.
+   *
+   * @param bytes the number of bytes written to the file
+   */
+  def spilled(planId: Id, bytes: Long): Unit = {}
+
+  /**
+   * Called by pipes that search for paths level by level, once for every frontier they expand.
+   *
+   * @param size the number of nodes in the frontier
+   */
+  def expandedFrontier(planId: Id, size: Long): Unit = {}
+
   /**
    * Returns the inner decorator of this decorator. The inner decorator is used for nested expressions
    * where the `decorate` should refer to the parent pipe instead of the calling pipe.
@@ -27,7 +27,7 @@ import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Expres
 import org.neo4j.cypher.internal.util.attribution.Id
 
 case class ProjectionPipe(source: Pipe, projection: CommandProjection)(val id: Id = Id.INVALID_ID)
-    extends PipeWithSource(source) {
+    extends BatchedPipeWithSource(source) {
 
   protected def internalCreateResults(
     input: ClosingIterator[CypherRow],
@@ -43,6 +43,25 @@ case class ProjectionPipe(source: Pipe, projection: CommandProjection)(val id: I
       }
     }
   }
+
+  override protected def internalCreateBatches(
+    input: ClosingIterator[RowBatch],
+    state: QueryState
+  ): ClosingIterator[RowBatch] = {
+    if (projection.isEmpty)
+      input
+    else {
+      input.map {
+        batch =>
+          var i = 0
+          while (i < batch.size) {
+            projection.project(batch(i), state)
+            i += 1
+          }
+          batch
+      }
+    }
+  }
 }
 
 object ProjectionPipe {
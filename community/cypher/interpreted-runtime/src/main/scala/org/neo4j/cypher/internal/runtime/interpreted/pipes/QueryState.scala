@@ -41,6 +41,9 @@ import org.neo4j.internal.kernel.api.TokenReadSession
 import org.neo4j.kernel.api.KernelTransaction
 import org.neo4j.kernel.api.exceptions.Status
 import org.neo4j.kernel.impl.query.QuerySubscriber
+import org.neo4j.memory.MemoryTracker
+import org.neo4j.scheduler.CallableExecutor
+import org.neo4j.scheduler.Group
 import org.neo4j.values.AnyValue
 import org.neo4j.values.utils.InCache
 
@@ -87,6 +90,19 @@ class QueryState(
 
   def getStatistics: QueryStatistics = query.getOptStatistics.getOrElse(QueryState.defaultStatistics)
 
+  /**
+   * Executor for pipes that hand work to other threads. It is backed by the [[Group.CYPHER_WORKER]] pool of the
+   * job scheduler, which is bounded and shared by all queries.
+   */
+  def workerExecutor: CallableExecutor = query.transactionalContext.jobScheduler.executor(Group.CYPHER_WORKER)
+
+  /**
+   * Executor for the batches of `CALL { ... } IN CONCURRENT TRANSACTIONS`. It is backed by the
+   * [[Group.CYPHER_TRANSACTION_WORKER]] pool of the job scheduler, which is bounded and shared by all queries.
+   */
+  def transactionWorkerExecutor: CallableExecutor =
+    query.transactionalContext.jobScheduler.executor(Group.CYPHER_TRANSACTION_WORKER)
+
   def withDecorator(decorator: PipeDecorator): QueryState =
     new QueryState(
       query,
@@ -231,6 +247,42 @@ class QueryState(
     )
   }
 
+  /**
+   * Like [[withNewTransaction]], but for a transaction that is executed by another thread, concurrently with the other
+   * transactions of the query. The new state shares nothing with this state that is not thread-safe: it has its own
+   * expression variables and IN cache, it accounts memory on the memory tracker of the new transaction, and it is
+   * never profiled.
+   *
+   * Must be called by the thread executing the query.
+   */
+  def withNewConcurrentTransaction(): QueryState = {
+    val stateWithNewTransaction = withNewTransaction()
+    val newQuery = stateWithNewTransaction.query
+    new QueryState(
+      newQuery,
+      stateWithNewTransaction.resources,
+      params,
+      stateWithNewTransaction.cursors,
+      stateWithNewTransaction.queryIndexes,
+      selectivityTrackerStorage.newEmptyStorage(),
+      stateWithNewTransaction.nodeLabelTokenReadSession,
+      stateWithNewTransaction.relTypeTokenReadSession,
+      new Array[AnyValue](expressionVariables.length),
+      subscriber,
+      queryMemoryTracker,
+      new MemoryTrackerForOperatorProvider {
+        override def memoryTrackerForOperator(operatorId: Int): MemoryTracker =
+          newQuery.transactionalContext.memoryTracker
+      },
+      NullPipeDecorator,
+      initialContext,
+      createDefaultInCache(),
+      lenientCreateRelationship,
+      prePopulateResults,
+      input
+    )
+  }
+
   def setExecutionContextFactory(rowFactory: CypherRowFactory): Unit = {
     _rowFactory = rowFactory
   }
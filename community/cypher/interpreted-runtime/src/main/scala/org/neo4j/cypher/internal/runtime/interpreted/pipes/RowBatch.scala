@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.interpreted.pipes
+
+import org.neo4j.cypher.internal.runtime.ClosingIterator
+import org.neo4j.cypher.internal.runtime.CypherRow
+
+import java.util
+
+/**
+ * A fixed-capacity batch of rows, exchanged between [[BatchedPipe]]s instead of single rows.
+ *
+ * Batches are owned and reused by the iterator producing them. A consumer may modify a batch it has been handed, but
+ * the batch is only valid until the next call to `hasNext` or `next` on the iterator that produced it. The rows
+ * themselves are not reused.
+ *
+ * Batches hold rows rather than columns of primitive values, since the command expressions evaluated by the pipes read
+ * their arguments from rows. The gain of batching comes from fewer iterator calls per row and from cursors being reused
+ * across the rows of a batch, not from a columnar layout.
+ */
+final class RowBatch(val capacity: Int) {
+  private[this] val rows = new Array[CypherRow](capacity)
+  private[this] var _size = 0
+
+  def size: Int = _size
+
+  def isEmpty: Boolean = _size == 0
+
+  def isFull: Boolean = _size == capacity
+
+  def apply(i: Int): CypherRow = rows(i)
+
+  def add(row: CypherRow): Unit = {
+    rows(_size) = row
+    _size += 1
+  }
+
+  def clear(): Unit = {
+    util.Arrays.fill(rows.asInstanceOf[Array[AnyRef]], 0, _size, null)
+    _size = 0
+  }
+
+  /**
+   * Removes the rows that don't satisfy the predicate, keeping the order of the remaining rows.
+   */
+  def retain(predicate: CypherRow => Boolean): Unit = {
+    var read = 0
+    var write = 0
+    while (read < _size) {
+      val row = rows(read)
+      if (predicate(row)) {
+        rows(write) = row
+        write += 1
+      }
+      read += 1
+    }
+    util.Arrays.fill(rows.asInstanceOf[Array[AnyRef]], write, _size, null)
+    _size = write
+  }
+}
+
+object RowBatch {
+
+  /**
+   * The rows of the given batches, one at a time.
+   */
+  def rows(batches: ClosingIterator[RowBatch]): ClosingIterator[CypherRow] = new ClosingIterator[CypherRow] {
+    private[this] var batch: RowBatch = _
+    private[this] var index = 0
+
+    override protected[this] def innerHasNext: Boolean = {
+      while ((batch == null || index >= batch.size) && batches.hasNext) {
+        batch = batches.next()
+        index = 0
+      }
+      batch != null && index < batch.size
+    }
+
+    override def next(): CypherRow = {
+      if (!hasNext) {
+        Iterator.empty.next()
+      }
+      val row = batch(index)
+      index += 1
+      row
+    }
+
+    override protected[this] def closeMore(): Unit = batches.close()
+  }
+}
+
+/**
+ * Produces batches by filling a single, reused [[RowBatch]], and never produces empty batches.
+ */
+abstract class RowBatchIterator(capacity: Int) extends ClosingIterator[RowBatch] {
+  private[this] val output = new RowBatch(capacity)
+  private[this] var ready = false
+
+  /**
+   * Adds rows to the empty output batch until it is full or there are no more rows.
+   */
+  protected def fill(output: RowBatch): Unit
+
+  final override protected[this] def innerHasNext: Boolean = {
+    if (!ready) {
+      output.clear()
+      fill(output)
+      ready = !output.isEmpty
+    }
+    ready
+  }
+
+  final override def next(): RowBatch = {
+    if (!hasNext) {
+      Iterator.empty.next()
+    }
+    ready = false
+    output
+  }
+}
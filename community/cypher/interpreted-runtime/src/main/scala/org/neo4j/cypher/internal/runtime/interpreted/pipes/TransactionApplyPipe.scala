@@ -24,6 +24,8 @@ import org.neo4j.cypher.internal.runtime.ClosingIterator
 import org.neo4j.cypher.internal.runtime.ClosingIterator.JavaIteratorAsClosingIterator
 import org.neo4j.cypher.internal.runtime.CypherRow
 import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Expression
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.ConcurrentTransactions.canExecuteConcurrently
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.ConcurrentTransactions.evaluateConcurrency
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.TransactionForeachPipe.toStatusMap
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.TransactionPipeWrapper.evaluateBatchSize
 import org.neo4j.cypher.internal.util.attribution.Id
@@ -35,6 +37,7 @@ abstract class AbstractTransactionApplyPipe(
   source: Pipe,
   inner: Pipe,
   batchSize: Expression,
+  concurrency: Option[Expression],
   onErrorBehaviour: InTransactionsOnErrorBehaviour
 ) extends PipeWithSource(source) {
 
@@ -45,24 +48,34 @@ abstract class AbstractTransactionApplyPipe(
     input: ClosingIterator[CypherRow],
     state: QueryState
   ): ClosingIterator[CypherRow] = {
-    val innerPipeInTx = TransactionPipeWrapper(onErrorBehaviour, inner)
     val batchSizeLong = evaluateBatchSize(batchSize, state)
     val memoryTracker = state.memoryTrackerForOperatorProvider.memoryTrackerForOperator(id.x)
+    val batches = input.eagerGrouped(batchSizeLong, memoryTracker)
 
-    input
-      .eagerGrouped(batchSizeLong, memoryTracker)
-      .flatMap { batch =>
-        val innerResult = innerPipeInTx.createResults(state, batch, memoryTracker)
+    evaluateConcurrency(concurrency, state) match {
+      case Some(concurrencyInt) if canExecuteConcurrently(concurrencyInt, state) =>
+        new ConcurrentTransactions(inner, onErrorBehaviour, concurrencyInt, keepResults = true)
+          .execute(state, batches, memoryTracker)
+          .flatMap { case (batch, innerResult) => output(batch, innerResult, state) }
+      case _ =>
+        val innerPipeInTx = TransactionPipeWrapper(onErrorBehaviour, inner)
+        batches.flatMap(batch => output(batch, innerPipeInTx.createResults(state, batch, memoryTracker), state))
+    }
+  }
 
-        val output = innerResult.committedResults match {
-          case Some(result) =>
-            batch.close()
-            result.autoClosingIterator().asClosingIterator
-          case _ => nullRows(batch, state)
-        }
+  private def output(
+    batch: EagerBuffer[CypherRow],
+    innerResult: TransactionResult,
+    state: QueryState
+  ): ClosingIterator[CypherRow] = {
+    val output = innerResult.committedResults match {
+      case Some(result) =>
+        batch.close()
+        result.autoClosingIterator().asClosingIterator
+      case _ => nullRows(batch, state)
+    }
 
-        withStatus(output, innerResult.status)
-      }
+    withStatus(output, innerResult.status)
   }
 }
 
@@ -70,10 +83,12 @@ case class TransactionApplyPipe(
   source: Pipe,
   inner: Pipe,
   batchSize: Expression,
+  concurrency: Option[Expression],
   onErrorBehaviour: InTransactionsOnErrorBehaviour,
   nullableVariables: Set[String],
   statusVariableOpt: Option[String]
-)(val id: Id = Id.INVALID_ID) extends AbstractTransactionApplyPipe(source, inner, batchSize, onErrorBehaviour) {
+)(val id: Id = Id.INVALID_ID)
+    extends AbstractTransactionApplyPipe(source, inner, batchSize, concurrency, onErrorBehaviour) {
 
   private lazy val nullEntries: Seq[(String, AnyValue)] = {
     nullableVariables.toIndexedSeq.map(name => name -> Values.NO_VALUE)
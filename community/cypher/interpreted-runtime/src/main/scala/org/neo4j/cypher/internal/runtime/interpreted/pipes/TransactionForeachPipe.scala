@@ -24,9 +24,12 @@ import org.neo4j.cypher.internal.runtime.ClosingIterator
 import org.neo4j.cypher.internal.runtime.ClosingIterator.JavaIteratorAsClosingIterator
 import org.neo4j.cypher.internal.runtime.CypherRow
 import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Expression
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.ConcurrentTransactions.canExecuteConcurrently
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.ConcurrentTransactions.evaluateConcurrency
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.TransactionForeachPipe.toStatusMap
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.TransactionPipeWrapper.evaluateBatchSize
 import org.neo4j.cypher.internal.util.attribution.Id
+import org.neo4j.kernel.impl.util.collection.EagerBuffer
 import org.neo4j.values.AnyValue
 import org.neo4j.values.storable.NoValue.NO_VALUE
 import org.neo4j.values.storable.Values.booleanValue
@@ -38,6 +41,7 @@ abstract class AbstractTransactionForeachPipe(
   source: Pipe,
   inner: Pipe,
   batchSize: Expression,
+  concurrency: Option[Expression],
   onErrorBehaviour: InTransactionsOnErrorBehaviour
 ) extends PipeWithSource(source) {
 
@@ -47,29 +51,35 @@ abstract class AbstractTransactionForeachPipe(
     input: ClosingIterator[CypherRow],
     state: QueryState
   ): ClosingIterator[CypherRow] = {
-    val innerInTx = TransactionPipeWrapper(onErrorBehaviour, inner)
     val batchSizeLong = evaluateBatchSize(batchSize, state)
     val memoryTracker = state.memoryTrackerForOperatorProvider.memoryTrackerForOperator(id.x)
+    val batches = input.eagerGrouped(batchSizeLong, memoryTracker)
 
-    input
-      .eagerGrouped(batchSizeLong, memoryTracker)
-      .flatMap { batch =>
-        val status = innerInTx.consume(state, batch)
-        val output = batch.autoClosingIterator().asClosingIterator
-        withStatus(output, status)
-      }
+    evaluateConcurrency(concurrency, state) match {
+      case Some(concurrencyInt) if canExecuteConcurrently(concurrencyInt, state) =>
+        new ConcurrentTransactions(inner, onErrorBehaviour, concurrencyInt, keepResults = false)
+          .execute(state, batches, memoryTracker)
+          .flatMap { case (batch, result) => output(batch, result.status) }
+      case _ =>
+        val innerInTx = TransactionPipeWrapper(onErrorBehaviour, inner)
+        batches.flatMap(batch => output(batch, innerInTx.consume(state, batch)))
+    }
   }
+
+  private def output(batch: EagerBuffer[CypherRow], status: TransactionStatus): ClosingIterator[CypherRow] =
+    withStatus(batch.autoClosingIterator().asClosingIterator, status)
 }
 
 case class TransactionForeachPipe(
   source: Pipe,
   inner: Pipe,
   batchSize: Expression,
+  concurrency: Option[Expression],
   onErrorBehaviour: InTransactionsOnErrorBehaviour,
   statusVariableOpt: Option[String]
 )(
   val id: Id = Id.INVALID_ID
-) extends AbstractTransactionForeachPipe(source, inner, batchSize, onErrorBehaviour) {
+) extends AbstractTransactionForeachPipe(source, inner, batchSize, concurrency, onErrorBehaviour) {
 
   override protected def withStatus(
     output: ClosingIterator[CypherRow],
@@ -28,12 +28,10 @@ import org.neo4j.cypher.internal.runtime.ClosingIterator
 import org.neo4j.cypher.internal.runtime.CypherRow
 import org.neo4j.cypher.internal.runtime.EntityTransformer
 import org.neo4j.cypher.internal.runtime.QueryStatistics
-import org.neo4j.cypher.internal.runtime.QueryTransactionalContext
 import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Expression
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.TransactionPipeWrapper.CypherRowEntityTransformer
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.TransactionPipeWrapper.assertTransactionStateIsEmpty
-import org.neo4j.cypher.internal.runtime.interpreted.pipes.TransactionPipeWrapper.commitTransactionWithStatistics
-import org.neo4j.cypher.internal.runtime.interpreted.pipes.TransactionPipeWrapper.logError
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.TransactionPipeWrapper.createInnerResultsInTransaction
 import org.neo4j.exceptions.InternalException
 import org.neo4j.kernel.impl.util.collection.EagerBuffer
 import org.neo4j.kernel.impl.util.collection.EagerBuffer.createEagerBuffer
@@ -112,50 +110,7 @@ trait TransactionPipeWrapper {
 
     // beginTx()
     val stateWithNewTransaction = state.withNewTransaction()
-    state.query.addStatistics(QueryStatistics(transactionsStarted = 1))
-    val innerTxContext = stateWithNewTransaction.query.transactionalContext
-    val transactionId = innerTxContext.userTransactionId
-    val entityTransformer = new CypherRowEntityTransformer(stateWithNewTransaction.query.entityTransformer)
-
-    var innerIterator: ClosingIterator[CypherRow] = null
-    try {
-      val batchIterator = outerRows.iterator()
-      while (batchIterator.hasNext) {
-        val outerRow = batchIterator.next()
-
-        outerRow.invalidateCachedProperties()
-
-        val reboundRow = entityTransformer.copyWithEntityWrappingValuesRebound(outerRow)
-        val innerState = stateWithNewTransaction.withInitialContext(reboundRow)
-
-        innerIterator = inner.createResults(innerState)
-        innerIterator.foreach(f.apply) // Consume result before commit
-      }
-
-      state.query.addStatistics(stateWithNewTransaction.getStatistics)
-      commitTransactionWithStatistics(innerTxContext, state)
-      Commit(transactionId)
-    } catch {
-      case RecoverableCypherError(e) =>
-        logError(state, transactionId, e)
-
-        Try(Option(innerIterator).foreach(_.close()))
-          .failed
-          .foreach(e.addSuppressed)
-
-        try {
-          state.query.addStatistics(QueryStatistics(transactionsRolledBack = 1))
-          innerTxContext.rollback()
-        } catch {
-          case NonFatal(rollbackException) =>
-            e.addSuppressed(rollbackException)
-            throw e
-        }
-        Rollback(transactionId, e)
-    } finally {
-      innerTxContext.close()
-      stateWithNewTransaction.close()
-    }
+    createInnerResultsInTransaction(inner, state, stateWithNewTransaction, outerRows, state.query.addStatistics)(f)
   }
 }
 
@@ -251,14 +206,68 @@ object TransactionPipeWrapper {
       throw new InternalException("Expected transaction state to be empty when calling transactional subquery.")
   }
 
-  private def commitTransactionWithStatistics(
-    innerTxContext: QueryTransactionalContext,
-    outerQueryState: QueryState
-  ): Unit = {
-    innerTxContext.commitTransaction()
+  /**
+   * Evaluates inner pipe in a transaction that has been begun, and commits or rolls back that transaction.
+   *
+   * @param inner the pipe to evaluate
+   * @param state outer query state
+   * @param stateWithNewTransaction query state of the new transaction, will be closed by this method
+   * @param outerRows buffered outer rows, will not be closed by this method
+   * @param addStatistics called with the statistics of the transaction
+   * @param f function to apply to inner rows
+   */
+  def createInnerResultsInTransaction(
+    inner: Pipe,
+    state: QueryState,
+    stateWithNewTransaction: QueryState,
+    outerRows: EagerBuffer[CypherRow], // Should not be closed
+    addStatistics: QueryStatistics => Unit
+  )(f: CypherRow => Unit): TransactionStatus = {
+    addStatistics(QueryStatistics(transactionsStarted = 1))
+    val innerTxContext = stateWithNewTransaction.query.transactionalContext
+    val transactionId = innerTxContext.userTransactionId
+    val entityTransformer = new CypherRowEntityTransformer(stateWithNewTransaction.query.entityTransformer)
+
+    var innerIterator: ClosingIterator[CypherRow] = null
+    try {
+      val batchIterator = outerRows.iterator()
+      while (batchIterator.hasNext) {
+        val outerRow = batchIterator.next()
+
+        outerRow.invalidateCachedProperties()
+
+        val reboundRow = entityTransformer.copyWithEntityWrappingValuesRebound(outerRow)
+        val innerState = stateWithNewTransaction.withInitialContext(reboundRow)
+
+        innerIterator = inner.createResults(innerState)
+        innerIterator.foreach(f.apply) // Consume result before commit
+      }
 
-    val executionStatistics = QueryStatistics(transactionsCommitted = 1)
-    outerQueryState.query.addStatistics(executionStatistics)
+      addStatistics(stateWithNewTransaction.getStatistics)
+      innerTxContext.commitTransaction()
+      addStatistics(QueryStatistics(transactionsCommitted = 1))
+      Commit(transactionId)
+    } catch {
+      case RecoverableCypherError(e) =>
+        logError(state, transactionId, e)
+
+        Try(Option(innerIterator).foreach(_.close()))
+          .failed
+          .foreach(e.addSuppressed)
+
+        try {
+          addStatistics(QueryStatistics(transactionsRolledBack = 1))
+          innerTxContext.rollback()
+        } catch {
+          case NonFatal(rollbackException) =>
+            e.addSuppressed(rollbackException)
+            throw e
+        }
+        Rollback(transactionId, e)
+    } finally {
+      innerTxContext.close()
+      stateWithNewTransaction.close()
+    }
   }
 
   private def logError(state: QueryState, innerTxId: String, t: Throwable): Unit = {
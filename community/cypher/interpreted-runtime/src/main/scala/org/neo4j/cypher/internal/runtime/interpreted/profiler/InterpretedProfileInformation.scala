@@ -37,7 +37,11 @@ class InterpretedProfileInformation extends QueryProfile {
     rows: Long,
     pageCacheHits: Long,
     pageCacheMisses: Long,
-    maxAllocatedMemory: Long
+    maxAllocatedMemory: Long,
+    override val spills: Long = OperatorProfile.NO_DATA,
+    override val spilledBytes: Long = OperatorProfile.NO_DATA,
+    override val frontierNodes: Long = OperatorProfile.NO_DATA,
+    override val maxFrontierSize: Long = OperatorProfile.NO_DATA
   ) extends OperatorProfile {
 
     override def time: Long = OperatorProfile.NO_DATA
@@ -62,6 +66,8 @@ class InterpretedProfileInformation extends QueryProfile {
   }
 
   val pageCacheMap: mutable.Map[Id, PageCacheStats] = mutable.Map.empty.withDefault(_ => PageCacheStats(0, 0))
+  val spillMap: mutable.Map[Id, SpillStats] = mutable.Map.empty.withDefault(_ => SpillStats(0, 0))
+  val frontierMap: mutable.Map[Id, FrontierStats] = mutable.Map.empty.withDefault(_ => FrontierStats(0, 0))
   val dbHitsMap: mutable.Map[Id, Counter] = mutable.Map.empty
   val rowMap: mutable.Map[Id, ProfilingIterator] = mutable.Map.empty
 
@@ -78,7 +84,20 @@ class InterpretedProfileInformation extends QueryProfile {
     val maxMemoryAllocated =
       MemoryTrackerForOperatorProvider.memoryAsProfileData(memoryTracker.heapHighWaterMarkOfOperator(operatorId))
 
-    OperatorData(dbHits, rows, pageCacheStats.hits, pageCacheStats.misses, maxMemoryAllocated)
+    val spillStats = spillMap.get(id)
+    val frontierStats = frontierMap.get(id)
+
+    OperatorData(
+      dbHits,
+      rows,
+      pageCacheStats.hits,
+      pageCacheStats.misses,
+      maxMemoryAllocated,
+      spillStats.map(_.spills).getOrElse(OperatorProfile.NO_DATA),
+      spillStats.map(_.bytes).getOrElse(OperatorProfile.NO_DATA),
+      frontierStats.map(_.nodes).getOrElse(OperatorProfile.NO_DATA),
+      frontierStats.map(_.maxSize).getOrElse(OperatorProfile.NO_DATA)
+    )
   }
 
   def snapshot: InterpretedProfileInformationSnapshot = {
@@ -110,3 +129,17 @@ case class PageCacheStats(hits: Long, misses: Long) {
     PageCacheStats(this.hits + other.hits, this.misses + other.misses)
   }
 }
+
+case class SpillStats(spills: Long, bytes: Long) {
+
+  def +(other: SpillStats): SpillStats = {
+    SpillStats(this.spills + other.spills, this.bytes + other.bytes)
+  }
+}
+
+case class FrontierStats(nodes: Long, maxSize: Long) {
+
+  def +(other: FrontierStats): FrontierStats = {
+    FrontierStats(this.nodes + other.nodes, math.max(this.maxSize, other.maxSize))
+  }
+}
@@ -147,6 +147,14 @@ class Profiler(dbmsInfo: DbmsInfo, stats: InterpretedProfileInformation) extends
     }
   }
 
+  override def spilled(planId: Id, bytes: Long): Unit = {
+    stats.spillMap(planId) += SpillStats(1, bytes)
+  }
+
+  override def expandedFrontier(planId: Id, size: Long): Unit = {
+    stats.frontierMap(planId) += FrontierStats(size, size)
+  }
+
   private def trackPageCacheStats = {
     dbmsInfo.edition != Edition.COMMUNITY
   }
@@ -163,6 +171,12 @@ class Profiler(dbmsInfo: DbmsInfo, stats: InterpretedProfileInformation) extends
 
     override def afterCreateResults(planId: Id, state: QueryState): Unit =
       outerProfiler.afterCreateResults(outerPlanId, state)
+
+    override def spilled(planId: Id, bytes: Long): Unit =
+      outerProfiler.spilled(outerPlanId, bytes)
+
+    override def expandedFrontier(planId: Id, size: Long): Unit =
+      outerProfiler.expandedFrontier(outerPlanId, size)
   }
 }
 
@@ -29,16 +29,28 @@ import org.neo4j.configuration.GraphDatabaseSettings
 import org.neo4j.csv.reader.Readables
 import org.neo4j.cypher.internal.runtime.CreateTempFileTestSupport
 import org.neo4j.cypher.internal.runtime.QueryContext
+import org.neo4j.cypher.internal.runtime.QueryTransactionalContext
 import org.neo4j.cypher.internal.runtime.ResourceManager
 import org.neo4j.cypher.internal.runtime.interpreted.CSVResources.DEFAULT_BUFFER_SIZE
 import org.neo4j.cypher.internal.util.test_helpers.CypherFunSuite
+import org.neo4j.graphdb.TransactionTerminatedException
 import org.neo4j.internal.kernel.api.AutoCloseablePlus
+import org.neo4j.internal.kernel.api.security.SecurityContext
 import org.neo4j.io.fs.FileUtils
+import org.neo4j.kernel.api.exceptions.Status.Transaction.Terminated
+import org.neo4j.kernel.database.DatabaseIdFactory
+import org.neo4j.kernel.impl.scheduler.JobSchedulerFactory
+import org.neo4j.memory.LocalMemoryTracker
+import org.neo4j.memory.MemoryTracker
+import org.neo4j.scheduler.JobScheduler
 import org.neo4j.values.storable.TextValue
 
+import java.io.PipedReader
+import java.io.PipedWriter
 import java.net.URI
 import java.nio.charset.StandardCharsets
 import java.nio.file.Paths
+import java.util.UUID
 
 class CSVResourcesTest extends CypherFunSuite with CreateTempFileTestSupport {
 
@@ -46,15 +58,30 @@ class CSVResourcesTest extends CypherFunSuite with CreateTempFileTestSupport {
   var cleaner: ResourceManager = _
   var queryContext: QueryContext = _
   var config: Config = _
+  var transactionalContext: QueryTransactionalContext = _
+  var memoryTracker: MemoryTracker = _
+  var jobScheduler: JobScheduler = _
 
   override def beforeEach(): Unit = {
     cleaner = mock[ResourceManager]
     queryContext = mock[QueryContext]
     config = mock[Config]
+    transactionalContext = mock[QueryTransactionalContext]
+    memoryTracker = new LocalMemoryTracker()
+    jobScheduler = JobSchedulerFactory.createInitialisedScheduler()
 
     resources = new CSVResources(cleaner)
     when(queryContext.getConfig).thenReturn(config)
     when(config.get(GraphDatabaseSettings.allow_file_urls)).thenReturn(true)
+    when(queryContext.transactionalContext).thenReturn(transactionalContext)
+    when(transactionalContext.jobScheduler).thenReturn(jobScheduler)
+    when(transactionalContext.memoryTracker).thenReturn(memoryTracker)
+    when(transactionalContext.securityContext).thenReturn(SecurityContext.AUTH_DISABLED)
+    when(transactionalContext.databaseId).thenReturn(DatabaseIdFactory.from("neo4j", UUID.randomUUID()))
+  }
+
+  override def afterEach(): Unit = {
+    jobScheduler.shutdown()
   }
 
   test("should handle strings") {
@@ -326,4 +353,91 @@ class CSVResourcesTest extends CypherFunSuite with CreateTempFileTestSupport {
         r should equal(expected)
     }
   }
+
+  test("should return the rows of many batches in order") {
+    // given
+    val rowCount = ReadAheadCsvParser.MAX_ROWS_PER_BATCH * ReadAheadCsvParser.BATCHES_AHEAD * 3 + 1
+    val url = createCSVTempFileURL {
+      writer =>
+        (0 until rowCount).foreach(i => writer.println(s"$i,${i * 2}"))
+    }
+    when(queryContext.getImportDataConnection(any[URI])).thenAnswer((invocation: InvocationOnMock) =>
+      Readables.files(StandardCharsets.UTF_8, Paths.get(invocation.getArgument[URI](0)))
+    )
+
+    // when
+    val result: List[List[String]] = resources.getCsvIterator(
+      url,
+      queryContext,
+      None,
+      legacyCsvQuoteEscaping = false,
+      bufferSize = 1024
+    ).map(_.map(_.asInstanceOf[TextValue].stringValue).toList).toList
+
+    // then
+    result should equal((0 until rowCount).map(i => List(i.toString, (i * 2).toString)).toList)
+  }
+
+  test("should track the rows parsed ahead with the memory tracker") {
+    // given
+    val rowCount = ReadAheadCsvParser.MAX_ROWS_PER_BATCH * ReadAheadCsvParser.BATCHES_AHEAD * 3
+    val url = createCSVTempFileURL {
+      writer =>
+        (0 until rowCount).foreach(i => writer.println(s"$i,${i * 2}"))
+    }
+    when(queryContext.getImportDataConnection(any[URI])).thenAnswer((invocation: InvocationOnMock) =>
+      Readables.files(StandardCharsets.UTF_8, Paths.get(invocation.getArgument[URI](0)))
+    )
+
+    // when
+    val iterator =
+      resources.getCsvIterator(url, queryContext, None, legacyCsvQuoteEscaping = false, DEFAULT_BUFFER_SIZE)
+
+    // then
+    memoryTracker.estimatedHeapMemory() should be > 0L
+    iterator.size should equal(rowCount)
+    memoryTracker.estimatedHeapMemory() should equal(0L)
+  }
+
+  test("should release the rows parsed ahead when closed") {
+    // given
+    val rowCount = ReadAheadCsvParser.MAX_ROWS_PER_BATCH * ReadAheadCsvParser.BATCHES_AHEAD * 3
+    val url = createCSVTempFileURL {
+      writer =>
+        (0 until rowCount).foreach(i => writer.println(s"$i,${i * 2}"))
+    }
+    when(queryContext.getImportDataConnection(any[URI])).thenAnswer((invocation: InvocationOnMock) =>
+      Readables.files(StandardCharsets.UTF_8, Paths.get(invocation.getArgument[URI](0)))
+    )
+    val iterator =
+      resources.getCsvIterator(url, queryContext, None, legacyCsvQuoteEscaping = false, DEFAULT_BUFFER_SIZE)
+    iterator.next()
+
+    // when
+    iterator.close()
+
+    // then
+    memoryTracker.estimatedHeapMemory() should equal(0L)
+  }
+
+  test("should stop waiting for rows when the transaction is terminated") {
+    // given
+    val writer = new PipedWriter()
+    val reader = new PipedReader(writer)
+    when(queryContext.getImportDataConnection(any[URI])).thenReturn(Readables.wrap(reader, Long.MaxValue))
+    when(transactionalContext.assertTransactionOpen()).thenThrow(new TransactionTerminatedException(Terminated))
+
+    try {
+      // when
+      val e = intercept[TransactionTerminatedException](
+        resources.getCsvIterator("file:///waiting.csv", queryContext, None, legacyCsvQuoteEscaping = false, 1024)
+      )
+
+      // then
+      e.status() should equal(Terminated)
+    } finally {
+      // Lets the parsing job read to the end of the file
+      writer.close()
+    }
+  }
 }
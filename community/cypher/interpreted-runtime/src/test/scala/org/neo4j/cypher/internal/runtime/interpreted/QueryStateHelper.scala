@@ -37,6 +37,7 @@ import org.neo4j.cypher.internal.runtime.interpreted.pipes.ExternalCSVResource
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.NullPipeDecorator
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.PipeDecorator
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.QueryState
+import org.neo4j.cypher.internal.runtime.memory.MemoryTrackerForOperatorProvider
 import org.neo4j.cypher.internal.runtime.memory.NoOpMemoryTrackerForOperatorProvider
 import org.neo4j.cypher.internal.runtime.memory.NoOpQueryMemoryTracker
 import org.neo4j.graphdb.Node
@@ -83,7 +84,8 @@ object QueryStateHelper extends MockitoSugar {
     subscriber: QuerySubscriber = QuerySubscriber.DO_NOTHING_SUBSCRIBER,
     decorator: PipeDecorator = NullPipeDecorator,
     initialContext: Option[CypherRow] = None,
-    input: InputDataStream = NoInput
+    input: InputDataStream = NoInput,
+    memoryTrackerForOperatorProvider: MemoryTrackerForOperatorProvider = NoOpMemoryTrackerForOperatorProvider
   ): QueryState =
     new QueryState(
       query,
@@ -97,7 +99,7 @@ object QueryStateHelper extends MockitoSugar {
       expressionVariables,
       subscriber,
       NoOpQueryMemoryTracker,
-      NoOpMemoryTrackerForOperatorProvider,
+      memoryTrackerForOperatorProvider,
       decorator = decorator,
       initialContext = initialContext,
       input = input
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.interpreted.pipes
+
+import org.neo4j.cypher.internal.runtime.ClosingIterator
+import org.neo4j.cypher.internal.runtime.CypherRow
+import org.neo4j.cypher.internal.runtime.interpreted.QueryStateHelper
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Add
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Literal
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Variable
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.LessThan
+import org.neo4j.cypher.internal.util.attribution.Id
+import org.neo4j.cypher.internal.util.test_helpers.CypherFunSuite
+import org.neo4j.values.storable.Values.intValue
+
+class BatchedPipeTest extends CypherFunSuite {
+
+  test("should filter and project batches") {
+    val source = FakeBatchedPipe(0 until 10, batchSize = 4)
+    val filter = FilterPipe(source, LessThan(Variable("a"), Literal(intValue(6))))()
+    val pipe = ProjectionPipe(filter, Map("b" -> Add(Variable("a"), Literal(intValue(1)))))
+
+    val result = pipe.createResults(QueryStateHelper.emptyWithValueSerialization).map(_.getByName("b")).toList
+
+    result should equal((1 to 6).map(intValue))
+    source.createdBatches shouldBe 1
+  }
+
+  test("should not produce empty batches") {
+    val source = FakeBatchedPipe(0 until 10, batchSize = 2)
+    val filter = FilterPipe(source, LessThan(Literal(intValue(8)), Variable("a")))()
+
+    val sizes = filter.createBatches(QueryStateHelper.emptyWithValueSerialization).map(_.size).toList
+
+    sizes should equal(List(1))
+  }
+
+  test("should execute row at a time if the source does not produce batches") {
+    val source = new FakePipe(Seq(Map("a" -> 10), Map("a" -> 11)))
+    val pipe = FilterPipe(source, LessThan(Variable("a"), Literal(intValue(11))))()
+
+    pipe.batchSize shouldBe 0
+    pipe.createResults(QueryStateHelper.emptyWithValueSerialization).map(_.getByName("a")).toList should equal(
+      List(intValue(10))
+    )
+  }
+
+  test("should retain rows in order") {
+    val batch = new RowBatch(5)
+    (0 until 5).foreach(i => batch.add(CypherRow.from("a" -> intValue(i))))
+
+    batch.retain(_.getByName("a") != intValue(2))
+
+    batch.size shouldBe 4
+    (0 until batch.size).map(batch(_).getByName("a")) should equal(Seq(0, 1, 3, 4).map(intValue))
+  }
+}
+
+case class FakeBatchedPipe(values: Seq[Int], batchSize: Int) extends BatchedPipe {
+
+  var createdBatches = 0
+
+  override def createBatches(state: QueryState): ClosingIterator[RowBatch] = {
+    createdBatches += 1
+    val rows = values.iterator.map(v => CypherRow.from("a" -> intValue(v)))
+    new RowBatchIterator(batchSize) {
+      override protected def fill(output: RowBatch): Unit =
+        while (!output.isFull && rows.hasNext) output.add(rows.next())
+
+      override protected[this] def closeMore(): Unit = ()
+    }
+  }
+
+  override protected def internalCreateResults(state: QueryState): ClosingIterator[CypherRow] =
+    RowBatch.rows(createBatches(state))
+
+  override val id: Id = Id.INVALID_ID
+}
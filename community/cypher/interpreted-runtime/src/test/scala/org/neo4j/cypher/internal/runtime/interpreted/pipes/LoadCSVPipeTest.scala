@@ -31,6 +31,8 @@ import org.neo4j.cypher.internal.runtime.interpreted.CSVResources
 import org.neo4j.cypher.internal.runtime.interpreted.QueryStateHelper
 import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Literal
 import org.neo4j.cypher.internal.util.test_helpers.CypherFunSuite
+import org.neo4j.kernel.impl.scheduler.JobSchedulerFactory
+import org.neo4j.scheduler.JobScheduler
 import org.neo4j.values.storable.Values
 
 import java.net.URI
@@ -39,6 +41,16 @@ import java.nio.file.Paths
 
 class LoadCSVPipeTest extends CypherFunSuite {
 
+  var jobScheduler: JobScheduler = _
+
+  override def beforeEach(): Unit = {
+    jobScheduler = JobSchedulerFactory.createInitialisedScheduler()
+  }
+
+  override def afterEach(): Unit = {
+    jobScheduler.shutdown()
+  }
+
   test("with headers: close should close seeker") {
     val monitor = QueryStateHelper.trackClosedMonitor
     val resourceManager = new ResourceManager(monitor)
@@ -49,6 +61,7 @@ class LoadCSVPipeTest extends CypherFunSuite {
     when(state.query.getImportDataConnection(any[URI])).thenAnswer((invocation: InvocationOnMock) =>
       Readables.files(StandardCharsets.UTF_8, Paths.get(invocation.getArgument[URI](0)))
     )
+    when(state.query.transactionalContext.jobScheduler).thenReturn(jobScheduler)
 
     val input = new FakePipe(Seq(Map("x" -> 0), Map("x" -> 1)))
     val csv = classOf[LoadCSVPipeTest].getResource("/load.csv")
@@ -78,6 +91,7 @@ class LoadCSVPipeTest extends CypherFunSuite {
     when(state.query.getImportDataConnection(any[URI])).thenAnswer((invocation: InvocationOnMock) =>
       Readables.files(StandardCharsets.UTF_8, Paths.get(invocation.getArgument[URI](0)))
     )
+    when(state.query.transactionalContext.jobScheduler).thenReturn(jobScheduler)
 
     val input = new FakePipe(Seq(
       Map("x" -> 0),
@@ -116,6 +130,7 @@ class LoadCSVPipeTest extends CypherFunSuite {
     when(state.query.getImportDataConnection(any[URI])).thenAnswer((invocation: InvocationOnMock) =>
       Readables.files(StandardCharsets.UTF_8, Paths.get(invocation.getArgument[URI](0)))
     )
+    when(state.query.transactionalContext.jobScheduler).thenReturn(jobScheduler)
 
     val input = new FakePipe(Seq(Map("x" -> 0), Map("x" -> 1)))
     val csv = classOf[LoadCSVPipeTest].getResource("/load-no-headers.csv")
@@ -145,6 +160,7 @@ class LoadCSVPipeTest extends CypherFunSuite {
     when(state.query.getImportDataConnection(any[URI])).thenAnswer((invocation: InvocationOnMock) =>
       Readables.files(StandardCharsets.UTF_8, Paths.get(invocation.getArgument[URI](0)))
     )
+    when(state.query.transactionalContext.jobScheduler).thenReturn(jobScheduler)
 
     val input = new FakePipe(Seq(
       Map("x" -> 0),
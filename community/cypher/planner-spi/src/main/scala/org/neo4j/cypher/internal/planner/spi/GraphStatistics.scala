@@ -70,6 +70,21 @@ trait GraphStatistics {
    * indexPropertyExistsSelectivity(:X, prop) = s => |MATCH (a:X)| * s = |MATCH (a:X) WHERE x.prop IS NOT NULL|
    */
   def indexPropertyIsNotNullSelectivity(index: IndexDescriptor): Option[Selectivity]
+
+  /**
+   * Probability of any node or relationship in the index to have a numeric property value within the given range,
+   * estimated from the value histogram of the index. Use infinite bounds for an open range.
+   *
+   * indexRangeSelectivity(:X, prop, 1, true, 5, false) = s =>
+   *   |MATCH (a:X) WHERE x.prop IS NOT NULL| * s = |MATCH (a:X) WHERE 1 <= x.prop < 5|
+   */
+  def indexRangeSelectivity(
+    index: IndexDescriptor,
+    from: Double,
+    fromInclusive: Boolean,
+    to: Double,
+    toInclusive: Boolean
+  ): Option[Selectivity] = None
 }
 
 class DelegatingGraphStatistics(delegate: GraphStatistics) extends GraphStatistics {
@@ -90,6 +105,15 @@ class DelegatingGraphStatistics(delegate: GraphStatistics) extends GraphStatisti
   override def indexPropertyIsNotNullSelectivity(index: IndexDescriptor): Option[Selectivity] =
     delegate.indexPropertyIsNotNullSelectivity(index)
 
+  override def indexRangeSelectivity(
+    index: IndexDescriptor,
+    from: Double,
+    fromInclusive: Boolean,
+    to: Double,
+    toInclusive: Boolean
+  ): Option[Selectivity] =
+    delegate.indexRangeSelectivity(index, from, fromInclusive, to, toInclusive)
+
   override def nodesAllCardinality(): Cardinality = delegate.nodesAllCardinality()
 
   override def mostCommonLabelGivenRelationshipType(typ: Int): Seq[Int] =
@@ -41,6 +41,14 @@ case class CardinalityByLabelsAndRelationshipType(
 case class IndexSelectivity(index: IndexDescriptor) extends StatisticsKey
 case class IndexPropertyExistsSelectivity(index: IndexDescriptor) extends StatisticsKey
 
+case class IndexRangeSelectivity(
+  index: IndexDescriptor,
+  from: Double,
+  fromInclusive: Boolean,
+  to: Double,
+  toInclusive: Boolean
+) extends StatisticsKey
+
 class MutableGraphStatisticsSnapshot(val map: mutable.Map[StatisticsKey, Double] = mutable.Map.empty) {
   def freeze: GraphStatisticsSnapshot = GraphStatisticsSnapshot(map.toMap)
 }
@@ -63,6 +71,8 @@ case class GraphStatisticsSnapshot(statsValues: Map[StatisticsKey, Double] = Map
         instrumented.uniqueValueSelectivity(index)
       case IndexPropertyExistsSelectivity(index) =>
         instrumented.indexPropertyIsNotNullSelectivity(index)
+      case IndexRangeSelectivity(index, from, fromInclusive, to, toInclusive) =>
+        instrumented.indexRangeSelectivity(index, from, fromInclusive, to, toInclusive)
     }
     snapshot.freeze
   }
@@ -111,6 +121,21 @@ case class InstrumentedGraphStatistics(inner: GraphStatistics, snapshot: Mutable
     selectivity
   }
 
+  override def indexRangeSelectivity(
+    index: IndexDescriptor,
+    from: Double,
+    fromInclusive: Boolean,
+    to: Double,
+    toInclusive: Boolean
+  ): Option[Selectivity] = {
+    val selectivity = inner.indexRangeSelectivity(index, from, fromInclusive, to, toInclusive)
+    snapshot.map.getOrElseUpdate(
+      IndexRangeSelectivity(index, from, fromInclusive, to, toInclusive),
+      selectivity.fold(0.0)(_.factor)
+    )
+    selectivity
+  }
+
   override def nodesAllCardinality(): Cardinality =
     snapshot.map.getOrElseUpdate(NodesAllCardinality, inner.nodesAllCardinality().amount)
 
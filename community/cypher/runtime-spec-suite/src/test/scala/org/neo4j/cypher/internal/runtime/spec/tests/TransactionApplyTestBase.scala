@@ -1536,6 +1536,107 @@ abstract class TransactionApplyTestBase[CONTEXT <: RuntimeContext](
     result
   }
 
+  test("should return the results of concurrent transactions in the order of the batches") {
+    val rows = 40
+    // Earlier batches take longer, so that later batches tend to be done first
+    val calls = new AtomicInteger()
+    val slowerForEarlierBatches = new Probe {
+      override def onRow(row: AnyRef, state: AnyRef): Unit =
+        Thread.sleep(math.max(0, rows - calls.incrementAndGet()) / 4)
+    }
+
+    val query = new LogicalQueryBuilder(this)
+      .produceResults("i", "j")
+      .transactionApply(2, TransactionConcurrency.Concurrent(Some(literalInt(4))))
+      .|.prober(slowerForEarlierBatches)
+      .|.projection("i * 2 AS j")
+      .|.argument("i")
+      .unwind(s"range(0, ${rows - 1}) AS i")
+      .argument()
+      .build()
+
+    val result = execute(query, runtime)
+    result should beColumns("i", "j").withRows(inOrder((0 until rows).map(i => Array[Any](i, i * 2))))
+  }
+
+  test("should not execute more concurrent transactions than requested") {
+    val rows = 30
+    val concurrency = 3
+    val executing = new AtomicInteger()
+    val maxExecuting = new AtomicInteger()
+    val concurrencyProbe = new Probe {
+      override def onRow(row: AnyRef, state: AnyRef): Unit = {
+        val nowExecuting = executing.incrementAndGet()
+        maxExecuting.accumulateAndGet(nowExecuting, (a, b) => math.max(a, b))
+        Thread.sleep(5)
+        executing.decrementAndGet()
+      }
+    }
+
+    val query = new LogicalQueryBuilder(this)
+      .produceResults("i")
+      .transactionApply(1, TransactionConcurrency.Concurrent(Some(literalInt(concurrency))))
+      .|.prober(concurrencyProbe)
+      .|.argument("i")
+      .unwind(s"range(0, ${rows - 1}) AS i")
+      .argument()
+      .build()
+
+    val result = execute(query, runtime)
+    result should beColumns("i").withRows(inOrder((0 until rows).map(i => Array[Any](i))))
+    maxExecuting.get() should be <= concurrency
+  }
+
+  test("should fail with the error of the failing batch of concurrent transactions ON ERROR FAIL") {
+    val query = concurrentTransactionsWithFailingBatch(OnErrorFail)
+
+    val exception = intercept[Exception] {
+      consume(execute(query, runtime))
+    }
+    exception.getMessage should include("/ by zero")
+  }
+
+  test("should not start batches after the failing batch of concurrent transactions ON ERROR BREAK") {
+    val query = concurrentTransactionsWithFailingBatch(OnErrorBreak)
+
+    val result = execute(query, runtime)
+    val statuses = consume(result).map(row => (row(0), row(1), row(2)))
+
+    statuses.map(_._1) should equal((0 until 20).map(i => longValue(i)))
+    statuses.take(10).foreach { case (_, started, committed) =>
+      (started, committed) should equal((Values.TRUE, Values.TRUE))
+    }
+    (statuses(10)._2, statuses(10)._3) should equal((Values.TRUE, Values.FALSE))
+    // Batches that were already executing when the failing batch failed are not undone, later ones are not started
+    val afterFailure = statuses.drop(11).map { case (_, started, committed) => (started, committed) }
+    afterFailure.foreach(status => Seq((Values.TRUE, Values.TRUE), (Values.FALSE, Values.FALSE)) should contain(status))
+    afterFailure.dropWhile(_ == (Values.TRUE, Values.TRUE)).foreach(_ should equal((Values.FALSE, Values.FALSE)))
+  }
+
+  test("should execute all batches of concurrent transactions ON ERROR CONTINUE") {
+    val query = concurrentTransactionsWithFailingBatch(OnErrorContinue)
+
+    val result = execute(query, runtime)
+    val expected = (0 until 20).map(i => Array[Any](i, true, i != 10))
+    result should beColumns("i", "started", "committed").withRows(inOrder(expected))
+  }
+
+  private def concurrentTransactionsWithFailingBatch(onErrorBehaviour: InTransactionsOnErrorBehaviour): LogicalQuery =
+    new LogicalQueryBuilder(this)
+      .produceResults("i", "started", "committed")
+      .projection("status.started AS started", "status.committed AS committed")
+      .transactionApply(
+        1,
+        TransactionConcurrency.Concurrent(Some(literalInt(4))),
+        onErrorBehaviour,
+        maybeReportAs = Some("status")
+      )
+      .|.projection("1 / (i - 10) AS j")
+      .|.argument("i")
+      .unwind("range(0, 19) AS i")
+      .argument()
+      .build()
+
   protected def txAssertionProbe(assertion: InternalTransaction => Unit): Prober.Probe = {
     new Probe {
       override def onRow(row: AnyRef, state: AnyRef): Unit = {
@@ -56,6 +56,34 @@ public interface OperatorProfile {
      */
     long maxAllocatedMemory();
 
+    /**
+     * Number of times this operator spilled rows to temporary files.
+     */
+    default long spills() {
+        return NO_DATA;
+    }
+
+    /**
+     * Number of bytes this operator spilled to temporary files.
+     */
+    default long spilledBytes() {
+        return NO_DATA;
+    }
+
+    /**
+     * Total number of nodes in the frontiers this operator expanded while searching for paths.
+     */
+    default long frontierNodes() {
+        return NO_DATA;
+    }
+
+    /**
+     * Number of nodes in the largest frontier this operator expanded while searching for paths.
+     */
+    default long maxFrontierSize() {
+        return NO_DATA;
+    }
+
     long NO_DATA = -1L;
 
     OperatorProfile NONE = new ConstOperatorProfile(NO_DATA);
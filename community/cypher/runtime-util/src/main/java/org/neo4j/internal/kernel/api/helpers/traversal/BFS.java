@@ -65,7 +65,9 @@ abstract class BFS<STEPS> implements AutoCloseable {
     LongIterator intersectionIterator = null;
     final HeapTrackingLongObjectHashMap<STEPS> pathTraceData;
 
+    final Direction direction;
     final RelationshipTraversalCursorRetriever retriever;
+    ParallelFrontierExpansion parallelExpansion = null;
     boolean closed = false;
     final boolean needOnlyOnePath;
 
@@ -102,6 +104,7 @@ abstract class BFS<STEPS> implements AutoCloseable {
         this.currentDepth = 0;
         this.pathTraceData = HeapTrackingCollections.newLongObjectMap(memoryTracker, PATH_TRACE_DATA_INIT_CAPACITY);
 
+        this.direction = direction;
         this.retriever = switch (direction) {
             case OUTGOING -> RelationshipSelections::outgoingCursor;
             case INCOMING -> RelationshipSelections::incomingCursor;
@@ -116,6 +119,27 @@ abstract class BFS<STEPS> implements AutoCloseable {
         return pathTraceData.containsKey(nodeId);
     }
 
+    boolean shouldExpandInParallel() {
+        return parallelExpansion != null && parallelExpansion.shouldExpandInParallel(currentLevel.size());
+    }
+
+    /**
+     * Expands the current level with the workers of {@link #parallelExpansion}. The visited nodes are not changed by
+     * the workers, the returned candidates must be added to the next level by the caller.
+     *
+     * @param intersecting true for nodes which end the search, or null if the whole level should be expanded.
+     */
+    ParallelFrontierExpansion.Candidates expandInParallel(LongPredicate intersecting) {
+        return parallelExpansion.expand(
+                currentLevel.toArray(),
+                types,
+                direction,
+                retriever,
+                this::hasSeenNode,
+                intersecting,
+                memoryTracker);
+    }
+
     void resetWithStartNode(
             long startNodeId, LongPredicate nodeFilter, Predicate<RelationshipTraversalCursor> relFilter) {
         this.startNodeId = startNodeId;
@@ -236,18 +260,22 @@ abstract class BFS<STEPS> implements AutoCloseable {
             };
         }
 
-        private boolean addNodeToNextLevelIfQualifies(long currentNode, long foundNode) {
+        private boolean addNodeToNextLevelIfQualifies(long currentNode, long foundNode, long relId) {
             if (hasSeenNode(foundNode) || !nodeFilter.test(foundNode)) {
                 return false;
             }
 
             nextLevel.add(foundNode);
 
-            pathTraceData.put(foundNode, new PathTraceStep(selectionCursor.reference(), currentNode));
+            pathTraceData.put(foundNode, new PathTraceStep(relId, currentNode));
             return true;
         }
 
         private void populateNextLevelOrStopWhenFoundFirstIntersectionNode() {
+            if (shouldExpandInParallel()) {
+                populateNextLevelInParallelOrStopWhenFoundFirstIntersectionNode();
+                return;
+            }
             while (currentLevelItr.hasNext()) {
                 long currentNode = currentLevelItr.next();
                 read.singleNode(currentNode, nodeCursor);
@@ -258,7 +286,7 @@ abstract class BFS<STEPS> implements AutoCloseable {
                 while (selectionCursor.next()) {
                     if (relFilter.test(selectionCursor)) {
                         long foundNode = selectionCursor.otherNodeReference();
-                        if (addNodeToNextLevelIfQualifies(currentNode, foundNode)
+                        if (addNodeToNextLevelIfQualifies(currentNode, foundNode, selectionCursor.reference())
                                 && other.currentLevel.contains(foundNode)) {
                             this.foundIntersectionNode = foundNode;
                             return;
@@ -268,6 +296,21 @@ abstract class BFS<STEPS> implements AutoCloseable {
             }
         }
 
+        private void populateNextLevelInParallelOrStopWhenFoundFirstIntersectionNode() {
+            var otherLevel = other.currentLevel;
+            // The node filter is part of the predicate, so that the workers stop at the node this thread stops at
+            try (var candidates = expandInParallel(node -> otherLevel.contains(node) && nodeFilter.test(node))) {
+                while (candidates.next()) {
+                    long foundNode = candidates.foundNode();
+                    if (addNodeToNextLevelIfQualifies(candidates.previousNode(), foundNode, candidates.relationship())
+                            && otherLevel.contains(foundNode)) {
+                        this.foundIntersectionNode = foundNode;
+                        return;
+                    }
+                }
+            }
+        }
+
         private void advanceLevel() {
             var tmp = currentLevel;
             currentLevel = nextLevel;
@@ -316,7 +359,7 @@ abstract class BFS<STEPS> implements AutoCloseable {
                     HeapTrackingCollections.newArrayList(PATH_TRACE_DATA_INIT_CAPACITY, memoryTracker);
         }
 
-        boolean addNodeToNextLevelIfQualifies(long currentNode, long foundNode) {
+        boolean addNodeToNextLevelIfQualifies(long currentNode, long foundNode, long relId) {
             if (!hasSeenNode(foundNode) && nodeFilter.test(foundNode)) {
                 nextLevel.add(foundNode);
                 HeapTrackingArrayList<PathTraceStep> pathsToHere;
@@ -329,14 +372,14 @@ abstract class BFS<STEPS> implements AutoCloseable {
                     pathsToHere = HeapTrackingCollections.newArrayList(PATHS_TO_NODE_INIT_SIZE, memoryTracker);
                     availableArrayLists.add(pathsToHere);
                 }
-                pathsToHere.add(new PathTraceStep(selectionCursor.reference(), currentNode));
+                pathsToHere.add(new PathTraceStep(relId, currentNode));
                 pathTraceData.put(foundNode, pathsToHere);
                 return true;
 
             } else if (!needOnlyOnePath && nextLevel.contains(foundNode)) {
                 // foundNode has already been seen, but it was seen at this level with a different currentNode, so we
                 // have multiple shortest paths to foundNode from startNode.
-                pathTraceData.get(foundNode).add(new PathTraceStep(selectionCursor.reference(), currentNode));
+                pathTraceData.get(foundNode).add(new PathTraceStep(relId, currentNode));
                 return true;
             }
             return false;
@@ -385,6 +428,10 @@ abstract class BFS<STEPS> implements AutoCloseable {
         }
 
         private void fullyPopulateNextLevel() {
+            if (shouldExpandInParallel()) {
+                fullyPopulateNextLevelInParallel();
+                return;
+            }
             while (currentLevelItr.hasNext()) {
                 long currentNode = currentLevelItr.next();
                 read.singleNode(currentNode, nodeCursor);
@@ -395,12 +442,21 @@ abstract class BFS<STEPS> implements AutoCloseable {
                 while (selectionCursor.next()) {
                     if (relFilter.test(selectionCursor)) {
                         long foundNode = selectionCursor.otherNodeReference();
-                        addNodeToNextLevelIfQualifies(currentNode, foundNode);
+                        addNodeToNextLevelIfQualifies(currentNode, foundNode, selectionCursor.reference());
                     }
                 }
             }
         }
 
+        private void fullyPopulateNextLevelInParallel() {
+            try (var candidates = expandInParallel(null)) {
+                while (candidates.next()) {
+                    addNodeToNextLevelIfQualifies(
+                            candidates.previousNode(), candidates.foundNode(), candidates.relationship());
+                }
+            }
+        }
+
         private void advanceLevel() {
             var tmp = currentLevel;
             currentLevel = nextLevel;
@@ -474,7 +530,7 @@ abstract class BFS<STEPS> implements AutoCloseable {
                 while (selectionCursor.next()) {
                     if (relFilter.test(selectionCursor)) {
                         long foundNode = selectionCursor.otherNodeReference();
-                        if (addNodeToNextLevelIfQualifies(currentNode, foundNode)
+                        if (addNodeToNextLevelIfQualifies(currentNode, foundNode, selectionCursor.reference())
                                 && other.currentLevel.contains(foundNode)) {
                             this.foundIntersectionNode = foundNode;
                             return;
@@ -521,7 +577,7 @@ abstract class BFS<STEPS> implements AutoCloseable {
                 while (selectionCursor.next()) {
                     if (relFilter.test(selectionCursor)) {
                         long foundNode = selectionCursor.otherNodeReference();
-                        if (addNodeToNextLevelIfQualifies(currentNode, foundNode)
+                        if (addNodeToNextLevelIfQualifies(currentNode, foundNode, selectionCursor.reference())
                                 && other.currentLevel.contains(foundNode)) {
                             this.foundIntersectionNode = foundNode;
                             return State.FOUND_INTERSECTION;
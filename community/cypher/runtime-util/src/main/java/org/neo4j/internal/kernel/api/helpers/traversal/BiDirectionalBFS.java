@@ -20,6 +20,7 @@
 package org.neo4j.internal.kernel.api.helpers.traversal;
 
 import java.util.Iterator;
+import java.util.function.LongConsumer;
 import java.util.function.LongPredicate;
 import java.util.function.Predicate;
 import org.neo4j.graphdb.Direction;
@@ -291,4 +292,23 @@ public class BiDirectionalBFS implements AutoCloseable {
     public void setTracer(KernelReadTracer tracer) {
         inner.setTracer(tracer);
     }
+
+    /**
+     * Expand large frontiers on several threads, see {@link ParallelFrontierExpansion}. The workers don't evaluate
+     * relationship filters, so this must only be used when every relationship is accepted. Frontiers of a search for
+     * all shortest paths which stops as soon as the first intersection is found are always expanded on the calling
+     * thread, since such a search resumes the expansion of a level when more paths are requested.
+     *
+     * @param parallelExpansion the workers to expand frontiers with, or null to expand on the calling thread only.
+     */
+    public void setParallelExpansion(ParallelFrontierExpansion parallelExpansion) {
+        inner.setParallelExpansion(parallelExpansion);
+    }
+
+    /**
+     * @param frontierListener called with the number of nodes of every frontier, before it is expanded.
+     */
+    public void setFrontierListener(LongConsumer frontierListener) {
+        inner.frontierListener = frontierListener;
+    }
 }
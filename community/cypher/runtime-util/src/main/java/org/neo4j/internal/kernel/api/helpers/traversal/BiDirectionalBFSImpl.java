@@ -20,6 +20,7 @@
 package org.neo4j.internal.kernel.api.helpers.traversal;
 
 import java.util.Iterator;
+import java.util.function.LongConsumer;
 import java.util.function.LongPredicate;
 import java.util.function.Predicate;
 import org.eclipse.collections.api.iterator.LongIterator;
@@ -73,6 +74,7 @@ abstract class BiDirectionalBFSImpl<STEPS> implements AutoCloseable {
     final BFS<STEPS> sourceBFS;
     final BFS<STEPS> targetBFS;
     State algorithmState;
+    LongConsumer frontierListener = size -> {};
 
     private final boolean allowZeroLength;
     final Direction direction;
@@ -189,6 +191,7 @@ abstract class BiDirectionalBFSImpl<STEPS> implements AutoCloseable {
                 algorithmState = State.REACHED_MAX_DEPTH;
             } else {
                 bfsToAdvance = pickBFSWithSmallestCurrentLevelSet(sourceBFS, targetBFS);
+                frontierListener.accept(bfsToAdvance.currentLevel.size());
                 algorithmState = bfsToAdvance.searchForIntersectionInNextLevel();
             }
         }
@@ -215,6 +218,11 @@ abstract class BiDirectionalBFSImpl<STEPS> implements AutoCloseable {
         targetBFS.setTracer(tracer);
     }
 
+    void setParallelExpansion(ParallelFrontierExpansion parallelExpansion) {
+        sourceBFS.parallelExpansion = parallelExpansion;
+        targetBFS.parallelExpansion = parallelExpansion;
+    }
+
     static class SinglePathBiDirectionalBFS extends BiDirectionalBFSImpl<PathTraceStep> {
         SinglePathBiDirectionalBFS(
                 long sourceNodeId,
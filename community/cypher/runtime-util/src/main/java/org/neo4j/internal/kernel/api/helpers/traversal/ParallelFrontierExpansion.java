@@ -0,0 +1,461 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.kernel.api.helpers.traversal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongPredicate;
+import org.neo4j.exceptions.EntityNotFoundException;
+import org.neo4j.graphdb.Direction;
+import org.neo4j.internal.kernel.api.NodeCursor;
+import org.neo4j.internal.kernel.api.Read;
+import org.neo4j.internal.kernel.api.RelationshipTraversalCursor;
+import org.neo4j.memory.MemoryTracker;
+import org.neo4j.scheduler.CallableExecutor;
+import org.neo4j.storageengine.api.RelationshipSelection;
+
+/**
+ * Expands the frontier of a {@link BFS} on several threads.
+ * <p>
+ * The expansion of a level happens in two phases, both executed by every worker:
+ * <ol>
+ *     <li>The frontier is split into equally sized slices, and the workers reserve slices and estimate the degree of
+ *     their nodes. Dense nodes get their degree from the relationship group degrees, sparse nodes get a fixed weight.
+ *     </li>
+ *     <li>Once all slices are weighed, the frontier is split into chunks of about the same total degree, so that a few
+ *     hubs don't end up with a single worker. A node with a degree above the size of a chunk gets a chunk of its own.
+ *     The workers then reserve chunks until all chunks are expanded.</li>
+ * </ol>
+ * The workers only read the visited nodes of the BFS, they never change them. Instead, every chunk buffers the
+ * relationships leading to nodes that weren't visited before the level, which the BFS then adds to its next level in
+ * the order of the chunks, on the thread executing the query. Relationship filters are not supported, since they are
+ * evaluated by the thread executing the query. Node filters are evaluated while adding the buffered nodes.
+ * <p>
+ * When the expansion stops at the first node ending the search, the chunks before the chunk of that node are always
+ * expanded completely, and that chunk is expanded up to that node. Chunks after it may be expanded partially, but
+ * their candidates come after that node. Adding the candidates in order up to that node therefore gives the same next
+ * level as expanding the frontier sequentially, no matter how the workers were scheduled.
+ * <p>
+ * One of the workers runs on the thread executing the query. The others are submitted to an executor, and those that
+ * haven't started by the time the thread executing the query is done with its part are skipped, so that a busy
+ * executor never leaves the query waiting.
+ */
+public abstract class ParallelFrontierExpansion {
+    /**
+     * Smaller frontiers are expanded by the thread executing the query, since they are cheaper to expand than to
+     * hand over to other threads.
+     */
+    public static final int DEFAULT_MIN_FRONTIER_SIZE = 1024;
+
+    private static final int CHUNKS_PER_WORKER = 4;
+    private static final int SPARSE_NODE_WEIGHT = 16;
+    private static final int INITIAL_CANDIDATES_CAPACITY = 3 * 64;
+
+    private final int workers;
+    private final int minFrontierSize;
+    private final CallableExecutor executor;
+
+    /**
+     * A worker of a single expansion. Created by the thread executing the query, used by a single thread, and closed by
+     * that thread once its part of the expansion is done.
+     */
+    public interface Worker extends AutoCloseable {
+        Read read();
+
+        NodeCursor nodeCursor();
+
+        RelationshipTraversalCursor traversalCursor();
+
+        MemoryTracker memoryTracker();
+
+        @Override
+        void close();
+    }
+
+    /**
+     * @param workers         the number of workers to expand a frontier with, including the thread executing the query.
+     * @param minFrontierSize the smallest frontier to expand in parallel.
+     * @param executor        the executor to run all but one of the workers on.
+     */
+    protected ParallelFrontierExpansion(int workers, int minFrontierSize, CallableExecutor executor) {
+        this.workers = workers;
+        this.minFrontierSize = minFrontierSize;
+        this.executor = executor;
+    }
+
+    /**
+     * Creates a worker. Called by the thread executing the query, once for every worker of an expansion.
+     */
+    protected abstract Worker createWorker();
+
+    /**
+     * Decides whether a frontier is expanded by the workers, or by the thread executing the query only.
+     */
+    protected boolean shouldExpandInParallel(int frontierSize) {
+        return workers > 1 && frontierSize >= minFrontierSize;
+    }
+
+    /**
+     * Expands the given frontier.
+     *
+     * @param frontier      the nodes to expand.
+     * @param types         the relationship types to traverse, or null for all types.
+     * @param direction     the direction to traverse relationships in.
+     * @param retriever     positions a relationship traversal cursor at the relationships of a node.
+     * @param visited       true for nodes which were visited before this level, those are not buffered.
+     * @param intersecting  true for nodes which end the search, or null. Once such a node is found, the workers stop
+     *                      reserving chunks after its chunk, so the returned candidates only lead to the next level up
+     *                      until the first such node in the order of the frontier. Evaluated by the workers.
+     * @param memoryTracker the memory tracker of the BFS, which the returned candidates are tracked by until closed.
+     */
+    Candidates expand(
+            long[] frontier,
+            int[] types,
+            Direction direction,
+            BFS.RelationshipTraversalCursorRetriever retriever,
+            LongPredicate visited,
+            LongPredicate intersecting,
+            MemoryTracker memoryTracker) {
+        long frontierHeapUsage = 2L * frontier.length * Long.BYTES;
+        memoryTracker.allocateHeap(frontierHeapUsage);
+        try {
+            var expansion = new Expansion(frontier, types, direction, retriever, visited, intersecting);
+            execute(expansion);
+            return new Candidates(expansion.candidates, expansion.candidateCounts, memoryTracker);
+        } finally {
+            memoryTracker.releaseHeap(frontierHeapUsage);
+        }
+    }
+
+    private void execute(Expansion expansion) {
+
+        // Workers must be created by the thread executing the query
+        var createdWorkers = new ArrayList<Worker>(workers);
+        try {
+            while (createdWorkers.size() < workers) {
+                createdWorkers.add(createWorker());
+            }
+        } catch (Throwable t) {
+            createdWorkers.forEach(Worker::close);
+            throw t;
+        }
+
+        List<WorkerTask> tasks = new ArrayList<>(workers - 1);
+        List<Future<?>> futures = new ArrayList<>(workers - 1);
+        for (int i = 0; i < workers - 1; i++) {
+            var task = new WorkerTask(expansion, createdWorkers.get(i));
+            tasks.add(task);
+            futures.add(executor.submit(task));
+        }
+
+        Throwable failure = null;
+        try {
+            expansion.run(createdWorkers.get(workers - 1));
+        } catch (Throwable t) {
+            failure = t;
+        }
+        for (int i = 0; i < tasks.size(); i++) {
+            var task = tasks.get(i);
+            try {
+                if (task.claim()) {
+                    // Never started, there is nothing left for it to do
+                    task.worker.close();
+                } else {
+                    futures.get(i).get();
+                }
+            } catch (ExecutionException e) {
+                failure = addFailure(failure, e.getCause());
+            } catch (Throwable t) {
+                failure = addFailure(failure, t);
+            }
+        }
+        if (failure != null) {
+            if (failure instanceof RuntimeException e) {
+                throw e;
+            }
+            if (failure instanceof Error e) {
+                throw e;
+            }
+            throw new RuntimeException(failure);
+        }
+    }
+
+    private static Throwable addFailure(Throwable failure, Throwable t) {
+        if (failure == null) {
+            return t;
+        }
+        failure.addSuppressed(t);
+        return failure;
+    }
+
+    /**
+     * A worker that is executed by the executor, unless the thread executing the query claims it first.
+     */
+    private static class WorkerTask implements Callable<Void> {
+        private final Expansion expansion;
+        private final Worker worker;
+        private final AtomicBoolean started = new AtomicBoolean();
+
+        WorkerTask(Expansion expansion, Worker worker) {
+            this.expansion = expansion;
+            this.worker = worker;
+        }
+
+        boolean claim() {
+            return started.compareAndSet(false, true);
+        }
+
+        @Override
+        public Void call() {
+            if (claim()) {
+                expansion.run(worker);
+            }
+            return null;
+        }
+    }
+
+    private class Expansion {
+        private final long[] frontier;
+        private final int[] types;
+        private final RelationshipSelection selection;
+        private final BFS.RelationshipTraversalCursorRetriever retriever;
+        private final LongPredicate visited;
+        private final LongPredicate intersecting;
+
+        private final long[] weights;
+        private final AtomicInteger nextSlice = new AtomicInteger();
+        private final AtomicInteger weighedSlices = new AtomicInteger();
+        private final CountDownLatch partitioned = new CountDownLatch(1);
+        private final AtomicInteger nextChunk = new AtomicInteger();
+        // The first chunk in which a node ending the search was found
+        private final AtomicInteger intersectionChunk = new AtomicInteger(Integer.MAX_VALUE);
+
+        // Written before the latch is released, by the worker weighing the last slice
+        private int[] chunkStarts;
+        // Chunk i is only written by the worker which reserved it
+        private long[][] candidates;
+        private int[] candidateCounts;
+
+        Expansion(
+                long[] frontier,
+                int[] types,
+                Direction direction,
+                BFS.RelationshipTraversalCursorRetriever retriever,
+                LongPredicate visited,
+                LongPredicate intersecting) {
+            this.frontier = frontier;
+            this.types = types;
+            this.selection = RelationshipSelection.selection(types, direction);
+            this.retriever = retriever;
+            this.visited = visited;
+            this.intersecting = intersecting;
+            this.weights = new long[frontier.length];
+        }
+
+        void run(Worker worker) {
+            try {
+                int slice;
+                while ((slice = nextSlice.getAndIncrement()) < workers) {
+                    try {
+                        weigh(worker, slice);
+                    } finally {
+                        if (weighedSlices.incrementAndGet() == workers) {
+                            try {
+                                partition();
+                            } finally {
+                                partitioned.countDown();
+                            }
+                        }
+                    }
+                }
+                // Only waits for slices reserved by workers that have started
+                awaitPartitioned();
+                int chunk;
+                while ((chunk = nextChunk.getAndIncrement()) < candidates.length && chunk < intersectionChunk.get()) {
+                    expandChunk(worker, chunk);
+                }
+            } finally {
+                worker.close();
+            }
+        }
+
+        private void awaitPartitioned() {
+            try {
+                partitioned.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            }
+            if (candidates == null) {
+                throw new IllegalStateException("The frontier could not be partitioned");
+            }
+        }
+
+        private void weigh(Worker worker, int slice) {
+            int start = (int) ((long) frontier.length * slice / workers);
+            int end = (int) ((long) frontier.length * (slice + 1) / workers);
+            NodeCursor nodeCursor = worker.nodeCursor();
+            for (int i = start; i < end; i++) {
+                worker.read().singleNode(frontier[i], nodeCursor);
+                if (!nodeCursor.next()) {
+                    throw new EntityNotFoundException("Node " + frontier[i] + " was unexpectedly deleted");
+                }
+                weights[i] =
+                        nodeCursor.supportsFastDegreeLookup() ? nodeCursor.degree(selection) : SPARSE_NODE_WEIGHT;
+            }
+        }
+
+        /**
+         * Splits the frontier into chunks of about the same total weight.
+         */
+        private void partition() {
+            long totalWeight = 0;
+            for (long weight : weights) {
+                totalWeight += weight;
+            }
+            long chunkWeight = Math.max(1, totalWeight / ((long) workers * CHUNKS_PER_WORKER));
+
+            var starts = new int[frontier.length + 1];
+            int chunks = 0;
+            long weightOfChunk = 0;
+            for (int i = 0; i < frontier.length; i++) {
+                if (i == 0 || weightOfChunk >= chunkWeight || (weights[i] >= chunkWeight && weightOfChunk > 0)) {
+                    starts[chunks++] = i;
+                    weightOfChunk = 0;
+                }
+                weightOfChunk += weights[i];
+            }
+            starts[chunks] = frontier.length;
+
+            chunkStarts = starts;
+            candidates = new long[chunks][];
+            candidateCounts = new int[chunks];
+        }
+
+        private void expandChunk(Worker worker, int chunk) {
+            Read read = worker.read();
+            NodeCursor nodeCursor = worker.nodeCursor();
+            MemoryTracker memoryTracker = worker.memoryTracker();
+            long[] buffer = new long[INITIAL_CANDIDATES_CAPACITY];
+            memoryTracker.allocateHeap(bufferSize(buffer));
+            int count = 0;
+            try {
+                for (int i = chunkStarts[chunk]; i < chunkStarts[chunk + 1] && chunk < intersectionChunk.get(); i++) {
+                    long currentNode = frontier[i];
+                    read.singleNode(currentNode, nodeCursor);
+                    if (!nodeCursor.next()) {
+                        throw new EntityNotFoundException("Node " + currentNode + " was unexpectedly deleted");
+                    }
+                    var selectionCursor = retriever.selectionCursor(worker.traversalCursor(), nodeCursor, types);
+                    while (selectionCursor.next()) {
+                        long foundNode = selectionCursor.otherNodeReference();
+                        if (!visited.test(foundNode)) {
+                            if (count == buffer.length) {
+                                long[] grown = new long[buffer.length * 2];
+                                memoryTracker.allocateHeap(bufferSize(grown));
+                                System.arraycopy(buffer, 0, grown, 0, count);
+                                memoryTracker.releaseHeap(bufferSize(buffer));
+                                buffer = grown;
+                            }
+                            buffer[count++] = foundNode;
+                            buffer[count++] = selectionCursor.reference();
+                            buffer[count++] = currentNode;
+                            if (intersecting != null && intersecting.test(foundNode)) {
+                                intersectionChunk.accumulateAndGet(chunk, Math::min);
+                                break;
+                            }
+                        }
+                    }
+                }
+            } finally {
+                // The buffer is tracked by the memory tracker of the BFS once the expansion is done
+                memoryTracker.releaseHeap(bufferSize(buffer));
+            }
+            candidates[chunk] = buffer;
+            candidateCounts[chunk] = count;
+        }
+    }
+
+    private static long bufferSize(long[] buffer) {
+        return (long) buffer.length * Long.BYTES;
+    }
+
+    /**
+     * The relationships found by an expansion, leading to nodes that weren't visited before the expanded level, in the
+     * order of the frontier. Nodes can be found several times.
+     */
+    static class Candidates implements AutoCloseable {
+        private final long[][] chunks;
+        private final int[] counts;
+        private final MemoryTracker memoryTracker;
+        private final long heapUsage;
+        private int chunk = 0;
+        private int offset = 0;
+
+        private Candidates(long[][] chunks, int[] counts, MemoryTracker memoryTracker) {
+            this.chunks = chunks;
+            this.counts = counts;
+            this.memoryTracker = memoryTracker;
+            long size = 0;
+            for (long[] buffer : chunks) {
+                if (buffer != null) {
+                    size += bufferSize(buffer);
+                }
+            }
+            this.heapUsage = size;
+            memoryTracker.allocateHeap(heapUsage);
+        }
+
+        /**
+         * Moves to the next candidate.
+         */
+        boolean next() {
+            offset += 3;
+            while (chunk < chunks.length && offset > counts[chunk]) {
+                chunk++;
+                offset = 3;
+            }
+            return chunk < chunks.length;
+        }
+
+        long foundNode() {
+            return chunks[chunk][offset - 3];
+        }
+
+        long relationship() {
+            return chunks[chunk][offset - 2];
+        }
+
+        long previousNode() {
+            return chunks[chunk][offset - 1];
+        }
+
+        @Override
+        public void close() {
+            memoryTracker.releaseHeap(heapUsage);
+        }
+    }
+}
@@ -89,6 +89,14 @@ object Arguments {
 
   case class PageCacheMisses(value: Long) extends Argument
 
+  case class Spills(value: Long) extends Argument
+
+  case class SpilledBytes(value: Long) extends Argument
+
+  case class FrontierNodes(value: Long) extends Argument
+
+  case class MaxFrontierSize(value: Long) extends Argument
+
   case class EstimatedRows(effectiveCardinality: Double, cardinality: Option[Double] = None) extends Argument
 
   case class PipelineInfo(pipelineId: Int, fused: Boolean) extends Argument
@@ -44,7 +44,10 @@ object CypherRuntimeConfiguration {
       compiledExpressionMethodLimit = config.compiledExpressionMethodLimit,
       operatorFusingMethodLimit = config.operatorFusingMethodLimit,
       freeMemoryOfUnusedColumns = config.freeMemoryOfUnusedColumns,
-      expressionEngineOption = config.expressionEngineOption
+      expressionEngineOption = config.expressionEngineOption,
+      slottedParallelWorkers = config.slottedParallelWorkers,
+      slottedBatchSize = config.slottedBatchSize,
+      slottedSpillThreshold = config.slottedSpillThreshold
     )
   }
 
@@ -66,7 +69,10 @@ case class CypherRuntimeConfiguration(
   compiledExpressionMethodLimit: Int,
   operatorFusingMethodLimit: Int,
   freeMemoryOfUnusedColumns: Boolean,
-  expressionEngineOption: CypherExpressionEngineOption
+  expressionEngineOption: CypherExpressionEngineOption,
+  slottedParallelWorkers: Int,
+  slottedBatchSize: Int,
+  slottedSpillThreshold: Long
 ) {
 
   Preconditions.checkArgument(
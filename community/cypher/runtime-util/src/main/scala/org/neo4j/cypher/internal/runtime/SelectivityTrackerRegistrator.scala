@@ -51,4 +51,9 @@ class SelectivityTrackerStorage(trackersCount: Int) {
     }
     t
   }
+
+  /**
+   * A new, empty storage for the same trackers, for operators that execute concurrently with the users of this storage.
+   */
+  def newEmptyStorage(): SelectivityTrackerStorage = new SelectivityTrackerStorage(trackersCount)
 }
@@ -25,6 +25,7 @@ import org.neo4j.cypher.internal.expressions.Equals
 import org.neo4j.cypher.internal.expressions.LogicalVariable
 import org.neo4j.cypher.internal.expressions.SemanticDirection
 import org.neo4j.cypher.internal.expressions.SignedDecimalIntegerLiteral
+import org.neo4j.cypher.internal.frontend.phases.ResolvedFunctionInvocation
 import org.neo4j.cypher.internal.ir.CreateNode
 import org.neo4j.cypher.internal.ir.CreatePattern
 import org.neo4j.cypher.internal.ir.CreateRelationship
@@ -88,6 +89,7 @@ import org.neo4j.cypher.internal.logical.plans.LoadCSV
 import org.neo4j.cypher.internal.logical.plans.LogicalPlan
 import org.neo4j.cypher.internal.logical.plans.Merge
 import org.neo4j.cypher.internal.logical.plans.MultiNodeIndexSeek
+import org.neo4j.cypher.internal.logical.plans.NestedPlanExpression
 import org.neo4j.cypher.internal.logical.plans.NodeByLabelScan
 import org.neo4j.cypher.internal.logical.plans.NodeHashJoin
 import org.neo4j.cypher.internal.logical.plans.NodeIndexContainsScan
@@ -180,6 +182,7 @@ import org.neo4j.cypher.internal.physicalplanning.SlotConfiguration.isRefSlotAnd
 import org.neo4j.cypher.internal.physicalplanning.SlotConfigurationUtils
 import org.neo4j.cypher.internal.physicalplanning.SlotConfigurationUtils.finalizeSlotConfiguration
 import org.neo4j.cypher.internal.physicalplanning.SlottedIndexedProperty
+import org.neo4j.cypher.internal.planner.spi.PlanningAttributes.LeveragedOrders
 import org.neo4j.cypher.internal.physicalplanning.VariablePredicates.expressionSlotForPredicate
 import org.neo4j.cypher.internal.physicalplanning.ast.NodeFromSlot
 import org.neo4j.cypher.internal.physicalplanning.ast.NullCheckVariable
@@ -196,6 +199,8 @@ import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Delete
 import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Expression
 import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.SideEffect
 import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.Predicate
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.AggregationPipe.AggregationTableFactory
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.ConcurrentTransactions.concurrencyExpression
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.EagerAggregationPipe
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.EmptyResultPipe
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.IndexSeekModeFactory
@@ -209,6 +214,7 @@ import org.neo4j.cypher.internal.runtime.interpreted.pipes.PartialTop1Pipe
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.PartialTopNPipe
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.Pipe
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.PipeMapper
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.PipeWithSource
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.ProjectionPipe
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.QueryState
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.RelationshipTypes
@@ -245,6 +251,7 @@ import org.neo4j.cypher.internal.runtime.slotted.pipes.ApplySlottedPipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.ArgumentSlottedPipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.AssertSameRelationshipSlottedPipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.BFSPruningVarLengthExpandSlottedPipe
+import org.neo4j.cypher.internal.runtime.slotted.pipes.BatchedNodeLeafPipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.CartesianProductSlottedPipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.ConditionalApplySlottedPipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.CreateNodeSlottedCommand
@@ -265,10 +272,13 @@ import org.neo4j.cypher.internal.runtime.slotted.pipes.ExpandAllSlottedPipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.ExpandIntoSlottedPipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.ForeachSlottedApplyPipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.ForeachSlottedPipe
+import org.neo4j.cypher.internal.runtime.slotted.pipes.GatherSlottedPipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.GroupSlot
 import org.neo4j.cypher.internal.runtime.slotted.pipes.IntersectionNodesByLabelsScanSlottedPipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.LoadCSVSlottedPipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.LockingMergeSlottedPipe
+import org.neo4j.cypher.internal.runtime.slotted.pipes.MorselLeafPipe
+import org.neo4j.cypher.internal.runtime.slotted.pipes.MorselSegmentOutputPipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.NodeHashJoinSlottedPipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.NodeHashJoinSlottedPipe.KeyOffsets
 import org.neo4j.cypher.internal.runtime.slotted.pipes.NodeHashJoinSlottedPipe.SlotMapping
@@ -285,10 +295,13 @@ import org.neo4j.cypher.internal.runtime.slotted.pipes.OrderedDistinctSlottedPip
 import org.neo4j.cypher.internal.runtime.slotted.pipes.OrderedDistinctSlottedPrimitivePipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.OrderedDistinctSlottedSinglePrimitivePipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.OrderedUnionSlottedPipe
+import org.neo4j.cypher.internal.runtime.slotted.pipes.ParallelSlottedPipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.ProduceResultSlottedPipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.RollUpApplySlottedPipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.SelectOrSemiApplySlottedPipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.ShortestPathSlottedPipe
+import org.neo4j.cypher.internal.runtime.slotted.pipes.SlotExpression
+import org.neo4j.cypher.internal.runtime.slotted.pipes.SlottedGroupingExpression
 import org.neo4j.cypher.internal.runtime.slotted.pipes.SlottedSetLabelsOperation
 import org.neo4j.cypher.internal.runtime.slotted.pipes.SlottedSetNodePropertiesOperation
 import org.neo4j.cypher.internal.runtime.slotted.pipes.SlottedSetNodePropertyFromMapOperation
@@ -315,6 +328,8 @@ import org.neo4j.cypher.internal.runtime.slotted.pipes.UnwindSlottedPipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.ValueHashJoinSlottedPipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.VarLengthExpandSlottedPipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.VarLengthExpandSlottedPipe.SlottedVariablePredicate
+import org.neo4j.cypher.internal.runtime.slotted.spill.JoinSpilling
+import org.neo4j.cypher.internal.runtime.slotted.spill.Spilling
 import org.neo4j.cypher.internal.util.attribution.Id
 import org.neo4j.cypher.internal.util.symbols.CTNode
 import org.neo4j.cypher.internal.util.symbols.CTRelationship
@@ -326,6 +341,7 @@ import org.neo4j.kernel.api.StatementConstants
 import org.neo4j.values.storable.Values.NO_VALUE
 
 import scala.annotation.nowarn
+import scala.annotation.tailrec
 import scala.collection.mutable
 import scala.collection.mutable.ArrayBuffer
 
@@ -334,10 +350,21 @@ class SlottedPipeMapper(
   expressionConverters: ExpressionConverters,
   physicalPlan: PhysicalPlan,
   readOnly: Boolean,
-  indexRegistrator: QueryIndexRegistrator
+  indexRegistrator: QueryIndexRegistrator,
+  parallelWorkers: Int = 0,
+  batchSize: Int = 0,
+  spillThreshold: Long = 0,
+  leveragedOrders: LeveragedOrders = new LeveragedOrders
 )(implicit semanticTable: SemanticTable)
     extends PipeMapper {
 
+  private var _hasParallelPipes = false
+
+  /**
+   * True if any of the mapped pipes executes in parallel, in which case the query needs thread-safe resources.
+   */
+  def hasParallelPipes: Boolean = _hasParallelPipes
+
   override def onLeaf(plan: LogicalPlan): Pipe = {
 
     val id = plan.id
@@ -937,6 +964,11 @@ class SlottedPipeMapper(
         fallback.onLeaf(plan)
     }
     pipe.rowFactory = SlottedCypherRowFactory(slots, argumentSize)
+    pipe match {
+      // Reading ahead a batch of rows is only safe if the rest of the query doesn't write
+      case batched: BatchedNodeLeafPipe if readOnly => batched.batchSize = batchSize
+      case _                                        =>
+    }
     pipe
   }
 
@@ -1302,7 +1334,8 @@ class SlottedPipeMapper(
           allowZeroLength = allowZeroLength,
           maxDepth = maxDepth,
           needOnlyOnePath = single && !withFallBack,
-          slots = slots
+          slots = slots,
+          parallelWorkers = parallelWorkers
         )(id)
 
       case p @ StatefulShortestPath(
@@ -1594,7 +1627,8 @@ class SlottedPipeMapper(
               slots,
               expressionConverters.toGroupingExpression(id, groupingExpressions, Seq.empty),
               aggregation,
-              physicalPlan.argumentSizes(plan.id)
+              physicalPlan.argumentSizes(plan.id),
+              spilling(plan, physicalPlan.slotConfigurations(plan.lhs.get.id))
             )
           }
 
@@ -1686,7 +1720,8 @@ class SlottedPipeMapper(
       case Sort(_, sortItems) =>
         SortSlottedPipe(
           source,
-          SlottedExecutionContextOrdering.asComparator(sortItems.map(translateColumnOrder(slots, _)))
+          SlottedExecutionContextOrdering.asComparator(sortItems.map(translateColumnOrder(slots, _))),
+          Spilling.ifEnabled(spillThreshold, slots)
         )(id = id)
 
       case PartialSort(_, alreadySortedPrefix, stillToSortSuffix, skipSortingPrefixLength) =>
@@ -1698,7 +1733,8 @@ class SlottedPipeMapper(
         )(id = id)
 
       case Eager(_, _) =>
-        EagerSlottedPipe(source, slots)(id)
+        val sourceSlots = physicalPlan.slotConfigurations(plan.lhs.get.id)
+        EagerSlottedPipe(source, slots, Spilling.ifEnabled(spillThreshold, sourceSlots))(id)
 
       case _: DeleteNode |
         _: DeleteRelationship |
@@ -1734,7 +1770,7 @@ class SlottedPipeMapper(
         fallback.onOneChildPlan(plan, source)
     }
     pipe.rowFactory = SlottedCypherRowFactory(slots, argumentSize)
-    pipe
+    parallelize(plan, source, pipe, slots)
   }
 
   override def onTwoChildPlan(plan: LogicalPlan, lhs: Pipe, rhs: Pipe): Pipe = {
@@ -1782,7 +1818,15 @@ class SlottedPipeMapper(
         checkOnlyWhenAssertionsAreEnabled(verifyArgumentsAreTheSameOnBothSides(plan, physicalPlan))
         val rhsSlotMappings = computeSlotMappings(rhsSlots, argumentSize, slots)
 
-        if (leftNodes.isSingle) {
+        val joinSpilling = for {
+          lhsSpilling <- spilling(plan, lhsSlots)
+          rhsSpilling <- spilling(plan, rhsSlots)
+        } yield JoinSpilling(lhsSpilling, rhsSpilling)
+
+        if (joinSpilling.nonEmpty) {
+          // Only the general join can spill, and it handles single keys too
+          NodeHashJoinSlottedPipe(leftNodes, rightNodes, lhs, rhs, slots, rhsSlotMappings, joinSpilling)(id)
+        } else if (leftNodes.isSingle) {
           NodeHashJoinSlottedSingleNodePipe(leftNodes.asSingle, rightNodes.asSingle, lhs, rhs, slots, rhsSlotMappings)(
             id
           )
@@ -1838,6 +1882,7 @@ class SlottedPipeMapper(
           lhs,
           rhs,
           expressionConverters.toCommandExpression(id, batchSize),
+          concurrencyExpression(concurrency, expressionConverters.toCommandExpression(id, _)),
           onErrorBehaviour,
           maybeReportAs.map(slots.apply)
         )(id = id)
@@ -1847,6 +1892,7 @@ class SlottedPipeMapper(
           lhs,
           rhs,
           expressionConverters.toCommandExpression(id, batchSize),
+          concurrencyExpression(concurrency, expressionConverters.toCommandExpression(id, _)),
           onErrorBehaviour,
           (rhsPlan.availableSymbols.map(_.name) -- lhsPlan.availableSymbols.map(_.name)).map(slots.apply),
           maybeReportAs.map(slots.apply)
@@ -1940,6 +1986,149 @@ class SlottedPipeMapper(
     pipe
   }
 
+  /**
+   * Executes the pipeline segment ending in the given breaker in parallel, if the segment starts with a scan that can
+   * be split into morsels and only consists of operators that need no state shared between rows, and the partial
+   * results of the breaker can be merged.
+   */
+  private def parallelize(plan: LogicalPlan, source: Pipe, pipe: Pipe, slots: SlotConfiguration): Pipe = {
+    val leaf = morselLeaf(source)
+    val parallelizable =
+      parallelWorkers > 1 &&
+        readOnly &&
+        leaf.nonEmpty &&
+        physicalPlan.applyPlans.isInOutermostScope(plan) &&
+        isParallelSegment(plan.lhs.get) &&
+        !plan.folder.treeExists {
+          case _: ResolvedFunctionInvocation | _: NestedPlanExpression => true
+        }
+
+    val segmentOutput = MorselSegmentOutputPipe(source)(plan.id)
+    segmentOutput.rowFactory = source.rowFactory
+    val gather = GatherSlottedPipe()(plan.id)
+
+    val partialAndMerge: Option[(Pipe, Pipe)] = if (!parallelizable) None
+    else (plan, pipe) match {
+      case (Aggregation(_, groupingExpressions, _), p: EagerAggregationPipe) =>
+        combiningTableFactory(p.tableFactory, groupingExpressions.keys.toSeq.map(slots(_))).map { combine =>
+          (EagerAggregationPipe(segmentOutput, p.tableFactory)(p.id), EagerAggregationPipe(gather, combine)(p.id))
+        }
+      case (_: Distinct, p: DistinctSlottedPipe) =>
+        Some((p.copy(source = segmentOutput)(p.id), p.copy(source = gather)(p.id)))
+      case (_: Distinct, p: DistinctSlottedPrimitivePipe) =>
+        Some((p.copy(source = segmentOutput)(p.id), p.copy(source = gather)(p.id)))
+      case (_: Distinct, p: DistinctSlottedSinglePrimitivePipe) =>
+        Some((p.copy(source = segmentOutput)(p.id), p.copy(source = gather)(p.id)))
+      case (_: Top, p: TopNPipe) =>
+        Some((p.copy(source = segmentOutput)(p.id), p.copy(source = gather)(p.id)))
+      case (_: Top, p: Top1Pipe) =>
+        Some((p.copy(source = segmentOutput)(p.id), p.copy(source = gather)(p.id)))
+      case (_: Top1WithTies, p: Top1WithTiesPipe) =>
+        Some((p.copy(source = segmentOutput)(p.id), p.copy(source = gather)(p.id)))
+      case (_: Sort, p: SortSlottedPipe) =>
+        // Sorting is left to the merge, the workers only take care of the scan and the operators following it
+        Some((segmentOutput, p.copy(source = gather)(p.id)))
+      case _ =>
+        None
+    }
+
+    partialAndMerge match {
+      case Some((partial, merge)) =>
+        if (partial ne segmentOutput) {
+          partial.rowFactory = pipe.rowFactory
+        }
+        gather.rowFactory = partial.rowFactory
+        merge.rowFactory = pipe.rowFactory
+        val parallelPipe = ParallelSlottedPipe(pipe, partial, merge, leaf.get, parallelWorkers)(plan.id)
+        parallelPipe.rowFactory = pipe.rowFactory
+        _hasParallelPipes = true
+        parallelPipe
+      case None =>
+        pipe
+    }
+  }
+
+  /**
+   * Spilling of hash-based operators changes the order of their output, so it is only enabled for the operators whose
+   * order isn't leveraged by any operator above them.
+   */
+  private def spilling(plan: LogicalPlan, slots: SlotConfiguration): Option[Spilling] =
+    if (leveragedOrders.get(plan.id)) None
+    else Spilling.ifEnabled(spillThreshold, slots)
+
+  @tailrec
+  private def isParallelSegment(plan: LogicalPlan): Boolean = plan match {
+    case _: AllNodesScan                                     => true
+    case NodeByLabelScan(_, _, _, IndexOrderNone)            => true
+    case Selection(_, source)                                => isParallelSegment(source)
+    case Projection(source, _)                               => isParallelSegment(source)
+    case Expand(source, _, _, _, _, _, ExpandAll)            => isParallelSegment(source)
+    case OptionalExpand(source, _, _, _, _, _, ExpandAll, _) => isParallelSegment(source)
+    case _                                                   => false
+  }
+
+  @tailrec
+  private def morselLeaf(pipe: Pipe): Option[MorselLeafPipe] = pipe match {
+    case leaf: MorselLeafPipe => Some(leaf)
+    case p: PipeWithSource    => morselLeaf(p.getSource)
+    case _                    => None
+  }
+
+  /**
+   * A table factory which combines the rows produced by the given table factory into the same slots, or `None` if
+   * some of its aggregations can't be combined.
+   */
+  private def combiningTableFactory(
+    tableFactory: AggregationTableFactory,
+    groupingSlots: Seq[Slot]
+  ): Option[AggregationTableFactory] = {
+    val combiningAggregations = tableFactory match {
+      case SlottedNonGroupingAggTable.Factory(_, aggregations, _)             => combiningAggregationsFor(aggregations)
+      case SlottedPrimitiveGroupingAggTable.Factory(_, _, _, aggregations, _) => combiningAggregationsFor(aggregations)
+      case SlottedGroupingAggTable.Factory(_, _, aggregations, _, _)          => combiningAggregationsFor(aggregations)
+      case _                                                                  => None
+    }
+    combiningAggregations.flatMap { aggregations =>
+      tableFactory match {
+        case SlottedNonGroupingAggTable.Factory(slots, _, argumentSize) =>
+          Some(SlottedNonGroupingAggTable.Factory(slots, aggregations, argumentSize))
+        case SlottedPrimitiveGroupingAggTable.Factory(slots, _, writeGrouping, _, argumentSize) =>
+          Some(SlottedPrimitiveGroupingAggTable.Factory(
+            slots,
+            writeGrouping,
+            writeGrouping,
+            aggregations,
+            argumentSize
+          ))
+        case SlottedGroupingAggTable.Factory(slots, _, _, argumentSize, _) =>
+          val groupingColumns =
+            groupingSlots.map(slot => SlotExpression(slot, SlottedPipeMapper.projectSlotExpression(slot))).toArray
+          Some(SlottedGroupingAggTable.Factory(
+            slots,
+            SlottedGroupingExpression(groupingColumns),
+            aggregations,
+            argumentSize
+          ))
+        case _ =>
+          None
+      }
+    }
+  }
+
+  private def combiningAggregationsFor(
+    aggregations: Map[Int, AggregationExpression]
+  ): Option[Map[Int, AggregationExpression]] = {
+    val combining = aggregations.collect {
+      case (offset, _: commands.expressions.CountStar | _: commands.expressions.Count | _: commands.expressions.Sum) =>
+        offset -> commands.expressions.Sum(slotted.expressions.ReferenceFromSlot(offset))
+      case (offset, _: commands.expressions.Min) =>
+        offset -> commands.expressions.Min(slotted.expressions.ReferenceFromSlot(offset))
+      case (offset, _: commands.expressions.Max) =>
+        offset -> commands.expressions.Max(slotted.expressions.ReferenceFromSlot(offset))
+    }
+    if (combining.size == aggregations.size) Some(combining) else None
+  }
+
   private def chooseDistinctPipe(
     groupingExpressions: Map[LogicalVariable, internal.expressions.Expression],
     orderToLeverage: Seq[internal.expressions.Expression],
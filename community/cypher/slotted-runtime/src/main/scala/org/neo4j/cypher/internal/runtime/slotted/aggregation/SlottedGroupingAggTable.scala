@@ -32,6 +32,7 @@ import org.neo4j.cypher.internal.runtime.interpreted.pipes.CypherRowFactory
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.QueryState
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.aggregation.AggregationFunction
 import org.neo4j.cypher.internal.runtime.slotted.SlottedRow
+import org.neo4j.cypher.internal.runtime.slotted.spill.Spilling
 import org.neo4j.cypher.internal.util.attribution.Id
 import org.neo4j.kernel.impl.util.collection.HeapTrackingOrderedAppendMap
 import org.neo4j.memory.MemoryTracker
@@ -45,10 +46,12 @@ class SlottedGroupingAggTable(
   aggregations: Map[Int, AggregationExpression],
   state: QueryState,
   operatorId: Id,
-  argumentSize: SlotConfiguration.Size
+  argumentSize: SlotConfiguration.Size,
+  spilling: Option[Spilling] = None
 ) extends AggregationTable {
 
   private[this] var resultMap: HeapTrackingOrderedAppendMap[groupingColumns.KeyType, Array[AggregationFunction]] = _
+  private[this] var partitions: Spilling.Partitions = _
 
   private[this] val (aggregationOffsets: Array[Int], aggregationExpressions: Array[AggregationExpression]) = {
     val (a, b) = aggregations.unzip
@@ -63,18 +66,41 @@ class SlottedGroupingAggTable(
     if (resultMap != null) {
       resultMap.close()
     }
+    if (partitions != null) {
+      partitions.close()
+      partitions = null
+    }
   }
 
   override def clear(): Unit = {
     close()
-    resultMap =
-      HeapTrackingOrderedAppendMap.createOrderedMap[groupingColumns.KeyType, Array[AggregationFunction]](memoryTracker)
-    state.query.resources.trace(resultMap)
+    resultMap = newResultMap()
   }
 
   override def processRow(row: CypherRow): Unit = {
     val groupingValue = groupingColumns.computeGroupingKey(row, state)
-    val functions = resultMap.getIfAbsentPutWithMemoryTracker2(groupingValue, newAggregators)
+    if (partitions == null) {
+      aggregate(resultMap.getIfAbsentPutWithMemoryTracker2(groupingValue, newAggregators), row)
+      partitions = spillIfAboveThreshold(resultMap, level = 0)
+    } else {
+      aggregateOrSpill(resultMap, partitions, groupingValue, row)
+    }
+  }
+
+  override def result(): ClosingIterator[CypherRow] = {
+    val spilled = partitions
+    partitions = null
+    result(resultMap, spilled)
+  }
+
+  private def newResultMap(): HeapTrackingOrderedAppendMap[groupingColumns.KeyType, Array[AggregationFunction]] = {
+    val map =
+      HeapTrackingOrderedAppendMap.createOrderedMap[groupingColumns.KeyType, Array[AggregationFunction]](memoryTracker)
+    state.query.resources.trace(map)
+    map
+  }
+
+  private def aggregate(functions: Array[AggregationFunction], row: CypherRow): Unit = {
     var i = 0
     while (i < functions.length) {
       functions(i)(row, state)
@@ -82,10 +108,78 @@ class SlottedGroupingAggTable(
     }
   }
 
-  override def result(): ClosingIterator[CypherRow] = {
-    val innerIterator = resultMap.autoClosingEntryIterator()
+  private def spillIfAboveThreshold(
+    groups: HeapTrackingOrderedAppendMap[groupingColumns.KeyType, Array[AggregationFunction]],
+    level: Int
+  ): Spilling.Partitions = spilling match {
+    case Some(spill)
+      if level < Spilling.LEVELS && groups.scopedMemoryTracker().estimatedHeapMemory() > spill.threshold =>
+      new Spilling.Partitions(spill, state, memoryTracker, operatorId, level)
+    case _ => null
+  }
+
+  private def aggregateOrSpill(
+    groups: HeapTrackingOrderedAppendMap[groupingColumns.KeyType, Array[AggregationFunction]],
+    spilled: Spilling.Partitions,
+    groupingValue: groupingColumns.KeyType,
+    row: CypherRow
+  ): Unit = {
+    // Groups that are in memory keep being aggregated there, the rows of all other groups are spilled
+    val functions = groups.get(groupingValue)
+    if (functions != null) {
+      aggregate(functions, row)
+    } else {
+      spilled.add(groupingValue.hashCode(), row)
+    }
+  }
+
+  /**
+   * Aggregates the rows of a spilled partition. If its groups don't fit into memory either, the rows of the groups
+   * that don't are spilled into partitions of the next level.
+   */
+  private def aggregatePartition(input: ClosingIterator[CypherRow], level: Int): ClosingIterator[CypherRow] = {
+    if (!input.hasNext) {
+      ClosingIterator.empty
+    } else {
+      val groups = newResultMap()
+      var spilled: Spilling.Partitions = null
+      while (input.hasNext) {
+        val row = input.next()
+        val groupingValue = groupingColumns.computeGroupingKey(row, state)
+        if (spilled == null) {
+          aggregate(groups.getIfAbsentPutWithMemoryTracker2(groupingValue, newAggregators), row)
+          spilled = spillIfAboveThreshold(groups, level)
+        } else {
+          aggregateOrSpill(groups, spilled, groupingValue, row)
+        }
+      }
+      result(groups, spilled)
+    }
+  }
+
+  private def result(
+    groups: HeapTrackingOrderedAppendMap[groupingColumns.KeyType, Array[AggregationFunction]],
+    spilled: Spilling.Partitions
+  ): ClosingIterator[CypherRow] = {
+    if (spilled == null) {
+      result(groups)
+    } else {
+      // Every spilled partition is aggregated on its own after the groups that stayed in memory
+      spilled.finish()
+      (0 until Spilling.PARTITIONS)
+        .foldLeft(result(groups)) { (rows, partition) =>
+          rows.addAllLazy(() => aggregatePartition(spilled.iterator(partition), spilled.level + 1))
+        }
+        .closing(spilled)
+    }
+  }
+
+  private def result(
+    groups: HeapTrackingOrderedAppendMap[groupingColumns.KeyType, Array[AggregationFunction]]
+  ): ClosingIterator[CypherRow] = {
+    val innerIterator = groups.autoClosingEntryIterator()
     new ClosingIterator[CypherRow] {
-      override protected[this] def closeMore(): Unit = resultMap.close()
+      override protected[this] def closeMore(): Unit = groups.close()
 
       override def innerHasNext: Boolean = innerIterator.hasNext
 
@@ -119,11 +213,12 @@ object SlottedGroupingAggTable {
     slots: SlotConfiguration,
     groupingColumns: GroupingExpression,
     aggregations: Map[Int, AggregationExpression],
-    argumentSize: SlotConfiguration.Size
+    argumentSize: SlotConfiguration.Size,
+    spilling: Option[Spilling] = None
   ) extends AggregationTableFactory {
 
     override def table(state: QueryState, rowFactory: CypherRowFactory, operatorId: Id): AggregationTable =
-      new SlottedGroupingAggTable(slots, groupingColumns, aggregations, state, operatorId, argumentSize)
+      new SlottedGroupingAggTable(slots, groupingColumns, aggregations, state, operatorId, argumentSize, spilling)
   }
 
 }
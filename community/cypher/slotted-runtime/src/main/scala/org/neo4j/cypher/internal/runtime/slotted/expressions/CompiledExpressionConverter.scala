@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.slotted.expressions
+
+import org.neo4j.codegen.api.CodeGeneration
+import org.neo4j.cypher.internal.expressions.Expression
+import org.neo4j.cypher.internal.expressions.LogicalVariable
+import org.neo4j.cypher.internal.runtime.interpreted.CommandProjection
+import org.neo4j.cypher.internal.runtime.interpreted.GroupingExpression
+import org.neo4j.cypher.internal.runtime.interpreted.commands
+import org.neo4j.cypher.internal.runtime.interpreted.commands.convert.ExpressionConverter
+import org.neo4j.cypher.internal.runtime.interpreted.commands.convert.ExpressionConverters
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.AndsWithSelectivityTracking
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.Predicate
+import org.neo4j.cypher.internal.util.attribution.Id
+
+/**
+ * The main expression converter of the slotted runtime when expressions are compiled.
+ *
+ * Expressions are first converted by the given converters, after which predicates and slotted projections are compiled
+ * by a [[SlottedExpressionCompiler]]. Everything that can't be compiled is returned as converted, so that falling back
+ * to the given converters would not produce anything different.
+ *
+ * @param converters the converters used to convert expressions before compiling them, must not include this converter
+ */
+class CompiledExpressionConverter(converters: Seq[ExpressionConverter], codeGeneration: CodeGeneration)
+    extends ExpressionConverter {
+
+  private[this] val interpretedConverters = new ExpressionConverters(None, converters: _*)
+  private[this] val compiler = new SlottedExpressionCompiler(codeGeneration)
+
+  override def toCommandExpression(
+    id: Id,
+    expression: Expression,
+    self: ExpressionConverters
+  ): Option[commands.expressions.Expression] =
+    Some(interpretedConverters.toCommandExpression(id, expression) match {
+      case AndsWithSelectivityTracking(predicates, trackerIndex) =>
+        // Keep the tracking, which reorders the predicates at runtime, and compile each predicate instead
+        AndsWithSelectivityTracking(predicates.map(compile), trackerIndex)
+      case predicate: Predicate => compile(predicate)
+      case converted            => converted
+    })
+
+  override def toCommandProjection(
+    id: Id,
+    projections: Map[LogicalVariable, Expression],
+    self: ExpressionConverters
+  ): Option[CommandProjection] =
+    Some(interpretedConverters.toCommandProjection(id, projections) match {
+      case projection: SlottedCommandProjection => compiler.compileProjection(projection).getOrElse(projection)
+      case converted                            => converted
+    })
+
+  override def toGroupingExpression(
+    id: Id,
+    groupings: Map[LogicalVariable, Expression],
+    orderToLeverage: collection.Seq[Expression],
+    self: ExpressionConverters
+  ): Option[GroupingExpression] = None
+
+  private def compile(predicate: Predicate): Predicate =
+    compiler.compilePredicate(predicate).getOrElse(predicate)
+}
+
+object CompiledExpressionConverter {
+
+  def apply(converters: Seq[ExpressionConverter]): CompiledExpressionConverter =
+    new CompiledExpressionConverter(converters, CodeGeneration.codeGeneration())
+}
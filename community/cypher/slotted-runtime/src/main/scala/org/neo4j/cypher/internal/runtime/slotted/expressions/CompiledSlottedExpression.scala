@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.slotted.expressions
+
+import org.neo4j.cypher.internal.runtime.ReadWriteRow
+import org.neo4j.cypher.internal.runtime.ReadableRow
+import org.neo4j.cypher.internal.runtime.interpreted.CommandProjection
+import org.neo4j.cypher.internal.runtime.interpreted.commands.AstNode
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.IsMatchResult
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.Predicate
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.QueryState
+import org.neo4j.values.AnyValue
+import org.neo4j.values.storable.Value
+
+/**
+ * Implemented by the classes generated by [[SlottedExpressionCompiler]] for expressions.
+ */
+trait CompiledSlottedExpression {
+  def evaluate(row: ReadableRow, state: QueryState): AnyValue
+}
+
+/**
+ * Implemented by the classes generated by [[SlottedExpressionCompiler]] for projections.
+ */
+trait CompiledSlottedProjection {
+  def project(row: ReadWriteRow, state: QueryState): Unit
+}
+
+/**
+ * A predicate evaluated by generated code.
+ *
+ * @param compiled the generated code
+ * @param interpreted the predicate that was compiled, kept for plan descriptions and rewrites
+ */
+case class CompiledPredicate(compiled: CompiledSlottedExpression, interpreted: Predicate) extends Predicate
+    with SlottedExpression {
+
+  override def apply(row: ReadableRow, state: QueryState): Value =
+    compiled.evaluate(row, state).asInstanceOf[Value]
+
+  override def isMatch(ctx: ReadableRow, state: QueryState): IsMatchResult =
+    IsMatchResult(compiled.evaluate(ctx, state).asInstanceOf[Value])
+
+  override def toString: String = interpreted.toString
+
+  override def children: Seq[AstNode[_]] = Seq(interpreted)
+}
+
+/**
+ * A projection evaluated by generated code.
+ *
+ * @param compiled the generated code
+ * @param interpreted the projection that was compiled
+ */
+case class CompiledProjection(compiled: CompiledSlottedProjection, interpreted: SlottedCommandProjection)
+    extends CommandProjection {
+
+  override def isEmpty: Boolean = interpreted.isEmpty
+
+  override def project(ctx: ReadWriteRow, state: QueryState): Unit = compiled.project(ctx, state)
+}
@@ -0,0 +1,432 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.slotted.expressions
+
+import org.neo4j.codegen.api.ClassDeclaration
+import org.neo4j.codegen.api.CodeGeneration
+import org.neo4j.codegen.api.IntermediateRepresentation
+import org.neo4j.codegen.api.IntermediateRepresentation.and
+import org.neo4j.codegen.api.IntermediateRepresentation.arrayLoad
+import org.neo4j.codegen.api.IntermediateRepresentation.assign
+import org.neo4j.codegen.api.IntermediateRepresentation.block
+import org.neo4j.codegen.api.IntermediateRepresentation.cast
+import org.neo4j.codegen.api.IntermediateRepresentation.condition
+import org.neo4j.codegen.api.IntermediateRepresentation.constant
+import org.neo4j.codegen.api.IntermediateRepresentation.declare
+import org.neo4j.codegen.api.IntermediateRepresentation.equal
+import org.neo4j.codegen.api.IntermediateRepresentation.fail
+import org.neo4j.codegen.api.IntermediateRepresentation.falseValue
+import org.neo4j.codegen.api.IntermediateRepresentation.getStatic
+import org.neo4j.codegen.api.IntermediateRepresentation.ifElse
+import org.neo4j.codegen.api.IntermediateRepresentation.invoke
+import org.neo4j.codegen.api.IntermediateRepresentation.invokeSideEffect
+import org.neo4j.codegen.api.IntermediateRepresentation.invokeStatic
+import org.neo4j.codegen.api.IntermediateRepresentation.isNotNull
+import org.neo4j.codegen.api.IntermediateRepresentation.isNull
+import org.neo4j.codegen.api.IntermediateRepresentation.load
+import org.neo4j.codegen.api.IntermediateRepresentation.method
+import org.neo4j.codegen.api.IntermediateRepresentation.noValue
+import org.neo4j.codegen.api.IntermediateRepresentation.noop
+import org.neo4j.codegen.api.IntermediateRepresentation.notEqual
+import org.neo4j.codegen.api.IntermediateRepresentation.or
+import org.neo4j.codegen.api.IntermediateRepresentation.param
+import org.neo4j.codegen.api.IntermediateRepresentation.staticConstant
+import org.neo4j.codegen.api.IntermediateRepresentation.ternary
+import org.neo4j.codegen.api.IntermediateRepresentation.trueValue
+import org.neo4j.codegen.api.IntermediateRepresentation.typeRefOf
+import org.neo4j.codegen.api.MethodDeclaration
+import org.neo4j.codegen.api.StaticField
+import org.neo4j.cypher.internal.runtime.ExpressionCursors
+import org.neo4j.cypher.internal.runtime.NodeReadOperations
+import org.neo4j.cypher.internal.runtime.QueryContext
+import org.neo4j.cypher.internal.runtime.ReadWriteRow
+import org.neo4j.cypher.internal.runtime.ReadableRow
+import org.neo4j.cypher.internal.runtime.RelationshipReadOperations
+import org.neo4j.cypher.internal.runtime.WritableRow
+import org.neo4j.cypher.internal.runtime.interpreted.CommandProjection
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Add
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Expression
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Literal
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Multiply
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.ParameterFromSlot
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Subtract
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.Ands
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.Equals
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.GreaterThan
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.GreaterThanOrEqual
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.IsNull
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.LessThan
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.LessThanOrEqual
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.Not
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.Ors
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.Predicate
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.True
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.QueryState
+import org.neo4j.cypher.internal.runtime.slotted.expressions.SlottedExpressionCompiler.CompiledCode
+import org.neo4j.cypher.internal.runtime.slotted.expressions.SlottedExpressionCompiler.PACKAGE_NAME
+import org.neo4j.cypher.internal.runtime.slotted.expressions.SlottedExpressionCompiler.ROW
+import org.neo4j.cypher.internal.runtime.slotted.expressions.SlottedExpressionCompiler.STATE
+import org.neo4j.cypher.internal.runtime.slotted.helpers.NullChecker.NULL_ENTITY
+import org.neo4j.cypher.operations.CypherMath
+import org.neo4j.internal.kernel.api.NodeCursor
+import org.neo4j.internal.kernel.api.PropertyCursor
+import org.neo4j.internal.kernel.api.RelationshipScanCursor
+import org.neo4j.values.AnyValue
+import org.neo4j.values.storable.LongValue
+import org.neo4j.values.storable.Value
+import org.neo4j.values.storable.Values
+import org.neo4j.values.utils.ValueBooleanLogic
+
+import java.util.concurrent.atomic.AtomicLong
+
+import scala.collection.mutable.ArrayBuffer
+
+/**
+ * Compiles the command expressions of the slotted runtime to byte code.
+ *
+ * The supported expressions are turned into code that reads the slots of the row directly. Any other sub-expression is
+ * stored in a static field of the generated class and interpreted, so that an expression can be compiled as long as
+ * its root is supported.
+ */
+class SlottedExpressionCompiler(codeGeneration: CodeGeneration) {
+
+  private[this] lazy val generator = codeGeneration.createGenerator()
+
+  /**
+   * @return the compiled predicate, or `None` if the root of the predicate is not supported
+   */
+  def compilePredicate(predicate: Predicate): Option[CompiledPredicate] = {
+    val compilation = new Compilation
+    compilation.compile(predicate).map { code =>
+      val compiled = compileClass[CompiledSlottedExpression](
+        MethodDeclaration(
+          "evaluate",
+          typeRefOf[AnyValue],
+          Seq(param[ReadableRow](ROW), param[QueryState](STATE)),
+          block(code.setup, code.value)
+        ),
+        compilation.constants
+      )
+      CompiledPredicate(compiled, predicate)
+    }
+  }
+
+  /**
+   * @return the compiled projection, or `None` if none of the projected expressions is supported
+   */
+  def compileProjection(projection: SlottedCommandProjection): Option[CommandProjection] = {
+    val compilation = new Compilation
+    val projections = projection.introducedExpressions.map {
+      case (offset, expression) =>
+        val code = compilation.compileOrInterpret(expression)
+        block(
+          code.setup,
+          invokeSideEffect(
+            load[ReadWriteRow](ROW),
+            method[WritableRow, Unit, Int, AnyValue]("setRefAt"),
+            constant(offset),
+            code.value
+          )
+        )
+    }
+    if (compilation.compiledExpressions == 0) {
+      None
+    } else {
+      val compiled = compileClass[CompiledSlottedProjection](
+        MethodDeclaration(
+          "project",
+          typeRefOf[Unit],
+          Seq(param[ReadWriteRow](ROW), param[QueryState](STATE)),
+          block(projections.toSeq: _*)
+        ),
+        compilation.constants
+      )
+      Some(CompiledProjection(compiled, projection))
+    }
+  }
+
+  private def compileClass[T](method: MethodDeclaration, constants: Seq[StaticField])(implicit
+  manifest: Manifest[T]): T = {
+    val declaration = ClassDeclaration[T](
+      PACKAGE_NAME,
+      SlottedExpressionCompiler.nextClassName(),
+      None,
+      Seq(typeRefOf[T]),
+      Seq.empty,
+      noop(),
+      () => constants,
+      Seq(method)
+    )
+    val clazz = generator.synchronized {
+      codeGeneration.compileAnonymousClass(declaration, generator)
+    }
+    clazz.getDeclaredConstructor().newInstance()
+  }
+
+  /**
+   * The state of compiling the body of one generated method.
+   */
+  private class Compilation {
+    private[this] val fields = ArrayBuffer.empty[StaticField]
+    private[this] var variables = 0
+
+    /**
+     * The number of expressions that were compiled rather than interpreted.
+     */
+    var compiledExpressions = 0
+
+    def constants: Seq[StaticField] = fields.toSeq
+
+    def compileOrInterpret(expression: Expression): CompiledCode =
+      compile(expression).getOrElse(interpret(expression))
+
+    def compile(expression: Expression): Option[CompiledCode] = {
+      val code = expression match {
+        case ReferenceFromSlot(offset) =>
+          Some(CompiledCode(
+            invoke(load[ReadableRow](ROW), method[ReadableRow, AnyValue, Int]("getRefAt"), constant(offset))
+          ))
+
+        case IdFromSlot(offset) =>
+          Some(CompiledCode(invokeStatic(method[Values, LongValue, Long]("longValue"), getLongAt(offset))))
+
+        case IsPrimitiveNull(offset) =>
+          Some(CompiledCode(ternary(isEntityNull(offset), trueValue, falseValue)))
+
+        case NullCheck(offset, inner) =>
+          val innerCode = compileOrInterpret(inner)
+          val result = nextVariable()
+          Some(CompiledCode(
+            block(
+              declare[AnyValue](result),
+              ifElse(isEntityNull(offset))(assign(result, noValue))(block(
+                innerCode.setup,
+                assign(result, innerCode.value)
+              ))
+            ),
+            load[AnyValue](result)
+          ))
+
+        case ParameterFromSlot(offset, _) =>
+          Some(CompiledCode(
+            arrayLoad(invoke(load[QueryState](STATE), method[QueryState, Array[AnyValue]]("params")), offset)
+          ))
+
+        case Literal(value) =>
+          Some(CompiledCode(getStatic(constantField[AnyValue](value))))
+
+        case NodeProperty(offset, token) =>
+          Some(CompiledCode(invoke(
+            invoke(queryContext, method[QueryContext, NodeReadOperations]("nodeReadOps")),
+            method[NodeReadOperations, Value, Long, Int, AnyRef, PropertyCursor, Boolean]("getProperty"),
+            getLongAt(offset),
+            constant(token),
+            invoke(cursors, method[ExpressionCursors, NodeCursor]("nodeCursor")),
+            invoke(cursors, method[ExpressionCursors, PropertyCursor]("propertyCursor")),
+            constant(true)
+          )))
+
+        case RelationshipProperty(offset, token) =>
+          Some(CompiledCode(invoke(
+            invoke(queryContext, method[QueryContext, RelationshipReadOperations]("relationshipReadOps")),
+            method[RelationshipReadOperations, Value, Long, Int, AnyRef, PropertyCursor, Boolean]("getProperty"),
+            getLongAt(offset),
+            constant(token),
+            invoke(cursors, method[ExpressionCursors, RelationshipScanCursor]("relationshipScanCursor")),
+            invoke(cursors, method[ExpressionCursors, PropertyCursor]("propertyCursor")),
+            constant(true)
+          )))
+
+        case True() =>
+          Some(CompiledCode(trueValue))
+
+        case Not(inner) =>
+          val innerCode = compileOrInterpret(inner)
+          Some(CompiledCode(
+            innerCode.setup,
+            invokeStatic(method[ValueBooleanLogic, Value, AnyValue]("not"), innerCode.value)
+          ))
+
+        case IsNull(inner) =>
+          val innerCode = compileOrInterpret(inner)
+          Some(CompiledCode(innerCode.setup, ternary(equal(innerCode.value, noValue), trueValue, falseValue)))
+
+        case Equals(a, b)             => Some(comparison("equals", a, b))
+        case LessThan(a, b)           => Some(comparison("lessThan", a, b))
+        case LessThanOrEqual(a, b)    => Some(comparison("lessThanOrEqual", a, b))
+        case GreaterThan(a, b)        => Some(comparison("greaterThan", a, b))
+        case GreaterThanOrEqual(a, b) => Some(comparison("greaterThanOrEqual", a, b))
+
+        case PrimitiveEquals(a, b) =>
+          Some(binary(a, b) { (lhs, rhs) =>
+            ternary(invoke(lhs, method[AnyRef, Boolean, AnyRef]("equals"), rhs), trueValue, falseValue)
+          })
+
+        case Add(a, b)      => Some(arithmetic("add", a, b))
+        case Subtract(a, b) => Some(arithmetic("subtract", a, b))
+        case Multiply(a, b) => Some(arithmetic("multiply", a, b))
+
+        case Ands(predicates) => Some(composite(predicates.toIndexedSeq, falseValue, trueValue))
+        case Ors(predicates)  => Some(composite(predicates.toIndexedSeq, trueValue, falseValue))
+
+        case _ => None
+      }
+      if (code.isDefined) {
+        compiledExpressions += 1
+      }
+      code
+    }
+
+    private def interpret(expression: Expression): CompiledCode =
+      CompiledCode(invoke(
+        getStatic(constantField[Expression](expression)),
+        method[Expression, AnyValue, ReadableRow, QueryState]("apply"),
+        load[ReadableRow](ROW),
+        load[QueryState](STATE)
+      ))
+
+    private def comparison(name: String, a: Expression, b: Expression): CompiledCode =
+      binary(a, b) { (lhs, rhs) =>
+        invokeStatic(method[ValueBooleanLogic, Value, AnyValue, AnyValue](name), lhs, rhs)
+      }
+
+    private def arithmetic(name: String, a: Expression, b: Expression): CompiledCode =
+      binary(a, b) { (lhs, rhs) =>
+        ternary(
+          or(equal(lhs, noValue), equal(rhs, noValue)),
+          cast[AnyValue](noValue),
+          invokeStatic(method[CypherMath, AnyValue, AnyValue, AnyValue](name), lhs, rhs)
+        )
+      }
+
+    /**
+     * Evaluates both operands, in order, before combining their values. The values passed to `combine` may be used
+     * more than once.
+     */
+    private def binary(a: Expression, b: Expression)(
+      combine: (IntermediateRepresentation, IntermediateRepresentation) => IntermediateRepresentation
+    ): CompiledCode = {
+      val lhs = materialize(compileOrInterpret(a))
+      val rhs = materialize(compileOrInterpret(b))
+      CompiledCode(block(lhs.setup, rhs.setup), combine(lhs.value, rhs.value))
+    }
+
+    /**
+     * Mirrors [[org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.CompositeBooleanPredicate]]: stops
+     * evaluating once a predicate evaluates to `exitValue`, and holds on to the first error until the end, where it is
+     * thrown unless the exit value was reached.
+     */
+    private def composite(
+      predicates: Seq[Predicate],
+      exitValue: IntermediateRepresentation,
+      initialValue: IntermediateRepresentation
+    ): CompiledCode = {
+      val result = nextVariable()
+      val error = nextVariable()
+      val evaluations = predicates.map { predicate =>
+        val code = compileOrInterpret(predicate)
+        val value = nextVariable()
+        val caught = nextVariable()
+        condition(notEqual(load[AnyValue](result), exitValue))(block(
+          declare[AnyValue](value),
+          assign(value, constant(null)),
+          tryCatch(caught)(block(code.setup, assign(value, code.value)))(
+            condition(isNull(load[Exception](error)))(assign(error, load[Exception](caught)))
+          ),
+          condition(equal(load[AnyValue](value), exitValue))(assign(result, exitValue)),
+          condition(and(equal(load[AnyValue](value), noValue), isNull(load[Exception](error))))(
+            assign(result, noValue)
+          )
+        ))
+      }
+      CompiledCode(
+        block(
+          declare[AnyValue](result),
+          assign(result, initialValue),
+          declare[Exception](error),
+          assign(error, constant(null)),
+          block(evaluations: _*),
+          condition(and(notEqual(load[AnyValue](result), exitValue), isNotNull(load[Exception](error))))(
+            fail(load[Exception](error))
+          )
+        ),
+        load[AnyValue](result)
+      )
+    }
+
+    private def tryCatch(name: String)(ops: IntermediateRepresentation)(onError: IntermediateRepresentation) =
+      IntermediateRepresentation.tryCatch[Exception](name)(ops)(onError)
+
+    private def materialize(code: CompiledCode): CompiledCode = {
+      val variable = nextVariable()
+      CompiledCode(
+        block(code.setup, declare[AnyValue](variable), assign(variable, code.value)),
+        load[AnyValue](variable)
+      )
+    }
+
+    private def constantField[T](value: AnyRef)(implicit manifest: Manifest[T]): StaticField = {
+      val field = staticConstant[T](s"CONSTANT_${fields.size}", value)
+      fields += field
+      field
+    }
+
+    private def nextVariable(): String = {
+      variables += 1
+      s"v$variables"
+    }
+
+    private def getLongAt(offset: Int): IntermediateRepresentation =
+      invoke(load[ReadableRow](ROW), method[ReadableRow, Long, Int]("getLongAt"), constant(offset))
+
+    private def isEntityNull(offset: Int): IntermediateRepresentation =
+      equal(getLongAt(offset), constant(NULL_ENTITY))
+
+    private def queryContext: IntermediateRepresentation =
+      invoke(load[QueryState](STATE), method[QueryState, QueryContext]("query"))
+
+    private def cursors: IntermediateRepresentation =
+      invoke(load[QueryState](STATE), method[QueryState, ExpressionCursors]("cursors"))
+  }
+}
+
+object SlottedExpressionCompiler {
+
+  // Hidden classes are defined in the package of the code generator
+  private val PACKAGE_NAME = "org.neo4j.codegen"
+  private val ROW = "row"
+  private val STATE = "state"
+
+  private val classCounter = new AtomicLong()
+
+  private def nextClassName(): String = s"SlottedExpression${classCounter.incrementAndGet()}"
+
+  /**
+   * Generated code for an expression.
+   *
+   * @param setup statements that must be executed before the value is evaluated
+   * @param value the value of the expression, which must be evaluated exactly once
+   */
+  case class CompiledCode(setup: IntermediateRepresentation, value: IntermediateRepresentation)
+
+  object CompiledCode {
+    def apply(value: IntermediateRepresentation): CompiledCode = CompiledCode(noop(), value)
+  }
+}
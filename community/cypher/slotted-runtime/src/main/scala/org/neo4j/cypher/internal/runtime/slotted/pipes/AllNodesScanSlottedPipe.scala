@@ -23,17 +23,26 @@ import org.neo4j.cypher.internal.physicalplanning.SlotConfiguration
 import org.neo4j.cypher.internal.runtime.ClosingIterator
 import org.neo4j.cypher.internal.runtime.CypherRow
 import org.neo4j.cypher.internal.runtime.PrimitiveLongHelper
-import org.neo4j.cypher.internal.runtime.interpreted.pipes.Pipe
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.QueryState
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.RowBatch
 import org.neo4j.cypher.internal.util.attribution.Id
 
-case class AllNodesScanSlottedPipe(ident: String, slots: SlotConfiguration)(val id: Id = Id.INVALID_ID) extends Pipe {
+case class AllNodesScanSlottedPipe(ident: String, slots: SlotConfiguration)(val id: Id = Id.INVALID_ID)
+    extends MorselLeafPipe with BatchedNodeLeafPipe {
 
   private val offset = slots.getLongOffsetFor(ident)
 
+  override def morselScan(state: QueryState, desiredMorsels: Int): Option[MorselScan] = {
+    val transactionalContext = state.query.transactionalContext
+    Some(AllNodesMorselScan(transactionalContext.dataRead.allNodesScan(
+      desiredMorsels,
+      transactionalContext.cursorContext
+    )))
+  }
+
   protected def internalCreateResults(state: QueryState): ClosingIterator[CypherRow] = {
     PrimitiveLongHelper.map(
-      state.query.nodeReadOps.all,
+      nodes(state, state.query.nodeReadOps.all),
       { nodeId =>
         val context = state.newRowWithArgument(rowFactory)
         context.setLongAt(offset, nodeId)
@@ -41,4 +50,7 @@ case class AllNodesScanSlottedPipe(ident: String, slots: SlotConfiguration)(val
       }
     )
   }
+
+  override def createBatches(state: QueryState): ClosingIterator[RowBatch] =
+    nodeBatches(state, nodes(state, state.query.nodeReadOps.all), offset)
 }
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.slotted.pipes
+
+import org.neo4j.cypher.internal.runtime.ClosingIterator
+import org.neo4j.cypher.internal.runtime.ClosingLongIterator
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.BatchedPipe
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.QueryState
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.RowBatch
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.RowBatchIterator
+
+/**
+ * A leaf pipe producing a row per node, which can produce its rows in batches for the pipes above it.
+ */
+trait BatchedNodeLeafPipe extends BatchedPipe {
+
+  /**
+   * Set by the pipe mapper for read-only queries, before the pipe is executed. A value of 0 disables batching.
+   */
+  var batchSize: Int = 0
+
+  /**
+   * Fills batches with a row per node, setting the node in the long slot at `offset`.
+   */
+  protected def nodeBatches(state: QueryState, nodes: ClosingLongIterator, offset: Int): ClosingIterator[RowBatch] = {
+    state.setExecutionContextFactory(rowFactory)
+    new RowBatchIterator(batchSize) {
+      override protected def fill(output: RowBatch): Unit = {
+        while (!output.isFull && nodes.hasNext) {
+          val row = state.newRowWithArgument(rowFactory)
+          row.setLongAt(offset, nodes.next())
+          output.add(row)
+        }
+      }
+
+      override protected[this] def closeMore(): Unit = nodes.close()
+    }
+  }
+}
@@ -28,35 +28,74 @@ import org.neo4j.cypher.internal.runtime.interpreted.pipes.PipeWithSource
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.QueryState
 import org.neo4j.cypher.internal.runtime.slotted.SlottedRow
 import org.neo4j.cypher.internal.runtime.slotted.SlottedRowEagerBuffer
+import org.neo4j.cypher.internal.runtime.slotted.spill.SpillFile
+import org.neo4j.cypher.internal.runtime.slotted.spill.Spilling
 import org.neo4j.cypher.internal.util.attribution.Id
 import org.neo4j.kernel.impl.util.collection.EagerBuffer
+import org.neo4j.memory.MemoryTracker
 
-case class EagerSlottedPipe(source: Pipe, slots: SlotConfiguration)(val id: Id = Id.INVALID_ID)
-    extends PipeWithSource(source) {
+case class EagerSlottedPipe(source: Pipe, slots: SlotConfiguration, spilling: Option[Spilling] = None)(
+  val id: Id = Id.INVALID_ID
+) extends PipeWithSource(source) {
 
   protected def internalCreateResults(
     input: ClosingIterator[CypherRow],
     state: QueryState
   ): ClosingIterator[CypherRow] = {
-    val buffer = SlottedRowEagerBuffer(
-      state.memoryTrackerForOperatorProvider.memoryTrackerForOperator(id.x),
-      1024,
-      8192,
-      EagerBuffer.GROW_NEW_CHUNKS_BY_100_PCT,
-      slots
-    )
-    state.query.resources.trace(buffer)
+    val memoryTracker = state.memoryTrackerForOperatorProvider.memoryTrackerForOperator(id.x)
+    var buffer = newBuffer(memoryTracker, state)
+    var spillFile: SpillFile = null
+    var previous: CypherRow = null
+    var heapUsage = 0L
     while (input.hasNext) {
       val row = input.next()
       row.compact()
       buffer.add(row)
+      spilling match {
+        case Some(spill) =>
+          heapUsage += row.deduplicatedEstimatedHeapUsage(previous)
+          previous = row
+          if (heapUsage > spill.threshold) {
+            // Spilled rows are all written to the same file, which keeps them in the order they arrived
+            if (spillFile == null) {
+              spillFile = spill.newFile(state, memoryTracker)
+            }
+            val bytesBefore = spillFile.bytes
+            val bufferedRows = buffer.autoClosingIterator()
+            while (bufferedRows.hasNext) {
+              spillFile.add(bufferedRows.next())
+            }
+            state.decorator.spilled(id, spillFile.bytes - bytesBefore)
+            buffer = newBuffer(memoryTracker, state)
+            heapUsage = 0L
+            previous = null
+          }
+        case None =>
+      }
     }
-    buffer.autoClosingIterator().asClosingIterator.map { bufferedRow =>
+    val bufferedRows = buffer.autoClosingIterator().asClosingIterator.closing(buffer)
+    val allRows =
+      if (spillFile == null) {
+        bufferedRows
+      } else {
+        val bytesBefore = spillFile.bytes
+        spillFile.finish()
+        state.decorator.spilled(id, spillFile.bytes - bytesBefore)
+        val file = spillFile
+        file.iterator().closing(file).addAllLazy(() => bufferedRows)
+      }
+    allRows.map { bufferedRow =>
       // this is necessary because Eager is the beginning of a new pipeline
       // We do this on the output side, and buffer the input rows they will use less memory
       val outputRow = SlottedRow(slots)
       outputRow.copyAllFrom(bufferedRow)
       outputRow
-    }.closing(buffer)
+    }
+  }
+
+  private def newBuffer(memoryTracker: MemoryTracker, state: QueryState): EagerBuffer[CypherRow] = {
+    val buffer = SlottedRowEagerBuffer(memoryTracker, 1024, 8192, EagerBuffer.GROW_NEW_CHUNKS_BY_100_PCT, slots)
+    state.query.resources.trace(buffer)
+    buffer
   }
 }
@@ -29,10 +29,12 @@ import org.neo4j.cypher.internal.physicalplanning.SlotConfigurationUtils.makeGet
 import org.neo4j.cypher.internal.runtime.ClosingIterator
 import org.neo4j.cypher.internal.runtime.CypherRow
 import org.neo4j.cypher.internal.runtime.QueryContext
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.BatchedPipeWithSource
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.Pipe
-import org.neo4j.cypher.internal.runtime.interpreted.pipes.PipeWithSource
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.QueryState
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.RelationshipTypes
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.RowBatch
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.RowBatchIterator
 import org.neo4j.cypher.internal.runtime.slotted.SlottedRow
 import org.neo4j.cypher.internal.runtime.slotted.helpers.NullChecker
 import org.neo4j.cypher.internal.util.attribution.Id
@@ -47,7 +49,7 @@ case class ExpandAllSlottedPipe(
   dir: SemanticDirection,
   types: RelationshipTypes,
   slots: SlotConfiguration
-)(val id: Id = Id.INVALID_ID) extends PipeWithSource(source) with Pipe {
+)(val id: Id = Id.INVALID_ID) extends BatchedPipeWithSource(source) {
 
   // ===========================================================================
   // Compile-time initializations
@@ -98,6 +100,84 @@ case class ExpandAllSlottedPipe(
         }
     }
   }
+
+  /**
+   * Expands all rows of the input batches using a single node cursor and relationship cursor, instead of allocating
+   * them for every input row.
+   */
+  override protected def internalCreateBatches(
+    input: ClosingIterator[RowBatch],
+    state: QueryState
+  ): ClosingIterator[RowBatch] = {
+    val read = state.query.transactionalContext.dataRead
+    val relTypes = types.types(state.query)
+    val nodeCursor = state.query.nodeCursor()
+    val relCursor = state.query.traversalCursor()
+    state.query.resources.trace(nodeCursor)
+    state.query.resources.trace(relCursor)
+
+    new RowBatchIterator(batchSize) {
+      private[this] var inputBatch: RowBatch = _
+      private[this] var inputIndex = 0
+      private[this] var inputRow: CypherRow = _
+      private[this] var selectionCursor: RelationshipTraversalCursor = _
+
+      override protected def fill(output: RowBatch): Unit = {
+        while (!output.isFull) {
+          if (selectionCursor != null && selectionCursor.next()) {
+            val outputRow = SlottedRow(slots)
+            outputRow.copyAllFrom(inputRow)
+            outputRow.setLongAt(relOffset, selectionCursor.relationshipReference())
+            outputRow.setLongAt(toOffset, selectionCursor.otherNodeReference())
+            output.add(outputRow)
+          } else if (!nextInputRow()) {
+            return
+          }
+        }
+      }
+
+      /**
+       * Positions the selection cursor at the relationships of the next input row with a from node.
+       */
+      private def nextInputRow(): Boolean = {
+        selectionCursor = null
+        while (true) {
+          if (inputBatch == null || inputIndex >= inputBatch.size) {
+            if (!input.hasNext) {
+              return false
+            }
+            inputBatch = input.next()
+            inputIndex = 0
+          } else {
+            inputRow = inputBatch(inputIndex)
+            inputIndex += 1
+            val fromNode = getFromNodeFunction.applyAsLong(inputRow)
+            if (!NullChecker.entityIsNull(fromNode)) {
+              read.singleNode(fromNode, nodeCursor)
+              if (nodeCursor.next()) {
+                selectionCursor = dir match {
+                  case OUTGOING => RelationshipSelections.outgoingCursor(relCursor, nodeCursor, relTypes)
+                  case INCOMING => RelationshipSelections.incomingCursor(relCursor, nodeCursor, relTypes)
+                  case BOTH     => RelationshipSelections.allCursor(relCursor, nodeCursor, relTypes)
+                }
+                return true
+              }
+            }
+          }
+        }
+        false
+      }
+
+      override protected[this] def closeMore(): Unit = {
+        inputBatch = null
+        inputRow = null
+        selectionCursor = null
+        nodeCursor.close()
+        relCursor.close()
+        input.close()
+      }
+    }
+  }
 }
 
 abstract class ExpandIterator(selectionCursor: RelationshipTraversalCursor, queryContext: QueryContext)
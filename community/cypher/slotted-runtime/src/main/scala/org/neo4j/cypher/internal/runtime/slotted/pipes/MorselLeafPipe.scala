@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.slotted.pipes
+
+import org.neo4j.cypher.internal.runtime.ClosingLongIterator
+import org.neo4j.cypher.internal.runtime.interpreted.TransactionBoundQueryContext.PrimitiveCursorIterator
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.Pipe
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.QueryState
+import org.neo4j.internal.kernel.api.NodeCursor
+import org.neo4j.internal.kernel.api.NodeLabelIndexCursor
+import org.neo4j.internal.kernel.api.PartitionedScan
+
+/**
+ * A leaf pipe whose scan can be split into morsels, so that the workers of a [[ParallelSlottedPipe]] can share it.
+ *
+ * When executed with a [[MorselWorkerQueryState]] the pipe produces the nodes of the morsels reserved by that worker,
+ * otherwise it scans everything.
+ */
+trait MorselLeafPipe extends Pipe {
+
+  /**
+   * Splits the scan of this pipe into morsels. Must be called from the thread executing the query.
+   *
+   * @return the scan shared by all workers, or `None` if the scan can't produce any rows.
+   */
+  def morselScan(state: QueryState, desiredMorsels: Int): Option[MorselScan]
+
+  protected def nodes(state: QueryState, scanAll: => ClosingLongIterator): ClosingLongIterator = state match {
+    case worker: MorselWorkerQueryState => worker.morselScan.nodes(worker)
+    case _                              => scanAll
+  }
+}
+
+/**
+ * A scan split into morsels, which are reserved by workers one at a time until there are none left.
+ */
+trait MorselScan {
+
+  /**
+   * The nodes of all morsels that the worker executing with the given state manages to reserve.
+   */
+  def nodes(state: QueryState): ClosingLongIterator
+}
+
+case class AllNodesMorselScan(scan: PartitionedScan[NodeCursor]) extends MorselScan {
+
+  override def nodes(state: QueryState): ClosingLongIterator = {
+    val transactionalContext = state.query.transactionalContext
+    val cursor =
+      transactionalContext.cursors.allocateNodeCursor(
+        transactionalContext.cursorContext,
+        transactionalContext.memoryTracker
+      )
+    state.query.resources.trace(cursor)
+    val executionContext = transactionalContext.kernelExecutionContext
+    new PrimitiveCursorIterator {
+      override protected def fetchNext(): Long = {
+        while (true) {
+          if (cursor.next()) {
+            return cursor.nodeReference()
+          }
+          if (!scan.reservePartition(cursor, executionContext)) {
+            return -1L
+          }
+        }
+        -1L
+      }
+
+      override def close(): Unit = cursor.close()
+    }
+  }
+}
+
+case class NodeLabelMorselScan(scan: PartitionedScan[NodeLabelIndexCursor]) extends MorselScan {
+
+  override def nodes(state: QueryState): ClosingLongIterator = {
+    val transactionalContext = state.query.transactionalContext
+    val cursor =
+      transactionalContext.cursors.allocateNodeLabelIndexCursor(
+        transactionalContext.cursorContext,
+        transactionalContext.memoryTracker
+      )
+    state.query.resources.trace(cursor)
+    val executionContext = transactionalContext.kernelExecutionContext
+    new PrimitiveCursorIterator {
+      override protected def fetchNext(): Long = {
+        while (true) {
+          if (cursor.next()) {
+            return cursor.nodeReference()
+          }
+          if (!scan.reservePartition(cursor, executionContext)) {
+            return -1L
+          }
+        }
+        -1L
+      }
+
+      override def close(): Unit = cursor.close()
+    }
+  }
+}
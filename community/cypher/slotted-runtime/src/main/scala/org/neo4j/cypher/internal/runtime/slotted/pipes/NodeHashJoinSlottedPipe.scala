@@ -37,6 +37,8 @@ import org.neo4j.cypher.internal.runtime.slotted.pipes.NodeHashJoinSlottedPipe.S
 import org.neo4j.cypher.internal.runtime.slotted.pipes.NodeHashJoinSlottedPipe.SlotMappers
 import org.neo4j.cypher.internal.runtime.slotted.pipes.NodeHashJoinSlottedPipe.copyDataFromRow
 import org.neo4j.cypher.internal.runtime.slotted.pipes.NodeHashJoinSlottedPipe.fillKeyArray
+import org.neo4j.cypher.internal.runtime.slotted.spill.JoinSpilling
+import org.neo4j.cypher.internal.runtime.slotted.spill.Spilling
 import org.neo4j.cypher.internal.util.attribution.Id
 import org.neo4j.kernel.impl.util.collection.ProbeTable
 import org.neo4j.values.storable.LongArray
@@ -52,7 +54,8 @@ case class NodeHashJoinSlottedPipe(
   left: Pipe,
   right: Pipe,
   slots: SlotConfiguration,
-  rhsSlotMappings: SlotMappings
+  rhsSlotMappings: SlotMappings,
+  spilling: Option[JoinSpilling] = None
 )(val id: Id = Id.INVALID_ID) extends AbstractHashJoinPipe[LongArray](left, right) {
 
   private val lhsOffsets: Array[Int] = lhsKeyOffsets.offsets
@@ -64,6 +67,14 @@ case class NodeHashJoinSlottedPipe(
 
   private val rhsMappers: Array[SlotMapper] = SlotMappers(rhsSlotMappings)
 
+  override protected def internalCreateResults(
+    input: ClosingIterator[CypherRow],
+    state: QueryState
+  ): ClosingIterator[CypherRow] = spilling match {
+    case None        => super.internalCreateResults(input, state)
+    case Some(spill) => spillingHashJoin(input, state, spill)
+  }
+
   override def buildProbeTable(
     lhsInput: ClosingIterator[CypherRow],
     queryState: QueryState
@@ -85,6 +96,109 @@ case class NodeHashJoinSlottedPipe(
     table
   }
 
+  private def spillingHashJoin(
+    lhsInput: ClosingIterator[CypherRow],
+    state: QueryState,
+    spill: JoinSpilling
+  ): ClosingIterator[CypherRow] = {
+    if (!lhsInput.hasNext)
+      return ClosingIterator.empty
+
+    val rhsInput = right.createResults(state)
+
+    if (rhsInput.isEmpty)
+      return ClosingIterator.empty
+
+    spillingHashJoin(lhsInput, rhsInput, state, spill, level = 0)
+  }
+
+  /**
+   * Builds the probe table as long as it stays below the spill threshold. Once the threshold is exceeded, both inputs
+   * are partitioned to disk by the hash of their keys and joined one partition at a time. Partitions that exceed the
+   * threshold again are partitioned into the next level.
+   */
+  private def spillingHashJoin(
+    lhsInput: ClosingIterator[CypherRow],
+    rhsInput: ClosingIterator[CypherRow],
+    state: QueryState,
+    spill: JoinSpilling,
+    level: Int
+  ): ClosingIterator[CypherRow] = {
+    val memoryTracker = state.memoryTrackerForOperatorProvider.memoryTrackerForOperator(id.x)
+    val table = ProbeTable.createProbeTable[LongArray, CypherRow](memoryTracker)
+    state.query.resources.trace(table)
+    val key = new Array[Long](width)
+    // Rows that still don't fit at the last level all have the same hash, so they are joined in memory
+    val threshold = if (level < Spilling.LEVELS) spill.lhs.threshold else Long.MaxValue
+    while (lhsInput.hasNext && table.estimatedHeapUsage() <= threshold) {
+      val current = lhsInput.next()
+      fillKeyArray(current, key, lhsOffsets, lhsIsReference)
+      if (key(0) != -1) {
+        current.compact()
+        table.put(Values.longArray(key.clone()), current)
+      }
+    }
+
+    if (!lhsInput.hasNext) {
+      if (table.isEmpty) {
+        table.close()
+        rhsInput.close()
+        return ClosingIterator.empty
+      }
+      return probeInput(rhsInput, state, table).closing(rhsInput)
+    }
+
+    val lhsPartitions = new Spilling.Partitions(spill.lhs, state, memoryTracker, id, level)
+    table.keySet().forEach { tableKey =>
+      val hashCode = tableKey.hashCode()
+      table.get(tableKey).forEachRemaining(row => lhsPartitions.add(hashCode, row))
+    }
+    table.close()
+    while (lhsInput.hasNext) {
+      val current = lhsInput.next()
+      fillKeyArray(current, key, lhsOffsets, lhsIsReference)
+      if (key(0) != -1) {
+        lhsPartitions.add(Values.longArray(key).hashCode(), current)
+      }
+    }
+    lhsPartitions.finish()
+
+    val rhsPartitions = new Spilling.Partitions(spill.rhs, state, memoryTracker, id, level)
+    while (rhsInput.hasNext) {
+      val current = rhsInput.next()
+      fillKeyArray(current, key, rhsOffsets, rhsIsReference)
+      if (key(0) != -1) {
+        rhsPartitions.add(Values.longArray(key).hashCode(), current)
+      }
+    }
+    rhsPartitions.finish()
+
+    (0 until Spilling.PARTITIONS)
+      .foldLeft(ClosingIterator.empty: ClosingIterator[CypherRow]) { (rows, partition) =>
+        rows.addAllLazy(() =>
+          joinPartition(lhsPartitions.iterator(partition), rhsPartitions.iterator(partition), state, spill, level + 1)
+        )
+      }
+      .closing(lhsPartitions)
+      .closing(rhsPartitions)
+  }
+
+  private def joinPartition(
+    lhsInput: ClosingIterator[CypherRow],
+    rhsInput: ClosingIterator[CypherRow],
+    state: QueryState,
+    spill: JoinSpilling,
+    level: Int
+  ): ClosingIterator[CypherRow] = {
+    if (!lhsInput.hasNext || !rhsInput.hasNext) {
+      lhsInput.close()
+      rhsInput.close()
+      ClosingIterator.empty
+    } else {
+      spillingHashJoin(lhsInput, rhsInput, state, spill, level)
+    }
+  }
+
   override def probeInput(
     rhsInput: ClosingIterator[CypherRow],
     queryState: QueryState,
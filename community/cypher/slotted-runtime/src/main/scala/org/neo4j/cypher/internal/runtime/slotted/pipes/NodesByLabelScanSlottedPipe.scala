@@ -25,26 +25,41 @@ import org.neo4j.cypher.internal.runtime.ClosingIterator
 import org.neo4j.cypher.internal.runtime.CypherRow
 import org.neo4j.cypher.internal.runtime.PrimitiveLongHelper
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.LazyLabel
-import org.neo4j.cypher.internal.runtime.interpreted.pipes.Pipe
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.QueryState
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.RowBatch
 import org.neo4j.cypher.internal.util.attribution.Id
+import org.neo4j.internal.kernel.api.TokenPredicate
 
 case class NodesByLabelScanSlottedPipe(
   ident: String,
   label: LazyLabel,
   slots: SlotConfiguration,
   indexOrder: IndexOrder
-)(val id: Id = Id.INVALID_ID) extends Pipe {
+)(val id: Id = Id.INVALID_ID) extends MorselLeafPipe with BatchedNodeLeafPipe {
 
   private val offset = slots.getLongOffsetFor(ident)
 
+  override def morselScan(state: QueryState, desiredMorsels: Int): Option[MorselScan] = {
+    val labelId = label.getId(state.query)
+    if (labelId == LazyLabel.UNKNOWN) None
+    else {
+      val transactionalContext = state.query.transactionalContext
+      Some(NodeLabelMorselScan(transactionalContext.dataRead.nodeLabelScan(
+        state.nodeLabelTokenReadSession.get,
+        desiredMorsels,
+        transactionalContext.cursorContext,
+        new TokenPredicate(labelId)
+      )))
+    }
+  }
+
   protected def internalCreateResults(state: QueryState): ClosingIterator[CypherRow] = {
 
     val labelId = label.getId(state.query)
     if (labelId == LazyLabel.UNKNOWN) ClosingIterator.empty
     else {
       PrimitiveLongHelper.map(
-        state.query.getNodesByLabel(state.nodeLabelTokenReadSession.get, labelId, indexOrder),
+        nodes(state, state.query.getNodesByLabel(state.nodeLabelTokenReadSession.get, labelId, indexOrder)),
         { nodeId =>
           val context = state.newRowWithArgument(rowFactory)
           context.setLongAt(offset, nodeId)
@@ -53,4 +68,16 @@ case class NodesByLabelScanSlottedPipe(
       )
     }
   }
+
+  override def createBatches(state: QueryState): ClosingIterator[RowBatch] = {
+    val labelId = label.getId(state.query)
+    if (labelId == LazyLabel.UNKNOWN) ClosingIterator.empty
+    else {
+      nodeBatches(
+        state,
+        nodes(state, state.query.getNodesByLabel(state.nodeLabelTokenReadSession.get, labelId, indexOrder)),
+        offset
+      )
+    }
+  }
 }
@@ -0,0 +1,331 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.slotted.pipes
+
+import org.neo4j.cypher.internal.runtime.ClosingIterator
+import org.neo4j.cypher.internal.runtime.CypherRow
+import org.neo4j.cypher.internal.runtime.QueryContext
+import org.neo4j.cypher.internal.runtime.ThreadSafeResourceManager
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.NullPipeDecorator
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.Pipe
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.PipeWithSource
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.QueryState
+import org.neo4j.cypher.internal.runtime.memory.MemoryTrackerForOperatorProvider
+import org.neo4j.cypher.internal.runtime.slotted.pipes.ParallelSlottedPipe.MORSELS_PER_WORKER
+import org.neo4j.cypher.internal.util.attribution.Id
+import org.neo4j.memory.MemoryTracker
+import org.neo4j.values.AnyValue
+
+import java.util.concurrent.Callable
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.Future
+import java.util.concurrent.atomic.AtomicBoolean
+
+import scala.collection.mutable.ArrayBuffer
+
+/**
+ * Executes the pipeline segment between a [[MorselLeafPipe]] and the first pipeline breaker on several workers.
+ *
+ * Every worker runs `partial` with its own [[MorselWorkerQueryState]], reserving morsels of the shared scan until it is
+ * exhausted. The rows produced by the workers are then merged on the thread executing the query, by running `merge`
+ * over a [[GatherSlottedPipe]]. The last worker runs on the thread executing the query as well.
+ *
+ * The other workers are submitted to the [[QueryState.workerExecutor]], which is bounded and shared by all queries.
+ * Workers that the executor hasn't started by the time the thread executing the query is done with its own are run on
+ * that thread too, so that a busy executor never leaves the query waiting.
+ *
+ * When the query can't be executed in parallel, e.g. because it is profiled, because it is executed with arguments
+ * or because the transaction has uncommitted changes that the workers would not see, `sequential` is used instead.
+ *
+ * @param sequential the segment and breaker as they would be executed without this pipe
+ * @param partial the segment, ending in a [[MorselSegmentOutputPipe]], followed by the partial breaker if any
+ * @param merge the breaker that combines the partial results, reading from a [[GatherSlottedPipe]]
+ * @param leaf the leaf of the segment
+ * @param workers the number of workers to use
+ */
+case class ParallelSlottedPipe(sequential: Pipe, partial: Pipe, merge: Pipe, leaf: MorselLeafPipe, workers: Int)(
+  val id: Id = Id.INVALID_ID
+) extends Pipe {
+
+  override def createResults(state: QueryState): ClosingIterator[CypherRow] = {
+    if (canExecuteInParallel(state)) {
+      leaf.morselScan(state, workers * MORSELS_PER_WORKER) match {
+        case Some(morselScan) => executeInParallel(state, morselScan)
+        case None             => sequential.createResults(state)
+      }
+    } else {
+      sequential.createResults(state)
+    }
+  }
+
+  override protected def internalCreateResults(state: QueryState): ClosingIterator[CypherRow] =
+    throw new UnsupportedOperationException("This method should never be called on ParallelSlottedPipe")
+
+  private def canExecuteInParallel(state: QueryState): Boolean =
+    workers > 1 &&
+      (state.decorator eq NullPipeDecorator) &&
+      state.initialContext.isEmpty &&
+      state.query.resources.isInstanceOf[ThreadSafeResourceManager] &&
+      !state.query.transactionalContext.dataRead.transactionStateHasChanges
+
+  private def executeInParallel(state: QueryState, morselScan: MorselScan): ClosingIterator[CypherRow] = {
+    // Worker query contexts must be created by the thread owning the transaction
+    val workerStates = new ArrayBuffer[MorselWorkerQueryState](workers)
+    try {
+      while (workerStates.size < workers) {
+        workerStates += MorselWorkerQueryState(state, morselScan)
+      }
+    } catch {
+      case t: Throwable =>
+        workerStates.foreach(_.close())
+        throw t
+    }
+
+    val executor = state.workerExecutor
+    val tasks = workerStates.init.toSeq.map(new WorkerTask(_))
+    val futures: Seq[Future[PartialResult]] = tasks.map(executor.submit(_))
+
+    var failure: Throwable = null
+    val partialResults = new ArrayBuffer[PartialResult](workers)
+    try {
+      partialResults += executeWorker(workerStates.last)
+    } catch {
+      case t: Throwable => failure = t
+    }
+    tasks.zip(futures).foreach { case (task, future) =>
+      try {
+        if (task.claim()) {
+          if (failure == null) partialResults += executeWorker(task.workerState)
+          else task.workerState.close()
+        } else {
+          partialResults += future.get()
+        }
+      } catch {
+        case e: ExecutionException =>
+          if (failure == null) failure = e.getCause else failure.addSuppressed(e.getCause)
+        case t: Throwable =>
+          if (failure == null) failure = t else failure.addSuppressed(t)
+      }
+    }
+    if (failure != null) {
+      throw failure
+    }
+
+    val memoryTracker = state.memoryTrackerForOperatorProvider.memoryTrackerForOperator(id.x)
+    val gatheredRows = new GatheredRows(partialResults.toSeq, memoryTracker)
+    merge.createResults(GatheredRowsQueryState(state, gatheredRows))
+  }
+
+  /**
+   * Runs the partial segment with the given worker state and buffers its rows. The worker state is closed before
+   * returning, so that the worker's execution context is merged back into the transaction.
+   */
+  private def executeWorker(workerState: MorselWorkerQueryState): PartialResult = {
+    try {
+      val memoryTracker = workerState.query.transactionalContext.memoryTracker
+      val rows = new ArrayBuffer[CypherRow]()
+      var heapUsage = 0L
+      val result = partial.createResults(workerState)
+      try {
+        while (result.hasNext) {
+          val row = result.next()
+          val rowHeapUsage = row.estimatedHeapUsage
+          memoryTracker.allocateHeap(rowHeapUsage)
+          heapUsage += rowHeapUsage
+          rows += row
+        }
+      } finally {
+        result.close()
+      }
+      memoryTracker.releaseHeap(heapUsage)
+
+      // A breaker that did not see any input may still produce rows, e.g. an aggregation without grouping keys.
+      // Those must not take part in the merge, since they don't combine with the results of the other workers.
+      if (workerState.producedRows) PartialResult(rows, heapUsage)
+      else PartialResult.EMPTY
+    } finally {
+      workerState.close()
+    }
+  }
+
+  /**
+   * A worker that is executed by whichever thread claims it first, the executor or the thread executing the query.
+   */
+  private class WorkerTask(val workerState: MorselWorkerQueryState) extends Callable[PartialResult] {
+    private[this] val started = new AtomicBoolean()
+
+    def claim(): Boolean = started.compareAndSet(false, true)
+
+    override def call(): PartialResult = if (claim()) executeWorker(workerState) else PartialResult.EMPTY
+  }
+}
+
+object ParallelSlottedPipe {
+
+  /**
+   * The scan is split into more morsels than there are workers, so that workers that finish early can help the others.
+   */
+  val MORSELS_PER_WORKER: Int = 4
+}
+
+case class PartialResult(rows: collection.Seq[CypherRow], heapUsage: Long)
+
+object PartialResult {
+  val EMPTY: PartialResult = PartialResult(Seq.empty, 0L)
+}
+
+/**
+ * The rows of all partial results, which are accounted for on the memory tracker of the [[ParallelSlottedPipe]] until
+ * they have all been consumed by the merge.
+ */
+class GatheredRows(partialResults: Seq[PartialResult], memoryTracker: MemoryTracker)
+    extends ClosingIterator[CypherRow] {
+
+  private[this] var heapUsage = partialResults.map(_.heapUsage).sum
+  memoryTracker.allocateHeap(heapUsage)
+
+  private[this] var rows = partialResults.iterator.flatMap(_.rows)
+
+  override protected[this] def innerHasNext: Boolean = rows.hasNext
+
+  override def next(): CypherRow = rows.next()
+
+  override protected[this] def closeMore(): Unit = {
+    rows = Iterator.empty
+    memoryTracker.releaseHeap(heapUsage)
+    heapUsage = 0L
+  }
+}
+
+/**
+ * The last pipe of the segment executed by the workers of a [[ParallelSlottedPipe]]. Records whether the worker
+ * produced any rows, and otherwise passes the rows through.
+ */
+case class MorselSegmentOutputPipe(source: Pipe)(val id: Id = Id.INVALID_ID) extends PipeWithSource(source) {
+
+  override protected def internalCreateResults(
+    input: ClosingIterator[CypherRow],
+    state: QueryState
+  ): ClosingIterator[CypherRow] = state match {
+    case workerState: MorselWorkerQueryState =>
+      input.map { row =>
+        workerState.producedRows = true
+        row
+      }
+    case _ => input
+  }
+}
+
+/**
+ * The leaf of the merge of a [[ParallelSlottedPipe]], producing the rows gathered from the workers.
+ */
+case class GatherSlottedPipe()(val id: Id = Id.INVALID_ID) extends Pipe {
+
+  override protected def internalCreateResults(state: QueryState): ClosingIterator[CypherRow] = state match {
+    case gatheredState: GatheredRowsQueryState => gatheredState.gatheredRows
+    case _ => throw new IllegalStateException("GatherSlottedPipe must be executed by a ParallelSlottedPipe")
+  }
+}
+
+/**
+ * The state of a worker of a [[ParallelSlottedPipe]], with its own query context, cursors and index sessions, and
+ * sharing the scan of the segment with the other workers.
+ */
+class MorselWorkerQueryState private (val morselScan: MorselScan, state: QueryState, workerQuery: QueryContext)
+    extends QueryState(
+      workerQuery,
+      state.resources,
+      state.params,
+      workerQuery.createExpressionCursors(),
+      state.queryIndexes.map(i => workerQuery.transactionalContext.dataRead.indexReadSession(i.reference())),
+      state.selectivityTrackerStorage.newEmptyStorage(),
+      state.nodeLabelTokenReadSession.map(t =>
+        workerQuery.transactionalContext.dataRead.tokenReadSession(t.reference())
+      ),
+      state.relTypeTokenReadSession.map(t =>
+        workerQuery.transactionalContext.dataRead.tokenReadSession(t.reference())
+      ),
+      new Array[AnyValue](state.expressionVariables.length),
+      state.subscriber,
+      state.queryMemoryTracker,
+      // The memory trackers of the query are not thread-safe, so each worker accounts on its own execution context
+      new MemoryTrackerForOperatorProvider {
+        override def memoryTrackerForOperator(operatorId: Int): MemoryTracker =
+          workerQuery.transactionalContext.memoryTracker
+      },
+      NullPipeDecorator,
+      None,
+      QueryState.createDefaultInCache(),
+      state.lenientCreateRelationship,
+      state.prePopulateResults,
+      state.input
+    ) {
+
+  /**
+   * True if the segment executed by this worker produced at least one row. Only accessed by the worker itself, and
+   * read by the thread executing the query once the worker has finished.
+   */
+  var producedRows: Boolean = false
+}
+
+object MorselWorkerQueryState {
+
+  def apply(state: QueryState, morselScan: MorselScan): MorselWorkerQueryState = {
+    val workerQuery = state.query.createParallelQueryContext()
+    try {
+      new MorselWorkerQueryState(morselScan, state, workerQuery)
+    } catch {
+      case t: Throwable =>
+        workerQuery.close()
+        throw t
+    }
+  }
+}
+
+/**
+ * The state in which the merge of a [[ParallelSlottedPipe]] is executed, carrying the rows gathered from the workers.
+ */
+class GatheredRowsQueryState private (val gatheredRows: ClosingIterator[CypherRow], state: QueryState)
+    extends QueryState(
+      state.query,
+      state.resources,
+      state.params,
+      state.cursors,
+      state.queryIndexes,
+      state.selectivityTrackerStorage,
+      state.nodeLabelTokenReadSession,
+      state.relTypeTokenReadSession,
+      state.expressionVariables,
+      state.subscriber,
+      state.queryMemoryTracker,
+      state.memoryTrackerForOperatorProvider,
+      state.decorator,
+      state.initialContext,
+      state.cachedIn,
+      state.lenientCreateRelationship,
+      state.prePopulateResults,
+      state.input
+    )
+
+object GatheredRowsQueryState {
+
+  def apply(state: QueryState, gatheredRows: ClosingIterator[CypherRow]): GatheredRowsQueryState =
+    new GatheredRowsQueryState(gatheredRows, state)
+}
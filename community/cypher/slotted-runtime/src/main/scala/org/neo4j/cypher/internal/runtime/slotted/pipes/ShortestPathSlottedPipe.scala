@@ -26,20 +26,30 @@ import org.neo4j.cypher.internal.physicalplanning.SlotConfiguration
 import org.neo4j.cypher.internal.physicalplanning.SlotConfigurationUtils.makeGetPrimitiveNodeFromSlotFunctionFor
 import org.neo4j.cypher.internal.runtime.ClosingIterator
 import org.neo4j.cypher.internal.runtime.CypherRow
+import org.neo4j.cypher.internal.runtime.QueryContext
+import org.neo4j.cypher.internal.runtime.ThreadSafeResourceManager
 import org.neo4j.cypher.internal.runtime.interpreted.commands
 import org.neo4j.cypher.internal.runtime.interpreted.commands.convert.DirectionConverter.toGraphDb
 import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.Predicate
 import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.True
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.NullPipeDecorator
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.Pipe
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.PipeWithSource
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.QueryState
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.RelationshipTypes
 import org.neo4j.cypher.internal.runtime.slotted.SlottedRow
+import org.neo4j.cypher.internal.runtime.slotted.pipes.ShortestPathSlottedPipe.SlottedFrontierExpansion
 import org.neo4j.cypher.internal.runtime.slotted.pipes.VarLengthExpandSlottedPipe.SlottedVariablePredicate
 import org.neo4j.cypher.internal.runtime.slotted.pipes.VarLengthExpandSlottedPipe.predicateIsTrue
 import org.neo4j.cypher.internal.util.attribution.Id
+import org.neo4j.internal.kernel.api.NodeCursor
+import org.neo4j.internal.kernel.api.Read
+import org.neo4j.internal.kernel.api.RelationshipTraversalCursor
 import org.neo4j.internal.kernel.api.helpers.traversal.BiDirectionalBFS
+import org.neo4j.internal.kernel.api.helpers.traversal.ParallelFrontierExpansion
 import org.neo4j.kernel.api.StatementConstants
+import org.neo4j.memory.MemoryTracker
+import org.neo4j.scheduler.CallableExecutor
 import org.neo4j.values.virtual.VirtualValues
 
 import scala.jdk.CollectionConverters.IteratorHasAsScala
@@ -60,7 +70,8 @@ case class ShortestPathSlottedPipe(
   allowZeroLength: Boolean,
   maxDepth: Option[Int],
   needOnlyOnePath: Boolean,
-  slots: SlotConfiguration
+  slots: SlotConfiguration,
+  parallelWorkers: Int = 0
 )(val id: Id = Id.INVALID_ID) extends PipeWithSource(source) with Pipe {
   self =>
 
@@ -91,6 +102,15 @@ case class ShortestPathSlottedPipe(
       needOnlyOnePath,
       allowZeroLength
     )
+    if (state.decorator ne NullPipeDecorator) {
+      biDirectionalBFS.setFrontierListener(size => state.decorator.expandedFrontier(id, size))
+    }
+    if (canExpandInParallel(state)) {
+      biDirectionalBFS.setParallelExpansion(
+        new SlottedFrontierExpansion(state.query, parallelWorkers, state.workerExecutor)
+      )
+    }
+
     val pathPredicate = pathPredicates.foldLeft(True(): commands.predicates.Predicate)(_.andWith(_))
     val output = input.flatMap {
       row =>
@@ -161,4 +181,56 @@ case class ShortestPathSlottedPipe(
     }
     output.closing(traversalCursor).closing(nodeCursor).closing(biDirectionalBFS)
   }
+
+  /**
+   * The workers evaluate neither node nor relationship predicates, since the predicates are evaluated with the state
+   * of the thread executing the query. Profiled queries are expanded on that thread only, like other parallel
+   * execution in this runtime.
+   */
+  private def canExpandInParallel(state: QueryState): Boolean =
+    parallelWorkers > 1 &&
+      nodePredicates.isEmpty &&
+      relationshipPredicates.isEmpty &&
+      (state.decorator eq NullPipeDecorator) &&
+      state.query.resources.isInstanceOf[ThreadSafeResourceManager]
+}
+
+object ShortestPathSlottedPipe {
+
+  /**
+   * Expands large frontiers with workers that each have a parallel query context of their own, on the
+   * [[QueryState.workerExecutor]]. Frontiers are expanded by the thread executing the query only while the transaction
+   * has changes, since the workers would not see them.
+   */
+  class SlottedFrontierExpansion(query: QueryContext, workers: Int, executor: CallableExecutor)
+      extends ParallelFrontierExpansion(workers, ParallelFrontierExpansion.DEFAULT_MIN_FRONTIER_SIZE, executor) {
+
+    override protected def shouldExpandInParallel(frontierSize: Int): Boolean =
+      super.shouldExpandInParallel(frontierSize) && !query.transactionalContext.dataRead.transactionStateHasChanges
+
+    override protected def createWorker(): ParallelFrontierExpansion.Worker =
+      new SlottedFrontierExpansionWorker(query.createParallelQueryContext())
+  }
+
+  class SlottedFrontierExpansionWorker(workerQuery: QueryContext) extends ParallelFrontierExpansion.Worker {
+    private[this] val _nodeCursor = workerQuery.nodeCursor()
+    private[this] val _traversalCursor = workerQuery.traversalCursor()
+
+    override def read(): Read = workerQuery.transactionalContext.dataRead
+
+    override def nodeCursor(): NodeCursor = _nodeCursor
+
+    override def traversalCursor(): RelationshipTraversalCursor = _traversalCursor
+
+    override def memoryTracker(): MemoryTracker = workerQuery.transactionalContext.memoryTracker
+
+    override def close(): Unit = {
+      try {
+        _traversalCursor.close()
+        _nodeCursor.close()
+      } finally {
+        workerQuery.close()
+      }
+    }
+  }
 }
@@ -27,40 +27,71 @@ import org.neo4j.cypher.internal.runtime.ReadableRow
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.Pipe
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.PipeWithSource
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.QueryState
+import org.neo4j.cypher.internal.runtime.slotted.spill.SpillFile
+import org.neo4j.cypher.internal.runtime.slotted.spill.Spilling
+import org.neo4j.cypher.internal.runtime.slotted.spill.Spilling.MergingIterator
 import org.neo4j.cypher.internal.util.attribution.Id
 
 import java.util.Comparator
 
+import scala.collection.mutable.ArrayBuffer
 import scala.jdk.CollectionConverters.IteratorHasAsScala
 
 case class SortSlottedPipe(
   source: Pipe,
-  comparator: Comparator[ReadableRow]
+  comparator: Comparator[ReadableRow],
+  spilling: Option[Spilling] = None
 )(val id: Id = Id.INVALID_ID) extends PipeWithSource(source) {
 
   protected def internalCreateResults(
     input: ClosingIterator[CypherRow],
     state: QueryState
   ): ClosingIterator[CypherRow] = {
-    val scopedMemoryTracker =
-      state.memoryTrackerForOperatorProvider.memoryTrackerForOperator(id.x).getScopedMemoryTracker
+    val memoryTracker = state.memoryTrackerForOperatorProvider.memoryTrackerForOperator(id.x)
+    val scopedMemoryTracker = memoryTracker.getScopedMemoryTracker
     var arrayList = HeapTrackingArrayList.newArrayList[CypherRow](256, scopedMemoryTracker)
+    val runs = new ArrayBuffer[SpillFile]()
     var previous: CypherRow = null
+    var heapUsage = 0L
     while (input.hasNext) {
       val row = input.next()
       // Note, not safe to call row.compact() here, like we do in pipelined, because sort is not breaking in slotted.
-      scopedMemoryTracker.allocateHeap(row.deduplicatedEstimatedHeapUsage(previous))
+      val rowHeapUsage = row.deduplicatedEstimatedHeapUsage(previous)
+      scopedMemoryTracker.allocateHeap(rowHeapUsage)
+      heapUsage += rowHeapUsage
       arrayList.add(row)
       previous = row
+      spilling match {
+        case Some(spill) if heapUsage > spill.threshold =>
+          // Write the buffered rows as a sorted run, which is merged with the other runs at the end
+          arrayList.sort(comparator)
+          val run = spill.newFile(state, memoryTracker)
+          arrayList.forEach(run.add(_))
+          run.finish()
+          state.decorator.spilled(id, run.bytes)
+          runs += run
+          arrayList.clear()
+          scopedMemoryTracker.releaseHeap(heapUsage)
+          heapUsage = 0L
+          previous = null
+        case _ =>
+      }
     }
     previous = null
     arrayList.sort(comparator)
-    new DelegatingClosingIterator[CypherRow](arrayList.iterator().asScala) {
+    val sorted = new DelegatingClosingIterator[CypherRow](arrayList.iterator().asScala) {
       override def closeMore(): Unit = {
         arrayList = null
         scopedMemoryTracker.close()
         input.close()
       }
     }
+    if (runs.isEmpty) {
+      sorted
+    } else {
+      // Rows of earlier runs come first among equal rows, which keeps the sort stable
+      val inputs = runs.map(run => run.iterator().closing(run)).toIndexedSeq :+ sorted
+      new MergingIterator(inputs, comparator)
+    }
   }
 }
@@ -40,10 +40,12 @@ case class TransactionApplySlottedPipe(
   source: Pipe,
   inner: Pipe,
   batchSize: Expression,
+  concurrency: Option[Expression],
   onErrorBehaviour: InTransactionsOnErrorBehaviour,
   nullableSlots: Set[Slot],
   statusSlot: Option[Slot]
-)(val id: Id = Id.INVALID_ID) extends AbstractTransactionApplyPipe(source, inner, batchSize, onErrorBehaviour) {
+)(val id: Id = Id.INVALID_ID)
+    extends AbstractTransactionApplyPipe(source, inner, batchSize, concurrency, onErrorBehaviour) {
   private[this] val nullableLongOffsets = nullableSlots.toArray.collect { case LongSlot(offset, _, _) => offset }
   private[this] val nullableRefOffsets = nullableSlots.toArray.collect { case RefSlot(offset, _, _) => offset }
   private[this] val statusOffsetOpt = statusSlot.map(_.offset)
@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.slotted.spill
+
+import org.neo4j.cypher.internal.physicalplanning.SlotConfiguration
+import org.neo4j.cypher.internal.runtime.ClosingIterator
+import org.neo4j.cypher.internal.runtime.CypherRow
+import org.neo4j.cypher.internal.runtime.ReadableRow
+import org.neo4j.cypher.internal.runtime.slotted.SlottedRow
+import org.neo4j.cypher.internal.runtime.slotted.spill.SpillFile.ABSENT
+import org.neo4j.cypher.internal.runtime.slotted.spill.SpillFile.BLOCK_HEADER_SIZE
+import org.neo4j.cypher.internal.runtime.slotted.spill.SpillFile.BLOCK_SIZE
+import org.neo4j.cypher.internal.runtime.slotted.spill.SpillFile.BUFFER_SIZE
+import org.neo4j.cypher.internal.runtime.slotted.spill.SpillFile.FILE_PREFIX
+import org.neo4j.cypher.internal.runtime.slotted.spill.SpillFile.PRESENT
+import org.neo4j.internal.kernel.api.DefaultCloseListenable
+import org.neo4j.io.fs.PhysicalFlushableChannel
+import org.neo4j.io.fs.ReadAheadChannel
+import org.neo4j.io.fs.StoreFileChannel
+import org.neo4j.io.memory.NativeScopedBuffer
+import org.neo4j.kernel.api.database.enrichment.ValuesReader
+import org.neo4j.kernel.api.database.enrichment.ValuesWriter
+import org.neo4j.memory.HeapEstimator
+import org.neo4j.memory.MemoryTracker
+import org.neo4j.storageengine.api.enrichment.WriteEnrichmentChannel
+import org.neo4j.values.AnyValueWriter.EntityMode
+
+import java.nio.ByteBuffer
+import java.nio.ByteOrder
+import java.nio.channels.FileChannel
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.StandardOpenOption
+
+/**
+ * A temporary file of rows of one slot configuration, which are read back in the order they were added.
+ *
+ * Rows are encoded into blocks of about [[BLOCK_SIZE]] bytes on the heap, which are written to and read from the file
+ * through off-heap buffers. Long slots are written as they are, reference slots as a marker of whether the slot is
+ * initialized followed by the value, so that uninitialized cached properties stay uninitialized. Nodes, relationships
+ * and paths are written as references to their ids, like they are held in long slots, so their properties are neither
+ * written to disk nor read back from it.
+ *
+ * Rows can be added until the rows are read for the first time. The file is deleted when this is closed.
+ *
+ * @param directory the directory to create the file in, which is created if it doesn't exist
+ */
+class SpillFile(slots: SlotConfiguration, directory: Path, memoryTracker: MemoryTracker)
+    extends DefaultCloseListenable {
+
+  private[this] val path: Path = {
+    Files.createDirectories(directory)
+    Files.createTempFile(directory, FILE_PREFIX, ".tmp")
+  }
+
+  private[this] var writeChannel: PhysicalFlushableChannel =
+    new PhysicalFlushableChannel(
+      new StoreFileChannel(FileChannel.open(path, StandardOpenOption.WRITE)),
+      new NativeScopedBuffer(BUFFER_SIZE, ByteOrder.LITTLE_ENDIAN, memoryTracker)
+    )
+
+  private[this] var block: WriteEnrichmentChannel = _
+  private[this] var values: ValuesWriter = _
+  private[this] var rowsInBlock = 0
+  private[this] var _rows = 0L
+  private[this] var _bytes = 0L
+  private[this] var readers: List[AutoCloseable] = Nil
+  private[this] var closed = false
+
+  /**
+   * The number of rows added to this file.
+   */
+  def rows: Long = _rows
+
+  /**
+   * The number of bytes written to disk so far.
+   */
+  def bytes: Long = _bytes
+
+  def add(row: ReadableRow): Unit = {
+    if (block == null) {
+      block = new WriteEnrichmentChannel(memoryTracker)
+      values = new ValuesWriter(block, EntityMode.REFERENCE)
+    }
+    var i = 0
+    while (i < slots.numberOfLongs) {
+      block.putLong(row.getLongAt(i))
+      i += 1
+    }
+    i = 0
+    while (i < slots.numberOfReferences) {
+      val value = row.getRefAt(i)
+      if (value == null) {
+        block.put(ABSENT)
+      } else {
+        block.put(PRESENT)
+        values.write(value)
+      }
+      i += 1
+    }
+    rowsInBlock += 1
+    _rows += 1
+    if (block.size() >= BLOCK_SIZE) {
+      writeBlock()
+    }
+  }
+
+  /**
+   * Writes the rows that are still buffered on the heap to disk. No more rows can be added after this call.
+   */
+  def finish(): Unit = {
+    if (writeChannel != null) {
+      if (block != null) {
+        writeBlock()
+      }
+      writeChannel.close()
+      writeChannel = null
+    }
+  }
+
+  /**
+   * Returns the rows of this file in the order they were added, as new rows of the slot configuration.
+   */
+  def iterator(): ClosingIterator[CypherRow] = {
+    finish()
+    val iterator = new RowIterator
+    readers ::= iterator
+    iterator
+  }
+
+  private def writeBlock(): Unit = {
+    block.flip()
+    val size = block.size()
+    writeChannel.putInt(size).putInt(rowsInBlock)
+    block.serialize(writeChannel)
+    block.close()
+    block = null
+    values = null
+    rowsInBlock = 0
+    _bytes += BLOCK_HEADER_SIZE + size
+  }
+
+  override def closeInternal(): Unit = {
+    if (!closed) {
+      closed = true
+      if (block != null) {
+        block.close()
+        block = null
+      }
+      if (writeChannel != null) {
+        writeChannel.close()
+        writeChannel = null
+      }
+      readers.foreach(_.close())
+      readers = Nil
+      Files.deleteIfExists(path)
+    }
+  }
+
+  override def isClosed: Boolean = closed
+
+  private class RowIterator extends ClosingIterator[CypherRow] {
+
+    private[this] var channel: ReadAheadChannel[StoreFileChannel] =
+      new ReadAheadChannel(
+        new StoreFileChannel(FileChannel.open(path, StandardOpenOption.READ)),
+        new NativeScopedBuffer(BUFFER_SIZE, ByteOrder.LITTLE_ENDIAN, memoryTracker)
+      )
+
+    private[this] var remainingRows = _rows
+    private[this] var remainingRowsInBlock = 0
+    private[this] var buffer: ByteBuffer = _
+    private[this] var bufferHeapUsage = 0L
+
+    override protected[this] def innerHasNext: Boolean = remainingRows > 0
+
+    override def next(): CypherRow = {
+      if (remainingRows <= 0) {
+        throw new NoSuchElementException("next on exhausted spill file")
+      }
+      if (remainingRowsInBlock == 0) {
+        readBlock()
+      }
+      val row = SlottedRow(slots)
+      var i = 0
+      while (i < slots.numberOfLongs) {
+        row.setLongAt(i, buffer.getLong())
+        i += 1
+      }
+      i = 0
+      while (i < slots.numberOfReferences) {
+        if (buffer.get() == PRESENT) {
+          row.setRefAt(i, ValuesReader.from(buffer))
+        }
+        i += 1
+      }
+      remainingRowsInBlock -= 1
+      remainingRows -= 1
+      if (remainingRows == 0) {
+        close()
+      }
+      row
+    }
+
+    private def readBlock(): Unit = {
+      val size = channel.getInt
+      remainingRowsInBlock = channel.getInt
+      val bytes = new Array[Byte](size)
+      releaseBuffer()
+      bufferHeapUsage = HeapEstimator.sizeOf(bytes)
+      memoryTracker.allocateHeap(bufferHeapUsage)
+      channel.get(bytes, size)
+      buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN)
+    }
+
+    private def releaseBuffer(): Unit = {
+      buffer = null
+      memoryTracker.releaseHeap(bufferHeapUsage)
+      bufferHeapUsage = 0L
+    }
+
+    override protected[this] def closeMore(): Unit = {
+      if (channel != null) {
+        channel.close()
+        channel = null
+        releaseBuffer()
+      }
+    }
+  }
+}
+
+object SpillFile {
+
+  /**
+   * Prefix of the names of spill files. The spill directory may hold other files, so only files with this prefix are
+   * deleted when the DBMS starts.
+   */
+  val FILE_PREFIX = "neo4j-cypher-spill-"
+
+  private val ABSENT: Byte = 0
+  private val PRESENT: Byte = 1
+  private val BLOCK_HEADER_SIZE = Integer.BYTES * 2
+  private val BLOCK_SIZE = 64 * 1024
+  private val BUFFER_SIZE = 64 * 1024
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.slotted.spill
+
+import org.neo4j.configuration.GraphDatabaseInternalSettings.cypher_slotted_spill_directory
+import org.neo4j.cypher.internal.physicalplanning.SlotConfiguration
+import org.neo4j.cypher.internal.physicalplanning.SlotConfiguration.MetaDataSlotKey
+import org.neo4j.cypher.internal.runtime.ClosingIterator
+import org.neo4j.cypher.internal.runtime.CypherRow
+import org.neo4j.cypher.internal.runtime.ReadableRow
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.QueryState
+import org.neo4j.cypher.internal.util.attribution.Id
+import org.neo4j.memory.MemoryTracker
+
+import java.util.Comparator
+import java.util.PriorityQueue
+
+/**
+ * Enables an operator to spill the rows it buffers to temporary files.
+ *
+ * @param slots the slot configuration of the rows that are spilled
+ * @param threshold the estimated heap usage in bytes of the buffered rows above which they are spilled
+ */
+case class Spilling(slots: SlotConfiguration, threshold: Long) {
+
+  /**
+   * Creates a new spill file in the configured spill directory, which is closed at the latest when the query is closed.
+   */
+  def newFile(state: QueryState, memoryTracker: MemoryTracker): SpillFile = {
+    val directory = state.query.transactionalContext.config.get(cypher_slotted_spill_directory)
+    val file = new SpillFile(slots, directory, memoryTracker)
+    state.query.resources.trace(file)
+    file
+  }
+}
+
+/**
+ * Enables a hash join to spill the rows of both its inputs.
+ *
+ * @param lhs the spilling of the build side, whose threshold applies to the probe table
+ * @param rhs the spilling of the probe side
+ */
+case class JoinSpilling(lhs: Spilling, rhs: Spilling)
+
+object Spilling {
+
+  private val PARTITION_BITS = 4
+
+  /**
+   * Number of partitions that the rows of hash-based operators are spilled into.
+   */
+  val PARTITIONS: Int = 1 << PARTITION_BITS
+
+  /**
+   * Number of levels that partitions can be spilled into partitions again, each level partitions by other bits of the
+   * hash. Rows that still don't fit into memory at the last level all have the same hash, so splitting them further
+   * won't help.
+   */
+  val LEVELS: Int = Integer.SIZE / PARTITION_BITS
+
+  /**
+   * Returns the spilling for rows of the given slot configuration, if spilling is enabled and the rows can be spilled.
+   */
+  def ifEnabled(threshold: Long, slots: SlotConfiguration): Option[Spilling] =
+    if (threshold > 0 && !hasMetaData(slots)) Some(Spilling(slots, threshold))
+    else None
+
+  def partition(hashCode: Int, level: Int): Int = {
+    // The low bits of value hashes are not well distributed, so spread the high bits before picking a partition
+    val h = hashCode ^ (hashCode >>> 16)
+    (h >>> (level * PARTITION_BITS)) & (PARTITIONS - 1)
+  }
+
+  // Meta data, like the line numbers of LOAD CSV, is not made of values that can be written to disk
+  private def hasMetaData(slots: SlotConfiguration): Boolean = {
+    var found = false
+    slots.foreachSlot {
+      case (_: MetaDataSlotKey, _) => found = true
+      case _                       =>
+    }
+    found
+  }
+
+  /**
+   * Merges sorted inputs into one sorted output. Rows that compare equal are returned in the order of their inputs.
+   */
+  class MergingIterator(inputs: IndexedSeq[ClosingIterator[CypherRow]], comparator: Comparator[ReadableRow])
+      extends ClosingIterator[CypherRow] {
+
+    private case class Head(row: CypherRow, input: Int)
+
+    private[this] val queue = new PriorityQueue[Head](
+      Math.max(inputs.size, 1),
+      (a: Head, b: Head) => {
+        val c = comparator.compare(a.row, b.row)
+        if (c != 0) c else Integer.compare(a.input, b.input)
+      }
+    )
+
+    {
+      var i = 0
+      while (i < inputs.size) {
+        if (inputs(i).hasNext) {
+          queue.add(Head(inputs(i).next(), i))
+        }
+        i += 1
+      }
+    }
+
+    override protected[this] def innerHasNext: Boolean = !queue.isEmpty
+
+    override def next(): CypherRow = {
+      val head = queue.poll()
+      val input = inputs(head.input)
+      if (input.hasNext) {
+        queue.add(Head(input.next(), head.input))
+      }
+      head.row
+    }
+
+    override protected[this] def closeMore(): Unit = inputs.foreach(_.close())
+  }
+
+  /**
+   * Rows spilled into [[PARTITIONS]] files by the hash of their key.
+   *
+   * @param level the level of these partitions, rows of a partition that doesn't fit into memory can be spilled into
+   *              partitions of the next level
+   */
+  class Partitions(spilling: Spilling, state: QueryState, memoryTracker: MemoryTracker, operatorId: Id, val level: Int)
+      extends AutoCloseable {
+
+    private[this] val files = new Array[SpillFile](PARTITIONS)
+
+    def add(hashCode: Int, row: ReadableRow): Unit = {
+      val partition = Spilling.partition(hashCode, level)
+      if (files(partition) == null) {
+        files(partition) = spilling.newFile(state, memoryTracker)
+      }
+      files(partition).add(row)
+    }
+
+    /**
+     * Writes all partitions to disk and reports them to PROFILE.
+     */
+    def finish(): Unit = {
+      var i = 0
+      while (i < PARTITIONS) {
+        if (files(i) != null) {
+          files(i).finish()
+          state.decorator.spilled(operatorId, files(i).bytes)
+        }
+        i += 1
+      }
+    }
+
+    /**
+     * Returns the rows of the given partition, and deletes the partition once they have been read.
+     */
+    def iterator(partition: Int): ClosingIterator[CypherRow] = {
+      val file = files(partition)
+      if (file == null) {
+        ClosingIterator.empty
+      } else {
+        files(partition) = null
+        file.iterator().closing(file)
+      }
+    }
+
+    override def close(): Unit = {
+      var i = 0
+      while (i < PARTITIONS) {
+        if (files(i) != null) {
+          files(i).close()
+          files(i) = null
+        }
+        i += 1
+      }
+    }
+  }
+}
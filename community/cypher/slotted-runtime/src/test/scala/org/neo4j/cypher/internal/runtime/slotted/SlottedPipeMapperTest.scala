@@ -89,8 +89,10 @@ import org.neo4j.cypher.internal.runtime.interpreted.pipes.PipeTreeBuilder
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.ProjectionPipe
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.RelationshipTypes
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.SkipPipe
+import org.neo4j.cypher.internal.runtime.slotted.aggregation.SlottedNonGroupingAggTable
 import org.neo4j.cypher.internal.runtime.slotted.aggregation.SlottedPrimitiveGroupingAggTable
 import org.neo4j.cypher.internal.runtime.slotted.expressions.NodeProperty
+import org.neo4j.cypher.internal.runtime.slotted.expressions.ReferenceFromSlot
 import org.neo4j.cypher.internal.runtime.slotted.expressions.SlottedCommandProjection
 import org.neo4j.cypher.internal.runtime.slotted.expressions.SlottedExpressionConverters
 import org.neo4j.cypher.internal.runtime.slotted.pipes.AllNodesScanSlottedPipe
@@ -103,6 +105,8 @@ import org.neo4j.cypher.internal.runtime.slotted.pipes.EagerSlottedPipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.ExpandAllSlottedPipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.ExpandIntoSlottedPipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.ForeachSlottedApplyPipe
+import org.neo4j.cypher.internal.runtime.slotted.pipes.GatherSlottedPipe
+import org.neo4j.cypher.internal.runtime.slotted.pipes.MorselSegmentOutputPipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.NodeHashJoinSlottedPipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.NodeHashJoinSlottedPipe.SlotMapping
 import org.neo4j.cypher.internal.runtime.slotted.pipes.NodeIndexScanSlottedPipe
@@ -111,6 +115,7 @@ import org.neo4j.cypher.internal.runtime.slotted.pipes.NodesByLabelScanSlottedPi
 import org.neo4j.cypher.internal.runtime.slotted.pipes.OptionalExpandAllSlottedPipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.OptionalExpandIntoSlottedPipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.OptionalSlottedPipe
+import org.neo4j.cypher.internal.runtime.slotted.pipes.ParallelSlottedPipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.SortSlottedPipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.UnwindSlottedPipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.VarLengthExpandSlottedPipe
@@ -131,7 +136,7 @@ class SlottedPipeMapperTest extends CypherFunSuite with LogicalPlanningTestSuppo
 
   implicit private val table: SemanticTable = SemanticTable()
 
-  private def build(beforeRewrite: LogicalPlan): Pipe = {
+  private def build(beforeRewrite: LogicalPlan, parallelWorkers: Int = 0, batchSize: Int = 0): Pipe = {
     val tokenContext = mock[ReadTokenContext]
     when(tokenContext.getOptPropertyKeyId("propertyKey")).thenReturn(Some(0))
     val anonymousVariableNameGenerator = new AnonymousVariableNameGenerator()
@@ -164,7 +169,15 @@ class SlottedPipeMapperTest extends CypherFunSuite with LogicalPlanningTestSuppo
       ParameterMapping.empty
     )(table)
     val pipeBuilder =
-      new SlottedPipeMapper(fallback, converters, physicalPlan, true, mock[QueryIndexRegistrator])(table)
+      new SlottedPipeMapper(
+        fallback,
+        converters,
+        physicalPlan,
+        true,
+        mock[QueryIndexRegistrator],
+        parallelWorkers,
+        batchSize
+      )(table)
     PipeTreeBuilder(pipeBuilder).build(physicalPlan.logicalPlan)
   }
 
@@ -874,7 +887,8 @@ class SlottedPipeMapperTest extends CypherFunSuite with LogicalPlanningTestSuppo
             0,
             `expectedSlots2`
           ),
-          _
+          _,
+          None
         ) if a == longValue(1) && b == longValue(2) && c == longValue(3) =>
 
     }
@@ -924,6 +938,75 @@ class SlottedPipeMapperTest extends CypherFunSuite with LogicalPlanningTestSuppo
     }
   }
 
+  test("should execute aggregation over label scan in parallel") {
+    // given
+    val leaf = NodeByLabelScan(varFor("x"), label, Set.empty, IndexOrderNone)
+    val plan = Aggregation(leaf, Map.empty, Map[LogicalVariable, Expression](varFor("c") -> countStar()))
+
+    // when
+    val pipe = build(plan, parallelWorkers = 4).asInstanceOf[ParallelSlottedPipe]
+
+    // then
+    pipe.workers should equal(4)
+    pipe.leaf should equal(NodesByLabelScanSlottedPipe("x", LazyLabel(label), X_NODE_SLOTS, IndexOrderNone)())
+    pipe.sequential.asInstanceOf[EagerAggregationPipe].source should equal(pipe.leaf)
+    pipe.partial.asInstanceOf[EagerAggregationPipe].source should equal(MorselSegmentOutputPipe(pipe.leaf)())
+    val merge = pipe.merge.asInstanceOf[EagerAggregationPipe]
+    merge.source should equal(GatherSlottedPipe()())
+    val mergeAggregations = merge.tableFactory.asInstanceOf[SlottedNonGroupingAggTable.Factory].aggregations
+    mergeAggregations.values.toSeq should equal(Seq(commands.expressions.Sum(ReferenceFromSlot(0))))
+  }
+
+  test("should not execute aggregation in parallel if it can't be combined") {
+    // given
+    val leaf = AllNodesScan(varFor("x"), Set.empty)
+    val plan = Aggregation(leaf, Map.empty, Map[LogicalVariable, Expression](varFor("c") -> collect(varFor("x"))))
+
+    // when
+    val pipe = build(plan, parallelWorkers = 4)
+
+    // then
+    pipe shouldBe an[EagerAggregationPipe]
+  }
+
+  test("should not execute in parallel on the rhs of apply") {
+    // given
+    val lhs = NodeByLabelScan(varFor("x"), label, Set.empty, IndexOrderNone)
+    val rhs = Sort(AllNodesScan(varFor("y"), Set(varFor("x"))), List(plans.Ascending(varFor("y"))))
+    val apply = Apply(lhs, rhs)
+
+    // when
+    val pipe = build(apply, parallelWorkers = 4)
+
+    // then
+    pipe.asInstanceOf[ApplySlottedPipe].rhs shouldBe a[SortSlottedPipe]
+  }
+
+  test("should execute scan and expand in batches") {
+    // given
+    val leaf = AllNodesScan(varFor("x"), Set.empty)
+    val expand = Expand(leaf, varFor("x"), SemanticDirection.OUTGOING, Seq.empty, varFor("z"), varFor("r"))
+
+    // when
+    val pipe = build(expand, batchSize = 16).asInstanceOf[ExpandAllSlottedPipe]
+
+    // then
+    pipe.batchSize should equal(16)
+    pipe.source.asInstanceOf[AllNodesScanSlottedPipe].batchSize should equal(16)
+  }
+
+  test("should execute scan and expand row at a time by default") {
+    // given
+    val leaf = AllNodesScan(varFor("x"), Set.empty)
+    val expand = Expand(leaf, varFor("x"), SemanticDirection.OUTGOING, Seq.empty, varFor("z"), varFor("r"))
+
+    // when
+    val pipe = build(expand).asInstanceOf[ExpandAllSlottedPipe]
+
+    // then
+    pipe.batchSize should equal(0)
+  }
+
   test("should have correct order for join on many nodes") {
     // given
 
@@ -27,12 +27,17 @@ import org.neo4j.cypher.internal.runtime.slotted.expressions.ReferenceFromSlot
 import org.neo4j.cypher.internal.runtime.slotted.pipes.FakeSlottedPipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.SlotExpression
 import org.neo4j.cypher.internal.runtime.slotted.pipes.SlottedGroupingExpression1
+import org.neo4j.cypher.internal.runtime.slotted.spill.SpillFile
+import org.neo4j.cypher.internal.runtime.slotted.spill.Spilling
+import org.neo4j.cypher.internal.runtime.slotted.spill.SpillingTestSupport
 import org.neo4j.cypher.internal.util.attribution.Id
 import org.neo4j.cypher.internal.util.symbols.CTInteger
 import org.neo4j.cypher.internal.util.test_helpers.CypherFunSuite
 import org.neo4j.kernel.impl.util.collection.HeapTrackingOrderedAppendMap
+import org.neo4j.memory.LocalMemoryTracker
+import org.neo4j.values.storable.Values.longValue
 
-class SlottedGroupingAggTableTest extends CypherFunSuite {
+class SlottedGroupingAggTableTest extends CypherFunSuite with SpillingTestSupport {
 
   test("close should close table") {
     // given
@@ -66,4 +71,37 @@ class SlottedGroupingAggTableTest extends CypherFunSuite {
     // then
     monitor.closedResources.collect { case t: HeapTrackingOrderedAppendMap[_, _] => t } should have size 1
   }
+
+  test("should aggregate spilled groups") {
+    // given
+    val monitor = QueryStateHelper.trackClosedMonitor
+    val slots = SlotConfiguration.empty
+      .newReference("a", nullable = false, CTInteger)
+      .newReference("c", nullable = false, CTInteger)
+    // Spilling is based on the tracked heap usage of the groups
+    val state = spillingQueryState(new ResourceManager(monitor), _ => new LocalMemoryTracker())
+    // Only a few groups fit below the threshold, so the spilled partitions are spilled into partitions again
+    val table = new SlottedGroupingAggTable(
+      slots,
+      SlottedGroupingExpression1(SlotExpression(slots("a"), ReferenceFromSlot(0))),
+      Map(slots("c").offset -> CountStar()),
+      state,
+      Id(0),
+      slots.size(),
+      Spilling.ifEnabled(8 * 1024, slots)
+    )
+    table.clear()
+
+    // when
+    val input = FakeSlottedPipe((0 until 10000).map(i => Map("a" -> i % 2000)), slots).createResults(state)
+    while (input.hasNext) {
+      table.processRow(input.next())
+    }
+    val result = table.result().map(row => (row.getRefAt(0), row.getRefAt(1))).toList
+
+    // then
+    result should contain theSameElementsAs (0 until 2000).map(i => (longValue(i), longValue(5)))
+    monitor.closedResources.collect { case f: SpillFile => f }.size should be > Spilling.PARTITIONS
+    spillFiles shouldBe empty
+  }
 }
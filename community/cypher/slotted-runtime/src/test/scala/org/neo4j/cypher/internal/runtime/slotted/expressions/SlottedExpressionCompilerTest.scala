@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.slotted.expressions
+
+import org.neo4j.codegen.api.CodeGeneration
+import org.neo4j.cypher.internal.physicalplanning.SlotConfiguration
+import org.neo4j.cypher.internal.runtime.ReadableRow
+import org.neo4j.cypher.internal.runtime.interpreted.QueryStateHelper
+import org.neo4j.cypher.internal.runtime.interpreted.commands.AstNode
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Add
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Expression
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Literal
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.Ands
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.CoercedPredicate
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.Equals
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.IsMatchResult
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.IsNull
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.LessThan
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.Not
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.Ors
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.Predicate
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.True
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.QueryState
+import org.neo4j.cypher.internal.runtime.slotted.SlottedRow
+import org.neo4j.cypher.internal.util.NonEmptyList
+import org.neo4j.cypher.internal.util.symbols.CTAny
+import org.neo4j.cypher.internal.util.symbols.CTNode
+import org.neo4j.cypher.internal.util.test_helpers.CypherFunSuite
+import org.neo4j.exceptions.ArithmeticException
+import org.neo4j.values.AnyValue
+import org.neo4j.values.storable.Value
+import org.neo4j.values.storable.Values.FALSE
+import org.neo4j.values.storable.Values.NO_VALUE
+import org.neo4j.values.storable.Values.TRUE
+import org.neo4j.values.storable.Values.intValue
+import org.neo4j.values.storable.Values.longValue
+import org.neo4j.values.storable.Values.stringValue
+
+class SlottedExpressionCompilerTest extends CypherFunSuite {
+
+  private val slots = SlotConfiguration.empty
+    .newLong("n", nullable = true, CTNode)
+    .newReference("x", nullable = true, CTAny)
+    .newReference("y", nullable = true, CTAny)
+    .newReference("z", nullable = true, CTAny)
+  private val n = slots("n").offset
+  private val x = slots("x").offset
+  private val y = slots("y").offset
+  private val z = slots("z").offset
+
+  private val compiler = new SlottedExpressionCompiler(CodeGeneration.codeGeneration())
+  private val state = QueryStateHelper.empty
+
+  test("should evaluate compiled predicates like interpreted predicates") {
+    val predicate = Ands(NonEmptyList(
+      LessThan(ReferenceFromSlot(x), Literal(intValue(10))),
+      Not(IsNull(NullCheck(n, IdFromSlot(n)))),
+      Ors(NonEmptyList(Equals(ReferenceFromSlot(y), Literal(stringValue("a"))), CoercedPredicate(IsPrimitiveNull(n))))
+    ))
+    val compiled = compiler.compilePredicate(predicate).get
+
+    for {
+      nodeId <- Seq(-1L, 0L, 42L)
+      xValue <- Seq(intValue(1), intValue(10), NO_VALUE, stringValue("b"))
+      yValue <- Seq(stringValue("a"), stringValue("b"), NO_VALUE)
+    } {
+      val row = newRow(nodeId, xValue, yValue)
+      withClue(s"n=$nodeId, x=$xValue, y=$yValue") {
+        compiled(row, state) should equal(predicate(row, state))
+        compiled.isMatch(row, state) should equal(predicate.isMatch(row, state))
+      }
+    }
+  }
+
+  test("should interpret unsupported sub-expressions") {
+    val counting = Counting(TRUE)
+    val compiled =
+      compiler.compilePredicate(Ands(NonEmptyList(counting, Equals(ReferenceFromSlot(x), Literal(intValue(1)))))).get
+
+    compiled(newRow(0L, intValue(1), NO_VALUE), state) should equal(TRUE)
+    compiled(newRow(0L, intValue(2), NO_VALUE), state) should equal(FALSE)
+    counting.evaluations shouldBe 2
+  }
+
+  test("should not evaluate predicates after the result is known") {
+    val counting = Counting(TRUE)
+    val compiled = compiler.compilePredicate(Ors(NonEmptyList(True(), counting))).get
+
+    compiled(newRow(0L, NO_VALUE, NO_VALUE), state) should equal(TRUE)
+    counting.evaluations shouldBe 0
+  }
+
+  test("should only throw errors of predicates when the result is not known") {
+    val row = newRow(0L, NO_VALUE, NO_VALUE)
+
+    compiler.compilePredicate(Ands(NonEmptyList(Failing(), Not(True())))).get(row, state) should equal(FALSE)
+    compiler.compilePredicate(Ors(NonEmptyList(Failing(), True()))).get(row, state) should equal(TRUE)
+    an[ArithmeticException] should be thrownBy {
+      compiler.compilePredicate(Ands(NonEmptyList(Failing(), True()))).get(row, state)
+    }
+    an[ArithmeticException] should be thrownBy {
+      compiler.compilePredicate(Ors(NonEmptyList(Failing(), Not(True())))).get(row, state)
+    }
+  }
+
+  test("should not compile predicates with unsupported roots") {
+    compiler.compilePredicate(Counting(TRUE)) shouldBe None
+  }
+
+  test("should compile projections") {
+    val projection = SlottedCommandProjection(Map(
+      y -> Add(ReferenceFromSlot(x), Literal(longValue(1))),
+      z -> NullCheck(n, IdFromSlot(n))
+    ))
+    val compiled = compiler.compileProjection(projection).get
+
+    val row = newRow(42L, longValue(41), NO_VALUE)
+    compiled.project(row, state)
+    row.getRefAt(y) should equal(longValue(42))
+    row.getRefAt(z) should equal(longValue(42))
+
+    val nullRow = newRow(-1L, NO_VALUE, NO_VALUE)
+    compiled.project(nullRow, state)
+    nullRow.getRefAt(y) should equal(NO_VALUE)
+    nullRow.getRefAt(z) should equal(NO_VALUE)
+  }
+
+  private def newRow(nodeId: Long, xValue: AnyValue, yValue: AnyValue): SlottedRow = {
+    val row = SlottedRow(slots)
+    row.setLongAt(n, nodeId)
+    row.setRefAt(x, xValue)
+    row.setRefAt(y, yValue)
+    row
+  }
+
+  case class Counting(value: Value) extends Predicate {
+    var evaluations = 0
+
+    override def isMatch(ctx: ReadableRow, state: QueryState): IsMatchResult = {
+      evaluations += 1
+      IsMatchResult(value)
+    }
+
+    override def rewrite(f: Expression => Expression): Expression = f(this)
+    override def arguments: Seq[Expression] = Seq.empty
+    override def children: Seq[AstNode[_]] = Seq.empty
+  }
+
+  case class Failing() extends Predicate {
+
+    override def isMatch(ctx: ReadableRow, state: QueryState): IsMatchResult =
+      throw new ArithmeticException("failing", null)
+
+    override def rewrite(f: Expression => Expression): Expression = f(this)
+    override def arguments: Seq[Expression] = Seq.empty
+    override def children: Seq[AstNode[_]] = Seq.empty
+  }
+}
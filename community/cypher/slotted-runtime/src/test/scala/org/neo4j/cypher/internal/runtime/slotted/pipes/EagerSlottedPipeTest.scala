@@ -22,11 +22,22 @@ package org.neo4j.cypher.internal.runtime.slotted.pipes
 import org.neo4j.cypher.internal.physicalplanning.SlotConfiguration
 import org.neo4j.cypher.internal.runtime.ResourceManager
 import org.neo4j.cypher.internal.runtime.interpreted.QueryStateHelper
+import org.neo4j.cypher.internal.runtime.slotted.spill.SpillFile
+import org.neo4j.cypher.internal.runtime.slotted.spill.Spilling
+import org.neo4j.cypher.internal.runtime.slotted.spill.SpillingTestSupport
+import org.neo4j.cypher.internal.util.symbols.CTAny
 import org.neo4j.cypher.internal.util.symbols.CTNode
 import org.neo4j.cypher.internal.util.test_helpers.CypherFunSuite
 import org.neo4j.kernel.impl.util.collection.EagerBuffer
+import org.neo4j.values.storable.Values
+import org.neo4j.values.storable.Values.NO_VALUE
+import org.neo4j.values.storable.Values.longValue
+import org.neo4j.values.storable.Values.stringValue
+import org.neo4j.values.virtual.NodeValue
+import org.neo4j.values.virtual.RelationshipValue
+import org.neo4j.values.virtual.VirtualValues
 
-class EagerSlottedPipeTest extends CypherFunSuite {
+class EagerSlottedPipeTest extends CypherFunSuite with SpillingTestSupport {
 
   test("exhaust should close buffer") {
     val monitor = QueryStateHelper.trackClosedMonitor
@@ -53,4 +64,65 @@ class EagerSlottedPipeTest extends CypherFunSuite {
     input.wasClosed shouldBe true
     monitor.closedResources.collect { case t: EagerBuffer[_] => t } should have size (1)
   }
+
+  test("should return spilled rows in order") {
+    val monitor = QueryStateHelper.trackClosedMonitor
+    val resourceManager = new ResourceManager(monitor)
+    val slots = SlotConfiguration.empty
+      .newLong("a", nullable = false, CTNode)
+      .newReference("b", nullable = true, CTAny)
+
+    val data = (0 until 10000).map(i => Map[Any, Any]("a" -> i, "b" -> (if (i % 3 == 0) null else s"value-$i")))
+    val input = FakeSlottedPipe(data, slots)
+    val pipe = EagerSlottedPipe(input, slots, Spilling.ifEnabled(1, slots))()
+    val result = pipe.createResults(spillingQueryState(resourceManager)).toList
+
+    result.map(_.getLongAt(0)) should equal(0 until 10000)
+    result.map(_.getRefAt(0)) should equal((0 until 10000).map(i =>
+      if (i % 3 == 0) NO_VALUE else stringValue(s"value-$i")
+    ))
+    monitor.closedResources.collect { case f: SpillFile => f } should have size (1)
+    spillFiles shouldBe empty
+  }
+
+  test("should spill nodes and relationships as references") {
+    val resourceManager = new ResourceManager(QueryStateHelper.trackClosedMonitor)
+    val slots = SlotConfiguration.empty.newReference("a", nullable = false, CTAny)
+
+    val properties = VirtualValues.map(Array("prop"), Array(stringValue("not written to disk")))
+    val values = Seq(
+      VirtualValues.nodeValue(1, "node-1", Values.stringArray("A"), properties),
+      VirtualValues.relationshipValue(
+        2,
+        "rel-2",
+        VirtualValues.node(1, "node-1"),
+        VirtualValues.node(3, "node-3"),
+        stringValue("R"),
+        properties
+      ),
+      VirtualValues.list(VirtualValues.nodeValue(3, "node-3", Values.stringArray("B"), properties))
+    )
+    val input = FakeSlottedPipe(values.map(value => Map[Any, Any]("a" -> value)), slots)
+    val pipe = EagerSlottedPipe(input, slots, Spilling.ifEnabled(1, slots))()
+    val result = pipe.createResults(spillingQueryState(resourceManager)).toList.map(_.getRefAt(0))
+
+    result should equal(
+      Seq(VirtualValues.node(1), VirtualValues.relationship(2), VirtualValues.list(VirtualValues.node(3)))
+    )
+    result.head should not be a[NodeValue]
+    result(1) should not be a[RelationshipValue]
+  }
+
+  test("should not spill below the threshold") {
+    val monitor = QueryStateHelper.trackClosedMonitor
+    val resourceManager = new ResourceManager(monitor)
+    val slots = SlotConfiguration.empty.newReference("a", nullable = false, CTAny)
+
+    val input = FakeSlottedPipe((0 until 10).map(i => Map[Any, Any]("a" -> i)), slots)
+    val pipe = EagerSlottedPipe(input, slots, Spilling.ifEnabled(Long.MaxValue, slots))()
+    val result = pipe.createResults(QueryStateHelper.emptyWithResourceManager(resourceManager)).toList
+
+    result.map(_.getRefAt(0)) should equal((0 until 10).map(longValue(_)))
+    monitor.closedResources.collect { case f: SpillFile => f } shouldBe empty
+  }
 }
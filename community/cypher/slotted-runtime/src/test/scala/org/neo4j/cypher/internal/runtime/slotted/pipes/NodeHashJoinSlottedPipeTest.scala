@@ -32,13 +32,18 @@ import org.neo4j.cypher.internal.runtime.slotted.pipes.HashJoinSlottedPipeTestHe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.HashJoinSlottedPipeTestHelper.mockPipeFor
 import org.neo4j.cypher.internal.runtime.slotted.pipes.NodeHashJoinSlottedPipe.KeyOffsets
 import org.neo4j.cypher.internal.runtime.slotted.pipes.NodeHashJoinSlottedPipe.SlotMapping
+import org.neo4j.cypher.internal.runtime.slotted.spill.JoinSpilling
+import org.neo4j.cypher.internal.runtime.slotted.spill.SpillFile
+import org.neo4j.cypher.internal.runtime.slotted.spill.Spilling
+import org.neo4j.cypher.internal.runtime.slotted.spill.SpillingTestSupport
 import org.neo4j.cypher.internal.util.symbols.CTNode
 import org.neo4j.cypher.internal.util.test_helpers.CypherFunSuite
 import org.neo4j.kernel.impl.util.collection
+import org.neo4j.memory.LocalMemoryTracker
 
 import scala.collection.immutable
 
-class NodeHashJoinSlottedPipeTest extends CypherFunSuite {
+class NodeHashJoinSlottedPipeTest extends CypherFunSuite with SpillingTestSupport {
 
   private val node0 = 0
   private val NULL = -1
@@ -189,4 +194,52 @@ class NodeHashJoinSlottedPipeTest extends CypherFunSuite {
     // then
     monitor.closedResources.collect { case t: collection.ProbeTable[_, _] => t } should have size (1)
   }
+
+  test("should join spilled rows") {
+    // given
+    val monitor = QueryStateHelper.trackClosedMonitor
+    // Spilling is based on the tracked heap usage of the probe table
+    val queryState = spillingQueryState(new ResourceManager(monitor), _ => new LocalMemoryTracker())
+
+    val size = 1000
+    val a_b = (0 until size).map(i => RowL(i.toLong, (i % 100).toLong))
+    val b_c = (0 until size).map(i => RowL((i % 200).toLong, (size + i).toLong))
+
+    val lhs = SlotConfiguration.empty
+    lhs.newLong("a", nullable = false, CTNode)
+    lhs.newLong("b", nullable = false, CTNode)
+
+    val rhs = SlotConfiguration.empty
+    rhs.newLong("b", nullable = false, CTNode)
+    rhs.newLong("c", nullable = false, CTNode)
+
+    val output = SlotConfiguration.empty
+    output.newLong("a", nullable = false, CTNode)
+    output.newLong("b", nullable = false, CTNode)
+    output.newLong("c", nullable = false, CTNode)
+
+    // when
+    val result = NodeHashJoinSlottedPipe(
+      lhsKeyOffsets = KeyOffsets.longs(1),
+      rhsKeyOffsets = KeyOffsets.longs(0),
+      left = mockPipeFor(lhs, a_b: _*),
+      right = mockPipeFor(rhs, b_c: _*),
+      slots = output,
+      rhsSlotMappings = SlotMappings(
+        slotMapping = Array(SlotMapping(1, 2, true, true)),
+        cachedPropertyMappings = Array()
+      ),
+      // With a threshold of one byte, the partitions are spilled into partitions of the next levels too
+      spilling = Some(JoinSpilling(Spilling(lhs, 1), Spilling(rhs, 1)))
+    )().createResults(queryState).map(row => (row.getLongAt(0), row.getLongAt(1), row.getLongAt(2))).toList
+
+    // then
+    val expected = for {
+      (a, b) <- a_b.map(row => (row.l.l(0), row.l.l(1)))
+      (b2, c) <- b_c.map(row => (row.l.l(0), row.l.l(1))) if b == b2
+    } yield (a, b, c)
+    result should contain theSameElementsAs expected
+    monitor.closedResources.collect { case f: SpillFile => f } should not be empty
+    spillFiles shouldBe empty
+  }
 }
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.slotted.pipes
+
+import org.neo4j.cypher.internal.physicalplanning.SlotConfiguration
+import org.neo4j.cypher.internal.runtime.ResourceManager
+import org.neo4j.cypher.internal.runtime.interpreted.QueryStateHelper
+import org.neo4j.cypher.internal.runtime.slotted.Ascending
+import org.neo4j.cypher.internal.runtime.slotted.Descending
+import org.neo4j.cypher.internal.runtime.slotted.SlottedExecutionContextOrdering
+import org.neo4j.cypher.internal.runtime.slotted.spill.SpillFile
+import org.neo4j.cypher.internal.runtime.slotted.spill.Spilling
+import org.neo4j.cypher.internal.runtime.slotted.spill.SpillingTestSupport
+import org.neo4j.cypher.internal.util.symbols.CTAny
+import org.neo4j.cypher.internal.util.symbols.CTNode
+import org.neo4j.cypher.internal.util.test_helpers.CypherFunSuite
+import org.neo4j.values.storable.Values.NO_VALUE
+import org.neo4j.values.storable.Values.longValue
+
+import scala.util.Random
+
+class SortSlottedPipeTest extends CypherFunSuite with SpillingTestSupport {
+
+  private val slots = SlotConfiguration.empty
+    .newReference("a", nullable = true, CTAny)
+    .newLong("b", nullable = false, CTNode)
+
+  test("should merge spilled runs in order") {
+    val monitor = QueryStateHelper.trackClosedMonitor
+    val data = Random.shuffle((0 until 10000).toList).map(i => Map[Any, Any]("a" -> i, "b" -> i))
+    val comparator = SlottedExecutionContextOrdering.asComparator(List(Descending(slots("a"))))
+    val pipe = SortSlottedPipe(FakeSlottedPipe(data, slots), comparator, Spilling.ifEnabled(64 * 1024, slots))()
+
+    val result = pipe.createResults(spillingQueryState(new ResourceManager(monitor))).toList
+
+    result.map(_.getRefAt(0)) should equal((0 until 10000).reverse.map(longValue(_)))
+    result.map(_.getLongAt(0)) should equal((0 until 10000).reverse)
+    monitor.closedResources.collect { case f: SpillFile => f }.size should be > 1
+    spillFiles shouldBe empty
+  }
+
+  test("should keep the input order of equal rows in spilled runs") {
+    val monitor = QueryStateHelper.trackClosedMonitor
+    val input = (0 until 10000).map(i => (if (i % 7 == 0) None else Some(i % 10), i))
+    val data = input.map { case (a, b) => Map[Any, Any]("a" -> a.getOrElse(null), "b" -> b) }
+    val comparator = SlottedExecutionContextOrdering.asComparator(List(Ascending(slots("a"))))
+    val pipe = SortSlottedPipe(FakeSlottedPipe(data, slots), comparator, Spilling.ifEnabled(16 * 1024, slots))()
+
+    val result = pipe.createResults(spillingQueryState(new ResourceManager(monitor)))
+      .map(row => (row.getRefAt(0), row.getLongAt(0)))
+      .toList
+
+    // Nulls are sorted last
+    val expected = input
+      .sortBy { case (a, _) => a.getOrElse(Int.MaxValue) }
+      .map { case (a, b) => (a.map(longValue(_)).getOrElse(NO_VALUE), b.toLong) }
+    result should equal(expected)
+    monitor.closedResources.collect { case f: SpillFile => f }.size should be > 1
+    spillFiles shouldBe empty
+  }
+
+  test("should not spill below the threshold") {
+    val monitor = QueryStateHelper.trackClosedMonitor
+    val data = Random.shuffle((0 until 100).toList).map(i => Map[Any, Any]("a" -> i, "b" -> i))
+    val comparator = SlottedExecutionContextOrdering.asComparator(List(Ascending(slots("a"))))
+    val pipe = SortSlottedPipe(FakeSlottedPipe(data, slots), comparator, Spilling.ifEnabled(Long.MaxValue, slots))()
+
+    val result = pipe.createResults(spillingQueryState(new ResourceManager(monitor))).toList
+
+    result.map(_.getLongAt(0)) should equal(0 until 100)
+    monitor.closedResources.collect { case f: SpillFile => f } shouldBe empty
+  }
+}
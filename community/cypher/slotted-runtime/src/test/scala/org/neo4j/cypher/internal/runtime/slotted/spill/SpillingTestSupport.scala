@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.slotted.spill
+
+import org.mockito.Mockito
+import org.mockito.Mockito.when
+import org.neo4j.configuration.Config
+import org.neo4j.configuration.GraphDatabaseInternalSettings.cypher_slotted_spill_directory
+import org.neo4j.cypher.internal.runtime.QueryContext
+import org.neo4j.cypher.internal.runtime.ResourceManager
+import org.neo4j.cypher.internal.runtime.interpreted.QueryStateHelper
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.QueryState
+import org.neo4j.cypher.internal.runtime.memory.MemoryTrackerForOperatorProvider
+import org.neo4j.cypher.internal.runtime.memory.NoOpMemoryTrackerForOperatorProvider
+import org.neo4j.cypher.internal.util.test_helpers.CypherFunSuite
+import org.neo4j.io.fs.FileUtils
+import org.scalatest.BeforeAndAfterEach
+
+import java.nio.file.Files
+import java.nio.file.Path
+
+/**
+ * Gives tests a query state that spills into a directory of their own, which is deleted after each test.
+ */
+trait SpillingTestSupport extends BeforeAndAfterEach {
+  self: CypherFunSuite =>
+
+  protected var spillDirectory: Path = _
+
+  override protected def beforeEach(): Unit = {
+    super.beforeEach()
+    spillDirectory = Files.createTempDirectory("spill")
+  }
+
+  override protected def afterEach(): Unit = {
+    try {
+      FileUtils.deleteDirectory(spillDirectory)
+    } finally {
+      super.afterEach()
+    }
+  }
+
+  protected def spillingQueryState(
+    resourceManager: ResourceManager,
+    memoryTrackerForOperatorProvider: MemoryTrackerForOperatorProvider = NoOpMemoryTrackerForOperatorProvider
+  ): QueryState = {
+    val context = mock[QueryContext](Mockito.RETURNS_DEEP_STUBS)
+    when(context.resources).thenReturn(resourceManager)
+    val config = Config.defaults(cypher_slotted_spill_directory, spillDirectory)
+    when(context.transactionalContext.config).thenReturn(config)
+    QueryStateHelper.emptyWith(query = context, memoryTrackerForOperatorProvider = memoryTrackerForOperatorProvider)
+  }
+
+  /**
+   * The files that are left in the spill directory, which should be none once the query has been closed.
+   */
+  protected def spillFiles: Seq[Path] = {
+    val stream = Files.list(spillDirectory)
+    try {
+      stream.toArray.toSeq.map(_.asInstanceOf[Path])
+    } finally {
+      stream.close()
+    }
+  }
+}
@@ -51,6 +51,11 @@ public class DelegatingQueryExecution implements QueryExecution {
         return queryExecution.getNotifications();
     }
 
+    @Override
+    public boolean isDeterministic() {
+        return queryExecution.isDeterministic();
+    }
+
     @Override
     public String[] fieldNames() {
         return queryExecution.fieldNames();
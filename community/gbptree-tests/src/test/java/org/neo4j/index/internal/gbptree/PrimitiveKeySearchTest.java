@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.internal.gbptree;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.neo4j.index.internal.gbptree.SimpleLongLayout.longLayout;
+import static org.neo4j.index.internal.gbptree.TreeNodeUtil.DATA_LAYER_FLAG;
+import static org.neo4j.io.pagecache.ByteArrayPageCursor.wrap;
+import static org.neo4j.io.pagecache.context.CursorContext.NULL_CONTEXT;
+
+import java.io.IOException;
+import org.apache.commons.lang3.mutable.MutableLong;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.test.RandomSupport;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.RandomExtension;
+
+@ExtendWith(RandomExtension.class)
+class PrimitiveKeySearchTest {
+    private static final int STABLE_GENERATION = 1;
+    private static final int UNSTABLE_GENERATION = 2;
+    private static final int PAGE_SIZE = 8192;
+
+    private final PageCursor cursor = wrap(new byte[PAGE_SIZE], 0, PAGE_SIZE);
+    private final Layout<MutableLong, MutableLong> layout = longLayout().build();
+    private final LeafNodeFixedSize<MutableLong, MutableLong> leaf = new LeafNodeFixedSize<>(PAGE_SIZE, layout);
+    private final InternalNodeFixedSize<MutableLong> internal = new InternalNodeFixedSize<>(PAGE_SIZE, layout);
+    private final MutableLong readKey = layout.newKey();
+    private final MutableLong dummyValue = layout.newValue();
+
+    @Inject
+    private RandomSupport random;
+
+    @Test
+    void shouldSearchLikeKeySearchInLeaf() throws IOException {
+        leaf.initialize(cursor, DATA_LAYER_FLAG, STABLE_GENERATION, UNSTABLE_GENERATION);
+        int keyCount = random.nextInt(1, leaf.maxKeyCount());
+        long[] keys = randomSortedKeys(keyCount);
+        for (int i = 0; i < keyCount; i++) {
+            leaf.insertKeyValueAt(
+                    cursor,
+                    new MutableLong(keys[i]),
+                    dummyValue,
+                    i,
+                    i,
+                    STABLE_GENERATION,
+                    UNSTABLE_GENERATION,
+                    NULL_CONTEXT);
+        }
+
+        assertSearchesLikeKeySearch(leaf, keys);
+    }
+
+    @Test
+    void shouldSearchLikeKeySearchInInternal() throws IOException {
+        internal.initialize(cursor, DATA_LAYER_FLAG, STABLE_GENERATION, UNSTABLE_GENERATION);
+        int keyCount = random.nextInt(1, internal.maxKeyCount());
+        long[] keys = randomSortedKeys(keyCount);
+        for (int i = 0; i < keyCount; i++) {
+            internal.insertKeyAndRightChildAt(
+                    cursor, new MutableLong(keys[i]), 10, i, i, STABLE_GENERATION, UNSTABLE_GENERATION, NULL_CONTEXT);
+        }
+
+        assertSearchesLikeKeySearch(internal, keys);
+    }
+
+    private void assertSearchesLikeKeySearch(SharedNodeBehaviour<MutableLong> node, long[] keys) {
+        var exactSearch = new PrimitiveKeySearch<>(new ShiftedPrefixLayout(0), layout.keySize(null));
+        var coarseSearch = new PrimitiveKeySearch<>(new ShiftedPrefixLayout(4), layout.keySize(null));
+        MutableLong searchKey = layout.newKey();
+        long max = keys[keys.length - 1];
+        for (int i = 0; i < 1_000; i++) {
+            searchKey.setValue(random.nextLong(-1, max + 2));
+            int expected = KeySearch.search(cursor, node, searchKey, readKey, keys.length, NULL_CONTEXT);
+
+            assertThat(exactSearch.search(cursor, node, searchKey, readKey, keys.length, NULL_CONTEXT))
+                    .as("exact prefix search for %d", searchKey.longValue())
+                    .isEqualTo(expected);
+            assertThat(coarseSearch.search(cursor, node, searchKey, readKey, keys.length, NULL_CONTEXT))
+                    .as("coarse prefix search for %d", searchKey.longValue())
+                    .isEqualTo(expected);
+        }
+    }
+
+    private long[] randomSortedKeys(int keyCount) {
+        long[] keys = new long[keyCount];
+        long key = random.nextInt(100);
+        for (int i = 0; i < keyCount; i++) {
+            // Also include duplicates, for which the leftmost position should be found
+            key += random.nextInt(3);
+            keys[i] = key;
+        }
+        return keys;
+    }
+
+    private static class ShiftedPrefixLayout implements PrimitiveKeyLayout<MutableLong> {
+        private final int shift;
+
+        ShiftedPrefixLayout(int shift) {
+            this.shift = shift;
+        }
+
+        @Override
+        public long keyPrefix(MutableLong key) {
+            return key.longValue() >> shift;
+        }
+
+        @Override
+        public long readKeyPrefix(PageCursor cursor, int offset) {
+            return cursor.getLong(offset) >> shift;
+        }
+
+        @Override
+        public boolean prefixIsKey() {
+            return shift == 0;
+        }
+    }
+}
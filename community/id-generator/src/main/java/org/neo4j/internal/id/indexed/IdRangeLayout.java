@@ -23,12 +23,13 @@ import static org.neo4j.util.Preconditions.requirePowerOfTwo;
 
 import org.neo4j.index.internal.gbptree.GBPTree;
 import org.neo4j.index.internal.gbptree.Layout;
+import org.neo4j.index.internal.gbptree.PrimitiveKeyLayout;
 import org.neo4j.io.pagecache.PageCursor;
 
 /**
  * {@link Layout} for a {@link GBPTree} writing and reading the ID ranges that make up the contents of an {@link IndexedIdGenerator}.
  */
-public class IdRangeLayout extends Layout.Adapter<IdRangeKey, IdRange> {
+public class IdRangeLayout extends Layout.Adapter<IdRangeKey, IdRange> implements PrimitiveKeyLayout<IdRangeKey> {
     private final int longsPerEntry;
     private final int idsPerEntry;
 
@@ -121,6 +122,21 @@ public class IdRangeLayout extends Layout.Adapter<IdRangeKey, IdRange> {
         return Long.compare(o1.getIdRangeIdx(), o2.getIdRangeIdx());
     }
 
+    @Override
+    public long keyPrefix(IdRangeKey key) {
+        return key.getIdRangeIdx();
+    }
+
+    @Override
+    public long readKeyPrefix(PageCursor cursor, int offset) {
+        return cursor.getLong(offset);
+    }
+
+    @Override
+    public boolean prefixIsKey() {
+        return true;
+    }
+
     long idRangeIndex(long id) {
         return id / idsPerEntry;
     }
@@ -58,11 +58,13 @@ final class InternalNodeFixedSize<KEY> implements InternalNodeBehaviour<KEY> {
     private final int keySize;
     private final Layout<KEY, ?> layout;
     private final int payloadSize;
+    private final PrimitiveKeySearch<KEY> primitiveKeySearch;
 
     InternalNodeFixedSize(int payloadSize, Layout<KEY, ?> layout) {
         this.payloadSize = payloadSize;
         this.layout = layout;
         this.keySize = layout.keySize(null);
+        this.primitiveKeySearch = PrimitiveKeySearch.forLayout(layout, keySize);
         this.maxKeyCount =
                 Math.floorDiv(payloadSize - (BASE_HEADER_LENGTH + SIZE_PAGE_REFERENCE), keySize + SIZE_PAGE_REFERENCE);
 
@@ -96,6 +98,11 @@ final class InternalNodeFixedSize<KEY> implements InternalNodeBehaviour<KEY> {
         return layout;
     }
 
+    @Override
+    public PrimitiveKeySearch<KEY> primitiveKeySearch() {
+        return primitiveKeySearch;
+    }
+
     @Override
     public void insertKeyAndRightChildAt(
             PageCursor cursor,
@@ -37,7 +37,7 @@ public class KeySearch {
      * On seek in internal, child at pos should be followed from internal node.
      * On seek in leaf, value at pos is correct if keyAtPos is equal to key.
      * <p>
-     * Implemented as binary search.
+     * Implemented as binary search, on key prefixes if the node has a {@link PrimitiveKeySearch}.
      * <p>
      * Leaves cursor on same page as when called. No guarantees on offset.
      *
@@ -63,6 +63,10 @@ public class KeySearch {
         if (keyCount == 0) {
             return -1;
         }
+        var primitiveKeySearch = node.primitiveKeySearch();
+        if (primitiveKeySearch != null) {
+            return primitiveKeySearch.search(cursor, node, key, readKey, keyCount, cursorContext);
+        }
 
         // Compare key with lower and higher and sort out special cases
         var comparator = node.keyComparator();
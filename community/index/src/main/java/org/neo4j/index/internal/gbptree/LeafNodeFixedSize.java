@@ -63,6 +63,7 @@ class LeafNodeFixedSize<KEY, VALUE> implements LeafNodeBehaviour<KEY, VALUE> {
 
     protected final Layout<KEY, VALUE> layout;
     private final int payloadSize;
+    private final PrimitiveKeySearch<KEY> primitiveKeySearch;
 
     LeafNodeFixedSize(int pageSize, Layout<KEY, VALUE> layout) {
         this(pageSize, layout, 0);
@@ -77,6 +78,7 @@ class LeafNodeFixedSize<KEY, VALUE> implements LeafNodeBehaviour<KEY, VALUE> {
         this.payloadSize = payloadSize;
         this.layout = layout;
         this.keySize = layout.keySize(null);
+        this.primitiveKeySearch = PrimitiveKeySearch.forLayout(layout, keySize);
         this.valueSize = layout.valueSize(null) + valuePadding;
         this.maxKeyCount = Math.floorDiv(payloadSize - BASE_HEADER_LENGTH, keySize + valueSize);
         int halfKeyCount = (maxKeyCount + 1) / 2;
@@ -111,6 +113,11 @@ class LeafNodeFixedSize<KEY, VALUE> implements LeafNodeBehaviour<KEY, VALUE> {
         return layout;
     }
 
+    @Override
+    public PrimitiveKeySearch<KEY> primitiveKeySearch() {
+        return primitiveKeySearch;
+    }
+
     @Override
     public void keyValueAt(
             PageCursor cursor, KEY intoKey, ValueHolder<VALUE> intoValue, int pos, CursorContext cursorContext)
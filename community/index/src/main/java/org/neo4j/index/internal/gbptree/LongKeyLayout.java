@@ -23,7 +23,8 @@ import static org.neo4j.index.internal.gbptree.Layout.namedIdentifier;
 
 import org.neo4j.io.pagecache.PageCursor;
 
-public class LongKeyLayout extends KeyLayout.Adapter<LongKeyLayout.LongKey> {
+public class LongKeyLayout extends KeyLayout.Adapter<LongKeyLayout.LongKey>
+        implements PrimitiveKeyLayout<LongKeyLayout.LongKey> {
     protected LongKeyLayout() {
         super(true, namedIdentifier("long", 1234), 1, 0);
     }
@@ -73,6 +74,21 @@ public class LongKeyLayout extends KeyLayout.Adapter<LongKeyLayout.LongKey> {
         return Long.compare(o1.id, o2.id);
     }
 
+    @Override
+    public long keyPrefix(LongKey key) {
+        return key.id;
+    }
+
+    @Override
+    public long readKeyPrefix(PageCursor cursor, int offset) {
+        return cursor.getLong(offset);
+    }
+
+    @Override
+    public boolean prefixIsKey() {
+        return true;
+    }
+
     static class LongKey {
         long id;
 
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.internal.gbptree;
+
+import org.neo4j.io.pagecache.PageCursor;
+
+/**
+ * Implemented by fixed size {@link KeyLayout layouts} whose keys can be represented by a {@code long} prefix,
+ * allowing {@link KeySearch} to search tree nodes with such keys on the prefixes, read straight from the page,
+ * instead of reading and comparing whole keys.
+ * <p>
+ * The prefix must preserve the order of the keys in that {@code compare(a, b) < 0} implies
+ * {@code keyPrefix(a) <= keyPrefix(b)}. Keys with equal prefixes are told apart with the comparator of the layout,
+ * unless {@link #prefixIsKey()} says that equal prefixes means equal keys.
+ *
+ * @param <KEY> type of key
+ */
+public interface PrimitiveKeyLayout<KEY> {
+    /**
+     * @param key key to get the prefix of.
+     * @return the prefix of the given key.
+     */
+    long keyPrefix(KEY key);
+
+    /**
+     * Reads the prefix of the key stored at the given offset, without moving the cursor.
+     *
+     * @param cursor {@link PageCursor} to read from.
+     * @param offset offset of the key in the page.
+     * @return the prefix of the key at the given offset.
+     */
+    long readKeyPrefix(PageCursor cursor, int offset);
+
+    /**
+     * @return {@code true} if keys with equal prefixes are equal, otherwise {@code false}.
+     */
+    boolean prefixIsKey();
+}
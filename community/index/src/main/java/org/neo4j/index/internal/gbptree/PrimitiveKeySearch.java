@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.internal.gbptree;
+
+import static org.neo4j.index.internal.gbptree.TreeNodeUtil.BASE_HEADER_LENGTH;
+
+import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.io.pagecache.context.CursorContext;
+
+/**
+ * Search in fixed size tree nodes whose keys have a {@link PrimitiveKeyLayout long prefix}. The prefixes are
+ * binary searched, read directly from the page, and only keys with prefixes equal to the searched prefix are read
+ * and compared using the comparator of the node.
+ * <p>
+ * Gives the same results as {@link KeySearch#search(PageCursor, SharedNodeBehaviour, Object, Object, int, CursorContext)}.
+ */
+final class PrimitiveKeySearch<KEY> {
+    private final PrimitiveKeyLayout<KEY> layout;
+    private final int keySize;
+
+    PrimitiveKeySearch(PrimitiveKeyLayout<KEY> layout, int keySize) {
+        this.layout = layout;
+        this.keySize = keySize;
+    }
+
+    /**
+     * @return a search for nodes of the given layout, or {@code null} if the layout doesn't have key prefixes.
+     */
+    static <KEY> PrimitiveKeySearch<KEY> forLayout(KeyLayout<KEY> layout, int keySize) {
+        if (layout instanceof PrimitiveKeyLayout && layout.fixedSize()) {
+            @SuppressWarnings("unchecked")
+            PrimitiveKeyLayout<KEY> primitiveLayout = (PrimitiveKeyLayout<KEY>) layout;
+            return new PrimitiveKeySearch<>(primitiveLayout, keySize);
+        }
+        return null;
+    }
+
+    /**
+     * See {@link KeySearch#search(PageCursor, SharedNodeBehaviour, Object, Object, int, CursorContext)}.
+     */
+    int search(
+            PageCursor cursor,
+            SharedNodeBehaviour<KEY> node,
+            KEY key,
+            KEY readKey,
+            int keyCount,
+            CursorContext cursorContext) {
+        long prefix = layout.keyPrefix(key);
+        int from = rank(cursor, 0, keyCount, prefix, false);
+        if (from == keyCount || prefixAt(cursor, from) != prefix) {
+            return -(from + 1);
+        }
+        if (layout.prefixIsKey()) {
+            return from;
+        }
+
+        // Keys with the same prefix as the searched key are told apart by the comparator
+        int to = rank(cursor, from, keyCount, prefix, true);
+        var comparator = node.keyComparator();
+        int lower = from;
+        int higher = to;
+        while (lower < higher) {
+            int pos = (lower + higher) >>> 1;
+            if (comparator.compare(key, node.keyAt(cursor, readKey, pos, cursorContext)) <= 0) {
+                higher = pos;
+            } else {
+                lower = pos + 1;
+            }
+        }
+        if (lower < to && comparator.compare(key, node.keyAt(cursor, readKey, lower, cursorContext)) == 0) {
+            return lower;
+        }
+        return -(lower + 1);
+    }
+
+    /**
+     * @return the number of keys in {@code [lower, higher)} with prefix less than, or also equal to if
+     * {@code inclusive}, the given prefix, counted from {@code 0}.
+     */
+    private int rank(PageCursor cursor, int lower, int higher, long prefix, boolean inclusive) {
+        while (lower < higher) {
+            int pos = (lower + higher) >>> 1;
+            long prefixAtPos = prefixAt(cursor, pos);
+            if (prefixAtPos < prefix || (inclusive && prefixAtPos == prefix)) {
+                lower = pos + 1;
+            } else {
+                higher = pos;
+            }
+        }
+        return lower;
+    }
+
+    private long prefixAt(PageCursor cursor, int pos) {
+        return layout.readKeyPrefix(cursor, BASE_HEADER_LENGTH + pos * keySize);
+    }
+}
@@ -31,4 +31,12 @@ public interface SharedNodeBehaviour<KEY> {
     Comparator<KEY> keyComparator();
 
     int availableSpace(PageCursor cursor, int currentKeyCount);
+
+    /**
+     * @return search on key prefixes that {@link KeySearch} should use for this node, or {@code null} if keys
+     * should be searched using the {@link #keyComparator()}.
+     */
+    default PrimitiveKeySearch<KEY> primitiveKeySearch() {
+        return null;
+    }
 }
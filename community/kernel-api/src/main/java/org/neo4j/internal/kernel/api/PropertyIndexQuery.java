@@ -28,6 +28,7 @@ import java.util.Arrays;
 import java.util.Objects;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
+import org.eclipse.collections.api.set.primitive.LongSet;
 import org.neo4j.internal.schema.IndexQuery;
 import org.neo4j.token.api.TokenConstants;
 import org.neo4j.values.AnyValue;
@@ -192,7 +193,21 @@ public abstract class PropertyIndexQuery implements IndexQuery {
     }
 
     public static NearestNeighborsPredicate nearestNeighbors(int k, float[] query) {
-        return new NearestNeighborsPredicate(k, query);
+        return new NearestNeighborsPredicate(k, null, query);
+    }
+
+    /**
+     * Searches the index for the {@code k} nearest neighbors of {@code query}, only considering the entities in
+     * {@code acceptedEntities}. Filtering happens inside the approximate nearest neighbor search, so up to {@code k}
+     * results are returned even if most indexed entities are rejected by the filter.
+     *
+     * @param k the number of nearest neighbors to find.
+     * @param query the query vector.
+     * @param acceptedEntities ids of the entities that may be returned, or {@code null} to accept all entities.
+     * @return an {@link PropertyIndexQuery} instance to be used for querying an index.
+     */
+    public static NearestNeighborsPredicate nearestNeighbors(int k, float[] query, LongSet acceptedEntities) {
+        return new NearestNeighborsPredicate(k, acceptedEntities, query);
     }
 
     public static ValueTuple asValueTuple(PropertyIndexQuery.ExactPredicate... query) {
@@ -818,11 +833,13 @@ public abstract class PropertyIndexQuery implements IndexQuery {
 
     public static final class NearestNeighborsPredicate extends PropertyIndexQuery {
         private final int k;
+        private final LongSet acceptedEntities;
         private final float[] query;
 
-        private NearestNeighborsPredicate(int k, float... query) {
+        private NearestNeighborsPredicate(int k, LongSet acceptedEntities, float... query) {
             super(TokenRead.NO_TOKEN);
             this.k = k;
+            this.acceptedEntities = acceptedEntities;
             this.query = query;
         }
 
@@ -850,6 +867,17 @@ public abstract class PropertyIndexQuery implements IndexQuery {
             return query;
         }
 
+        public boolean hasFilter() {
+            return acceptedEntities != null;
+        }
+
+        /**
+         * @return ids of the entities that may be returned, or {@code null} if the search is unfiltered.
+         */
+        public LongSet acceptedEntities() {
+            return acceptedEntities;
+        }
+
         @Override
         public boolean equals(Object o) {
             if (this == o) {
@@ -862,12 +890,14 @@ public abstract class PropertyIndexQuery implements IndexQuery {
                 return false;
             }
             NearestNeighborsPredicate that = (NearestNeighborsPredicate) o;
-            return k == that.k && Arrays.equals(query, that.query);
+            return k == that.k
+                    && Objects.equals(acceptedEntities, that.acceptedEntities)
+                    && Arrays.equals(query, that.query);
         }
 
         @Override
         public int hashCode() {
-            int result = Objects.hash(super.hashCode(), k);
+            int result = Objects.hash(super.hashCode(), k, acceptedEntities);
             result = 31 * result + Arrays.hashCode(query);
             return result;
         }
@@ -27,6 +27,7 @@ import org.neo4j.internal.schema.IndexDescriptor;
 import org.neo4j.internal.schema.IndexType;
 import org.neo4j.internal.schema.SchemaDescriptor;
 import org.neo4j.kernel.api.index.IndexSample;
+import org.neo4j.kernel.api.index.IndexValueHistogram;
 
 /**
  * Surface for getting schema information, such as fetching specific indexes or constraints.
@@ -107,6 +108,15 @@ public interface SchemaRead extends SchemaReadCore {
      */
     IndexSample indexSample(IndexDescriptor index) throws IndexNotFoundKernelException;
 
+    /**
+     * Returns the histogram over the numeric values of the index, which is maintained from the index updates.
+     *
+     * @param index The index of interest
+     * @return the value histogram, or {@link IndexValueHistogram#EMPTY} if the index keeps no value statistics.
+     * @throws IndexNotFoundKernelException if the index does not exist.
+     */
+    IndexValueHistogram indexValueHistogram(IndexDescriptor index) throws IndexNotFoundKernelException;
+
     /**
      * Finds all constraints for the given schema
      *
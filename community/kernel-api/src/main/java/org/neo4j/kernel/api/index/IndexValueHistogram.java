@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.api.index;
+
+import java.util.Arrays;
+
+/**
+ * Equi-depth histogram over the numeric values of an index. The {@code bounds} split the values into
+ * {@code bounds.length - 1} buckets that each hold the same fraction of the values, with values assumed to be
+ * uniformly distributed within a bucket.
+ */
+public final class IndexValueHistogram {
+    public static final IndexValueHistogram EMPTY = new IndexValueHistogram(new double[0], 0);
+
+    private final double[] bounds;
+    private final long valueCount;
+
+    public IndexValueHistogram(double[] bounds, long valueCount) {
+        this.bounds = bounds;
+        this.valueCount = valueCount;
+    }
+
+    /**
+     * @return the bucket bounds in ascending order, the first and last bound being the smallest and largest value.
+     */
+    public double[] bounds() {
+        return bounds.clone();
+    }
+
+    /**
+     * @return the number of values that the histogram describes.
+     */
+    public long valueCount() {
+        return valueCount;
+    }
+
+    public int buckets() {
+        return Math.max(bounds.length - 1, 0);
+    }
+
+    public boolean isEmpty() {
+        return buckets() == 0 || valueCount == 0;
+    }
+
+    /**
+     * Estimates the fraction of values in the given range. Use infinite values for an open range.
+     */
+    public double rangeSelectivity(double from, boolean fromInclusive, double to, boolean toInclusive) {
+        if (isEmpty() || Double.isNaN(from) || Double.isNaN(to)) {
+            return 0;
+        }
+        double selectivity = fractionBelow(to, toInclusive) - fractionBelow(from, !fromInclusive);
+        return Math.min(Math.max(selectivity, 0), 1);
+    }
+
+    private double fractionBelow(double value, boolean inclusive) {
+        double buckets = 0;
+        for (int i = 0; i < bounds.length - 1; i++) {
+            double low = bounds[i];
+            double high = bounds[i + 1];
+            if (high < value || (inclusive && high == value)) {
+                buckets++;
+            } else if (low < value) {
+                buckets += (value - low) / (high - low);
+            } else {
+                break;
+            }
+        }
+        return buckets / buckets();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        IndexValueHistogram that = (IndexValueHistogram) o;
+        return valueCount == that.valueCount && Arrays.equals(bounds, that.bounds);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(bounds) + Long.hashCode(valueCount);
+    }
+
+    @Override
+    public String toString() {
+        return "IndexValueHistogram{" + "bounds=" + Arrays.toString(bounds) + ", valueCount=" + valueCount + '}';
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.api.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.jupiter.api.Test;
+
+class IndexValueHistogramTest {
+    private static final double INF = Double.POSITIVE_INFINITY;
+
+    @Test
+    void shouldEstimateRangesWithinBuckets() {
+        var histogram = new IndexValueHistogram(new double[] {0, 10, 20, 30, 40}, 400);
+
+        assertThat(histogram.rangeSelectivity(-INF, false, INF, false)).isEqualTo(1.0);
+        assertThat(histogram.rangeSelectivity(0, true, 20, false)).isCloseTo(0.5, within(1e-9));
+        assertThat(histogram.rangeSelectivity(5, true, 15, true)).isCloseTo(0.25, within(1e-9));
+        assertThat(histogram.rangeSelectivity(35, false, INF, false)).isCloseTo(0.125, within(1e-9));
+    }
+
+    @Test
+    void shouldNotEstimateAnythingOutsideOfBounds() {
+        var histogram = new IndexValueHistogram(new double[] {0, 10, 20}, 100);
+
+        assertThat(histogram.rangeSelectivity(25, true, INF, false)).isZero();
+        assertThat(histogram.rangeSelectivity(-INF, false, -1, true)).isZero();
+        assertThat(histogram.rangeSelectivity(15, true, 5, true)).isZero();
+    }
+
+    @Test
+    void shouldHandleBucketsOfDuplicateValues() {
+        var histogram = new IndexValueHistogram(new double[] {1, 1, 1, 10}, 300);
+
+        assertThat(histogram.rangeSelectivity(1, true, 1, true)).isCloseTo(2.0 / 3, within(1e-9));
+        assertThat(histogram.rangeSelectivity(1, false, INF, false)).isCloseTo(1.0 / 3, within(1e-9));
+    }
+
+    @Test
+    void shouldBeEmptyWithoutValues() {
+        assertThat(IndexValueHistogram.EMPTY.isEmpty()).isTrue();
+        assertThat(IndexValueHistogram.EMPTY.rangeSelectivity(-INF, false, INF, false)).isZero();
+    }
+}
@@ -36,6 +36,7 @@ import org.neo4j.test.RandomSupport;
 import org.neo4j.test.extension.Inject;
 import org.neo4j.test.extension.RandomExtension;
 import org.neo4j.values.AnyValue;
+import org.neo4j.values.AnyValueWriter.EntityMode;
 import org.neo4j.values.storable.ValueType;
 import org.neo4j.values.virtual.ListValue;
 import org.neo4j.values.virtual.MapValue;
@@ -65,6 +66,19 @@ class ValuesReadWriteTest {
         doRoundTrips(type.create(random));
     }
 
+    @ParameterizedTest
+    @EnumSource(RandomVirtualValue.class)
+    void virtualValueRoundTripsAsReferences(RandomVirtualValue type) throws IOException {
+        final var value = type.create(random);
+        try (var writeChannel = new WriteEnrichmentChannel(EmptyMemoryTracker.INSTANCE)) {
+            new ValuesWriter(writeChannel, EntityMode.REFERENCE).write(value);
+
+            final var read = ValuesReader.from(fill(writeChannel.flip()));
+            assertThat(read).isEqualTo(value);
+            assertThat(read).isNotInstanceOfAny(NodeValue.class, RelationshipValue.class, PathValue.class);
+        }
+    }
+
     private void doRoundTrips(AnyValue value) throws IOException {
         final var positions = new int[random.nextInt(50, 666)];
         try (var writeChannel = new WriteEnrichmentChannel(EmptyMemoryTracker.INSTANCE)) {
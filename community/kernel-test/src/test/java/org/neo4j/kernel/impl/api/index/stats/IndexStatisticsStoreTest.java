@@ -20,6 +20,7 @@
 package org.neo4j.kernel.impl.api.index.stats;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -54,6 +55,7 @@ import org.neo4j.io.pagecache.tracing.PageCacheTracer;
 import org.neo4j.io.pagecache.tracing.cursor.PageCursorTracer;
 import org.neo4j.kernel.api.index.IndexSample;
 import org.neo4j.kernel.api.index.IndexUsageStats;
+import org.neo4j.kernel.api.index.IndexValueHistogram;
 import org.neo4j.kernel.lifecycle.LifeSupport;
 import org.neo4j.test.Race;
 import org.neo4j.test.extension.Inject;
@@ -274,6 +276,77 @@ class IndexStatisticsStoreTest {
         }
     }
 
+    @Test
+    void shouldBuildHistogramFromAddedValues() {
+        // given
+        long indexId = 7;
+        for (int i = 0; i < 100; i++) {
+            store.addIndexValue(indexId, i);
+        }
+
+        // when
+        IndexValueHistogram histogram = store.indexValueHistogram(indexId);
+
+        // then
+        assertThat(histogram.valueCount()).isEqualTo(100);
+        assertThat(histogram.bounds()[0]).isEqualTo(0);
+        assertThat(histogram.bounds()[histogram.buckets()]).isEqualTo(99);
+        assertThat(histogram.rangeSelectivity(0, true, 49, true)).isCloseTo(0.5, within(0.05));
+        assertThat(store.indexValueHistogram(indexId + 1)).isEqualTo(IndexValueHistogram.EMPTY);
+    }
+
+    @Test
+    void shouldRemoveValuesFromHistogram() {
+        // given
+        long indexId = 7;
+        for (int i = 0; i < 10; i++) {
+            store.addIndexValue(indexId, i);
+        }
+
+        // when
+        for (int i = 5; i < 10; i++) {
+            store.removeIndexValue(indexId, i);
+        }
+
+        // then
+        IndexValueHistogram histogram = store.indexValueHistogram(indexId);
+        assertThat(histogram.valueCount()).isEqualTo(5);
+        assertThat(histogram.rangeSelectivity(5, true, Double.POSITIVE_INFINITY, false)).isZero();
+    }
+
+    @Test
+    void shouldStoreHistogramOnCheckpoint() throws IOException {
+        // given
+        long indexId = 3;
+        for (int i = 0; i < 5000; i++) {
+            store.addIndexValue(indexId, i % 1000);
+        }
+        IndexValueHistogram histogram = store.indexValueHistogram(indexId);
+
+        // when
+        restartStore();
+
+        // then
+        IndexValueHistogram restored = store.indexValueHistogram(indexId);
+        assertThat(restored.valueCount()).isEqualTo(histogram.valueCount());
+        assertThat(restored.rangeSelectivity(0, true, 500, false)).isCloseTo(0.5, within(0.1));
+    }
+
+    @Test
+    void shouldRemoveHistogramWithIndex() throws IOException {
+        // given
+        long indexId = 3;
+        store.setSampleStats(indexId, new IndexSample(1, 1, 1));
+        store.addIndexValue(indexId, 42);
+
+        // when
+        store.removeIndex(indexId);
+        restartStore();
+
+        // then
+        assertThat(store.indexValueHistogram(indexId)).isEqualTo(IndexValueHistogram.EMPTY);
+    }
+
     @Test
     void shouldNotStartWithoutFileIfReadOnly() {
         final Exception e = assertThrows(
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.api.index.stats;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.jupiter.api.Test;
+
+class IndexValueReservoirTest {
+    @Test
+    void shouldKeepSampleUniformAfterRemovals() {
+        // given
+        var reservoir = new IndexValueReservoir(1000, 100);
+        for (int i = 0; i < 20_000; i++) {
+            reservoir.add(i);
+        }
+
+        // when
+        for (int i = 0; i < 10_000; i++) {
+            reservoir.remove(i);
+        }
+        for (int i = 20_000; i < 30_000; i++) {
+            reservoir.add(i);
+        }
+
+        // then the live values are 10000..29999, half of which are below 20000
+        var histogram = reservoir.histogram();
+        assertThat(histogram.valueCount()).isEqualTo(20_000);
+        assertThat(histogram.rangeSelectivity(10_000, true, 20_000, false)).isCloseTo(0.5, within(0.08));
+        assertThat(histogram.rangeSelectivity(Double.NEGATIVE_INFINITY, false, 10_000, false))
+                .isZero();
+    }
+
+    @Test
+    void shouldRemoveEveryOccurrenceOfDuplicateValues() {
+        // given
+        var reservoir = new IndexValueReservoir(1000, 10);
+        for (int i = 0; i < 300; i++) {
+            reservoir.add(i % 3);
+        }
+
+        // when
+        for (int i = 0; i < 100; i++) {
+            reservoir.remove(1);
+        }
+
+        // then
+        assertThat(reservoir.histogram().valueCount()).isEqualTo(200);
+        assertThat(reservoir.histogram().bounds()).containsOnly(0.0, 2.0);
+
+        // when
+        for (int i = 0; i < 100; i++) {
+            reservoir.remove(2);
+        }
+
+        // then
+        assertThat(reservoir.histogram().valueCount()).isEqualTo(100);
+        assertThat(reservoir.histogram().bounds()).containsOnly(0.0);
+    }
+
+    @Test
+    void shouldRefillSampleAfterRemovingAllValues() {
+        // given
+        var reservoir = new IndexValueReservoir(100, 10);
+        for (int i = 0; i < 1000; i++) {
+            reservoir.add(i);
+        }
+        for (int i = 0; i < 1000; i++) {
+            reservoir.remove(i);
+        }
+        assertThat(reservoir.histogram().isEmpty()).isTrue();
+
+        // when
+        for (int i = 0; i < 50; i++) {
+            reservoir.add(i);
+        }
+
+        // then
+        var histogram = reservoir.histogram();
+        assertThat(histogram.valueCount()).isEqualTo(50);
+        assertThat(histogram.bounds()).hasSizeGreaterThan(1);
+        assertThat(histogram.rangeSelectivity(0, true, 49, true)).isEqualTo(1);
+    }
+}
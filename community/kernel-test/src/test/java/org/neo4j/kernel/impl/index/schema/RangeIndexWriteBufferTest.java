@@ -0,0 +1,310 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.neo4j.configuration.GraphDatabaseSettings.DEFAULT_DATABASE_NAME;
+import static org.neo4j.dbms.database.readonly.DatabaseReadOnlyChecker.writable;
+import static org.neo4j.internal.kernel.api.IndexQueryConstraints.constrained;
+import static org.neo4j.internal.kernel.api.QueryContext.NULL_CONTEXT;
+import static org.neo4j.internal.schema.IndexPrototype.forSchema;
+import static org.neo4j.internal.schema.IndexPrototype.uniqueForSchema;
+import static org.neo4j.internal.schema.SchemaDescriptors.forLabel;
+import static org.neo4j.kernel.impl.api.index.IndexUpdateMode.ONLINE;
+import static org.neo4j.kernel.impl.index.schema.IndexUsageTracker.NO_USAGE_TRACKER;
+import static org.neo4j.storageengine.api.IndexEntryUpdate.add;
+import static org.neo4j.storageengine.api.IndexEntryUpdate.change;
+import static org.neo4j.storageengine.api.IndexEntryUpdate.remove;
+import static org.neo4j.values.storable.Values.intValue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.commons.lang3.mutable.MutableBoolean;
+import org.eclipse.collections.impl.factory.Sets;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector;
+import org.neo4j.index.internal.gbptree.ValueMerger;
+import org.neo4j.internal.kernel.api.PropertyIndexQuery;
+import org.neo4j.internal.schema.IndexDescriptor;
+import org.neo4j.internal.schema.IndexOrder;
+import org.neo4j.internal.schema.IndexType;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.io.pagecache.tracing.FileFlushEvent;
+import org.neo4j.kernel.api.exceptions.index.IndexEntryConflictException;
+import org.neo4j.kernel.api.index.IndexSample;
+import org.neo4j.kernel.api.index.IndexUpdater;
+import org.neo4j.memory.LocalMemoryTracker;
+import org.neo4j.storageengine.api.IndexEntryUpdate;
+import org.neo4j.storageengine.api.schema.SimpleEntityValueClient;
+
+class RangeIndexWriteBufferTest extends IndexTestUtil<RangeKey, NullValue, RangeLayout> {
+    private static final int PROPERTY = 666;
+    private static final int BUFFER_SIZE = 10;
+    private static final IndexDescriptor INDEX_DESCRIPTOR = forSchema(forLabel(42, PROPERTY))
+            .withIndexType(IndexType.RANGE)
+            .withIndexProvider(RangeIndexProvider.DESCRIPTOR)
+            .withName("buffered")
+            .materialise(0);
+
+    private final LocalMemoryTracker memoryTracker = new LocalMemoryTracker();
+    private RangeIndexAccessor accessor;
+
+    @AfterEach
+    void closeAccessor() {
+        if (accessor != null) {
+            accessor.close();
+        }
+    }
+
+    @Override
+    IndexDescriptor indexDescriptor() {
+        return INDEX_DESCRIPTOR;
+    }
+
+    @Override
+    RangeLayout layout() {
+        return new RangeLayout(1);
+    }
+
+    @Test
+    void shouldSeeBufferedUpdatesInSeeks() throws Exception {
+        // given
+        accessor = createAccessor(INDEX_DESCRIPTOR);
+        process(add(1, INDEX_DESCRIPTOR, intValue(10)), add(2, INDEX_DESCRIPTOR, intValue(20)));
+        assertThat(accessor.writeBuffer.size()).isEqualTo(2);
+
+        // when
+        process(
+                add(3, INDEX_DESCRIPTOR, intValue(30)),
+                remove(2, INDEX_DESCRIPTOR, intValue(20)),
+                change(3, INDEX_DESCRIPTOR, intValue(30), intValue(5)));
+
+        // then
+        assertThat(query(IndexOrder.ASCENDING)).containsExactly(3L, 1L);
+        assertThat(query(IndexOrder.DESCENDING)).containsExactly(1L, 3L);
+    }
+
+    @Test
+    void shouldMergeBufferedUpdatesWithTree() throws Exception {
+        // given
+        accessor = createAccessor(INDEX_DESCRIPTOR);
+        process(
+                add(1, INDEX_DESCRIPTOR, intValue(10)),
+                add(2, INDEX_DESCRIPTOR, intValue(20)),
+                add(3, INDEX_DESCRIPTOR, intValue(30)));
+        accessor.force(FileFlushEvent.NULL, CursorContext.NULL_CONTEXT);
+        assertThat(accessor.writeBuffer.size()).isZero();
+
+        // when
+        process(
+                add(4, INDEX_DESCRIPTOR, intValue(15)),
+                remove(3, INDEX_DESCRIPTOR, intValue(30)),
+                add(5, INDEX_DESCRIPTOR, intValue(40)));
+
+        // then
+        assertThat(query(IndexOrder.ASCENDING)).containsExactly(1L, 4L, 2L, 5L);
+        assertThat(query(IndexOrder.DESCENDING)).containsExactly(5L, 2L, 4L, 1L);
+        try (var reader = accessor.newValueReader(NO_USAGE_TRACKER)) {
+            assertThat(reader.countIndexedEntities(3, CursorContext.NULL_CONTEXT, new int[] {PROPERTY}, intValue(30)))
+                    .isZero();
+            assertThat(reader.countIndexedEntities(4, CursorContext.NULL_CONTEXT, new int[] {PROPERTY}, intValue(15)))
+                    .isOne();
+        }
+    }
+
+    @Test
+    void shouldFlushBufferWhenFull() throws Exception {
+        // given
+        accessor = createAccessor(INDEX_DESCRIPTOR);
+        List<Long> expected = new ArrayList<>();
+        IndexEntryUpdate<?>[] updates = new IndexEntryUpdate<?>[BUFFER_SIZE + 1];
+        for (int i = 0; i < updates.length; i++) {
+            updates[i] = add(i, INDEX_DESCRIPTOR, intValue(i));
+            expected.add((long) i);
+        }
+
+        // when
+        process(updates);
+
+        // then
+        assertThat(accessor.writeBuffer.size()).isZero();
+        assertThat(query(IndexOrder.ASCENDING)).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void shouldWriteBufferedUpdatesToTreeOnForce() throws Exception {
+        // given
+        accessor = createAccessor(INDEX_DESCRIPTOR);
+        process(add(1, INDEX_DESCRIPTOR, intValue(10)), add(2, INDEX_DESCRIPTOR, intValue(20)));
+
+        // when
+        accessor.force(FileFlushEvent.NULL, CursorContext.NULL_CONTEXT);
+        accessor.close();
+        accessor = null;
+
+        // then
+        try (var tree = getTree();
+                var seeker = tree.seek(lowest(), highest(), CursorContext.NULL_CONTEXT)) {
+            List<Long> entities = new ArrayList<>();
+            while (seeker.next()) {
+                entities.add(seeker.key().getEntityId());
+            }
+            assertThat(entities).containsExactly(1L, 2L);
+        }
+    }
+
+    @Test
+    void shouldNotBufferUpdatesOfUniqueIndex() {
+        // given
+        IndexDescriptor unique = uniqueForSchema(forLabel(42, PROPERTY))
+                .withIndexType(IndexType.RANGE)
+                .withIndexProvider(RangeIndexProvider.DESCRIPTOR)
+                .withName("unique")
+                .materialise(0);
+
+        // when
+        accessor = createAccessor(unique);
+
+        // then
+        assertThat(accessor.writeBuffer).isNull();
+    }
+
+    @Test
+    void shouldTrackHeapOfBufferedEntries() throws Exception {
+        // given
+        accessor = createAccessor(INDEX_DESCRIPTOR);
+
+        // when
+        process(add(1, INDEX_DESCRIPTOR, intValue(10)), add(2, INDEX_DESCRIPTOR, intValue(20)));
+
+        // then
+        assertThat(memoryTracker.estimatedHeapMemory()).isPositive();
+        accessor.force(FileFlushEvent.NULL, CursorContext.NULL_CONTEXT);
+        assertThat(memoryTracker.estimatedHeapMemory()).isZero();
+    }
+
+    @Test
+    void shouldIncludeBufferedEntriesInEstimateAndSample() throws Exception {
+        // given
+        accessor = createAccessor(INDEX_DESCRIPTOR);
+        process(
+                add(1, INDEX_DESCRIPTOR, intValue(10)),
+                add(2, INDEX_DESCRIPTOR, intValue(20)),
+                add(3, INDEX_DESCRIPTOR, intValue(20)));
+        accessor.force(FileFlushEvent.NULL, CursorContext.NULL_CONTEXT);
+
+        // when
+        process(
+                add(4, INDEX_DESCRIPTOR, intValue(40)),
+                remove(1, INDEX_DESCRIPTOR, intValue(10)),
+                add(5, INDEX_DESCRIPTOR, intValue(50)));
+
+        // then
+        assertThat(accessor.writeBuffer.size()).isEqualTo(3);
+        assertThat(accessor.estimateNumberOfEntries(CursorContext.NULL_CONTEXT)).isEqualTo(4);
+        try (var reader = accessor.newValueReader(NO_USAGE_TRACKER)) {
+            IndexSample sample = reader.createSampler().sampleIndex(CursorContext.NULL_CONTEXT, new AtomicBoolean());
+            assertThat(sample.sampleSize()).isEqualTo(4);
+            assertThat(sample.uniqueValues()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    void shouldWriteThroughOperationsThatReadTheTree() throws Exception {
+        // given
+        accessor = createAccessor(INDEX_DESCRIPTOR);
+        process(add(1, INDEX_DESCRIPTOR, intValue(10)));
+        RangeKey key = layout.newKey();
+        key.initialize(1);
+        key.initFromValue(0, intValue(10), NativeIndexKey.Inclusion.NEUTRAL);
+        MutableBoolean existed = new MutableBoolean();
+
+        // when
+        try (var writer = accessor.writeBuffer.writer(accessor.tree, CursorContext.NULL_CONTEXT)) {
+            writer.mergeIfExists(key, NullValue.INSTANCE, (existingKey, newKey, existingValue, newValue) -> {
+                existed.setTrue();
+                return ValueMerger.MergeResult.UNCHANGED;
+            });
+        }
+
+        // then
+        assertThat(existed.booleanValue()).isTrue();
+        assertThat(accessor.writeBuffer.size()).isZero();
+        assertThat(query(IndexOrder.ASCENDING)).containsExactly(1L);
+    }
+
+    private RangeIndexAccessor createAccessor(IndexDescriptor descriptor) {
+        DatabaseIndexContext context = DatabaseIndexContext.builder(
+                        pageCache, fs, contextFactory, pageCacheTracer, DEFAULT_DATABASE_NAME)
+                .withReadOnlyChecker(writable())
+                .build();
+        return new RangeIndexAccessor(
+                context,
+                indexFiles,
+                layout,
+                RecoveryCleanupWorkCollector.immediate(),
+                descriptor,
+                tokenNameLookup,
+                Sets.immutable.empty(),
+                false,
+                BUFFER_SIZE,
+                memoryTracker);
+    }
+
+    private void process(IndexEntryUpdate<?>... updates) throws IndexEntryConflictException {
+        try (IndexUpdater updater = accessor.newUpdater(ONLINE, CursorContext.NULL_CONTEXT, false)) {
+            for (IndexEntryUpdate<?> update : updates) {
+                updater.process(update);
+            }
+        }
+    }
+
+    private List<Long> query(IndexOrder order) throws Exception {
+        List<Long> entities = new ArrayList<>();
+        try (var reader = accessor.newValueReader(NO_USAGE_TRACKER)) {
+            SimpleEntityValueClient client = new SimpleEntityValueClient();
+            reader.query(
+                    client,
+                    NULL_CONTEXT,
+                    constrained(order, false),
+                    PropertyIndexQuery.range(PROPERTY, 0, true, 100, true));
+            while (client.next()) {
+                entities.add(client.reference);
+            }
+        }
+        return entities;
+    }
+
+    private RangeKey lowest() {
+        RangeKey key = layout.newKey();
+        key.initialize(Long.MIN_VALUE);
+        key.initValuesAsLowest();
+        return key;
+    }
+
+    private RangeKey highest() {
+        RangeKey key = layout.newKey();
+        key.initialize(Long.MAX_VALUE);
+        key.initValuesAsHighest();
+        return key;
+    }
+}
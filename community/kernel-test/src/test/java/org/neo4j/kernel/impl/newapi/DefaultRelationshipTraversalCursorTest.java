@@ -62,6 +62,7 @@ import org.neo4j.internal.schema.SchemaDescriptor;
 import org.neo4j.io.pagecache.context.CursorContext;
 import org.neo4j.kernel.api.index.IndexSample;
 import org.neo4j.kernel.api.index.IndexUsageStats;
+import org.neo4j.kernel.api.index.IndexValueHistogram;
 import org.neo4j.kernel.api.index.ValueIndexReader;
 import org.neo4j.kernel.api.txstate.TransactionState;
 import org.neo4j.kernel.impl.api.KernelTransactionImplementation;
@@ -650,6 +651,11 @@ class DefaultRelationshipTraversalCursorTest {
             return null;
         }
 
+        @Override
+        public IndexValueHistogram indexValueHistogram(IndexDescriptor index) {
+            return null;
+        }
+
         @Override
         public Iterator<ConstraintDescriptor> constraintsGetForSchema(SchemaDescriptor descriptor) {
             return null;
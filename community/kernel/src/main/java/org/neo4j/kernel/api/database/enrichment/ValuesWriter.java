@@ -33,6 +33,7 @@ import java.util.List;
 import org.neo4j.storageengine.api.enrichment.WriteEnrichmentChannel;
 import org.neo4j.values.AnyValue;
 import org.neo4j.values.AnyValueWriter;
+import org.neo4j.values.AnyValueWriter.EntityMode;
 import org.neo4j.values.storable.CoordinateReferenceSystem;
 import org.neo4j.values.storable.TextArray;
 import org.neo4j.values.storable.TextValue;
@@ -48,8 +49,15 @@ import org.neo4j.values.virtual.VirtualRelationshipValue;
 
 /**
  * @param channel the channel to write the {@link Value} objects out to.
+ * @param entityMode whether nodes, relationships and paths are written with their labels, types and properties, or
+ *                   only as references to their ids.
  */
-public record ValuesWriter(WriteEnrichmentChannel channel) implements AnyValueWriter<RuntimeException> {
+public record ValuesWriter(WriteEnrichmentChannel channel, EntityMode entityMode)
+        implements AnyValueWriter<RuntimeException> {
+
+    public ValuesWriter(WriteEnrichmentChannel channel) {
+        this(channel, EntityMode.FULL);
+    }
 
     public int write(AnyValue value) {
         final var position = channel.size();
@@ -69,11 +77,6 @@ public record ValuesWriter(WriteEnrichmentChannel channel) implements AnyValueWr
         return position;
     }
 
-    @Override
-    public EntityMode entityMode() {
-        return EntityMode.FULL;
-    }
-
     @Override
     public void writeNull() {
         // no-op
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.api.net;
+
+import static java.util.Collections.emptyList;
+
+import java.util.List;
+
+/**
+ * Provides the latencies of the messages which have been processed by the network connectors of the database.
+ */
+public interface NetworkMessageLatencyTracker {
+
+    /**
+     * Retrieves a snapshot of the latencies recorded for each connector, message type and processing phase.
+     *
+     * @return a list of latencies.
+     */
+    List<MessageLatency> latencies();
+
+    NetworkMessageLatencyTracker NO_OP = () -> emptyList();
+
+    /**
+     * Summarizes the latencies of a given phase for a given type of message.
+     *
+     * @param connector the connector which received the messages.
+     * @param messageType the type of message.
+     * @param phase the phase of processing (such as queueing, processing or flushing the response).
+     * @param count the number of recorded messages.
+     * @param p50Nanos the median latency in nanoseconds.
+     * @param p99Nanos the 99th percentile latency in nanoseconds.
+     * @param maxNanos the maximum latency in nanoseconds.
+     */
+    record MessageLatency(
+            String connector,
+            String messageType,
+            String phase,
+            long count,
+            long p50Nanos,
+            long p99Nanos,
+            long maxNanos) {}
+}
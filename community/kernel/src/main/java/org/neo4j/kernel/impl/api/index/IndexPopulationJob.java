@@ -42,6 +42,8 @@ import org.neo4j.memory.ThreadSafePeakMemoryTracker;
 import org.neo4j.scheduler.JobHandle;
 import org.neo4j.scheduler.JobMonitoringParams;
 import org.neo4j.storageengine.api.IndexEntryUpdate;
+import org.neo4j.time.Clocks;
+import org.neo4j.time.SystemNanoClock;
 import org.neo4j.util.concurrent.Runnables;
 
 /**
@@ -62,6 +64,7 @@ public class IndexPopulationJob implements Runnable {
     private final String databaseName;
     private final Subject subject;
     private final EntityType populatedEntityType;
+    private final SystemNanoClock clock;
 
     /**
      * A list of all indexes populated by this job.
@@ -69,6 +72,7 @@ public class IndexPopulationJob implements Runnable {
     private final List<IndexDescriptor> populatedIndexes = new ArrayList<>();
 
     private volatile StoreScan storeScan;
+    private volatile long scanStartNanos;
     private volatile boolean stopped;
     /**
      * The {@link JobHandle} that represents the scheduling of this index population job.
@@ -85,6 +89,28 @@ public class IndexPopulationJob implements Runnable {
             Subject subject,
             EntityType populatedEntityType,
             Config config) {
+        this(
+                multiPopulator,
+                monitor,
+                contextFactory,
+                memoryTracker,
+                databaseName,
+                subject,
+                populatedEntityType,
+                config,
+                Clocks.nanoClock());
+    }
+
+    IndexPopulationJob(
+            MultipleIndexPopulator multiPopulator,
+            IndexMonitor monitor,
+            CursorContextFactory contextFactory,
+            MemoryTracker memoryTracker,
+            String databaseName,
+            Subject subject,
+            EntityType populatedEntityType,
+            Config config,
+            SystemNanoClock clock) {
         this.multiPopulator = multiPopulator;
         this.monitor = monitor;
         this.contextFactory = contextFactory;
@@ -96,6 +122,7 @@ public class IndexPopulationJob implements Runnable {
         this.databaseName = databaseName;
         this.subject = subject;
         this.populatedEntityType = populatedEntityType;
+        this.clock = clock;
     }
 
     /**
@@ -161,6 +188,7 @@ public class IndexPopulationJob implements Runnable {
     }
 
     private void indexAllEntities(CursorContextFactory contextFactory) {
+        scanStartNanos = clock.nanos();
         storeScan = multiPopulator.createStoreScan(contextFactory);
         if (!stopped) {
             storeScan.run(multiPopulator);
@@ -292,10 +320,26 @@ public class IndexPopulationJob implements Runnable {
                     .append(populationProgress.toIndexPopulationProgress().getCompletedPercentage())
                     .append("%");
 
+            long throughput = scanThroughput(populationProgress);
+            if (throughput > 0) {
+                stateDescriptionBuilder.append(", throughput: ").append(throughput).append(" entities/s");
+            }
+
             return stateDescriptionBuilder.toString();
         });
     }
 
+    /**
+     * @return number of entities scanned per second since the store scan started, or {@code 0} if not known yet.
+     */
+    long scanThroughput(PopulationProgress scanProgress) {
+        long elapsedNanos = clock.nanos() - scanStartNanos;
+        if (storeScan == null || elapsedNanos <= 0) {
+            return 0;
+        }
+        return (long) (scanProgress.getCompleted() / (elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1)));
+    }
+
     private String getMonitoringDescription() {
         if (populatedIndexes.isEmpty()) {
             // this should not happen
@@ -21,6 +21,7 @@ package org.neo4j.kernel.impl.api.index;
 
 import org.neo4j.internal.schema.IndexDescriptor;
 import org.neo4j.kernel.api.index.IndexSample;
+import org.neo4j.storageengine.api.IndexEntryUpdate;
 
 /**
  * Representation of an index used by indexing services in this package.
@@ -36,5 +37,12 @@ interface IndexProxyStrategy {
 
     void replaceStatisticsForIndex(IndexSample sample);
 
+    /**
+     * Feeds the values of an update into the value distribution statistics of the index, if it keeps any.
+     */
+    void includeValueStatisticsForIndex(IndexEntryUpdate<?> update);
+
+    void resetValueStatisticsForIndex();
+
     String getIndexUserDescription();
 }
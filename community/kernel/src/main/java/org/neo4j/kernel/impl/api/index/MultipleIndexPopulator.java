@@ -334,6 +334,7 @@ public class MultipleIndexPopulator implements StoreScan.ExternalUpdatesCheck, A
 
     private void resetIndexCountsForPopulation(IndexPopulation indexPopulation) {
         indexPopulation.indexProxyStrategy.replaceStatisticsForIndex(new IndexSample(0, 0, 0));
+        indexPopulation.indexProxyStrategy.resetValueStatisticsForIndex();
     }
 
     /**
@@ -528,6 +529,7 @@ public class MultipleIndexPopulator implements StoreScan.ExternalUpdatesCheck, A
 
                 try {
                     population.populator.includeSample(update);
+                    population.indexProxyStrategy.includeValueStatisticsForIndex(update);
                     updater.process(update);
                 } catch (Throwable t) {
                     try {
@@ -728,6 +730,7 @@ public class MultipleIndexPopulator implements StoreScan.ExternalUpdatesCheck, A
                 for (IndexEntryUpdate<IndexPopulation> indexUpdate : update.valueUpdatesForIndexKeys(populations)) {
                     IndexPopulation population = indexUpdate.indexKey();
                     population.populator.includeSample(indexUpdate);
+                    population.indexProxyStrategy.includeValueStatisticsForIndex(indexUpdate);
                     updates.computeIfAbsent(population, p -> new ArrayList<>()).add(indexUpdate);
                 }
             }
@@ -22,6 +22,7 @@ package org.neo4j.kernel.impl.api.index;
 import org.neo4j.common.TokenNameLookup;
 import org.neo4j.internal.schema.IndexDescriptor;
 import org.neo4j.kernel.api.index.IndexSample;
+import org.neo4j.storageengine.api.IndexEntryUpdate;
 
 /**
  * Collecting statistics on token indexes is not needed and therefore not supported.
@@ -49,6 +50,12 @@ class TokenIndexProxyStrategy implements IndexProxyStrategy {
     @Override
     public void replaceStatisticsForIndex(IndexSample sample) {}
 
+    @Override
+    public void includeValueStatisticsForIndex(IndexEntryUpdate<?> update) {}
+
+    @Override
+    public void resetValueStatisticsForIndex() {}
+
     @Override
     public String getIndexUserDescription() {
         return descriptor.userDescription(tokenNameLookup);
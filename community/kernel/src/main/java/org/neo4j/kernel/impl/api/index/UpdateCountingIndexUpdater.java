@@ -36,6 +36,7 @@ public class UpdateCountingIndexUpdater implements IndexUpdater {
     @Override
     public void process(IndexEntryUpdate<?> update) throws IndexEntryConflictException {
         delegate.process(update);
+        indexProxyStrategy.includeValueStatisticsForIndex(update);
         updates++;
     }
 
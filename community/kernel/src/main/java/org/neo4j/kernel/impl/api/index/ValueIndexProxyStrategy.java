@@ -21,8 +21,13 @@ package org.neo4j.kernel.impl.api.index;
 
 import org.neo4j.common.TokenNameLookup;
 import org.neo4j.internal.schema.IndexDescriptor;
+import org.neo4j.internal.schema.IndexType;
 import org.neo4j.kernel.api.index.IndexSample;
 import org.neo4j.kernel.impl.api.index.stats.IndexStatisticsStore;
+import org.neo4j.storageengine.api.IndexEntryUpdate;
+import org.neo4j.storageengine.api.ValueIndexEntryUpdate;
+import org.neo4j.values.storable.NumberValue;
+import org.neo4j.values.storable.Value;
 
 class ValueIndexProxyStrategy implements IndexProxyStrategy {
     private final IndexDescriptor indexDescriptor;
@@ -56,6 +61,46 @@ class ValueIndexProxyStrategy implements IndexProxyStrategy {
         statisticsStore.setSampleStats(indexDescriptor.getId(), sample);
     }
 
+    @Override
+    public void includeValueStatisticsForIndex(IndexEntryUpdate<?> update) {
+        if (!keepsValueStatistics() || !(update instanceof ValueIndexEntryUpdate<?> valueUpdate)) {
+            return;
+        }
+        switch (update.updateMode()) {
+            case ADDED -> addValue(valueUpdate.values()[0]);
+            case CHANGED -> {
+                removeValue(valueUpdate.beforeValues()[0]);
+                addValue(valueUpdate.values()[0]);
+            }
+            case REMOVED -> removeValue(valueUpdate.values()[0]);
+        }
+    }
+
+    @Override
+    public void resetValueStatisticsForIndex() {
+        if (keepsValueStatistics()) {
+            statisticsStore.resetIndexValues(indexDescriptor.getId());
+        }
+    }
+
+    // The value distribution is only used for range seeks, so it is only kept for single property range indexes
+    private boolean keepsValueStatistics() {
+        return indexDescriptor.getIndexType() == IndexType.RANGE
+                && indexDescriptor.schema().getPropertyIds().length == 1;
+    }
+
+    private void addValue(Value value) {
+        if (value instanceof NumberValue number) {
+            statisticsStore.addIndexValue(indexDescriptor.getId(), number.doubleValue());
+        }
+    }
+
+    private void removeValue(Value value) {
+        if (value instanceof NumberValue number) {
+            statisticsStore.removeIndexValue(indexDescriptor.getId(), number.doubleValue());
+        }
+    }
+
     @Override
     public String getIndexUserDescription() {
         return indexUserDescription;
@@ -25,6 +25,7 @@ import static org.neo4j.internal.kernel.api.PropertyIndexQuery.exact;
 import static org.neo4j.io.pagecache.context.CursorContext.NULL_CONTEXT;
 import static org.neo4j.kernel.impl.index.schema.IndexUsageTracker.NO_USAGE_TRACKER;
 import static org.neo4j.kernel.impl.index.schema.NativeIndexPopulator.BYTE_ONLINE;
+import static org.neo4j.memory.EmptyMemoryTracker.INSTANCE;
 import static org.neo4j.storageengine.api.IndexEntryUpdate.add;
 
 import java.io.IOException;
@@ -55,6 +56,7 @@ import org.neo4j.kernel.api.index.IndexEntriesReader;
 import org.neo4j.kernel.api.index.IndexEntryConflictHandler;
 import org.neo4j.kernel.api.index.ValueIndexReader;
 import org.neo4j.kernel.impl.api.index.IndexUpdateMode;
+import org.neo4j.memory.MemoryTracker;
 import org.neo4j.scheduler.Group;
 import org.neo4j.scheduler.JobHandle;
 import org.neo4j.scheduler.JobMonitoringParams;
@@ -65,6 +67,7 @@ public abstract class NativeIndexAccessor<KEY extends NativeIndexKey<KEY>> exten
         implements IndexAccessor {
     private final NativeIndexUpdater<KEY> singleUpdater;
     private final NativeIndexHeaderWriter headerWriter;
+    final NativeIndexWriteBuffer<KEY> writeBuffer;
 
     NativeIndexAccessor(
             DatabaseIndexContext databaseIndexContext,
@@ -73,16 +76,40 @@ public abstract class NativeIndexAccessor<KEY extends NativeIndexKey<KEY>> exten
             IndexDescriptor descriptor,
             ImmutableSet<OpenOption> openOptions,
             boolean readOnly) {
+        this(databaseIndexContext, indexFiles, layout, descriptor, openOptions, readOnly, 0, INSTANCE);
+    }
+
+    /**
+     * @param writeBufferSize number of updates to keep in a {@link NativeIndexWriteBuffer} before writing them
+     * to the tree, or {@code 0} to write updates directly to the tree.
+     * @param writeBufferMemoryTracker tracker of the heap used by the write buffer.
+     */
+    NativeIndexAccessor(
+            DatabaseIndexContext databaseIndexContext,
+            IndexFiles indexFiles,
+            IndexLayout<KEY> layout,
+            IndexDescriptor descriptor,
+            ImmutableSet<OpenOption> openOptions,
+            boolean readOnly,
+            int writeBufferSize,
+            MemoryTracker writeBufferMemoryTracker) {
         super(databaseIndexContext, layout, indexFiles, descriptor, openOptions, readOnly);
         singleUpdater = new NativeIndexUpdater<>(
                 layout.newKey(),
                 indexUpdateIgnoreStrategy(),
                 new ThrowingConflictDetector<>(true, descriptor.schema()));
         headerWriter = new NativeIndexHeaderWriter(BYTE_ONLINE);
+        // The buffer can't detect conflicts, so unique indexes always write directly to the tree
+        writeBuffer = writeBufferSize > 0 && !readOnly && !descriptor.isUnique()
+                ? new NativeIndexWriteBuffer<>(layout, writeBufferSize, writeBufferMemoryTracker)
+                : null;
     }
 
     @Override
     public void drop() {
+        if (writeBuffer != null) {
+            writeBuffer.clear();
+        }
         tree.setDeleteOnClose(true);
         closeTree();
         indexFiles.clear();
@@ -98,9 +125,15 @@ public abstract class NativeIndexAccessor<KEY extends NativeIndexKey<KEY>> exten
                                 layout.newKey(),
                                 indexUpdateIgnoreStrategy(),
                                 new ThrowingConflictDetector<>(true, descriptor.schema()))
-                        .initialize(tree.writer(cursorContext));
+                        .initialize(
+                                writeBuffer != null
+                                        ? writeBuffer.writer(tree, cursorContext)
+                                        : tree.writer(cursorContext));
             } else {
-                return singleUpdater.initialize(tree.writer(W_BATCHED_SINGLE_THREADED, cursorContext));
+                return singleUpdater.initialize(
+                        writeBuffer != null
+                                ? writeBuffer.writer(tree, cursorContext)
+                                : tree.writer(W_BATCHED_SINGLE_THREADED, cursorContext));
             }
         } catch (IOException e) {
             throw new UncheckedIOException(e);
@@ -250,9 +283,24 @@ public abstract class NativeIndexAccessor<KEY extends NativeIndexKey<KEY>> exten
 
     @Override
     public void force(FileFlushEvent flushEvent, CursorContext cursorContext) {
+        flushWriteBuffer(cursorContext);
         tree.checkpoint(headerWriter, flushEvent, cursorContext);
     }
 
+    /**
+     * Writes the buffered updates, if any, to the tree. Must happen before every checkpoint of the tree, since
+     * updates applied before a checkpoint won't be recovered.
+     */
+    void flushWriteBuffer(CursorContext cursorContext) {
+        if (writeBuffer != null) {
+            try {
+                writeBuffer.flush(tree, cursorContext);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
     @Override
     public void refresh() {
         // not required in this implementation
@@ -260,6 +308,12 @@ public abstract class NativeIndexAccessor<KEY extends NativeIndexKey<KEY>> exten
 
     @Override
     public void close() {
+        if (tree != null) {
+            flushWriteBuffer(NULL_CONTEXT);
+        }
+        if (writeBuffer != null) {
+            writeBuffer.clear();
+        }
         closeTree();
     }
 
@@ -269,13 +323,15 @@ public abstract class NativeIndexAccessor<KEY extends NativeIndexKey<KEY>> exten
     @Override
     public BoundedIterable<Long> newAllEntriesValueReader(
             long fromIdInclusive, long toIdExclusive, CursorContext cursorContext) {
+        flushWriteBuffer(cursorContext);
         return new NativeAllEntriesReader<>(tree, layout, fromIdInclusive, toIdExclusive, cursorContext);
     }
 
     @Override
     public long estimateNumberOfEntries(CursorContext cursorContext) {
         try {
-            return tree.estimateNumberOfEntriesInTree(cursorContext);
+            long entriesInTree = tree.estimateNumberOfEntriesInTree(cursorContext);
+            return writeBuffer != null ? Math.max(0, entriesInTree + writeBuffer.pendingEntryDelta()) : entriesInTree;
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         } catch (TreeInconsistencyException e) {
@@ -290,6 +346,7 @@ public abstract class NativeIndexAccessor<KEY extends NativeIndexKey<KEY>> exten
 
     @Override
     public IndexEntriesReader[] newAllEntriesValueReader(int partitions, CursorContext cursorContext) {
+        flushWriteBuffer(cursorContext);
         KEY lowest = layout.newKey();
         lowest.initialize(Long.MIN_VALUE);
         lowest.initValuesAsLowest();
@@ -50,16 +50,30 @@ abstract class NativeIndexReader<KEY extends NativeIndexKey<KEY>> implements Val
     private final IndexUsageTracker usageTracker;
     final IndexLayout<KEY> layout;
     final GBPTree<KEY, NullValue> tree;
+    private final NativeIndexWriteBuffer<KEY> writeBuffer;
 
     NativeIndexReader(
             GBPTree<KEY, NullValue> tree,
             IndexLayout<KEY> layout,
             IndexDescriptor descriptor,
             IndexUsageTracker usageTracker) {
+        this(tree, layout, descriptor, usageTracker, null);
+    }
+
+    /**
+     * @param writeBuffer buffered updates which are not yet in the tree and are merged into all seeks, or {@code null}.
+     */
+    NativeIndexReader(
+            GBPTree<KEY, NullValue> tree,
+            IndexLayout<KEY> layout,
+            IndexDescriptor descriptor,
+            IndexUsageTracker usageTracker,
+            NativeIndexWriteBuffer<KEY> writeBuffer) {
         this.tree = tree;
         this.layout = layout;
         this.descriptor = descriptor;
         this.usageTracker = usageTracker;
+        this.writeBuffer = writeBuffer;
     }
 
     @Override
@@ -79,6 +93,7 @@ abstract class NativeIndexReader<KEY extends NativeIndexKey<KEY>> implements Val
         FullScanNonUniqueIndexSampler<KEY> sampler = new FullScanNonUniqueIndexSampler<>(tree, layout);
         return (cursorContext, stopped) -> {
             try {
+                flushWriteBuffer(cursorContext);
                 return sampler.sample(cursorContext, stopped);
             } catch (UncheckedIOException e) {
                 if (getRootCause(e) instanceof FileIsNotMappedException) {
@@ -92,6 +107,19 @@ abstract class NativeIndexReader<KEY extends NativeIndexKey<KEY>> implements Val
         };
     }
 
+    /**
+     * The sampler scans the tree only, so buffered updates have to be written to the tree before sampling.
+     */
+    private void flushWriteBuffer(CursorContext cursorContext) {
+        if (writeBuffer != null) {
+            try {
+                writeBuffer.flush(tree, cursorContext);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
     @Override
     public long countIndexedEntities(
             long entityId, CursorContext cursorContext, int[] propertyKeyIds, Value... propertyValues) {
@@ -103,7 +131,7 @@ abstract class NativeIndexReader<KEY extends NativeIndexKey<KEY>> implements Val
             treeKeyFrom.initFromValue(i, propertyValues[i], NEUTRAL);
             treeKeyTo.initFromValue(i, propertyValues[i], NEUTRAL);
         }
-        try (Seeker<KEY, NullValue> seeker = tree.seek(treeKeyFrom, treeKeyTo, cursorContext)) {
+        try (Seeker<KEY, NullValue> seeker = seek(treeKeyFrom, treeKeyTo, cursorContext)) {
             long count = 0;
             while (seeker.next()) {
                 if (seeker.key().getEntityId() == entityId) {
@@ -175,7 +203,14 @@ abstract class NativeIndexReader<KEY extends NativeIndexKey<KEY>> implements Val
             treeKeyFrom = treeKeyTo;
             treeKeyTo = tmpKey;
         }
-        return tree.seek(treeKeyFrom, treeKeyTo, cursorContext);
+        return seek(treeKeyFrom, treeKeyTo, cursorContext);
+    }
+
+    private Seeker<KEY, NullValue> seek(KEY fromInclusive, KEY toExclusive, CursorContext cursorContext)
+            throws IOException {
+        return writeBuffer != null
+                ? writeBuffer.seek(tree, fromInclusive, toExclusive, cursorContext)
+                : tree.seek(fromInclusive, toExclusive, cursorContext);
     }
 
     private IndexProgressor getIndexProgressor(
@@ -253,7 +288,7 @@ abstract class NativeIndexReader<KEY extends NativeIndexKey<KEY>> implements Val
             try {
                 final var fromInclusive = partitionEdges.get(from);
                 final var toExclusive = partitionEdges.get(to);
-                return getIndexProgressor(tree.seek(fromInclusive, toExclusive, cursorContext), client, filter, query);
+                return getIndexProgressor(seek(fromInclusive, toExclusive, cursorContext), client, filter, query);
             } catch (IOException e) {
                 throw new UncheckedIOException(e);
             }
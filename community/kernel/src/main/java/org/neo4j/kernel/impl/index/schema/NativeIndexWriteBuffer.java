@@ -0,0 +1,333 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import static org.neo4j.memory.HeapEstimator.shallowSizeOfInstance;
+import static org.neo4j.memory.HeapEstimator.shallowSizeOfInstanceWithObjectReferences;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import org.neo4j.index.internal.gbptree.GBPTree;
+import org.neo4j.index.internal.gbptree.Seeker;
+import org.neo4j.index.internal.gbptree.TreeWriteOperation;
+import org.neo4j.index.internal.gbptree.ValueMerger;
+import org.neo4j.index.internal.gbptree.Writer;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.memory.MemoryTracker;
+
+/**
+ * Sorted in-memory layer of index updates in front of the {@link GBPTree} of a native index. Updates for indexes with
+ * high churn are kept here, instead of each of them doing a descent and a leaf write in the tree, and are written to
+ * the tree in sorted batches once the buffer grows large enough, or when the index is forced.
+ *
+ * The buffer is never persisted on its own. It is always flushed before the tree is checkpointed, which means that
+ * any update that is lost with the buffer happened after the last checkpoint and will be re-applied by recovery.
+ *
+ * Entries map to {@code true} for an added key and {@code false} for a removed key. Seeks through
+ * {@link #seek(GBPTree, NativeIndexKey, NativeIndexKey, CursorContext)} see the buffered state on top of the tree.
+ * The buffer relies on keys being unique, i.e. it can't be used for indexes that need conflict detection.
+ *
+ * The heap used by buffered entries is allocated on the given {@link MemoryTracker} and released when they're flushed.
+ */
+class NativeIndexWriteBuffer<KEY extends NativeIndexKey<KEY>> {
+    // A skip list node references key, value and next node, the index levels above it are left out of the estimate
+    private static final long SKIP_LIST_NODE_SIZE = shallowSizeOfInstanceWithObjectReferences(3);
+
+    private final IndexLayout<KEY> layout;
+    private final int maxEntries;
+    private final MemoryTracker memoryTracker;
+    private final long keyShallowSize;
+    private final ConcurrentSkipListMap<KEY, Boolean> entries;
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong estimatedHeapUsage = new AtomicLong();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    NativeIndexWriteBuffer(IndexLayout<KEY> layout, int maxEntries, MemoryTracker memoryTracker) {
+        this.layout = layout;
+        this.maxEntries = maxEntries;
+        this.memoryTracker = memoryTracker;
+        this.keyShallowSize = shallowSizeOfInstance(layout.newKey().getClass());
+        this.entries = new ConcurrentSkipListMap<>(layout);
+    }
+
+    /**
+     * @return a {@link Writer} which buffers all written keys and flushes the buffer on close if it has grown too large.
+     */
+    Writer<KEY, NullValue> writer(GBPTree<KEY, NullValue> tree, CursorContext cursorContext) {
+        return new BufferWriter(tree, cursorContext);
+    }
+
+    int size() {
+        return size.get();
+    }
+
+    /**
+     * Writes all currently buffered entries to the tree in key order. Entries are removed from the buffer only after
+     * they've been written, so that concurrent seeks never miss an entry. Entries that have been updated again
+     * while flushing stay in the buffer.
+     */
+    void flush(GBPTree<KEY, NullValue> tree, CursorContext cursorContext) throws IOException {
+        flushLock.lock();
+        try {
+            flushLocked(tree, cursorContext);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    void clear() {
+        flushLock.lock();
+        try {
+            entries.clear();
+            size.set(0);
+            memoryTracker.releaseHeap(estimatedHeapUsage.getAndSet(0));
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of buffered additions minus the number of buffered removals, i.e. roughly how many entries
+     * the tree will gain once the buffer is flushed.
+     */
+    long pendingEntryDelta() {
+        long delta = 0;
+        for (Boolean added : entries.values()) {
+            delta += added ? 1 : -1;
+        }
+        return delta;
+    }
+
+    /**
+     * Seeks the tree and merges the buffered entries in the given range into the results. Like for the tree,
+     * {@code from} is inclusive and {@code to} is exclusive, unless they are equal, and the seek is descending if
+     * {@code from} is greater than {@code to}.
+     *
+     * The buffered range is copied before the tree is seeked. A flush removes entries from the buffer only after
+     * they've been written to the tree, so an entry that is missing from the copy was already in the tree when the
+     * tree seek started, and the seek never misses it or sees a key it has removed.
+     */
+    Seeker<KEY, NullValue> seek(GBPTree<KEY, NullValue> tree, KEY from, KEY to, CursorContext cursorContext)
+            throws IOException {
+        int comparison = layout.compare(from, to);
+        NavigableMap<KEY, Boolean> range;
+        if (comparison == 0) {
+            range = entries.subMap(from, true, to, true);
+        } else if (comparison < 0) {
+            range = entries.subMap(from, true, to, false);
+        } else {
+            range = entries.subMap(to, false, from, true).descendingMap();
+        }
+        // Entries handed out by the skip list are immutable snapshots, and buffered keys are never modified
+        List<Map.Entry<KEY, Boolean>> buffered = new ArrayList<>(range.entrySet());
+        return new MergingSeeker(tree.seek(from, to, cursorContext), buffered.iterator(), comparison > 0);
+    }
+
+    private void flushLocked(GBPTree<KEY, NullValue> tree, CursorContext cursorContext) throws IOException {
+        List<Map.Entry<KEY, Boolean>> flushed = new ArrayList<>(size());
+        try (Writer<KEY, NullValue> writer = tree.writer(cursorContext)) {
+            for (Map.Entry<KEY, Boolean> entry : entries.entrySet()) {
+                if (entry.getValue()) {
+                    writer.put(entry.getKey(), NullValue.INSTANCE);
+                } else {
+                    writer.remove(entry.getKey());
+                }
+                flushed.add(entry);
+            }
+        }
+        for (Map.Entry<KEY, Boolean> entry : flushed) {
+            if (entries.remove(entry.getKey(), entry.getValue())) {
+                size.decrementAndGet();
+                long entrySize = estimatedEntrySize(entry.getKey());
+                estimatedHeapUsage.addAndGet(-entrySize);
+                memoryTracker.releaseHeap(entrySize);
+            }
+        }
+    }
+
+    private void put(KEY key, boolean added) {
+        KEY copy = layout.copyKey(key);
+        if (entries.put(copy, added) == null) {
+            size.incrementAndGet();
+            long entrySize = estimatedEntrySize(copy);
+            estimatedHeapUsage.addAndGet(entrySize);
+            memoryTracker.allocateHeap(entrySize);
+        }
+    }
+
+    private long estimatedEntrySize(KEY key) {
+        // The serialized size of the key stands in for the arrays the key keeps its values in
+        return SKIP_LIST_NODE_SIZE + keyShallowSize + layout.keySize(key);
+    }
+
+    private class BufferWriter implements Writer<KEY, NullValue> {
+        private final GBPTree<KEY, NullValue> tree;
+        private final CursorContext cursorContext;
+
+        BufferWriter(GBPTree<KEY, NullValue> tree, CursorContext cursorContext) {
+            this.tree = tree;
+            this.cursorContext = cursorContext;
+        }
+
+        @Override
+        public void put(KEY key, NullValue value) {
+            NativeIndexWriteBuffer.this.put(key, true);
+        }
+
+        @Override
+        public void merge(KEY key, NullValue value, ValueMerger<KEY, NullValue> valueMerger) {
+            NativeIndexWriteBuffer.this.put(key, true);
+        }
+
+        @Override
+        public void mergeIfExists(KEY key, NullValue value, ValueMerger<KEY, NullValue> valueMerger) {
+            writeThrough(writer -> writer.mergeIfExists(key, value, valueMerger));
+        }
+
+        @Override
+        public NullValue remove(KEY key) {
+            NativeIndexWriteBuffer.this.put(key, false);
+            return null;
+        }
+
+        @Override
+        public void execute(TreeWriteOperation<KEY, NullValue> operation) {
+            writeThrough(writer -> writer.execute(operation));
+        }
+
+        @Override
+        public void yield() {
+            // nothing is locked while buffering
+        }
+
+        @Override
+        public void close() throws IOException {
+            // Whoever is already flushing will get the entries of this writer too
+            if (size() >= maxEntries && flushLock.tryLock()) {
+                try {
+                    flushLocked(tree, cursorContext);
+                } finally {
+                    flushLock.unlock();
+                }
+            }
+        }
+
+        /**
+         * Operations that depend on what's already in the index go straight to the tree, after all buffered entries
+         * have been written to it. The flush lock is held throughout, so no other flush interleaves with them.
+         */
+        private void writeThrough(Consumer<Writer<KEY, NullValue>> operation) {
+            flushLock.lock();
+            try {
+                flushLocked(tree, cursorContext);
+                try (Writer<KEY, NullValue> writer = tree.writer(cursorContext)) {
+                    operation.accept(writer);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                flushLock.unlock();
+            }
+        }
+    }
+
+    private class MergingSeeker implements Seeker<KEY, NullValue> {
+        private final Seeker<KEY, NullValue> treeSeeker;
+        private final Iterator<Map.Entry<KEY, Boolean>> buffered;
+        private final int direction;
+        private KEY treeHead;
+        private boolean treeExhausted;
+        private Map.Entry<KEY, Boolean> bufferedHead;
+        private KEY current;
+
+        MergingSeeker(Seeker<KEY, NullValue> treeSeeker, Iterator<Map.Entry<KEY, Boolean>> buffered, boolean descending) {
+            this.treeSeeker = treeSeeker;
+            this.buffered = buffered;
+            this.direction = descending ? -1 : 1;
+        }
+
+        @Override
+        public boolean next() throws IOException {
+            while (true) {
+                if (treeHead == null && !treeExhausted) {
+                    if (treeSeeker.next()) {
+                        treeHead = treeSeeker.key();
+                    } else {
+                        treeExhausted = true;
+                    }
+                }
+                if (bufferedHead == null && buffered.hasNext()) {
+                    bufferedHead = buffered.next();
+                }
+                if (treeHead == null && bufferedHead == null) {
+                    current = null;
+                    return false;
+                }
+
+                int comparison = treeHead == null
+                        ? 1
+                        : bufferedHead == null ? -1 : direction * layout.compare(treeHead, bufferedHead.getKey());
+                if (comparison < 0) {
+                    current = treeHead;
+                    treeHead = null;
+                    return true;
+                }
+                if (comparison == 0) {
+                    // The buffered entry is newer than what's in the tree
+                    treeHead = null;
+                }
+                Map.Entry<KEY, Boolean> entry = bufferedHead;
+                bufferedHead = null;
+                if (entry.getValue()) {
+                    current = entry.getKey();
+                    return true;
+                }
+            }
+        }
+
+        @Override
+        public KEY key() {
+            if (current == null) {
+                throw new IllegalStateException("No current result");
+            }
+            return current;
+        }
+
+        @Override
+        public NullValue value() {
+            return NullValue.INSTANCE;
+        }
+
+        @Override
+        public void close() throws IOException {
+            treeSeeker.close();
+        }
+    }
+}
@@ -19,6 +19,8 @@
  */
 package org.neo4j.kernel.impl.index.schema;
 
+import static org.neo4j.memory.EmptyMemoryTracker.INSTANCE;
+
 import java.nio.file.OpenOption;
 import org.eclipse.collections.api.set.ImmutableSet;
 import org.neo4j.common.TokenNameLookup;
@@ -27,6 +29,7 @@ import org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector;
 import org.neo4j.internal.schema.IndexDescriptor;
 import org.neo4j.kernel.api.index.IndexValueValidator;
 import org.neo4j.kernel.api.index.ValueIndexReader;
+import org.neo4j.memory.MemoryTracker;
 import org.neo4j.values.storable.Value;
 
 public class RangeIndexAccessor extends NativeIndexAccessor<RangeKey> {
@@ -42,7 +45,39 @@ public class RangeIndexAccessor extends NativeIndexAccessor<RangeKey> {
             TokenNameLookup tokenNameLookup,
             ImmutableSet<OpenOption> openOptions,
             boolean readOnly) {
-        super(databaseIndexContext, indexFiles, layout, descriptor, openOptions, readOnly);
+        this(
+                databaseIndexContext,
+                indexFiles,
+                layout,
+                recoveryCleanupWorkCollector,
+                descriptor,
+                tokenNameLookup,
+                openOptions,
+                readOnly,
+                0,
+                INSTANCE);
+    }
+
+    RangeIndexAccessor(
+            DatabaseIndexContext databaseIndexContext,
+            IndexFiles indexFiles,
+            IndexLayout<RangeKey> layout,
+            RecoveryCleanupWorkCollector recoveryCleanupWorkCollector,
+            IndexDescriptor descriptor,
+            TokenNameLookup tokenNameLookup,
+            ImmutableSet<OpenOption> openOptions,
+            boolean readOnly,
+            int writeBufferSize,
+            MemoryTracker writeBufferMemoryTracker) {
+        super(
+                databaseIndexContext,
+                indexFiles,
+                layout,
+                descriptor,
+                openOptions,
+                readOnly,
+                writeBufferSize,
+                writeBufferMemoryTracker);
         this.tokenNameLookup = tokenNameLookup;
         instantiateTree(recoveryCleanupWorkCollector);
     }
@@ -55,7 +90,7 @@ public class RangeIndexAccessor extends NativeIndexAccessor<RangeKey> {
     @Override
     public ValueIndexReader newValueReader(IndexUsageTracker usageTracker) {
         assertOpen();
-        return new RangeIndexReader(tree, layout, descriptor, usageTracker);
+        return new RangeIndexReader(tree, layout, descriptor, usageTracker, writeBuffer);
     }
 
     @Override
@@ -23,8 +23,10 @@ import static org.neo4j.internal.schema.IndexCapability.NO_CAPABILITY;
 
 import java.nio.file.OpenOption;
 import org.eclipse.collections.api.set.ImmutableSet;
+import org.neo4j.common.DependencyResolver;
 import org.neo4j.common.TokenNameLookup;
 import org.neo4j.configuration.Config;
+import org.neo4j.configuration.GraphDatabaseInternalSettings;
 import org.neo4j.index.internal.gbptree.GBPTree;
 import org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector;
 import org.neo4j.internal.kernel.api.PropertyIndexQuery;
@@ -40,6 +42,8 @@ import org.neo4j.io.memory.ByteBufferFactory;
 import org.neo4j.kernel.api.index.IndexAccessor;
 import org.neo4j.kernel.api.index.IndexDirectoryStructure;
 import org.neo4j.kernel.api.index.IndexPopulator;
+import org.neo4j.kernel.database.DatabaseMemoryTrackers;
+import org.neo4j.memory.EmptyMemoryTracker;
 import org.neo4j.memory.MemoryTracker;
 import org.neo4j.util.Preconditions;
 import org.neo4j.values.storable.Value;
@@ -166,7 +170,23 @@ public class RangeIndexProvider extends NativeIndexProvider<RangeKey, RangeLayou
                 descriptor,
                 tokenNameLookup,
                 openOptions,
-                readOnly);
+                readOnly,
+                writeBufferSize(descriptor),
+                writeBufferMemoryTracker());
+    }
+
+    private int writeBufferSize(IndexDescriptor descriptor) {
+        return config.get(GraphDatabaseInternalSettings.range_index_write_buffered_indexes)
+                        .contains(descriptor.getName())
+                ? config.get(GraphDatabaseInternalSettings.range_index_write_buffer_size)
+                : 0;
+    }
+
+    private MemoryTracker writeBufferMemoryTracker() {
+        DependencyResolver dependencyResolver = databaseIndexContext.dependencyResolver;
+        return dependencyResolver.containsDependency(DatabaseMemoryTrackers.class)
+                ? dependencyResolver.resolveDependency(DatabaseMemoryTrackers.class).getOtherTracker()
+                : EmptyMemoryTracker.INSTANCE;
     }
 
     @Override
@@ -43,7 +43,16 @@ public class RangeIndexReader extends NativeIndexReader<RangeKey> {
             IndexLayout<RangeKey> layout,
             IndexDescriptor descriptor,
             IndexUsageTracker usageTracker) {
-        super(tree, layout, descriptor, usageTracker);
+        this(tree, layout, descriptor, usageTracker, null);
+    }
+
+    RangeIndexReader(
+            GBPTree<RangeKey, NullValue> tree,
+            IndexLayout<RangeKey> layout,
+            IndexDescriptor descriptor,
+            IndexUsageTracker usageTracker,
+            NativeIndexWriteBuffer<RangeKey> writeBuffer) {
+        super(tree, layout, descriptor, usageTracker, writeBuffer);
     }
 
     @Override
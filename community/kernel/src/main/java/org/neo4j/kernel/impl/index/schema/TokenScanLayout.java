@@ -21,6 +21,7 @@ package org.neo4j.kernel.impl.index.schema;
 
 import org.neo4j.index.internal.gbptree.GBPTree;
 import org.neo4j.index.internal.gbptree.Layout;
+import org.neo4j.index.internal.gbptree.PrimitiveKeyLayout;
 import org.neo4j.io.pagecache.PageCursor;
 
 /**
@@ -36,7 +37,8 @@ import org.neo4j.io.pagecache.PageCursor;
  * </li>
  * </ul>
  */
-public class TokenScanLayout extends Layout.Adapter<TokenScanKey, TokenScanValue> {
+public class TokenScanLayout extends Layout.Adapter<TokenScanKey, TokenScanValue>
+        implements PrimitiveKeyLayout<TokenScanKey> {
     public TokenScanLayout() {
         super(true, Layout.namedIdentifier(IDENTIFIER_NAME, TokenScanValue.RANGE_SIZE), 0, 1);
     }
@@ -60,6 +62,31 @@ public class TokenScanLayout extends Layout.Adapter<TokenScanKey, TokenScanValue
         return tokenComparison != 0 ? tokenComparison : Long.compare(o1.idRange, o2.idRange);
     }
 
+    /**
+     * The prefix is the {@code tokenId} in the high bits and the {@code entityIdRange} in the low bits, the latter
+     * being clamped to 32 bits, which is exact for entity ids up to 2^38.
+     */
+    @Override
+    public long keyPrefix(TokenScanKey key) {
+        return prefix(key.tokenId, key.idRange);
+    }
+
+    @Override
+    public long readKeyPrefix(PageCursor cursor, int offset) {
+        long low4b = cursor.getInt(offset + Integer.BYTES) & 0xFFFFFFFFL;
+        long high2b = Short.toUnsignedInt(cursor.getShort(offset + 2 * Integer.BYTES));
+        return prefix(cursor.getInt(offset), low4b | (high2b << Integer.SIZE));
+    }
+
+    @Override
+    public boolean prefixIsKey() {
+        return false;
+    }
+
+    private static long prefix(int tokenId, long idRange) {
+        return ((long) tokenId << Integer.SIZE) | Math.min(Math.max(idRange, 0), 0xFFFFFFFFL);
+    }
+
     @Override
     public TokenScanKey newKey() {
         return new TokenScanKey();
@@ -66,6 +66,7 @@ import org.neo4j.internal.schema.SchemaState;
 import org.neo4j.io.pagecache.context.CursorContext;
 import org.neo4j.kernel.api.index.IndexSample;
 import org.neo4j.kernel.api.index.IndexUsageStats;
+import org.neo4j.kernel.api.index.IndexValueHistogram;
 import org.neo4j.kernel.api.index.TokenIndexReader;
 import org.neo4j.kernel.api.index.ValueIndexReader;
 import org.neo4j.kernel.api.procedure.ProcedureView;
@@ -644,6 +645,13 @@ public abstract class AllStoreHolder extends Read {
         return indexStatisticsStore.indexSample(index.getId());
     }
 
+    @Override
+    public IndexValueHistogram indexValueHistogram(IndexDescriptor index) throws IndexNotFoundKernelException {
+        performCheckBeforeOperation();
+        assertValidIndex(index);
+        return indexStatisticsStore.indexValueHistogram(index.getId());
+    }
+
     private static boolean checkIndexState(IndexDescriptor index, DiffSets<IndexDescriptor> diffSet)
             throws IndexNotFoundKernelException {
         if (diffSet.isAdded(index)) {
@@ -36,6 +36,16 @@ public interface QueryCacheStatistics {
 
     Long replanWaitTime();
 
+    /**
+     * @return the number of executions that used a stale plan while the query was replanned in the background.
+     */
+    Long numberOfStaleServedExecutions();
+
+    /**
+     * @return the total time in milliseconds spent replanning stale queries in the background.
+     */
+    Long backgroundReplanTime();
+
     Map<String, CacheMetrics> metricsPerCacheKind();
 
     QueryCacheStatistics EMPTY = new QueryCacheStatistics() {
@@ -74,6 +84,16 @@ public interface QueryCacheStatistics {
             return 0L;
         }
 
+        @Override
+        public Long numberOfStaleServedExecutions() {
+            return 0L;
+        }
+
+        @Override
+        public Long backgroundReplanTime() {
+            return 0L;
+        }
+
         @Override
         public Map<String, CacheMetrics> metricsPerCacheKind() {
             return Map.of();
@@ -54,6 +54,17 @@ public interface QueryExecution extends QuerySubscription {
      */
     Iterable<Notification> getNotifications();
 
+    /**
+     * Indicates whether the result of this query depends solely on its parameters and the state of the database it
+     * operates on. Queries which invoke procedures, administration or SHOW commands, load external files or evaluate
+     * functions such as {@code rand()} or {@code datetime()} are never considered deterministic.
+     *
+     * @return true if executing the query against the same database state is guaranteed to produce the same result.
+     */
+    default boolean isDeterministic() {
+        return false;
+    }
+
     /**
      * The name of the fields of each record
      *
@@ -83,6 +83,13 @@ public class ProbeTable<K extends Measurable, V extends Measurable> extends Defa
         return map.keySet();
     }
 
+    /**
+     * @return the estimated heap usage of this table, including the keys and values in it
+     */
+    public long estimatedHeapUsage() {
+        return scopedMemoryTracker.estimatedHeapMemory();
+    }
+
     @Override
     public void closeInternal() {
         if (map != null) {
@@ -33,6 +33,7 @@ import static org.neo4j.kernel.api.impl.index.LuceneSettings.vector_standard_mer
 import static org.neo4j.kernel.api.impl.schema.LuceneIndexType.VECTOR;
 import static org.neo4j.kernel.api.impl.schema.vector.VectorUtils.vectorDimensionsFrom;
 
+import java.util.concurrent.ExecutorService;
 import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.analysis.core.KeywordAnalyzer;
 import org.apache.lucene.index.IndexWriterConfig;
@@ -108,6 +109,17 @@ public final class IndexWriterConfigs {
         return writerConfig;
     }
 
+    /**
+     * Population config for vector indexes, where the HNSW graphs of the segments written by the population workers
+     * are merged by {@code numMergeWorkers} threads from {@code mergeExec}.
+     */
+    public static IndexWriterConfig vectorPopulation(
+            Config config, IndexConfig indexConfig, int numMergeWorkers, ExecutorService mergeExec) {
+        final var writerConfig = population(VECTOR, config, indexConfig);
+        writerConfig.setCodec(new VectorCodecV2(vectorDimensionsFrom(indexConfig), numMergeWorkers, mergeExec));
+        return writerConfig;
+    }
+
     public static IndexWriterConfig transactionState(
             LuceneIndexType index, Config config, Analyzer analyzer, IndexConfig indexConfig) {
         final var writerConfig = standard(index, config, analyzer, indexConfig);
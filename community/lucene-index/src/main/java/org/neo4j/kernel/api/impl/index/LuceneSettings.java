@@ -20,6 +20,7 @@
 package org.neo4j.kernel.api.impl.index;
 
 import static java.lang.Boolean.TRUE;
+import static org.neo4j.configuration.SettingConstraints.min;
 import static org.neo4j.configuration.SettingImpl.newBuilder;
 import static org.neo4j.configuration.SettingValueParsers.BOOL;
 import static org.neo4j.configuration.SettingValueParsers.DOUBLE;
@@ -65,6 +66,16 @@ public class LuceneSettings implements SettingsDeclaration {
                     "internal.dbms.index.vector.population_merge_factor", INT, 1000)
             .build();
 
+    @Internal
+    @Description(
+            "Number of threads used to merge the HNSW graphs of vector index segments at the end of index population. "
+                    + "With more than one thread, the segments written by each population worker are merged "
+                    + "in parallel before the index comes online, rather than sequentially afterwards.")
+    public static final Setting<Integer> vector_population_merge_workers = newBuilder(
+                    "internal.dbms.index.vector.population_merge_workers", INT, 1)
+            .addConstraint(min(1))
+            .build();
+
     @Internal
     @Description("Setting for the matching lucene IndexWriterConfig config")
     public static final Setting<Double> lucene_nocfs_ratio =
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.api.impl.schema.vector;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.neo4j.scheduler.JobScheduler;
+
+/**
+ * Exposes the executor of a {@link JobScheduler} group as the {@link java.util.concurrent.ExecutorService} which
+ * Lucene expects for merging HNSW graphs. The threads remain owned by the scheduler, so shutting this executor down
+ * only stops it from accepting new tasks, and it terminates once the tasks it has accepted have completed.
+ */
+final class JobSchedulerExecutorService extends AbstractExecutorService {
+    private final Executor executor;
+    private final Object lock = new Object();
+    private int running;
+    private boolean shutdown;
+
+    JobSchedulerExecutorService(Executor executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        synchronized (lock) {
+            if (shutdown) {
+                throw new RejectedExecutionException("Executor has been shut down");
+            }
+            running++;
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    command.run();
+                } finally {
+                    taskCompleted();
+                }
+            });
+        } catch (RuntimeException e) {
+            taskCompleted();
+            throw e;
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        synchronized (lock) {
+            shutdown = true;
+            lock.notifyAll();
+        }
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        // tasks are handed to the scheduler right away, so there are never any waiting tasks to return
+        shutdown();
+        return List.of();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        synchronized (lock) {
+            return shutdown;
+        }
+    }
+
+    @Override
+    public boolean isTerminated() {
+        synchronized (lock) {
+            return shutdown && running == 0;
+        }
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        final var deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (lock) {
+            while (!shutdown || running > 0) {
+                final var remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(lock, remaining);
+            }
+            return true;
+        }
+    }
+
+    private void taskCompleted() {
+        synchronized (lock) {
+            running--;
+            lock.notifyAll();
+        }
+    }
+}
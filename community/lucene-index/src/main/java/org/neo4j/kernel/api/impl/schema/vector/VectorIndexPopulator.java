@@ -19,28 +19,48 @@
  */
 package org.neo4j.kernel.api.impl.schema.vector;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.lucene.document.Document;
+import org.neo4j.internal.helpers.Exceptions;
+import org.neo4j.internal.kernel.api.PopulationProgress;
 import org.neo4j.io.pagecache.context.CursorContext;
 import org.neo4j.kernel.api.impl.index.DatabaseIndex;
 import org.neo4j.kernel.api.impl.schema.populator.LuceneIndexPopulator;
 import org.neo4j.kernel.api.impl.schema.vector.VectorSimilarityFunctions.LuceneVectorSimilarityFunction;
+import org.neo4j.kernel.api.index.IndexEntryConflictHandler;
 import org.neo4j.kernel.api.index.IndexUpdater;
 import org.neo4j.kernel.api.vector.VectorCandidate;
+import org.neo4j.kernel.impl.api.index.PhaseTracker;
 import org.neo4j.kernel.impl.index.schema.IndexUpdateIgnoreStrategy;
+import org.neo4j.scheduler.JobHandle;
 import org.neo4j.storageengine.api.ValueIndexEntryUpdate;
 
+/**
+ * Populates a vector index. The store scan workers add documents concurrently, and each of them builds the HNSW graphs
+ * of its own segments. If a merge executor is given, the population runs in parallel mode: once the scan completes,
+ * the partitions are merged concurrently on the population work scheduler, each into a single segment, with the merge
+ * executor joining the HNSW graphs of their segments. Otherwise, merging is left to the online index.
+ */
 class VectorIndexPopulator extends LuceneIndexPopulator<DatabaseIndex<VectorIndexReader>> {
     private final VectorDocumentStructure documentStructure;
     private final LuceneVectorSimilarityFunction similarityFunction;
+    private final ExecutorService mergeExecutor;
+    private final AtomicInteger mergedPartitions = new AtomicInteger();
 
     VectorIndexPopulator(
             DatabaseIndex<VectorIndexReader> luceneIndex,
             IndexUpdateIgnoreStrategy ignoreStrategy,
             VectorDocumentStructure documentStructure,
-            LuceneVectorSimilarityFunction similarityFunction) {
+            LuceneVectorSimilarityFunction similarityFunction,
+            ExecutorService mergeExecutor) {
         super(luceneIndex, ignoreStrategy);
         this.documentStructure = documentStructure;
         this.similarityFunction = similarityFunction;
+        this.mergeExecutor = mergeExecutor;
     }
 
     @Override
@@ -54,4 +74,65 @@ class VectorIndexPopulator extends LuceneIndexPopulator<DatabaseIndex<VectorInde
         final var candidate = VectorCandidate.maybeFrom(update.values()[0]);
         return documentStructure.createLuceneDocument(entityId, candidate, similarityFunction);
     }
+
+    @Override
+    public void scanCompleted(
+            PhaseTracker phaseTracker,
+            PopulationWorkScheduler populationWorkScheduler,
+            IndexEntryConflictHandler conflictHandler,
+            CursorContext cursorContext) {
+        if (mergeExecutor == null) {
+            return;
+        }
+
+        phaseTracker.enterPhase(PhaseTracker.Phase.MERGE);
+        final List<JobHandle<?>> merges = new ArrayList<>();
+        for (final var partition : luceneIndex.getPartitions()) {
+            merges.add(populationWorkScheduler.schedule(
+                    indexName -> "Merging vector index segments for '" + indexName + "'", () -> {
+                        partition.getIndexWriter().forceMerge(1);
+                        mergedPartitions.incrementAndGet();
+                        return null;
+                    }));
+        }
+
+        try {
+            // Wait for all merges to finish and let potential exceptions in the merge threads propagate
+            for (final var merge : merges) {
+                merge.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Got interrupted, so merge not completed", e);
+        } catch (ExecutionException e) {
+            final var cause = e.getCause();
+            Exceptions.throwIfUnchecked(cause);
+            throw new RuntimeException(cause);
+        }
+    }
+
+    @Override
+    public PopulationProgress progress(PopulationProgress scanProgress) {
+        if (mergeExecutor == null) {
+            return scanProgress;
+        }
+
+        // The scan and the merge of the HNSW graphs take roughly the same time when the merge runs in parallel
+        final var partitions = luceneIndex.getPartitions().size();
+        return PopulationProgress.multiple()
+                .add(scanProgress, 1)
+                .add(PopulationProgress.single(mergedPartitions.get(), partitions), 1)
+                .build();
+    }
+
+    @Override
+    public void close(boolean populationCompletedSuccessfully, CursorContext cursorContext) {
+        try {
+            super.close(populationCompletedSuccessfully, cursorContext);
+        } finally {
+            if (mergeExecutor != null) {
+                mergeExecutor.shutdown();
+            }
+        }
+    }
 }
@@ -21,6 +21,8 @@ package org.neo4j.kernel.api.impl.schema.vector;
 
 import java.io.IOException;
 import java.nio.file.OpenOption;
+import java.util.function.Supplier;
+import org.apache.lucene.index.IndexWriterConfig;
 import org.eclipse.collections.api.set.ImmutableSet;
 import org.neo4j.common.TokenNameLookup;
 import org.neo4j.configuration.Config;
@@ -114,19 +116,30 @@ public class VectorIndexProvider extends AbstractLuceneIndexProvider {
             ImmutableSet<OpenOption> openOptions,
             StorageEngineIndexingBehaviour indexingBehaviour) {
         final var indexConfig = descriptor.getIndexConfig();
+        final var mergeWorkers = config.get(LuceneSettings.vector_population_merge_workers);
+        final var mergeExecutor = mergeWorkers > 1
+                ? new JobSchedulerExecutorService(scheduler.executor(Group.INDEX_POPULATION_WORK))
+                : null;
+        final Supplier<IndexWriterConfig> writerConfig = mergeExecutor != null
+                ? () -> IndexWriterConfigs.vectorPopulation(config, indexConfig, mergeWorkers, mergeExecutor)
+                : () -> IndexWriterConfigs.population(LuceneIndexType.VECTOR, config, indexConfig);
         final var luceneIndex = VectorIndexBuilder.create(descriptor, documentStructure, readOnlyChecker, config)
                 .withFileSystem(fileSystem)
                 .withIndexStorage(getIndexStorage(descriptor.getId()))
-                .withWriterConfig(() -> IndexWriterConfigs.population(LuceneIndexType.VECTOR, config, indexConfig))
+                .withWriterConfig(writerConfig)
                 .build();
 
         if (luceneIndex.isReadOnly()) {
+            if (mergeExecutor != null) {
+                mergeExecutor.shutdown();
+            }
             throw new UnsupportedOperationException("Can't create populator for read only index");
         }
 
         final var ignoreStrategy = new IgnoreStrategy(version, VectorUtils.vectorDimensionsFrom(indexConfig));
         final var similarityFunction = vectorSimilarityFunctionFrom(indexConfig);
-        return new VectorIndexPopulator(luceneIndex, ignoreStrategy, documentStructure, similarityFunction);
+        return new VectorIndexPopulator(
+                luceneIndex, ignoreStrategy, documentStructure, similarityFunction, mergeExecutor);
     }
 
     @Override
@@ -132,9 +132,15 @@ class VectorIndexReader extends AbstractLuceneIndexReader {
                 final var k = Math.min(
                         nearestNeighborsPredicate.numberOfNeighbors(),
                         constraints.limit().orElse(Integer.MAX_VALUE));
-                final var effectiveK = k + constraints.skip().orElse(0);
-                yield VectorQueryFactory.approximateNearestNeighbors(
-                        documentStructure, nearestNeighborsPredicate.query(), Math.toIntExact(effectiveK));
+                final var effectiveK = Math.toIntExact(k + constraints.skip().orElse(0));
+                yield nearestNeighborsPredicate.hasFilter()
+                        ? VectorQueryFactory.approximateNearestNeighbors(
+                                documentStructure,
+                                nearestNeighborsPredicate.query(),
+                                effectiveK,
+                                nearestNeighborsPredicate.acceptedEntities())
+                        : VectorQueryFactory.approximateNearestNeighbors(
+                                documentStructure, nearestNeighborsPredicate.query(), effectiveK);
             }
             default -> throw invalidQuery(IllegalArgumentException::new, predicate);
         };
@@ -19,10 +19,12 @@
  */
 package org.neo4j.kernel.api.impl.schema.vector;
 
+import org.apache.lucene.document.NumericDocValuesField;
 import org.apache.lucene.search.KnnFloatVectorQuery;
 import org.apache.lucene.search.MatchAllDocsQuery;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.TermQuery;
+import org.eclipse.collections.api.set.primitive.LongSet;
 
 class VectorQueryFactory {
     static Query getById(long entityId) {
@@ -34,6 +36,17 @@ class VectorQueryFactory {
         return new KnnFloatVectorQuery(documentStructure.vectorValueKeyFor(query.length), query, k);
     }
 
+    /**
+     * The filter is handed to the HNSW search as its accepted documents, rather than applied to its results, so that
+     * {@code k} matching neighbors are found regardless of how selective the filter is.
+     */
+    static Query approximateNearestNeighbors(
+            VectorDocumentStructure documentStructure, float[] query, int k, LongSet acceptedEntities) {
+        final var filter = NumericDocValuesField.newSlowSetQuery(
+                VectorDocumentStructure.ENTITY_ID_KEY, acceptedEntities.toSortedArray());
+        return new KnnFloatVectorQuery(documentStructure.vectorValueKeyFor(query.length), query, k, filter);
+    }
+
     static MatchAllDocsQuery allValues() {
         return new MatchAllDocsQuery();
     }
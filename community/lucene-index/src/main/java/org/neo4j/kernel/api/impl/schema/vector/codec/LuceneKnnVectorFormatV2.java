@@ -20,6 +20,7 @@
 package org.neo4j.kernel.api.impl.schema.vector.codec;
 
 import java.io.IOException;
+import java.util.concurrent.ExecutorService;
 import org.apache.lucene.codecs.KnnVectorsFormat;
 import org.apache.lucene.codecs.KnnVectorsReader;
 import org.apache.lucene.codecs.KnnVectorsWriter;
@@ -43,6 +44,20 @@ public class LuceneKnnVectorFormatV2 extends KnnVectorsFormat {
         this.vectorsFormat = new Lucene99HnswVectorsFormat();
     }
 
+    /**
+     * @param numMergeWorkers number of threads joining the HNSW graphs of segments when they are merged.
+     * @param mergeExec the executor running the merge workers.
+     */
+    public LuceneKnnVectorFormatV2(int maxDimensions, int numMergeWorkers, ExecutorService mergeExec) {
+        super(LUCENE_VECTOR_FORMAT_V2_NAME);
+        this.maxDimensions = maxDimensions;
+        this.vectorsFormat = new Lucene99HnswVectorsFormat(
+                Lucene99HnswVectorsFormat.DEFAULT_MAX_CONN,
+                Lucene99HnswVectorsFormat.DEFAULT_BEAM_WIDTH,
+                numMergeWorkers,
+                mergeExec);
+    }
+
     @Override
     public KnnVectorsWriter fieldsWriter(SegmentWriteState state) throws IOException {
         return vectorsFormat.fieldsWriter(state);
@@ -19,6 +19,7 @@
  */
 package org.neo4j.kernel.api.impl.schema.vector.codec;
 
+import java.util.concurrent.ExecutorService;
 import org.apache.lucene.codecs.KnnVectorsFormat;
 import org.apache.lucene.codecs.lucene99.Lucene99Codec;
 
@@ -30,6 +31,11 @@ public class VectorCodecV2 extends Lucene99Codec {
         this.vectorFormat = new LuceneKnnVectorFormatV2(maxDimensions);
     }
 
+    public VectorCodecV2(int maxDimensions, int numMergeWorkers, ExecutorService mergeExec) {
+        super();
+        this.vectorFormat = new LuceneKnnVectorFormatV2(maxDimensions, numMergeWorkers, mergeExec);
+    }
+
     @Override
     public KnnVectorsFormat getKnnVectorsFormatForField(String field) {
         return vectorFormat;
@@ -41,6 +41,8 @@ import org.neo4j.bolt.dbapi.BoltGraphDatabaseManagementServiceSPI;
 import org.neo4j.bolt.transport.Netty4LoggerFactory;
 import org.neo4j.bolt.tx.TransactionManager;
 import org.neo4j.bolt.tx.TransactionManagerImpl;
+import org.neo4j.bolt.tx.cache.ResultCache;
+import org.neo4j.bolt.tx.cache.ResultCacheMonitor;
 import org.neo4j.collection.Dependencies;
 import org.neo4j.common.DependencyResolver;
 import org.neo4j.common.Edition;
@@ -80,6 +82,9 @@ import org.neo4j.kernel.api.impl.fulltext.FulltextAdapter;
 import org.neo4j.kernel.api.procedure.Context;
 import org.neo4j.kernel.api.procedure.GlobalProcedures;
 import org.neo4j.kernel.api.security.provider.SecurityProvider;
+import org.neo4j.kernel.database.DatabaseReference;
+import org.neo4j.kernel.database.DatabaseReferenceImpl;
+import org.neo4j.kernel.database.NamedDatabaseId;
 import org.neo4j.kernel.impl.factory.DbmsInfo;
 import org.neo4j.kernel.impl.factory.GraphDatabaseFacade;
 import org.neo4j.kernel.internal.GraphDatabaseAPI;
@@ -101,6 +106,7 @@ import org.neo4j.procedure.impl.TerminationGuardProvider;
 import org.neo4j.procedure.impl.TransactionStatusDetailsProvider;
 import org.neo4j.server.configuration.ServerSettings;
 import org.neo4j.server.web.DisabledNeoWebServer;
+import org.neo4j.storageengine.api.TransactionIdStore;
 import org.neo4j.values.ValueMapper;
 import org.neo4j.values.storable.PointValue;
 import org.neo4j.values.virtual.NodeValue;
@@ -190,14 +196,17 @@ public class DatabaseManagementServiceFactory {
         BoltGraphDatabaseManagementServiceSPI boltGraphDatabaseManagementServiceSPI =
                 edition.createBoltDatabaseManagementServiceProvider();
 
-        var transactionManager =
-                new TransactionManagerImpl(boltGraphDatabaseManagementServiceSPI, globalModule.getGlobalClock());
+        var transactionManager = new TransactionManagerImpl(
+                boltGraphDatabaseManagementServiceSPI,
+                globalModule.getGlobalClock(),
+                createResultCache(globalModule, databaseContextProvider, config));
         globalDependencies.satisfyDependency(transactionManager);
 
         var boltServer = createBoltServer(globalModule, edition, transactionManager, routingService, config);
 
         globalLife.add(boltServer);
         globalDependencies.satisfyDependency(boltServer);
+        globalDependencies.satisfyDependency(boltServer.messageLatencyTracker());
         var webServer = createWebServer(
                 edition,
                 managementService,
@@ -417,6 +426,42 @@ public class DatabaseManagementServiceFactory {
         globalModule.getGlobalDependencies().satisfyDependency(procedures);
     }
 
+    private static ResultCache createResultCache(
+            GlobalModule globalModule, DatabaseContextProvider<?> databaseContextProvider, Config config) {
+        if (!config.get(BoltConnectorInternalSettings.result_cache_enabled)) {
+            return null;
+        }
+
+        return new ResultCache(
+                config.get(BoltConnectorInternalSettings.result_cache_max_entries),
+                config.get(BoltConnectorInternalSettings.result_cache_max_records),
+                database -> lastCommittedTxId(databaseContextProvider, database),
+                // users, roles and privileges are stored within the system database
+                () -> lastCommittedTxId(databaseContextProvider, NAMED_SYSTEM_DATABASE_ID),
+                globalModule.getGlobalMonitors().newMonitor(ResultCacheMonitor.class));
+    }
+
+    private static long lastCommittedTxId(
+            DatabaseContextProvider<?> databaseContextProvider, DatabaseReference database) {
+        // composite and remote databases do not expose their transaction state locally
+        if (database.isComposite() || !(database instanceof DatabaseReferenceImpl.Internal internal)) {
+            return -1;
+        }
+
+        return lastCommittedTxId(databaseContextProvider, internal.databaseId());
+    }
+
+    private static long lastCommittedTxId(
+            DatabaseContextProvider<?> databaseContextProvider, NamedDatabaseId databaseId) {
+        return databaseContextProvider
+                .getDatabaseContext(databaseId)
+                .filter(context -> context.database().isStarted())
+                .map(context -> context.dependencies()
+                        .resolveDependency(TransactionIdStore.class)
+                        .getLastCommittedTransactionId())
+                .orElse(-1L);
+    }
+
     private static BoltServer createBoltServer(
             GlobalModule globalModule,
             AbstractEditionModule edition,
@@ -30,8 +30,10 @@ import static org.neo4j.configuration.GraphDatabaseSettings.tx_state_memory_allo
 import static org.neo4j.configuration.GraphDatabaseSettings.tx_state_off_heap_block_cache_size;
 import static org.neo4j.configuration.GraphDatabaseSettings.tx_state_off_heap_max_cacheable_block_size;
 import static org.neo4j.kernel.lifecycle.LifecycleAdapter.onShutdown;
+import static org.neo4j.kernel.lifecycle.LifecycleAdapter.onStart;
 import static org.neo4j.logging.log4j.LogConfig.createLoggerFromXmlConfig;
 
+import java.io.IOException;
 import java.nio.file.Path;
 import java.util.function.Supplier;
 import org.neo4j.capabilities.CapabilitiesService;
@@ -43,6 +45,7 @@ import org.neo4j.configuration.GraphDatabaseInternalSettings;
 import org.neo4j.configuration.GraphDatabaseSettings;
 import org.neo4j.configuration.connectors.ConnectorPortRegister;
 import org.neo4j.cypher.internal.frontend.phases.InternalSyntaxUsageStats;
+import org.neo4j.cypher.internal.runtime.slotted.spill.SpillFile;
 import org.neo4j.cypher.internal.util.InternalNotificationStats;
 import org.neo4j.graphdb.event.DatabaseEventListener;
 import org.neo4j.graphdb.facade.DatabaseManagementServiceFactory;
@@ -187,6 +190,9 @@ public class GlobalModule {
         fileLockerService = createFileLockerService();
         Locker storeLocker = fileLockerService.createStoreLocker(fileSystem, neo4jLayout);
         globalLife.add(globalDependencies.satisfyDependency(new LockerLifecycleAdapter(storeLocker)));
+        // Rows spilled by queries that were running when the DBMS stopped are never read again
+        globalLife.add(onStart(() ->
+                deleteSpillFiles(globalConfig.get(GraphDatabaseInternalSettings.cypher_slotted_spill_directory))));
 
         new JvmChecker(logService.getInternalLog(JvmChecker.class), new JvmMetadataRepository())
                 .checkJvmCompatibilityAndIssueWarning();
@@ -363,6 +369,15 @@ public class GlobalModule {
         return new DefaultGlobalTransactionEventListeners();
     }
 
+    private void deleteSpillFiles(Path spillDirectory) throws IOException {
+        if (fileSystem.isDirectory(spillDirectory)) {
+            for (Path file : fileSystem.listFiles(
+                    spillDirectory, path -> path.getFileName().toString().startsWith(SpillFile.FILE_PREFIX()))) {
+                fileSystem.deleteFile(file);
+            }
+        }
+    }
+
     private JobScheduler createJobScheduler() {
         JobScheduler jobScheduler =
                 JobSchedulerFactory.createInitialisedScheduler(globalClock, logService.getInternalLogProvider());
@@ -372,6 +387,9 @@ public class GlobalModule {
                 Group.INDEX_POPULATION, globalConfig.get(GraphDatabaseInternalSettings.index_population_parallelism));
         jobScheduler.setParallelism(
                 Group.PAGE_CACHE_PRE_FETCHER, globalConfig.get(GraphDatabaseSettings.pagecache_scan_prefetch));
+        jobScheduler.setParallelism(
+                Group.CYPHER_CACHE_WARMUP,
+                globalConfig.get(GraphDatabaseInternalSettings.cypher_query_cache_warmup_parallelism));
         return jobScheduler;
     }
 
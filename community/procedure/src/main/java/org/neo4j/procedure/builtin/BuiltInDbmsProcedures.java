@@ -67,6 +67,7 @@ import org.neo4j.internal.kernel.api.procs.ProcedureCallContext;
 import org.neo4j.internal.kernel.api.security.SecurityContext;
 import org.neo4j.kernel.api.KernelTransaction;
 import org.neo4j.kernel.api.net.NetworkConnectionTracker;
+import org.neo4j.kernel.api.net.NetworkMessageLatencyTracker;
 import org.neo4j.kernel.api.net.TrackedNetworkConnection;
 import org.neo4j.kernel.api.procedure.SystemProcedure;
 import org.neo4j.kernel.impl.coreapi.InternalTransaction;
@@ -378,6 +379,17 @@ public class BuiltInDbmsProcedures {
                 .map(c -> new CapabilityResult(c, service.get(c.name())));
     }
 
+    @Admin
+    @Internal
+    @SystemProcedure
+    @Description("List the queue, processing and flush latencies of network messages by connector and message type.")
+    @Procedure(name = "dbms.listMessageLatencies", mode = DBMS)
+    public Stream<MessageLatencyResult> listMessageLatencies() {
+        var tracker = resolver.resolveDependency(NetworkMessageLatencyTracker.class);
+
+        return tracker.latencies().stream().map(MessageLatencyResult::new);
+    }
+
     private NetworkConnectionTracker getConnectionTracker() {
         return resolver.resolveDependency(NetworkConnectionTracker.class);
     }
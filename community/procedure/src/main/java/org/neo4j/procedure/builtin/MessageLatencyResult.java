@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.procedure.builtin;
+
+import org.neo4j.kernel.api.net.NetworkMessageLatencyTracker.MessageLatency;
+
+public record MessageLatencyResult(
+        String connector, String messageType, String phase, long count, long p50Nanos, long p99Nanos, long maxNanos) {
+
+    MessageLatencyResult(MessageLatency latency) {
+        this(
+                latency.connector(),
+                latency.messageType(),
+                latency.phase(),
+                latency.count(),
+                latency.p50Nanos(),
+                latency.p99Nanos(),
+                latency.maxNanos());
+    }
+}
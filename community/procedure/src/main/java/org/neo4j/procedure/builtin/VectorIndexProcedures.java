@@ -24,6 +24,7 @@ import static org.neo4j.procedure.Mode.SCHEMA;
 import static org.neo4j.procedure.Mode.WRITE;
 
 import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Spliterator;
@@ -31,6 +32,9 @@ import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
+import org.eclipse.collections.api.set.primitive.MutableLongSet;
+import org.neo4j.collection.trackable.HeapTrackingCollections;
+import org.neo4j.collection.trackable.HeapTrackingLongHashSet;
 import org.neo4j.common.EntityType;
 import org.neo4j.exceptions.KernelException;
 import org.neo4j.graphdb.Entity;
@@ -45,16 +49,21 @@ import org.neo4j.internal.kernel.api.Cursor;
 import org.neo4j.internal.kernel.api.CursorFactory;
 import org.neo4j.internal.kernel.api.IndexQueryConstraints;
 import org.neo4j.internal.kernel.api.IndexReadSession;
+import org.neo4j.internal.kernel.api.InternalIndexState;
 import org.neo4j.internal.kernel.api.NodeValueIndexCursor;
 import org.neo4j.internal.kernel.api.PropertyIndexQuery;
-import org.neo4j.internal.kernel.api.PropertyIndexQuery.NearestNeighborsPredicate;
 import org.neo4j.internal.kernel.api.QueryContext;
 import org.neo4j.internal.kernel.api.Read;
 import org.neo4j.internal.kernel.api.RelationshipValueIndexCursor;
+import org.neo4j.internal.kernel.api.TokenPredicate;
+import org.neo4j.internal.kernel.api.TokenRead;
+import org.neo4j.internal.kernel.api.TokenReadSession;
 import org.neo4j.internal.kernel.api.ValueIndexCursor;
 import org.neo4j.internal.kernel.api.procs.ProcedureCallContext;
 import org.neo4j.internal.schema.IndexDescriptor;
 import org.neo4j.internal.schema.IndexType;
+import org.neo4j.internal.schema.SchemaDescriptor;
+import org.neo4j.internal.schema.SchemaDescriptors;
 import org.neo4j.io.pagecache.context.CursorContext;
 import org.neo4j.kernel.KernelVersion;
 import org.neo4j.kernel.api.KernelTransaction;
@@ -80,6 +89,10 @@ public class VectorIndexProcedures {
     private static final long INDEX_ONLINE_QUERY_TIMEOUT_SECONDS =
             FeatureToggles.getInteger(VectorIndexProcedures.class, "INDEX_ONLINE_QUERY_TIMEOUT_SECONDS", 30);
 
+    private static final String FILTER_LABEL = "label";
+    private static final String FILTER_TYPE = "relationshipType";
+    private static final String FILTER_PROPERTIES = "properties";
+
     @Context
     public GraphDatabaseAPI db;
 
@@ -140,18 +153,22 @@ public class VectorIndexProcedures {
             Returns requested number of nearest neighbors to the provided query vector,
             and their similarity score to that query vector, based on the configured similarity function for the index.
             The similarity score is a value between [0, 1]; where 0 indicates least similar, 1 most similar.
+            The optional filter restricts the neighbors to nodes with a given `label`,
+            and/or with the given equality `properties`, which must be covered by RANGE indexes.
             """)
     @Procedure(name = "db.index.vector.queryNodes", mode = READ)
     public Stream<NodeNeighbor> queryNodeVectorIndex(
             @Name("indexName") String name,
             @Name("numberOfNearestNeighbours") Long numberOfNearestNeighbours,
-            @Name("query") AnyValue candidateQuery)
+            @Name("query") AnyValue candidateQuery,
+            @Name(value = "filter", defaultValue = "{}") Map<String, Object> filter)
             throws KernelException {
         final var query = validateQueryArguments(name, numberOfNearestNeighbours, candidateQuery);
         if (callContext.isSystemDatabase()) {
             return Stream.empty();
         }
-        return new NodeIndexQuery(tx, ktx, name).query(Math.toIntExact(numberOfNearestNeighbours), query);
+        return new NodeIndexQuery(tx, ktx, name)
+                .query(Math.toIntExact(numberOfNearestNeighbours), query, validateFilter(filter, FILTER_LABEL));
     }
 
     @Description(
@@ -160,18 +177,22 @@ public class VectorIndexProcedures {
             Returns requested number of nearest neighbors to the provided query vector,
             and their similarity score to that query vector, based on the configured similarity function for the index.
             The similarity score is a value between [0, 1]; where 0 indicates least similar, 1 most similar.
+            The optional filter restricts the neighbors to relationships with a given `relationshipType`,
+            and/or with the given equality `properties`, which must be covered by RANGE indexes.
             """)
     @Procedure(name = "db.index.vector.queryRelationships", mode = READ)
     public Stream<RelationshipNeighbor> queryRelationshipVectorIndex(
             @Name("indexName") String name,
             @Name("numberOfNearestNeighbours") Long numberOfNearestNeighbours,
-            @Name("query") AnyValue candidateQuery)
+            @Name("query") AnyValue candidateQuery,
+            @Name(value = "filter", defaultValue = "{}") Map<String, Object> filter)
             throws KernelException {
         final var query = validateQueryArguments(name, numberOfNearestNeighbours, candidateQuery);
         if (callContext.isSystemDatabase()) {
             return Stream.empty();
         }
-        return new RelationshipIndexQuery(tx, ktx, name).query(Math.toIntExact(numberOfNearestNeighbours), query);
+        return new RelationshipIndexQuery(tx, ktx, name)
+                .query(Math.toIntExact(numberOfNearestNeighbours), query, validateFilter(filter, FILTER_TYPE));
     }
 
     private static VectorCandidate validateQueryArguments(
@@ -193,6 +214,33 @@ public class VectorIndexProcedures {
         return query;
     }
 
+    private static Map<String, Object> validateFilter(Map<String, Object> filter, String tokenKey) {
+        if (filter == null) {
+            return Map.of();
+        }
+        for (final var entry : filter.entrySet()) {
+            final var key = entry.getKey();
+            final var value = entry.getValue();
+            if (key.equals(tokenKey)) {
+                if (!(value instanceof String)) {
+                    throw new IllegalArgumentException("'filter.%s' must be a string".formatted(tokenKey));
+                }
+            } else if (key.equals(FILTER_PROPERTIES)) {
+                if (!(value instanceof Map)) {
+                    throw new IllegalArgumentException("'filter.%s' must be a map".formatted(FILTER_PROPERTIES));
+                }
+            } else {
+                throw new IllegalArgumentException("'filter' only supports the keys '%s' and '%s', but got '%s'"
+                        .formatted(tokenKey, FILTER_PROPERTIES, key));
+            }
+        }
+        // a filter without a token and without properties does not restrict anything, e.g. {properties: {}}
+        if (!filter.containsKey(tokenKey) && ((Map<?, ?>) filter.getOrDefault(FILTER_PROPERTIES, Map.of())).isEmpty()) {
+            return Map.of();
+        }
+        return filter;
+    }
+
     @Description("Set a vector property on a given node in a more space efficient representation than Cypher's SET.")
     @Procedure(name = "db.create.setNodeVectorProperty", mode = WRITE)
     public void setNodeVectorProperty(
@@ -278,11 +326,46 @@ public class VectorIndexProcedures {
                 IndexReadSession session,
                 NodeValueIndexCursor cursor,
                 IndexQueryConstraints constraints,
-                NearestNeighborsPredicate query)
+                PropertyIndexQuery query)
                 throws KernelException {
             read.nodeIndexSeek(queryContext, session, cursor, constraints, query);
         }
 
+        @Override
+        long reference(NodeValueIndexCursor cursor) {
+            return cursor.nodeReference();
+        }
+
+        @Override
+        String tokenFilterKey() {
+            return FILTER_LABEL;
+        }
+
+        @Override
+        int tokenId(TokenRead tokenRead, String name) {
+            return tokenRead.nodeLabel(name);
+        }
+
+        @Override
+        SchemaDescriptor propertySchema(int tokenId, int propertyKeyId) {
+            return SchemaDescriptors.forLabel(tokenId, propertyKeyId);
+        }
+
+        @Override
+        void scanToken(Read read, TokenReadSession session, int tokenId, MutableLongSet into) throws KernelException {
+            try (var cursor = ktx.cursors().allocateNodeLabelIndexCursor(ktx.cursorContext(), ktx.memoryTracker())) {
+                read.nodeLabelScan(
+                        session,
+                        cursor,
+                        IndexQueryConstraints.unconstrained(),
+                        new TokenPredicate(tokenId),
+                        ktx.cursorContext());
+                while (cursor.next()) {
+                    into.add(cursor.nodeReference());
+                }
+            }
+        }
+
         @Override
         Stream<NodeNeighbor> stream(NodeValueIndexCursor cursor, int k) {
             return new NodeNeighborSpliterator(tx, cursor, k).stream();
@@ -307,20 +390,57 @@ public class VectorIndexProcedures {
                 IndexReadSession session,
                 RelationshipValueIndexCursor cursor,
                 IndexQueryConstraints constraints,
-                NearestNeighborsPredicate query)
+                PropertyIndexQuery query)
                 throws KernelException {
             read.relationshipIndexSeek(queryContext, session, cursor, constraints, query);
         }
 
+        @Override
+        long reference(RelationshipValueIndexCursor cursor) {
+            return cursor.relationshipReference();
+        }
+
+        @Override
+        String tokenFilterKey() {
+            return FILTER_TYPE;
+        }
+
+        @Override
+        int tokenId(TokenRead tokenRead, String name) {
+            return tokenRead.relationshipType(name);
+        }
+
+        @Override
+        SchemaDescriptor propertySchema(int tokenId, int propertyKeyId) {
+            return SchemaDescriptors.forRelType(tokenId, propertyKeyId);
+        }
+
+        @Override
+        void scanToken(Read read, TokenReadSession session, int tokenId, MutableLongSet into) throws KernelException {
+            try (var cursor =
+                    ktx.cursors().allocateRelationshipTypeIndexCursor(ktx.cursorContext(), ktx.memoryTracker())) {
+                read.relationshipTypeScan(
+                        session,
+                        cursor,
+                        IndexQueryConstraints.unconstrained(),
+                        new TokenPredicate(tokenId),
+                        ktx.cursorContext());
+                while (cursor.next()) {
+                    into.add(cursor.relationshipReference());
+                }
+            }
+        }
+
         @Override
         Stream<RelationshipNeighbor> stream(RelationshipValueIndexCursor cursor, int k) {
             return new RelationshipNeighborSpliterator(tx, cursor, k).stream();
         }
     }
 
-    private abstract static class IndexQuery<CURSOR extends ValueIndexCursor, NEIGHBOR extends Neighbor<?, NEIGHBOR>> {
+    private abstract static class IndexQuery<
+            CURSOR extends Cursor & ValueIndexCursor, NEIGHBOR extends Neighbor<?, NEIGHBOR>> {
         protected final Transaction tx;
-        private final KernelTransaction ktx;
+        protected final KernelTransaction ktx;
         private final IndexDescriptor index;
 
         private IndexQuery(EntityType entityType, Transaction tx, KernelTransaction ktx, String name) {
@@ -351,22 +471,131 @@ public class VectorIndexProcedures {
                 IndexReadSession index,
                 CURSOR cursor,
                 IndexQueryConstraints constraints,
-                NearestNeighborsPredicate query)
+                PropertyIndexQuery query)
                 throws KernelException;
 
+        abstract long reference(CURSOR cursor);
+
         abstract Stream<NEIGHBOR> stream(CURSOR cursor, int k);
 
-        Stream<NEIGHBOR> query(int k, VectorCandidate query) throws KernelException {
+        abstract String tokenFilterKey();
+
+        abstract int tokenId(TokenRead tokenRead, String name);
+
+        abstract SchemaDescriptor propertySchema(int tokenId, int propertyKeyId);
+
+        abstract void scanToken(Read read, TokenReadSession session, int tokenId, MutableLongSet into)
+                throws KernelException;
+
+        Stream<NEIGHBOR> query(int k, VectorCandidate query, Map<String, Object> filter) throws KernelException {
             final var validatedQuery = validateAndConvertQuery(index, query);
-            final var cursor = cursor(ktx.cursors(), ktx.cursorContext(), ktx.memoryTracker());
-            seek(
-                    ktx.dataRead(),
-                    ktx.queryContext(),
-                    ktx.dataRead().indexReadSession(index),
-                    cursor,
-                    IndexQueryConstraints.unconstrained(),
-                    PropertyIndexQuery.nearestNeighbors(k, validatedQuery));
-            return stream(cursor, k);
+            try (var acceptedEntities = filter.isEmpty() ? null : acceptedEntities(filter)) {
+                final var cursor = cursor(ktx.cursors(), ktx.cursorContext(), ktx.memoryTracker());
+                // the filter is consumed when the seek is performed, so it can be released before streaming
+                seek(
+                        ktx.dataRead(),
+                        ktx.queryContext(),
+                        ktx.dataRead().indexReadSession(index),
+                        cursor,
+                        IndexQueryConstraints.unconstrained(),
+                        PropertyIndexQuery.nearestNeighbors(k, validatedQuery, acceptedEntities));
+                return stream(cursor, k);
+            }
+        }
+
+        /**
+         * Builds the set of entities the nearest neighbor search may return, from a scan of the token lookup index
+         * and/or seeks in RANGE indexes, intersecting the results.
+         */
+        private HeapTrackingLongHashSet acceptedEntities(Map<String, Object> filter) throws KernelException {
+            final var read = ktx.dataRead();
+            final var tokenRead = ktx.tokenRead();
+            final var tokenName = (String) filter.get(tokenFilterKey());
+            @SuppressWarnings("unchecked")
+            final var properties = (Map<String, Object>) filter.getOrDefault(FILTER_PROPERTIES, Map.of());
+
+            final var accepted = HeapTrackingCollections.newLongSet(ktx.memoryTracker());
+            final var indexedTokenId = index.schema().getEntityTokenIds()[0];
+            final var tokenId = tokenName != null ? tokenId(tokenRead, tokenName) : indexedTokenId;
+            if (tokenId == TokenRead.NO_TOKEN) {
+                return accepted;
+            }
+
+            var first = true;
+            if (tokenName != null) {
+                final var tokenIndex = onlineIndex(
+                        index.schema().entityType() == EntityType.NODE
+                                ? SchemaDescriptors.ANY_TOKEN_NODE_SCHEMA_DESCRIPTOR
+                                : SchemaDescriptors.ANY_TOKEN_RELATIONSHIP_SCHEMA_DESCRIPTOR,
+                        IndexType.LOOKUP,
+                        "'filter.%s' requires a token lookup index".formatted(tokenFilterKey()));
+                scanToken(read, read.tokenReadSession(tokenIndex), tokenId, accepted);
+                first = false;
+            }
+
+            for (final var property : properties.entrySet()) {
+                if (!first && accepted.isEmpty()) {
+                    break;
+                }
+                final var propertyKeyId = tokenRead.propertyKey(property.getKey());
+                if (propertyKeyId == TokenRead.NO_TOKEN) {
+                    accepted.clear();
+                    break;
+                }
+                // every entity in the vector index carries the indexed token, so a RANGE index on it covers the
+                // whole candidate set; one on the filtered token is just as good since the results are intersected
+                final var propertyIndex = onlineIndex(
+                        tokenId == indexedTokenId
+                                ? List.of(propertySchema(indexedTokenId, propertyKeyId))
+                                : List.of(
+                                        propertySchema(indexedTokenId, propertyKeyId),
+                                        propertySchema(tokenId, propertyKeyId)),
+                        IndexType.RANGE,
+                        "'filter.%s.%s' requires a RANGE index on that property"
+                                .formatted(FILTER_PROPERTIES, property.getKey()));
+                final var predicate = PropertyIndexQuery.exact(propertyKeyId, Values.of(property.getValue()));
+                try (var matches = HeapTrackingCollections.newLongSet(ktx.memoryTracker());
+                        var cursor = cursor(ktx.cursors(), ktx.cursorContext(), ktx.memoryTracker())) {
+                    seek(
+                            read,
+                            ktx.queryContext(),
+                            read.indexReadSession(propertyIndex),
+                            cursor,
+                            IndexQueryConstraints.unordered(false),
+                            predicate);
+                    while (cursor.next()) {
+                        matches.add(reference(cursor));
+                    }
+                    if (first) {
+                        accepted.addAll(matches);
+                        first = false;
+                    } else {
+                        accepted.retainAll(matches);
+                    }
+                }
+            }
+            return accepted;
+        }
+
+        private IndexDescriptor onlineIndex(SchemaDescriptor schema, IndexType indexType, String missingMessage)
+                throws KernelException {
+            return onlineIndex(List.of(schema), indexType, missingMessage);
+        }
+
+        private IndexDescriptor onlineIndex(List<SchemaDescriptor> schemas, IndexType indexType, String missingMessage)
+                throws KernelException {
+            final var schemaRead = ktx.schemaRead();
+            for (final var schema : schemas) {
+                final var indexes = schemaRead.index(schema);
+                while (indexes.hasNext()) {
+                    final var candidate = indexes.next();
+                    if (candidate.getIndexType() == indexType
+                            && schemaRead.indexGetState(candidate) == InternalIndexState.ONLINE) {
+                        return candidate;
+                    }
+                }
+            }
+            throw new IllegalArgumentException(missingMessage);
         }
 
         private void awaitIndexOnline() {
@@ -436,6 +436,7 @@ public abstract class AbstractNeoWebServer extends LifecycleAdapter implements N
         binder.addSingletonBinding(getWebServer(), WebServer.class);
         binder.bind(RepresentationBasedMessageBodyWriter.class).to(MessageBodyWriter.class);
         binder.addSingletonBinding(httpTransactionManager, HttpTransactionManager.class);
+        binder.addSingletonBinding(transactionManager, TransactionManager.class);
         binder.addSingletonBinding(databaseResolver, DefaultDatabaseResolver.class);
         binder.addLazyBinding(authManagerSupplier, AuthManager.class);
         binder.addSingletonBinding(userLogProvider, InternalLogProvider.class);
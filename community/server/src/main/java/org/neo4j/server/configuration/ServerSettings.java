@@ -159,6 +159,14 @@ public class ServerSettings implements SettingsDeclaration {
                     EnumSet.complementOf(EnumSet.of(ConfigurableServerModules.QUERY_API_ENDPOINTS)))
             .build();
 
+    @Internal
+    @Description("Execute Query API requests directly within the server process rather than through an embedded "
+            + "driver connected to the local Bolt connector. Results are streamed into the response as they are "
+            + "produced by the query engine.")
+    public static final Setting<Boolean> query_api_direct_execution_enabled = newBuilder(
+                    "internal.dbms.query_api_direct_execution_enabled", BOOL, false)
+            .build();
+
     @Description("Defines the set of transports available on the HTTP server")
     public static final Setting<Set<ConfigurableTransports>> http_enabled_transports = newBuilder(
                     "server.http_enabled_transports",
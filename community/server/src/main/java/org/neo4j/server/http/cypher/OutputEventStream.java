@@ -30,6 +30,7 @@ import org.neo4j.kernel.api.exceptions.Status;
 import org.neo4j.server.http.cypher.format.api.OutputEvent;
 import org.neo4j.server.http.cypher.format.api.Statement;
 import org.neo4j.server.http.cypher.format.api.TransactionNotificationState;
+import org.neo4j.values.AnyValue;
 
 /**
  * An output stream that can be used to create and send {@link OutputEvent}s.
@@ -45,6 +46,15 @@ public interface OutputEventStream {
 
     void writeRecord(List<String> columns, Function<String, Object> valueSupplier);
 
+    /**
+     * Writes a record which additionally carries its unmapped values for direct encoding.
+     *
+     * @param values the values in column order or {@code null} if they cannot be encoded directly.
+     */
+    default void writeRecord(List<String> columns, Function<String, Object> valueSupplier, AnyValue[] values) {
+        writeRecord(columns, valueSupplier);
+    }
+
     void writeTransactionInfo(
             TransactionNotificationState notification, URI commitUri, long expirationTimestamp, String bookmark);
 
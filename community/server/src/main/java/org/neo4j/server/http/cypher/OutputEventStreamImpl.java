@@ -39,6 +39,7 @@ import org.neo4j.server.http.cypher.format.api.StatementStartEvent;
 import org.neo4j.server.http.cypher.format.api.TransactionInfoEvent;
 import org.neo4j.server.http.cypher.format.api.TransactionNotificationState;
 import org.neo4j.server.http.cypher.format.api.TransactionUriScheme;
+import org.neo4j.values.AnyValue;
 
 class OutputEventStreamImpl implements OutputEventSource, OutputEventStream {
 
@@ -85,6 +86,11 @@ class OutputEventStreamImpl implements OutputEventSource, OutputEventStream {
         notifyListener(new RecordEvent(columns, valueSupplier));
     }
 
+    @Override
+    public void writeRecord(List<String> columns, Function<String, Object> valueSupplier, AnyValue[] values) {
+        notifyListener(new RecordEvent(columns, valueSupplier, values));
+    }
+
     @Override
     public void writeTransactionInfo(
             TransactionNotificationState notification, URI commitUri, long expirationTimestamp, String bookmark) {
@@ -26,6 +26,7 @@ import java.util.function.Supplier;
 import org.neo4j.bolt.protocol.common.fsm.response.RecordHandler;
 import org.neo4j.server.http.cypher.OutputEventStream;
 import org.neo4j.server.http.cypher.TransactionIndependentValueMapper;
+import org.neo4j.server.http.cypher.format.common.DirectValueEncoder;
 import org.neo4j.values.AnyValue;
 
 public class OutputEventStreamRecordHandler implements RecordHandler {
@@ -35,6 +36,8 @@ public class OutputEventStreamRecordHandler implements RecordHandler {
     private final TransactionIndependentValueMapper valueMapper;
 
     private Map<String, Object> results;
+    private AnyValue[] values;
+    private boolean directlyEncodable;
     private int fieldIndex;
 
     OutputEventStreamRecordHandler(
@@ -54,26 +57,59 @@ public class OutputEventStreamRecordHandler implements RecordHandler {
         this.valueMapper = valueMapper;
         this.resultsSupplier = resultsSupplier;
         this.results = resultsSupplier.get();
+        this.values = new AnyValue[fieldNames.size()];
     }
 
     @Override
     public void onBegin() {
         fieldIndex = 0;
         results = resultsSupplier.get();
+        values = new AnyValue[fieldNames.size()];
+        directlyEncodable = true;
     }
 
     @Override
     public void onField(AnyValue value) {
-        // we need to map the "AnyValue" type back to the standard graph types expected by the HTTP serialization
-        // mechanism
-        results.put(fieldNames.get(fieldIndex++), value.map(valueMapper));
+        values[fieldIndex] = value;
+        if (directlyEncodable && !DirectValueEncoder.isSupported(value)) {
+            // we need to map the "AnyValue" type back to the standard graph types expected by the HTTP serialization
+            // mechanism, including the fields which have been kept unmapped so far
+            directlyEncodable = false;
+            for (int i = 0; i < fieldIndex; i++) {
+                results.put(fieldNames.get(i), values[i].map(valueMapper));
+            }
+        }
+        if (!directlyEncodable) {
+            results.put(fieldNames.get(fieldIndex), value.map(valueMapper));
+        }
+        fieldIndex++;
     }
 
     @Override
     public void onCompleted() {
-        outputEventStream.writeRecord(this.fieldNames, results::get);
+        if (directlyEncodable) {
+            // values which may be encoded directly are only mapped when requested by a writer which cannot encode them
+            var record = values;
+            var mapped = results;
+            outputEventStream.writeRecord(this.fieldNames, column -> mapLazily(mapped, record, column), record);
+        } else {
+            outputEventStream.writeRecord(this.fieldNames, results::get, null);
+        }
     }
 
     @Override
     public void onFailure() {}
+
+    private Object mapLazily(Map<String, Object> mapped, AnyValue[] record, String column) {
+        if (mapped.containsKey(column)) {
+            return mapped.get(column);
+        }
+        var index = fieldNames.indexOf(column);
+        if (index < 0) {
+            return null;
+        }
+        var value = record[index].map(valueMapper);
+        mapped.put(column, value);
+        return value;
+    }
 }
@@ -21,15 +21,22 @@ package org.neo4j.server.http.cypher.format.api;
 
 import java.util.List;
 import java.util.function.Function;
+import org.neo4j.values.AnyValue;
 
 public class RecordEvent implements OutputEvent {
 
     private final List<String> columns;
     private final Function<String, Object> valueSupplier;
+    private final AnyValue[] values;
 
     public RecordEvent(List<String> columns, Function<String, Object> valueSupplier) {
+        this(columns, valueSupplier, null);
+    }
+
+    public RecordEvent(List<String> columns, Function<String, Object> valueSupplier, AnyValue[] values) {
         this.columns = columns;
         this.valueSupplier = valueSupplier;
+        this.values = values;
     }
 
     @Override
@@ -44,4 +51,15 @@ public class RecordEvent implements OutputEvent {
     public Object getValue(String column) {
         return valueSupplier.apply(column);
     }
+
+    /**
+     * Retrieves the unmapped values of this record in column order.
+     *
+     * @return the values or {@code null} if some of them cannot be encoded directly and must be serialized through
+     * {@link #getValue(String)} instead.
+     * @see org.neo4j.server.http.cypher.format.common.DirectValueEncoder
+     */
+    public AnyValue[] getValues() {
+        return values;
+    }
 }
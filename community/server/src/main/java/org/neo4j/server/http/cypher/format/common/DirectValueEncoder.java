@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.server.http.cypher.format.common;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import java.io.IOException;
+import org.neo4j.server.http.cypher.format.jolt.Sigil;
+import org.neo4j.values.AnyValue;
+import org.neo4j.values.storable.BooleanValue;
+import org.neo4j.values.storable.CharValue;
+import org.neo4j.values.storable.DoubleValue;
+import org.neo4j.values.storable.IntValue;
+import org.neo4j.values.storable.LongValue;
+import org.neo4j.values.storable.NoValue;
+import org.neo4j.values.storable.TextValue;
+import org.neo4j.values.virtual.ListValue;
+
+/**
+ * Encodes values straight from their {@link AnyValue} representation to a {@link JsonGenerator} without mapping them
+ * to their Java counterparts and looking up a serializer through the codec first.
+ * <p>
+ * Only strings, booleans, integers, floats, nulls and lists thereof are supported. The output is identical to the one
+ * produced by {@link Neo4jJsonCodec} and the Jolt codecs for the mapped values; callers are expected to check {@link
+ * #isSupported(AnyValue)} and fall back to the codec for all other values.
+ * <p>
+ * The remaining types are left to the codec on purpose. Maps are written by the codec in the iteration order of the
+ * {@link java.util.HashMap} they are mapped to, nodes, relationships and paths carry meta information and entity
+ * lookups, and temporal and spatial values are formatted from their Java counterparts. Reproducing any of these here
+ * would duplicate the codec's output rules rather than bypass them.
+ */
+public final class DirectValueEncoder {
+    private static final SerializableString INTEGER = new SerializedString(Sigil.INTEGER.getValue());
+    private static final SerializableString REAL = new SerializedString(Sigil.REAL.getValue());
+    private static final SerializableString UNICODE = new SerializedString(Sigil.UNICODE.getValue());
+    private static final SerializableString BOOLEAN = new SerializedString(Sigil.BOOLEAN.getValue());
+    private static final SerializableString LIST = new SerializedString(Sigil.LIST.getValue());
+
+    private DirectValueEncoder() {}
+
+    /**
+     * Checks whether a value may be encoded directly.
+     *
+     * @param value a value.
+     * @return true if supported, false otherwise.
+     */
+    public static boolean isSupported(AnyValue value) {
+        if (value instanceof ListValue list) {
+            for (var element : list) {
+                if (!isSupported(element)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // chars are mapped to Character and thus serialized differently from strings
+        return value == NoValue.NO_VALUE
+                || (value instanceof TextValue && !(value instanceof CharValue))
+                || value instanceof BooleanValue
+                || value instanceof LongValue
+                || value instanceof IntValue
+                || value instanceof DoubleValue;
+    }
+
+    /**
+     * Writes a value in the plain JSON format.
+     */
+    public static void writeJson(JsonGenerator out, AnyValue value) throws IOException {
+        if (value == NoValue.NO_VALUE) {
+            out.writeNull();
+        } else if (value instanceof TextValue text) {
+            out.writeString(text.stringValue());
+        } else if (value instanceof BooleanValue bool) {
+            out.writeBoolean(bool.booleanValue());
+        } else if (value instanceof LongValue longValue) {
+            out.writeNumber(longValue.longValue());
+        } else if (value instanceof IntValue intValue) {
+            out.writeNumber(intValue.value());
+        } else if (value instanceof DoubleValue doubleValue) {
+            out.writeNumber(doubleValue.doubleValue());
+        } else if (value instanceof ListValue list) {
+            out.writeStartArray();
+            for (var element : list) {
+                writeJson(out, element);
+            }
+            out.writeEndArray();
+        } else {
+            throw unsupported(value);
+        }
+    }
+
+    /**
+     * Writes the meta information of a value in the plain JSON format. Scalars carry no meta information while the
+     * meta information of list elements is written inline, matching {@link Neo4jJsonCodec#writeMeta}.
+     */
+    public static void writeJsonMeta(JsonGenerator out, AnyValue value) throws IOException {
+        if (value instanceof ListValue list) {
+            for (var element : list) {
+                writeJsonMeta(out, element);
+            }
+        } else {
+            out.writeNull();
+        }
+    }
+
+    /**
+     * Writes a value in the Jolt format.
+     *
+     * @param strict true if every value shall be tagged with its sigil, false for the sparse format.
+     */
+    public static void writeJolt(JsonGenerator out, AnyValue value, boolean strict) throws IOException {
+        if (value == NoValue.NO_VALUE) {
+            out.writeNull();
+        } else if (value instanceof TextValue text) {
+            if (strict) {
+                writeSigil(out, UNICODE, text.stringValue());
+            } else {
+                out.writeString(text.stringValue());
+            }
+        } else if (value instanceof BooleanValue bool) {
+            if (strict) {
+                writeSigil(out, BOOLEAN, String.valueOf(bool.booleanValue()));
+            } else {
+                out.writeBoolean(bool.booleanValue());
+            }
+        } else if (value instanceof LongValue longValue) {
+            writeJoltLong(out, longValue.longValue(), strict);
+        } else if (value instanceof IntValue intValue) {
+            if (strict) {
+                writeSigil(out, INTEGER, String.valueOf(intValue.value()));
+            } else {
+                out.writeNumber(intValue.value());
+            }
+        } else if (value instanceof DoubleValue doubleValue) {
+            writeSigil(out, REAL, String.valueOf(doubleValue.doubleValue()));
+        } else if (value instanceof ListValue list) {
+            writeJoltList(out, list, strict);
+        } else {
+            throw unsupported(value);
+        }
+    }
+
+    private static void writeJoltLong(JsonGenerator out, long value, boolean strict) throws IOException {
+        if (strict) {
+            // the upper bound is exclusive to match JoltLongSerializer
+            var sigil = value >= Integer.MIN_VALUE && value < Integer.MAX_VALUE ? INTEGER : REAL;
+            writeSigil(out, sigil, String.valueOf(value));
+        } else if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+            out.writeNumber(value);
+        } else {
+            writeSigil(out, INTEGER, String.valueOf(value));
+        }
+    }
+
+    private static void writeJoltList(JsonGenerator out, ListValue list, boolean strict) throws IOException {
+        if (strict) {
+            out.writeStartObject();
+            out.writeFieldName(LIST);
+        }
+        out.writeStartArray();
+        for (var element : list) {
+            writeJolt(out, element, strict);
+        }
+        out.writeEndArray();
+        if (strict) {
+            out.writeEndObject();
+        }
+    }
+
+    private static void writeSigil(JsonGenerator out, SerializableString sigil, String value) throws IOException {
+        out.writeStartObject();
+        out.writeFieldName(sigil);
+        out.writeString(value);
+        out.writeEndObject();
+    }
+
+    private static IllegalArgumentException unsupported(AnyValue value) {
+        return new IllegalArgumentException("Value cannot be encoded directly: " + value.getTypeName());
+    }
+}
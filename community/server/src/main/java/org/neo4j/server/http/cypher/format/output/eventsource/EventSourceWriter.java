@@ -22,15 +22,33 @@ package org.neo4j.server.http.cypher.format.output.eventsource;
 import com.fasterxml.jackson.core.JsonGenerator;
 import java.io.IOException;
 import org.neo4j.server.http.cypher.format.api.RecordEvent;
+import org.neo4j.server.http.cypher.format.common.DirectValueEncoder;
 import org.neo4j.server.http.cypher.format.output.json.ResultDataContentWriter;
 
 public class EventSourceWriter implements ResultDataContentWriter {
+    private final boolean strictModeEnabled;
+
+    /**
+     * @param strictModeEnabled {@code true} if the codec of the generators passed to this writer operates in strict
+     *                          mode, {@code false} otherwise.
+     */
+    public EventSourceWriter(boolean strictModeEnabled) {
+        this.strictModeEnabled = strictModeEnabled;
+    }
+
     @Override
     public void write(JsonGenerator out, RecordEvent recordEvent) throws IOException {
         try {
             out.writeStartArray();
-            for (String key : recordEvent.getColumns()) {
-                out.writeObject(recordEvent.getValue(key));
+            var values = recordEvent.getValues();
+            if (values != null) {
+                for (var value : values) {
+                    DirectValueEncoder.writeJolt(out, value, strictModeEnabled);
+                }
+            } else {
+                for (String key : recordEvent.getColumns()) {
+                    out.writeObject(recordEvent.getValue(key));
+                }
             }
         } finally {
             out.writeEndArray();
@@ -27,6 +27,8 @@ import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonGenerationException;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.lang.reflect.InvocationTargetException;
@@ -56,6 +58,8 @@ import org.neo4j.server.http.cypher.format.input.json.JsonMessageBodyReader;
  * newline separated JSON documents.
  */
 class LineDelimitedEventSourceJoltSerializer implements EventSourceSerializer {
+    private static final SerializableString DATA = new SerializedString("data");
+
     protected final JsonGenerator jsonGenerator;
     protected final List<Notification> notifications = new ArrayList<>();
     protected final List<FailureEvent> errors = new ArrayList<>();
@@ -79,7 +83,7 @@ class LineDelimitedEventSourceJoltSerializer implements EventSourceSerializer {
             String deprecatedFormat) {
         this.parameters = parameters;
         this.output = output;
-        this.writer = new EventSourceWriter();
+        this.writer = new EventSourceWriter(isStrictMode);
         this.deprecatedFormat = deprecatedFormat;
 
         ObjectCodec codec = instantiateCodec(isStrictMode, classOfCodec);
@@ -158,7 +162,7 @@ class LineDelimitedEventSourceJoltSerializer implements EventSourceSerializer {
     protected void writeRecord(RecordEvent recordEvent) {
         try {
             jsonGenerator.writeStartObject();
-            jsonGenerator.writeFieldName("data");
+            jsonGenerator.writeFieldName(DATA);
 
             try {
                 writer.write(jsonGenerator, recordEvent);
@@ -20,14 +20,28 @@
 package org.neo4j.server.http.cypher.format.output.json;
 
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
 import java.io.IOException;
 import org.neo4j.server.http.cypher.format.api.RecordEvent;
+import org.neo4j.server.http.cypher.format.common.DirectValueEncoder;
 import org.neo4j.server.http.cypher.format.common.Neo4jJsonCodec;
+import org.neo4j.values.AnyValue;
 
 class RowWriter implements ResultDataContentWriter {
+    private static final SerializableString ROW = new SerializedString("row");
+    private static final SerializableString META = new SerializedString("meta");
+
     @Override
     public void write(JsonGenerator out, RecordEvent recordEvent) throws IOException {
-        out.writeArrayFieldStart("row");
+        var values = recordEvent.getValues();
+        if (values != null) {
+            writeDirect(out, values);
+            return;
+        }
+
+        out.writeFieldName(ROW);
+        out.writeStartArray();
         try {
             for (String key : recordEvent.getColumns()) {
                 out.writeObject(recordEvent.getValue(key));
@@ -38,8 +52,31 @@ class RowWriter implements ResultDataContentWriter {
         }
     }
 
+    private static void writeDirect(JsonGenerator out, AnyValue[] values) throws IOException {
+        out.writeFieldName(ROW);
+        out.writeStartArray();
+        try {
+            for (AnyValue value : values) {
+                DirectValueEncoder.writeJson(out, value);
+            }
+        } finally {
+            out.writeEndArray();
+        }
+
+        out.writeFieldName(META);
+        out.writeStartArray();
+        try {
+            for (AnyValue value : values) {
+                DirectValueEncoder.writeJsonMeta(out, value);
+            }
+        } finally {
+            out.writeEndArray();
+        }
+    }
+
     private static void writeMeta(JsonGenerator out, RecordEvent recordEvent) throws IOException {
-        out.writeArrayFieldStart("meta");
+        out.writeFieldName(META);
+        out.writeStartArray();
         try {
             /*
              * The way we've designed this JSON serialization is by injecting a custom codec
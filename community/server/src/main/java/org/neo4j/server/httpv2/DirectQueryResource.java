@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.server.httpv2;
+
+import static org.neo4j.server.httpv2.request.AccessMode.toBoltAccessMode;
+import static org.neo4j.server.httpv2.response.TypedJsonDriverResultWriter.TYPED_JSON_MIME_TYPE_VALUE;
+import static org.neo4j.server.rest.dbms.AuthorizedRequestWrapper.getLoginContextFromHttpServletRequest;
+
+import java.util.List;
+import java.util.Map;
+import javax.servlet.http.HttpServletRequest;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.Response;
+import org.neo4j.bolt.protocol.common.message.Error;
+import org.neo4j.bolt.tx.Transaction;
+import org.neo4j.bolt.tx.TransactionManager;
+import org.neo4j.bolt.tx.TransactionType;
+import org.neo4j.bolt.tx.error.TransactionException;
+import org.neo4j.internal.kernel.api.security.LoginContext;
+import org.neo4j.kernel.api.exceptions.Status;
+import org.neo4j.kernel.api.security.AuthManager;
+import org.neo4j.memory.LocalMemoryTracker;
+import org.neo4j.memory.MemoryPool;
+import org.neo4j.memory.MemoryTracker;
+import org.neo4j.server.httpv2.request.AccessMode;
+import org.neo4j.server.httpv2.request.DirectResultContainer;
+import org.neo4j.server.httpv2.request.ParameterConverter;
+import org.neo4j.server.httpv2.request.QueryRequest;
+import org.neo4j.server.httpv2.request.QueryTransactionOwner;
+import org.neo4j.server.httpv2.response.HttpErrorResponse;
+
+/**
+ * Executes Query API requests directly within the server process.
+ * <p>
+ * Rather than passing requests through an embedded driver which is connected to the local Bolt connector, queries are
+ * executed within an implicit transaction created by the Bolt {@link TransactionManager}. Records are written to the
+ * response as they are produced by the query engine and never pass through a Bolt connection. The responses are
+ * identical to those of {@link QueryResource} which is mounted instead when direct execution is disabled.
+ */
+@Path(QueryResource.FULL_PATH)
+public class DirectQueryResource {
+
+    private final TransactionManager transactionManager;
+    private final AuthManager authManager;
+    private final MemoryPool memoryPool;
+
+    public DirectQueryResource(
+            @Context TransactionManager transactionManager,
+            @Context AuthManager authManager,
+            @Context MemoryPool memoryPool) {
+        this.transactionManager = transactionManager;
+        this.authManager = authManager;
+        this.memoryPool = memoryPool;
+    }
+
+    @POST
+    @Produces({"application/json", TYPED_JSON_MIME_TYPE_VALUE})
+    @Consumes({"application/json", TYPED_JSON_MIME_TYPE_VALUE})
+    public Response execute(
+            @PathParam(QueryResource.DB_PATH_PARAM_NAME) String databaseName,
+            QueryRequest request,
+            @Context HttpServletRequest rawRequest) {
+        // The transaction will be committed or rolled back after the result set has been serialized, it must only be
+        // closed here in an exceptional state
+        var memoryTracker = new LocalMemoryTracker(memoryPool, 0, 64, null);
+
+        Transaction transaction = null;
+        Response response;
+        try {
+            var loginContext = resolveLoginContext(request, rawRequest);
+            var owner = new QueryTransactionOwner(memoryTracker, loginContext, databaseName);
+            transaction = transactionManager.create(
+                    TransactionType.IMPLICIT,
+                    owner,
+                    databaseName,
+                    toBoltAccessMode(request.accessMode() != null ? request.accessMode() : AccessMode.WRITE),
+                    request.bookmarks() != null ? request.bookmarks() : List.of(),
+                    null,
+                    Map.of(),
+                    null);
+
+            var statement = transaction.run(request.statement(), ParameterConverter.toMapValue(request.parameters()));
+            response = Response.accepted(new DirectResultContainer(transaction, statement, owner, request)).build();
+        } catch (Exception ex) {
+            var error = Error.from(ex);
+            var status = error.status() == Status.Database.DatabaseNotFound
+                    ? Response.Status.NOT_FOUND
+                    : Response.Status.BAD_REQUEST;
+
+            response = Response.status(status)
+                    .entity(HttpErrorResponse.singleError(error.status().code().serialize(), error.message()))
+                    .build();
+        }
+
+        if (response.getStatus() != Response.Status.ACCEPTED.getStatusCode()) {
+            close(transaction, memoryTracker);
+        }
+
+        return response;
+    }
+
+    private LoginContext resolveLoginContext(QueryRequest request, HttpServletRequest rawRequest) {
+        // Auth has already passed through AuthorizationEnabledFilter, so the login context is available
+        var loginContext = getLoginContextFromHttpServletRequest(rawRequest);
+
+        if (!(request.impersonatedUser() == null || request.impersonatedUser().isBlank())) {
+            return authManager.impersonate(loginContext, request.impersonatedUser().trim());
+        }
+        return loginContext;
+    }
+
+    private static void close(Transaction transaction, MemoryTracker memoryTracker) {
+        try {
+            if (transaction != null) {
+                transaction.close();
+            }
+        } catch (TransactionException ignore) {
+            // the failure which caused the transaction to be closed has already been reported
+        } finally {
+            memoryTracker.close();
+        }
+    }
+}
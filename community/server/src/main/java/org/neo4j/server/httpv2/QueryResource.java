@@ -52,7 +52,7 @@ import org.neo4j.server.rest.dbms.AuthorizationHeaders;
 public class QueryResource {
 
     public static final String NAME = "query";
-    private static final String DB_PATH_PARAM_NAME = "databaseName";
+    static final String DB_PATH_PARAM_NAME = "databaseName";
     public static final String API_PATH_FRAGMENT = "query/v2";
     static final String FULL_PATH = "/{" + DB_PATH_PARAM_NAME + "}/" + API_PATH_FRAGMENT;
 
@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.server.httpv2.request;
+
+import org.neo4j.bolt.tx.Transaction;
+import org.neo4j.bolt.tx.statement.Statement;
+
+/**
+ * A wrapper for a statement which is executed directly within the server process and the implicit transaction it has
+ * been executed in. The serialization logic commits the transaction once all results have been consumed, or rolls it
+ * back when an error occurs, and releases the memory of its owner afterwards.
+ *
+ * @param transaction
+ * @param statement
+ * @param owner
+ * @param queryRequest
+ */
+public record DirectResultContainer(
+        Transaction transaction, Statement statement, QueryTransactionOwner owner, QueryRequest queryRequest) {}
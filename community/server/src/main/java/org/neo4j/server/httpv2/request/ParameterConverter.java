@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.server.httpv2.request;
+
+import static java.lang.String.format;
+
+import java.util.Map;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.types.TypeSystem;
+import org.neo4j.kernel.impl.util.ValueUtils;
+import org.neo4j.values.AnyValue;
+import org.neo4j.values.storable.CoordinateReferenceSystem;
+import org.neo4j.values.storable.DurationValue;
+import org.neo4j.values.storable.Values;
+import org.neo4j.values.virtual.ListValueBuilder;
+import org.neo4j.values.virtual.MapValue;
+import org.neo4j.values.virtual.MapValueBuilder;
+
+/**
+ * Converts the parameters of a {@link QueryRequest} into the representation expected by the query engine.
+ * <p>
+ * Parameters are normalized through their driver representation first so that queries which are executed directly
+ * within the server process observe the same parameter types as queries which are executed through a driver.
+ */
+public final class ParameterConverter {
+
+    private static final TypeSystem TYPE_SYSTEM = TypeSystem.getDefault();
+
+    private ParameterConverter() {}
+
+    public static MapValue toMapValue(Map<String, Object> parameters) {
+        if (parameters == null || parameters.isEmpty()) {
+            return MapValue.EMPTY;
+        }
+
+        var builder = new MapValueBuilder(parameters.size());
+        parameters.forEach((key, value) -> builder.add(key, toAnyValue(org.neo4j.driver.Values.value(value))));
+        return builder.build();
+    }
+
+    private static AnyValue toAnyValue(Value value) {
+        if (value.isNull()) {
+            return Values.NO_VALUE;
+        }
+        if (value.hasType(TYPE_SYSTEM.LIST())) {
+            var builder = ListValueBuilder.newListBuilder(value.size());
+            for (var element : value.values()) {
+                builder.add(toAnyValue(element));
+            }
+            return builder.build();
+        }
+        if (value.hasType(TYPE_SYSTEM.MAP())) {
+            var builder = new MapValueBuilder(value.size());
+            for (var key : value.keys()) {
+                builder.add(key, toAnyValue(value.get(key)));
+            }
+            return builder.build();
+        }
+        if (value.hasType(TYPE_SYSTEM.DURATION())) {
+            var duration = value.asIsoDuration();
+            return DurationValue.duration(
+                    duration.months(), duration.days(), duration.seconds(), duration.nanoseconds());
+        }
+        if (value.hasType(TYPE_SYSTEM.POINT())) {
+            var point = value.asPoint();
+            var crs = CoordinateReferenceSystem.get(point.srid());
+            if (Double.isNaN(point.z())) {
+                return Values.pointValue(crs, point.x(), point.y());
+            }
+            return Values.pointValue(crs, point.x(), point.y(), point.z());
+        }
+        if (value.hasType(TYPE_SYSTEM.NODE())
+                || value.hasType(TYPE_SYSTEM.RELATIONSHIP())
+                || value.hasType(TYPE_SYSTEM.PATH())) {
+            throw new IllegalArgumentException(
+                    format("Type %s is not a valid parameter type.", value.type().name()));
+        }
+
+        return ValueUtils.of(value.asObject());
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.server.httpv2.request;
+
+import java.util.Map;
+import org.neo4j.bolt.protocol.common.connector.tx.TransactionOwner;
+import org.neo4j.bolt.protocol.common.message.request.connection.RoutingContext;
+import org.neo4j.internal.kernel.api.connectioninfo.ClientConnectionInfo;
+import org.neo4j.internal.kernel.api.security.LoginContext;
+import org.neo4j.memory.MemoryTracker;
+
+/**
+ * Owns the transaction of a single query which is executed directly within the server process.
+ *
+ * @param memoryTracker tracks the memory allocated on behalf of the query.
+ * @param loginContext the login context of the requesting user (or the impersonated user).
+ * @param selectedDefaultDatabase the database against which the query is executed.
+ */
+public record QueryTransactionOwner(
+        MemoryTracker memoryTracker, LoginContext loginContext, String selectedDefaultDatabase)
+        implements TransactionOwner {
+
+    @Override
+    public ClientConnectionInfo info() {
+        return this.loginContext.connectionInfo();
+    }
+
+    @Override
+    public RoutingContext routingContext() {
+        return new RoutingContext(true, Map.of());
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.server.httpv2.response;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.List;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.ext.MessageBodyWriter;
+import org.neo4j.bolt.protocol.common.message.Error;
+import org.neo4j.bolt.tx.error.TransactionException;
+import org.neo4j.logging.InternalLog;
+import org.neo4j.server.http.cypher.format.api.ConnectionException;
+import org.neo4j.server.httpv2.request.DirectResultContainer;
+
+abstract class AbstractDirectResultWriter implements MessageBodyWriter<DirectResultContainer> {
+
+    private final InternalLog log;
+
+    public AbstractDirectResultWriter(InternalLog log) {
+        this.log = log;
+    }
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return DirectResultContainer.class.isAssignableFrom(type);
+    }
+
+    public void writeDirectResult(JsonFactory factory, DirectResultContainer result, OutputStream outputStream)
+            throws IOException {
+        var jsonGenerator = factory.createGenerator(outputStream);
+
+        var resultSerializer = new DriverResultSerializer(jsonGenerator);
+
+        try {
+            resultSerializer.writeFieldNames(result.statement().fieldNames());
+
+            // records are written as they are produced by the query engine
+            var responseHandler = new DirectResultResponseHandler(resultSerializer);
+            result.statement().consume(responseHandler, -1);
+
+            var bookmark = result.transaction().commit();
+
+            resultSerializer.finish(
+                    responseHandler.notifications(),
+                    responseHandler.counters(),
+                    responseHandler.plan(),
+                    List.of(bookmark),
+                    result.queryRequest());
+        } catch (TransactionException ex) {
+            var connectionFailure = findConnectionFailure(ex);
+            if (connectionFailure != null) {
+                throw new ConnectionException("Failed to write to the connection", connectionFailure);
+            }
+
+            var error = Error.from(ex);
+            try {
+                resultSerializer.writeError(error.status().code().serialize(), error.message());
+            } catch (IOException errorWritingException) {
+                // We have errored during writing an error implying the connection has disappeared during writing.
+                // We simply log in this case.
+                log.warn("An error was thrown whilst attempting to write an error.", errorWritingException);
+            }
+        } catch (IOException ex) {
+            throw new ConnectionException("Failed to write to the connection", ex);
+        } finally {
+            close(result);
+            jsonGenerator.flush();
+        }
+    }
+
+    private void close(DirectResultContainer result) {
+        try {
+            // rolls back the transaction if it has not been committed
+            result.transaction().close();
+        } catch (TransactionException ex) {
+            log.warn("Failed to close transaction", ex);
+        } finally {
+            result.owner().memoryTracker().close();
+        }
+    }
+
+    private static IOException findConnectionFailure(Throwable ex) {
+        for (var cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof UncheckedIOException unchecked) {
+                return unchecked.getCause();
+            }
+        }
+        return null;
+    }
+}
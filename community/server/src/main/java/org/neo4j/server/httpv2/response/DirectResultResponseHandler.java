@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.server.httpv2.response;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import org.neo4j.bolt.protocol.common.fsm.response.AbstractMetadataAwareResponseHandler;
+import org.neo4j.bolt.protocol.common.fsm.response.RecordHandler;
+import org.neo4j.bolt.protocol.common.fsm.response.metadata.DefaultMetadataHandler;
+import org.neo4j.bolt.protocol.common.message.Error;
+import org.neo4j.driver.internal.summary.InternalNotification;
+import org.neo4j.driver.internal.summary.InternalPlan;
+import org.neo4j.driver.internal.summary.InternalProfiledPlan;
+import org.neo4j.driver.internal.summary.InternalSummaryCounters;
+import org.neo4j.driver.summary.Notification;
+import org.neo4j.driver.summary.Plan;
+import org.neo4j.driver.summary.SummaryCounters;
+import org.neo4j.graphdb.QueryExecutionType;
+import org.neo4j.graphdb.QueryStatistics;
+import org.neo4j.kernel.database.DatabaseReference;
+import org.neo4j.server.httpv2.response.format.KernelValueConverter;
+import org.neo4j.values.AnyValue;
+
+/**
+ * Streams the records of a statement which is executed directly within the server process into a
+ * {@link DriverResultSerializer} as they are produced and collects the metadata required to write its summary.
+ * <p>
+ * Notifications and execution plans are collected in their Bolt representation and are converted using the same
+ * functions a driver would use to decode them.
+ */
+final class DirectResultResponseHandler extends AbstractMetadataAwareResponseHandler {
+
+    private final DriverResultSerializer resultSerializer;
+
+    private QueryStatistics statistics = QueryStatistics.EMPTY;
+    private AnyValue notifications;
+    private AnyValue plan;
+    private AnyValue profile;
+
+    DirectResultResponseHandler(DriverResultSerializer resultSerializer) {
+        super(DefaultMetadataHandler.getInstance());
+        this.resultSerializer = resultSerializer;
+    }
+
+    @Override
+    public void onMetadata(String key, AnyValue value) {
+        switch (key) {
+            case "notifications" -> this.notifications = value;
+            case "plan" -> this.plan = value;
+            case "profile" -> this.profile = value;
+            default -> {
+                // remaining metadata is specific to Bolt
+            }
+        }
+    }
+
+    @Override
+    public RecordHandler onBeginStreaming(List<String> fieldNames) {
+        return new RecordHandler() {
+            @Override
+            public void onField(AnyValue value) {
+                try {
+                    resultSerializer.writeValue(KernelValueConverter.toDriverValue(value));
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            }
+
+            @Override
+            public void onCompleted() {}
+
+            @Override
+            public void onFailure() {}
+        };
+    }
+
+    @Override
+    public void onStreamingMetadata(
+            long timeSpentStreaming,
+            QueryExecutionType executionType,
+            DatabaseReference database,
+            QueryStatistics statistics,
+            Iterable<org.neo4j.graphdb.Notification> notifications) {
+        super.onStreamingMetadata(timeSpentStreaming, executionType, database, statistics, notifications);
+        this.statistics = statistics;
+    }
+
+    @Override
+    public void onFailure(Error error) {
+        // Bolt-only event
+    }
+
+    @Override
+    public void onIgnored() {
+        // Bolt-only event
+    }
+
+    @Override
+    public void onSuccess() {
+        // Bolt-only event
+    }
+
+    List<Notification> notifications() {
+        if (this.notifications == null) {
+            return List.of();
+        }
+        return KernelValueConverter.toDriverValue(this.notifications)
+                .asList(InternalNotification.VALUE_TO_NOTIFICATION);
+    }
+
+    SummaryCounters counters() {
+        return new InternalSummaryCounters(
+                this.statistics.getNodesCreated(),
+                this.statistics.getNodesDeleted(),
+                this.statistics.getRelationshipsCreated(),
+                this.statistics.getRelationshipsDeleted(),
+                this.statistics.getPropertiesSet(),
+                this.statistics.getLabelsAdded(),
+                this.statistics.getLabelsRemoved(),
+                this.statistics.getIndexesAdded(),
+                this.statistics.getIndexesRemoved(),
+                this.statistics.getConstraintsAdded(),
+                this.statistics.getConstraintsRemoved(),
+                this.statistics.getSystemUpdates());
+    }
+
+    Plan plan() {
+        if (this.profile != null) {
+            return InternalProfiledPlan.PROFILED_PLAN_FROM_VALUE.apply(
+                    KernelValueConverter.toDriverValue(this.profile));
+        }
+        if (this.plan != null) {
+            return InternalPlan.EXPLAIN_PLAN_FROM_VALUE.apply(KernelValueConverter.toDriverValue(this.plan));
+        }
+        return null;
+    }
+}
@@ -35,8 +35,11 @@ import java.util.List;
 import java.util.Set;
 import org.neo4j.driver.Bookmark;
 import org.neo4j.driver.Record;
+import org.neo4j.driver.Value;
 import org.neo4j.driver.exceptions.Neo4jException;
 import org.neo4j.driver.summary.Notification;
+import org.neo4j.driver.summary.Plan;
+import org.neo4j.driver.summary.ProfiledPlan;
 import org.neo4j.driver.summary.ResultSummary;
 import org.neo4j.driver.summary.SummaryCounters;
 import org.neo4j.server.httpv2.request.QueryRequest;
@@ -67,6 +70,10 @@ public class DriverResultSerializer {
         jsonGenerator.writeObject(record);
     }
 
+    public void writeValue(Value value) throws IOException {
+        jsonGenerator.writeObject(value);
+    }
+
     public void writeError(Neo4jException neo4jException) throws IOException {
         ensureResultSetClosedForErrorsWriting();
 
@@ -77,6 +84,19 @@ public class DriverResultSerializer {
         jsonGenerator.writeEndObject();
     }
 
+    public void writeError(String code, String message) throws IOException {
+        ensureResultSetClosedForErrorsWriting();
+
+        jsonGenerator.writeFieldName(ERRORS_KEY);
+        jsonGenerator.writeStartArray();
+        jsonGenerator.writeStartObject();
+        jsonGenerator.writeStringField("code", code);
+        jsonGenerator.writeStringField("message", message);
+        jsonGenerator.writeEndObject();
+        jsonGenerator.writeEndArray();
+        jsonGenerator.writeEndObject();
+    }
+
     public void writeNotifications(List<Notification> notifications) throws IOException {
         if (!notifications.isEmpty()) {
             jsonGenerator.writeFieldName(NOTIFICATIONS_KEY);
@@ -86,29 +106,58 @@ public class DriverResultSerializer {
 
     public void finish(ResultSummary resultSummary, Set<Bookmark> bookmarks, QueryRequest queryRequest)
             throws IOException {
+        Plan plan = null;
+        if (resultSummary.hasProfile()) {
+            plan = resultSummary.profile();
+        } else if (resultSummary.hasPlan()) {
+            plan = resultSummary.plan();
+        }
+
+        finish(
+                resultSummary.notifications(),
+                resultSummary.counters(),
+                plan,
+                bookmarks.stream().map(Bookmark::value).toList(),
+                queryRequest);
+    }
+
+    /**
+     * Concludes the result set and writes the summary of the query.
+     *
+     * @param notifications notifications generated during the execution of the query.
+     * @param counters statistics of the updates carried out by the query.
+     * @param plan an execution plan (or {@link ProfiledPlan profile}) or {@code null} if none has been requested.
+     * @param bookmarks bookmarks referring to the transaction within which the query has been executed.
+     * @param queryRequest the original request.
+     */
+    public void finish(
+            List<Notification> notifications,
+            SummaryCounters counters,
+            Plan plan,
+            List<String> bookmarks,
+            QueryRequest queryRequest)
+            throws IOException {
         jsonGenerator.writeEndArray();
         jsonGenerator.writeEndObject();
 
-        writeNotifications(resultSummary.notifications());
+        writeNotifications(notifications);
 
         if (queryRequest.includeCounters()) {
-            writeCounters(resultSummary.counters());
+            writeCounters(counters);
         }
 
-        if (resultSummary.hasPlan() && resultSummary.hasProfile()) {
+        if (plan instanceof ProfiledPlan) {
             jsonGenerator.writeFieldName(PROFILE_KEY);
-            jsonGenerator.writeObject(resultSummary.profile());
-        }
-
-        if (resultSummary.hasPlan() && !resultSummary.hasProfile()) {
+            jsonGenerator.writeObject(plan);
+        } else if (plan != null) {
             jsonGenerator.writeFieldName(QUERY_PLAN_KEY);
-            jsonGenerator.writeObject(resultSummary.plan());
+            jsonGenerator.writeObject(plan);
         }
 
         jsonGenerator.writeArrayFieldStart(BOOKMARKS_KEY);
 
-        for (Bookmark bookmark : bookmarks) {
-            jsonGenerator.writeString(bookmark.value());
+        for (String bookmark : bookmarks) {
+            jsonGenerator.writeString(bookmark);
         }
 
         jsonGenerator.writeEndArray();
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.server.httpv2.response.format;
+
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.internal.InternalNode;
+import org.neo4j.driver.internal.InternalPath;
+import org.neo4j.driver.internal.InternalRelationship;
+import org.neo4j.driver.internal.value.NullValue;
+import org.neo4j.driver.types.Entity;
+import org.neo4j.values.AnyValue;
+import org.neo4j.values.storable.ArrayValue;
+import org.neo4j.values.storable.ByteArray;
+import org.neo4j.values.storable.DurationValue;
+import org.neo4j.values.storable.NoValue;
+import org.neo4j.values.storable.PointValue;
+import org.neo4j.values.storable.TextArray;
+import org.neo4j.values.virtual.ListValue;
+import org.neo4j.values.virtual.MapValue;
+import org.neo4j.values.virtual.NodeValue;
+import org.neo4j.values.virtual.PathValue;
+import org.neo4j.values.virtual.RelationshipValue;
+
+/**
+ * Converts the values produced by the query engine into their driver representation so that results which have not
+ * passed through a driver may be written by the serializers of the {@link DefaultResponseModule}.
+ * <p>
+ * The conversion mirrors the representation a driver would receive via Bolt: property arrays are converted into
+ * lists while entities retain both their identifiers and element identifiers.
+ */
+public final class KernelValueConverter {
+
+    private KernelValueConverter() {}
+
+    public static Value toDriverValue(AnyValue value) {
+        if (value == null || value instanceof NoValue) {
+            return NullValue.NULL;
+        }
+        if (value instanceof ByteArray bytes) {
+            return org.neo4j.driver.Values.value(bytes.asObjectCopy());
+        }
+        if (value instanceof ArrayValue array) {
+            var elements = new Value[array.length()];
+            for (var i = 0; i < elements.length; i++) {
+                elements[i] = toDriverValue(array.value(i));
+            }
+            return new org.neo4j.driver.internal.value.ListValue(elements);
+        }
+        if (value instanceof DurationValue duration) {
+            return org.neo4j.driver.Values.isoDuration(
+                    duration.get(ChronoUnit.MONTHS),
+                    duration.get(ChronoUnit.DAYS),
+                    duration.get(ChronoUnit.SECONDS),
+                    (int) duration.get(ChronoUnit.NANOS));
+        }
+        if (value instanceof PointValue point) {
+            var srid = point.getCoordinateReferenceSystem().getCode();
+            var coordinate = point.coordinate();
+            if (coordinate.length == 3) {
+                return org.neo4j.driver.Values.point(srid, coordinate[0], coordinate[1], coordinate[2]);
+            }
+            return org.neo4j.driver.Values.point(srid, coordinate[0], coordinate[1]);
+        }
+        if (value instanceof org.neo4j.values.storable.Value storable) {
+            // booleans, numbers, text and temporal values share their java representation with the driver
+            return org.neo4j.driver.Values.value(storable.asObjectCopy());
+        }
+        if (value instanceof ListValue list) {
+            var elements = new Value[list.size()];
+            var i = 0;
+            for (var element : list) {
+                elements[i++] = toDriverValue(element);
+            }
+            return new org.neo4j.driver.internal.value.ListValue(elements);
+        }
+        if (value instanceof MapValue map) {
+            return new org.neo4j.driver.internal.value.MapValue(toDriverMap(map));
+        }
+        if (value instanceof NodeValue node) {
+            return new org.neo4j.driver.internal.value.NodeValue(toDriverNode(node));
+        }
+        if (value instanceof RelationshipValue relationship) {
+            return new org.neo4j.driver.internal.value.RelationshipValue(toDriverRelationship(relationship));
+        }
+        if (value instanceof PathValue path) {
+            return new org.neo4j.driver.internal.value.PathValue(toDriverPath(path));
+        }
+
+        throw new UnsupportedOperationException("Type " + value.getTypeName() + " is not supported as a column value");
+    }
+
+    private static Map<String, Value> toDriverMap(MapValue map) {
+        var converted = new HashMap<String, Value>(map.size());
+        map.foreach((key, element) -> converted.put(key, toDriverValue(element)));
+        return converted;
+    }
+
+    private static InternalNode toDriverNode(NodeValue node) {
+        return new InternalNode(node.id(), node.elementId(), toLabels(node.labels()), toDriverMap(node.properties()));
+    }
+
+    private static InternalRelationship toDriverRelationship(RelationshipValue relationship) {
+        return new InternalRelationship(
+                relationship.id(),
+                relationship.elementId(),
+                relationship.startNodeId(),
+                relationship.startNodeElementId(),
+                relationship.endNodeId(),
+                relationship.endNodeElementId(),
+                relationship.type().stringValue(),
+                toDriverMap(relationship.properties()));
+    }
+
+    private static InternalPath toDriverPath(PathValue path) {
+        var nodes = path.nodes();
+        var relationships = path.relationships();
+
+        var entities = new ArrayList<Entity>(nodes.length + relationships.length);
+        for (var i = 0; i < relationships.length; i++) {
+            entities.add(toDriverNode(nodes[i]));
+            entities.add(toDriverRelationship(relationships[i]));
+        }
+        entities.add(toDriverNode(nodes[nodes.length - 1]));
+
+        return new InternalPath(entities);
+    }
+
+    private static List<String> toLabels(TextArray labels) {
+        var converted = new ArrayList<String>(labels.length());
+        for (var i = 0; i < labels.length(); i++) {
+            converted.add(labels.stringValue(i));
+        }
+        return converted;
+    }
+}
@@ -22,12 +22,15 @@ package org.neo4j.server.modules;
 import java.util.List;
 import org.neo4j.configuration.Config;
 import org.neo4j.server.configuration.ServerSettings;
+import org.neo4j.server.httpv2.DirectQueryResource;
 import org.neo4j.server.httpv2.QueryResource;
 import org.neo4j.server.httpv2.metrics.QueryAPIMetricsFilter;
 import org.neo4j.server.httpv2.metrics.QueryAPIMetricsMonitor;
 import org.neo4j.server.httpv2.request.JsonMessageBodyReader;
 import org.neo4j.server.httpv2.request.TypedJsonMessageBodyReader;
+import org.neo4j.server.httpv2.response.PlainJsonDirectResultWriter;
 import org.neo4j.server.httpv2.response.PlainJsonDriverResultWriter;
+import org.neo4j.server.httpv2.response.TypedJsonDirectResultWriter;
 import org.neo4j.server.httpv2.response.TypedJsonDriverResultWriter;
 import org.neo4j.server.web.WebServer;
 
@@ -50,7 +53,7 @@ public class QueryModule implements ServerModule {
     @Override
     public void start() {
         webServer.addJAXRSClasses(
-                jaxRsClasses(), config.get(ServerSettings.db_api_path).toString(), null);
+                jaxRsClasses(config), config.get(ServerSettings.db_api_path).toString(), null);
         webServer.addFilter(
                 new QueryAPIMetricsFilter(
                         metricsMonitor, config.get(ServerSettings.db_api_path).toString()),
@@ -60,10 +63,18 @@ public class QueryModule implements ServerModule {
     @Override
     public void stop() {
         webServer.removeJAXRSClasses(
-                jaxRsClasses(), config.get(ServerSettings.db_api_path).toString());
+                jaxRsClasses(config), config.get(ServerSettings.db_api_path).toString());
     }
 
-    private static List<Class<?>> jaxRsClasses() {
+    private static List<Class<?>> jaxRsClasses(Config config) {
+        if (config.get(ServerSettings.query_api_direct_execution_enabled)) {
+            return List.of(
+                    DirectQueryResource.class,
+                    PlainJsonDirectResultWriter.class,
+                    TypedJsonDirectResultWriter.class,
+                    JsonMessageBodyReader.class,
+                    TypedJsonMessageBodyReader.class);
+        }
         return List.of(
                 QueryResource.class,
                 PlainJsonDriverResultWriter.class,
@@ -19,9 +19,13 @@
  */
 package org.neo4j.server.http.cypher.consumer;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
@@ -32,6 +36,7 @@ import java.util.Map;
 import java.util.function.Function;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -45,6 +50,7 @@ import org.neo4j.values.storable.Values;
 import org.neo4j.values.virtual.NodeValue;
 import org.neo4j.values.virtual.PathValue;
 import org.neo4j.values.virtual.RelationshipValue;
+import org.neo4j.values.virtual.VirtualValues;
 
 class OutputEventStreamRecordHandlerTest {
     private CachingWriter cachingWriter;
@@ -79,12 +85,52 @@ class OutputEventStreamRecordHandlerTest {
         });
         subject.onCompleted();
 
-        verify(outputEventStream).writeRecord(eq(fieldNames), supplierCaptor.capture());
+        verify(outputEventStream).writeRecord(eq(fieldNames), supplierCaptor.capture(), any());
 
         var values = supplierCaptor.getAllValues();
         assertEquals(1, values.size());
         var supplier = values.get(0);
-        fieldNames.forEach(fieldName -> assertEquals(results.get(fieldName), supplier.apply(fieldName)));
+        fieldNames.forEach(fieldName -> {
+            var value = supplier.apply(fieldName);
+            assertEquals(results.get(fieldName), value);
+        });
+    }
+
+    @Test
+    void shouldPassValuesWhenAllFieldsCanBeEncodedDirectly() {
+        ArgumentCaptor<Function<String, Object>> supplierCaptor = ArgumentCaptor.forClass(Function.class);
+        ArgumentCaptor<AnyValue[]> valuesCaptor = ArgumentCaptor.forClass(AnyValue[].class);
+        var fieldNames = List.of("one", "two");
+        prepareSubject(fieldNames);
+
+        subject.onBegin();
+        subject.onField(Values.stringValue("value"));
+        subject.onField(VirtualValues.list(Values.longValue(42)));
+        subject.onCompleted();
+
+        verify(outputEventStream).writeRecord(eq(fieldNames), supplierCaptor.capture(), valuesCaptor.capture());
+        assertArrayEquals(
+                new AnyValue[] {Values.stringValue("value"), VirtualValues.list(Values.longValue(42))},
+                valuesCaptor.getValue());
+        // values are only mapped once requested
+        assertTrue(results.isEmpty());
+        assertEquals("value", supplierCaptor.getValue().apply("one"));
+        assertEquals(List.of(42L), supplierCaptor.getValue().apply("two"));
+    }
+
+    @Test
+    void shouldMapAllFieldsWhenSomeFieldCannotBeEncodedDirectly() {
+        var fieldNames = List.of("one", "two");
+        prepareSubject(fieldNames);
+
+        subject.onBegin();
+        subject.onField(Values.stringValue("value"));
+        subject.onField(Values.charValue('2'));
+        subject.onCompleted();
+
+        verify(outputEventStream).writeRecord(eq(fieldNames), any(), isNull());
+        assertEquals("value", results.get("one"));
+        assertEquals('2', results.get("two"));
     }
 
     private static Stream<Arguments> recordConsumptionValues() {
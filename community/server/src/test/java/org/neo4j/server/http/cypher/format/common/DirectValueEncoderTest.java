@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.server.http.cypher.format.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.neo4j.kernel.impl.util.DefaultValueMapper;
+import org.neo4j.server.http.cypher.format.jolt.v1.JoltV1Codec;
+import org.neo4j.server.http.cypher.format.jolt.v2.JoltV2Codec;
+import org.neo4j.values.AnyValue;
+import org.neo4j.values.storable.Values;
+import org.neo4j.values.virtual.VirtualValues;
+
+class DirectValueEncoderTest {
+    private static final DefaultValueMapper MAPPER = new DefaultValueMapper(null);
+
+    private static Stream<AnyValue> supportedValues() {
+        return Stream.of(
+                Values.NO_VALUE,
+                Values.stringValue("Hello, \"World\" \u00e4\n"),
+                Values.booleanValue(true),
+                Values.booleanValue(false),
+                Values.intValue(42),
+                Values.intValue(Integer.MIN_VALUE),
+                Values.intValue(Integer.MAX_VALUE),
+                Values.longValue(42),
+                Values.longValue(Integer.MAX_VALUE),
+                Values.longValue(Integer.MIN_VALUE),
+                Values.longValue(Integer.MAX_VALUE + 1L),
+                Values.longValue(Long.MIN_VALUE),
+                Values.doubleValue(4.2),
+                Values.doubleValue(-0.0),
+                Values.doubleValue(1e300),
+                VirtualValues.EMPTY_LIST,
+                VirtualValues.list(Values.intValue(1), Values.stringValue("2"), Values.NO_VALUE),
+                VirtualValues.list(
+                        VirtualValues.list(Values.longValue(Long.MAX_VALUE)),
+                        VirtualValues.list(Values.booleanValue(true), Values.doubleValue(0.5))));
+    }
+
+    private static Stream<AnyValue> unsupportedValues() {
+        return Stream.of(
+                Values.charValue('a'),
+                Values.floatValue(1.5f),
+                Values.byteArray(new byte[] {1, 2}),
+                Values.longArray(new long[] {1, 2}),
+                VirtualValues.map(new String[] {"key"}, new AnyValue[] {Values.intValue(1)}),
+                VirtualValues.list(Values.intValue(1), Values.charValue('a')));
+    }
+
+    @ParameterizedTest
+    @MethodSource("supportedValues")
+    void shouldSupportPlainValues(AnyValue value) {
+        assertThat(DirectValueEncoder.isSupported(value)).isTrue();
+    }
+
+    @ParameterizedTest
+    @MethodSource("unsupportedValues")
+    void shouldNotSupportValuesWhichRequireTheCodec(AnyValue value) {
+        assertThat(DirectValueEncoder.isSupported(value)).isFalse();
+    }
+
+    @ParameterizedTest
+    @MethodSource("supportedValues")
+    void shouldEncodeJsonLikeCodec(AnyValue value) throws IOException {
+        var codec = new Neo4jJsonCodec();
+
+        var expected = write(codec, out -> out.writeObject(value.map(MAPPER)));
+        var actual = write(codec, out -> DirectValueEncoder.writeJson(out, value));
+
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @ParameterizedTest
+    @MethodSource("supportedValues")
+    void shouldEncodeJsonMetaLikeCodec(AnyValue value) throws IOException {
+        var codec = new Neo4jJsonCodec();
+
+        var expected = write(codec, out -> {
+            out.writeStartArray();
+            codec.writeMeta(out, value.map(MAPPER));
+            out.writeEndArray();
+        });
+        var actual = write(codec, out -> {
+            out.writeStartArray();
+            DirectValueEncoder.writeJsonMeta(out, value);
+            out.writeEndArray();
+        });
+
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @ParameterizedTest
+    @MethodSource("supportedValues")
+    void shouldEncodeStrictJoltLikeCodec(AnyValue value) throws IOException {
+        assertJoltLikeCodec(new JoltV1Codec(true), value, true);
+        assertJoltLikeCodec(new JoltV2Codec(true), value, true);
+    }
+
+    @ParameterizedTest
+    @MethodSource("supportedValues")
+    void shouldEncodeSparseJoltLikeCodec(AnyValue value) throws IOException {
+        assertJoltLikeCodec(new JoltV1Codec(false), value, false);
+        assertJoltLikeCodec(new JoltV2Codec(false), value, false);
+    }
+
+    @Test
+    void shouldFailOnUnsupportedValue() {
+        var codec = new Neo4jJsonCodec();
+
+        var array = Values.longArray(new long[] {1});
+
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> write(codec, out -> DirectValueEncoder.writeJson(out, array)));
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() ->
+                        write(codec, out -> DirectValueEncoder.writeJolt(out, Values.floatValue(1.5f), true)));
+    }
+
+    private static void assertJoltLikeCodec(ObjectMapper codec, AnyValue value, boolean strict) throws IOException {
+        var expected = write(codec, out -> out.writeObject(value.map(MAPPER)));
+        var actual = write(codec, out -> DirectValueEncoder.writeJolt(out, value, strict));
+
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    private static String write(ObjectMapper codec, GeneratorConsumer consumer) throws IOException {
+        var out = new ByteArrayOutputStream();
+        try (var generator = codec.getFactory().createGenerator(out)) {
+            consumer.accept(generator);
+        }
+        return out.toString();
+    }
+
+    @FunctionalInterface
+    private interface GeneratorConsumer {
+        void accept(JsonGenerator generator) throws IOException;
+    }
+}
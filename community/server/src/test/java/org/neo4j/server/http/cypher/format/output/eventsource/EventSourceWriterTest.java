@@ -21,6 +21,7 @@ package org.neo4j.server.http.cypher.format.output.eventsource;
 
 import static java.util.Arrays.asList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
 import static org.neo4j.internal.helpers.collection.MapUtil.map;
 import static org.neo4j.server.rest.domain.JsonHelper.jsonNode;
 
@@ -28,6 +29,7 @@ import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonNode;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.List;
 import java.util.Map;
 import org.assertj.core.util.Lists;
 import org.junit.jupiter.api.Test;
@@ -35,6 +37,9 @@ import org.neo4j.server.http.cypher.format.api.RecordEvent;
 import org.neo4j.server.http.cypher.format.jolt.v1.JoltV1Codec;
 import org.neo4j.server.http.cypher.format.output.json.ResultDataContentWriter;
 import org.neo4j.server.rest.domain.JsonParseException;
+import org.neo4j.values.AnyValue;
+import org.neo4j.values.storable.Values;
+import org.neo4j.values.virtual.VirtualValues;
 
 class EventSourceWriterTest {
     @Test
@@ -42,7 +47,7 @@ class EventSourceWriterTest {
         ByteArrayOutputStream out = new ByteArrayOutputStream();
         JsonGenerator json = new JoltV1Codec(true).createGenerator(out);
 
-        JsonNode row = serialize(out, json, new EventSourceWriter(), Map.of("value", Map.of("country", "France")));
+        JsonNode row = serialize(out, json, new EventSourceWriter(true), Map.of("value", Map.of("country", "France")));
 
         assertThat(row.size()).isEqualTo(1);
         JsonNode value = row.get(0).get("{}");
@@ -58,7 +63,7 @@ class EventSourceWriterTest {
         Map<String, Object> data = map("ColumnA", map("one", map("two", asList(true, map("three", 42)))));
 
         // When
-        JsonNode record = serialize(out, json, new EventSourceWriter(), data);
+        JsonNode record = serialize(out, json, new EventSourceWriter(true), data);
 
         // Then
         assertThat(record.get(0).size()).isEqualTo(1);
@@ -84,6 +89,24 @@ class EventSourceWriterTest {
                 .isEqualTo(42);
     }
 
+    @Test
+    void shouldWriteRecordFromValues() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JsonGenerator json = new JoltV1Codec(true).createGenerator(out);
+
+        RecordEvent recordEvent = new RecordEvent(
+                List.of("a", "b"),
+                column -> fail("values should be encoded directly"),
+                new AnyValue[] {Values.stringValue("France"), VirtualValues.list(Values.longValue(42))});
+        new EventSourceWriter(true).write(json, recordEvent);
+        json.flush();
+        json.close();
+
+        JsonNode record = jsonNode(out.toString());
+        assertThat(record.get(0).get("U").asText()).isEqualTo("France");
+        assertThat(record.get(1).get("[]").get(0).get("Z").asInt()).isEqualTo(42);
+    }
+
     private static JsonNode serialize(
             ByteArrayOutputStream out,
             JsonGenerator json,
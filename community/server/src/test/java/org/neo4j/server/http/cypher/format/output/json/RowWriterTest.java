@@ -21,6 +21,7 @@ package org.neo4j.server.http.cypher.format.output.json;
 
 import static java.util.Arrays.asList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
 import static org.neo4j.internal.helpers.collection.MapUtil.map;
 import static org.neo4j.server.rest.domain.JsonHelper.jsonNode;
 
@@ -29,11 +30,15 @@ import com.fasterxml.jackson.databind.JsonNode;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
 import org.neo4j.server.http.cypher.format.api.RecordEvent;
 import org.neo4j.server.http.cypher.format.common.Neo4jJsonCodec;
 import org.neo4j.server.rest.domain.JsonParseException;
+import org.neo4j.values.AnyValue;
+import org.neo4j.values.storable.Values;
+import org.neo4j.values.virtual.VirtualValues;
 
 class RowWriterTest {
     @Test
@@ -50,6 +55,30 @@ class RowWriterTest {
         assertThat(firstCell.get("one").get("two").get(1).get("three").asInt()).isEqualTo(42);
     }
 
+    @Test
+    void shouldWriteRowAndMetaFromValues() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JsonGenerator json = new Neo4jJsonCodec().createGenerator(out);
+
+        RecordEvent recordEvent = new RecordEvent(
+                List.of("a", "b"),
+                column -> fail("values should be encoded directly"),
+                new AnyValue[] {
+                    Values.stringValue("France"), VirtualValues.list(Values.longValue(42), Values.NO_VALUE)
+                });
+        json.writeStartObject();
+        new RowWriter().write(json, recordEvent);
+        json.writeEndObject();
+        json.flush();
+        json.close();
+
+        JsonNode result = jsonNode(out.toString());
+        assertThat(result.get("row").get(0).asText()).isEqualTo("France");
+        assertThat(result.get("row").get(1).get(0).asInt()).isEqualTo(42);
+        assertThat(result.get("row").get(1).get(1).isNull()).isTrue();
+        assertThat(result.get("meta").size()).isEqualTo(3);
+    }
+
     private static JsonNode serialize(
             ByteArrayOutputStream out, JsonGenerator json, ResultDataContentWriter resultDataContentWriter)
             throws IOException, JsonParseException {
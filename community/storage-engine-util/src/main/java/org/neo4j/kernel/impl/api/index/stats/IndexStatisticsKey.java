@@ -40,12 +40,22 @@ import org.neo4j.io.pagecache.PageCursor;
  *      {@link IndexStatisticsValue#INDEX_USAGE_LAST_READ},
  *      {@link IndexStatisticsValue#INDEX_USAGE_READ_COUNT}
  *      {@link IndexStatisticsValue#INDEX_USAGE_TRACKED_SINCE}
+ * - {@link #TYPE_HISTOGRAM}: Value contains
+ *      {@link IndexStatisticsValue#INDEX_HISTOGRAM_BUCKETS},
+ *      {@link IndexStatisticsValue#INDEX_HISTOGRAM_VALUE_COUNT}
+ * - {@link #TYPE_HISTOGRAM_BOUNDS} up to and including {@link #TYPE_HISTOGRAM_BOUNDS_LAST}: Value contains the next
+ *      {@link IndexStatisticsValue#NUM_LONGS} histogram bounds, as raw double bits
  */
 @SuppressWarnings({"NonFinalFieldReferenceInEquals", "NonFinalFieldReferencedInHashCode"})
 class IndexStatisticsKey implements Comparable<IndexStatisticsKey> {
     static final int SIZE = Long.SIZE;
     static final byte TYPE_SAMPLE = 0;
     static final byte TYPE_USAGE = 1;
+    static final byte TYPE_HISTOGRAM = 2;
+    static final byte TYPE_HISTOGRAM_BOUNDS = 3;
+    // Room for the MAX_HISTOGRAM_BUCKETS + 1 bounds of a histogram, NUM_LONGS bounds per value
+    static final byte TYPE_HISTOGRAM_BOUNDS_LAST = 7;
+    static final int MAX_HISTOGRAM_BUCKETS = 16;
 
     private static final int NUM_TYPE_BITS = Byte.SIZE;
     private static final int NUM_INDEX_ID_BITS = SIZE - NUM_TYPE_BITS;
@@ -113,7 +123,7 @@ class IndexStatisticsKey implements Comparable<IndexStatisticsKey> {
     }
 
     void initializeAsHighest() {
-        set(IndexStatisticsKey.MAX_INDEX_ID, IndexStatisticsKey.TYPE_USAGE);
+        set(IndexStatisticsKey.MAX_INDEX_ID, IndexStatisticsKey.TYPE_HISTOGRAM_BOUNDS_LAST);
     }
 
     void write(PageCursor cursor) {
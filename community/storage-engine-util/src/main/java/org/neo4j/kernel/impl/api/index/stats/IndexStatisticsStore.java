@@ -20,6 +20,10 @@
 package org.neo4j.kernel.impl.api.index.stats;
 
 import static org.neo4j.index.internal.gbptree.DataTree.W_BATCHED_SINGLE_THREADED;
+import static org.neo4j.kernel.impl.api.index.stats.IndexStatisticsKey.MAX_HISTOGRAM_BUCKETS;
+import static org.neo4j.kernel.impl.api.index.stats.IndexStatisticsKey.TYPE_HISTOGRAM;
+import static org.neo4j.kernel.impl.api.index.stats.IndexStatisticsKey.TYPE_HISTOGRAM_BOUNDS;
+import static org.neo4j.kernel.impl.api.index.stats.IndexStatisticsKey.TYPE_HISTOGRAM_BOUNDS_LAST;
 import static org.neo4j.kernel.impl.api.index.stats.IndexStatisticsKey.TYPE_SAMPLE;
 import static org.neo4j.kernel.impl.api.index.stats.IndexStatisticsKey.TYPE_USAGE;
 
@@ -28,7 +32,9 @@ import java.io.UncheckedIOException;
 import java.nio.file.OpenOption;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
@@ -51,6 +57,7 @@ import org.neo4j.io.pagecache.tracing.FileFlushEvent;
 import org.neo4j.io.pagecache.tracing.PageCacheTracer;
 import org.neo4j.kernel.api.index.IndexSample;
 import org.neo4j.kernel.api.index.IndexUsageStats;
+import org.neo4j.kernel.api.index.IndexValueHistogram;
 import org.neo4j.kernel.impl.index.schema.ConsistencyCheckable;
 import org.neo4j.kernel.lifecycle.LifecycleAdapter;
 
@@ -59,11 +66,16 @@ import org.neo4j.kernel.lifecycle.LifecycleAdapter;
  * These values aren't updated transactionally and so the data is just kept in memory and flushed to a {@link GBPTree} on every checkpoint.
  * Neither reads, writes nor checkpoints block each other.
  *
+ * For indexes that are fed values through {@link #addIndexValue(long, double)} a reservoir sample of the values is kept as well,
+ * of which only the derived {@link IndexValueHistogram} is persisted. On startup the sample is seeded from that histogram.
+ *
  * The store is accessible after {@link #init()} has been called.
  */
 public class IndexStatisticsStore extends LifecycleAdapter
         implements IndexStatisticsVisitor.Visitable, ConsistencyCheckable, IndexUsageStatsConsumer {
     private static final IndexStatisticsValue EMPTY_STATISTICS = new IndexStatisticsValue();
+    private static final int RESERVOIR_CAPACITY = 1024;
+    private static final int HISTOGRAM_VALUES = TYPE_HISTOGRAM_BOUNDS_LAST - TYPE_HISTOGRAM + 1;
 
     private final PageCache pageCache;
     private final FileSystemAbstraction fileSystem;
@@ -77,6 +89,7 @@ public class IndexStatisticsStore extends LifecycleAdapter
     // Let IndexStatisticsValue be immutable in this map so that checkpoint doesn't have to coordinate with concurrent
     // writers. It's assumed that the data in this map will be so small that everything can just be in it always.
     private final ConcurrentHashMap<IndexStatisticsKey, IndexStatisticsValue> cache = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, IndexValueReservoir> reservoirs = new ConcurrentHashMap<>();
 
     public IndexStatisticsStore(
             PageCache pageCache,
@@ -140,7 +153,7 @@ public class IndexStatisticsStore extends LifecycleAdapter
                     contextFactory,
                     pageCacheTracer);
             try (var cursorContext = contextFactory.create("indexStatisticScan")) {
-                scanTree(cache::put, cursorContext);
+                loadTree(cursorContext);
             }
         } catch (TreeFileNotFoundException e) {
             throw new IllegalStateException(
@@ -232,6 +245,32 @@ public class IndexStatisticsStore extends LifecycleAdapter
     public void removeIndex(long indexId) {
         cache.remove(new IndexStatisticsKey(indexId, TYPE_SAMPLE));
         cache.remove(new IndexStatisticsKey(indexId, TYPE_USAGE));
+        reservoirs.remove(indexId);
+    }
+
+    /**
+     * @return the histogram over the values added for the given index, or {@link IndexValueHistogram#EMPTY} if there are none.
+     */
+    public IndexValueHistogram indexValueHistogram(long indexId) {
+        var reservoir = reservoirs.get(indexId);
+        return reservoir != null ? reservoir.histogram() : IndexValueHistogram.EMPTY;
+    }
+
+    public void addIndexValue(long indexId, double value) {
+        reservoirs
+                .computeIfAbsent(indexId, id -> new IndexValueReservoir(RESERVOIR_CAPACITY, MAX_HISTOGRAM_BUCKETS))
+                .add(value);
+    }
+
+    public void removeIndexValue(long indexId, double value) {
+        var reservoir = reservoirs.get(indexId);
+        if (reservoir != null) {
+            reservoir.remove(value);
+        }
+    }
+
+    public void resetIndexValues(long indexId) {
+        reservoirs.remove(indexId);
     }
 
     public void incrementIndexUpdates(long indexId, long delta) {
@@ -247,8 +286,13 @@ public class IndexStatisticsStore extends LifecycleAdapter
     @Override
     public void visit(IndexStatisticsVisitor visitor, CursorContext cursorContext) {
         try {
+            Map<Long, IndexStatisticsValue[]> histograms = new HashMap<>();
             scanTree(
                     (key, value) -> {
+                        if (isHistogramType(key.getType())) {
+                            histogramValues(histograms, key)[key.getType() - TYPE_HISTOGRAM] = value;
+                            return;
+                        }
                         switch (key.getType()) {
                             case TYPE_SAMPLE -> visitor.visitSampleStatistics(
                                     key.getIndexId(),
@@ -265,6 +309,10 @@ public class IndexStatisticsStore extends LifecycleAdapter
                         }
                     },
                     cursorContext);
+            histograms.forEach((indexId, values) -> {
+                var histogram = decodeHistogram(values);
+                visitor.visitHistogramStatistics(indexId, histogram.valueCount(), histogram.bounds());
+            });
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
@@ -286,6 +334,64 @@ public class IndexStatisticsStore extends LifecycleAdapter
         return tree.consistencyCheck(reporterFactory, contextFactory, numThreads, progressMonitorFactory);
     }
 
+    private void loadTree(CursorContext cursorContext) throws IOException {
+        Map<Long, IndexStatisticsValue[]> histograms = new HashMap<>();
+        scanTree(
+                (key, value) -> {
+                    if (isHistogramType(key.getType())) {
+                        histogramValues(histograms, key)[key.getType() - TYPE_HISTOGRAM] = value;
+                    } else {
+                        cache.put(key, value);
+                    }
+                },
+                cursorContext);
+        histograms.forEach((indexId, values) -> reservoirs.put(
+                indexId,
+                IndexValueReservoir.fromHistogram(decodeHistogram(values), RESERVOIR_CAPACITY, MAX_HISTOGRAM_BUCKETS)));
+    }
+
+    private static boolean isHistogramType(byte type) {
+        return type >= TYPE_HISTOGRAM && type <= TYPE_HISTOGRAM_BOUNDS_LAST;
+    }
+
+    private static IndexStatisticsValue[] histogramValues(
+            Map<Long, IndexStatisticsValue[]> histograms, IndexStatisticsKey key) {
+        return histograms.computeIfAbsent(key.getIndexId(), id -> new IndexStatisticsValue[HISTOGRAM_VALUES]);
+    }
+
+    private static IndexValueHistogram decodeHistogram(IndexStatisticsValue[] values) {
+        var header = values[0];
+        if (header == null || header.get(IndexStatisticsValue.INDEX_HISTOGRAM_BUCKETS) > MAX_HISTOGRAM_BUCKETS) {
+            return IndexValueHistogram.EMPTY;
+        }
+        var bounds = new double[(int) header.get(IndexStatisticsValue.INDEX_HISTOGRAM_BUCKETS) + 1];
+        for (int i = 0; i < bounds.length; i++) {
+            var boundsValue = values[1 + i / IndexStatisticsValue.NUM_LONGS];
+            if (boundsValue == null) {
+                return IndexValueHistogram.EMPTY;
+            }
+            bounds[i] = Double.longBitsToDouble(boundsValue.get(i % IndexStatisticsValue.NUM_LONGS));
+        }
+        return new IndexValueHistogram(bounds, header.get(IndexStatisticsValue.INDEX_HISTOGRAM_VALUE_COUNT));
+    }
+
+    private static void writeHistogram(
+            Writer<IndexStatisticsKey, IndexStatisticsValue> writer, long indexId, IndexValueHistogram histogram) {
+        var header = new IndexStatisticsValue();
+        header.set(IndexStatisticsValue.INDEX_HISTOGRAM_BUCKETS, histogram.buckets());
+        header.set(IndexStatisticsValue.INDEX_HISTOGRAM_VALUE_COUNT, histogram.valueCount());
+        writer.put(new IndexStatisticsKey(indexId, TYPE_HISTOGRAM), header);
+        double[] bounds = histogram.bounds();
+        for (int i = 0; i < bounds.length; i += IndexStatisticsValue.NUM_LONGS) {
+            var boundsValue = new IndexStatisticsValue();
+            for (int j = 0; j < IndexStatisticsValue.NUM_LONGS && i + j < bounds.length; j++) {
+                boundsValue.set(j, Double.doubleToRawLongBits(bounds[i + j]));
+            }
+            byte type = (byte) (TYPE_HISTOGRAM_BOUNDS + i / IndexStatisticsValue.NUM_LONGS);
+            writer.put(new IndexStatisticsKey(indexId, type), boundsValue);
+        }
+    }
+
     private void scanTree(BiConsumer<IndexStatisticsKey, IndexStatisticsValue> consumer, CursorContext cursorContext)
             throws IOException {
         var high = layout.newKey();
@@ -322,6 +428,12 @@ public class IndexStatisticsStore extends LifecycleAdapter
             for (var entry : cache.entrySet()) {
                 writer.put(entry.getKey(), entry.getValue());
             }
+            for (var entry : reservoirs.entrySet()) {
+                var histogram = entry.getValue().histogram();
+                if (!histogram.isEmpty()) {
+                    writeHistogram(writer, entry.getKey(), histogram);
+                }
+            }
         }
     }
 
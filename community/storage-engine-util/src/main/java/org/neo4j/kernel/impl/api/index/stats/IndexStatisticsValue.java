@@ -34,6 +34,9 @@ class IndexStatisticsValue {
     static final int INDEX_USAGE_READ_COUNT = 1;
     static final int INDEX_USAGE_TRACKED_SINCE = 2;
 
+    static final int INDEX_HISTOGRAM_BUCKETS = 0;
+    static final int INDEX_HISTOGRAM_VALUE_COUNT = 1;
+
     final long[] data = new long[NUM_LONGS];
 
     IndexStatisticsValue() {}
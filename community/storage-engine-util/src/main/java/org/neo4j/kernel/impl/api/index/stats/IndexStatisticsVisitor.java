@@ -30,4 +30,6 @@ public interface IndexStatisticsVisitor {
             long indexId, long sampleUniqueValues, long sampleSize, long updatesCount, long indexSize);
 
     void visitUsageStatistics(long indexId, long lastUsedTime, long queryCount, long trackedSinceTime);
+
+    void visitHistogramStatistics(long indexId, long valueCount, double[] bounds);
 }
@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.api.index.stats;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import org.eclipse.collections.impl.map.mutable.primitive.LongIntHashMap;
+import org.neo4j.kernel.api.index.IndexValueHistogram;
+
+/**
+ * Uniform reservoir sample of the numeric values of an index, maintained from the stream of index updates.
+ * Removals are handled by random pairing (Gemulla et al., "A Dip in the Reservoir"): removed values are dropped from
+ * the sample if present, and subsequent additions compensate for the removals, filling the sample with the
+ * probability that a removal hit it. This keeps the sample uniform over the live values, rather than skewed towards
+ * the values added right after removals.
+ * The {@link IndexValueHistogram equi-depth histogram} derived from the sample is cached until the next change.
+ * Slots holding equal values are chained in a doubly linked list, so that all updates take constant time.
+ */
+class IndexValueReservoir {
+    private static final int NONE = -1;
+
+    private final double[] samples;
+    private final int[] next;
+    private final int[] previous;
+    // the first slot of the chain of each sampled value, keyed by the bits of the value
+    private final LongIntHashMap heads = new LongIntHashMap();
+    private final int buckets;
+    private int size;
+    private long valueCount;
+    // Removals not yet compensated by additions, of values that were in and not in the sample respectively
+    private long removedInSample;
+    private long removedOutsideSample;
+    private IndexValueHistogram histogram;
+
+    IndexValueReservoir(int capacity, int buckets) {
+        this.samples = new double[capacity];
+        this.next = new int[capacity];
+        this.previous = new int[capacity];
+        this.buckets = buckets;
+    }
+
+    /**
+     * Seeds a reservoir from a previously persisted histogram, spreading the sample evenly over each bucket.
+     */
+    static IndexValueReservoir fromHistogram(IndexValueHistogram histogram, int capacity, int buckets) {
+        var reservoir = new IndexValueReservoir(capacity, buckets);
+        if (histogram.isEmpty()) {
+            return reservoir;
+        }
+        double[] bounds = histogram.bounds();
+        int sampleCount = (int) Math.min(capacity, histogram.valueCount());
+        int histogramBuckets = histogram.buckets();
+        for (int i = 0; i < sampleCount; i++) {
+            double position = (i + 0.5) * histogramBuckets / sampleCount;
+            int bucket = (int) position;
+            double low = bounds[bucket];
+            double high = bounds[bucket + 1];
+            reservoir.link(i, low + (position - bucket) * (high - low));
+        }
+        reservoir.size = sampleCount;
+        reservoir.valueCount = histogram.valueCount();
+        return reservoir;
+    }
+
+    synchronized void add(double value) {
+        valueCount++;
+        long uncompensated = removedInSample + removedOutsideSample;
+        if (uncompensated > 0) {
+            if (ThreadLocalRandom.current().nextLong(uncompensated) >= removedInSample) {
+                removedOutsideSample--;
+                return;
+            }
+            removedInSample--;
+            link(size++, value);
+        } else if (size < samples.length) {
+            link(size++, value);
+        } else {
+            long slot = ThreadLocalRandom.current().nextLong(valueCount);
+            if (slot >= samples.length) {
+                return;
+            }
+            unlink((int) slot);
+            link((int) slot, value);
+        }
+        histogram = null;
+    }
+
+    synchronized void remove(double value) {
+        if (valueCount == 0) {
+            return;
+        }
+        valueCount--;
+        if (valueCount == 0) {
+            // nothing left to compensate for, so start over with a plain reservoir
+            size = 0;
+            heads.clear();
+            removedInSample = 0;
+            removedOutsideSample = 0;
+            histogram = null;
+            return;
+        }
+        int slot = heads.getIfAbsent(key(value), NONE);
+        if (slot != NONE) {
+            removeSlot(slot);
+            removedInSample++;
+        } else {
+            removedOutsideSample++;
+        }
+        histogram = null;
+    }
+
+    synchronized IndexValueHistogram histogram() {
+        if (histogram == null) {
+            histogram = buildHistogram();
+        }
+        return histogram;
+    }
+
+    /**
+     * Places the value in the given, currently unused, slot.
+     */
+    private void link(int slot, double value) {
+        long key = key(value);
+        int head = heads.getIfAbsent(key, NONE);
+        samples[slot] = value;
+        previous[slot] = NONE;
+        next[slot] = head;
+        if (head != NONE) {
+            previous[head] = slot;
+        }
+        heads.put(key, slot);
+    }
+
+    /**
+     * Detaches the given slot from the chain of its value, leaving the slot unused.
+     */
+    private void unlink(int slot) {
+        int before = previous[slot];
+        int after = next[slot];
+        if (before != NONE) {
+            next[before] = after;
+        } else if (after != NONE) {
+            heads.put(key(samples[slot]), after);
+        } else {
+            heads.remove(key(samples[slot]));
+        }
+        if (after != NONE) {
+            previous[after] = before;
+        }
+    }
+
+    /**
+     * Removes the value in the given slot and moves the last sampled value into it, keeping the sample dense.
+     */
+    private void removeSlot(int slot) {
+        unlink(slot);
+        int last = --size;
+        if (slot != last) {
+            double moved = samples[last];
+            unlink(last);
+            link(slot, moved);
+        }
+    }
+
+    private static long key(double value) {
+        // 0.0 and -0.0 are equal values with different bits
+        return Double.doubleToLongBits(value == 0 ? 0 : value);
+    }
+
+    private IndexValueHistogram buildHistogram() {
+        if (size == 0) {
+            return IndexValueHistogram.EMPTY;
+        }
+        double[] sorted = Arrays.copyOf(samples, size);
+        Arrays.sort(sorted);
+        int bucketCount = Math.min(buckets, size);
+        double[] bounds = new double[bucketCount + 1];
+        for (int i = 0; i < bucketCount; i++) {
+            bounds[i] = sorted[(int) ((long) i * size / bucketCount)];
+        }
+        bounds[bucketCount] = sorted[size - 1];
+        return new IndexValueHistogram(bounds, valueCount);
+    }
+}